@@ -0,0 +1,27 @@
+package com.c24_39_t_webapp.restaurants.cache;
+
+import com.c24_39_t_webapp.restaurants.utils.ETags;
+
+import java.util.Set;
+
+/**
+ * Carta agrupada de un restaurante ya serializada a JSON, lista para servirse tal cual.
+ *
+ * @param restaurantId ID del restaurante
+ * @param etag         ETag fuerte (entre comillas) calculado sobre el cuerpo JSON
+ * @param body         cuerpo JSON de List&lt;GroupedProductsResponseDto&gt;; no debe modificarse
+ * @param categoryIds  categorías presentes en la carta, para invalidar por categoría
+ */
+public record CachedMenu(
+        Long restaurantId,
+        String etag,
+        byte[] body,
+        Set<Long> categoryIds
+) {
+    /**
+     * Comprueba la cabecera If-None-Match contra el ETag de la carta.
+     */
+    public boolean matches(String ifNoneMatch) {
+        return ETags.matches(ifNoneMatch, etag);
+    }
+}
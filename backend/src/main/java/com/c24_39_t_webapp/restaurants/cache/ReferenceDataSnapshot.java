@@ -0,0 +1,51 @@
+package com.c24_39_t_webapp.restaurants.cache;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Instantánea inmutable de los datos de referencia: categorías y tipos de cocina.
+ * <p>
+ * - Cambian muy poco (una categoría nueva o borrada), así que se cargan enteras y se sustituyen de una vez:
+ * quien esté leyendo una instantánea la sigue viendo completa y coherente.
+ * - Cada lista lleva su ETag (SHA-256 del JSON), así que una categoría nueva no invalida la lista de cocinas.
+ *
+ * @param version        número de la instantánea, creciente desde el arranque
+ * @param categories     categorías ordenadas por ID
+ * @param categoriesEtag ETag fuerte de la lista de categorías
+ * @param cuisines       tipos de cocina ordenados por ID
+ * @param cuisinesEtag   ETag fuerte de la lista de tipos de cocina
+ * @param categoriesById categorías por ID
+ * @param cuisinesById   tipos de cocina por ID
+ */
+public record ReferenceDataSnapshot(
+        long version,
+        List<CategoryResponseDto> categories,
+        String categoriesEtag,
+        List<CuisineResponseDto> cuisines,
+        String cuisinesEtag,
+        Map<Long, CategoryResponseDto> categoriesById,
+        Map<Long, CuisineResponseDto> cuisinesById
+) {
+    /**
+     * Tiempo que los clientes pueden reutilizar las listas sin revalidarlas; después, el ETag evita el cuerpo
+     * si no han cambiado.
+     */
+    public static final Duration MAX_AGE = Duration.ofHours(1);
+
+    public static final ReferenceDataSnapshot EMPTY =
+            new ReferenceDataSnapshot(0, List.of(), "\"0\"", List.of(), "\"0\"", Map.of(), Map.of());
+
+    public Optional<CategoryResponseDto> category(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(categoriesById.get(id));
+    }
+
+    public Optional<CuisineResponseDto> cuisine(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(cuisinesById.get(id));
+    }
+}
@@ -0,0 +1,162 @@
+package com.c24_39_t_webapp.restaurants.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiPredicate;
+
+/**
+ * Caché acotada de resultados de búsqueda por clave (consulta ya normalizada).
+ * <p>
+ * - Las entradas se mantienen en orden LRU; con la caché llena la candidata a salir es la menos usada
+ * recientemente.
+ * - La admisión tiene en cuenta la frecuencia (LFU): una consulta nueva solo desplaza a la víctima LRU si se
+ * ha pedido más veces que ella, así las consultas de una sola vez no expulsan a las populares.
+ * - La frecuencia de cada consulta se cuenta aunque no esté en caché; los contadores se reducen a la mitad
+ * periódicamente (envejecimiento), de modo que la popularidad refleja el tráfico reciente y el número de
+ * consultas seguidas está acotado.
+ * - Es segura para varios hilos: todas las operaciones son O(1) salvo {@link #topKeys} y {@link #removeIf}
+ * y se sincronizan sobre la propia caché.
+ */
+public final class SearchResultCache<V> {
+
+    private final int maxEntries;
+    private final int maxTrackedKeys;
+    // Número de accesos tras el que se envejecen los contadores
+    private final int agingPeriod;
+
+    private final LinkedHashMap<String, V> entries;
+    private final Map<String, Integer> frequencies = new HashMap<>();
+    private int accessesSinceAging;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+
+    public SearchResultCache(int maxEntries, int maxTrackedKeys) {
+        if (maxEntries < 1) throw new IllegalArgumentException("El número máximo de entradas debe ser positivo");
+        this.maxEntries = maxEntries;
+        this.maxTrackedKeys = Math.max(maxTrackedKeys, maxEntries);
+        this.agingPeriod = 10 * this.maxTrackedKeys;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Devuelve el resultado cacheado (o null) y cuenta el acceso para la popularidad de la consulta.
+     */
+    public synchronized V get(String key) {
+        recordAccess(key);
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    /**
+     * Guarda un resultado si supera la admisión.
+     *
+     * @return false si la caché estaba llena y la consulta es menos frecuente que la víctima LRU
+     */
+    public synchronized boolean put(String key, V value) {
+        if (entries.containsKey(key) || entries.size() < maxEntries) {
+            entries.put(key, value);
+            return true;
+        }
+        Iterator<Map.Entry<String, V>> eldest = entries.entrySet().iterator();
+        String victim = eldest.next().getKey();
+        if (frequency(key) <= frequency(victim)) {
+            rejections++;
+            return false;
+        }
+        eldest.remove();
+        evictions++;
+        entries.put(key, value);
+        return true;
+    }
+
+    /**
+     * Elimina las entradas que cumplen la condición; no cuentan como evicciones.
+     *
+     * @return claves eliminadas
+     */
+    public synchronized List<String> removeIf(BiPredicate<String, V> condition) {
+        List<String> removed = new ArrayList<>();
+        Iterator<Map.Entry<String, V>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, V> entry = it.next();
+            if (condition.test(entry.getKey(), entry.getValue())) {
+                removed.add(entry.getKey());
+                it.remove();
+            }
+        }
+        return removed;
+    }
+
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * @return las {@code limit} consultas más frecuentes, de más a menos (desempate alfabético)
+     */
+    public synchronized List<KeyFrequency> topKeys(int limit) {
+        if (limit < 1) return List.of();
+        PriorityQueue<KeyFrequency> heap = new PriorityQueue<>(limit + 1, KeyFrequency.BY_FREQUENCY.reversed());
+        frequencies.forEach((key, count) -> {
+            heap.add(new KeyFrequency(key, count));
+            if (heap.size() > limit) heap.poll();
+        });
+        List<KeyFrequency> top = new ArrayList<>(heap);
+        top.sort(KeyFrequency.BY_FREQUENCY);
+        return top;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, rejections, entries.size(), maxEntries);
+    }
+
+    private int frequency(String key) {
+        return frequencies.getOrDefault(key, 0);
+    }
+
+    private void recordAccess(String key) {
+        frequencies.merge(key, 1, Integer::sum);
+        if (++accessesSinceAging >= agingPeriod || frequencies.size() > maxTrackedKeys) age();
+    }
+
+    // Divide todos los contadores entre dos y olvida los que llegan a cero, hasta volver al límite
+    private void age() {
+        accessesSinceAging = 0;
+        do {
+            frequencies.replaceAll((key, count) -> count / 2);
+            frequencies.values().removeIf(count -> count == 0);
+        } while (frequencies.size() > maxTrackedKeys);
+    }
+
+    /**
+     * Consulta y número de accesos recientes (tras el envejecimiento).
+     */
+    public record KeyFrequency(String key, int frequency) {
+        static final Comparator<KeyFrequency> BY_FREQUENCY = Comparator.comparingInt(KeyFrequency::frequency)
+                .reversed().thenComparing(KeyFrequency::key);
+    }
+
+    /**
+     * Contadores acumulados desde el arranque.
+     */
+    public record Stats(long hits, long misses, long evictions, long rejections, int size, int maxEntries) {
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
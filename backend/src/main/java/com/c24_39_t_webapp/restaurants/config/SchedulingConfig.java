@@ -0,0 +1,13 @@
+package com.c24_39_t_webapp.restaurants.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled) de la aplicación, como la reconstrucción
+ * periódica de los índices en memoria.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
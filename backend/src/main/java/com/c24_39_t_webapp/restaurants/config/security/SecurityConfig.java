@@ -58,11 +58,13 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/swagger-ui.html",
                                 "/webjars/**").permitAll()
+                        // Métricas de la caché de búsqueda: incluyen las consultas de otros usuarios
+                        .requestMatchers(HttpMethod.GET, "/api/search/cache-stats").hasRole("RESTAURANTE")
                         // Consultas públicas (lectura para todos)
                         .requestMatchers(HttpMethod.GET, "/api/category/**", "/api/restaurant/**",
-                                "/api/product/**").permitAll()
+                                "/api/product/**", "/api/search/**", "/api/images/**", "/api/sync/**").permitAll()
                         .requestMatchers("/api/category/**", "/api/restaurant/**",
-                                "/api/product/**").hasRole("RESTAURANTE")  // Orders: Cliente solo crea (POST)
+                                "/api/product/**", "/api/images/**").hasRole("RESTAURANTE")  // Orders: Cliente solo crea (POST)
                         .requestMatchers(HttpMethod.POST, "/api/order/**").hasRole("CLIENTE")
                         // Orders: Cliente solo consulta (GET) por fecha y cliente
                         .requestMatchers(HttpMethod.GET, "/api/order/byClientDate",
@@ -104,7 +106,10 @@ public class SecurityConfig {
                 "http://localhost:5173"
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Cache-Control", "X-Requested-With")); // Cabeceras comunes
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Cache-Control", "X-Requested-With",
+                "If-None-Match")); // Cabeceras comunes
+        // ETag para revalidar la carta cacheada; X-Next-Cursor para pedir la siguiente página de los listados
+        configuration.setExposedHeaders(List.of("ETag", "X-Next-Cursor"));
         configuration.setAllowCredentials(true); // Importante para que el navegador envíe el token en la cabecera Auth
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/api/**", configuration); // Aplica la configuración a todas las rutas bajo /api/**
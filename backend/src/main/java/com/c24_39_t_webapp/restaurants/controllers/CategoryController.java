@@ -1,12 +1,18 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
 import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.models.Category;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
+import com.c24_39_t_webapp.restaurants.utils.ETags;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +25,8 @@ import java.util.List;
 public class CategoryController {
     @Autowired
     private ICategoryService categoryService;
+    @Autowired
+    private IReferenceDataService referenceDataService;
     private CategoryRepository categoryRepository;
 
     /**
@@ -64,17 +72,32 @@ public class CategoryController {
 
 
     /**
-     * Endpoint to retrieve a list of all {@link ResponseEntity} objects stored in the system.
-     * Delegates the retrieval logic to {@link ICategoryService#findAllCategories()}.
+     * Endpoint to retrieve a list of all {@link CategoryResponseDto} objects stored in the system.
+     * Served from the in-memory reference data snapshot with a strong {@code ETag}; if the
+     * {@code If-None-Match} header matches, a 304 is returned without a body.
+     * Delegates the retrieval logic to {@link IReferenceDataService#snapshot()}.
      *
-     * @return A list of {@code ContactDTO} objects representing all contacts.
+     * @param ifNoneMatch ETag(s) already held by the client, if any.
+     * @return A list of {@code CategoryResponseDto} objects representing all categories, or 304 Not Modified.
      */
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDto>> getAllCategories() {
+    public ResponseEntity<List<CategoryResponseDto>> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Solicitud recibida para obtener todos las categorias.");
-        List<CategoryResponseDto> categories = categoryService.findAllCategories();
-        log.info("Se recuperaron {} categorias exitosamente.", categories.size());
-        return ResponseEntity.ok(categories);
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        CacheControl cacheControl = CacheControl.maxAge(ReferenceDataSnapshot.MAX_AGE).cachePrivate();
+        if (ETags.matches(ifNoneMatch, snapshot.categoriesEtag())) {
+            log.info("Categorias sin cambios (ETag {}), se responde 304", snapshot.categoriesEtag());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.categoriesEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        log.info("Se recuperaron {} categorias exitosamente.", snapshot.categories().size());
+        return ResponseEntity.ok()
+                .eTag(snapshot.categoriesEtag())
+                .cacheControl(cacheControl)
+                .body(snapshot.categories());
     }
 
     /**
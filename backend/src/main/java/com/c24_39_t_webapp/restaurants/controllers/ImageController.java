@@ -0,0 +1,151 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ImageUploadResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.ImageNotFoundException;
+import com.c24_39_t_webapp.restaurants.services.IImageService;
+import com.c24_39_t_webapp.restaurants.storage.ImageStore;
+import com.c24_39_t_webapp.restaurants.utils.ETags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/images")
+public class ImageController {
+
+    // Atributos de Tomcat para delegar el envío del fichero al conector (sendfile del sistema operativo)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final IImageService imageService;
+
+    /**
+     * Endpoint to upload a product or restaurant image (JPEG or PNG).
+     * The image is stored once per content hash, and the resized variants are generated at upload time.
+     * Delegates the storage logic to {@link IImageService#upload(byte[])}.
+     *
+     * @param file The image file (multipart field {@code file}).
+     * @return 201 with the URLs of every variant, or 200 if an identical image was already stored.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<ImageUploadResponseDto> uploadImage(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info("Solicitud recibida para subir una imagen de {} bytes", file.getSize());
+        ImageUploadResponseDto uploaded = imageService.upload(file.getBytes());
+        return ResponseEntity.status(uploaded.deduplicated() ? HttpStatus.OK : HttpStatus.CREATED).body(uploaded);
+    }
+
+    /**
+     * Endpoint to serve a stored image variant, e.g. {@code /api/images/{hash}/thumbnail.jpg}.
+     * URLs are content-addressed, so responses are cacheable forever ({@code immutable}).
+     * Supports {@code If-None-Match} (304) and single byte ranges (206). The file is sent with
+     * the container's sendfile when available, or with {@link FileChannel#transferTo} otherwise,
+     * so the bytes are never copied through the Java heap.
+     *
+     * @param hash     The SHA-256 of the original image.
+     * @param fileName The variant file name ({@code original}, {@code medium} or {@code thumbnail} plus extension).
+     */
+    @GetMapping("/{hash}/{fileName:.+}")
+    public void serveImage(@PathVariable String hash, @PathVariable String fileName,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageStore.StoredFile file = imageService.findFile(hash, fileName)
+                .orElseThrow(() -> new ImageNotFoundException("No se ha encontrado la imagen " + hash + "/" + fileName));
+        String etag = '"' + file.hash() + '-' + file.variant().name().toLowerCase(Locale.ROOT) + '"';
+        long length = file.length();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(file.format().contentType());
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Solo se atiende un rango; con varios se devuelve el fichero completo (permitido por RFC 9110)
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.getFirst();
+                if (!isSatisfiable(rangeHeader, length)) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Un rango es satisfacible si empieza dentro del fichero (o es un sufijo de longitud positiva).
+     */
+    private static boolean isSatisfiable(String rangeHeader, long length) {
+        String spec = rangeHeader.substring(rangeHeader.indexOf('=') + 1).trim();
+        if (spec.startsWith("-")) return length > 0 && !spec.equals("-0");
+        long first = Long.parseLong(spec.substring(0, spec.indexOf('-')).trim());
+        return first < length;
+    }
+}
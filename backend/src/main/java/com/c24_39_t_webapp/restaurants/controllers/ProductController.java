@@ -1,34 +1,65 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
 
+import com.c24_39_t_webapp.restaurants.cache.CachedMenu;
+import com.c24_39_t_webapp.restaurants.dtos.request.ImportMode;
+import com.c24_39_t_webapp.restaurants.dtos.request.MenuCloneRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductBulkUpdateRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductListingRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.GroupedProductsResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.MenuCloneResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductBulkUpdateResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductImportResultDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
 import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
+import com.c24_39_t_webapp.restaurants.utils.BatchIds;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
 @RequestMapping("api/product")
 public class ProductController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     @Autowired
     private final IProductService productService;
+    private final IMenuCacheService menuCacheService;
+    private final IProductImportService productImportService;
+    private final IRecommendationService recommendationService;
 
-    public ProductController(IProductService productService) {
+    public ProductController(IProductService productService, IMenuCacheService menuCacheService,
+                             IProductImportService productImportService,
+                             IRecommendationService recommendationService) {
         this.productService = productService;
+        this.menuCacheService = menuCacheService;
+        this.productImportService = productImportService;
+        this.recommendationService = recommendationService;
     }
     /**
      * Endpoint to add a new {@link ResponseEntity} object to the system.
@@ -50,16 +81,67 @@ public class ProductController {
     }
 
     /**
-     * Endpoint to retrieve all {@link ProductResponseDto} objects from the system.
-     * Delegates the retrieval logic to {@link IProductService#findAllProducts()}.
+     * Endpoint to import many products into a restaurant in one request.
+     * Accepts a JSON array ({@code application/json}) or a CSV file with a header row ({@code text/csv}),
+     * read as a stream. Categories are referenced by name and created if missing.
+     * Delegates the import logic to {@link IProductImportService#importProducts(Long, InputStream, boolean, ImportMode)}.
+     *
+     * @param restaurantId The restaurant that will own the products.
+     * @param mode         {@code atomic} (default): nothing is imported if any row is invalid;
+     *                     {@code partial}: valid rows are imported and invalid ones reported.
+     * @param contentType  Format of the body.
+     * @param request      The request whose body is streamed.
+     * @return The per-row import report; 422 if an atomic import was rejected.
+     */
+    @PostMapping(value = "/import/{restaurantId}", consumes = {MediaType.APPLICATION_JSON_VALUE, TEXT_CSV_VALUE})
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<ProductImportResultDto> importProducts(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String mode,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request) throws IOException {
+        log.info("Solicitud recibida para importar productos en el restaurante con ID: {}", restaurantId);
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+        ImportMode importMode = ImportMode.from(mode);
+        ProductImportResultDto result =
+                productImportService.importProducts(restaurantId, request.getInputStream(), csv, importMode);
+        log.info("Importación terminada: {} productos importados, {} filas con errores.", result.imported(), result.failed());
+        boolean rejected = importMode == ImportMode.ATOMIC && result.failed() > 0;
+        return ResponseEntity.status(rejected ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.OK).body(result);
+    }
+
+    /**
+     * Endpoint to retrieve a page of {@link ProductResponseDto} objects from the system.
+     * Results are keyset-paginated: the body is the page as a JSON array and, if there are more results,
+     * the cursor for the next page is returned in the {@code X-Next-Cursor} header.
+     * Delegates the retrieval logic to {@link IProductService#findProducts(ProductListingRequestDto)}.
      *
-     * @return A list of {@code ProductResponseDto} objects representing all products in the system.
+     * @param listing Sort ({@code id}, {@code newest}, {@code price_asc}, {@code price_desc}, {@code name}),
+     *                cursor, page size (capped) and filters ({@code activeOnly}, {@code minPrice}, {@code maxPrice}).
+     * @return A page of {@code ProductResponseDto} objects.
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponseDto>> getAllProducts() {
-        log.info("Solicitud recibida para obtener todos los productos.");
-        List<ProductResponseDto> products = productService.findAllProducts();
-        log.info("Se recuperaron {} productos exitosamente.", products.size());
+    public ResponseEntity<List<ProductResponseDto>> getAllProducts(@ModelAttribute ProductListingRequestDto listing) {
+        log.info("Solicitud recibida para obtener una página de productos.");
+        KeysetPageDto<ProductResponseDto> page = productService.findProducts(listing);
+        log.info("Se recuperaron {} productos exitosamente.", page.items().size());
+        return pageResponse(page);
+    }
+
+    /**
+     * Endpoint to retrieve several products in one request ({@code GET /api/product?ids=1,2,3}).
+     * Delegates the retrieval logic to {@link IProductService#findProductsByIds(List)}.
+     *
+     * @param ids Comma-separated product IDs (at most {@value BatchIds#MAX_IDS} distinct IDs).
+     * @return One item per distinct ID in request order, with {@code found = false} for missing IDs,
+     * plus the list of missing IDs.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponseDto<ProductResponseDto>> findProductsByIds(@RequestParam String ids) {
+        log.info("Solicitud recibida para obtener productos por IDs: {}", ids);
+        BatchResponseDto<ProductResponseDto> products = productService.findProductsByIds(BatchIds.parse(ids));
+        log.info("Se recuperaron {} productos; {} no encontrados.",
+                products.items().size() - products.missingIds().size(), products.missingIds().size());
         return ResponseEntity.ok(products);
     }
 
@@ -78,6 +160,22 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
+    /**
+     * Endpoint for the "frequently ordered together" cross-sell of a product, based on the order history
+     * of its restaurant. Served from an in-memory co-occurrence model; inactive products are skipped.
+     * Delegates the retrieval logic to {@link IRecommendationService#findFrequentlyOrderedTogether(Long, Integer)}.
+     *
+     * @param prd_id The ID of the product being viewed.
+     * @param limit  Maximum number of products (1-20, default 5).
+     * @return A list of {@code ProductResponseDto} objects, most frequent first; empty if there is no history.
+     */
+    @GetMapping("/{prd_id}/frequently-ordered-together")
+    public ResponseEntity<List<ProductResponseDto>> findFrequentlyOrderedTogether(
+            @PathVariable Long prd_id, @RequestParam(required = false) Integer limit) {
+        log.debug("Solicitud de productos pedidos junto al producto {}", prd_id);
+        return ResponseEntity.ok(recommendationService.findFrequentlyOrderedTogether(prd_id, limit));
+    }
+
     /**
      * Endpoint to update an existing {@link ProductResponseDto} object in the system.
      * Delegates the update logic to {@link IProductService#updateProduct(Long, ProductUpdateDto)}.
@@ -98,6 +196,46 @@ public class ProductController {
         return ResponseEntity.ok(updatedDto);
     }
 
+    /**
+     * Endpoint to change price, quantity or active status of many products of one restaurant at once.
+     * Delegates the update logic to {@link IProductService#bulkUpdateProducts(Long, ProductBulkUpdateRequestDto)}.
+     *
+     * @param restaurantId The ID of the restaurant that owns the products.
+     * @param bulkUpdate   The product IDs and the changes to apply to all of them.
+     * @return The number of updated products, the IDs that were not updated and the updated products.
+     */
+    @PatchMapping("/bulk/{restaurantId}")
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<ProductBulkUpdateResultDto> bulkUpdateProducts(
+            @PathVariable Long restaurantId,
+            @RequestBody @Valid ProductBulkUpdateRequestDto bulkUpdate
+    ) {
+        log.info("Solicitud recibida para actualizar {} productos del restaurante {}",
+                bulkUpdate.productIds().size(), restaurantId);
+        return ResponseEntity.ok(productService.bulkUpdateProducts(restaurantId, bulkUpdate));
+    }
+
+    /**
+     * Endpoint to copy the whole menu of a restaurant into another restaurant of the same owner.
+     * Products and offered categories are copied; prices can be adjusted by a percentage on the way.
+     * Delegates the copy logic to {@link IProductService#cloneMenu(Long, MenuCloneRequestDto)}.
+     *
+     * @param restaurantId The ID of the restaurant that receives the products.
+     * @param cloneRequest The source restaurant and the optional price change.
+     * @return The number of copied products and newly associated categories.
+     */
+    @PostMapping("/clone/{restaurantId}")
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<MenuCloneResultDto> cloneMenu(
+            @PathVariable Long restaurantId,
+            @RequestBody @Valid MenuCloneRequestDto cloneRequest
+    ) {
+        log.info("Solicitud recibida para copiar la carta del restaurante {} al restaurante {}",
+                cloneRequest.sourceRestaurantId(), restaurantId);
+        MenuCloneResultDto result = productService.cloneMenu(restaurantId, cloneRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     /**
      * Endpoint to delete an existing {@link ProductResponseDto} object from the system.
      * Delegates the deletion logic to {@link IProductService#deleteProduct(Long)}.
@@ -114,18 +252,22 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
     /**
-        * Endpoint to retrieve a list of all {@link ProductSummaryResponseDto} objects stored in the system.
-        * Delegates the retrieval logic to {@link IProductService#findProductsByCategoryId(Long)}.
+        * Endpoint to retrieve a page of {@link ProductSummaryResponseDto} objects of a category.
+        * Keyset-paginated like {@link #getAllProducts(ProductListingRequestDto)}.
+        * Delegates the retrieval logic to {@link IProductService#findProductsByCategoryId(Long, ProductListingRequestDto)}.
         *
         * @param categoryId The category to retrieve products for.
-        * @return A list of {@code ProductSummaryResponseDto} objects representing all products in the specified category.
+        * @param listing Sort, cursor, page size and filters.
+        * @return A page of {@code ProductSummaryResponseDto} objects representing products in the specified category.
         */
     @GetMapping(value = "/byCategory/{categoryId}")
-    public ResponseEntity<List<ProductSummaryResponseDto>> findProductsByCategoryId(@PathVariable Long categoryId) {
+    public ResponseEntity<List<ProductSummaryResponseDto>> findProductsByCategoryId(
+            @PathVariable Long categoryId,
+            @ModelAttribute ProductListingRequestDto listing) {
         log.info("Solicitud recibida para obtener productos por categoria con ID: {}", categoryId);
-        List<ProductSummaryResponseDto> products = productService.findProductsByCategoryId(categoryId);
-        log.info("Se recuperaron {} productos por categoria con ID: {} exitosamente.", products.size(), categoryId);
-        return ResponseEntity.ok(products);
+        KeysetPageDto<ProductSummaryResponseDto> page = productService.findProductsByCategoryId(categoryId, listing);
+        log.info("Se recuperaron {} productos por categoria con ID: {} exitosamente.", page.items().size(), categoryId);
+        return pageResponse(page);
     }
     /**
      * Endpoint to retrieve a list of all {@link ProductSummaryResponseDto} objects stored in the system.
@@ -143,33 +285,70 @@ public class ProductController {
     }
 
     /**
-     * Endpoint to retrieve a list of all {@link ProductSummaryResponseDto} objects stored in the system.
-     * Delegates the retrieval logic to {@link IProductService#findProductsByRestaurantId(Long)}.
+     * Endpoint to retrieve a page of {@link ProductResponseDto} objects of a restaurant.
+     * Keyset-paginated like {@link #getAllProducts(ProductListingRequestDto)}.
+     * Delegates the retrieval logic to {@link IProductService#findProductsByRestaurantId(Long, ProductListingRequestDto)}.
      *
      * @param restaurantId The id of the restaurant to retrieve products for.
-     * @return A list of {@code ProductSummaryResponseDto} objects representing all products in the specified restaurant.
+     * @param listing Sort, cursor, page size and filters.
+     * @return A page of {@code ProductResponseDto} objects representing products in the specified restaurant.
      */
     @GetMapping(value = "/byRestaurant/{restaurantId}")
-    public ResponseEntity<List<ProductResponseDto>> findProductsByRestaurantId(@PathVariable Long restaurantId) {
+    public ResponseEntity<List<ProductResponseDto>> findProductsByRestaurantId(
+            @PathVariable Long restaurantId,
+            @ModelAttribute ProductListingRequestDto listing) {
         log.info("Solicitud recibida para obtener productos del restaurante con ID: {}", restaurantId);
-        List<ProductResponseDto> products = productService.findProductsByRestaurantId(restaurantId);
-        log.info("Se recuperaron {} productos del restaurante: {} exitosamente.", products.size(), restaurantId);
-        return ResponseEntity.ok(products);
+        KeysetPageDto<ProductResponseDto> page = productService.findProductsByRestaurantId(restaurantId, listing);
+        log.info("Se recuperaron {} productos del restaurante: {} exitosamente.", page.items().size(), restaurantId);
+        return pageResponse(page);
     }
 
     /**
      * Endpoint to retrieve a list of all {@link GroupedProductsResponseDto} objects stored in the system.
-     * Delegates the retrieval logic to {@link IProductService#findProductsByRestaurantIdAndCategory(Long)}.
+     * Served from a per-restaurant cache of the serialized menu with a strong {@code ETag}.
+     * If the {@code If-None-Match} header matches the cached ETag, a 304 is returned without touching the database.
+     * Delegates the retrieval logic to {@link IMenuCacheService#getMenu(Long)}.
      *
      * @param restaurantId The restaurant to retrieve products for.
-     * @return A list of {@code GroupedProductsResponseDto} objects representing
-     * all products in the specified restaurant grouped by categories.
+     * @param ifNoneMatch  ETag(s) already held by the client, if any.
+     * @return A JSON list of {@code GroupedProductsResponseDto} objects representing
+     * all products in the specified restaurant grouped by categories, or 304 Not Modified.
      */
     @GetMapping(value = "/byRestaurantAndCategory/{restaurantId}")
-    public ResponseEntity<List<GroupedProductsResponseDto>> findProductsByRestaurantAndCategory(@PathVariable Long restaurantId) {
+    public ResponseEntity<byte[]> findProductsByRestaurantAndCategory(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Solicitud recibida para obtener productos del restaurante: {}", restaurantId);
-        List<GroupedProductsResponseDto> products = productService.findProductsByRestaurantIdAndCategory(restaurantId);
-        log.info("Se recuperaron productos de {} categorias del restaurante: {} exitosamente.", products.size(), restaurantId);
-        return ResponseEntity.ok(products);
+        Optional<CachedMenu> cached = menuCacheService.getIfCached(restaurantId);
+        if (cached.isPresent() && cached.get().matches(ifNoneMatch)) {
+            return notModified(cached.get());
+        }
+        CachedMenu menu = cached.orElseGet(() -> menuCacheService.getMenu(restaurantId));
+        if (menu.matches(ifNoneMatch)) {
+            return notModified(menu);
+        }
+        log.info("Se recuperaron productos de {} categorias del restaurante: {} exitosamente.",
+                menu.categoryIds().size(), restaurantId);
+        return ResponseEntity.ok()
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(menu.body());
+    }
+
+    private static <T> ResponseEntity<List<T>> pageResponse(KeysetPageDto<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(KeysetPageDto.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    private static ResponseEntity<byte[]> notModified(CachedMenu menu) {
+        log.info("Carta del restaurante {} sin cambios (ETag {}), se responde 304", menu.restaurantId(), menu.etag());
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .build();
     }
 }
@@ -1,14 +1,33 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesReplaceDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantDirectoryRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CustomerCountResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.NearbyRestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.OfferedCategoriesResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantCardResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantPageResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.TrendingRestaurantResponseDto;
 import com.c24_39_t_webapp.restaurants.models.Category;
+import com.c24_39_t_webapp.restaurants.services.IGeoSearchService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantPageService;
 import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.services.ITrendingService;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.services.impl.UserDetailsImpl;
+import com.c24_39_t_webapp.restaurants.utils.BatchIds;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,6 +35,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -26,6 +46,11 @@ import java.util.Set;
 public class RestaurantController {
 
     private final IRestaurantService restaurantService;
+    private final IGeoSearchService geoSearchService;
+    private final IOpeningHoursService openingHoursService;
+    private final ITrendingService trendingService;
+    private final IRestaurantPageService restaurantPageService;
+    private final IVerifiedPurchaseService verifiedPurchaseService;
 
 
     /**
@@ -74,19 +99,119 @@ public class RestaurantController {
 
     /**
      * Endpoint to retrieve a list of all {@link ResponseEntity} objects stored in the system.
-     * Delegates the retrieval logic to {@link IRestaurantService#findAll()}.
+     * Delegates the retrieval logic to {@link IRestaurantService#findAll()}, or to
+     * {@link IRestaurantService#findAll(Boolean, LocalDateTime)} when filtering by opening hours.
      *
+     * @param openNow Optional; only restaurants open right now.
+     * @param openAt  Optional local date-time (ISO-8601); only restaurants open at that moment. Overrides {@code openNow}.
      * @return A list of {@code ContactDTO} objects representing all contacts.
      */
     @GetMapping("/all")
-    public ResponseEntity<List<RestaurantResponseDto>> getAllRestaurants() {
+    public ResponseEntity<List<RestaurantResponseDto>> getAllRestaurants(
+            @RequestParam(required = false) Boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt) {
         log.info("Solicitud recibida para obtener todos los restaurantes.");
-        List<RestaurantResponseDto> restaurants = restaurantService.findAll();
+        List<RestaurantResponseDto> restaurants = (openNow == null && openAt == null)
+                ? restaurantService.findAll()
+                : restaurantService.findAll(openNow, openAt);
 
         log.info("Se recuperaron {} restaurantes exitosamente.", restaurants.size());
         return ResponseEntity.ok(restaurants);
     }
 
+    /**
+     * Endpoint to browse the restaurant directory: one card per restaurant with its cuisine, rating summary
+     * and price range, read from precomputed statistics in a single query.
+     * Results are keyset-paginated: the body is the page as a JSON array and, if there are more results,
+     * the cursor for the next page is returned in the {@code X-Next-Cursor} header.
+     * Delegates the retrieval logic to {@link IRestaurantService#findDirectory(RestaurantDirectoryRequestDto)}.
+     *
+     * @param directory Sort ({@code name}, {@code rating}, {@code weighted-rating}, {@code newest}), cursor, page size (capped)
+     *                  and optional {@code cuisineId} filter.
+     * @return A page of {@code RestaurantCardResponseDto} objects.
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<List<RestaurantCardResponseDto>> getDirectory(
+            @ModelAttribute RestaurantDirectoryRequestDto directory) {
+        log.info("Solicitud recibida para obtener una página del directorio de restaurantes.");
+        KeysetPageDto<RestaurantCardResponseDto> page = restaurantService.findDirectory(directory);
+        log.info("Se recuperaron {} restaurantes del directorio.", page.items().size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(KeysetPageDto.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Endpoint to find restaurants near a point, sorted by distance.
+     * Without {@code radiusKm} it returns the {@code limit} nearest restaurants (k-nearest neighbours)
+     * up to the maximum radius; with it, the nearest ones within that radius.
+     * Restaurants without coordinates are not included.
+     * Delegates the search logic to
+     * {@link IGeoSearchService#findNearby(Double, Double, Double, Integer, Long, Boolean, LocalDateTime)}.
+     *
+     * @param lat       Latitude of the search point (-90 to 90).
+     * @param lng       Longitude of the search point (-180 to 180).
+     * @param radiusKm  Optional search radius in kilometres (up to 100).
+     * @param limit     Maximum number of restaurants (1-100, default 20).
+     * @param cuisineId Optional cuisine filter.
+     * @param openNow   Optional; only restaurants open right now.
+     * @param openAt    Optional local date-time (ISO-8601); only restaurants open at that moment.
+     * @return A list of {@code NearbyRestaurantResponseDto} objects, nearest first.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRestaurantResponseDto>> findNearbyRestaurants(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long cuisineId,
+            @RequestParam(required = false) Boolean openNow,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime openAt) {
+        log.info("Solicitud recibida para buscar restaurantes cerca de ({}, {}).", lat, lng);
+        List<NearbyRestaurantResponseDto> restaurants =
+                geoSearchService.findNearby(lat, lng, radiusKm, limit, cuisineId, openNow, openAt);
+        log.info("Se encontraron {} restaurantes cercanos.", restaurants.size());
+        return ResponseEntity.ok(restaurants);
+    }
+
+    /**
+     * Endpoint to list the restaurants with the most confirmed orders in the last hour or day.
+     * Delegates the query logic to {@link ITrendingService#findTrending(String, Integer)}, which serves the
+     * ranking from memory.
+     *
+     * @param window Optional window: {@code hour} (default) or {@code day}.
+     * @param limit  Maximum number of restaurants (default 10).
+     * @return A list of {@code TrendingRestaurantResponseDto} objects, most ordered first.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingRestaurantResponseDto>> getTrendingRestaurants(
+            @RequestParam(required = false) String window,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Solicitud recibida para obtener los restaurantes en tendencia ({}).", window);
+        List<TrendingRestaurantResponseDto> restaurants = trendingService.findTrending(window, limit);
+        log.info("Se recuperaron {} restaurantes en tendencia.", restaurants.size());
+        return ResponseEntity.ok(restaurants);
+    }
+
+    /**
+     * Endpoint to query several restaurants in one request ({@code GET /api/restaurant?ids=1,2,3}).
+     * Delegates the query logic to {@link IRestaurantService#findByIds(List)}.
+     *
+     * @param ids Comma-separated restaurant IDs (at most {@value BatchIds#MAX_IDS} distinct IDs).
+     * @return One item per distinct ID in request order, with {@code found = false} for missing IDs,
+     * plus the list of missing IDs.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<BatchResponseDto<RestaurantResponseDto>> findRestaurantsByIds(@RequestParam String ids) {
+        log.info("Solicitud recibida para obtener restaurantes por IDs: {}", ids);
+        BatchResponseDto<RestaurantResponseDto> restaurants = restaurantService.findByIds(BatchIds.parse(ids));
+        log.info("Se recuperaron {} restaurantes; {} no encontrados.",
+                restaurants.items().size() - restaurants.missingIds().size(), restaurants.missingIds().size());
+        return ResponseEntity.ok(restaurants);
+    }
+
     /**
      * Endpoint to query a single restaurant based on the provided ID.
      * Delegates the query logic to {@link IRestaurantService#findById(Long)}.
@@ -103,6 +228,60 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurant);
     }
 
+    /**
+     * Endpoint to retrieve everything a restaurant page needs in one request: the restaurant, its menu grouped
+     * by category, its offered categories and a review summary.
+     * Delegates the retrieval logic to {@link IRestaurantPageService#getPage(Long)}, which fetches the sections
+     * in parallel; sections that fail or time out are returned as {@code null} and listed in
+     * {@code unavailableSections}.
+     *
+     * @param rst_id The ID of the restaurant.
+     * @return The {@code RestaurantPageResponseDto} for the restaurant.
+     */
+    @GetMapping("/{rst_id}/page")
+    public ResponseEntity<RestaurantPageResponseDto> getRestaurantPage(@PathVariable Long rst_id) {
+        log.info("Solicitud recibida para obtener la página del restaurante con ID: {}", rst_id);
+        RestaurantPageResponseDto page = restaurantPageService.getPage(rst_id);
+        log.info("Se recuperó la página del restaurante {}; secciones no disponibles: {}",
+                rst_id, page.unavailableSections());
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Endpoint to retrieve the weekly opening schedule of a restaurant, sorted by day and opening time.
+     * Intervals whose closing time is not after the opening time close on the following day.
+     * Delegates the retrieval logic to {@link IOpeningHoursService#getSchedule(Long)}.
+     *
+     * @param rst_id The ID of the restaurant.
+     * @return A list of {@code OpeningIntervalDto} objects.
+     */
+    @GetMapping("/{rst_id}/opening-hours")
+    public ResponseEntity<List<OpeningIntervalDto>> getOpeningHours(@PathVariable Long rst_id) {
+        log.info("Solicitud recibida para obtener el horario del restaurante con ID: {}", rst_id);
+        List<OpeningIntervalDto> schedule = openingHoursService.getSchedule(rst_id);
+
+        log.info("Se recuperaron {} intervalos de horario para el restaurante {}.", schedule.size(), rst_id);
+        return ResponseEntity.ok(schedule);
+    }
+
+    /**
+     * Endpoint to retrieve the exact number of distinct customers with at least one delivered order in a restaurant,
+     * for the owner's dashboard. Counted from the in-memory customer bitmaps, without querying the orders.
+     * Delegates the retrieval logic to {@link IVerifiedPurchaseService#countUniqueCustomers(Long)}.
+     *
+     * @param rst_id The ID of the restaurant.
+     * @return The {@code CustomerCountResponseDto}; 403 if the restaurant belongs to another owner.
+     */
+    @GetMapping("/{rst_id}/customers/count")
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<CustomerCountResponseDto> countUniqueCustomers(@PathVariable Long rst_id) {
+        log.info("Solicitud recibida para contar los clientes del restaurante con ID: {}", rst_id);
+        CustomerCountResponseDto count = verifiedPurchaseService.countUniqueCustomers(rst_id);
+
+        log.info("El restaurante {} tiene {} clientes distintos.", rst_id, count.uniqueCustomers());
+        return ResponseEntity.ok(count);
+    }
+
     /**
      * Endpoint to update an existing restaurant in the system using the provided {@link RestaurantRequestDto}.
      * Delegates the update logic to {@link IRestaurantService#updateRestaurant(RestaurantRequestDto, Long)}.
@@ -171,6 +350,43 @@ public class RestaurantController {
         return ResponseEntity.status(HttpStatus.CREATED).body(associatedCategoryResponseDto);
     }
 
+    /**
+     * Endpoint to associate and dissociate several categories of a restaurant in one call.
+     * Categories already associated are ignored, as are IDs that do not match any category.
+     * Delegates the update logic to {@link IRestaurantService#updateOfferedCategories(Long, OfferedCategoriesUpdateDto)}.
+     *
+     * @param restaurantId The ID of the restaurant.
+     * @param update       The category IDs to add and to remove.
+     * @return The number of added and removed associations and the resulting categories.
+     */
+    @PatchMapping("{restaurantId}/categories")
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<OfferedCategoriesResultDto> updateOfferedCategories(
+            @PathVariable Long restaurantId,
+            @Valid @RequestBody OfferedCategoriesUpdateDto update
+    ) {
+        log.info("Solicitud recibida para actualizar las categorias del restaurante con ID {}", restaurantId);
+        return ResponseEntity.ok(restaurantService.updateOfferedCategories(restaurantId, update));
+    }
+
+    /**
+     * Endpoint to replace the whole set of categories offered by a restaurant.
+     * Delegates the replace logic to {@link IRestaurantService#replaceOfferedCategories(Long, OfferedCategoriesReplaceDto)}.
+     *
+     * @param restaurantId The ID of the restaurant.
+     * @param replace      The category IDs the restaurant must offer; an empty list removes all of them.
+     * @return The number of added and removed associations and the resulting categories.
+     */
+    @PutMapping("{restaurantId}/categories")
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<OfferedCategoriesResultDto> replaceOfferedCategories(
+            @PathVariable Long restaurantId,
+            @Valid @RequestBody OfferedCategoriesReplaceDto replace
+    ) {
+        log.info("Solicitud recibida para sustituir las categorias del restaurante con ID {}", restaurantId);
+        return ResponseEntity.ok(restaurantService.replaceOfferedCategories(restaurantId, replace));
+    }
+
 
     /**
      * Endpoint to delete an existing restaurant in the system using the provided {@link RestaurantRequestDto}.
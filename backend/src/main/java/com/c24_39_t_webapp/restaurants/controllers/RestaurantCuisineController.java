@@ -1,12 +1,18 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
 import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
-import com.c24_39_t_webapp.restaurants.services.IRestaurantCuisineService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
+import com.c24_39_t_webapp.restaurants.utils.ETags;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,16 +23,34 @@ import java.util.List;
     @RequestMapping("/api/cuisines")
     public class RestaurantCuisineController {
 
-    private final IRestaurantCuisineService cuisineService;
+    private final IReferenceDataService referenceDataService;
+
+    /**
+     * Endpoint to retrieve all restaurant cuisine types.
+     * Served from the in-memory reference data snapshot with a strong {@code ETag}; if the
+     * {@code If-None-Match} header matches, a 304 is returned without a body.
+     *
+     * @param ifNoneMatch ETag(s) already held by the client, if any.
+     * @return A list of {@code CuisineResponseDto} objects, or 304 Not Modified.
+     */
     @GetMapping
     @PreAuthorize("hasRole('RESTAURANTE')")
-    public ResponseEntity<List<CuisineResponseDto>> getAllCuisines() {
+    public ResponseEntity<List<CuisineResponseDto>> getAllCuisines(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Obteniendo la lista de tipos de restaurante");
-        // Llama al servicio para obtener la lista de DTOs
-        List<CuisineResponseDto> cuisines = cuisineService.findAll();
-        log.info("Lista de tipos de restaurante obtenida: {}", cuisines);
-        // Devuelve la lista en la respuesta con estado OK (200)
-        return ResponseEntity.ok(cuisines);
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        CacheControl cacheControl = CacheControl.maxAge(ReferenceDataSnapshot.MAX_AGE).cachePrivate();
+        if (ETags.matches(ifNoneMatch, snapshot.cuisinesEtag())) {
+            log.info("Tipos de restaurante sin cambios (ETag {}), se responde 304", snapshot.cuisinesEtag());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.cuisinesEtag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        log.info("Lista de tipos de restaurante obtenida: {}", snapshot.cuisines());
+        return ResponseEntity.ok()
+                .eTag(snapshot.cuisinesEtag())
+                .cacheControl(cacheControl)
+                .body(snapshot.cuisines());
     }
 }
-
@@ -1,7 +1,10 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewListingRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ReviewRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.UpdateReviewDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RatingSummaryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.Review;
@@ -48,17 +51,37 @@ public class ReviewController {
     }
 
     /**
-     * EndPoint retrieves a list of {@link Review} by {@link Restaurant}.
-     * it is processed in the service {@link IReviewService#getAllRestaurantReviews(Long)}
+     * EndPoint retrieves a page of {@link Review} of an active {@link Restaurant}, read from the reviews table alone.
+     * Results are keyset-paginated: the body is the page as a JSON array and, if there are more results,
+     * the cursor for the next page is returned in the {@code X-Next-Cursor} header.
+     * it is processed in the service {@link IReviewService#findRestaurantReviews(Long, ReviewListingRequestDto)}
      * @param restaurantId The restaurant's id to retrieve reviews of itself.
-     * @return a 200 ok, with a list of {@link ReviewResponseDto}
+     * @param listing Sort ({@code newest}, {@code score-desc}, {@code score-asc}), cursor and page size (capped).
+     * @return a 200 ok, with a list of {@link ReviewResponseDto}; 404 if the restaurant does not exist or is inactive
      */
 
     @GetMapping("/restaurant/{restaurantId}")
-    @Transactional(readOnly = true)
-    public ResponseEntity<?> allRestaurantReviews(@PathVariable final Long restaurantId) {
-        List<ReviewResponseDto> reviewList = iReviewService.getAllRestaurantReviews(restaurantId);
-        return ResponseEntity.ok(reviewList);
+    public ResponseEntity<List<ReviewResponseDto>> allRestaurantReviews(@PathVariable final Long restaurantId,
+                                                                        @ModelAttribute ReviewListingRequestDto listing) {
+        KeysetPageDto<ReviewResponseDto> page = iReviewService.findRestaurantReviews(restaurantId, listing);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(KeysetPageDto.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * EndPoint retrieves the rating summary of a {@link Restaurant}: review count, average score,
+     * Bayesian-weighted score and the 0-10 score histogram, read from the precalculated stats (no reviews are loaded).
+     * it is processed in the service {@link IReviewService#getRatingSummary(Long)}
+     * @param restaurantId The restaurant's id.
+     * @return a 200 ok, with a {@link RatingSummaryResponseDto}; 404 if the restaurant does not exist or is inactive
+     */
+    @GetMapping("/restaurant/{restaurantId}/summary")
+    public ResponseEntity<?> getRatingSummary(@PathVariable final Long restaurantId) {
+        RatingSummaryResponseDto summary = iReviewService.getRatingSummary(restaurantId);
+        return ResponseEntity.ok(summary);
     }
 
     /**
@@ -0,0 +1,131 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.FacetedSearchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SearchCacheStatsResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SuggestionResponseDto;
+import com.c24_39_t_webapp.restaurants.index.ProductFacet;
+import com.c24_39_t_webapp.restaurants.index.RestaurantFacet;
+import com.c24_39_t_webapp.restaurants.services.IFacetService;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
+import com.c24_39_t_webapp.restaurants.services.ISuggestService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final ISuggestService suggestService;
+    private final IFacetService facetService;
+    private final ISearchCacheService searchCacheService;
+
+    /**
+     * Endpoint for search-box autocomplete over products, restaurants, cuisines and categories.
+     * Served from an in-memory prefix index, so it accepts any prefix length (including 1 character)
+     * and never touches the database.
+     * Delegates the retrieval logic to {@link ISuggestService#suggest(String, Integer)}.
+     *
+     * @param q     The text typed so far. Accents and case are ignored.
+     * @param limit Maximum number of suggestions (1-10, default 8).
+     * @return A list of {@code SuggestionResponseDto} objects ordered by popularity; empty if nothing matches.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponseDto>> suggest(@RequestParam(defaultValue = "") String q,
+                                                               @RequestParam(required = false) Integer limit) {
+        log.debug("Solicitud de sugerencias para el prefijo: {}", q);
+        return ResponseEntity.ok(suggestService.suggest(q, limit));
+    }
+
+    /**
+     * Endpoint for faceted product filtering with per-facet counts.
+     * Values of the same facet are combined with OR and different facets with AND,
+     * e.g. {@code ?cuisine=1,2&priceBand=0-10&active=true}.
+     * Delegates the retrieval logic to {@link IFacetService#searchProducts(Map, Integer, Integer)}.
+     *
+     * @param restaurant Restaurant IDs.
+     * @param category   Category IDs.
+     * @param cuisine    Cuisine IDs (the cuisine of the product's restaurant).
+     * @param priceBand  Price bands: 0-10, 10-20, 20-30, 30+.
+     * @param active     true / false.
+     * @param offset     Position of the first product to return (default 0).
+     * @param limit      Page size (1-100, default 20).
+     * @return A {@code FacetedSearchResponseDto} with the total, the requested page ordered by ID and the facet counts.
+     */
+    @GetMapping("/products")
+    public ResponseEntity<FacetedSearchResponseDto<ProductResponseDto>> searchProducts(
+            @RequestParam(required = false) List<String> restaurant,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> cuisine,
+            @RequestParam(required = false) List<String> priceBand,
+            @RequestParam(required = false) List<String> active,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        Map<ProductFacet, List<String>> filters = new EnumMap<>(ProductFacet.class);
+        putIfPresent(filters, ProductFacet.RESTAURANT, restaurant);
+        putIfPresent(filters, ProductFacet.CATEGORY, category);
+        putIfPresent(filters, ProductFacet.CUISINE, cuisine);
+        putIfPresent(filters, ProductFacet.PRICE_BAND, priceBand);
+        putIfPresent(filters, ProductFacet.ACTIVE, active);
+        log.info("Solicitud recibida para filtrar productos por facetas: {}", filters);
+        return ResponseEntity.ok(facetService.searchProducts(filters, offset, limit));
+    }
+
+    /**
+     * Endpoint for faceted restaurant filtering with per-facet counts.
+     * Same semantics as {@link #searchProducts}; a restaurant matches a category when it has
+     * at least one active product in it.
+     * Delegates the retrieval logic to {@link IFacetService#searchRestaurants(Map, Integer, Integer)}.
+     *
+     * @param cuisine  Cuisine IDs.
+     * @param category Category IDs.
+     * @param offset   Position of the first restaurant to return (default 0).
+     * @param limit    Page size (1-100, default 20).
+     * @return A {@code FacetedSearchResponseDto} with the total, the requested page ordered by ID and the facet counts.
+     */
+    @GetMapping("/restaurants")
+    public ResponseEntity<FacetedSearchResponseDto<RestaurantResponseDto>> searchRestaurants(
+            @RequestParam(required = false) List<String> cuisine,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        Map<RestaurantFacet, List<String>> filters = new EnumMap<>(RestaurantFacet.class);
+        putIfPresent(filters, RestaurantFacet.CUISINE, cuisine);
+        putIfPresent(filters, RestaurantFacet.CATEGORY, category);
+        log.info("Solicitud recibida para filtrar restaurantes por facetas: {}", filters);
+        return ResponseEntity.ok(facetService.searchRestaurants(filters, offset, limit));
+    }
+
+    /**
+     * Endpoint exposing the metrics of the product name search cache ({@code GET /api/product/byName}):
+     * hits, misses, hit ratio, evictions, rejected admissions, invalidations, background re-warms and
+     * the most frequent normalized queries.
+     * Restricted to restaurant accounts: the top queries are what other users typed, so the endpoint is not public
+     * like the rest of {@code /api/search}.
+     * Delegates the retrieval logic to {@link ISearchCacheService#getStats()}.
+     *
+     * @return A {@code SearchCacheStatsResponseDto} with the counters accumulated since startup.
+     */
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('RESTAURANTE')")
+    public ResponseEntity<SearchCacheStatsResponseDto> getCacheStats() {
+        return ResponseEntity.ok(searchCacheService.getStats());
+    }
+
+    private static <F extends Enum<F>> void putIfPresent(Map<F, List<String>> filters, F facet, List<String> values) {
+        if (values != null && !values.isEmpty()) filters.put(facet, values);
+    }
+}
@@ -0,0 +1,39 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.CatalogChangesResponseDto;
+import com.c24_39_t_webapp.restaurants.services.ISyncService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final ISyncService syncService;
+
+    /**
+     * Endpoint for incremental catalog sync: products, restaurants, categories and cuisines created or
+     * updated after the watermark, plus the IDs of deleted entities.
+     * Start without {@code since} to get the full catalog, then send back the returned watermark on each call.
+     * When {@code hasMore} is true, call again right away; when {@code reset} is true, clear the local replica
+     * before applying the response.
+     * Delegates the retrieval logic to {@link ISyncService#getChanges(String, Integer)}.
+     *
+     * @param since The opaque watermark returned by the previous call (omit for the initial load).
+     * @param limit Maximum rows per entity type (1-2000, default 500).
+     * @return A {@code CatalogChangesResponseDto} with the changes and the new watermark.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesResponseDto> getChanges(@RequestParam(required = false) String since,
+                                                                @RequestParam(required = false) Integer limit) {
+        log.info("Solicitud de cambios del catálogo desde la marca de agua: {}", since);
+        return ResponseEntity.ok(syncService.getChanges(since, limit));
+    }
+}
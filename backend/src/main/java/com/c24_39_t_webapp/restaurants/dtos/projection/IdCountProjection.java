@@ -0,0 +1,13 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+/**
+ * Proyección genérica (ID, contador) para consultas agregadas con GROUP BY.
+ *
+ * @param id    ID de la entidad agrupada
+ * @param count valor agregado (COUNT o SUM)
+ */
+public record IdCountProjection(
+        Long id,
+        Long count
+) {
+}
@@ -0,0 +1,15 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Intervalo de apertura de un restaurante, leído sin cargar la entidad (para construir el índice de horarios).
+ */
+public record OpeningIntervalRow(
+        Long restaurantId,
+        DayOfWeek day,
+        LocalTime opens,
+        LocalTime closes
+) {
+}
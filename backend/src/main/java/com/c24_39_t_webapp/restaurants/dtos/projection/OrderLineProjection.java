@@ -0,0 +1,13 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+/**
+ * Línea de pedido reducida a (pedido, producto), para análisis de productos pedidos juntos.
+ *
+ * @param orderId   ID del pedido
+ * @param productId ID del producto pedido
+ */
+public record OrderLineProjection(
+        Long orderId,
+        Long productId
+) {
+}
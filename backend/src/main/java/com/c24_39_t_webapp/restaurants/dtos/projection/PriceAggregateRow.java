@@ -0,0 +1,14 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Agregado de los precios de los productos activos de un restaurante (COUNT, MIN y SUM).
+ */
+public record PriceAggregateRow(
+        Long restaurantId,
+        Long productCount,
+        BigDecimal minPrice,
+        BigDecimal priceSum
+) {
+}
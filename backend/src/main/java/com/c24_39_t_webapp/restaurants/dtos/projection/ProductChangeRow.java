@@ -0,0 +1,30 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Producto modificado para la sincronización incremental: los datos del DTO de respuesta más la fecha de
+ * actualización, que junto con el ID forma la posición en el flujo de cambios.
+ */
+public record ProductChangeRow(
+        Long prd_id,
+        Long restaurantId,
+        Long categoryId,
+        String name,
+        String description,
+        BigDecimal price,
+        String image,
+        Boolean isActive,
+        Integer quantity,
+        String categoryName,
+        String restaurantName,
+        LocalDateTime updatedAt
+) {
+    public ProductResponseDto toResponseDto() {
+        return new ProductResponseDto(prd_id, restaurantId, categoryId, name, description, price, image,
+                isActive, quantity, categoryName, restaurantName);
+    }
+}
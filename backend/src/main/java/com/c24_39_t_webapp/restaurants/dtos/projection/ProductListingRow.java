@@ -0,0 +1,35 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de un listado paginado de productos: los datos del DTO de respuesta más la fecha de alta,
+ * necesaria para construir el cursor cuando se ordena por novedad.
+ */
+public record ProductListingRow(
+        Long prd_id,
+        Long restaurantId,
+        Long categoryId,
+        String name,
+        String description,
+        BigDecimal price,
+        String image,
+        Boolean isActive,
+        Integer quantity,
+        String categoryName,
+        String restaurantName,
+        LocalDateTime createdAt
+) {
+    public ProductResponseDto toResponseDto() {
+        return new ProductResponseDto(prd_id, restaurantId, categoryId, name, description, price, image,
+                isActive, quantity, categoryName, restaurantName);
+    }
+
+    public ProductSummaryResponseDto toSummaryDto() {
+        return new ProductSummaryResponseDto(prd_id, restaurantId, categoryId, name, description, image);
+    }
+}
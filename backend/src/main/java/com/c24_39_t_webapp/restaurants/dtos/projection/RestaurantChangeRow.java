@@ -0,0 +1,32 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Restaurante modificado para la sincronización incremental: los datos del DTO de respuesta más la fecha
+ * de actualización, que junto con el ID forma la posición en el flujo de cambios.
+ */
+public record RestaurantChangeRow(
+        Long rst_id,
+        Long rst_user_id,
+        String name,
+        String description,
+        String phone,
+        String email,
+        String address,
+        String openingHours,
+        String logo,
+        String coverImage,
+        Long cuisineId,
+        String cuisineName,
+        Double latitude,
+        Double longitude,
+        LocalDateTime updatedAt
+) {
+    public RestaurantResponseDto toResponseDto() {
+        return new RestaurantResponseDto(rst_id, rst_user_id, name, description, phone, email, address,
+                openingHours, logo, coverImage, cuisineId, cuisineName, latitude, longitude);
+    }
+}
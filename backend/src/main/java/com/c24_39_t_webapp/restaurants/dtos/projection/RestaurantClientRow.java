@@ -0,0 +1,13 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+/**
+ * Par (restaurante, cliente) distinto de los pedidos entregados, para cargar el índice de clientes.
+ *
+ * @param restaurantId ID del restaurante
+ * @param clientId     ID del cliente
+ */
+public record RestaurantClientRow(
+        Long restaurantId,
+        Long clientId
+) {
+}
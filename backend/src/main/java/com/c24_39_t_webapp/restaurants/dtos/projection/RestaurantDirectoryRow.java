@@ -0,0 +1,32 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantCardResponseDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila del directorio de restaurantes: los datos de la tarjeta más la fecha de alta,
+ * necesaria para construir el cursor cuando se ordena por novedad.
+ */
+public record RestaurantDirectoryRow(
+        Long rst_id,
+        String name,
+        String description,
+        String address,
+        String logo,
+        String coverImage,
+        Long cuisineId,
+        String cuisineName,
+        Double averageScore,
+        Double bayesianScore,
+        Long reviewCount,
+        BigDecimal minPrice,
+        BigDecimal averagePrice,
+        LocalDateTime createdAt
+) {
+    public RestaurantCardResponseDto toCardDto() {
+        return new RestaurantCardResponseDto(rst_id, name, description, address, logo, coverImage,
+                cuisineId, cuisineName, averageScore, bayesianScore, reviewCount, minPrice, averagePrice);
+    }
+}
@@ -0,0 +1,23 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del listado de reseñas leída solo de la tabla de reseñas (el nombre del autor está desnormalizado en
+ * rvw_username). Incluye el ID de la reseña, necesario para construir el cursor.
+ */
+public record ReviewListingRow(
+        Long id,
+        Long restaurantId,
+        Long userId,
+        String userName,
+        Integer score,
+        String comments,
+        LocalDateTime createdAt
+) {
+    public ReviewResponseDto toResponseDto(boolean verifiedPurchase) {
+        return new ReviewResponseDto(restaurantId, userId, userName, score, comments, createdAt, verifiedPurchase);
+    }
+}
@@ -0,0 +1,11 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+/**
+ * Número de reseñas de un restaurante con una puntuación concreta (una posición de su histograma).
+ */
+public record ScoreCountRow(
+        Long restaurantId,
+        Integer score,
+        Long reviewCount
+) {
+}
@@ -0,0 +1,13 @@
+package com.c24_39_t_webapp.restaurants.dtos.projection;
+
+/**
+ * Proyección genérica (valor, contador) para consultas agregadas con GROUP BY sobre una columna de texto.
+ *
+ * @param value valor agrupado
+ * @param count número de filas con ese valor
+ */
+public record ValueCountProjection(
+        String value,
+        Long count
+) {
+}
@@ -0,0 +1,24 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * Qué hacer con las filas válidas cuando alguna fila de una importación es inválida.
+ */
+public enum ImportMode {
+    /** Todo o nada: si hay una sola fila inválida no se importa ninguna. */
+    ATOMIC,
+    /** Se importan las filas válidas y se informa de las inválidas. */
+    PARTIAL;
+
+    public static ImportMode from(String value) {
+        if (value == null || value.isBlank()) return ATOMIC;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Modo de importación no soportado: " + value + ". Valores válidos: atomic, partial");
+        }
+    }
+}
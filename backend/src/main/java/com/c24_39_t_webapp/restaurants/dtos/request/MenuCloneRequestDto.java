@@ -0,0 +1,24 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+/**
+ * Copia de la carta de un restaurante en otro del mismo propietario.
+ * Si {@code priceChangePercent} es null, los precios se copian sin cambios.
+ */
+public record MenuCloneRequestDto(
+        @NotNull(message = "Debe indicar el restaurante de origen.")
+        @Positive(message = "El ID del restaurante de origen no es válido.")
+        Long sourceRestaurantId,
+
+        // Porcentaje de subida (positivo) o bajada (negativo) sobre el precio de origen, p. ej. 15 = un 15 % más caro
+        @DecimalMin(value = "-99.99", message = "La bajada de precio no puede ser del 100 % o más.")
+        @DecimalMax(value = "1000", message = "La subida de precio no puede superar el 1000 %.")
+        BigDecimal priceChangePercent
+) {
+}
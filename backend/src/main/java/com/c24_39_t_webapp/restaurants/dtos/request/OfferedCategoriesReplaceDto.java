@@ -0,0 +1,17 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Conjunto completo de categorías que debe ofrecer un restaurante; las demás se desasocian.
+ * Una lista vacía deja el restaurante sin categorías.
+ */
+public record OfferedCategoriesReplaceDto(
+        @NotNull(message = "Debe indicar la lista de categorías (puede estar vacía).")
+        @Size(max = 500, message = "Un restaurante no puede ofrecer más de 500 categorías.")
+        List<Long> categoryIds
+) {
+}
@@ -0,0 +1,18 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Categorías a asociar y a desasociar de un restaurante en una sola operación.
+ * Las listas null o vacías no cambian nada; una misma categoría no puede estar en las dos.
+ */
+public record OfferedCategoriesUpdateDto(
+        @Size(max = 500, message = "No se pueden añadir más de 500 categorías a la vez.")
+        List<Long> add,
+
+        @Size(max = 500, message = "No se pueden quitar más de 500 categorías a la vez.")
+        List<Long> remove
+) {
+}
@@ -0,0 +1,21 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Intervalo semanal de apertura; si {@code closes} no es posterior a {@code opens}, cierra al día siguiente.
+ */
+public record OpeningIntervalDto(
+        @NotNull(message = "El día del horario no puede estar vacío.")
+        DayOfWeek day,
+
+        @NotNull(message = "La hora de apertura no puede estar vacía.")
+        LocalTime opens,
+
+        @NotNull(message = "La hora de cierre no puede estar vacía.")
+        LocalTime closes
+) {
+}
@@ -0,0 +1,34 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Cambios a aplicar a la vez a varios productos de un restaurante. Los campos null no se modifican.
+ * {@code price} y {@code priceChangePercent} son excluyentes.
+ */
+public record ProductBulkUpdateRequestDto(
+        @NotEmpty(message = "Debe indicar al menos un producto.")
+        @Size(max = 1000, message = "No se pueden actualizar más de 1000 productos a la vez.")
+        List<Long> productIds,
+
+        @PositiveOrZero(message = "El precio no puede ser negativo.")
+        BigDecimal price,
+
+        // Porcentaje de subida (positivo) o bajada (negativo) del precio actual, p. ej. -10 = 10 % de descuento
+        @DecimalMin(value = "-99.99", message = "La bajada de precio no puede ser del 100 % o más.")
+        @DecimalMax(value = "1000", message = "La subida de precio no puede superar el 1000 %.")
+        BigDecimal priceChangePercent,
+
+        @PositiveOrZero(message = "La cantidad no puede ser negativa.")
+        Integer quantity,
+
+        Boolean isActive
+) {
+}
@@ -0,0 +1,43 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de una importación masiva de productos (JSON o CSV).
+ * Igual que {@link ProductRequestDto}, pero la categoría se indica por nombre y se crea si no existe.
+ */
+public record ProductImportRowDto(
+        @NotBlank(message = "El nombre del producto no puede estar vacío.")
+        @Size(max = 60, message = "El nombre del producto no puede tener más de 60 caracteres.")
+        String name,
+
+        @NotBlank(message = "La descripción no puede estar vacía.")
+        @Size(max = 500, message = "La descripción no puede exceder de 500 caracteres.")
+        String description,
+
+        @NotNull(message = "El precio no puede ser nulo.")
+        @PositiveOrZero(message = "El precio no puede ser negativo.")
+        BigDecimal price,
+
+        @NotBlank(message = "La imagen no puede estar vacía.")
+        String image,
+
+        Boolean isActive,
+
+        @NotNull(message = "La cantidad no puede estar vacía.")
+        @PositiveOrZero(message = "La cantidad no puede ser negativa.")
+        Integer quantity,
+
+        @NotBlank(message = "El nombre de la categoria no puede estar vacío.")
+        @Size(max = 60, message = "El nombre de la categoria no puede tener más de 60 caracteres.")
+        String categoryName,
+
+        @Size(max = 500, message = "La descripción de la categoria no puede exceder de 500 caracteres.")
+        String categoryDescription
+) {
+}
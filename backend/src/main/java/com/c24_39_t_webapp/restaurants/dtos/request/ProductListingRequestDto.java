@@ -0,0 +1,26 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import java.math.BigDecimal;
+
+/**
+ * Parámetros de paginación, orden y filtro de los listados de productos (se enlazan desde la query string).
+ *
+ * @param sort       id (por defecto), newest, price_asc, price_desc o name
+ * @param cursor     cursor devuelto en la cabecera X-Next-Cursor de la página anterior
+ * @param limit      tamaño de página (se acota al máximo permitido)
+ * @param activeOnly si es true, solo productos activos
+ * @param minPrice   precio mínimo incluido
+ * @param maxPrice   precio máximo incluido
+ */
+public record ProductListingRequestDto(
+        String sort,
+        String cursor,
+        Integer limit,
+        Boolean activeOnly,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+) {
+    public static ProductListingRequestDto firstPage() {
+        return new ProductListingRequestDto(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,82 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Órdenes admitidos en los listados de productos. Todos desempatan por ID en el mismo sentido,
+ * de modo que el orden es total y se puede paginar por clave.
+ */
+public enum ProductSort {
+    ID(null, false, row -> ""),
+    NEWEST("p.createdAt", true, row -> row.createdAt().toString()),
+    PRICE_ASC("p.price", false, row -> row.price().toPlainString()),
+    PRICE_DESC("p.price", true, row -> row.price().toPlainString()),
+    NAME("p.name", false, ProductListingRow::name);
+
+    private final String keyPath;
+    private final boolean descending;
+    private final Function<ProductListingRow, String> keyOf;
+
+    ProductSort(String keyPath, boolean descending, Function<ProductListingRow, String> keyOf) {
+        this.keyPath = keyPath;
+        this.descending = descending;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * @param value valor del parámetro {@code sort} (sin distinguir mayúsculas; admite "price-asc")
+     * @return el orden indicado, o {@link #ID} si no se indica ninguno
+     */
+    public static ProductSort from(String value) {
+        if (value == null || value.isBlank()) return ID;
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Orden no soportado: " + value + ". Valores válidos: " +
+                    Arrays.stream(values()).map(s -> s.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * @return ruta JPQL de la clave de orden, o null si se ordena solo por ID
+     */
+    public String keyPath() {
+        return keyPath;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    /**
+     * Valor de la clave de orden de una fila, tal como se guarda en el cursor.
+     */
+    public String keyOf(ProductListingRow row) {
+        return keyOf.apply(row);
+    }
+
+    /**
+     * Convierte la clave guardada en un cursor al tipo de la columna.
+     */
+    public Object parseKey(String key) {
+        try {
+            return switch (this) {
+                case ID -> null;
+                case NEWEST -> LocalDateTime.parse(key);
+                case PRICE_ASC, PRICE_DESC -> new BigDecimal(key);
+                case NAME -> key;
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
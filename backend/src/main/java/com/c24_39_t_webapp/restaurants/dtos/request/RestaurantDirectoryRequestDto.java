@@ -0,0 +1,20 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+/**
+ * Parámetros de paginación, orden y filtro del directorio de restaurantes (se enlazan desde la query string).
+ *
+ * @param sort      name (por defecto), rating, weighted-rating o newest
+ * @param cursor    cursor devuelto en la cabecera X-Next-Cursor de la página anterior
+ * @param limit     tamaño de página (se acota al máximo permitido)
+ * @param cuisineId si se indica, solo restaurantes de ese tipo de cocina
+ */
+public record RestaurantDirectoryRequestDto(
+        String sort,
+        String cursor,
+        Integer limit,
+        Long cuisineId
+) {
+    public static RestaurantDirectoryRequestDto firstPage() {
+        return new RestaurantDirectoryRequestDto(null, null, null, null);
+    }
+}
@@ -1,8 +1,13 @@
 package com.c24_39_t_webapp.restaurants.dtos.request;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.List;
+
 public record RestaurantRequestDto(
         @NotNull(message = "El id del propietario no puede estar vacío.")
         Long ownerId,
@@ -28,6 +33,19 @@ public record RestaurantRequestDto(
 
         String logo,
 
-        String coverImage
+        String coverImage,
+
+        // Opcionales, pero se indican las dos o ninguna
+        @DecimalMin(value = "-90.0", message = "La latitud debe estar entre -90 y 90.")
+        @DecimalMax(value = "90.0", message = "La latitud debe estar entre -90 y 90.")
+        Double latitude,
+
+        @DecimalMin(value = "-180.0", message = "La longitud debe estar entre -180 y 180.")
+        @DecimalMax(value = "180.0", message = "La longitud debe estar entre -180 y 180.")
+        Double longitude,
+
+        // Opcional; si no se indica se deduce del texto de openingHours (por ejemplo "10-15 h y 20-24 h")
+        @Valid
+        List<OpeningIntervalDto> openingSchedule
 ) {
 }
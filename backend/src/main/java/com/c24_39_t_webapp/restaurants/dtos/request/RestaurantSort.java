@@ -0,0 +1,85 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantDirectoryRow;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Órdenes admitidos en el directorio de restaurantes. Todos desempatan por ID en el mismo sentido,
+ * de modo que el orden es total y se puede paginar por clave.
+ * <p>
+ * Los restaurantes sin reseñas se ordenan por valoración como -1, es decir, detrás de todos los valorados.
+ * WEIGHTED_RATING ordena por la media bayesiana, de modo que un restaurante con una sola reseña de 10 no
+ * queda por delante de otro con cientos de reseñas de 9.
+ */
+public enum RestaurantSort {
+    NAME("r.name", false, RestaurantDirectoryRow::name),
+    RATING("COALESCE(s.averageScore, -1.0)", true,
+            row -> String.valueOf(row.averageScore() == null ? -1.0 : row.averageScore())),
+    WEIGHTED_RATING("COALESCE(s.bayesianScore, -1.0)", true,
+            row -> String.valueOf(row.bayesianScore() == null ? -1.0 : row.bayesianScore())),
+    NEWEST("r.createdAt", true, row -> row.createdAt().toString());
+
+    private final String keyPath;
+    private final boolean descending;
+    private final Function<RestaurantDirectoryRow, String> keyOf;
+
+    RestaurantSort(String keyPath, boolean descending, Function<RestaurantDirectoryRow, String> keyOf) {
+        this.keyPath = keyPath;
+        this.descending = descending;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * @param value valor del parámetro {@code sort} (sin distinguir mayúsculas)
+     * @return el orden indicado, o {@link #NAME} si no se indica ninguno
+     */
+    public static RestaurantSort from(String value) {
+        if (value == null || value.isBlank()) return NAME;
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Orden no soportado: " + value + ". Valores válidos: " +
+                    Arrays.stream(values()).map(s -> s.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * @return expresión JPQL de la clave de orden
+     */
+    public String keyPath() {
+        return keyPath;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    /**
+     * Valor de la clave de orden de una fila, tal como se guarda en el cursor.
+     */
+    public String keyOf(RestaurantDirectoryRow row) {
+        return keyOf.apply(row);
+    }
+
+    /**
+     * Convierte la clave guardada en un cursor al tipo de la columna.
+     */
+    public Object parseKey(String key) {
+        try {
+            return switch (this) {
+                case NAME -> key;
+                case RATING, WEIGHTED_RATING -> Double.valueOf(key);
+                case NEWEST -> LocalDateTime.parse(key);
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
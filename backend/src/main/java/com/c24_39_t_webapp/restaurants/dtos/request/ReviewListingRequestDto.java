@@ -0,0 +1,18 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+/**
+ * Parámetros de paginación y orden del listado de reseñas de un restaurante (se enlazan desde la query string).
+ *
+ * @param sort   newest (por defecto), score-desc o score-asc
+ * @param cursor cursor devuelto en la cabecera X-Next-Cursor de la página anterior
+ * @param limit  tamaño de página (se acota al máximo permitido)
+ */
+public record ReviewListingRequestDto(
+        String sort,
+        String cursor,
+        Integer limit
+) {
+    public static ReviewListingRequestDto firstPage() {
+        return new ReviewListingRequestDto(null, null, null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ReviewListingRow;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Órdenes admitidos en el listado de reseñas de un restaurante. Todos desempatan por ID en el mismo sentido,
+ * de modo que el orden es total y se puede paginar por clave.
+ */
+public enum ReviewSort {
+    NEWEST("r.createdAt", true, row -> row.createdAt().toString()),
+    SCORE_DESC("r.score", true, row -> String.valueOf(row.score())),
+    SCORE_ASC("r.score", false, row -> String.valueOf(row.score()));
+
+    private final String keyPath;
+    private final boolean descending;
+    private final Function<ReviewListingRow, String> keyOf;
+
+    ReviewSort(String keyPath, boolean descending, Function<ReviewListingRow, String> keyOf) {
+        this.keyPath = keyPath;
+        this.descending = descending;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * @param value valor del parámetro {@code sort} (sin distinguir mayúsculas; admite "score-desc")
+     * @return el orden indicado, o {@link #NEWEST} si no se indica ninguno
+     */
+    public static ReviewSort from(String value) {
+        if (value == null || value.isBlank()) return NEWEST;
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Orden no soportado: " + value + ". Valores válidos: " +
+                    Arrays.stream(values()).map(s -> s.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * @return ruta JPQL de la clave de orden
+     */
+    public String keyPath() {
+        return keyPath;
+    }
+
+    public boolean descending() {
+        return descending;
+    }
+
+    /**
+     * Valor de la clave de orden de una fila, tal como se guarda en el cursor.
+     */
+    public String keyOf(ReviewListingRow row) {
+        return keyOf.apply(row);
+    }
+
+    /**
+     * Convierte la clave guardada en un cursor al tipo de la columna.
+     */
+    public Object parseKey(String key) {
+        try {
+            return switch (this) {
+                case NEWEST -> LocalDateTime.parse(key);
+                case SCORE_DESC, SCORE_ASC -> Integer.valueOf(key);
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.c24_39_t_webapp.restaurants.dtos.request;
+
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Ventanas del ranking de restaurantes en tendencia. Cada una se cuenta en tramos de ancho fijo, así que
+ * cubre entre {@code (tramos - 1) × ancho} y {@code tramos × ancho} hacia atrás según el momento del tramo en curso.
+ */
+public enum TrendingWindow {
+    HOUR(Duration.ofMinutes(5), 12),
+    DAY(Duration.ofHours(1), 24);
+
+    private final Duration bucketWidth;
+    private final int buckets;
+
+    TrendingWindow(Duration bucketWidth, int buckets) {
+        this.bucketWidth = bucketWidth;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @param value valor del parámetro {@code window} (sin distinguir mayúsculas)
+     * @return la ventana indicada, o {@link #HOUR} si no se indica ninguna
+     */
+    public static TrendingWindow from(String value) {
+        if (value == null || value.isBlank()) return HOUR;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Ventana no soportada: " + value + ". Valores válidos: " +
+                    Arrays.stream(values()).map(w -> w.name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(", ")));
+        }
+    }
+
+    public Duration bucketWidth() {
+        return bucketWidth;
+    }
+
+    public int buckets() {
+        return buckets;
+    }
+}
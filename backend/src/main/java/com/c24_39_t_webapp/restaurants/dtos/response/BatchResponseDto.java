@@ -0,0 +1,37 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de una consulta múltiple por IDs.
+ *
+ * @param items      un elemento por ID distinto solicitado, en el orden de la petición
+ * @param missingIds IDs solicitados que no existen, en el orden de la petición
+ */
+public record BatchResponseDto<T>(
+        List<Item<T>> items,
+        List<Long> missingIds
+) {
+    /**
+     * @param id    ID solicitado
+     * @param found false si no existe; en ese caso {@code data} es null
+     * @param data  elemento encontrado
+     */
+    public record Item<T>(Long id, boolean found, T data) {}
+
+    /**
+     * Ordena las filas leídas (en cualquier orden) según los IDs solicitados y marca los que faltan.
+     */
+    public static <T> BatchResponseDto<T> inRequestOrder(List<Long> ids, Collection<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+        List<Item<T>> items = ids.stream()
+                .map(id -> new Item<>(id, byId.containsKey(id), byId.get(id)))
+                .toList();
+        List<Long> missing = items.stream().filter(item -> !item.found()).map(Item::id).toList();
+        return new BatchResponseDto<>(items, missing);
+    }
+}
@@ -0,0 +1,31 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import com.c24_39_t_webapp.restaurants.models.SyncEntityType;
+
+import java.util.List;
+
+/**
+ * Cambios del catálogo posteriores a una marca de agua (GET /api/sync/changes).
+ *
+ * @param watermark   marca de agua a enviar en la siguiente petición
+ * @param hasMore     true si algún flujo se recortó por el límite; conviene pedir de nuevo enseguida
+ * @param reset       true si la marca de agua recibida era demasiado antigua (o no se envió): la respuesta
+ *                    empieza desde cero y el cliente debe vaciar su réplica antes de aplicarla
+ * @param products    productos creados o modificados
+ * @param restaurants restaurantes creados o modificados
+ * @param categories  categorías creadas o modificadas
+ * @param cuisines    tipologías creadas o modificadas
+ * @param deleted     entidades eliminadas; la baja de un restaurante implica la de sus productos
+ */
+public record CatalogChangesResponseDto(
+        String watermark,
+        boolean hasMore,
+        boolean reset,
+        List<ProductResponseDto> products,
+        List<RestaurantResponseDto> restaurants,
+        List<CategoryResponseDto> categories,
+        List<CuisineResponseDto> cuisines,
+        List<DeletedEntity> deleted
+) {
+    public record DeletedEntity(SyncEntityType type, Long id) {}
+}
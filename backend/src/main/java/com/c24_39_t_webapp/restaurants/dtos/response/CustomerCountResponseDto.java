@@ -0,0 +1,13 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+/**
+ * Número exacto de clientes distintos con algún pedido entregado en un restaurante.
+ *
+ * @param restaurantId    ID del restaurante
+ * @param uniqueCustomers clientes distintos
+ */
+public record CustomerCountResponseDto(
+        Long restaurantId,
+        long uniqueCustomers
+) {
+}
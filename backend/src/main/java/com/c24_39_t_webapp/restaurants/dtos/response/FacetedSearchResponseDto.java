@@ -0,0 +1,21 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado paginado de una búsqueda por facetas.
+ *
+ * @param total  número total de resultados que cumplen los filtros
+ * @param offset posición del primer elemento devuelto
+ * @param limit  tamaño de página aplicado
+ * @param items  página de resultados, ordenada por ID
+ * @param facets por faceta (nombre del parámetro), valor → número de resultados
+ */
+public record FacetedSearchResponseDto<T>(
+        long total,
+        int offset,
+        int limit,
+        List<T> items,
+        Map<String, Map<String, Integer>> facets
+) {}
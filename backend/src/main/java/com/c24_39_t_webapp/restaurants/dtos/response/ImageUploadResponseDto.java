@@ -0,0 +1,21 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.Map;
+
+/**
+ * Resultado de subir una imagen al almacén.
+ *
+ * @param hash          SHA-256 del fichero original (identifica la imagen)
+ * @param contentType   tipo MIME detectado por el contenido
+ * @param size          tamaño del original en bytes
+ * @param deduplicated  true si la imagen ya existía y no se ha vuelto a guardar
+ * @param urls          URL relativa de cada variante ("original", "medium", "thumbnail")
+ */
+public record ImageUploadResponseDto(
+        String hash,
+        String contentType,
+        long size,
+        boolean deduplicated,
+        Map<String, String> urls
+) {
+}
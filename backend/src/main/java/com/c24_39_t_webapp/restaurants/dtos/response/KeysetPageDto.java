@@ -0,0 +1,19 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+
+/**
+ * Página de un listado paginado por clave.
+ *
+ * @param items      elementos de la página, en el orden solicitado
+ * @param nextCursor cursor para pedir la página siguiente, o null si es la última
+ */
+public record KeysetPageDto<T>(
+        List<T> items,
+        String nextCursor
+) {
+    /**
+     * Cabecera en la que los controladores devuelven {@link #nextCursor()}, para mantener el cuerpo como array.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+}
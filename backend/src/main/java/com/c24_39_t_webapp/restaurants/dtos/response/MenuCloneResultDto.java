@@ -0,0 +1,17 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+/**
+ * Resultado de la copia de la carta de un restaurante en otro.
+ *
+ * @param sourceRestaurantId restaurante del que se copia la carta
+ * @param targetRestaurantId restaurante que recibe los productos
+ * @param clonedProducts     productos creados en el restaurante de destino
+ * @param clonedCategories   categorías asociadas al restaurante de destino (las que ya tenía no cuentan)
+ */
+public record MenuCloneResultDto(
+        Long sourceRestaurantId,
+        Long targetRestaurantId,
+        int clonedProducts,
+        int clonedCategories
+) {
+}
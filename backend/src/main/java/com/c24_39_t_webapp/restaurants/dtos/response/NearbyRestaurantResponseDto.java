@@ -0,0 +1,12 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+/**
+ * Restaurante encontrado en una búsqueda por cercanía.
+ *
+ * @param restaurant datos del restaurante
+ * @param distanceKm distancia en línea recta (círculo máximo) desde el punto de búsqueda, en kilómetros
+ */
+public record NearbyRestaurantResponseDto(
+        RestaurantResponseDto restaurant,
+        double distanceKm
+) {}
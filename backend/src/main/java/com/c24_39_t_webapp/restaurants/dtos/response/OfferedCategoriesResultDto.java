@@ -0,0 +1,19 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+
+/**
+ * Resultado de un cambio de las categorías ofrecidas por un restaurante.
+ *
+ * @param added      asociaciones creadas (las que ya existían no cuentan)
+ * @param removed    asociaciones borradas
+ * @param notFound   IDs a añadir que no corresponden a ninguna categoría (se ignoran)
+ * @param categories categorías que ofrece el restaurante tras el cambio
+ */
+public record OfferedCategoriesResultDto(
+        int added,
+        int removed,
+        List<Long> notFound,
+        List<CategoryResponseDto> categories
+) {
+}
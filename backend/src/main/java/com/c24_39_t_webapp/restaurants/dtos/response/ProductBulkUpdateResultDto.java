@@ -0,0 +1,17 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+
+/**
+ * Resultado de una actualización masiva de productos.
+ *
+ * @param updated    número de productos actualizados
+ * @param notFound   IDs solicitados que no existen o no pertenecen al restaurante (no se modifican)
+ * @param products   estado de los productos actualizados
+ */
+public record ProductBulkUpdateResultDto(
+        int updated,
+        List<Long> notFound,
+        List<ProductResponseDto> products
+) {
+}
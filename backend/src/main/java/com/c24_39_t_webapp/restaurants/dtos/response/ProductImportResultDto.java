@@ -0,0 +1,26 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de productos.
+ *
+ * @param mode      modo aplicado (ATOMIC o PARTIAL)
+ * @param totalRows filas leídas
+ * @param imported  filas insertadas y confirmadas (0 si el modo ATOMIC encontró errores)
+ * @param failed    filas inválidas
+ * @param errors    detalle de las filas inválidas (acotado; {@code failed} siempre es el total)
+ */
+public record ProductImportResultDto(
+        String mode,
+        int totalRows,
+        int imported,
+        int failed,
+        List<RowError> errors
+) {
+    /**
+     * @param row     número de fila en el fichero (1 = primer producto, sin contar la cabecera CSV)
+     * @param message motivo del rechazo
+     */
+    public record RowError(int row, String message) {}
+}
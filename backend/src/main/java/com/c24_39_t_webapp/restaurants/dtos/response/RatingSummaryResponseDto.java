@@ -0,0 +1,19 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+
+/**
+ * Resumen de las valoraciones de un restaurante, leído de sus estadísticas precalculadas.
+ *
+ * @param reviewCount    número de reseñas
+ * @param averageScore   media de las puntuaciones redondeada a 2 decimales; null si no hay reseñas
+ * @param bayesianScore  media ponderada con la media global de todas las reseñas; null si no hay reseñas
+ * @param scoreHistogram número de reseñas con cada puntuación: la posición i es la puntuación i (0 a 10)
+ */
+public record RatingSummaryResponseDto(
+        Long restaurantId,
+        long reviewCount,
+        Double averageScore,
+        Double bayesianScore,
+        List<Long> scoreHistogram
+) {}
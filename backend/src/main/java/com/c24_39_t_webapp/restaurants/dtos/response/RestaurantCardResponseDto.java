@@ -0,0 +1,28 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.math.BigDecimal;
+
+/**
+ * Tarjeta de un restaurante en el directorio: datos de presentación y resumen de valoraciones y precios.
+ *
+ * @param averageScore  valoración media (null si no tiene reseñas)
+ * @param bayesianScore valoración media ponderada con la media global (null si no tiene reseñas)
+ * @param reviewCount   número de reseñas
+ * @param minPrice      precio del producto activo más barato (null si no tiene productos activos)
+ * @param averagePrice  precio medio de los productos activos (null si no tiene productos activos)
+ */
+public record RestaurantCardResponseDto(
+        Long rst_id,
+        String name,
+        String description,
+        String address,
+        String logo,
+        String coverImage,
+        Long cuisineId,
+        String cuisineName,
+        Double averageScore,
+        Double bayesianScore,
+        Long reviewCount,
+        BigDecimal minPrice,
+        BigDecimal averagePrice
+) {}
@@ -0,0 +1,25 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.List;
+
+/**
+ * Página de un restaurante en una sola respuesta: datos, carta, categorías y resumen de reseñas.
+ * Las secciones que no se pudieron obtener a tiempo llegan a null y se enumeran en {@code unavailableSections}.
+ *
+ * @param restaurant          datos del restaurante
+ * @param menu                carta agrupada por categorías (JSON de List&lt;GroupedProductsResponseDto&gt;, tal
+ *                            como la guarda la caché de cartas)
+ * @param categories          categorías ofrecidas, por nombre
+ * @param reviews             resumen de reseñas
+ * @param unavailableSections secciones que fallaron o superaron el tiempo máximo ({@code menu},
+ *                            {@code categories}, {@code reviews}); vacía si la página está completa
+ */
+public record RestaurantPageResponseDto(
+        RestaurantResponseDto restaurant,
+        @JsonRawValue String menu,
+        List<CategoryResponseDto> categories,
+        ReviewSummaryResponseDto reviews,
+        List<String> unavailableSections
+) {}
@@ -12,6 +12,8 @@ public record RestaurantResponseDto(
         String logo,
         String coverImage,
         Long cuisineId,
-        String cuisineName
+        String cuisineName,
+        Double latitude,
+        Double longitude
 ) {
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.c24_39_t_webapp.restaurants.dtos.response;
 
 import java.time.LocalDateTime;
 
+/**
+ * @param verifiedPurchase true si el autor tiene algún pedido entregado en el restaurante; null si no se ha calculado
+ */
 public record ReviewResponseDto(
 //        Long id,
         Long restaurantId,
@@ -9,6 +12,16 @@ public record ReviewResponseDto(
         String userName,
         Integer score,
         String comments,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        Boolean verifiedPurchase
 ) {
+    // Para las proyecciones JPQL, que no saben si la compra está verificada
+    public ReviewResponseDto(Long restaurantId, Long userId, String userName, Integer score, String comments,
+                             LocalDateTime createdAt) {
+        this(restaurantId, userId, userName, score, comments, createdAt, null);
+    }
+
+    public ReviewResponseDto withVerifiedPurchase(boolean verified) {
+        return new ReviewResponseDto(restaurantId, userId, userName, score, comments, createdAt, verified);
+    }
 }
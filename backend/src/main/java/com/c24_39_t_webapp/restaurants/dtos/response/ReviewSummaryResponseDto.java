@@ -0,0 +1,16 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+
+/**
+ * Resumen de las reseñas de un restaurante.
+ *
+ * @param reviewCount   número de reseñas
+ * @param averageScore  media de las puntuaciones redondeada a 2 decimales; null si no hay reseñas
+ * @param latestReviews últimas reseñas, de la más reciente a la más antigua
+ */
+public record ReviewSummaryResponseDto(
+        long reviewCount,
+        Double averageScore,
+        List<ReviewResponseDto> latestReviews
+) {}
@@ -0,0 +1,32 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+import java.util.List;
+
+/**
+ * Métricas de la caché de búsqueda por nombre, acumuladas desde el arranque.
+ *
+ * @param hits            consultas servidas desde la caché
+ * @param misses          consultas que tuvieron que calcularse
+ * @param hitRatio        hits / (hits + misses); 0 si aún no hubo consultas
+ * @param evictions       entradas expulsadas por falta de espacio
+ * @param rejections      resultados no admitidos por ser menos populares que la víctima LRU
+ * @param invalidations   entradas eliminadas por cambios en el catálogo
+ * @param rewarms         consultas populares recalculadas en segundo plano
+ * @param size            entradas en caché
+ * @param maxEntries      capacidad máxima
+ * @param topQueries      consultas más frecuentes (normalizadas) y su número de accesos recientes
+ */
+public record SearchCacheStatsResponseDto(
+        long hits,
+        long misses,
+        double hitRatio,
+        long evictions,
+        long rejections,
+        long invalidations,
+        long rewarms,
+        int size,
+        int maxEntries,
+        List<TopQuery> topQueries
+) {
+    public record TopQuery(String query, int frequency) {}
+}
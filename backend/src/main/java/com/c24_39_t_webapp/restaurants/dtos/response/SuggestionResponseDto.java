@@ -0,0 +1,9 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+public record SuggestionResponseDto(
+        String type,
+        Long id,
+        String text,
+        Long restaurantId,
+        Long weight
+) {}
@@ -0,0 +1,12 @@
+package com.c24_39_t_webapp.restaurants.dtos.response;
+
+/**
+ * Restaurante del ranking de tendencia.
+ *
+ * @param restaurant datos del restaurante
+ * @param orders     pedidos confirmados dentro de la ventana consultada
+ */
+public record TrendingRestaurantResponseDto(
+        RestaurantResponseDto restaurant,
+        int orders
+) {}
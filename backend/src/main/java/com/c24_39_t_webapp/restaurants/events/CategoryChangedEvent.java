@@ -0,0 +1,23 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+/**
+ * Evento publicado por CategoryServiceImpl cuando se crea o se elimina una categoría global.
+ * Se consume tras el commit, igual que {@link ProductChangedEvent}.
+ *
+ * @param categoryId ID de la categoría afectada
+ * @param changeType SAVED (alta o modificación) o DELETED
+ * @param name       nombre de la categoría tras el cambio; null si se ha eliminado
+ */
+public record CategoryChangedEvent(
+        Long categoryId,
+        EntityChangeType changeType,
+        String name
+) {
+    public static CategoryChangedEvent saved(Long categoryId, String name) {
+        return new CategoryChangedEvent(categoryId, EntityChangeType.SAVED, name);
+    }
+
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, EntityChangeType.DELETED, null);
+    }
+}
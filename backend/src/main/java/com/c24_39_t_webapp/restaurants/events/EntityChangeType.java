@@ -0,0 +1,8 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+/**
+ * Tipo de cambio que transporta un evento de catálogo.
+ */
+public enum EntityChangeType {
+    SAVED, DELETED
+}
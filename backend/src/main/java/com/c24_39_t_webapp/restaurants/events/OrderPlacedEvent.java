@@ -0,0 +1,18 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+import java.util.List;
+
+/**
+ * Evento publicado por OrderServiceImpl cuando se crea un pedido.
+ * Se consume tras el commit, igual que {@link ProductChangedEvent}.
+ *
+ * @param orderId      ID del pedido creado
+ * @param restaurantId ID del restaurante del pedido
+ * @param productIds   IDs de los productos pedidos (puede haber repetidos)
+ */
+public record OrderPlacedEvent(
+        Long orderId,
+        Long restaurantId,
+        List<Long> productIds
+) {
+}
@@ -0,0 +1,29 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+import com.c24_39_t_webapp.restaurants.models.OrderStatus;
+
+/**
+ * Evento publicado por OrderServiceImpl cuando un pedido cambia de estado.
+ * Se consume tras el commit, igual que {@link OrderPlacedEvent}.
+ *
+ * @param orderId        ID del pedido
+ * @param restaurantId   ID del restaurante del pedido
+ * @param clientId       ID del cliente que hizo el pedido
+ * @param previousStatus estado antes del cambio
+ * @param status         estado después del cambio
+ */
+public record OrderStatusChangedEvent(
+        Long orderId,
+        Long restaurantId,
+        Long clientId,
+        OrderStatus previousStatus,
+        OrderStatus status
+) {
+    public boolean delivered() {
+        return status == OrderStatus.entregado && previousStatus != OrderStatus.entregado;
+    }
+
+    public boolean undelivered() {
+        return previousStatus == OrderStatus.entregado && status != OrderStatus.entregado;
+    }
+}
@@ -0,0 +1,29 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+
+/**
+ * Evento publicado por ProductServiceImpl cada vez que se crea, actualiza o elimina un producto.
+ * <p>
+ * Los listeners lo consumen con @TransactionalEventListener (fase AFTER_COMMIT), de modo que
+ * los índices y cachés en memoria solo ven cambios ya confirmados en la base de datos.
+ *
+ * @param productId    ID del producto afectado
+ * @param restaurantId ID del restaurante al que pertenece el producto
+ * @param changeType   SAVED (alta o modificación) o DELETED
+ * @param product      estado del producto tras el cambio; null si se ha eliminado
+ */
+public record ProductChangedEvent(
+        Long productId,
+        Long restaurantId,
+        EntityChangeType changeType,
+        ProductResponseDto product
+) {
+    public static ProductChangedEvent saved(ProductResponseDto product) {
+        return new ProductChangedEvent(product.prd_id(), product.restaurantId(), EntityChangeType.SAVED, product);
+    }
+
+    public static ProductChangedEvent deleted(Long productId, Long restaurantId) {
+        return new ProductChangedEvent(productId, restaurantId, EntityChangeType.DELETED, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+
+import java.util.List;
+
+/**
+ * Evento publicado cuando se crean o modifican muchos productos de un restaurante en una sola operación
+ * (importación o actualización masiva).
+ * <p>
+ * Sustituye a un {@link ProductChangedEvent} por producto: los listeners pueden invalidar la caché del
+ * restaurante una sola vez y reindexar todos los productos bajo un único lock. También se consume
+ * tras el commit (AFTER_COMMIT).
+ *
+ * @param restaurantId ID del restaurante al que pertenecen todos los productos
+ * @param products     estado de los productos tras el cambio
+ */
+public record ProductsBulkChangedEvent(
+        Long restaurantId,
+        List<ProductResponseDto> products
+) {
+}
@@ -0,0 +1,25 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+
+/**
+ * Evento publicado por RestaurantServiceImpl cada vez que se registra, actualiza o elimina un restaurante.
+ * Se consume tras el commit, igual que {@link ProductChangedEvent}.
+ *
+ * @param restaurantId ID del restaurante afectado
+ * @param changeType   SAVED (alta o modificación) o DELETED (baja lógica: el restaurante queda inactivo)
+ * @param restaurant   estado del restaurante tras el cambio; null si se ha dado de baja
+ */
+public record RestaurantChangedEvent(
+        Long restaurantId,
+        EntityChangeType changeType,
+        RestaurantResponseDto restaurant
+) {
+    public static RestaurantChangedEvent saved(RestaurantResponseDto restaurant) {
+        return new RestaurantChangedEvent(restaurant.rst_id(), EntityChangeType.SAVED, restaurant);
+    }
+
+    public static RestaurantChangedEvent deleted(Long restaurantId) {
+        return new RestaurantChangedEvent(restaurantId, EntityChangeType.DELETED, null);
+    }
+}
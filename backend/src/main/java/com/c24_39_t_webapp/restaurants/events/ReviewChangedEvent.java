@@ -0,0 +1,33 @@
+package com.c24_39_t_webapp.restaurants.events;
+
+/**
+ * Evento publicado por ReviewServiceImpl cada vez que se crea, actualiza o elimina una reseña.
+ * <p>
+ * Las estadísticas del restaurante (histograma, número de reseñas y medias) lo consumen antes del commit,
+ * en la misma transacción que el cambio de la reseña: restan la puntuación anterior y suman la nueva.
+ *
+ * @param reviewId      ID de la reseña afectada
+ * @param restaurantId  ID del restaurante reseñado
+ * @param changeType    SAVED (alta o modificación) o DELETED
+ * @param previousScore puntuación antes del cambio (null en un alta)
+ * @param score         puntuación después del cambio (null en una baja)
+ */
+public record ReviewChangedEvent(
+        Long reviewId,
+        Long restaurantId,
+        EntityChangeType changeType,
+        Integer previousScore,
+        Integer score
+) {
+    public static ReviewChangedEvent created(Long reviewId, Long restaurantId, Integer score) {
+        return new ReviewChangedEvent(reviewId, restaurantId, EntityChangeType.SAVED, null, score);
+    }
+
+    public static ReviewChangedEvent updated(Long reviewId, Long restaurantId, Integer previousScore, Integer score) {
+        return new ReviewChangedEvent(reviewId, restaurantId, EntityChangeType.SAVED, previousScore, score);
+    }
+
+    public static ReviewChangedEvent deleted(Long reviewId, Long restaurantId, Integer previousScore) {
+        return new ReviewChangedEvent(reviewId, restaurantId, EntityChangeType.DELETED, previousScore, null);
+    }
+}
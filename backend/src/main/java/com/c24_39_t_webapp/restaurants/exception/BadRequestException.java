@@ -0,0 +1,20 @@
+package com.c24_39_t_webapp.restaurants.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Excepción lanzada cuando los parámetros de una petición son inválidos.
+ * Por ejemplo: un cursor de paginación manipulado, un orden desconocido o un rango de precios incoherente.
+ *
+ * Hereda de ApplicationException y define HttpStatus.BAD_REQUEST (400)
+ * Permite que GlobalExceptionHandler la maneje automáticamente.
+ *
+ * @see ApplicationException
+ * @see GlobalExceptionHandler
+ */
+public class BadRequestException extends ApplicationException {
+
+    public BadRequestException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -4,9 +4,12 @@ import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import org.springframework.security.access.AccessDeniedException;
+
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -85,6 +88,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Maneja las subidas de ficheros que superan el límite de multipart del servidor
+     * (spring.servlet.multipart.max-file-size). Devuelve 413 en lugar de un 500 genérico.
+     * @param e la excepción lanzada por el resolvedor de multipart
+     * @return ResponseEntity con 413 y mensaje de error
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleMaxUploadSize(MaxUploadSizeExceededException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", "Fichero demasiado grande");
+        response.put("message", "El fichero supera el tamaño máximo permitido");
+        response.put("timestamp", new Date());
+        response.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+    }
+
+    /**
+     * Maneja las denegaciones de @PreAuthorize (rol insuficiente). Sin este handler caerían en el
+     * catch-all y se responderían con 500.
+     * @param e la excepción lanzada por la seguridad de métodos
+     * @return ResponseEntity con 403 y mensaje de error
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleAccessDenied(AccessDeniedException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", "Acceso denegado");
+        response.put("message", "No tienes permiso para acceder a este recurso");
+        response.put("timestamp", new Date());
+        response.put("status", HttpStatus.FORBIDDEN.value());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
     /**
      * Maneja excepciones de tipo ResponseStatusException lanzadas
      * manualmente en controladores o servicios.
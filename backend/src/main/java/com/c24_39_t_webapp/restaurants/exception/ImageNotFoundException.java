@@ -0,0 +1,12 @@
+package com.c24_39_t_webapp.restaurants.exception;
+
+/**
+ * Excepción lanzada cuando no existe la imagen o la variante solicitada en el almacén de imágenes.
+ * Hereda de NotFoundException.
+ * @see NotFoundException
+ */
+public class ImageNotFoundException extends NotFoundException {
+    public ImageNotFoundException(String message) {
+        super(message);
+    }
+}
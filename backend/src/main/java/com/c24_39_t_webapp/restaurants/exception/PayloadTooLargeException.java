@@ -0,0 +1,19 @@
+package com.c24_39_t_webapp.restaurants.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Excepción lanzada cuando el cuerpo de una petición supera el tamaño permitido,
+ * por ejemplo una imagen subida mayor que el máximo configurado.
+ *
+ * Hereda de ApplicationException y define HttpStatus.PAYLOAD_TOO_LARGE (413)
+ *
+ * @see ApplicationException
+ * @see GlobalExceptionHandler
+ */
+public class PayloadTooLargeException extends ApplicationException {
+
+    public PayloadTooLargeException(String message) {
+        super(message, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+}
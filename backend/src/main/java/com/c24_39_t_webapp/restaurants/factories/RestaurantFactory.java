@@ -23,7 +23,10 @@ public final class RestaurantFactory {
                 "Calle Arriba 11",
                 "10-15 h y 20-24 h",
                 "https://example.com/logo.png",
-                "https://example.com/cover.jpg"
+                "https://example.com/cover.jpg",
+                40.4168,
+                -3.7038,
+                null
         );
     }
 
@@ -57,7 +60,9 @@ public final class RestaurantFactory {
                 req.logo(),  // puedes mapear o usar req.getLogo()
                 req.coverImage(),
                 1L,
-                "Mediterránea"
+                "Mediterránea",
+                req.latitude(),
+                req.longitude()
         );
     }
 
@@ -77,7 +82,10 @@ public final class RestaurantFactory {
                 address,
                 base.openingHours(),
                 base.logo(),
-                base.coverImage()
+                base.coverImage(),
+                base.latitude(),
+                base.longitude(),
+                base.openingSchedule()
         );
     }
 
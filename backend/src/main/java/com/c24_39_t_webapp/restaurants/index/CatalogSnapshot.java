@@ -0,0 +1,645 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom.ListingFilter;
+import com.c24_39_t_webapp.restaurants.utils.TextNormalizer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Instantánea inmutable del catálogo (productos y restaurantes) en formato columnar.
+ * <p>
+ * - Cada columna de productos es un array primitivo indexado por posición; las posiciones siguen el orden de ID.
+ * - Los precios se guardan en céntimos (long) y las fechas de alta en nanosegundos desde epoch (UTC).
+ * - Nombres, descripciones, imágenes y nombres de restaurante o categoría se codifican con un diccionario:
+ * cada cadena distinta se guarda una sola vez y las columnas solo contienen su código.
+ * - Para cada orden del listado se precalcula la permutación ascendente por (clave, ID) y el rango de cada
+ * posición, así que paginar por clave es una búsqueda binaria más un recorrido secuencial.
+ * - Nunca se modifica: los métodos with* devuelven una instantánea nueva (copy-on-write) y la anterior
+ * sigue siendo válida para quien la esté leyendo.
+ * <p>
+ * El orden por nombre compara con {@link String#compareTo}, que puede diferir de la collation de la base de datos.
+ */
+public final class CatalogSnapshot {
+
+    private static final int NULL_CODE = -1;
+    private static final int NULL_QUANTITY = Integer.MIN_VALUE;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+
+    private enum Key { PRICE, CREATED_AT, NAME }
+
+    // Diccionario de cadenas: las instantáneas derivadas solo añaden al final, los códigos no cambian
+    private final String[] strings;
+
+    // Restaurantes y categorías referenciados por los productos, por índice de referencia
+    private final long[] restaurantIds;
+    private final int[] restaurantNames;
+    private final Map<Long, Integer> restaurantRefs;
+    private final long[] categoryIds;
+    private final int[] categoryNames;
+    private final Map<Long, Integer> categoryRefs;
+
+    // Columnas de productos, ordenadas por ID
+    private final int size;
+    private final long[] ids;
+    private final int[] restaurantRef;
+    private final int[] categoryRef;
+    private final int[] names;
+    private final int[] descriptions;
+    private final int[] images;
+    private final long[] priceCents;
+    private final int[] quantities;
+    private final long[] createdAt;
+    private final BitSet active;
+
+    // Permutaciones ascendentes por (clave, ID) y rango de cada posición dentro de ellas
+    private final int[][] orders = new int[Key.values().length][];
+    private final int[][] ranks = new int[Key.values().length][];
+
+    // Posiciones de los productos de cada restaurante y categoría (por índice de referencia), en orden de ID
+    private final int[][] restaurantPostings;
+    private final int[][] categoryPostings;
+
+    // Listado de restaurantes, ordenado por ID
+    private final List<RestaurantResponseDto> restaurants;
+
+    private CatalogSnapshot(Encoder encoder, List<RestaurantResponseDto> restaurants,
+                            CatalogSnapshot previous, int[] remap, int[] fresh) {
+        this.strings = encoder.strings();
+        this.restaurantIds = trim(encoder.restaurants.ids, encoder.restaurants.size);
+        this.restaurantNames = trim(encoder.restaurants.names, encoder.restaurants.size);
+        this.restaurantRefs = encoder.restaurants.refs;
+        this.categoryIds = trim(encoder.categories.ids, encoder.categories.size);
+        this.categoryNames = trim(encoder.categories.names, encoder.categories.size);
+        this.categoryRefs = encoder.categories.refs;
+        this.size = encoder.size;
+        this.ids = trim(encoder.ids, size);
+        this.restaurantRef = trim(encoder.restaurantRef, size);
+        this.categoryRef = trim(encoder.categoryRef, size);
+        this.names = trim(encoder.names, size);
+        this.descriptions = trim(encoder.descriptions, size);
+        this.images = trim(encoder.images, size);
+        this.priceCents = trim(encoder.priceCents, size);
+        this.quantities = trim(encoder.quantities, size);
+        this.createdAt = trim(encoder.createdAt, size);
+        this.active = encoder.active;
+        this.restaurants = restaurants;
+
+        for (Key key : Key.values()) {
+            int[] order = previous == null
+                    ? sortPositions(key, allPositions())
+                    : mergeOrder(key, previous.orders[key.ordinal()], remap, fresh);
+            int[] rank = new int[size];
+            for (int i = 0; i < size; i++) rank[order[i]] = i;
+            orders[key.ordinal()] = order;
+            ranks[key.ordinal()] = rank;
+        }
+        this.restaurantPostings = postings(restaurantRef, restaurantIds.length);
+        this.categoryPostings = postings(categoryRef, categoryIds.length);
+    }
+
+    /**
+     * Construye una instantánea completa. El diccionario queda compactado (sin cadenas huérfanas).
+     */
+    public static CatalogSnapshot build(Collection<ProductListingRow> products,
+                                        Collection<RestaurantResponseDto> restaurants) {
+        List<ProductListingRow> rows = new ArrayList<>(products);
+        rows.sort(Comparator.comparing(ProductListingRow::prd_id));
+        Encoder encoder = new Encoder(null, rows.size());
+        rows.forEach(row -> encoder.add(row, -1));
+        return new CatalogSnapshot(encoder, sortedRestaurants(restaurants), null, null, null);
+    }
+
+    public static CatalogSnapshot empty() {
+        return build(List.of(), List.of());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<RestaurantResponseDto> restaurants() {
+        return restaurants;
+    }
+
+    /**
+     * Misma semántica que {@code ProductRepositoryCustom#findListingPage}: filtra, ordena por (clave, ID)
+     * y devuelve las filas posteriores al cursor.
+     */
+    public List<ProductListingRow> findListingPage(ListingFilter filter, ProductSort sort,
+                                                   Object afterKey, Long afterId, int fetchSize) {
+        Key key = keyOf(sort);
+        int[] order = key == null ? null : orders[key.ordinal()];
+        int[] rank = key == null ? null : ranks[key.ordinal()];
+        long minCents = filter.minPrice() == null ? Long.MIN_VALUE : toCents(filter.minPrice(), RoundingMode.CEILING);
+        long maxCents = filter.maxPrice() == null ? Long.MAX_VALUE : toCents(filter.maxPrice(), RoundingMode.FLOOR);
+
+        // Rangos visibles tras el cursor: [from, to) en la permutación ascendente
+        int from = 0;
+        int to = size;
+        if (afterId != null) {
+            if (sort.descending()) {
+                to = countBefore(key, order, afterKey, afterId, false);
+            } else {
+                from = countBefore(key, order, afterKey, afterId, true);
+            }
+        }
+
+        List<ProductListingRow> page = new ArrayList<>(Math.min(fetchSize, 64));
+        int[] candidates = candidates(filter);
+        if (candidates == null) {
+            for (int i = 0; i < to - from && page.size() < fetchSize; i++) {
+                int pos = at(order, sort.descending() ? to - 1 - i : from + i);
+                if (matches(pos, filter, minCents, maxCents)) page.add(row(pos));
+            }
+            return page;
+        }
+
+        int[] selected = new int[candidates.length];
+        int count = 0;
+        for (int pos : candidates) {
+            if (!matches(pos, filter, minCents, maxCents)) continue;
+            int r = rank == null ? pos : rank[pos];
+            if (r >= from && r < to) selected[count++] = r;
+        }
+        Arrays.sort(selected, 0, count);
+        for (int i = 0; i < count && page.size() < fetchSize; i++) {
+            page.add(row(at(order, selected[sort.descending() ? count - 1 - i : i])));
+        }
+        return page;
+    }
+
+    /**
+     * Productos por ID en el orden pedido; los que no existen se omiten.
+     */
+    public List<ProductListingRow> findByIds(Collection<Long> productIds) {
+        List<ProductListingRow> found = new ArrayList<>(productIds.size());
+        for (Long id : productIds) {
+            int pos = id == null ? -1 : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) found.add(row(pos));
+        }
+        return found;
+    }
+
+    /**
+     * Productos cuyo nombre contiene el texto indicado sin distinguir mayúsculas ni acentos, en orden de ID.
+     * Cada nombre distinto del diccionario se compara una sola vez.
+     *
+     * @param normalizedQuery texto ya normalizado con {@link TextNormalizer#normalize}
+     */
+    public List<ProductListingRow> findByNameContaining(String normalizedQuery) {
+        List<ProductListingRow> found = new ArrayList<>();
+        // 0 = sin evaluar, 1 = coincide, 2 = no coincide; indexado por código del diccionario
+        byte[] matched = new byte[strings.length];
+        for (int pos = 0; pos < size; pos++) {
+            int code = names[pos];
+            if (code == NULL_CODE) continue;
+            if (matched[code] == 0) {
+                matched[code] = TextNormalizer.containsNormalized(strings[code], normalizedQuery) ? (byte) 1 : (byte) 2;
+            }
+            if (matched[code] == 1) found.add(row(pos));
+        }
+        return found;
+    }
+
+    /**
+     * Sustituye o añade los productos indicados y elimina los de {@code removedIds}.
+     * Coste O(n + k log k): las columnas se copian y las permutaciones se fusionan con las anteriores.
+     */
+    public CatalogSnapshot withProducts(Collection<ProductListingRow> upserts, Collection<Long> removedIds) {
+        return patch(upserts, removedIds, encoder -> {}, restaurants);
+    }
+
+    /**
+     * Alta o modificación de un restaurante; si cambia el nombre se refleja en todos sus productos.
+     */
+    public CatalogSnapshot withRestaurant(RestaurantResponseDto restaurant) {
+        List<RestaurantResponseDto> updated = new ArrayList<>(restaurants.size() + 1);
+        restaurants.stream().filter(r -> !r.rst_id().equals(restaurant.rst_id())).forEach(updated::add);
+        updated.add(restaurant);
+        return patch(List.of(), List.of(),
+                encoder -> encoder.rename(encoder.restaurants, restaurant.rst_id(), restaurant.name()),
+                sortedRestaurants(updated));
+    }
+
+    /**
+     * Baja de un restaurante junto con todos sus productos.
+     */
+    public CatalogSnapshot withoutRestaurant(Long restaurantId) {
+        Integer ref = restaurantRefs.get(restaurantId);
+        List<Long> removed = new ArrayList<>();
+        if (ref != null) {
+            for (int pos : restaurantPostings[ref]) removed.add(ids[pos]);
+        }
+        return patch(List.of(), removed, encoder -> {},
+                restaurants.stream().filter(r -> !r.rst_id().equals(restaurantId)).toList());
+    }
+
+    public CatalogSnapshot withCategoryName(Long categoryId, String name) {
+        return patch(List.of(), List.of(), encoder -> encoder.rename(encoder.categories, categoryId, name), restaurants);
+    }
+
+    /**
+     * Tamaño aproximado en bytes de las columnas, permutaciones, listas de posiciones y diccionario
+     * (cabeceras de objeto incluidas; las cadenas se cuentan a un byte por carácter).
+     * No incluye los DTO de restaurantes.
+     */
+    public long estimatedBytes() {
+        long bytes = array(8, ids.length) + array(8, priceCents.length) + array(8, createdAt.length)
+                + array(4, restaurantRef.length) + array(4, categoryRef.length) + array(4, names.length)
+                + array(4, descriptions.length) + array(4, images.length) + array(4, quantities.length)
+                + active.size() / 8;
+        for (int i = 0; i < orders.length; i++) bytes += array(4, orders[i].length) + array(4, ranks[i].length);
+        for (int[] posting : restaurantPostings) bytes += array(4, posting.length);
+        for (int[] posting : categoryPostings) bytes += array(4, posting.length);
+        bytes += array(8, restaurantIds.length) + array(4, restaurantNames.length)
+                + array(8, categoryIds.length) + array(4, categoryNames.length)
+                + 48L * (restaurantRefs.size() + categoryRefs.size());
+        bytes += array(4, strings.length);
+        for (String s : strings) {
+            if (s != null) bytes += 24 + align(16 + s.length());
+        }
+        return bytes;
+    }
+
+    private CatalogSnapshot patch(Collection<ProductListingRow> upserts, Collection<Long> removedIds,
+                                  Consumer<Encoder> tableChanges, List<RestaurantResponseDto> restaurants) {
+        TreeMap<Long, ProductListingRow> changed = new TreeMap<>();
+        upserts.forEach(row -> changed.put(row.prd_id(), row));
+        Set<Long> removed = new HashSet<>(removedIds);
+        changed.keySet().forEach(removed::remove);
+
+        Encoder encoder = new Encoder(this, size + changed.size());
+        tableChanges.accept(encoder);
+        int[] remap = new int[size];
+        int[] fresh = new int[changed.size()];
+        int freshCount = 0;
+        int old = 0;
+        for (ProductListingRow row : changed.values()) {
+            long id = row.prd_id();
+            while (old < size && ids[old] < id) {
+                remap[old] = removed.contains(ids[old]) ? -1 : encoder.copy(old);
+                old++;
+            }
+            int previous = -1;
+            if (old < size && ids[old] == id) {
+                remap[old] = -1;
+                previous = old++;
+            }
+            fresh[freshCount++] = encoder.add(row, previous);
+        }
+        for (; old < size; old++) {
+            remap[old] = removed.contains(ids[old]) ? -1 : encoder.copy(old);
+        }
+        return new CatalogSnapshot(encoder, restaurants, this, remap, fresh);
+    }
+
+    private int[] candidates(ListingFilter filter) {
+        int[] byRestaurant = filter.restaurantId() == null ? null : postingsOf(restaurantRefs, restaurantPostings, filter.restaurantId());
+        int[] byCategory = filter.categoryId() == null ? null : postingsOf(categoryRefs, categoryPostings, filter.categoryId());
+        if (byRestaurant == null) return byCategory;
+        if (byCategory == null) return byRestaurant;
+        return byRestaurant.length <= byCategory.length ? byRestaurant : byCategory;
+    }
+
+    private static int[] postingsOf(Map<Long, Integer> refs, int[][] postings, Long id) {
+        Integer ref = refs.get(id);
+        return ref == null ? new int[0] : postings[ref];
+    }
+
+    private boolean matches(int pos, ListingFilter filter, long minCents, long maxCents) {
+        if (filter.activeOnly() && !active.get(pos)) return false;
+        if (priceCents[pos] < minCents || priceCents[pos] > maxCents) return false;
+        if (filter.restaurantId() != null && restaurantIds[restaurantRef[pos]] != filter.restaurantId()) return false;
+        return filter.categoryId() == null || categoryIds[categoryRef[pos]] == filter.categoryId();
+    }
+
+    /**
+     * Número de rangos cuya fila va antes que el cursor (o antes o igual, si {@code inclusive}).
+     */
+    private int countBefore(Key key, int[] order, Object afterKey, long afterId, boolean inclusive) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int c = compareToCursor(key, at(order, mid), afterKey, afterId);
+            if (c < 0 || (inclusive && c == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareToCursor(Key key, int pos, Object afterKey, long afterId) {
+        int c = key == null ? 0 : switch (key) {
+            case PRICE -> BigDecimal.valueOf(priceCents[pos], 2).compareTo((BigDecimal) afterKey);
+            case CREATED_AT -> Long.compare(createdAt[pos], toNanos((LocalDateTime) afterKey));
+            case NAME -> compareStrings(string(names[pos]), (String) afterKey);
+        };
+        return c != 0 ? c : Long.compare(ids[pos], afterId);
+    }
+
+    private int compare(Key key, int a, int b) {
+        int c = switch (key) {
+            case PRICE -> Long.compare(priceCents[a], priceCents[b]);
+            case CREATED_AT -> Long.compare(createdAt[a], createdAt[b]);
+            case NAME -> names[a] == names[b] ? 0 : compareStrings(string(names[a]), string(names[b]));
+        };
+        // Las posiciones siguen el orden de ID
+        return c != 0 ? c : Integer.compare(a, b);
+    }
+
+    private static int compareStrings(String a, String b) {
+        if (a == null) return b == null ? 0 : -1;
+        return b == null ? 1 : a.compareTo(b);
+    }
+
+    private int[] allPositions() {
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) positions[i] = i;
+        return positions;
+    }
+
+    private int[] sortPositions(Key key, int[] positions) {
+        Integer[] boxed = new Integer[positions.length];
+        for (int i = 0; i < positions.length; i++) boxed[i] = positions[i];
+        Arrays.sort(boxed, (a, b) -> compare(key, a, b));
+        int[] sorted = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) sorted[i] = boxed[i];
+        return sorted;
+    }
+
+    /**
+     * Reutiliza la permutación anterior (trasladada a las posiciones nuevas) y le intercala las filas nuevas.
+     */
+    private int[] mergeOrder(Key key, int[] previousOrder, int[] remap, int[] fresh) {
+        int[] freshSorted = sortPositions(key, fresh);
+        int[] order = new int[size];
+        int n = 0;
+        int j = 0;
+        for (int previous : previousOrder) {
+            int pos = remap[previous];
+            if (pos < 0) continue;
+            while (j < freshSorted.length && compare(key, freshSorted[j], pos) < 0) order[n++] = freshSorted[j++];
+            order[n++] = pos;
+        }
+        while (j < freshSorted.length) order[n++] = freshSorted[j++];
+        return order;
+    }
+
+    private int[][] postings(int[] refs, int tableSize) {
+        int[] counts = new int[tableSize];
+        for (int i = 0; i < size; i++) counts[refs[i]]++;
+        int[][] postings = new int[tableSize][];
+        for (int ref = 0; ref < tableSize; ref++) postings[ref] = new int[counts[ref]];
+        int[] filled = new int[tableSize];
+        for (int i = 0; i < size; i++) postings[refs[i]][filled[refs[i]]++] = i;
+        return postings;
+    }
+
+    private ProductListingRow row(int pos) {
+        int restaurant = restaurantRef[pos];
+        int category = categoryRef[pos];
+        return new ProductListingRow(
+                ids[pos], restaurantIds[restaurant], categoryIds[category],
+                string(names[pos]), string(descriptions[pos]), BigDecimal.valueOf(priceCents[pos], 2),
+                string(images[pos]), active.get(pos),
+                quantities[pos] == NULL_QUANTITY ? null : quantities[pos],
+                string(categoryNames[category]), string(restaurantNames[restaurant]),
+                createdAt[pos] == NULL_TIME ? null : toDateTime(createdAt[pos]));
+    }
+
+    private String string(int code) {
+        return code == NULL_CODE ? null : strings[code];
+    }
+
+    private static int at(int[] order, int rank) {
+        return order == null ? rank : order[rank];
+    }
+
+    private static Key keyOf(ProductSort sort) {
+        return switch (sort) {
+            case ID -> null;
+            case NEWEST -> Key.CREATED_AT;
+            case PRICE_ASC, PRICE_DESC -> Key.PRICE;
+            case NAME -> Key.NAME;
+        };
+    }
+
+    private static List<RestaurantResponseDto> sortedRestaurants(Collection<RestaurantResponseDto> restaurants) {
+        return restaurants.stream().sorted(Comparator.comparing(RestaurantResponseDto::rst_id)).toList();
+    }
+
+    private static long toCents(BigDecimal value, RoundingMode rounding) {
+        return value.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    private static long toNanos(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + value.getNano();
+    }
+
+    private static LocalDateTime toDateTime(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static long[] trim(long[] column, int length) {
+        return column.length == length ? column : Arrays.copyOf(column, length);
+    }
+
+    private static int[] trim(int[] column, int length) {
+        return column.length == length ? column : Arrays.copyOf(column, length);
+    }
+
+    private static long array(int elementSize, int length) {
+        return align(16 + (long) elementSize * length);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Tabla de referencias (restaurantes o categorías) en construcción.
+     */
+    private static final class Table {
+        private long[] ids;
+        private int[] names;
+        private int size;
+        private Map<Long, Integer> refs;
+
+        Table(long[] ids, int[] names, Map<Long, Integer> refs) {
+            this.ids = Arrays.copyOf(ids, Math.max(ids.length, 8));
+            this.names = Arrays.copyOf(names, Math.max(names.length, 8));
+            this.size = ids.length;
+            this.refs = refs;
+        }
+    }
+
+    /**
+     * Columnas de una instantánea en construcción. Parte de la instantánea anterior (o de cero) y
+     * solo añade cadenas al diccionario.
+     */
+    private static final class Encoder {
+        private final CatalogSnapshot base;
+        private final String[] baseStrings;
+        private final List<String> addedStrings = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final Table restaurants;
+        private final Table categories;
+        private boolean restaurantsCopied;
+        private boolean categoriesCopied;
+
+        private int size;
+        private final long[] ids;
+        private final int[] restaurantRef;
+        private final int[] categoryRef;
+        private final int[] names;
+        private final int[] descriptions;
+        private final int[] images;
+        private final long[] priceCents;
+        private final int[] quantities;
+        private final long[] createdAt;
+        private final BitSet active;
+
+        Encoder(CatalogSnapshot base, int capacity) {
+            this.base = base;
+            this.baseStrings = base == null ? new String[0] : base.strings;
+            this.restaurants = base == null
+                    ? new Table(new long[0], new int[0], new HashMap<>())
+                    : new Table(base.restaurantIds, base.restaurantNames, base.restaurantRefs);
+            this.categories = base == null
+                    ? new Table(new long[0], new int[0], new HashMap<>())
+                    : new Table(base.categoryIds, base.categoryNames, base.categoryRefs);
+            this.restaurantsCopied = base == null;
+            this.categoriesCopied = base == null;
+            this.ids = new long[capacity];
+            this.restaurantRef = new int[capacity];
+            this.categoryRef = new int[capacity];
+            this.names = new int[capacity];
+            this.descriptions = new int[capacity];
+            this.images = new int[capacity];
+            this.priceCents = new long[capacity];
+            this.quantities = new int[capacity];
+            this.createdAt = new long[capacity];
+            this.active = new BitSet(capacity);
+        }
+
+        /**
+         * Copia tal cual la fila {@code pos} de la instantánea base.
+         */
+        int copy(int pos) {
+            int i = size++;
+            ids[i] = base.ids[pos];
+            restaurantRef[i] = base.restaurantRef[pos];
+            categoryRef[i] = base.categoryRef[pos];
+            names[i] = base.names[pos];
+            descriptions[i] = base.descriptions[pos];
+            images[i] = base.images[pos];
+            priceCents[i] = base.priceCents[pos];
+            quantities[i] = base.quantities[pos];
+            createdAt[i] = base.createdAt[pos];
+            active.set(i, base.active.get(pos));
+            return i;
+        }
+
+        /**
+         * Añade una fila nueva. Si sustituye a la fila {@code previous} de la base, reutiliza sus códigos
+         * cuando el texto no ha cambiado.
+         */
+        int add(ProductListingRow row, int previous) {
+            int i = size++;
+            ids[i] = row.prd_id();
+            restaurantRef[i] = ref(restaurants, row.restaurantId(), row.restaurantName());
+            categoryRef[i] = ref(categories, row.categoryId(), row.categoryName());
+            names[i] = encode(row.name(), previous < 0 ? NULL_CODE : base.names[previous]);
+            descriptions[i] = encode(row.description(), previous < 0 ? NULL_CODE : base.descriptions[previous]);
+            images[i] = encode(row.image(), previous < 0 ? NULL_CODE : base.images[previous]);
+            priceCents[i] = toCents(row.price(), RoundingMode.HALF_UP);
+            quantities[i] = row.quantity() == null ? NULL_QUANTITY : row.quantity();
+            createdAt[i] = row.createdAt() == null ? NULL_TIME : toNanos(row.createdAt());
+            active.set(i, Boolean.TRUE.equals(row.isActive()));
+            return i;
+        }
+
+        void rename(Table table, Long id, String name) {
+            Integer ref = table.refs.get(id);
+            if (ref == null) return;
+            copyOnWrite(table);
+            table.names[ref] = encode(name, table.names[ref]);
+        }
+
+        private int ref(Table table, Long id, String name) {
+            Integer ref = table.refs.get(id);
+            if (ref != null) {
+                int code = encode(name, table.names[ref]);
+                if (code != table.names[ref]) {
+                    copyOnWrite(table);
+                    table.names[ref] = code;
+                }
+                return ref;
+            }
+            copyOnWrite(table);
+            if (table.size == table.ids.length) {
+                table.ids = Arrays.copyOf(table.ids, table.size * 2);
+                table.names = Arrays.copyOf(table.names, table.size * 2);
+            }
+            table.ids[table.size] = id;
+            table.names[table.size] = encode(name, NULL_CODE);
+            table.refs.put(id, table.size);
+            return table.size++;
+        }
+
+        // El mapa de referencias de la base es de solo lectura: se copia la primera vez que se modifica la tabla
+        private void copyOnWrite(Table table) {
+            if (table == restaurants && !restaurantsCopied) {
+                table.refs = new HashMap<>(table.refs);
+                restaurantsCopied = true;
+            } else if (table == categories && !categoriesCopied) {
+                table.refs = new HashMap<>(table.refs);
+                categoriesCopied = true;
+            }
+        }
+
+        private int encode(String value, int previousCode) {
+            if (value == null) return NULL_CODE;
+            if (previousCode != NULL_CODE && value.equals(decode(previousCode))) return previousCode;
+            Integer code = codes.get(value);
+            if (code != null) return code;
+            int added = baseStrings.length + addedStrings.size();
+            addedStrings.add(value);
+            codes.put(value, added);
+            return added;
+        }
+
+        private String decode(int code) {
+            return code < baseStrings.length ? baseStrings[code] : addedStrings.get(code - baseStrings.length);
+        }
+
+        String[] strings() {
+            if (addedStrings.isEmpty()) return baseStrings;
+            String[] all = Arrays.copyOf(baseStrings, baseStrings.length + addedStrings.size());
+            for (int i = 0; i < addedStrings.size(); i++) all[baseStrings.length + i] = addedStrings.get(i);
+            return all;
+        }
+    }
+}
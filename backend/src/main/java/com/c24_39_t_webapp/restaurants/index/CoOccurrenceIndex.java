@@ -0,0 +1,173 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Matriz dispersa de co-ocurrencia entre productos: cuántos pedidos contienen a la vez cada par.
+ * <p>
+ * - Solo se guardan los {@code capacity} vecinos más frecuentes de cada producto, así que la memoria
+ * crece con el número de productos pedidos y no con el número de pares.
+ * - {@link #build} cuenta los pares de forma exacta y recorta al final.
+ * - {@link #recordOrder} actualiza de forma incremental con el algoritmo Space-Saving: si la lista de un
+ * producto está llena, el vecino menos frecuente se sustituye por el nuevo, que hereda su contador + 1.
+ * Los productos frecuentes nunca se pierden y los contadores solo pueden sobreestimar a los nuevos.
+ * - Es seguro para varios hilos: cada producto sincroniza su propia lista.
+ */
+public final class CoOccurrenceIndex {
+
+    // Un pedido con k productos distintos genera k·(k-1) incrementos; los pedidos enormes se recortan
+    public static final int MAX_PRODUCTS_PER_ORDER = 50;
+
+    private final int capacity;
+    private final Map<Long, Neighbors> neighbors = new ConcurrentHashMap<>();
+
+    public CoOccurrenceIndex(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("La capacidad debe ser positiva");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Construye el índice a partir de los productos de cada pedido con recuentos exactos.
+     * La matriz completa solo existe durante la construcción.
+     */
+    public static CoOccurrenceIndex build(Collection<? extends Collection<Long>> orders, int capacity) {
+        Map<Long, Map<Long, Integer>> counts = new HashMap<>();
+        for (Collection<Long> order : orders) {
+            List<Long> products = distinct(order);
+            for (Long product : products) {
+                Map<Long, Integer> row = counts.computeIfAbsent(product, p -> new HashMap<>());
+                for (Long other : products) {
+                    if (!other.equals(product)) row.merge(other, 1, Integer::sum);
+                }
+            }
+        }
+
+        CoOccurrenceIndex index = new CoOccurrenceIndex(capacity);
+        counts.forEach((product, row) -> {
+            if (row.isEmpty()) return;
+            List<CoOccurrence> top = row.entrySet().stream()
+                    .map(e -> new CoOccurrence(e.getKey(), e.getValue()))
+                    .sorted(CoOccurrence.BY_COUNT)
+                    .limit(capacity)
+                    .toList();
+            index.neighbors.put(product, new Neighbors(capacity, top));
+        });
+        return index;
+    }
+
+    /**
+     * Suma un pedido: cada par de productos distintos del pedido cuenta una vez.
+     */
+    public void recordOrder(Collection<Long> productIds) {
+        List<Long> products = distinct(productIds);
+        if (products.size() < 2) return;
+        for (Long product : products) {
+            Neighbors list = neighbors.computeIfAbsent(product, p -> new Neighbors(capacity, List.of()));
+            for (Long other : products) {
+                if (!other.equals(product)) list.increment(other);
+            }
+        }
+    }
+
+    /**
+     * @return los vecinos más frecuentes del producto, de más a menos pedidos juntos (desempate por ID)
+     */
+    public List<CoOccurrence> top(Long productId, int limit) {
+        Neighbors list = neighbors.get(productId);
+        return list == null ? List.of() : list.top(limit);
+    }
+
+    /**
+     * Incorpora los productos de otro índice (los conjuntos de productos no deben solaparse,
+     * p. ej. índices de restaurantes distintos).
+     */
+    public void putAll(CoOccurrenceIndex other) {
+        neighbors.putAll(other.neighbors);
+    }
+
+    /**
+     * Elimina un producto como origen; como vecino desaparece en la siguiente reconstrucción.
+     */
+    public void remove(Long productId) {
+        neighbors.remove(productId);
+    }
+
+    public int size() {
+        return neighbors.size();
+    }
+
+    /**
+     * Tamaño aproximado en bytes: entrada del mapa, objeto de lista y arrays de cada producto.
+     */
+    public long estimatedBytes() {
+        return neighbors.size() * (64L + 32L + 16L + 8L * capacity + 16L + 4L * capacity);
+    }
+
+    private static List<Long> distinct(Collection<Long> productIds) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>();
+        for (Long id : productIds) {
+            if (id == null) continue;
+            distinct.add(id);
+            if (distinct.size() == MAX_PRODUCTS_PER_ORDER) break;
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    /**
+     * Vecino de un producto y número de pedidos en los que aparecen juntos.
+     */
+    public record CoOccurrence(long productId, int count) {
+        static final Comparator<CoOccurrence> BY_COUNT = Comparator.comparingInt(CoOccurrence::count).reversed()
+                .thenComparingLong(CoOccurrence::productId);
+    }
+
+    /**
+     * Lista acotada de vecinos de un producto (contadores Space-Saving).
+     */
+    private static final class Neighbors {
+        private final long[] ids;
+        private final int[] counts;
+        private int size;
+
+        Neighbors(int capacity, List<CoOccurrence> initial) {
+            ids = new long[capacity];
+            counts = new int[capacity];
+            for (CoOccurrence entry : initial) {
+                ids[size] = entry.productId();
+                counts[size++] = entry.count();
+            }
+        }
+
+        synchronized void increment(long productId) {
+            int min = -1;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == productId) {
+                    counts[i]++;
+                    return;
+                }
+                if (min < 0 || counts[i] < counts[min]) min = i;
+            }
+            if (size < ids.length) {
+                ids[size] = productId;
+                counts[size++] = 1;
+                return;
+            }
+            ids[min] = productId;
+            counts[min]++;
+        }
+
+        synchronized List<CoOccurrence> top(int limit) {
+            List<CoOccurrence> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) entries.add(new CoOccurrence(ids[i], counts[i]));
+            entries.sort(CoOccurrence.BY_COUNT);
+            return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice de clientes con algún pedido entregado: un bitmap comprimido de IDs de cliente por restaurante.
+ * <p>
+ * - "¿Este cliente ha comprado aquí?" es un {@code contains} sobre el bitmap del restaurante, sin consultar
+ * los pedidos; el número de clientes distintos es su cardinalidad, exacta.
+ * - Los bitmaps no se modifican nunca: un alta sustituye el del restaurante por una copia, así que el
+ * bitmap devuelto por {@link #customers} se puede seguir leyendo después de un cambio. Las altas solo
+ * ocurren con el primer pedido entregado de cada cliente en cada restaurante.
+ * - No es seguro para varios hilos: el llamante sincroniza las modificaciones.
+ */
+public final class CustomerBitmapIndex {
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Map<Integer, RoaringBitmap> customersByRestaurant = new HashMap<>();
+
+    /**
+     * Construye el índice de una vez, sin copias intermedias.
+     *
+     * @param customers restaurante → clientes con algún pedido entregado
+     */
+    public static CustomerBitmapIndex build(Map<Integer, RoaringBitmap> customers) {
+        CustomerBitmapIndex index = new CustomerBitmapIndex();
+        customers.forEach((restaurantId, clients) -> {
+            if (clients.isEmpty()) return;
+            RoaringBitmap copy = clients.clone();
+            copy.runOptimize();
+            index.customersByRestaurant.put(restaurantId, copy);
+        });
+        return index;
+    }
+
+    /**
+     * @return true si el cliente no estaba en el bitmap del restaurante
+     */
+    public boolean add(int restaurantId, int clientId) {
+        RoaringBitmap current = customersByRestaurant.getOrDefault(restaurantId, EMPTY);
+        if (current.contains(clientId)) return false;
+        RoaringBitmap copy = current.clone();
+        copy.add(clientId);
+        customersByRestaurant.put(restaurantId, copy);
+        return true;
+    }
+
+    /**
+     * @return true si el cliente estaba en el bitmap del restaurante
+     */
+    public boolean remove(int restaurantId, int clientId) {
+        RoaringBitmap current = customersByRestaurant.get(restaurantId);
+        if (current == null || !current.contains(clientId)) return false;
+        if (current.getCardinality() == 1) {
+            customersByRestaurant.remove(restaurantId);
+            return true;
+        }
+        RoaringBitmap copy = current.clone();
+        copy.remove(clientId);
+        customersByRestaurant.put(restaurantId, copy);
+        return true;
+    }
+
+    public boolean contains(int restaurantId, int clientId) {
+        return customers(restaurantId).contains(clientId);
+    }
+
+    /**
+     * @return clientes con algún pedido entregado en el restaurante; no se debe modificar
+     */
+    public RoaringBitmap customers(int restaurantId) {
+        return customersByRestaurant.getOrDefault(restaurantId, EMPTY);
+    }
+
+    public int customerCount(int restaurantId) {
+        return customers(restaurantId).getCardinality();
+    }
+
+    public int size() {
+        return customersByRestaurant.size();
+    }
+
+    public long sizeInBytes() {
+        return customersByRestaurant.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+    }
+}
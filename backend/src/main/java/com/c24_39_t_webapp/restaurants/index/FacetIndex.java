@@ -0,0 +1,183 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Índice de facetas basado en bitmaps comprimidos (RoaringBitmap).
+ * <p>
+ * - Por cada campo y valor se guarda el bitmap de IDs de documento que lo tienen.
+ * - Dentro de un mismo campo los valores se combinan con OR y entre campos con AND.
+ * - Los recuentos por faceta se calculan en la misma pasada: para cada campo se cruzan los
+ * filtros de los DEMÁS campos, de modo que al marcar una cocina se siguen viendo los recuentos
+ * del resto de cocinas.
+ * - Los IDs deben caber en un int (se comprueba al insertar).
+ * <p>
+ * NO es thread-safe: el llamante debe sincronizar escrituras y lecturas.
+ *
+ * @param <F> enum con los campos de faceta
+ */
+public class FacetIndex<F extends Enum<F>> {
+
+    private final Class<F> fieldType;
+    private final EnumMap<F, Map<String, RoaringBitmap>> postings;
+    private final Map<Integer, Map<F, Set<String>>> documents = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    public FacetIndex(Class<F> fieldType) {
+        this.fieldType = fieldType;
+        this.postings = new EnumMap<>(fieldType);
+        for (F field : fieldType.getEnumConstants()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    /**
+     * Inserta o reemplaza los valores de faceta de un documento. Los valores null se ignoran.
+     */
+    public void put(long id, Map<F, ? extends Collection<String>> values) {
+        int docId = Math.toIntExact(id);
+        remove(docId);
+        Map<F, Set<String>> stored = new EnumMap<>(fieldType);
+        values.forEach((field, fieldValues) -> {
+            Set<String> nonNull = new LinkedHashSet<>();
+            for (String value : fieldValues) {
+                if (value == null) continue;
+                nonNull.add(value);
+                postings.get(field).computeIfAbsent(value, v -> new RoaringBitmap()).add(docId);
+            }
+            if (!nonNull.isEmpty()) stored.put(field, nonNull);
+        });
+        documents.put(docId, stored);
+        all.add(docId);
+    }
+
+    public boolean remove(long id) {
+        int docId = Math.toIntExact(id);
+        Map<F, Set<String>> stored = documents.remove(docId);
+        if (stored == null) return false;
+        stored.forEach((field, fieldValues) -> {
+            Map<String, RoaringBitmap> byValue = postings.get(field);
+            for (String value : fieldValues) {
+                RoaringBitmap bitmap = byValue.get(value);
+                if (bitmap == null) continue;
+                bitmap.remove(docId);
+                if (bitmap.isEmpty()) byValue.remove(value);
+            }
+        });
+        all.remove(docId);
+        return true;
+    }
+
+    public Optional<Map<F, Set<String>>> get(long id) {
+        return Optional.ofNullable(documents.get(Math.toIntExact(id)));
+    }
+
+    public int size() {
+        return all.getCardinality();
+    }
+
+    /**
+     * @return copia del bitmap de documentos con ese valor (vacío si no hay ninguno)
+     */
+    public RoaringBitmap bitmapOf(F field, String value) {
+        RoaringBitmap bitmap = postings.get(field).get(value);
+        return bitmap == null ? new RoaringBitmap() : bitmap.clone();
+    }
+
+    /**
+     * Valores del campo que tienen al menos un documento dentro del conjunto indicado.
+     */
+    public Set<String> valuesIntersecting(F field, RoaringBitmap docs) {
+        Set<String> values = new LinkedHashSet<>();
+        postings.get(field).forEach((value, bitmap) -> {
+            if (RoaringBitmap.intersects(bitmap, docs)) values.add(value);
+        });
+        return values;
+    }
+
+    /**
+     * Evalúa los filtros y calcula los recuentos de todas las facetas.
+     *
+     * @param filters valores seleccionados por campo; un campo ausente o vacío no filtra
+     */
+    public FacetResult<F> search(Map<F, ? extends Collection<String>> filters) {
+        EnumMap<F, RoaringBitmap> selected = new EnumMap<>(fieldType);
+        filters.forEach((field, values) -> {
+            if (values == null || values.isEmpty()) return;
+            RoaringBitmap[] bitmaps = values.stream()
+                    .map(value -> postings.get(field).get(value))
+                    .filter(bitmap -> bitmap != null)
+                    .toArray(RoaringBitmap[]::new);
+            selected.put(field, bitmaps.length == 0 ? new RoaringBitmap() : FastAggregation.or(bitmaps));
+        });
+
+        RoaringBitmap matches = intersectAllExcept(selected, null);
+        EnumMap<F, Map<String, Integer>> counts = new EnumMap<>(fieldType);
+        for (F field : fieldType.getEnumConstants()) {
+            RoaringBitmap base = selected.containsKey(field) ? intersectAllExcept(selected, field) : matches;
+            counts.put(field, countValues(field, base));
+        }
+        return new FacetResult<>(matches, counts);
+    }
+
+    /**
+     * Página de IDs de un resultado, en orden ascendente, sin recorrer los anteriores al offset.
+     */
+    public static List<Long> page(RoaringBitmap matches, int offset, int limit) {
+        int cardinality = matches.getCardinality();
+        if (offset >= cardinality || limit <= 0) return Collections.emptyList();
+        List<Long> ids = new ArrayList<>(Math.min(limit, cardinality - offset));
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select(offset));
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+
+    private RoaringBitmap intersectAllExcept(EnumMap<F, RoaringBitmap> selected, F excluded) {
+        RoaringBitmap result = all.clone();
+        selected.forEach((field, bitmap) -> {
+            if (field != excluded) result.and(bitmap);
+        });
+        return result;
+    }
+
+    private Map<String, Integer> countValues(F field, RoaringBitmap base) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        postings.get(field).forEach((value, bitmap) -> {
+            int count = RoaringBitmap.andCardinality(bitmap, base);
+            if (count > 0) entries.add(Map.entry(value, count));
+        });
+        entries.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> ordered = new LinkedHashMap<>();
+        entries.forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+        return ordered;
+    }
+
+    /**
+     * @param matches documentos que cumplen todos los filtros
+     * @param counts  por campo, valor → número de documentos (solo valores con recuento mayor que 0)
+     */
+    public record FacetResult<F extends Enum<F>>(
+            RoaringBitmap matches,
+            Map<F, Map<String, Integer>> counts
+    ) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Índice espacial en memoria de puntos (restaurantes) sobre una rejilla geohash.
+ * <p>
+ * - Cada punto se guarda en la celda de su geohash de 30 bits (15 por eje, equivalente a un geohash de
+ * 6 caracteres): unos 0,6 km de latitud por 1,2 km de longitud en el ecuador.
+ * - {@link #withinRadius} recorre solo las celdas que cubren el círculo y filtra por distancia exacta
+ * (haversine). {@link #nearest} (kNN) repite esa búsqueda duplicando el radio hasta reunir k puntos o
+ * llegar al radio máximo; como el círculo contiene todos los puntos a menos de ese radio, el resultado
+ * es exacto.
+ * - Si el círculo cubre más celdas que puntos hay en el índice (radios enormes o cerca de los polos), se
+ * recorren directamente todos los puntos.
+ * - No es seguro para varios hilos: el llamante sincroniza el acceso.
+ */
+public final class GeoGridIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    static final int BITS_PER_AXIS = 15;
+    private static final int CELLS_PER_AXIS = 1 << BITS_PER_AXIS;
+    private static final double LAT_CELL_DEGREES = 180.0 / CELLS_PER_AXIS;
+    private static final double LNG_CELL_DEGREES = 360.0 / CELLS_PER_AXIS;
+    private static final double INITIAL_KNN_RADIUS_KM = 1.0;
+
+    private final Map<Long, List<Point>> cells = new HashMap<>();
+    private final Map<Long, Point> points = new HashMap<>();
+
+    /**
+     * @param cuisineId tipo de cocina, para filtrar sin consultar la base de datos
+     */
+    public record Point(long id, double latitude, double longitude, Long cuisineId) {}
+
+    public record Hit(Point point, double distanceKm) {
+        static final Comparator<Hit> BY_DISTANCE =
+                Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(hit -> hit.point().id());
+    }
+
+    /**
+     * Añade o mueve un punto.
+     */
+    public void put(Point point) {
+        remove(point.id());
+        points.put(point.id(), point);
+        cells.computeIfAbsent(cellOf(point.latitude(), point.longitude()), c -> new ArrayList<>()).add(point);
+    }
+
+    public void remove(long id) {
+        Point previous = points.remove(id);
+        if (previous == null) return;
+        long cell = cellOf(previous.latitude(), previous.longitude());
+        List<Point> inCell = cells.get(cell);
+        inCell.removeIf(p -> p.id() == id);
+        if (inCell.isEmpty()) cells.remove(cell);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Los {@code k} puntos más cercanos que cumplen el filtro, a como mucho {@code maxRadiusKm}.
+     *
+     * @return ordenados por distancia (y por ID si empatan)
+     */
+    public List<Hit> nearest(double latitude, double longitude, int k, double maxRadiusKm, Predicate<Point> filter) {
+        double radius = Math.min(INITIAL_KNN_RADIUS_KM, maxRadiusKm);
+        while (true) {
+            List<Hit> hits = withinRadius(latitude, longitude, radius, filter);
+            if (hits.size() >= k || radius >= maxRadiusKm) {
+                return hits.size() <= k ? hits : List.copyOf(hits.subList(0, k));
+            }
+            radius = Math.min(radius * 2, maxRadiusKm);
+        }
+    }
+
+    /**
+     * Todos los puntos que cumplen el filtro a como mucho {@code radiusKm}.
+     *
+     * @return ordenados por distancia (y por ID si empatan)
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm, Predicate<Point> filter) {
+        List<Hit> hits = new ArrayList<>();
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        double lat = Math.toRadians(latitude);
+        int latLow = latIndex(latitude - Math.toDegrees(angular));
+        int latHigh = latIndex(latitude + Math.toDegrees(angular));
+
+        // Desviación máxima de longitud de un círculo; si toca un polo abarca todas las longitudes
+        int lngLow = 0;
+        int lngHigh = CELLS_PER_AXIS - 1;
+        if (Math.abs(lat) + angular < Math.PI / 2) {
+            double deltaLng = Math.toDegrees(Math.asin(Math.min(1.0, Math.sin(angular) / Math.cos(lat))));
+            int low = (int) Math.floor((longitude - deltaLng + 180.0) / LNG_CELL_DEGREES);
+            int high = (int) Math.floor((longitude + deltaLng + 180.0) / LNG_CELL_DEGREES);
+            if (high - low + 1 < CELLS_PER_AXIS) {
+                lngLow = low;
+                lngHigh = high;
+            }
+        }
+
+        long cellsToVisit = (long) (latHigh - latLow + 1) * (lngHigh - lngLow + 1);
+        if (cellsToVisit > points.size()) {
+            for (Point point : points.values()) collect(point, latitude, longitude, radiusKm, filter, hits);
+        } else {
+            for (int latIdx = latLow; latIdx <= latHigh; latIdx++) {
+                for (int lngIdx = lngLow; lngIdx <= lngHigh; lngIdx++) {
+                    // Los índices fuera de rango cruzan el antimeridiano
+                    List<Point> inCell = cells.get(cellKey(latIdx, Math.floorMod(lngIdx, CELLS_PER_AXIS)));
+                    if (inCell == null) continue;
+                    for (Point point : inCell) collect(point, latitude, longitude, radiusKm, filter, hits);
+                }
+            }
+        }
+        hits.sort(Hit.BY_DISTANCE);
+        return hits;
+    }
+
+    private static void collect(Point point, double latitude, double longitude, double radiusKm,
+                                Predicate<Point> filter, List<Hit> hits) {
+        if (!filter.test(point)) return;
+        double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+        if (distance <= radiusKm) hits.add(new Hit(point, distance));
+    }
+
+    /**
+     * Distancia de círculo máximo (haversine) en kilómetros.
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Geohash de 30 bits de la celda que contiene el punto.
+     */
+    static long cellOf(double latitude, double longitude) {
+        return cellKey(latIndex(latitude), lngIndex(longitude));
+    }
+
+    private static int latIndex(double latitude) {
+        return Math.clamp((long) Math.floor((latitude + 90.0) / LAT_CELL_DEGREES), 0, CELLS_PER_AXIS - 1);
+    }
+
+    private static int lngIndex(double longitude) {
+        return Math.clamp((long) Math.floor((longitude + 180.0) / LNG_CELL_DEGREES), 0, CELLS_PER_AXIS - 1);
+    }
+
+    // Como en un geohash, los bits de longitud y latitud se intercalan empezando por la longitud
+    private static long cellKey(int latIdx, int lngIdx) {
+        return (spreadBits(lngIdx) << 1) | spreadBits(latIdx);
+    }
+
+    private static long spreadBits(int value) {
+        long x = value & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+}
@@ -0,0 +1,168 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice de horarios semanales: qué restaurantes están abiertos en cada minuto de la semana.
+ * <p>
+ * - La semana se trata como una línea de 10080 minutos (lunes 00:00 = 0) dividida en tramos en los que el
+ * conjunto de restaurantes abiertos no cambia. Cada tramo guarda ese conjunto como bitmap, así que
+ * "abierto en T" es una búsqueda binaria del tramo que contiene T: O(log n) sobre el número de tramos.
+ * - Los turnos partidos son varios intervalos en el mismo día; un intervalo que cierra a la misma hora o
+ * antes de abrir termina al día siguiente (el del domingo continúa el lunes).
+ * - Los bitmaps de los tramos no se modifican nunca: un cambio sustituye los tramos afectados por copias,
+ * así que el bitmap devuelto por {@link #openAt} se puede seguir leyendo después de un cambio.
+ * - No es seguro para varios hilos: el llamante sincroniza las modificaciones.
+ */
+public final class OpeningHoursIndex {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    /**
+     * Intervalo de apertura semanal en minutos desde el lunes a las 00:00; {@code end} puede superar
+     * {@link #MINUTES_PER_WEEK} si el intervalo continúa el lunes siguiente.
+     */
+    public record Interval(int start, int end) {
+
+        /**
+         * @param closes hora de cierre; si no es posterior a la de apertura, es del día siguiente
+         */
+        public static Interval of(DayOfWeek day, LocalTime opens, LocalTime closes) {
+            int start = minuteOfWeek(day, opens);
+            int length = minuteOfDay(closes) - minuteOfDay(opens);
+            return new Interval(start, start + (length > 0 ? length : length + MINUTES_PER_DAY));
+        }
+    }
+
+    // Inicio de cada tramo → restaurantes abiertos desde ese minuto hasta el inicio del tramo siguiente
+    private final NavigableMap<Integer, RoaringBitmap> segments = new TreeMap<>(Map.of(0, new RoaringBitmap()));
+    private final Map<Integer, List<Interval>> schedules = new HashMap<>();
+
+    /**
+     * Construye el índice de una vez con un barrido de la semana: un bitmap por tramo, sin copias intermedias.
+     */
+    public static OpeningHoursIndex build(Map<Integer, List<Interval>> schedules) {
+        OpeningHoursIndex index = new OpeningHoursIndex();
+        // Minuto → cambios (ID del restaurante, +1 abre / -1 cierra)
+        NavigableMap<Integer, List<int[]>> events = new TreeMap<>();
+        schedules.forEach((restaurantId, intervals) -> {
+            if (intervals.isEmpty()) return;
+            index.schedules.put(restaurantId, List.copyOf(intervals));
+            for (Interval interval : intervals) {
+                for (int[] range : ranges(interval)) {
+                    events.computeIfAbsent(range[0], m -> new ArrayList<>()).add(new int[]{restaurantId, 1});
+                    if (range[1] < MINUTES_PER_WEEK) {
+                        events.computeIfAbsent(range[1], m -> new ArrayList<>()).add(new int[]{restaurantId, -1});
+                    }
+                }
+            }
+        });
+        // Un restaurante sigue abierto mientras alguno de sus intervalos (que pueden solaparse) lo esté
+        Map<Integer, Integer> openIntervals = new HashMap<>();
+        RoaringBitmap current = new RoaringBitmap();
+        events.forEach((minute, changes) -> {
+            for (int[] change : changes) {
+                int open = openIntervals.merge(change[0], change[1], Integer::sum);
+                if (open > 0) current.add(change[0]);
+                else current.remove(change[0]);
+            }
+            index.segments.put(minute, current.clone());
+        });
+        index.mergeEqualSegments();
+        return index;
+    }
+
+    /**
+     * Sustituye el horario de un restaurante; una lista vacía lo deja siempre cerrado.
+     */
+    public void put(int restaurantId, List<Interval> intervals) {
+        remove(restaurantId);
+        if (intervals.isEmpty()) return;
+        schedules.put(restaurantId, List.copyOf(intervals));
+        for (Interval interval : intervals) {
+            for (int[] range : ranges(interval)) update(range[0], range[1], restaurantId, true);
+        }
+    }
+
+    public void remove(int restaurantId) {
+        List<Interval> previous = schedules.remove(restaurantId);
+        if (previous == null) return;
+        update(0, MINUTES_PER_WEEK, restaurantId, false);
+        mergeEqualSegments();
+    }
+
+    /**
+     * @return restaurantes abiertos en ese minuto de la semana; no se debe modificar
+     */
+    public RoaringBitmap openAt(int minuteOfWeek) {
+        return segments.floorEntry(Math.floorMod(minuteOfWeek, MINUTES_PER_WEEK)).getValue();
+    }
+
+    public RoaringBitmap openAt(DayOfWeek day, LocalTime time) {
+        return openAt(minuteOfWeek(day, time));
+    }
+
+    public int size() {
+        return schedules.size();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay(time);
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // Rangos [desde, hasta) dentro de la semana; el que pasa del domingo al lunes se parte en dos
+    private static List<int[]> ranges(Interval interval) {
+        if (interval.end() - interval.start() >= MINUTES_PER_WEEK) return List.of(new int[]{0, MINUTES_PER_WEEK});
+        if (interval.end() <= MINUTES_PER_WEEK) return List.of(new int[]{interval.start(), interval.end()});
+        return List.of(new int[]{interval.start(), MINUTES_PER_WEEK}, new int[]{0, interval.end() - MINUTES_PER_WEEK});
+    }
+
+    // Marca o desmarca el restaurante en [from, to), partiendo los tramos de los extremos si hace falta
+    private void update(int from, int to, int restaurantId, boolean open) {
+        if (from >= to) return;
+        split(from);
+        if (to < MINUTES_PER_WEEK) split(to);
+        for (Map.Entry<Integer, RoaringBitmap> segment : segments.subMap(from, true, to, false).entrySet()) {
+            RoaringBitmap current = segment.getValue();
+            if (current.contains(restaurantId) == open) continue;
+            RoaringBitmap copy = current.clone();
+            if (open) copy.add(restaurantId);
+            else copy.remove(restaurantId);
+            segment.setValue(copy);
+        }
+    }
+
+    private void split(int minute) {
+        Map.Entry<Integer, RoaringBitmap> containing = segments.floorEntry(minute);
+        if (containing.getKey() != minute) segments.put(minute, containing.getValue());
+    }
+
+    // Tras una baja o una carga completa, los tramos contiguos con los mismos restaurantes se unen para no acumular fronteras
+    private void mergeEqualSegments() {
+        List<Integer> redundant = new ArrayList<>();
+        RoaringBitmap previous = null;
+        for (Map.Entry<Integer, RoaringBitmap> segment : segments.entrySet()) {
+            if (segment.getValue().equals(previous)) redundant.add(segment.getKey());
+            previous = segment.getValue();
+        }
+        redundant.forEach(segments::remove);
+    }
+}
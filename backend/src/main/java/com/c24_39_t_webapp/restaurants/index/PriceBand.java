@@ -0,0 +1,40 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import java.math.BigDecimal;
+
+/**
+ * Tramos de precio fijos usados como faceta. El límite inferior es inclusivo y el superior exclusivo.
+ */
+public enum PriceBand {
+    UNDER_10("0-10", null, new BigDecimal("10")),
+    FROM_10_TO_20("10-20", new BigDecimal("10"), new BigDecimal("20")),
+    FROM_20_TO_30("20-30", new BigDecimal("20"), new BigDecimal("30")),
+    OVER_30("30+", new BigDecimal("30"), null);
+
+    private final String label;
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    PriceBand(String label, BigDecimal min, BigDecimal max) {
+        this.label = label;
+        this.min = min;
+        this.max = max;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * @return el tramo del precio; null si el precio es null
+     */
+    public static PriceBand of(BigDecimal price) {
+        if (price == null) return null;
+        for (PriceBand band : values()) {
+            boolean aboveMin = band.min == null || price.compareTo(band.min) >= 0;
+            boolean belowMax = band.max == null || price.compareTo(band.max) < 0;
+            if (aboveMin && belowMax) return band;
+        }
+        return OVER_30;
+    }
+}
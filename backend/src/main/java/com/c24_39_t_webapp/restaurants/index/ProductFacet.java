@@ -0,0 +1,23 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+/**
+ * Facetas disponibles para filtrar productos.
+ * El nombre del parámetro HTTP es el que se usa en la petición y en la respuesta.
+ */
+public enum ProductFacet {
+    RESTAURANT("restaurant"),
+    CATEGORY("category"),
+    CUISINE("cuisine"),
+    PRICE_BAND("priceBand"),
+    ACTIVE("active");
+
+    private final String paramName;
+
+    ProductFacet(String paramName) {
+        this.paramName = paramName;
+    }
+
+    public String paramName() {
+        return paramName;
+    }
+}
@@ -0,0 +1,20 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+/**
+ * Facetas disponibles para filtrar restaurantes.
+ * CATEGORY se deriva de las categorías de los productos del restaurante.
+ */
+public enum RestaurantFacet {
+    CUISINE("cuisine"),
+    CATEGORY("category");
+
+    private final String paramName;
+
+    RestaurantFacet(String paramName) {
+        this.paramName = paramName;
+    }
+
+    public String paramName() {
+        return paramName;
+    }
+}
@@ -0,0 +1,189 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Contador de eventos por clave en una ventana deslizante, con los más frecuentes de la ventana.
+ * <p>
+ * - Cada clave tiene un anillo de {@code buckets} tramos de {@code bucketWidth}; los tramos se numeran de forma
+ * absoluta (milisegundos desde epoch / ancho), así que al avanzar el tiempo se vacían los tramos que salen de
+ * la ventana sin recorrer nada más. La ventana cubre el tramo en curso y los {@code buckets - 1} anteriores.
+ * - Cada anillo mantiene su total, de modo que el recuento de una clave es O(1) (más los tramos que caducan) y
+ * {@link #top} recorre las claves con un montículo de tamaño k: O(n log k).
+ * - Las claves cuya ventana queda vacía se eliminan en {@link #top}, así que la memoria crece con las claves
+ * activas en la ventana.
+ * - Es seguro para varios hilos: cada anillo sincroniza sus lecturas y escrituras, y los incrementos y la
+ * eliminación de anillos vacíos se hacen dentro de la operación atómica del mapa, así que no se pierden eventos.
+ */
+public final class SlidingWindowCounter {
+
+    /**
+     * Estado de una clave para guardarlo y restaurarlo: el número absoluto del tramo más reciente y los
+     * recuentos del anillo (posición = número de tramo módulo el tamaño del anillo).
+     */
+    public record Entry(long key, long newestBucket, int[] counts) {}
+
+    public record Count(long key, int count) {
+        // De más a menos eventos; desempate por clave
+        public static final Comparator<Count> BY_COUNT =
+                Comparator.comparingInt(Count::count).reversed().thenComparingLong(Count::key);
+    }
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    public SlidingWindowCounter(Duration bucketWidth, int buckets) {
+        if (bucketWidth.toMillis() < 1 || buckets < 1) {
+            throw new IllegalArgumentException("El ancho de tramo y el número de tramos deben ser positivos");
+        }
+        this.bucketMillis = bucketWidth.toMillis();
+        this.buckets = buckets;
+    }
+
+    public void increment(long key, long epochMillis) {
+        long bucket = bucketOf(epochMillis);
+        rings.compute(key, (k, ring) -> {
+            Ring current = ring == null ? new Ring(buckets) : ring;
+            current.add(bucket);
+            return current;
+        });
+    }
+
+    /**
+     * @return eventos de la clave en la ventana que termina en {@code nowMillis}
+     */
+    public int count(long key, long nowMillis) {
+        Ring ring = rings.get(key);
+        if (ring == null) return 0;
+        return ring.totalAt(bucketOf(nowMillis));
+    }
+
+    /**
+     * @param filter claves admitidas; las demás no ocupan sitio en el montículo
+     * @return como mucho {@code k} claves con eventos en la ventana, de más a menos eventos (desempate por clave)
+     */
+    public List<Count> top(int k, long nowMillis, LongPredicate filter) {
+        if (k < 1) return List.of();
+        long bucket = bucketOf(nowMillis);
+        // Montículo de mínimos: la cima es la peor de las k mejores vistas hasta ahora
+        PriorityQueue<Count> heap = new PriorityQueue<>(k + 1, Count.BY_COUNT.reversed());
+        List<Long> empty = new ArrayList<>();
+        rings.forEach((key, ring) -> {
+            int total = ring.totalAt(bucket);
+            if (total == 0) {
+                empty.add(key);
+                return;
+            }
+            if (!filter.test(key)) return;
+            Count candidate = new Count(key, total);
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (Count.BY_COUNT.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        });
+        // Solo se elimina si sigue vacía: un incremento concurrente la mantiene
+        empty.forEach(key -> rings.computeIfPresent(key, (k2, ring) -> ring.totalAt(bucket) == 0 ? null : ring));
+        List<Count> result = new ArrayList<>(heap);
+        result.sort(Count.BY_COUNT);
+        return result;
+    }
+
+    public void remove(long key) {
+        rings.remove(key);
+    }
+
+    public int size() {
+        return rings.size();
+    }
+
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(rings.size());
+        rings.forEach((key, ring) -> entries.add(ring.toEntry(key)));
+        return entries;
+    }
+
+    /**
+     * Sustituye el contenido por el de {@link #entries()}, guardado con la misma configuración; las entradas
+     * con otro tamaño de anillo se ignoran. Los tramos que ya han salido de la ventana caducan al leerlos.
+     *
+     * @return entradas restauradas
+     */
+    public int restore(List<Entry> entries) {
+        rings.clear();
+        int restored = 0;
+        for (Entry entry : entries) {
+            if (entry.counts() == null || entry.counts().length != buckets) continue;
+            Ring ring = new Ring(buckets);
+            ring.newest = entry.newestBucket();
+            for (int i = 0; i < buckets; i++) {
+                ring.counts[i] = Math.max(entry.counts()[i], 0);
+                ring.total += ring.counts[i];
+            }
+            rings.put(entry.key(), ring);
+            restored++;
+        }
+        return restored;
+    }
+
+    private long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis);
+    }
+
+    private static final class Ring {
+        private final int[] counts;
+        private long newest = Long.MIN_VALUE;
+        private int total;
+
+        Ring(int buckets) {
+            this.counts = new int[buckets];
+        }
+
+        synchronized void add(long bucket) {
+            advance(bucket);
+            // Un evento anterior a la ventana (reloj desfasado) no cuenta
+            if (bucket <= newest - counts.length) return;
+            counts[index(bucket)]++;
+            total++;
+        }
+
+        synchronized int totalAt(long bucket) {
+            advance(bucket);
+            return total;
+        }
+
+        synchronized Entry toEntry(long key) {
+            return new Entry(key, newest, counts.clone());
+        }
+
+        // Vacía los tramos que salen de la ventana al pasar del tramo más reciente a {@code bucket}
+        private void advance(long bucket) {
+            if (bucket <= newest) return;
+            if (newest == Long.MIN_VALUE || bucket - newest >= counts.length) {
+                Arrays.fill(counts, 0);
+                total = 0;
+            } else {
+                for (long b = newest + 1; b <= bucket; b++) {
+                    int i = index(b);
+                    total -= counts[i];
+                    counts[i] = 0;
+                }
+            }
+            newest = bucket;
+        }
+
+        private int index(long bucket) {
+            return (int) Math.floorMod(bucket, (long) counts.length);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice nombre normalizado → ID con bloqueo por franjas (lock striping).
+ * <p>
+ * - Las claves se reparten en un número fijo de franjas, cada una con su mapa y su read/write lock: las lecturas
+ * de nombres distintos no compiten entre sí y una escritura solo bloquea su franja.
+ * - A diferencia del resto de índices, es seguro entre hilos por sí mismo; no hace falta un lock externo.
+ * - Es solo una caché: quien lo usa debe comprobar que el ID sigue existiendo y quitarlo si no.
+ */
+public class StripedNameIndex {
+
+    private final ReentrantReadWriteLock[] locks;
+    private final Map<String, Long>[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes número de franjas; se redondea a la siguiente potencia de dos
+     */
+    @SuppressWarnings("unchecked")
+    public StripedNameIndex(int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantReadWriteLock[size];
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+            this.stripes[i] = new HashMap<>();
+        }
+        this.mask = size - 1;
+    }
+
+    public Long get(String key) {
+        int stripe = stripeOf(key);
+        locks[stripe].readLock().lock();
+        try {
+            return stripes[stripe].get(key);
+        } finally {
+            locks[stripe].readLock().unlock();
+        }
+    }
+
+    public void put(String key, Long id) {
+        int stripe = stripeOf(key);
+        locks[stripe].writeLock().lock();
+        try {
+            stripes[stripe].put(key, id);
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita la clave solo si sigue apuntando a ese ID (otro hilo puede haberla actualizado ya).
+     */
+    public boolean remove(String key, Long id) {
+        int stripe = stripeOf(key);
+        locks[stripe].writeLock().lock();
+        try {
+            return stripes[stripe].remove(key, id);
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita todas las claves que apuntan a ese ID. Recorre las franjas una a una, sin bloquearlas todas a la vez.
+     */
+    public int removeId(Long id) {
+        int removed = 0;
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            locks[stripe].writeLock().lock();
+            try {
+                int before = stripes[stripe].size();
+                stripes[stripe].values().removeIf(id::equals);
+                removed += before - stripes[stripe].size();
+            } finally {
+                locks[stripe].writeLock().unlock();
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            locks[stripe].readLock().lock();
+            try {
+                size += stripes[stripe].size();
+            } finally {
+                locks[stripe].readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    // Mezcla los bits altos del hash, como HashMap, para repartir bien con una máscara pequeña
+    private int stripeOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,33 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+/**
+ * Entrada inmutable del índice de autocompletado.
+ *
+ * @param type         origen de la sugerencia
+ * @param id           ID de la entidad (producto, restaurante, cocina o categoría)
+ * @param text         texto a mostrar, tal y como está en la base de datos
+ * @param restaurantId restaurante del producto; null para el resto de tipos
+ * @param weight       popularidad usada para ordenar (mayor primero)
+ */
+public record Suggestion(
+        SuggestionType type,
+        Long id,
+        String text,
+        Long restaurantId,
+        long weight
+) {
+    /**
+     * Clave única de la entrada dentro del índice (un producto y una categoría pueden compartir ID).
+     */
+    public String key() {
+        return key(type, id);
+    }
+
+    public static String key(SuggestionType type, Long id) {
+        return type.name() + ':' + id;
+    }
+
+    public Suggestion withWeight(long newWeight) {
+        return new Suggestion(type, id, text, restaurantId, newWeight);
+    }
+}
@@ -0,0 +1,222 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import com.c24_39_t_webapp.restaurants.utils.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Árbol de prefijos (trie) para autocompletado con las mejores K sugerencias precalculadas en cada nodo.
+ * <p>
+ * - Cada texto se indexa normalizado (ver {@link TextNormalizer}) desde el inicio de cada palabra,
+ * así "Pizza Margarita" responde tanto a "piz" como a "marg".
+ * - Cada nodo guarda las {@value #MAX_SUGGESTIONS} mejores entradas de su subárbol, por lo que una
+ * consulta cuesta O(longitud del prefijo) y no depende del tamaño del catálogo.
+ * - Los hijos se guardan en arrays ordenados (char[] + Node[]) en lugar de un Map por nodo
+ * para reducir memoria.
+ * - Altas, bajas y cambios de peso recalculan solo los nodos del camino afectado.
+ * <p>
+ * NO es thread-safe: el llamante debe sincronizar escrituras y lecturas.
+ */
+public class SuggestionTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_TOKEN_LENGTH = 48;
+
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> BY_RELEVANCE = Comparator
+            .comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(s -> s.key());
+
+    private final Node root = new Node();
+    private final Map<String, Suggestion> entries = new HashMap<>();
+
+    /**
+     * Inserta o reemplaza una entrada (misma {@link Suggestion#key()}).
+     */
+    public void put(Suggestion suggestion) {
+        remove(suggestion.key());
+        List<String> tokens = tokens(suggestion.text());
+        if (tokens.isEmpty()) return;
+        entries.put(suggestion.key(), suggestion);
+        for (String token : tokens) {
+            insertPath(token, suggestion);
+        }
+    }
+
+    /**
+     * Elimina la entrada con la clave indicada.
+     *
+     * @return true si existía
+     */
+    public boolean remove(String key) {
+        Suggestion existing = entries.remove(key);
+        if (existing == null) return false;
+        for (String token : tokens(existing.text())) {
+            removePath(token, key);
+        }
+        return true;
+    }
+
+    public Optional<Suggestion> get(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Devuelve las mejores sugerencias para un prefijo, ordenadas por peso descendente.
+     *
+     * @param prefix texto escrito por el usuario (se normaliza internamente)
+     * @param limit  máximo de resultados (acotado a {@value #MAX_SUGGESTIONS})
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = TextNormalizer.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) return Collections.emptyList();
+        Node node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        if (node == null) return Collections.emptyList();
+        int size = Math.min(Math.min(limit, MAX_SUGGESTIONS), node.top.length);
+        return List.of(Arrays.copyOf(node.top, size));
+    }
+
+    /**
+     * Claves de indexación de un texto: el texto normalizado desde el comienzo de cada palabra.
+     */
+    static List<String> tokens(String text) {
+        String normalized = TextNormalizer.normalize(text);
+        if (normalized.isEmpty()) return Collections.emptyList();
+        Set<String> tokens = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = i == 0 || normalized.charAt(i - 1) == ' ';
+            if (wordStart && normalized.charAt(i) != ' ') {
+                tokens.add(normalized.substring(i, Math.min(normalized.length(), i + MAX_TOKEN_LENGTH)));
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private void insertPath(String token, Suggestion suggestion) {
+        Node[] path = new Node[token.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.childOrCreate(token.charAt(i));
+            path[i + 1] = node;
+        }
+        node.addTerminal(suggestion);
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i].recomputeTop();
+        }
+    }
+
+    private void removePath(String token, String key) {
+        Node[] path = new Node[token.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.child(token.charAt(i));
+            if (node == null) return;
+            path[i + 1] = node;
+        }
+        node.removeTerminal(key);
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i].recomputeTop();
+            if (i > 0 && path[i].isEmpty()) {
+                path[i - 1].removeChild(token.charAt(i - 1));
+            }
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private Suggestion[] terminals = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index >= 0) return children[index];
+            int insertAt = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node created = new Node();
+            keys[insertAt] = c;
+            children[insertAt] = created;
+            childCount++;
+            return created;
+        }
+
+        void removeChild(char c) {
+            int index = Arrays.binarySearch(keys, 0, childCount, c);
+            if (index < 0) return;
+            System.arraycopy(keys, index + 1, keys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        void addTerminal(Suggestion suggestion) {
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = suggestion;
+        }
+
+        void removeTerminal(String key) {
+            terminals = Arrays.stream(terminals)
+                    .filter(s -> !s.key().equals(key))
+                    .toArray(Suggestion[]::new);
+        }
+
+        boolean isEmpty() {
+            return childCount == 0 && terminals.length == 0;
+        }
+
+        /**
+         * Mejores K del subárbol = mejores K entre las entradas propias y las mejores K de cada hijo.
+         */
+        void recomputeTop() {
+            List<Suggestion> candidates = new ArrayList<>(terminals.length + childCount * MAX_SUGGESTIONS);
+            Collections.addAll(candidates, terminals);
+            for (int i = 0; i < childCount; i++) {
+                Collections.addAll(candidates, children[i].top);
+            }
+            candidates.sort(BY_RELEVANCE);
+            List<Suggestion> best = new ArrayList<>(MAX_SUGGESTIONS);
+            Set<String> seen = new HashSet<>();
+            for (Suggestion candidate : candidates) {
+                if (best.size() == MAX_SUGGESTIONS) break;
+                // Una misma entrada puede llegar por varios hijos (una por cada palabra indexada)
+                if (seen.add(candidate.key())) best.add(candidate);
+            }
+            top = best.toArray(NO_SUGGESTIONS);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+/**
+ * Origen de una sugerencia de autocompletado.
+ */
+public enum SuggestionType {
+    PRODUCT, RESTAURANT, CUISINE, CATEGORY
+}
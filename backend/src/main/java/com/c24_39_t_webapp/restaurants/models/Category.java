@@ -1,5 +1,6 @@
 package com.c24_39_t_webapp.restaurants.models;
 
+import com.c24_39_t_webapp.restaurants.utils.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,7 +11,13 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "categorias")
+@Table(name = "categorias", indexes = {
+        // Sincronización incremental por fecha de actualización (ver db/postgres/002_catalog_sync.sql)
+        @Index(name = "idx_categorias_actualizacion_id", columnList = "ctg_fecha_actualizacion, ctg_id")
+}, uniqueConstraints = {
+        // Una sola categoría global por nombre normalizado (ver db/postgres/009_category_unique_name.sql)
+        @UniqueConstraint(name = "uk_categorias_nombre_normalizado", columnNames = "ctg_nombre_normalizado")
+})
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +27,10 @@ public class Category {
     @Column(name = "ctg_nombre", nullable = false)
     private String name;
 
+    // Nombre con TextNormalizer: "Pizzas", " pizzas " y "PIZZAS" son la misma categoría
+    @Column(name = "ctg_nombre_normalizado", nullable = false)
+    private String normalizedName;
+
     @Column(name = "ctg_descripcion")
     private String description;
 
@@ -30,4 +41,10 @@ public class Category {
     @Column(name="ctg_fecha_actualizacion", nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = TextNormalizer.normalize(name);
+    }
 }
@@ -0,0 +1,33 @@
+package com.c24_39_t_webapp.restaurants.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Intervalo semanal de apertura de un restaurante. Si la hora de cierre no es posterior a la de apertura,
+ * el intervalo termina al día siguiente (por ejemplo, viernes 20:00-02:00).
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningInterval {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "hor_dia", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "hor_apertura", nullable = false)
+    private LocalTime opensAt;
+
+    @Column(name = "hor_cierre", nullable = false)
+    private LocalTime closesAt;
+}
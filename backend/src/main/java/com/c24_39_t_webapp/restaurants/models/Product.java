@@ -12,7 +12,16 @@ import java.time.LocalDateTime;
 @Data
 @Entity
 @NoArgsConstructor
-@Table(name = "productos")
+@Table(name = "productos", indexes = {
+        // Listados paginados por clave: cada orden desempata por prd_id (ver db/postgres/001_product_listing_indexes.sql)
+        @Index(name = "idx_productos_restaurante_id", columnList = "prd_restaurante_id, prd_id"),
+        @Index(name = "idx_productos_categoria_id", columnList = "prd_categoria_id, prd_id"),
+        @Index(name = "idx_productos_precio_id", columnList = "prd_precio, prd_id"),
+        @Index(name = "idx_productos_fecha_alta_id", columnList = "prd_fecha_alta, prd_id"),
+        @Index(name = "idx_productos_nombre_id", columnList = "prd_nombre, prd_id"),
+        // Sincronización incremental por fecha de actualización (ver db/postgres/002_catalog_sync.sql)
+        @Index(name = "idx_productos_actualizacion_id", columnList = "prd_fecha_actualizacion, prd_id")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -7,13 +7,22 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "restaurant")
+@Table(name = "restaurant", indexes = {
+        // Sincronización incremental por fecha de actualización (ver db/postgres/002_catalog_sync.sql)
+        @Index(name = "idx_restaurant_actualizacion_id", columnList = "rst_fecha_actualizacion, rst_id"),
+        // Directorio paginado por clave; en Postgres son parciales, solo activos (ver db/postgres/006_restaurant_active.sql)
+        @Index(name = "idx_restaurant_nombre_id", columnList = "rst_nombre, rst_id"),
+        @Index(name = "idx_restaurant_registro_id", columnList = "rst_fecha_registro, rst_id"),
+        @Index(name = "idx_restaurant_cocina_nombre_id", columnList = "rst_tipologias_restaurant_id, rst_nombre, rst_id")
+})
 public class Restaurant {
 
     @Id
@@ -51,12 +60,28 @@ public class Restaurant {
     @Column(name = "rst_horario", nullable = false)
     private String openingHours;
 
+    // Horario estructurado (turnos partidos y nocturnos); rst_horario se mantiene como texto libre para mostrar
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "horarios_restaurante", joinColumns = @JoinColumn(name = "hor_restaurante_id"))
+    private List<OpeningInterval> openingSchedule = new ArrayList<>();
+
     @Column(name = "rst_logo")
     private String logo;
 
     @Column(name="rst_foto", length = 1024) // Longitud suficiente para URLs
     private String coverImage;
 
+    // Coordenadas WGS84 en grados; opcionales, los restaurantes sin ellas no aparecen en la búsqueda por cercanía
+    @Column(name = "rst_latitud")
+    private Double latitude;
+
+    @Column(name = "rst_longitud")
+    private Double longitude;
+
+    // Baja lógica: un restaurante inactivo no aparece en ningún listado (ver db/postgres/006_restaurant_active.sql)
+    @Column(name = "rst_activo", nullable = false)
+    private Boolean isActive = true;
+
     @Column(name = "rst_fecha_registro", nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -4,9 +4,15 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tipologias_restaurant") // Ojo: usa el nombre exacto de tu tabla
+@Table(name = "tipologias_restaurant", indexes = { // Ojo: usa el nombre exacto de tu tabla
+        // Sincronización incremental por fecha de actualización (ver db/postgres/002_catalog_sync.sql)
+        @Index(name = "idx_tipologias_actualizacion_id", columnList = "updated_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,4 +23,8 @@ public class RestaurantCuisine {
 
     @Column(name = "name", nullable = false, unique = true)
     private String name;
+
+    @Column(name = "updated_at", nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.c24_39_t_webapp.restaurants.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Agregados precalculados de un restaurante para el directorio: valoración de las reseñas y precios de la
+ * carta. Se actualizan en la misma transacción que el cambio de reseña o producto que los afecta, así que
+ * el listado no agrega nada al leer.
+ * <p>
+ * Las reseñas se acumulan en un histograma de puntuaciones (0 a 10): el número de reseñas, la suma y las
+ * medias se derivan de él, y un alta, cambio o baja de reseña solo mueve una o dos posiciones.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "estadisticas_restaurante", indexes = {
+        // Directorio ordenado por valoración (ver db/postgres/005_restaurant_directory.sql)
+        @Index(name = "idx_estadisticas_puntaje_id", columnList = "est_puntaje_medio, est_restaurante_id"),
+        // Directorio ordenado por valoración ponderada (ver db/postgres/007_rating_histogram.sql)
+        @Index(name = "idx_estadisticas_bayesiano_id", columnList = "est_puntaje_bayesiano, est_restaurante_id")
+})
+public class RestaurantStats {
+
+    public static final int MAX_SCORE = 10;
+
+    // Mismo ID que el restaurante; sin relación JPA para no cargarlo al actualizar los agregados
+    @Id
+    @Column(name = "est_restaurante_id")
+    private Long restaurantId;
+
+    @Column(name = "est_num_resenas", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "est_suma_puntajes", nullable = false)
+    private long scoreSum;
+
+    // Media de las reseñas redondeada a 2 decimales; null si no hay reseñas
+    @Column(name = "est_puntaje_medio")
+    private Double averageScore;
+
+    // Media bayesiana: la media del restaurante ponderada con la media global, para que unas pocas
+    // reseñas no lo pongan por delante de otros muy valorados. Null si no hay reseñas
+    @Column(name = "est_puntaje_bayesiano")
+    private Double bayesianScore;
+
+    // Número de reseñas con cada puntuación: la posición i es la puntuación i
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "est_histograma", nullable = false)
+    private long[] scoreHistogram = new long[MAX_SCORE + 1];
+
+    // Solo productos activos
+    @Column(name = "est_num_productos", nullable = false)
+    private long productCount;
+
+    @Column(name = "est_precio_min", precision = 10, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(name = "est_precio_medio", precision = 10, scale = 2)
+    private BigDecimal averagePrice;
+
+    @Column(name = "est_fecha_actualizacion", nullable = false)
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public RestaurantStats(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+}
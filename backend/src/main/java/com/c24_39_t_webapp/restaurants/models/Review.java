@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Listado de reseñas de un restaurante paginado por clave (ver db/postgres/008_review_listing.sql)
+        @Index(name = "idx_reviews_restaurante_fecha_id", columnList = "rvw_id_restaurante, rvw_fecha_creacion, rvw_id"),
+        @Index(name = "idx_reviews_restaurante_puntaje_id", columnList = "rvw_id_restaurante, rvw_puntaje, rvw_id")
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,8 @@
+package com.c24_39_t_webapp.restaurants.models;
+
+/**
+ * Tipos de entidad del catálogo que se sincronizan de forma incremental (GET /api/sync/changes).
+ */
+public enum SyncEntityType {
+    PRODUCT, RESTAURANT, CATEGORY, CUISINE
+}
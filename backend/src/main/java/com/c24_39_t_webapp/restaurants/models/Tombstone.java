@@ -0,0 +1,41 @@
+package com.c24_39_t_webapp.restaurants.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de borrado de una entidad del catálogo. Se guarda en la misma transacción que el borrado para que
+ * la sincronización incremental pueda comunicar las bajas; se purga pasado el periodo de retención.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "tombstones", indexes = {
+        @Index(name = "idx_tombstones_fecha_id", columnList = "tmb_fecha_borrado, tmb_id")
+})
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tmb_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tmb_entidad", nullable = false, length = 20)
+    private SyncEntityType entityType;
+
+    @Column(name = "tmb_entidad_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "tmb_fecha_borrado", nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
+    @CreationTimestamp
+    private LocalDateTime deletedAt;
+
+    public Tombstone(SyncEntityType entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+}
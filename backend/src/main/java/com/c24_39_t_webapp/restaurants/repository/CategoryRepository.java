@@ -1,13 +1,26 @@
 package com.c24_39_t_webapp.restaurants.repository;
 
 import com.c24_39_t_webapp.restaurants.models.Category;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    Optional<Category> findByName(String name);
+    // Búsqueda por el nombre normalizado con TextNormalizer (índice único uk_categorias_nombre_normalizado)
+    Optional<Category> findByNormalizedName(String normalizedName);
+
     @Query(value = "SELECT COUNT(*) FROM categorias_restaurante cr WHERE cr.categoria_id = :categoryId", nativeQuery = true)
     long countRestaurantsUsingCategory(Long categoryId);
+
+    // Sincronización incremental: modificadas después de la posición (fecha, ID) y hasta :upTo, por fecha e ID
+    @Query("SELECT c FROM Category c " +
+            "WHERE (c.updatedAt > :since OR (c.updatedAt = :since AND c.id > :sinceId)) AND c.updatedAt <= :upTo " +
+            "ORDER BY c.updatedAt, c.id")
+    List<Category> findChangedSince(@Param("since") LocalDateTime since, @Param("sinceId") Long sinceId,
+                                    @Param("upTo") LocalDateTime upTo, Pageable pageable);
 }
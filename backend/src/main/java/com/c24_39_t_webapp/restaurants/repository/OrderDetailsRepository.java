@@ -1,7 +1,30 @@
 package com.c24_39_t_webapp.restaurants.repository;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.IdCountProjection;
+import com.c24_39_t_webapp.restaurants.dtos.projection.OrderLineProjection;
 import com.c24_39_t_webapp.restaurants.models.OrderDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface OrderDetailsRepository extends JpaRepository<OrderDetails, Long> {
+
+    // Unidades vendidas por producto (popularidad), agregadas en la base de datos
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.IdCountProjection(" +
+            "d.product.prd_id, SUM(d.quantity)) " +
+            "FROM OrderDetails d GROUP BY d.product.prd_id")
+    List<IdCountProjection> sumQuantityGroupByProduct();
+
+    // Restaurantes con algún pedido con líneas (usado para repartir la reconstrucción de recomendaciones)
+    @Query("SELECT DISTINCT d.order.restaurantId.id FROM OrderDetails d")
+    List<Long> findRestaurantIdsWithOrderLines();
+
+    // Líneas (pedido, producto) de un restaurante, agrupadas por pedido
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.OrderLineProjection(" +
+            "d.order.ord_id, d.product.prd_id) " +
+            "FROM OrderDetails d WHERE d.order.restaurantId.id = :restaurantId " +
+            "ORDER BY d.order.ord_id")
+    List<OrderLineProjection> findOrderLinesByRestaurantId(@Param("restaurantId") Long restaurantId);
 }
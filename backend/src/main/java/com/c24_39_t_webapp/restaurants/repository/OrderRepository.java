@@ -1,5 +1,7 @@
 package com.c24_39_t_webapp.restaurants.repository;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.IdCountProjection;
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantClientRow;
 import com.c24_39_t_webapp.restaurants.models.Order;
 import com.c24_39_t_webapp.restaurants.models.OrderStatus;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
@@ -79,6 +81,20 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @EntityGraph(attributePaths = {"restaurantId", "clientId", "details", "details.product"})
     Page<Order> findByRestaurantId_IdIn(List<Long> restaurantIds, Pageable pageable);
+
+    // Número de pedidos por restaurante (popularidad), agregado en la base de datos
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.IdCountProjection(" +
+            "o.restaurantId.id, COUNT(o)) " +
+            "FROM Order o GROUP BY o.restaurantId.id")
+    List<IdCountProjection> countGroupByRestaurant();
+
+    // Pares (restaurante, cliente) distintos con algún pedido en ese estado, para cargar el índice de clientes
+    @Query("SELECT DISTINCT new com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantClientRow(" +
+            "o.restaurantId.id, o.clientId.id) " +
+            "FROM Order o WHERE o.status = :status")
+    List<RestaurantClientRow> findRestaurantClientPairsByStatus(@Param("status") OrderStatus status);
+
+    boolean existsByRestaurantId_IdAndClientId_IdAndStatus(Long restaurantId, Long clientId, OrderStatus status);
     // Opción B: Usando @Query (más control, necesitas countQuery)
 // El countQuery es importante para que el cálculo del total de páginas sea eficiente
 //    @Query(value = "SELECT DISTINCT o FROM Order o " +
@@ -1,17 +1,25 @@
 package com.c24_39_t_webapp.restaurants.repository;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductChangeRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ValueCountProjection;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.models.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     // Aquí se pueden agregar métodos de consulta personalizados si es necesario
 //    @Query("SELECT p FROM Product p WHERE p.category.ctg_id = :categoryId")
 //    List<Product> findProductsByCategory(@Param("categoryId") Long categoryId);
@@ -26,20 +34,13 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @EntityGraph(attributePaths = {"restaurant", "category"})
     Optional<Product> findById(@NonNull Long prd_id);
 
-    @EntityGraph(attributePaths = {"restaurant", "category"})
-    List<Product> findProductsByCategoryId(Long categoryId);
-
     //    @Query("SELECT p FROM Product p WHERE LOWER(p.name) = LOWER(:name)")
 
-    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+            "AND p.restaurant.isActive = true")
     @EntityGraph(attributePaths = {"restaurant", "category"})
     List<Product> findProductsByName(@Param("name") String name);
 
-    //    @Query("SELECT p FROM Product p WHERE p.restaurant.rst_id = :restaurantId")
-    @EntityGraph(attributePaths = {"category", "restaurant"})
-    // Carga category y restaurant
-    List<Product> findProductsByRestaurantId(Long restaurantId);
-
     boolean existsByCategoryId(Long categoryId);
 
 //    @Query("SELECT p FROM Product p WHERE p.restaurant = :restaurant")
@@ -53,9 +54,91 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             "p.price, p.image, p.isActive, p.quantity, " +
             "c.name, r.name)" +
             "FROM Product p JOIN p.category c JOIN p.restaurant r " +
-            "WHERE r.id = :restaurantId " +
+            "WHERE r.id = :restaurantId AND r.isActive = true " +
             "ORDER BY c.name, p.name")
     List<ProductResponseDto> findProductsByRestaurantIdAndCategory(@Param("restaurantId") Long restaurantId);
+
+    // Todos los productos como DTO en una sola consulta (usado para construir índices en memoria)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto(" +
+            "p.prd_id, r.id, c.id, p.name, p.description, " +
+            "p.price, p.image, p.isActive, p.quantity, " +
+            "c.name, r.name) " +
+            "FROM Product p JOIN p.category c JOIN p.restaurant r WHERE r.isActive = true")
+    List<ProductResponseDto> findAllProductDtos();
+
+    // Productos concretos como DTO en una sola consulta IN (el orden no está garantizado)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto(" +
+            "p.prd_id, r.id, c.id, p.name, p.description, " +
+            "p.price, p.image, p.isActive, p.quantity, " +
+            "c.name, r.name) " +
+            "FROM Product p JOIN p.category c JOIN p.restaurant r " +
+            "WHERE p.prd_id IN :ids AND r.isActive = true")
+    List<ProductResponseDto> findProductDtosByIds(@Param("ids") Collection<Long> ids);
+
+    // Todos los productos como filas de listado (usado para construir la instantánea del catálogo)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow(" +
+            "p.prd_id, r.id, c.id, p.name, p.description, " +
+            "p.price, p.image, p.isActive, p.quantity, " +
+            "c.name, r.name, p.createdAt) " +
+            "FROM Product p JOIN p.category c JOIN p.restaurant r WHERE r.isActive = true")
+    List<ProductListingRow> findAllListingRows();
+
+    // Productos concretos como filas de listado en una sola consulta IN (el orden no está garantizado)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow(" +
+            "p.prd_id, r.id, c.id, p.name, p.description, " +
+            "p.price, p.image, p.isActive, p.quantity, " +
+            "c.name, r.name, p.createdAt) " +
+            "FROM Product p JOIN p.category c JOIN p.restaurant r " +
+            "WHERE p.prd_id IN :ids AND r.isActive = true")
+    List<ProductListingRow> findListingRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // Sincronización incremental: modificados después de la posición (fecha, ID) y hasta :upTo, por fecha e ID
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ProductChangeRow(" +
+            "p.prd_id, r.id, c.id, p.name, p.description, " +
+            "p.price, p.image, p.isActive, p.quantity, " +
+            "c.name, r.name, p.updatedAt) " +
+            "FROM Product p JOIN p.category c JOIN p.restaurant r " +
+            "WHERE (p.updatedAt > :since OR (p.updatedAt = :since AND p.prd_id > :sinceId)) " +
+            "AND p.updatedAt <= :upTo " +
+            "ORDER BY p.updatedAt, p.prd_id")
+    List<ProductChangeRow> findChangedSince(@Param("since") LocalDateTime since, @Param("sinceId") Long sinceId,
+                                            @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    // Referencias a imágenes del almacén local, agrupadas por URL (solo de restaurantes activos)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ValueCountProjection(p.image, COUNT(p)) " +
+            "FROM Product p WHERE p.restaurant.isActive = true AND p.image LIKE CONCAT('%', :urlPrefix, '%') GROUP BY p.image")
+    List<ValueCountProjection> countImagesByUrl(@Param("urlPrefix") String urlPrefix);
+
+    // Referencias a una sola imagen (ruta "/api/images/{hash}/"), para volver a contarlas justo antes de borrarla
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.restaurant.isActive = true AND p.image LIKE CONCAT('%', :imagePath, '%')")
+    long countImageReferences(@Param("imagePath") String imagePath);
+
+    // Siguiente tramo de productos activos de un restaurante, por ID (desactivación por tramos)
+    @Query("SELECT p.prd_id FROM Product p WHERE p.restaurant.id = :restaurantId AND p.isActive = true " +
+            "ORDER BY p.prd_id")
+    List<Long> findActiveIdsByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    // Productos concretos de un restaurante como DTO (los de otros restaurantes se ignoran)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto(" +
+            "p.prd_id, r.id, c.id, p.name, p.description, " +
+            "p.price, p.image, p.isActive, p.quantity, " +
+            "c.name, r.name) " +
+            "FROM Product p JOIN p.category c JOIN p.restaurant r " +
+            "WHERE r.id = :restaurantId AND p.prd_id IN :ids " +
+            "ORDER BY p.prd_id")
+    List<ProductResponseDto> findProductDtosByRestaurantIdAndIds(@Param("restaurantId") Long restaurantId,
+                                                                @Param("ids") Collection<Long> ids);
+
+    // Copia de la carta: todos los productos del origen en el destino con un único INSERT ... SELECT, sin cargar
+    // entidades; el precio se multiplica y redondea en la base de datos y las fechas se fijan explícitamente
+    @Modifying
+    @Query(value = "INSERT INTO productos (prd_restaurante_id, prd_categoria_id, prd_nombre, prd_descripcion, " +
+            "prd_precio, prd_imagen, prd_activo, prd_cantidad, prd_fecha_alta, prd_fecha_actualizacion) " +
+            "SELECT :targetId, p.prd_categoria_id, p.prd_nombre, p.prd_descripcion, " +
+            "ROUND(p.prd_precio * :priceFactor, 2), p.prd_imagen, p.prd_activo, p.prd_cantidad, :now, :now " +
+            "FROM productos p WHERE p.prd_restaurante_id = :sourceId ORDER BY p.prd_id", nativeQuery = true)
+    int copyProducts(@Param("sourceId") Long sourceId, @Param("targetId") Long targetId,
+                     @Param("priceFactor") BigDecimal priceFactor, @Param("now") LocalDateTime now);
 //    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.restaurant.id = :restaurantId ORDER BY p.category.name, p.name")
 //    List<Product> findProductsByRestaurantIdAndCategory(@Param("restaurantId") Long restaurantId);
 }
@@ -0,0 +1,56 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consultas de productos cuyo JPQL depende de los filtros recibidos (implementadas en ProductRepositoryImpl).
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Página de un listado de productos paginado por clave, proyectada directamente a DTO.
+     *
+     * @param filter    filtros a aplicar (los null no filtran)
+     * @param sort      orden del listado
+     * @param afterKey  clave de orden de la última fila de la página anterior (null en la primera página)
+     * @param afterId   ID de la última fila de la página anterior (null en la primera página)
+     * @param fetchSize número máximo de filas a leer
+     */
+    List<ProductListingRow> findListingPage(ListingFilter filter, ProductSort sort,
+                                            Object afterKey, Long afterId, int fetchSize);
+
+    /**
+     * Aplica los mismos cambios a varios productos de un restaurante con un único UPDATE.
+     * Los productos que no pertenecen al restaurante no se modifican.
+     *
+     * @return número de filas actualizadas
+     */
+    int bulkUpdate(Long restaurantId, Collection<Long> productIds, BulkChange change);
+
+    record ListingFilter(
+            Long restaurantId,
+            Long categoryId,
+            boolean activeOnly,
+            BigDecimal minPrice,
+            BigDecimal maxPrice
+    ) {}
+
+    /**
+     * Cambios de una actualización masiva; los campos null no se modifican.
+     *
+     * @param priceFactor multiplicador del precio actual (se redondea a 2 decimales en la base de datos)
+     */
+    record BulkChange(
+            BigDecimal price,
+            BigDecimal priceFactor,
+            Integer quantity,
+            Boolean isActive,
+            LocalDateTime updatedAt
+    ) {}
+}
@@ -0,0 +1,118 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link ProductRepositoryCustom}.
+ * <p>
+ * El listado se pagina por clave (WHERE clave > última clave) en lugar de OFFSET: cada página cuesta lo
+ * mismo sea cual sea su posición, y las altas o bajas entre peticiones no duplican ni saltan filas.
+ * <p>
+ * La actualización masiva es un UPDATE por conjunto: no carga entidades y el ajuste porcentual del
+ * precio se calcula en la propia base de datos.
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductListingRow> findListingPage(ListingFilter filter, ProductSort sort,
+                                                   Object afterKey, Long afterId, int fetchSize) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow(" +
+                "p.prd_id, r.id, c.id, p.name, p.description, " +
+                "p.price, p.image, p.isActive, p.quantity, " +
+                "c.name, r.name, p.createdAt) " +
+                "FROM Product p JOIN p.category c JOIN p.restaurant r WHERE r.isActive = true");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.restaurantId() != null) {
+            jpql.append(" AND r.id = :restaurantId");
+            params.put("restaurantId", filter.restaurantId());
+        }
+        if (filter.categoryId() != null) {
+            jpql.append(" AND c.id = :categoryId");
+            params.put("categoryId", filter.categoryId());
+        }
+        if (filter.activeOnly()) {
+            jpql.append(" AND p.isActive = true");
+        }
+        if (filter.minPrice() != null) {
+            jpql.append(" AND p.price >= :minPrice");
+            params.put("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            jpql.append(" AND p.price <= :maxPrice");
+            params.put("maxPrice", filter.maxPrice());
+        }
+
+        String direction = sort.descending() ? " DESC" : " ASC";
+        String comparison = sort.descending() ? " < " : " > ";
+        if (afterId != null) {
+            if (sort.keyPath() == null) {
+                jpql.append(" AND p.prd_id").append(comparison).append(":afterId");
+            } else {
+                jpql.append(" AND (").append(sort.keyPath()).append(comparison).append(":afterKey")
+                        .append(" OR (").append(sort.keyPath()).append(" = :afterKey AND p.prd_id")
+                        .append(comparison).append(":afterId))");
+                params.put("afterKey", afterKey);
+            }
+            params.put("afterId", afterId);
+        }
+
+        jpql.append(" ORDER BY ");
+        if (sort.keyPath() != null) {
+            jpql.append(sort.keyPath()).append(direction).append(", ");
+        }
+        jpql.append("p.prd_id").append(direction);
+
+        TypedQuery<ProductListingRow> query = entityManager.createQuery(jpql.toString(), ProductListingRow.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(fetchSize).getResultList();
+    }
+
+    @Override
+    public int bulkUpdate(Long restaurantId, Collection<Long> productIds, BulkChange change) {
+        // El UPDATE masivo no pasa por @UpdateTimestamp: la fecha de actualización se fija explícitamente
+        StringBuilder jpql = new StringBuilder("UPDATE Product p SET p.updatedAt = :updatedAt");
+        Map<String, Object> params = new HashMap<>();
+        params.put("updatedAt", change.updatedAt());
+
+        if (change.price() != null) {
+            jpql.append(", p.price = :price");
+            params.put("price", change.price());
+        } else if (change.priceFactor() != null) {
+            jpql.append(", p.price = ROUND(p.price * :priceFactor, 2)");
+            params.put("priceFactor", change.priceFactor());
+        }
+        if (change.quantity() != null) {
+            jpql.append(", p.quantity = :quantity");
+            params.put("quantity", change.quantity());
+        }
+        if (change.isActive() != null) {
+            jpql.append(", p.isActive = :isActive");
+            params.put("isActive", change.isActive());
+        }
+        jpql.append(" WHERE p.restaurant.id = :restaurantId AND p.prd_id IN :productIds");
+        params.put("restaurantId", restaurantId);
+        params.put("productIds", productIds);
+
+        Query query = entityManager.createQuery(jpql.toString());
+        params.forEach(query::setParameter);
+        int updated = query.executeUpdate();
+        // Las entidades ya cargadas en el contexto quedarían con los valores anteriores
+        entityManager.clear();
+        return updated;
+    }
+}
@@ -1,10 +1,23 @@
 package com.c24_39_t_webapp.restaurants.repository;
 
 import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface RestaurantCuisineRepository extends JpaRepository<RestaurantCuisine, Long> {
     // Aquí se pueden agregar métodos personalizados si es necesario
     // Por ejemplo, para buscar por nombre de cocina:
 //    RestaurantCuisine findByName(String name);
-}
\ No newline at end of file
+
+    // Sincronización incremental: modificadas después de la posición (fecha, ID) y hasta :upTo, por fecha e ID
+    @Query("SELECT rc FROM RestaurantCuisine rc " +
+            "WHERE (rc.updatedAt > :since OR (rc.updatedAt = :since AND rc.id > :sinceId)) AND rc.updatedAt <= :upTo " +
+            "ORDER BY rc.updatedAt, rc.id")
+    List<RestaurantCuisine> findChangedSince(@Param("since") LocalDateTime since, @Param("sinceId") Long sinceId,
+                                             @Param("upTo") LocalDateTime upTo, Pageable pageable);
+}
@@ -1,38 +1,120 @@
 package com.c24_39_t_webapp.restaurants.repository;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.OpeningIntervalRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantChangeRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ValueCountProjection;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.NonNull;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+public interface RestaurantRepository extends JpaRepository<Restaurant, Long>, RestaurantRepositoryCustom {
     Optional<Restaurant> findByIdAndUserEntityEmail(Long id, String email);
 
     // Este método ahora devuelve DIRECTAMENTE la lista de DTOs.
     @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto(" +
             "r.id, ue.id, r.name, r.description, r.phone, r.email, r.address, r.openingHours, r.logo, r.coverImage, " +
-            "rc.id, rc.name) " +
+            "rc.id, rc.name, r.latitude, r.longitude) " +
             "FROM Restaurant r JOIN r.userEntity ue JOIN r.cuisine rc "  +
-            "WHERE ue.id = :ownerUserId")
+            "WHERE ue.id = :ownerUserId AND r.isActive = true")
     List<RestaurantResponseDto> findRestaurantsByOwnerId(@Param("ownerUserId") Long ownerUserId);
 
+    // Todos los restaurantes como DTO, sin cargar las categorías ofrecidas (usado para construir índices en memoria)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto(" +
+            "r.id, ue.id, r.name, r.description, r.phone, r.email, r.address, r.openingHours, r.logo, r.coverImage, " +
+            "rc.id, rc.name, r.latitude, r.longitude) " +
+            "FROM Restaurant r JOIN r.userEntity ue LEFT JOIN r.cuisine rc WHERE r.isActive = true")
+    List<RestaurantResponseDto> findAllRestaurantDtos();
+
+    // Restaurantes concretos como DTO en una sola consulta IN (el orden no está garantizado)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto(" +
+            "r.id, ue.id, r.name, r.description, r.phone, r.email, r.address, r.openingHours, r.logo, r.coverImage, " +
+            "rc.id, rc.name, r.latitude, r.longitude) " +
+            "FROM Restaurant r JOIN r.userEntity ue LEFT JOIN r.cuisine rc " +
+            "WHERE r.id IN :ids AND r.isActive = true")
+    List<RestaurantResponseDto> findRestaurantDtosByIds(@Param("ids") Collection<Long> ids);
+
+    // Sincronización incremental: modificados después de la posición (fecha, ID) y hasta :upTo, por fecha e ID
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantChangeRow(" +
+            "r.id, ue.id, r.name, r.description, r.phone, r.email, r.address, r.openingHours, r.logo, r.coverImage, " +
+            "rc.id, rc.name, r.latitude, r.longitude, r.updatedAt) " +
+            "FROM Restaurant r JOIN r.userEntity ue LEFT JOIN r.cuisine rc " +
+            "WHERE (r.updatedAt > :since OR (r.updatedAt = :since AND r.id > :sinceId)) AND r.isActive = true " +
+            "AND r.updatedAt <= :upTo " +
+            "ORDER BY r.updatedAt, r.id")
+    List<RestaurantChangeRow> findChangedSince(@Param("since") LocalDateTime since, @Param("sinceId") Long sinceId,
+                                               @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    // Horarios estructurados de todos los restaurantes, sin cargar las entidades (índice de horarios)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.OpeningIntervalRow(" +
+            "r.id, s.dayOfWeek, s.opensAt, s.closesAt) " +
+            "FROM Restaurant r JOIN r.openingSchedule s WHERE r.isActive = true")
+    List<OpeningIntervalRow> findAllOpeningIntervals();
+
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.OpeningIntervalRow(" +
+            "r.id, s.dayOfWeek, s.opensAt, s.closesAt) " +
+            "FROM Restaurant r JOIN r.openingSchedule s WHERE r.id = :restaurantId")
+    List<OpeningIntervalRow> findOpeningIntervalsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query("SELECT r.id FROM Restaurant r")
+    List<Long> findAllIds();
+
+    // Comprobación de existencia sin cargar la entidad ni su grafo (un SELECT sobre la clave primaria)
+    boolean existsByIdAndIsActiveTrue(Long id);
+
+    // Email del dueño de un restaurante activo, para comprobar permisos sin cargar la entidad ni sus colecciones
+    @Query("SELECT ue.email FROM Restaurant r JOIN r.userEntity ue WHERE r.id = :id AND r.isActive = true")
+    Optional<String> findActiveOwnerEmailById(@Param("id") Long id);
+
     // Este devuelve solo los IDs de los restaurantes de un dueño
     @Query("SELECT r.id FROM Restaurant r WHERE r.userEntity.id = :ownerId")
     List<Long> findRestaurantIdsByOwnerId(@Param("ownerId") Long ownerId);
 
+    // Referencias a imágenes del almacén local (logo y portada), agrupadas por URL; las de restaurantes
+    // inactivos no cuentan, así que el barrido las borra si nadie más las usa
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ValueCountProjection(r.logo, COUNT(r)) " +
+            "FROM Restaurant r WHERE r.isActive = true AND r.logo LIKE CONCAT('%', :urlPrefix, '%') GROUP BY r.logo")
+    List<ValueCountProjection> countLogosByUrl(@Param("urlPrefix") String urlPrefix);
+
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ValueCountProjection(r.coverImage, COUNT(r)) " +
+            "FROM Restaurant r WHERE r.isActive = true AND r.coverImage LIKE CONCAT('%', :urlPrefix, '%') " +
+            "GROUP BY r.coverImage")
+    List<ValueCountProjection> countCoverImagesByUrl(@Param("urlPrefix") String urlPrefix);
+
+    // Restaurantes activos que usan una imagen como logo o portada, para volver a contarlos justo antes de borrarla
+    @Query("SELECT COUNT(r) FROM Restaurant r WHERE r.isActive = true " +
+            "AND (r.logo LIKE CONCAT('%', :imagePath, '%') OR r.coverImage LIKE CONCAT('%', :imagePath, '%'))")
+    long countImageReferences(@Param("imagePath") String imagePath);
+
     // El `findAll()` heredado de JpaRepository NO carga relaciones LAZY.
     // @EntityGraph llama a `restaurantRepository.findAll()`, y también carga User y Cuisine.
+    // No carga las categorías ofrecidas: el JOIN FETCH de una colección multiplica las filas por restaurante
+    // y el listado no las usa.
     @NonNull
     @Override
-    @EntityGraph(attributePaths = {"userEntity", "cuisine", "offeredCategories"})
+    @EntityGraph(attributePaths = {"userEntity", "cuisine"})
     List<Restaurant> findAll();
 
+    // Restaurantes activos, con las mismas relaciones que findAll()
+    @Query("SELECT r FROM Restaurant r WHERE r.isActive = true")
+    @EntityGraph(attributePaths = {"userEntity", "cuisine"})
+    List<Restaurant> findAllActive();
+
+    // Restaurantes dados de baja que aún tienen productos activos (desactivación interrumpida)
+    @Query("SELECT DISTINCT p.restaurant.id FROM Product p WHERE p.isActive = true AND p.restaurant.isActive = false")
+    List<Long> findInactiveIdsWithActiveProducts();
+
     // El `findById()` heredado de JpaRepository NO carga relaciones LAZY.
     // @EntityGraph , cuando se llama a `restaurantRepository.findById()`, también carga User y Cuisine.
     @Override
@@ -44,6 +126,46 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
      @Query("SELECT r FROM Restaurant r LEFT JOIN FETCH r.offeredCategories oc WHERE r.id = :id")
      Optional<Restaurant> findByIdFetchingCategories(@Param("id") Long id);
 
+    // Categorías ofrecidas como DTO, sin cargar el restaurante (el llamante ya comprobó que existe)
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto(c.id, c.name, c.description) " +
+            "FROM Restaurant r JOIN r.offeredCategories c WHERE r.id = :restaurantId ORDER BY c.name, c.id")
+    List<CategoryResponseDto> findOfferedCategoryDtos(@Param("restaurantId") Long restaurantId);
+
+    // Copia de la carta: asocia al destino las categorías del origen que aún no tiene, con un único INSERT ... SELECT
+    @Modifying
+    @Query(value = "INSERT INTO categorias_restaurante (restaurante_id, categoria_id) " +
+            "SELECT :targetId, src.categoria_id FROM categorias_restaurante src " +
+            "WHERE src.restaurante_id = :sourceId AND NOT EXISTS (SELECT 1 FROM categorias_restaurante dst " +
+            "WHERE dst.restaurante_id = :targetId AND dst.categoria_id = src.categoria_id)", nativeQuery = true)
+    int copyOfferedCategories(@Param("sourceId") Long sourceId, @Param("targetId") Long targetId);
+
+    // Categorías ofrecidas sin cargar la colección: INSERT/DELETE directos sobre la tabla de unión.
+    // Las asociaciones que ya existen y los IDs de categorías inexistentes se ignoran
+    @Modifying
+    @Query(value = "INSERT INTO categorias_restaurante (restaurante_id, categoria_id) " +
+            "SELECT :restaurantId, c.ctg_id FROM categorias c WHERE c.ctg_id IN :categoryIds " +
+            "AND NOT EXISTS (SELECT 1 FROM categorias_restaurante cr " +
+            "WHERE cr.restaurante_id = :restaurantId AND cr.categoria_id = c.ctg_id)", nativeQuery = true)
+    int addOfferedCategories(@Param("restaurantId") Long restaurantId,
+                             @Param("categoryIds") Collection<Long> categoryIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM categorias_restaurante " +
+            "WHERE restaurante_id = :restaurantId AND categoria_id IN :categoryIds", nativeQuery = true)
+    int removeOfferedCategories(@Param("restaurantId") Long restaurantId,
+                                @Param("categoryIds") Collection<Long> categoryIds);
+
+    // Sustitución: borra las asociaciones que no están en la lista (con lista vacía, usar removeAllOfferedCategories)
+    @Modifying
+    @Query(value = "DELETE FROM categorias_restaurante " +
+            "WHERE restaurante_id = :restaurantId AND categoria_id NOT IN :categoryIds", nativeQuery = true)
+    int removeOfferedCategoriesNotIn(@Param("restaurantId") Long restaurantId,
+                                     @Param("categoryIds") Collection<Long> categoryIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM categorias_restaurante WHERE restaurante_id = :restaurantId", nativeQuery = true)
+    int removeAllOfferedCategories(@Param("restaurantId") Long restaurantId);
+
     //Estos dan problemas de rendimiento, necesitan que el Dto haga una llamada a la base de datos.
     //List<Restaurant> findByUserEntityId(Long ownerId);
     //@Query("SELECT r FROM Restaurant r JOIN FETCH r.userEntity WHERE r.userEntity.id = :ownerId")
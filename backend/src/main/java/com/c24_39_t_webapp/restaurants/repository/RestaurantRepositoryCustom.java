@@ -0,0 +1,25 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantDirectoryRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantSort;
+
+import java.util.List;
+
+/**
+ * Consultas de restaurantes cuyo JPQL depende de los filtros recibidos (implementadas en RestaurantRepositoryImpl).
+ */
+public interface RestaurantRepositoryCustom {
+
+    /**
+     * Página del directorio de restaurantes paginado por clave, proyectada directamente a DTO
+     * junto con las estadísticas precalculadas.
+     *
+     * @param cuisineId tipo de cocina (null no filtra)
+     * @param sort      orden del directorio
+     * @param afterKey  clave de orden de la última fila de la página anterior (null en la primera página)
+     * @param afterId   ID de la última fila de la página anterior (null en la primera página)
+     * @param fetchSize número máximo de filas a leer
+     */
+    List<RestaurantDirectoryRow> findDirectoryPage(Long cuisineId, RestaurantSort sort,
+                                                   Object afterKey, Long afterId, int fetchSize);
+}
@@ -0,0 +1,58 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantDirectoryRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link RestaurantRepositoryCustom}.
+ * <p>
+ * El directorio es una única consulta: restaurante, tipo de cocina y estadísticas precalculadas
+ * (LEFT JOIN, por si aún no existen), sin cargar colecciones. Se pagina por clave como el listado de productos.
+ */
+public class RestaurantRepositoryImpl implements RestaurantRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RestaurantDirectoryRow> findDirectoryPage(Long cuisineId, RestaurantSort sort,
+                                                          Object afterKey, Long afterId, int fetchSize) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantDirectoryRow(" +
+                "r.id, r.name, r.description, r.address, r.logo, r.coverImage, rc.id, rc.name, " +
+                "s.averageScore, s.bayesianScore, COALESCE(s.reviewCount, 0L), s.minPrice, s.averagePrice, r.createdAt) " +
+                "FROM Restaurant r JOIN r.cuisine rc " +
+                "LEFT JOIN RestaurantStats s ON s.restaurantId = r.id WHERE r.isActive = true");
+        Map<String, Object> params = new HashMap<>();
+
+        if (cuisineId != null) {
+            jpql.append(" AND rc.id = :cuisineId");
+            params.put("cuisineId", cuisineId);
+        }
+
+        String direction = sort.descending() ? " DESC" : " ASC";
+        String comparison = sort.descending() ? " < " : " > ";
+        if (afterId != null) {
+            jpql.append(" AND (").append(sort.keyPath()).append(comparison).append(":afterKey")
+                    .append(" OR (").append(sort.keyPath()).append(" = :afterKey AND r.id")
+                    .append(comparison).append(":afterId))");
+            params.put("afterKey", afterKey);
+            params.put("afterId", afterId);
+        }
+
+        jpql.append(" ORDER BY ").append(sort.keyPath()).append(direction)
+                .append(", r.id").append(direction);
+
+        TypedQuery<RestaurantDirectoryRow> query =
+                entityManager.createQuery(jpql.toString(), RestaurantDirectoryRow.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(fetchSize).getResultList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.PriceAggregateRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ScoreCountRow;
+import com.c24_39_t_webapp.restaurants.models.RestaurantStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RestaurantStatsRepository extends JpaRepository<RestaurantStats, Long> {
+
+    // Bloquea la fila para que dos transacciones que recalculan el mismo restaurante no se pisen
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RestaurantStats s WHERE s.restaurantId = :restaurantId")
+    Optional<RestaurantStats> findByIdForUpdate(@Param("restaurantId") Long restaurantId);
+
+    // Histograma de puntuaciones: una fila por puntuación con reseñas
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ScoreCountRow(" +
+            "r.restaurant.id, r.score, COUNT(r)) " +
+            "FROM Review r WHERE r.restaurant.id = :restaurantId GROUP BY r.restaurant.id, r.score")
+    List<ScoreCountRow> countScores(@Param("restaurantId") Long restaurantId);
+
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ScoreCountRow(" +
+            "r.restaurant.id, r.score, COUNT(r)) " +
+            "FROM Review r GROUP BY r.restaurant.id, r.score")
+    List<ScoreCountRow> countAllScores();
+
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.PriceAggregateRow(" +
+            "p.restaurant.id, COUNT(p), MIN(p.price), SUM(p.price)) " +
+            "FROM Product p WHERE p.restaurant.id = :restaurantId AND p.isActive = true GROUP BY p.restaurant.id")
+    Optional<PriceAggregateRow> aggregatePrices(@Param("restaurantId") Long restaurantId);
+
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.PriceAggregateRow(" +
+            "p.restaurant.id, COUNT(p), MIN(p.price), SUM(p.price)) " +
+            "FROM Product p WHERE p.isActive = true GROUP BY p.restaurant.id")
+    List<PriceAggregateRow> aggregateAllPrices();
+}
@@ -1,14 +1,20 @@
 package com.c24_39_t_webapp.restaurants.repository;
 
-import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
 import com.c24_39_t_webapp.restaurants.models.Review;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface ReviewRepository extends JpaRepository<Review, Long> {
-    //Carga la entidad Restaurant y UserEntity asociadas a la reseña para evitar N+1 y evitar problemas de rendimiento
-    @EntityGraph(attributePaths = {"restaurant", "user"})
-    List<Review> findByRestaurant(Restaurant restaurant);
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewRepositoryCustom {
+
+    // Últimas reseñas de un restaurante como DTO, sin cargar el restaurante
+    @Query("SELECT new com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto(" +
+            "r.restaurant.id, u.id, u.name, r.score, r.comments, r.createdAt) " +
+            "FROM Review r JOIN r.user u WHERE r.restaurant.id = :restaurantId " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponseDto> findLatestByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
 }
@@ -0,0 +1,24 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ReviewListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewSort;
+
+import java.util.List;
+
+/**
+ * Consultas de reseñas cuyo JPQL depende del orden recibido (implementadas en ReviewRepositoryImpl).
+ */
+public interface ReviewRepositoryCustom {
+
+    /**
+     * Página de reseñas de un restaurante paginada por clave, proyectada directamente a DTO.
+     *
+     * @param restaurantId restaurante reseñado
+     * @param sort         orden del listado
+     * @param afterKey     clave de orden de la última fila de la página anterior (null en la primera página)
+     * @param afterId      ID de la última fila de la página anterior (null en la primera página)
+     * @param fetchSize    número máximo de filas a leer
+     */
+    List<ReviewListingRow> findRestaurantReviewPage(Long restaurantId, ReviewSort sort,
+                                                    Object afterKey, Long afterId, int fetchSize);
+}
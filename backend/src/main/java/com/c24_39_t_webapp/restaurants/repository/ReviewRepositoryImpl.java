@@ -0,0 +1,48 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ReviewListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+/**
+ * Implementación de {@link ReviewRepositoryCustom}.
+ * <p>
+ * El listado lee solo la tabla de reseñas: los IDs de restaurante y autor son las claves foráneas y el nombre
+ * del autor está desnormalizado, así que no hay JOIN. Cada orden tiene su índice (restaurante, clave, ID).
+ */
+public class ReviewRepositoryImpl implements ReviewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReviewListingRow> findRestaurantReviewPage(Long restaurantId, ReviewSort sort,
+                                                           Object afterKey, Long afterId, int fetchSize) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.c24_39_t_webapp.restaurants.dtos.projection.ReviewListingRow(" +
+                "r.id, r.restaurant.id, r.user.id, r.userName, r.score, r.comments, r.createdAt) " +
+                "FROM Review r WHERE r.restaurant.id = :restaurantId");
+
+        String direction = sort.descending() ? " DESC" : " ASC";
+        String comparison = sort.descending() ? " < " : " > ";
+        if (afterId != null) {
+            jpql.append(" AND (").append(sort.keyPath()).append(comparison).append(":afterKey")
+                    .append(" OR (").append(sort.keyPath()).append(" = :afterKey AND r.id")
+                    .append(comparison).append(":afterId))");
+        }
+
+        jpql.append(" ORDER BY ").append(sort.keyPath()).append(direction)
+                .append(", r.id").append(direction);
+
+        TypedQuery<ReviewListingRow> query = entityManager.createQuery(jpql.toString(), ReviewListingRow.class)
+                .setParameter("restaurantId", restaurantId);
+        if (afterId != null) {
+            query.setParameter("afterKey", afterKey).setParameter("afterId", afterId);
+        }
+        return query.setMaxResults(fetchSize).getResultList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.c24_39_t_webapp.restaurants.repository;
+
+import com.c24_39_t_webapp.restaurants.models.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // Sincronización incremental: bajas posteriores a la posición (fecha, ID) y hasta :upTo, por fecha e ID
+    @Query("SELECT t FROM Tombstone t " +
+            "WHERE (t.deletedAt > :since OR (t.deletedAt = :since AND t.id > :sinceId)) AND t.deletedAt <= :upTo " +
+            "ORDER BY t.deletedAt, t.id")
+    List<Tombstone> findDeletedSince(@Param("since") LocalDateTime since, @Param("sinceId") Long sinceId,
+                                     @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
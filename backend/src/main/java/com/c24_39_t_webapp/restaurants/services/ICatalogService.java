@@ -0,0 +1,32 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom.ListingFilter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lecturas del catálogo servidas desde memoria. Devuelven Optional.empty() mientras la instantánea
+ * no está cargada; en ese caso el llamante consulta la base de datos.
+ */
+public interface ICatalogService {
+    Optional<List<ProductListingRow>> findListingPage(ListingFilter filter, ProductSort sort,
+                                                      Object afterKey, Long afterId, int fetchSize);
+
+    Optional<List<ProductListingRow>> findProductsByIds(Collection<Long> productIds);
+
+    /**
+     * Productos cuyo nombre contiene el texto, sin distinguir mayúsculas ni acentos.
+     *
+     * @param normalizedQuery texto ya normalizado con TextNormalizer
+     */
+    Optional<List<ProductListingRow>> findProductsByName(String normalizedQuery);
+
+    Optional<List<RestaurantResponseDto>> findAllRestaurants();
+
+    void rebuildSnapshot();
+}
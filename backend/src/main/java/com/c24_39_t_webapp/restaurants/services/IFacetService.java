@@ -0,0 +1,20 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.FacetedSearchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.index.ProductFacet;
+import com.c24_39_t_webapp.restaurants.index.RestaurantFacet;
+
+import java.util.List;
+import java.util.Map;
+
+public interface IFacetService {
+    FacetedSearchResponseDto<ProductResponseDto> searchProducts(Map<ProductFacet, List<String>> filters,
+                                                                Integer offset, Integer limit);
+
+    FacetedSearchResponseDto<RestaurantResponseDto> searchRestaurants(Map<RestaurantFacet, List<String>> filters,
+                                                                      Integer offset, Integer limit);
+
+    void rebuildIndex();
+}
@@ -0,0 +1,21 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.NearbyRestaurantResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IGeoSearchService {
+    /**
+     * @param radiusKm  radio de búsqueda; si es null se devuelven los más cercanos hasta el radio máximo
+     * @param cuisineId tipo de cocina; null para no filtrar
+     * @param openNow   solo los abiertos ahora
+     * @param openAt    solo los abiertos en esa fecha y hora local; tiene prioridad sobre {@code openNow}
+     * @return restaurantes ordenados por distancia
+     */
+    List<NearbyRestaurantResponseDto> findNearby(Double latitude, Double longitude, Double radiusKm,
+                                                 Integer limit, Long cuisineId, Boolean openNow,
+                                                 LocalDateTime openAt);
+
+    void rebuildIndex();
+}
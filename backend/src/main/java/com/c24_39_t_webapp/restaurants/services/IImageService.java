@@ -0,0 +1,14 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ImageUploadResponseDto;
+import com.c24_39_t_webapp.restaurants.storage.ImageStore;
+
+import java.util.Optional;
+
+public interface IImageService {
+    ImageUploadResponseDto upload(byte[] content);
+
+    Optional<ImageStore.StoredFile> findFile(String hash, String fileName);
+
+    int sweepUnreferenced();
+}
@@ -0,0 +1,13 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.cache.CachedMenu;
+
+import java.util.Optional;
+
+public interface IMenuCacheService {
+    CachedMenu getMenu(Long restaurantId);
+
+    Optional<CachedMenu> getIfCached(Long restaurantId);
+
+    void invalidate(Long restaurantId);
+}
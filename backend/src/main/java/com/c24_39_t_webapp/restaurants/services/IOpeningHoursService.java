@@ -0,0 +1,24 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongPredicate;
+
+public interface IOpeningHoursService {
+    /**
+     * @param openNow solo los abiertos ahora (en la zona horaria configurada)
+     * @param openAt  solo los abiertos en esa fecha y hora local; tiene prioridad sobre {@code openNow}
+     * @return filtro por ID de restaurante, o vacío si no se pide filtrar por horario
+     */
+    Optional<LongPredicate> openFilter(Boolean openNow, LocalDateTime openAt);
+
+    /**
+     * @return horario semanal del restaurante, ordenado por día y hora de apertura
+     */
+    List<OpeningIntervalDto> getSchedule(Long restaurantId);
+
+    void rebuildIndex();
+}
@@ -0,0 +1,10 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.ImportMode;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductImportResultDto;
+
+import java.io.InputStream;
+
+public interface IProductImportService {
+    ProductImportResultDto importProducts(Long restaurantId, InputStream input, boolean csv, ImportMode mode);
+}
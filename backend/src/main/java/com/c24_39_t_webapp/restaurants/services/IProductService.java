@@ -1,8 +1,15 @@
 package com.c24_39_t_webapp.restaurants.services;
 
+import com.c24_39_t_webapp.restaurants.dtos.request.MenuCloneRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductBulkUpdateRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductListingRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.GroupedProductsResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.MenuCloneResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductBulkUpdateResultDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
 
@@ -10,18 +17,24 @@ import java.util.List;
 
 public interface IProductService {
     ProductResponseDto addProduct(ProductRequestDto productRequestDto);
-    List<ProductResponseDto> findAllProducts();
+    KeysetPageDto<ProductResponseDto> findProducts(ProductListingRequestDto listing);
 
     ProductResponseDto findProductById(Long prd_id);
 
+    BatchResponseDto<ProductResponseDto> findProductsByIds(List<Long> ids);
+
     ProductResponseDto updateProduct(Long productId, ProductUpdateDto updateDto);
 
+    ProductBulkUpdateResultDto bulkUpdateProducts(Long restaurantId, ProductBulkUpdateRequestDto bulkUpdate);
+
+    MenuCloneResultDto cloneMenu(Long targetRestaurantId, MenuCloneRequestDto cloneRequest);
+
     void deleteProduct(Long prd_id);
 
 //    List<ProductSummaryResponseDto> findProductsByCategory(Long categoryId);
-    List<ProductSummaryResponseDto> findProductsByCategoryId(Long categoryId);
+    KeysetPageDto<ProductSummaryResponseDto> findProductsByCategoryId(Long categoryId, ProductListingRequestDto listing);
     List<ProductSummaryResponseDto> findProductsByName(String name);
 
-    List<ProductResponseDto> findProductsByRestaurantId(Long restaurantId);
+    KeysetPageDto<ProductResponseDto> findProductsByRestaurantId(Long restaurantId, ProductListingRequestDto listing);
     List<GroupedProductsResponseDto> findProductsByRestaurantIdAndCategory(Long restaurantId);
 }
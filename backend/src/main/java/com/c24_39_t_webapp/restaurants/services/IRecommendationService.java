@@ -0,0 +1,11 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+
+import java.util.List;
+
+public interface IRecommendationService {
+    List<ProductResponseDto> findFrequentlyOrderedTogether(Long productId, Integer limit);
+
+    void rebuildModel();
+}
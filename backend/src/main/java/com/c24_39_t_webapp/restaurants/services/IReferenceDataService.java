@@ -0,0 +1,24 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
+
+import java.util.Optional;
+
+public interface IReferenceDataService {
+    /**
+     * @return instantánea actual de categorías y tipos de cocina; no consulta la base de datos
+     */
+    ReferenceDataSnapshot snapshot();
+
+    /**
+     * Busca en la instantánea. Si no está pero existe en la base de datos (alta hecha fuera de la aplicación),
+     * recarga la instantánea antes de responder.
+     */
+    Optional<CategoryResponseDto> findCategory(Long id);
+
+    Optional<CuisineResponseDto> findCuisine(Long id);
+
+    void refresh();
+}
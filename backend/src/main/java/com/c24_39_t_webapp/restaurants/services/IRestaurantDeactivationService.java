@@ -0,0 +1,15 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+public interface IRestaurantDeactivationService {
+    /**
+     * Desactiva por tramos los productos de un restaurante dado de baja y borra las imágenes que quedan sin uso.
+     *
+     * @return número de productos desactivados
+     */
+    int deactivateContent(Long restaurantId);
+
+    /**
+     * Reanuda las desactivaciones que quedaron a medias (por ejemplo, por un reinicio).
+     */
+    void resumePending();
+}
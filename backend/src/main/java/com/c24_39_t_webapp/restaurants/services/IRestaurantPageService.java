@@ -0,0 +1,11 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantPageResponseDto;
+
+public interface IRestaurantPageService {
+    /**
+     * Datos del restaurante, carta, categorías y resumen de reseñas en una sola llamada. Si el restaurante no
+     * existe lanza RestaurantNotFoundException; si falla otra sección, la página se devuelve sin ella.
+     */
+    RestaurantPageResponseDto getPage(Long restaurantId);
+}
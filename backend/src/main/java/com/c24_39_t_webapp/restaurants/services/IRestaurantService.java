@@ -1,10 +1,18 @@
 package com.c24_39_t_webapp.restaurants.services;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesReplaceDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantDirectoryRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.OfferedCategoriesResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantCardResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -12,12 +20,17 @@ public interface IRestaurantService {
     RestaurantResponseDto registerRestaurant(RestaurantRequestDto requestDto, String username);
     RestaurantResponseDto updateRestaurant(RestaurantRequestDto requestDto, Long rst_id);
     List<RestaurantResponseDto> findAll();
+    List<RestaurantResponseDto> findAll(Boolean openNow, LocalDateTime openAt);
+    KeysetPageDto<RestaurantCardResponseDto> findDirectory(RestaurantDirectoryRequestDto directory);
     RestaurantResponseDto findById(Long id);
+    BatchResponseDto<RestaurantResponseDto> findByIds(List<Long> ids);
 //    Restaurant findRestaurantEntityById(Long id);
 //    List<RestaurantResponseDto> findRestaurantEntityByOwnerId(Long ownerId);
     List<RestaurantResponseDto> findRestaurantsByOwnerId(Long ownerId);
     void deleteById(Long id);
     Set<CategoryResponseDto> findByIdFetchingCategories(Long restaurantId);
     CategoryResponseDto addCategoryToRestaurant(Long restaurantId, CategoryRequestDto categoryRequestDto);
+    OfferedCategoriesResultDto updateOfferedCategories(Long restaurantId, OfferedCategoriesUpdateDto update);
+    OfferedCategoriesResultDto replaceOfferedCategories(Long restaurantId, OfferedCategoriesReplaceDto replace);
 
 }
@@ -0,0 +1,14 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+public interface IRestaurantStatsService {
+    /**
+     * Recalcula los agregados de un restaurante (reseñas y precios) dentro de la transacción actual.
+     */
+    void refresh(Long restaurantId);
+
+    /**
+     * Recalcula los agregados de todos los restaurantes y la media global de las reseñas, y elimina los de
+     * restaurantes que ya no existen. Corrige cualquier descuadre de los incrementos por reseña.
+     */
+    void rebuildAll();
+}
@@ -1,19 +1,39 @@
 package com.c24_39_t_webapp.restaurants.services;
 
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewListingRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ReviewRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.UpdateReviewDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RatingSummaryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
-
-import java.util.List;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewSummaryResponseDto;
 
 public interface IReviewService {
 
     ReviewResponseDto addReview(ReviewRequestDto reviewDto, Long reviewId);
 
-    List<ReviewResponseDto> getAllRestaurantReviews(Long restaurantId);
+    /**
+     * Página de reseñas de un restaurante activo, paginada por clave y leída solo de la tabla de reseñas.
+     *
+     * @param listing orden (newest, score-desc, score-asc), cursor y tamaño de página
+     */
+    KeysetPageDto<ReviewResponseDto> findRestaurantReviews(Long restaurantId, ReviewListingRequestDto listing);
 
     ReviewResponseDto getReviewById(Long id);
 
+    /**
+     * Número y media de reseñas (agregados precalculados) y las últimas reseñas. No comprueba que el
+     * restaurante exista: lo usa quien ya lo ha leído.
+     *
+     * @param latest número de reseñas recientes a incluir
+     */
+    ReviewSummaryResponseDto getReviewSummary(Long restaurantId, int latest);
+
+    /**
+     * Recuento, media, media bayesiana e histograma de puntuaciones de un restaurante activo, sin leer sus reseñas.
+     */
+    RatingSummaryResponseDto getRatingSummary(Long restaurantId);
+
     ReviewResponseDto updateReview(UpdateReviewDto updateReviewDto, Long reviewId, Long userId);
 
     void deleteReview(Long reviewId, Long userId);
@@ -0,0 +1,22 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SearchCacheStatsResponseDto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caché de resultados de la búsqueda de productos por nombre, por consulta normalizada.
+ */
+public interface ISearchCacheService {
+    /**
+     * @return los productos cuyo nombre contiene el texto (sin distinguir mayúsculas ni acentos), o
+     * Optional.empty() si el catálogo en memoria no está cargado y hay que consultar la base de datos
+     */
+    Optional<List<ProductSummaryResponseDto>> findProductsByName(String name);
+
+    SearchCacheStatsResponseDto getStats();
+
+    void rewarmPopularQueries();
+}
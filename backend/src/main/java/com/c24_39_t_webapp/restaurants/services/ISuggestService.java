@@ -0,0 +1,11 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.SuggestionResponseDto;
+
+import java.util.List;
+
+public interface ISuggestService {
+    List<SuggestionResponseDto> suggest(String query, Integer limit);
+
+    void rebuildIndex();
+}
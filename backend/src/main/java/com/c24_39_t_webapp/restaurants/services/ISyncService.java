@@ -0,0 +1,16 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.CatalogChangesResponseDto;
+
+/**
+ * Sincronización incremental del catálogo: altas, modificaciones y bajas posteriores a una marca de agua.
+ */
+public interface ISyncService {
+    /**
+     * @param since marca de agua de la respuesta anterior; null para la carga inicial
+     * @param limit filas máximas por tipo de entidad
+     */
+    CatalogChangesResponseDto getChanges(String since, Integer limit);
+
+    int purgeExpiredTombstones();
+}
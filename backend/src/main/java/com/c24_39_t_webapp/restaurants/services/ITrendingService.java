@@ -0,0 +1,17 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.TrendingRestaurantResponseDto;
+
+import java.util.List;
+
+public interface ITrendingService {
+    /**
+     * @param window ventana ({@code hour} o {@code day}); null para la última hora
+     * @return restaurantes con más pedidos en la ventana, de más a menos, según el último ranking calculado
+     */
+    List<TrendingRestaurantResponseDto> findTrending(String window, Integer limit);
+
+    void refreshRankings();
+
+    void saveSnapshot();
+}
@@ -0,0 +1,25 @@
+package com.c24_39_t_webapp.restaurants.services;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.CustomerCountResponseDto;
+
+import java.util.function.LongPredicate;
+
+public interface IVerifiedPurchaseService {
+    /**
+     * @return true si el cliente tiene algún pedido entregado en el restaurante
+     */
+    boolean isVerifiedCustomer(Long restaurantId, Long clientId);
+
+    /**
+     * @return filtro por ID de cliente con los clientes verificados del restaurante en este momento,
+     * para marcar una página de reseñas sin consultar los pedidos por cada una
+     */
+    LongPredicate verifiedCustomers(Long restaurantId);
+
+    /**
+     * @return número exacto de clientes distintos con algún pedido entregado; solo para el propietario
+     */
+    CustomerCountResponseDto countUniqueCustomers(Long restaurantId);
+
+    void rebuildIndex();
+}
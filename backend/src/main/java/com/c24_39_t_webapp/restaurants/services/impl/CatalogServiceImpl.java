@@ -0,0 +1,214 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.index.CatalogSnapshot;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom.ListingFilter;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Catálogo en memoria para los listados de productos y restaurantes.
+ * <p>
+ * - La instantánea ({@link CatalogSnapshot}) se construye al arrancar y se reconstruye periódicamente
+ * (propiedad app.catalog.rebuild-interval) para compactar su diccionario de cadenas.
+ * - Las lecturas no toman ningún lock: leen la referencia volátil a la instantánea publicada.
+ * - Tras el commit de cada cambio se genera una instantánea nueva (copy-on-write) y se publica de forma
+ * atómica. Los productos modificados se releen con una sola consulta IN, porque los eventos no incluyen
+ * la fecha de alta, que forma parte del orden "newest".
+ * - Si un cambio no se puede aplicar se descarta la instantánea y se vuelve a la base de datos hasta la
+ * siguiente reconstrucción.
+ * - Sus listeners se ejecutan antes que los del resto de cachés, que pueden releer el catálogo al invalidar.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogServiceImpl implements ICatalogService {
+
+    private final ProductRepository productRepository;
+    private final RestaurantRepository restaurantRepository;
+
+    private volatile CatalogSnapshot snapshot;
+    // Serializa los cambios entre sí y con la publicación de una reconstrucción
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Cambios recibidos mientras se construye una instantánea nueva; se reaplican antes de publicarla
+    private List<UnaryOperator<CatalogSnapshot>> pendingDuringRebuild;
+
+    @Override
+    public Optional<List<ProductListingRow>> findListingPage(ListingFilter filter, ProductSort sort,
+                                                             Object afterKey, Long afterId, int fetchSize) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) return Optional.empty();
+        return Optional.of(current.findListingPage(filter, sort, afterKey, afterId, fetchSize));
+    }
+
+    @Override
+    public Optional<List<ProductListingRow>> findProductsByIds(Collection<Long> productIds) {
+        CatalogSnapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.of(current.findByIds(productIds));
+    }
+
+    @Override
+    public Optional<List<ProductListingRow>> findProductsByName(String normalizedQuery) {
+        CatalogSnapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.of(current.findByNameContaining(normalizedQuery));
+    }
+
+    @Override
+    public Optional<List<RestaurantResponseDto>> findAllRestaurants() {
+        CatalogSnapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.of(current.restaurants());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildSnapshot();
+    }
+
+    @Scheduled(initialDelayString = "${app.catalog.rebuild-interval:PT30M}",
+            fixedDelayString = "${app.catalog.rebuild-interval:PT30M}")
+    public void scheduledRebuild() {
+        rebuildSnapshot();
+    }
+
+    @Override
+    public void rebuildSnapshot() {
+        writeLock.lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                log.info("Ya hay una reconstrucción del catálogo en memoria en curso.");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        CatalogSnapshot rebuilt = null;
+        try {
+            long start = System.nanoTime();
+            rebuilt = CatalogSnapshot.build(productRepository.findAllListingRows(),
+                    restaurantRepository.findAllRestaurantDtos());
+            log.info("Catálogo en memoria construido con {} productos y {} restaurantes ({} KB) en {} ms",
+                    rebuilt.size(), rebuilt.restaurants().size(), rebuilt.estimatedBytes() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error construyendo el catálogo en memoria, se mantiene el anterior", e);
+        } finally {
+            writeLock.lock();
+            try {
+                if (rebuilt != null) {
+                    for (UnaryOperator<CatalogSnapshot> change : pendingDuringRebuild) {
+                        rebuilt = change.apply(rebuilt);
+                    }
+                    snapshot = rebuilt;
+                }
+            } catch (RuntimeException e) {
+                log.error("Error reaplicando cambios sobre el catálogo reconstruido, se mantiene el anterior", e);
+            } finally {
+                pendingDuringRebuild = null;
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) {
+            applyChange(current -> current.withProducts(List.of(), List.of(event.productId())));
+            return;
+        }
+        refreshProducts(List.of(event.productId()));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        refreshProducts(event.products().stream().map(ProductResponseDto::prd_id).toList());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) {
+            applyChange(current -> current.withoutRestaurant(event.restaurantId()));
+            return;
+        }
+        RestaurantResponseDto restaurant = event.restaurant();
+        applyChange(current -> current.withRestaurant(restaurant));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) return;
+        applyChange(current -> current.withCategoryName(event.categoryId(), event.name()));
+    }
+
+    private void refreshProducts(List<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        writeLock.lock();
+        try {
+            // Sin instantánea ni reconstrucción en curso no hay nada que parchear
+            if (snapshot == null && pendingDuringRebuild == null) return;
+            List<ProductListingRow> rows = productRepository.findListingRowsByIds(productIds);
+            Set<Long> missing = new HashSet<>(productIds);
+            rows.forEach(row -> missing.remove(row.prd_id()));
+            applyLocked(current -> current.withProducts(rows, missing));
+        } catch (RuntimeException e) {
+            discard(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyChange(UnaryOperator<CatalogSnapshot> change) {
+        writeLock.lock();
+        try {
+            applyLocked(change);
+        } catch (RuntimeException e) {
+            discard(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void applyLocked(UnaryOperator<CatalogSnapshot> change) {
+        if (snapshot != null) snapshot = change.apply(snapshot);
+        if (pendingDuringRebuild != null) pendingDuringRebuild.add(change);
+    }
+
+    private void discard(RuntimeException e) {
+        log.error("Error aplicando un cambio al catálogo en memoria; se sirve desde la base de datos " +
+                "hasta la próxima reconstrucción", e);
+        snapshot = null;
+    }
+}
@@ -2,33 +2,62 @@ package com.c24_39_t_webapp.restaurants.services.impl;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.index.StripedNameIndex;
 import com.c24_39_t_webapp.restaurants.models.Category;
-import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
 import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
+import com.c24_39_t_webapp.restaurants.utils.TextNormalizer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.Collections;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class CategoryServiceImpl implements ICategoryService {
 
+    private static final int NAME_INDEX_STRIPES = 16;
+
+    private static final String INSERT_SQL = "INSERT INTO categorias (ctg_nombre, ctg_nombre_normalizado, " +
+            "ctg_descripcion, ctg_fecha_alta, ctg_fecha_actualizacion) VALUES (?, ?, ?, ?, ?)";
+
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     private final RestaurantRepository restaurantRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IReferenceDataService referenceDataService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Nombre normalizado → ID de las categorías ya resueltas. Solo es una caché: cada acierto se comprueba contra
+     * la instantánea de datos de referencia, y la unicidad la garantiza la restricción de la base de datos.
+     */
+    private final StripedNameIndex nameIndex = new StripedNameIndex(NAME_INDEX_STRIPES);
 
     //SE CREAN ASOCIADAS A UN RESTAURANTE
 //    @Override
@@ -54,55 +83,118 @@ public class CategoryServiceImpl implements ICategoryService {
 //        log.info("Categoria agregada exitosamente: {}", categoryResponseDto);
 //        return categoryResponseDto;
 //    }
+    /**
+     * Busca la categoría por nombre normalizado (sin mayúsculas, tildes ni espacios de más) o la crea.
+     * <p>
+     * - Las búsquedas repetidas se resuelven con {@link #nameIndex} y la instantánea de datos de referencia, sin
+     * consultar la base de datos.
+     * - El alta no lee y luego escribe: inserta directamente y, si la restricción única salta porque otra transacción
+     * ganó la carrera, vuelve a un savepoint y devuelve la categoría de la otra.
+     */
     @Override
-     @Transactional
+    @Transactional
     public Category findOrCreateCategory(CategoryRequestDto categoryInput) {
+        String key = TextNormalizer.normalize(categoryInput.name());
         log.info("Buscando o creando categoría global con nombre: {}", categoryInput.name());
-        // Usa orElseGet para buscar y si no, ejecutar la lambda para crear
-        return categoryRepository.findByName(categoryInput.name())
-                .orElseGet(() -> {
-                    log.info("Categoría '{}' no encontrada globalmente, creando nueva...", categoryInput.name());
-                    Category newCategory = new Category();
-                    newCategory.setName(categoryInput.name());
-                    newCategory.setDescription(categoryInput.description());
-                    Category savedCategory = categoryRepository.save(newCategory);
-                    log.info("Nueva categoría global creada con ID: {}", savedCategory.getId());
-                    return savedCategory;
-                });
+
+        Long cachedId = nameIndex.get(key);
+        if (cachedId != null) {
+            Optional<CategoryResponseDto> cached = referenceDataService.snapshot().category(cachedId);
+            if (cached.isPresent()) {
+                return toCategory(cached.get());
+            }
+            nameIndex.remove(key, cachedId);
+        }
+
+        Optional<Category> existing = categoryRepository.findByNormalizedName(key);
+        if (existing.isPresent()) {
+            nameIndex.put(key, existing.get().getId());
+            return existing.get();
+        }
+
+        log.info("Categoría '{}' no encontrada globalmente, creando nueva...", categoryInput.name());
+        Long newId = insertIfAbsent(categoryInput, key);
+        if (newId == null) {
+            Category winner = categoryRepository.findByNormalizedName(key)
+                    .orElseThrow(() -> new IllegalStateException("La categoría '" + key + "' chocó con la restricción " +
+                            "única pero no se encuentra"));
+            log.info("Categoría '{}' creada a la vez por otra transacción; se usa la ID {}", key, winner.getId());
+            nameIndex.put(key, winner.getId());
+            return winner;
+        }
+        log.info("Nueva categoría global creada con ID: {}", newId);
+        // El índice se actualiza tras el commit (onCategoryChanged): si esta transacción se revierte, la ID no existe
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(newId, categoryInput.name()));
+        return toCategory(new CategoryResponseDto(newId, categoryInput.name(), categoryInput.description()));
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<CategoryResponseDto> findAllCategories() {
+    /**
+     * Mantiene el índice de nombres tras el commit de un alta o baja de categoría.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) {
+            nameIndex.removeId(event.categoryId());
+        } else if (event.name() != null) {
+            nameIndex.put(TextNormalizer.normalize(event.name()), event.categoryId());
+        }
+    }
 
-        List<Category> categories = categoryRepository.findAll();
+    /**
+     * INSERT bajo un savepoint de la conexión de la transacción actual. Si viola la restricción única se vuelve al
+     * savepoint (en Postgres la transacción queda abortada tras un error si no) y se devuelve null.
+     *
+     * @return ID de la categoría creada, o null si otra transacción ya la había creado
+     */
+    private Long insertIfAbsent(CategoryRequestDto categoryInput, String key) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[]{"ctg_id"})) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                statement.setString(1, categoryInput.name());
+                statement.setString(2, key);
+                statement.setString(3, categoryInput.description());
+                statement.setTimestamp(4, now);
+                statement.setTimestamp(5, now);
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                    Long id = keys.getLong(1);
+                    connection.releaseSavepoint(savepoint);
+                    return id;
+                }
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (jdbcTemplate.getExceptionTranslator().translate("insertIfAbsent", INSERT_SQL, e)
+                        instanceof DuplicateKeyException) {
+                    return null;
+                }
+                throw e;
+            }
+        });
+    }
 
-        if (categories.isEmpty()) return Collections.emptyList();
+    private static Category toCategory(CategoryResponseDto dto) {
+        Category category = new Category();
+        category.setId(dto.ctg_id());
+        category.setName(dto.name());
+        category.setDescription(dto.description());
+        return category;
+    }
 
-        return categories.stream()
-                .map(category -> new CategoryResponseDto(
-                        category.getId(),
-                        category.getName(),
-                        category.getDescription()
-                ))
-                .collect(Collectors.toList());
+    @Override
+    public List<CategoryResponseDto> findAllCategories() {
+        return referenceDataService.snapshot().categories();
     }
 
     @Override
-@Transactional(readOnly = true)
     public CategoryResponseDto findCategoryById(Long ctg_id) {
         log.info("Buscando categoria con ID: {}", ctg_id);
-//        Restaurant restaurant = restaurantRepository.findById(id)
         if (ctg_id == null || ctg_id <= 0) {
             log.warn("El ID de la categoria proporcionada es invalido: {}", ctg_id);
             throw new CategoryNotFoundException("El ID de la categoria no es válido " + ctg_id);
         }
-        return categoryRepository.findById(ctg_id)
-                .map(category -> new CategoryResponseDto(
-                        category.getId(),
-                        category.getName(),
-                        category.getDescription()
-                ))
+        return referenceDataService.findCategory(ctg_id)
                 .orElseThrow(() -> {
                     log.warn("No se encontro una categoria con el ID: {}", ctg_id);
                     return new CategoryNotFoundException("No se encontró una categoria con ese ID: " + ctg_id);
@@ -127,22 +219,23 @@ public class CategoryServiceImpl implements ICategoryService {
     public void deleteCategory(Long restaurantId, Long categoryId) {
         log.info("Intentando eliminar categoría global con ID: {}", categoryId);
 
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+        // Solo el email del dueño: no se carga el restaurante ni sus categorías ofrecidas
+        String ownerEmail = restaurantRepository.findActiveOwnerEmailById(restaurantId)
                 .orElseThrow(() -> new RestaurantNotFoundException("Restaurante no encontrado con ID: " + restaurantId));
 
         String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
         log.info("Usuario autenticado con email: {}", userEmail);
-        if (!restaurant.getUserEntity().getEmail().equals(userEmail)) {
+        if (!ownerEmail.equals(userEmail)) {
             throw new UnauthorizedAccessException("No tienes permiso para añadir productos a este restaurante");
         }
 
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new CategoryNotFoundException("Categoría no encontrada con ID: " + categoryId));
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new CategoryNotFoundException("Categoría no encontrada con ID: " + categoryId);
+        }
 
-        // --- Desasociar del restaurante actual ---
-        boolean removed = restaurant.getOfferedCategories().remove(category);
+        // --- Desasociar del restaurante actual (DELETE directo, sin cargar la colección de categorías) ---
+        boolean removed = restaurantRepository.removeOfferedCategories(restaurantId, List.of(categoryId)) > 0;
         if (removed) {
-            restaurantRepository.save(restaurant); // Guarda para efectuar la eliminación para ese restaurante
             log.info("Categoría ID {} desasociada del restaurante ID {}", categoryId, restaurantId);
 
             // --- Comprobar si no hay restaurantes o productos con esa categoria ---
@@ -162,6 +255,7 @@ public class CategoryServiceImpl implements ICategoryService {
                 try {
                     categoryRepository.deleteById(categoryId); // Intenta borrarla globalmente
                     log.info("Categoría global ID {} eliminada con éxito.", categoryId);
+                    eventPublisher.publishEvent(CategoryChangedEvent.deleted(categoryId));
                 } catch (Exception e) {
                     log.error("Error inesperado al intentar borrar globalmente la categoría ID {}: {}",
                             categoryId,
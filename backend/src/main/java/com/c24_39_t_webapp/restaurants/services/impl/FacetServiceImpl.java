@@ -0,0 +1,239 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.FacetedSearchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.index.FacetIndex;
+import com.c24_39_t_webapp.restaurants.index.PriceBand;
+import com.c24_39_t_webapp.restaurants.index.ProductFacet;
+import com.c24_39_t_webapp.restaurants.index.RestaurantFacet;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IFacetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filtrado por facetas de productos y restaurantes sobre índices de bitmaps en memoria.
+ * <p>
+ * - Los índices se cargan al arrancar y se mantienen sincronizados con los eventos de producto y
+ * restaurante (tras el commit), sin volver a consultar la base de datos.
+ * - La cocina de un producto es la de su restaurante; las categorías de un restaurante son las de
+ * sus productos activos. Solo se indexan productos de restaurantes activos.
+ * - La búsqueda se resuelve en memoria; solo la página devuelta se lee de la base de datos
+ * con una única consulta IN.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FacetServiceImpl implements IFacetService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final ProductRepository productRepository;
+    private final RestaurantRepository restaurantRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FacetIndex<ProductFacet> productIndex = new FacetIndex<>(ProductFacet.class);
+    private FacetIndex<RestaurantFacet> restaurantIndex = new FacetIndex<>(RestaurantFacet.class);
+    private final Map<Long, Long> cuisineByRestaurant = new HashMap<>();
+
+    @Override
+    public FacetedSearchResponseDto<ProductResponseDto> searchProducts(Map<ProductFacet, List<String>> filters,
+                                                                       Integer offset, Integer limit) {
+        int first = offset == null ? 0 : Math.max(0, offset);
+        int size = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        FacetIndex.FacetResult<ProductFacet> result;
+        List<Long> pageIds;
+        lock.readLock().lock();
+        try {
+            result = productIndex.search(filters);
+            pageIds = FacetIndex.page(result.matches(), first, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        log.info("Búsqueda por facetas de productos {}: {} resultados", filters, result.matches().getCardinality());
+        List<ProductResponseDto> items = pageIds.isEmpty() ? Collections.emptyList()
+                : inIdOrder(pageIds, productRepository.findProductDtosByIds(pageIds), ProductResponseDto::prd_id);
+        return new FacetedSearchResponseDto<>(result.matches().getLongCardinality(), first, size, items,
+                toResponseFacets(result.counts(), ProductFacet::paramName));
+    }
+
+    @Override
+    public FacetedSearchResponseDto<RestaurantResponseDto> searchRestaurants(Map<RestaurantFacet, List<String>> filters,
+                                                                             Integer offset, Integer limit) {
+        int first = offset == null ? 0 : Math.max(0, offset);
+        int size = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        FacetIndex.FacetResult<RestaurantFacet> result;
+        List<Long> pageIds;
+        lock.readLock().lock();
+        try {
+            result = restaurantIndex.search(filters);
+            pageIds = FacetIndex.page(result.matches(), first, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        log.info("Búsqueda por facetas de restaurantes {}: {} resultados", filters, result.matches().getCardinality());
+        List<RestaurantResponseDto> items = pageIds.isEmpty() ? Collections.emptyList()
+                : inIdOrder(pageIds, restaurantRepository.findRestaurantDtosByIds(pageIds), RestaurantResponseDto::rst_id);
+        return new FacetedSearchResponseDto<>(result.matches().getLongCardinality(), first, size, items,
+                toResponseFacets(result.counts(), RestaurantFacet::paramName));
+    }
+
+    /**
+     * Carga completa de los índices. Se hace bajo el write lock para no perder eventos que
+     * lleguen mientras tanto; solo ocurre al arrancar.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            productIndex = new FacetIndex<>(ProductFacet.class);
+            restaurantIndex = new FacetIndex<>(RestaurantFacet.class);
+            cuisineByRestaurant.clear();
+            List<RestaurantResponseDto> restaurants = restaurantRepository.findAllRestaurantDtos();
+            restaurants.forEach(r -> cuisineByRestaurant.put(r.rst_id(), r.cuisineId()));
+            productRepository.findAllProductDtos().forEach(this::indexProduct);
+            restaurants.forEach(r -> indexRestaurant(r.rst_id()));
+            log.info("Índices de facetas cargados: {} productos y {} restaurantes en {} ms",
+                    productIndex.size(), restaurantIndex.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.changeType() == EntityChangeType.DELETED) {
+                productIndex.remove(event.productId());
+            } else {
+                indexProduct(event.product());
+            }
+            if (restaurantIndex.get(event.restaurantId()).isPresent()) {
+                indexRestaurant(event.restaurantId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.products().forEach(this::indexProduct);
+            // Las categorías del restaurante se recalculan una sola vez para todo el lote
+            if (restaurantIndex.get(event.restaurantId()).isPresent()) {
+                indexRestaurant(event.restaurantId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        Long restaurantId = event.restaurantId();
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap products = productIndex.bitmapOf(ProductFacet.RESTAURANT, String.valueOf(restaurantId));
+            if (event.changeType() == EntityChangeType.DELETED) {
+                restaurantIndex.remove(restaurantId);
+                cuisineByRestaurant.remove(restaurantId);
+                products.forEach((int productId) -> productIndex.remove(productId));
+                return;
+            }
+            Long previousCuisine = cuisineByRestaurant.put(restaurantId, event.restaurant().cuisineId());
+            indexRestaurant(restaurantId);
+            if (!Objects.equals(previousCuisine, event.restaurant().cuisineId())) {
+                // La cocina se hereda del restaurante: se reindexan solo sus productos
+                String cuisine = idValue(event.restaurant().cuisineId());
+                products.forEach((int productId) -> productIndex.get(productId).ifPresent(doc -> {
+                    Map<ProductFacet, Set<String>> updated = new EnumMap<>(doc);
+                    updated.put(ProductFacet.CUISINE, cuisine == null ? Set.of() : Set.of(cuisine));
+                    productIndex.put(productId, updated);
+                }));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexProduct(ProductResponseDto product) {
+        // Un restaurante dado de baja ya no está en cuisineByRestaurant: sus productos (por ejemplo, los lotes que
+        // publica la desactivación en segundo plano) no vuelven a entrar en el índice
+        if (!cuisineByRestaurant.containsKey(product.restaurantId())) {
+            productIndex.remove(product.prd_id());
+            return;
+        }
+        PriceBand band = PriceBand.of(product.price());
+        Map<ProductFacet, List<String>> doc = new EnumMap<>(ProductFacet.class);
+        doc.put(ProductFacet.RESTAURANT, single(idValue(product.restaurantId())));
+        doc.put(ProductFacet.CATEGORY, single(idValue(product.categoryId())));
+        doc.put(ProductFacet.CUISINE, single(idValue(cuisineByRestaurant.get(product.restaurantId()))));
+        doc.put(ProductFacet.PRICE_BAND, single(band == null ? null : band.label()));
+        doc.put(ProductFacet.ACTIVE, single(String.valueOf(Boolean.TRUE.equals(product.isActive()))));
+        productIndex.put(product.prd_id(), doc);
+    }
+
+    private void indexRestaurant(Long restaurantId) {
+        RoaringBitmap activeProducts = RoaringBitmap.and(
+                productIndex.bitmapOf(ProductFacet.RESTAURANT, String.valueOf(restaurantId)),
+                productIndex.bitmapOf(ProductFacet.ACTIVE, "true"));
+        Map<RestaurantFacet, List<String>> doc = new EnumMap<>(RestaurantFacet.class);
+        doc.put(RestaurantFacet.CUISINE, single(idValue(cuisineByRestaurant.get(restaurantId))));
+        doc.put(RestaurantFacet.CATEGORY,
+                List.copyOf(productIndex.valuesIntersecting(ProductFacet.CATEGORY, activeProducts)));
+        restaurantIndex.put(restaurantId, doc);
+    }
+
+    private static String idValue(Long id) {
+        return id == null ? null : String.valueOf(id);
+    }
+
+    private static List<String> single(String value) {
+        return value == null ? List.of() : List.of(value);
+    }
+
+    private static <F extends Enum<F>> Map<String, Map<String, Integer>> toResponseFacets(
+            Map<F, Map<String, Integer>> counts, Function<F, String> paramName) {
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        counts.forEach((field, values) -> facets.put(paramName.apply(field), values));
+        return facets;
+    }
+
+    /**
+     * La consulta IN no garantiza orden: se reordena según la página calculada en memoria.
+     */
+    private static <T> List<T> inIdOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+}
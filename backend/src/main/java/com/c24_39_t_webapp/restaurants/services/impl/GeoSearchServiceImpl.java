@@ -0,0 +1,138 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.NearbyRestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.index.GeoGridIndex;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IGeoSearchService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda de restaurantes por cercanía sobre un índice espacial en memoria ({@link GeoGridIndex}).
+ * <p>
+ * - El índice se carga al arrancar y se mantiene con los eventos de restaurante (tras el commit); los
+ * restaurantes sin coordenadas no se indexan.
+ * - La búsqueda y los filtros por cocina y por horario se resuelven en memoria; solo los restaurantes devueltos se leen de
+ * la base de datos con una única consulta IN.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeoSearchServiceImpl implements IGeoSearchService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+    static final double MAX_RADIUS_KM = 100.0;
+
+    private final RestaurantRepository restaurantRepository;
+    private final IOpeningHoursService openingHoursService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private GeoGridIndex index = new GeoGridIndex();
+
+    @Override
+    public List<NearbyRestaurantResponseDto> findNearby(Double latitude, Double longitude, Double radiusKm,
+                                                        Integer limit, Long cuisineId, Boolean openNow,
+                                                        LocalDateTime openAt) {
+        if (latitude == null || longitude == null || latitude < -90 || latitude > 90
+                || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Latitud y longitud son obligatorias (latitud entre -90 y 90, longitud entre -180 y 180)");
+        }
+        if (radiusKm != null && (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM)) {
+            throw new BadRequestException("El radio debe ser mayor que 0 y como máximo " + MAX_RADIUS_KM + " km");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        double radius = radiusKm == null ? MAX_RADIUS_KM : radiusKm;
+        LongPredicate open = openingHoursService.openFilter(openNow, openAt).orElse(id -> true);
+
+        List<GeoGridIndex.Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.nearest(latitude, longitude, size, radius,
+                    point -> (cuisineId == null || cuisineId.equals(point.cuisineId())) && open.test(point.id()));
+        } finally {
+            lock.readLock().unlock();
+        }
+        log.info("Búsqueda por cercanía en ({}, {}) con radio {} km y cocina {}: {} restaurantes",
+                latitude, longitude, radius, cuisineId, hits.size());
+        if (hits.isEmpty()) return Collections.emptyList();
+
+        List<Long> ids = hits.stream().map(hit -> hit.point().id()).toList();
+        Map<Long, RestaurantResponseDto> byId = restaurantRepository.findRestaurantDtosByIds(ids).stream()
+                .collect(Collectors.toMap(RestaurantResponseDto::rst_id, Function.identity()));
+        // Un restaurante borrado entre la búsqueda y la consulta simplemente no aparece
+        return hits.stream()
+                .map(hit -> {
+                    RestaurantResponseDto restaurant = byId.get(hit.point().id());
+                    return restaurant == null ? null : new NearbyRestaurantResponseDto(restaurant, roundKm(hit.distanceKm()));
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Carga completa del índice. Se hace bajo el write lock para no perder eventos que lleguen
+     * mientras tanto; solo ocurre al arrancar.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            index = new GeoGridIndex();
+            restaurantRepository.findAllRestaurantDtos().forEach(this::indexRestaurant);
+            log.info("Índice espacial cargado: {} restaurantes con coordenadas en {} ms",
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.changeType() == EntityChangeType.DELETED) {
+                index.remove(event.restaurantId());
+            } else {
+                indexRestaurant(event.restaurant());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexRestaurant(RestaurantResponseDto restaurant) {
+        if (restaurant.latitude() == null || restaurant.longitude() == null) {
+            index.remove(restaurant.rst_id());
+            return;
+        }
+        index.put(new GeoGridIndex.Point(restaurant.rst_id(), restaurant.latitude(), restaurant.longitude(),
+                restaurant.cuisineId()));
+    }
+
+    private static double roundKm(double km) {
+        return Math.round(km * 1000) / 1000.0;
+    }
+}
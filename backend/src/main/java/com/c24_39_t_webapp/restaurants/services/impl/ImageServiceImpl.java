@@ -0,0 +1,225 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ValueCountProjection;
+import com.c24_39_t_webapp.restaurants.dtos.response.ImageUploadResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.PayloadTooLargeException;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IImageService;
+import com.c24_39_t_webapp.restaurants.storage.ImageFormat;
+import com.c24_39_t_webapp.restaurants.storage.ImageProcessor;
+import com.c24_39_t_webapp.restaurants.storage.ImageStore;
+import com.c24_39_t_webapp.restaurants.storage.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Subida, consulta y limpieza de imágenes del almacén local.
+ * <p>
+ * - Las imágenes se identifican por el SHA-256 del original: subir dos veces el mismo fichero
+ * no ocupa más disco y devuelve las mismas URLs.
+ * - Las variantes reducidas se generan una única vez al subir, nunca al servir.
+ * - El barrido periódico cuenta las referencias de cada imagen en productos (imagen) y
+ * restaurantes (logo y portada) y borra las que no tienen ninguna. Las recién subidas tienen un
+ * periodo de gracia para que dé tiempo a asignarlas. Antes de borrar cada candidata se vuelven a contar sus
+ * referencias con el lock de su hash: un producto o restaurante puede haber empezado a usarla durante el barrido.
+ * - Las operaciones sobre un mismo hash (subida y borrado) se serializan con locks por franjas.
+ */
+@Slf4j
+@Service
+public class ImageServiceImpl implements IImageService {
+
+    public static final String URL_PREFIX = "/api/images/";
+    private static final Pattern IMAGE_URL = Pattern.compile(Pattern.quote(URL_PREFIX) + "([0-9a-f]{64})/");
+    private static final int LOCK_STRIPES = 64;
+
+    private final ProductRepository productRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final ImageStore store;
+    private final long maxBytes;
+    private final Duration sweepGracePeriod;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public ImageServiceImpl(ProductRepository productRepository,
+                            RestaurantRepository restaurantRepository,
+                            @Value("${app.images.dir:data/images}") Path directory,
+                            @Value("${app.images.max-bytes:5242880}") long maxBytes,
+                            @Value("${app.images.sweep-grace-period:PT24H}") Duration sweepGracePeriod) {
+        this.productRepository = productRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.store = new ImageStore(directory);
+        this.maxBytes = maxBytes;
+        this.sweepGracePeriod = sweepGracePeriod;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public ImageUploadResponseDto upload(byte[] content) {
+        if (content == null || content.length == 0) {
+            throw new BadRequestException("El fichero de imagen está vacío");
+        }
+        if (content.length > maxBytes) {
+            log.warn("Imagen rechazada por tamaño: {} bytes (máximo {})", content.length, maxBytes);
+            throw new PayloadTooLargeException("La imagen supera el tamaño máximo de " + maxBytes + " bytes");
+        }
+        String hash = sha256(content);
+        ReentrantLock lock = lockFor(hash);
+        lock.lock();
+        try {
+            Optional<ImageFormat> existing = store.formatOf(hash);
+            if (existing.isPresent()) {
+                store.touch(hash, existing.get());
+                log.info("Imagen {} ya almacenada, se reutiliza", hash);
+                return toResponse(hash, existing.get(), content.length, true);
+            }
+
+            ImageProcessor.DecodedImage decoded = ImageProcessor.decode(content).orElseThrow(() -> {
+                log.warn("Imagen rechazada: formato no admitido, corrupta o de dimensiones excesivas");
+                return new BadRequestException("La imagen debe ser JPEG o PNG válido y de como máximo "
+                        + ImageProcessor.MAX_DIMENSION + " píxeles por lado");
+            });
+            ImageFormat format = decoded.format();
+            BufferedImage image = decoded.image();
+            // Las variantes se escriben antes que el original: mientras no existe el original la
+            // imagen no se considera almacenada, así que un fallo a mitad no deja una imagen incompleta
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (variant == ImageVariant.ORIGINAL) continue;
+                byte[] bytes = image.getWidth() > variant.maxWidth()
+                        ? ImageProcessor.encode(ImageProcessor.scaleToWidth(image, variant.maxWidth(), format), format)
+                        : content;
+                store.write(hash, variant, format, bytes);
+            }
+            store.write(hash, ImageVariant.ORIGINAL, format, content);
+            log.info("Imagen {} guardada ({} x {} px, {} bytes)", hash, image.getWidth(), image.getHeight(), content.length);
+            return toResponse(hash, format, content.length, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<ImageStore.StoredFile> findFile(String hash, String fileName) {
+        return store.resolve(hash, fileName);
+    }
+
+    @Scheduled(initialDelayString = "${app.images.sweep-interval:PT6H}",
+            fixedDelayString = "${app.images.sweep-interval:PT6H}")
+    public void scheduledSweep() {
+        try {
+            sweepUnreferenced();
+        } catch (RuntimeException e) {
+            log.error("Error en el barrido de imágenes huérfanas", e);
+        }
+    }
+
+    /**
+     * Borra las imágenes sin referencias cuya última subida es anterior al periodo de gracia.
+     * Las referencias se cuentan con una consulta agregada por columna, sin cargar entidades, y se vuelven a
+     * contar para cada candidata justo antes de borrarla.
+     *
+     * @return número de imágenes borradas
+     */
+    @Override
+    public int sweepUnreferenced() {
+        long start = System.nanoTime();
+        Map<String, Long> references = countReferences();
+        Instant cutoff = Instant.now().minus(sweepGracePeriod);
+        List<ImageStore.StoredImage> candidates = store.list().stream()
+                .filter(image -> references.getOrDefault(image.hash(), 0L) == 0)
+                .filter(image -> image.uploadedAt().isBefore(cutoff))
+                .toList();
+
+        int deleted = 0;
+        long freed = 0;
+        for (ImageStore.StoredImage candidate : candidates) {
+            ReentrantLock lock = lockFor(candidate.hash());
+            lock.lock();
+            try {
+                // Una re-subida durante el barrido renueva el periodo de gracia: se vuelve a comprobar
+                boolean stillExpired = store.lastUpload(candidate.hash())
+                        .map(uploadedAt -> uploadedAt.isBefore(cutoff))
+                        .orElse(false);
+                if (!stillExpired) continue;
+                // El recuento inicial puede haberse quedado viejo: alguien pudo asignarla después
+                if (isReferenced(candidate.hash())) {
+                    log.debug("Imagen {} referenciada durante el barrido, se conserva", candidate.hash());
+                    continue;
+                }
+                freed += store.delete(candidate.hash());
+                deleted++;
+            } finally {
+                lock.unlock();
+            }
+        }
+        log.info("Barrido de imágenes: {} referenciadas, {} huérfanas borradas ({} bytes) en {} ms",
+                references.size(), deleted, freed, (System.nanoTime() - start) / 1_000_000);
+        return deleted;
+    }
+
+    /**
+     * Número de referencias por hash de imagen en productos y restaurantes.
+     */
+    private Map<String, Long> countReferences() {
+        Map<String, Long> references = new HashMap<>();
+        Stream.of(productRepository.countImagesByUrl(URL_PREFIX),
+                        restaurantRepository.countLogosByUrl(URL_PREFIX),
+                        restaurantRepository.countCoverImagesByUrl(URL_PREFIX))
+                .flatMap(List::stream)
+                .forEach(row -> hashOf(row).ifPresent(hash -> references.merge(hash, row.count(), Long::sum)));
+        return references;
+    }
+
+    private boolean isReferenced(String hash) {
+        String imagePath = URL_PREFIX + hash + "/";
+        return productRepository.countImageReferences(imagePath) > 0
+                || restaurantRepository.countImageReferences(imagePath) > 0;
+    }
+
+    private static Optional<String> hashOf(ValueCountProjection row) {
+        Matcher matcher = IMAGE_URL.matcher(row.value());
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private ReentrantLock lockFor(String hash) {
+        return locks[Integer.parseInt(hash.substring(0, 2), 16) % LOCK_STRIPES];
+    }
+
+    private static ImageUploadResponseDto toResponse(String hash, ImageFormat format, long size, boolean deduplicated) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            urls.put(variant.name().toLowerCase(Locale.ROOT), URL_PREFIX + hash + "/" + variant.fileName(format));
+        }
+        return new ImageUploadResponseDto(hash, format.contentType(), size, deduplicated, urls);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
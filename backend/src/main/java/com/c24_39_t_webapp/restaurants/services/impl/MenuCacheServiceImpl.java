@@ -0,0 +1,123 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.cache.CachedMenu;
+import com.c24_39_t_webapp.restaurants.dtos.response.GroupedProductsResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.utils.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Caché por restaurante de la carta agrupada por categorías (GET /api/product/byRestaurantAndCategory).
+ * <p>
+ * - Guarda el JSON ya serializado y su ETag fuerte (SHA-256 del cuerpo), de modo que un acierto no
+ * consulta la base de datos, no reagrupa y no vuelve a serializar.
+ * - Se invalida solo tras el commit de cambios que afectan a ese restaurante: sus productos, su
+ * nombre o una categoría presente en su carta.
+ * - Cada invalidación incrementa la versión del restaurante; una carga que empezó antes de la
+ * invalidación no se guarda, para no cachear datos anteriores al commit.
+ */
+@Slf4j
+@Service
+public class MenuCacheServiceImpl implements IMenuCacheService {
+
+    private final IProductService productService;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<Long, CachedMenu> menus = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public MenuCacheServiceImpl(IProductService productService,
+                                ObjectMapper objectMapper,
+                                @Value("${app.menu-cache.max-entries:2000}") int maxEntries) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Optional<CachedMenu> getIfCached(Long restaurantId) {
+        return Optional.ofNullable(menus.get(restaurantId));
+    }
+
+    @Override
+    public CachedMenu getMenu(Long restaurantId) {
+        CachedMenu cached = menus.get(restaurantId);
+        if (cached != null) return cached;
+
+        long version = versions.getOrDefault(restaurantId, 0L);
+        List<GroupedProductsResponseDto> groups = productService.findProductsByRestaurantIdAndCategory(restaurantId);
+        CachedMenu loaded = toCachedMenu(restaurantId, groups);
+
+        if (menus.size() >= maxEntries) {
+            // Evicción simple: las cartas se reconstruyen con una sola consulta
+            menus.keySet().stream().findAny().ifPresent(menus::remove);
+        }
+        menus.compute(restaurantId, (id, current) ->
+                versions.getOrDefault(id, 0L) == version ? loaded : current);
+        log.debug("Carta del restaurante {} cargada en caché con ETag {}", restaurantId, loaded.etag());
+        return loaded;
+    }
+
+    @Override
+    public void invalidate(Long restaurantId) {
+        if (restaurantId == null) return;
+        versions.merge(restaurantId, 1L, Long::sum);
+        if (menus.remove(restaurantId) != null) {
+            log.debug("Carta del restaurante {} invalidada", restaurantId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.restaurantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        invalidate(event.restaurantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        invalidate(event.restaurantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        menus.values().stream()
+                .filter(menu -> menu.categoryIds().contains(event.categoryId()))
+                .map(CachedMenu::restaurantId)
+                .toList()
+                .forEach(this::invalidate);
+    }
+
+    private CachedMenu toCachedMenu(Long restaurantId, List<GroupedProductsResponseDto> groups) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(groups);
+            Set<Long> categoryIds = groups.stream()
+                    .map(GroupedProductsResponseDto::categoryId)
+                    .collect(Collectors.toUnmodifiableSet());
+            return new CachedMenu(restaurantId, ETags.of(body), body, categoryIds);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la carta del restaurante " + restaurantId, e);
+        }
+    }
+}
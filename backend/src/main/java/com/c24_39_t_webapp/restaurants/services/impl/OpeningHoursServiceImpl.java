@@ -0,0 +1,146 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.OpeningIntervalRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.index.OpeningHoursIndex;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.utils.OpeningHoursParser;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Horarios de apertura y filtro "abierto ahora / abierto en" sobre un índice en memoria ({@link OpeningHoursIndex}).
+ * <p>
+ * - El índice se carga al arrancar y se mantiene con los eventos de restaurante (tras el commit). Los
+ * restaurantes sin horario estructurado se indexan a partir de su horario en texto libre.
+ * - El filtro no consulta la base de datos: localiza el tramo de la semana en O(log n) y se queda con su
+ * bitmap, que no cambia aunque el índice se actualice después.
+ * - "Ahora" se calcula en la zona horaria {@code app.opening-hours.zone} (por defecto, la del sistema).
+ */
+@Slf4j
+@Service
+public class OpeningHoursServiceImpl implements IOpeningHoursService {
+
+    private static final Comparator<OpeningIntervalDto> BY_DAY_AND_TIME =
+            Comparator.comparing(OpeningIntervalDto::day).thenComparing(OpeningIntervalDto::opens);
+
+    private final RestaurantRepository restaurantRepository;
+    private final Clock clock;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private OpeningHoursIndex index = new OpeningHoursIndex();
+
+    public OpeningHoursServiceImpl(RestaurantRepository restaurantRepository,
+                                   @Value("${app.opening-hours.zone:}") String zone) {
+        this.restaurantRepository = restaurantRepository;
+        this.clock = Clock.system(zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone));
+    }
+
+    @Override
+    public Optional<LongPredicate> openFilter(Boolean openNow, LocalDateTime openAt) {
+        if (openAt == null && !Boolean.TRUE.equals(openNow)) return Optional.empty();
+        LocalDateTime at = openAt != null ? openAt : LocalDateTime.now(clock);
+        RoaringBitmap open;
+        lock.readLock().lock();
+        try {
+            open = index.openAt(at.getDayOfWeek(), at.toLocalTime());
+        } finally {
+            lock.readLock().unlock();
+        }
+        log.debug("Filtro de horario para {} {}: {} restaurantes abiertos", at.getDayOfWeek(), at.toLocalTime(),
+                open.getCardinality());
+        return Optional.of(id -> id > 0 && id <= Integer.MAX_VALUE && open.contains((int) id));
+    }
+
+    @Override
+    public List<OpeningIntervalDto> getSchedule(Long restaurantId) {
+        List<RestaurantResponseDto> restaurant = restaurantId == null ? List.of()
+                : restaurantRepository.findRestaurantDtosByIds(List.of(restaurantId));
+        if (restaurant.isEmpty()) {
+            log.warn("No se encontró un restaurante con el ID: {}", restaurantId);
+            throw new RestaurantNotFoundException("No se encontró un restaurante con ese ID: " + restaurantId);
+        }
+        List<OpeningIntervalDto> schedule = scheduleOf(
+                restaurantRepository.findOpeningIntervalsByRestaurantId(restaurantId), restaurant.get(0).openingHours());
+        return schedule.stream().sorted(BY_DAY_AND_TIME).toList();
+    }
+
+    /**
+     * Carga completa del índice. Se hace bajo el write lock para no perder eventos que lleguen
+     * mientras tanto; solo ocurre al arrancar.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            Map<Long, List<OpeningIntervalRow>> stored = restaurantRepository.findAllOpeningIntervals().stream()
+                    .collect(Collectors.groupingBy(OpeningIntervalRow::restaurantId));
+            Map<Integer, List<OpeningHoursIndex.Interval>> schedules = new HashMap<>();
+            for (RestaurantResponseDto restaurant : restaurantRepository.findAllRestaurantDtos()) {
+                schedules.put(Math.toIntExact(restaurant.rst_id()), intervalsOf(
+                        scheduleOf(stored.getOrDefault(restaurant.rst_id(), List.of()), restaurant.openingHours())));
+            }
+            index = OpeningHoursIndex.build(schedules);
+            log.info("Índice de horarios cargado: {} restaurantes con horario y {} tramos semanales en {} ms",
+                    index.size(), index.segmentCount(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            int restaurantId = Math.toIntExact(event.restaurantId());
+            if (event.changeType() == EntityChangeType.DELETED) {
+                index.remove(restaurantId);
+            } else {
+                index.put(restaurantId, intervalsOf(scheduleOf(
+                        restaurantRepository.findOpeningIntervalsByRestaurantId(event.restaurantId()),
+                        event.restaurant().openingHours())));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // El horario estructurado manda; el texto libre solo se usa si no hay ninguno guardado
+    private static List<OpeningIntervalDto> scheduleOf(List<OpeningIntervalRow> stored, String openingHours) {
+        if (stored.isEmpty()) return OpeningHoursParser.parse(openingHours);
+        return stored.stream()
+                .map(row -> new OpeningIntervalDto(row.day(), row.opens(), row.closes()))
+                .toList();
+    }
+
+    private static List<OpeningHoursIndex.Interval> intervalsOf(List<OpeningIntervalDto> schedule) {
+        return schedule.stream()
+                .map(interval -> OpeningHoursIndex.Interval.of(interval.day(), interval.opens(), interval.closes()))
+                .toList();
+    }
+}
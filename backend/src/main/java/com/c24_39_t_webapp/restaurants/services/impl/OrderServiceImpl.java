@@ -5,6 +5,8 @@ import com.c24_39_t_webapp.restaurants.dtos.request.OrderRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.OrderUpdateRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.OrderDetailsResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.OrderResponseDto;
+import com.c24_39_t_webapp.restaurants.events.OrderPlacedEvent;
+import com.c24_39_t_webapp.restaurants.events.OrderStatusChangedEvent;
 import com.c24_39_t_webapp.restaurants.exception.*;
 import com.c24_39_t_webapp.restaurants.models.*;
 import com.c24_39_t_webapp.restaurants.repository.*;
@@ -12,6 +14,7 @@ import com.c24_39_t_webapp.restaurants.services.IOrderService;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -35,6 +38,7 @@ public class OrderServiceImpl implements IOrderService {
     private final RestaurantRepository restaurantRepository;
     private final ProductRepository productRepository;
     private final OrderDetailsRepository orderDetailsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -46,7 +50,7 @@ public class OrderServiceImpl implements IOrderService {
         validateOrderRequest(orderRequestDto);
 
         // Buscar entidades relacionadas
-        Restaurant restaurant = restaurantRepository.findById(orderRequestDto.restaurantId()).orElseThrow(() -> new RestaurantNotFoundException("No se ha encontrado el restaurante"));
+        Restaurant restaurant = restaurantRepository.findById(orderRequestDto.restaurantId()).filter(Restaurant::getIsActive).orElseThrow(() -> new RestaurantNotFoundException("No se ha encontrado el restaurante"));
         UserEntity client = userRepository.findById(orderRequestDto.clientId()).orElseThrow(() -> new UserNotFoundException("No se ha encontrado el usuario"));
 
         if (!client.getEmail().equals(email)) {
@@ -73,6 +77,8 @@ public class OrderServiceImpl implements IOrderService {
             details.add(detail);
         }
         orderDetailsRepository.saveAll(details);
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getOrd_id(), restaurant.getId(),
+                details.stream().map(detail -> detail.getProduct().getPrd_id()).toList()));
         log.info("Pedido creado con éxito");
 
         List<OrderDetailsResponseDto> detailsResponse = details.stream().map(
@@ -237,6 +243,7 @@ public class OrderServiceImpl implements IOrderService {
         log.info("El email del dueño del restuarente es válido: {}", userEmail);
 
 
+        OrderStatus previousStatus = order.getStatus();
         if (orderUpdateRequestDto.status() != null) {
             order.setStatus(orderUpdateRequestDto.status());
         }
@@ -247,6 +254,10 @@ public class OrderServiceImpl implements IOrderService {
 
 //        orderDetailsRepository.saveAll(details);
         order = orderRepository.save(order);
+        if (order.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getOrd_id(), order.getRestaurantId().getId(),
+                    order.getClientId().getId(), previousStatus, order.getStatus()));
+        }
         log.info("Pedido actualizado con éxito");
 
 
@@ -301,6 +312,8 @@ public class OrderServiceImpl implements IOrderService {
 //        orderRepository.delete(order); // Hibernate eliminará los OrderDetails automáticamente en cascada
         order.setStatus(OrderStatus.cancelado);
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(order.getOrd_id(), order.getRestaurantId().getId(),
+                order.getClientId().getId(), OrderStatus.pendiente, OrderStatus.cancelado));
         log.info("Pedido con ID {} eliminado (cancelado) con éxito", ord_id);
     }
 
@@ -0,0 +1,265 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ImportMode;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductImportRowDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductImportResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.models.Category;
+import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
+import com.c24_39_t_webapp.restaurants.utils.ProductImportReader;
+import com.c24_39_t_webapp.restaurants.utils.ProductImportReader.ParsedRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Importación masiva de productos de un restaurante desde JSON o CSV.
+ * <p>
+ * - El restaurante y la propiedad se comprueban una sola vez, antes de leer el fichero.
+ * - El fichero se lee en streaming y se valida por lotes de {@value #BATCH_SIZE} filas, en paralelo (Bean
+ * Validation, igual que POST /api/product), FUERA de la transacción: un cliente lento o un fichero de
+ * {@value #MAX_ROWS} filas no retiene una conexión del pool mientras se sube.
+ * - Solo se abre la transacción si hay algo que insertar: en modo ATOMIC cualquier fila inválida cancela la
+ * importación sin tocar la base de datos; en modo PARTIAL se insertan las filas válidas.
+ * - Dentro de la transacción, cada nombre de categoría se resuelve una sola vez con la semántica de
+ * {@link ICategoryService#findOrCreateCategory(CategoryRequestDto)} y las filas se insertan con un único
+ * INSERT por lote en modo batch de JDBC, sin pasar por el contexto de persistencia. Los eventos de producto
+ * se publican tras el commit.
+ * - Justo antes del commit las filas importadas se vuelven a fechar con un único UPDATE, para que la fecha
+ * de actualización no quede por detrás del commit más que app.sync.commit-lag (ver {@link SyncServiceImpl}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements IProductImportService {
+
+    static final int BATCH_SIZE = 200;
+    public static final int MAX_ROWS = 5000;
+    static final int MAX_REPORTED_ERRORS = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO productos (prd_restaurante_id, prd_categoria_id, " +
+            "prd_nombre, prd_descripcion, prd_precio, prd_imagen, prd_activo, prd_cantidad, " +
+            "prd_fecha_alta, prd_fecha_actualizacion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Las IDs de una importación son crecientes: el rango solo contiene productos creados durante ella
+    private static final String RESTAMP_SQL = "UPDATE productos SET prd_fecha_actualizacion = ? " +
+            "WHERE prd_restaurante_id = ? AND prd_id BETWEEN ? AND ?";
+
+    private final RestaurantRepository restaurantRepository;
+    private final ICategoryService categoryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public ProductImportResultDto importProducts(Long restaurantId, InputStream input, boolean csv, ImportMode mode) {
+        log.info("Iniciando importación {} de productos ({}) para el restaurante con ID: {}",
+                mode, csv ? "CSV" : "JSON", restaurantId);
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(findOwnedRestaurant(restaurantId), mode);
+        // Lectura y validación sin transacción: la conexión solo se toma para escribir
+        try {
+            if (csv) {
+                ProductImportReader.readCsv(input, run::accept);
+            } else {
+                ProductImportReader.readJson(input, objectMapper, run::accept);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo el fichero de importación", e);
+        }
+        run.validatePending();
+        if (run.shouldInsert()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                run.insertValid();
+                run.restampBeforeCommit();
+            });
+        }
+        ProductImportResultDto result = run.toResult();
+        log.info("Importación del restaurante {} terminada en {} ms: {} importados, {} con errores",
+                restaurantId, (System.nanoTime() - start) / 1_000_000, result.imported(), result.failed());
+        return result;
+    }
+
+    private Restaurant findOwnedRestaurant(Long restaurantId) {
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .filter(Restaurant::getIsActive)
+                .orElseThrow(() -> {
+                    log.warn("Restaurante no encontrado con ID: {}", restaurantId);
+                    return new RestaurantNotFoundException("No se ha encontrado el restaurante con ID: " + restaurantId);
+                });
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (restaurant.getUserEntity() == null || !restaurant.getUserEntity().getEmail().equals(userEmail)) {
+            log.warn("Permiso denegado: Usuario {} intentando importar productos en el restaurante {}",
+                    userEmail, restaurantId);
+            throw new UnauthorizedAccessException("No tienes permiso para añadir productos a este restaurante");
+        }
+        return restaurant;
+    }
+
+    private String validate(ParsedRow row) {
+        if (row.error() != null) return row.error();
+        List<String> messages = validator.validate(row.data()).stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .toList();
+        return messages.isEmpty() ? null : String.join(" ", messages);
+    }
+
+    /**
+     * Estado de una importación en curso. Solo lo usa el hilo de la petición.
+     */
+    private final class ImportRun {
+        private final Restaurant restaurant;
+        private final ImportMode mode;
+        private final List<ParsedRow> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<ProductImportRowDto> valid = new ArrayList<>();
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+        private final List<ProductImportResultDto.RowError> errors = new ArrayList<>();
+        private int totalRows;
+        private int imported;
+        private int failed;
+        private Long firstId;
+        private Long lastId;
+
+        ImportRun(Restaurant restaurant, ImportMode mode) {
+            this.restaurant = restaurant;
+            this.mode = mode;
+        }
+
+        void accept(ParsedRow row) {
+            if (++totalRows > MAX_ROWS) {
+                throw new BadRequestException("La importación supera el máximo de " + MAX_ROWS + " productos");
+            }
+            pending.add(row);
+            if (pending.size() == BATCH_SIZE) validatePending();
+        }
+
+        void validatePending() {
+            if (pending.isEmpty()) return;
+            List<String> outcomes = pending.parallelStream().map(ProductImportServiceImpl.this::validate).toList();
+            for (int i = 0; i < pending.size(); i++) {
+                String error = outcomes.get(i);
+                if (error == null) {
+                    valid.add(pending.get(i).data());
+                    continue;
+                }
+                failed++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ProductImportResultDto.RowError(pending.get(i).rowNumber(), error));
+                }
+            }
+            pending.clear();
+        }
+
+        // En modo ATOMIC, tras el primer error solo se sigue validando para informar de todas las filas
+        boolean shouldInsert() {
+            return !valid.isEmpty() && !(mode == ImportMode.ATOMIC && failed > 0);
+        }
+
+        void insertValid() {
+            for (int from = 0; from < valid.size(); from += BATCH_SIZE) {
+                insert(valid.subList(from, Math.min(from + BATCH_SIZE, valid.size())));
+            }
+        }
+
+        private void insert(List<ProductImportRowDto> rows) {
+            List<Category> categories = rows.stream().map(this::category).toList();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"prd_id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ProductImportRowDto row = rows.get(i);
+                            ps.setLong(1, restaurant.getId());
+                            ps.setLong(2, categories.get(i).getId());
+                            ps.setString(3, row.name());
+                            ps.setString(4, row.description());
+                            ps.setBigDecimal(5, row.price());
+                            ps.setString(6, row.image());
+                            ps.setBoolean(7, row.isActive() == null || row.isActive());
+                            ps.setInt(8, row.quantity());
+                            ps.setTimestamp(9, now);
+                            ps.setTimestamp(10, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            List<ProductResponseDto> inserted = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                ProductImportRowDto row = rows.get(i);
+                Long productId = ((Number) keys.get(i).values().iterator().next()).longValue();
+                if (firstId == null || productId < firstId) firstId = productId;
+                if (lastId == null || productId > lastId) lastId = productId;
+                inserted.add(new ProductResponseDto(
+                        productId, restaurant.getId(), categories.get(i).getId(), row.name(), row.description(),
+                        row.price(), row.image(), row.isActive() == null || row.isActive(), row.quantity(),
+                        categories.get(i).getName(), restaurant.getName()));
+            }
+            eventPublisher.publishEvent(new ProductsBulkChangedEvent(restaurant.getId(), inserted));
+            imported += rows.size();
+            log.info("Lote de {} productos insertado para el restaurante {}", rows.size(), restaurant.getId());
+        }
+
+        /**
+         * Fecha de actualización = ahora para todas las filas importadas, como último paso de la transacción.
+         */
+        void restampBeforeCommit() {
+            if (firstId == null) return;
+            int restamped = jdbcTemplate.update(RESTAMP_SQL, Timestamp.valueOf(LocalDateTime.now()),
+                    restaurant.getId(), firstId, lastId);
+            log.debug("Restaurante {}: {} productos importados fechados antes del commit", restaurant.getId(), restamped);
+        }
+
+        private Category category(ProductImportRowDto row) {
+            String name = row.categoryName().trim();
+            return categoriesByName.computeIfAbsent(name, n -> categoryService.findOrCreateCategory(
+                    new CategoryRequestDto(n, row.categoryDescription() != null ? row.categoryDescription() : n)));
+        }
+
+        ProductImportResultDto toResult() {
+            boolean rolledBack = mode == ImportMode.ATOMIC && failed > 0;
+            return new ProductImportResultDto(mode.name(), totalRows, rolledBack ? 0 : imported, failed,
+                    List.copyOf(errors));
+        }
+    }
+}
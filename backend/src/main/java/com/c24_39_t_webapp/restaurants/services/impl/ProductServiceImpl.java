@@ -1,31 +1,56 @@
 package com.c24_39_t_webapp.restaurants.services.impl;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.MenuCloneRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductBulkUpdateRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductListingRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.GroupedProductsResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.MenuCloneResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductBulkUpdateResultDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.ProductNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
-import com.c24_39_t_webapp.restaurants.models.Category;
 import com.c24_39_t_webapp.restaurants.models.Product;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
 import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
+import com.c24_39_t_webapp.restaurants.utils.BatchIds;
+import com.c24_39_t_webapp.restaurants.utils.KeysetCursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.TreeMap;
 
@@ -33,9 +58,16 @@ import java.util.TreeMap;
 @Service
 @AllArgsConstructor
 public class ProductServiceImpl implements IProductService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository productRepository;
     private final RestaurantRepository restaurantRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ICatalogService catalogService;
+    private final ISearchCacheService searchCacheService;
+    private final IReferenceDataService referenceDataService;
 
     @Override
     @Transactional
@@ -45,11 +77,13 @@ public class ProductServiceImpl implements IProductService {
 //            throw new IllegalArgumentException("El ID del restaurante no es válido");
 //        }
         Restaurant restaurant = restaurantRepository.findById(productRequestDto.restaurantId())
+                .filter(Restaurant::getIsActive)
                 .orElseThrow(() -> {
                     log.warn("Restaurante no encontrado con ID: {}", productRequestDto.restaurantId());
                     return new RestaurantNotFoundException("No se ha encontrado el restaurante con ID: " + productRequestDto.restaurantId());
                 });
-        Category category = categoryRepository.findById(productRequestDto.categoryId())
+        // La categoría se valida contra los datos de referencia en memoria; al producto solo le hace falta la referencia
+        CategoryResponseDto category = referenceDataService.findCategory(productRequestDto.categoryId())
                 .orElseThrow(() -> {
                     log.warn("Categoría no encontrada con ID: {}", productRequestDto.categoryId());
                     return new CategoryNotFoundException("No se ha encontrado la categoria con ID: " + productRequestDto.restaurantId());
@@ -72,11 +106,11 @@ public class ProductServiceImpl implements IProductService {
 
         // --- 4. Asigna las ENTIDADES encontradas ---
         newProduct.setRestaurant(restaurant);
-        newProduct.setCategory(category);
+        newProduct.setCategory(categoryRepository.getReferenceById(category.ctg_id()));
         Product savedProduct = productRepository.save(newProduct);
         log.info("Producto creado con éxito con ID: {}", savedProduct.getPrd_id());
 
-        return new ProductResponseDto(
+        ProductResponseDto responseDto = new ProductResponseDto(
                 savedProduct.getPrd_id(),
                 savedProduct.getRestaurant().getId(),
                 savedProduct.getCategory().getId(),
@@ -86,38 +120,11 @@ public class ProductServiceImpl implements IProductService {
                 savedProduct.getImage(),
                 savedProduct.getIsActive(),
                 savedProduct.getQuantity(),
-                savedProduct.getCategory().getName(),
+                category.name(),
                 savedProduct.getRestaurant().getName()
         );
-    }
-
-    @Override
-    @Transactional(readOnly = true)
-    public List<ProductResponseDto> findAllProducts() {
-        log.info("Recuperando todos los productos.");
-        List<Product> products = productRepository.findAll();
-
-//        if (products.isEmpty()) {
-//            throw new ProductNotFoundException("No se encontraron productos.");
-//        }
-        if (products.isEmpty())  return Collections.emptyList();
-
-        return products.stream()
-                .map(product -> new ProductResponseDto(
-                        product.getPrd_id(),
-                        product.getRestaurant().getId(),
-                        product.getCategory().getId(),
-                        product.getName(),
-                        product.getDescription(),
-                        product.getPrice(),
-                        product.getImage(),
-                        product.getIsActive(),
-                        product.getQuantity(),
-                        product.getCategory().getName(),
-                        product.getRestaurant().getName(
-                        ))
-                )
-                .collect(Collectors.toList());
+        eventPublisher.publishEvent(ProductChangedEvent.saved(responseDto));
+        return responseDto;
     }
 
     @Override
@@ -130,6 +137,7 @@ public class ProductServiceImpl implements IProductService {
         }
         log.info("Buscando el product con ID: {}", prd_id);
         return productRepository.findById(prd_id)
+                .filter(ProductServiceImpl::ofActiveRestaurant)
                 .map(product -> new ProductResponseDto(
                         product.getPrd_id(),
                         product.getRestaurant().getId(),
@@ -149,11 +157,31 @@ public class ProductServiceImpl implements IProductService {
                 });
     }
 
+    /**
+     * Resuelve varios productos con una sola lectura: la instantánea del catálogo o, si no está cargada,
+     * una consulta IN. Los IDs no válidos o inexistentes se devuelven marcados como no encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponseDto<ProductResponseDto> findProductsByIds(List<Long> ids) {
+        List<Long> requested = BatchIds.distinct(ids);
+        List<Long> lookup = requested.stream().filter(id -> id > 0).toList();
+        log.info("Buscando {} productos por ID", requested.size());
+        List<ProductListingRow> rows = lookup.isEmpty() ? List.of()
+                : catalogService.findProductsByIds(lookup)
+                        .orElseGet(() -> productRepository.findListingRowsByIds(lookup));
+        BatchResponseDto<ProductResponseDto> result = BatchResponseDto.inRequestOrder(requested,
+                rows.stream().map(ProductListingRow::toResponseDto).toList(), ProductResponseDto::prd_id);
+        if (!result.missingIds().isEmpty()) log.debug("Productos no encontrados: {}", result.missingIds());
+        return result;
+    }
+
     @Transactional
     @Override
     public ProductResponseDto updateProduct(Long productId, ProductUpdateDto updateDto) {
         log.info("Solicitud recibida para actualizar el producto con ID: {}", productId);
         Product product = productRepository.findById(productId)
+                .filter(ProductServiceImpl::ofActiveRestaurant)
                 .orElseThrow(() -> {
                     log.warn("El ID del producto proporcionado es invalido: {}", productId);
                     return new ProductNotFoundException("No se ha encontrado el producto con el ID " + productId);
@@ -171,17 +199,17 @@ public class ProductServiceImpl implements IProductService {
             product.setIsActive(updateDto.isActive()); // Asume tipo boolean/Boolean y que no viola NOT NULL
         if (updateDto.quantity() != null) product.setQuantity(updateDto.quantity()); // Asume tipo Integer/Long
 
-        Category category = categoryRepository.findById(updateDto.categoryId())
+        CategoryResponseDto category = referenceDataService.findCategory(updateDto.categoryId())
                 .orElseThrow(() -> {
                     log.warn("El ID de la categoria proporcionada es invalido: {}", updateDto.categoryId());
                     return new CategoryNotFoundException("No se ha encontrado la categoria con el ID " + updateDto.categoryId());
                 });
-        product.setCategory(category);
+        product.setCategory(categoryRepository.getReferenceById(category.ctg_id()));
 
         Product updatedProductEntity = productRepository.save(product);
         log.info("Producto ID {} actualizado en BD", updatedProductEntity.getPrd_id());
 
-        return new ProductResponseDto(
+        ProductResponseDto responseDto = new ProductResponseDto(
                 updatedProductEntity.getPrd_id(),
                 updatedProductEntity.getRestaurant().getId(),
                 updatedProductEntity.getCategory().getId(),
@@ -191,9 +219,111 @@ public class ProductServiceImpl implements IProductService {
                 updatedProductEntity.getImage(),
                 updatedProductEntity.getIsActive(),
                 updatedProductEntity.getQuantity(),
-                updatedProductEntity.getCategory().getName(),
+                category.name(),
                 updatedProductEntity.getRestaurant().getName()
         );
+        eventPublisher.publishEvent(ProductChangedEvent.saved(responseDto));
+        return responseDto;
+    }
+
+    /**
+     * Aplica cambios de precio, cantidad y estado a varios productos de un restaurante.
+     * <p>
+     * - La propiedad del restaurante se comprueba una sola vez para todo el lote.
+     * - Los cambios se aplican con un único UPDATE por conjunto, sin cargar las entidades; el ajuste
+     * porcentual del precio se calcula en la base de datos.
+     * - Se publica un único evento para el restaurante en lugar de uno por producto.
+     */
+    @Override
+    @Transactional
+    public ProductBulkUpdateResultDto bulkUpdateProducts(Long restaurantId, ProductBulkUpdateRequestDto bulkUpdate) {
+        log.info("Solicitud de actualización masiva de {} productos del restaurante {}",
+                bulkUpdate.productIds().size(), restaurantId);
+        if (bulkUpdate.price() != null && bulkUpdate.priceChangePercent() != null) {
+            throw new BadRequestException("No se puede indicar a la vez un precio y un porcentaje de cambio de precio");
+        }
+        if (bulkUpdate.price() == null && bulkUpdate.priceChangePercent() == null
+                && bulkUpdate.quantity() == null && bulkUpdate.isActive() == null) {
+            throw new BadRequestException("Debe indicar al menos un cambio (precio, porcentaje, cantidad o estado)");
+        }
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .filter(Restaurant::getIsActive)
+                .orElseThrow(() -> {
+                    log.warn("Restaurante no encontrado con ID: {}", restaurantId);
+                    return new RestaurantNotFoundException("No se ha encontrado el restaurante con ID: " + restaurantId);
+                });
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (restaurant.getUserEntity() == null || !restaurant.getUserEntity().getEmail().equals(userEmail)) {
+            log.warn("Permiso denegado: Usuario {} intentando actualizar productos del restaurante {}", userEmail, restaurantId);
+            throw new UnauthorizedAccessException("No tienes permiso para actualizar los productos de este restaurante");
+        }
+
+        Set<Long> productIds = new LinkedHashSet<>(bulkUpdate.productIds());
+        productIds.remove(null);
+        BigDecimal priceFactor = bulkUpdate.priceChangePercent() == null ? null
+                : BigDecimal.ONE.add(bulkUpdate.priceChangePercent().movePointLeft(2));
+        int updated = productRepository.bulkUpdate(restaurantId, productIds, new ProductRepositoryCustom.BulkChange(
+                bulkUpdate.price(), priceFactor, bulkUpdate.quantity(), bulkUpdate.isActive(), LocalDateTime.now()));
+
+        List<ProductResponseDto> products = updated == 0 ? Collections.emptyList()
+                : productRepository.findProductDtosByRestaurantIdAndIds(restaurantId, productIds);
+        Set<Long> found = products.stream().map(ProductResponseDto::prd_id).collect(Collectors.toSet());
+        List<Long> notFound = productIds.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+        if (!notFound.isEmpty()) {
+            log.warn("{} productos no existen o no pertenecen al restaurante {}: {}", notFound.size(), restaurantId, notFound);
+        }
+        if (!products.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsBulkChangedEvent(restaurantId, products));
+        }
+        log.info("Actualización masiva completada: {} productos del restaurante {}", updated, restaurantId);
+        return new ProductBulkUpdateResultDto(updated, notFound, products);
+    }
+
+    /**
+     * Copia todos los productos de un restaurante, y sus categorías ofrecidas, en otro restaurante del mismo
+     * propietario (p. ej. al abrir un nuevo local de una cadena).
+     * <p>
+     * - Ambos restaurantes se comprueban una sola vez; el usuario autenticado debe ser el propietario de los dos.
+     * - Productos y categorías se copian con un INSERT ... SELECT cada uno, sin cargar entidades; el ajuste
+     * porcentual del precio se calcula en la base de datos. Las imágenes se comparten por URL.
+     * - Se publica un único evento con la carta resultante del restaurante de destino.
+     */
+    @Override
+    @Transactional
+    public MenuCloneResultDto cloneMenu(Long targetRestaurantId, MenuCloneRequestDto cloneRequest) {
+        Long sourceRestaurantId = cloneRequest.sourceRestaurantId();
+        log.info("Solicitud de copia de la carta del restaurante {} al restaurante {}", sourceRestaurantId, targetRestaurantId);
+        if (Objects.equals(sourceRestaurantId, targetRestaurantId)) {
+            throw new BadRequestException("El restaurante de origen y el de destino deben ser distintos");
+        }
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        for (Long restaurantId : List.of(sourceRestaurantId, targetRestaurantId)) {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                    .filter(Restaurant::getIsActive)
+                    .orElseThrow(() -> {
+                        log.warn("Restaurante no encontrado con ID: {}", restaurantId);
+                        return new RestaurantNotFoundException("No se ha encontrado el restaurante con ID: " + restaurantId);
+                    });
+            if (restaurant.getUserEntity() == null || !restaurant.getUserEntity().getEmail().equals(userEmail)) {
+                log.warn("Permiso denegado: Usuario {} intentando copiar la carta entre los restaurantes {} y {}",
+                        userEmail, sourceRestaurantId, targetRestaurantId);
+                throw new UnauthorizedAccessException("Solo se puede copiar la carta entre restaurantes propios");
+            }
+        }
+
+        BigDecimal priceFactor = cloneRequest.priceChangePercent() == null ? BigDecimal.ONE
+                : BigDecimal.ONE.add(cloneRequest.priceChangePercent().movePointLeft(2));
+        int clonedProducts = productRepository.copyProducts(
+                sourceRestaurantId, targetRestaurantId, priceFactor, LocalDateTime.now());
+        int clonedCategories = restaurantRepository.copyOfferedCategories(sourceRestaurantId, targetRestaurantId);
+
+        if (clonedProducts > 0) {
+            eventPublisher.publishEvent(new ProductsBulkChangedEvent(targetRestaurantId,
+                    productRepository.findProductsByRestaurantIdAndCategory(targetRestaurantId)));
+        }
+        log.info("Carta copiada del restaurante {} al {}: {} productos y {} categorías nuevas",
+                sourceRestaurantId, targetRestaurantId, clonedProducts, clonedCategories);
+        return new MenuCloneResultDto(sourceRestaurantId, targetRestaurantId, clonedProducts, clonedCategories);
     }
 
     @Override
@@ -201,6 +331,7 @@ public class ProductServiceImpl implements IProductService {
     public void deleteProduct(Long prd_id) {
         log.info("Solicitud recibida para eliminar el producto con ID: {}", prd_id);
         Product product = productRepository.findById(prd_id)
+                .filter(ProductServiceImpl::ofActiveRestaurant)
                 .orElseThrow(() -> {
                     log.warn("Intento de eliminar producto no existente con ID: {}", prd_id);
                     return new ProductNotFoundException("Producto no encontrado con id: " + prd_id);
@@ -212,26 +343,22 @@ public class ProductServiceImpl implements IProductService {
             throw new UnauthorizedAccessException("No tienes permiso para eliminar este producto");
         }
         productRepository.deleteById(prd_id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(prd_id, product.getRestaurant().getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductSummaryResponseDto> findProductsByCategoryId(Long categoryId) {
-        log.info("Recuperando los producto de la categoria con ID {}", categoryId);
-        List<Product> products = productRepository.findProductsByCategoryId(categoryId);
-
-        if (products.isEmpty())  return Collections.emptyList();
+    public KeysetPageDto<ProductResponseDto> findProducts(ProductListingRequestDto listing) {
+        log.info("Recuperando una página de productos: {}", listing);
+        return findListingPage(null, null, listing, ProductListingRow::toResponseDto);
+    }
 
-        return products.stream()
-                .map(product -> new ProductSummaryResponseDto(
-                        product.getPrd_id(),
-                        product.getRestaurant().getId(),
-                        product.getCategory().getId(),
-                        product.getName(),
-                        product.getDescription(),
-                        product.getImage()
-                ))
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<ProductSummaryResponseDto> findProductsByCategoryId(Long categoryId,
+                                                                           ProductListingRequestDto listing) {
+        log.info("Recuperando los producto de la categoria con ID {}", categoryId);
+        return findListingPage(null, categoryId, listing, ProductListingRow::toSummaryDto);
     }
 
     @Override
@@ -247,43 +374,27 @@ public class ProductServiceImpl implements IProductService {
             log.warn("El nombre del producto es demasiado corto: {}", name);
             throw new IllegalArgumentException("El nombre del producto debe tener al menos 2 caracteres");
         }
-        return productRepository.findProductsByName(name)
-                .stream()
-                .map(product -> new ProductSummaryResponseDto(
-                        product.getPrd_id(),
-                        product.getRestaurant().getId(),
-                        product.getCategory().getId(),
-                        product.getName(),
-                        product.getDescription(),
-                        product.getImage()
-                ))
-                .collect(Collectors.toList());
+        String query = name;
+        return searchCacheService.findProductsByName(query)
+                .orElseGet(() -> productRepository.findProductsByName(query)
+                        .stream()
+                        .map(product -> new ProductSummaryResponseDto(
+                                product.getPrd_id(),
+                                product.getRestaurant().getId(),
+                                product.getCategory().getId(),
+                                product.getName(),
+                                product.getDescription(),
+                                product.getImage()
+                        ))
+                        .collect(Collectors.toList()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> findProductsByRestaurantId(Long restaurantId) {
+    public KeysetPageDto<ProductResponseDto> findProductsByRestaurantId(Long restaurantId,
+                                                                      ProductListingRequestDto listing) {
         log.info("Buscando productos del restaurante con ID: {}", restaurantId);
-
-        List<Product> products = productRepository.findProductsByRestaurantId(restaurantId);
-        if (products.isEmpty())  return Collections.emptyList();
-
-        return products.stream()
-                .map(product -> new ProductResponseDto(
-                        product.getPrd_id(),
-                        product.getRestaurant().getId(),
-                        product.getCategory().getId(),
-                        product.getName(),
-                        product.getDescription(),
-                        product.getPrice(),
-                        product.getImage(),
-                        product.getIsActive(),
-                        product.getQuantity(),
-                        product.getCategory().getName(),
-                        product.getRestaurant().getName(
-                        ))
-                )
-                .collect(Collectors.toList());
+        return findListingPage(restaurantId, null, listing, ProductListingRow::toResponseDto);
     }
 
     @Override
@@ -319,4 +430,47 @@ public class ProductServiceImpl implements IProductService {
         log.info("Se agruparon productos de {} categorías para el restaurante {}", finalResponse.size(), restaurantId);
         return finalResponse;
     }
-}
\ No newline at end of file
+
+    /**
+     * Lee una página del listado del catálogo en memoria o, si no está cargado, con una sola consulta
+     * proyectada a DTO. Se pide una fila más que el tamaño de página para saber si hay página siguiente
+     * sin contar el total.
+     */
+    private <T> KeysetPageDto<T> findListingPage(Long restaurantId, Long categoryId,
+                                                 ProductListingRequestDto listing,
+                                                 Function<ProductListingRow, T> mapper) {
+        ProductSort sort = ProductSort.from(listing.sort());
+        int pageSize = listing.limit() == null ? DEFAULT_PAGE_SIZE : Math.clamp(listing.limit(), 1, MAX_PAGE_SIZE);
+        if (listing.minPrice() != null && listing.maxPrice() != null
+                && listing.minPrice().compareTo(listing.maxPrice()) > 0) {
+            log.warn("Rango de precios inválido: {} - {}", listing.minPrice(), listing.maxPrice());
+            throw new BadRequestException("El precio mínimo no puede ser mayor que el precio máximo");
+        }
+
+        KeysetCursor cursor = listing.cursor() != null && !listing.cursor().isBlank()
+                ? KeysetCursor.decode(listing.cursor(), sort.name()) : null;
+        Object afterKey = cursor == null ? null : sort.parseKey(cursor.key());
+        Long afterId = cursor == null ? null : cursor.id();
+
+        ProductRepositoryCustom.ListingFilter filter = new ProductRepositoryCustom.ListingFilter(
+                restaurantId, categoryId, Boolean.TRUE.equals(listing.activeOnly()),
+                listing.minPrice(), listing.maxPrice());
+        // Se sirve desde el catálogo en memoria; solo se consulta la base de datos si aún no está cargado
+        List<ProductListingRow> rows = catalogService.findListingPage(filter, sort, afterKey, afterId, pageSize + 1)
+                .orElseGet(() -> productRepository.findListingPage(filter, sort, afterKey, afterId, pageSize + 1));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ProductListingRow last = rows.getLast();
+            nextCursor = new KeysetCursor(sort.name(), sort.keyOf(last), last.prd_id()).encode();
+        }
+        log.info("Página de {} productos recuperada (orden {}, hay más: {})", rows.size(), sort, nextCursor != null);
+        return new KeysetPageDto<>(rows.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    // Los productos de un restaurante dado de baja se tratan como inexistentes, igual que en los listados
+    private static boolean ofActiveRestaurant(Product product) {
+        return product.getRestaurant() == null || Boolean.TRUE.equals(product.getRestaurant().getIsActive());
+    }
+}
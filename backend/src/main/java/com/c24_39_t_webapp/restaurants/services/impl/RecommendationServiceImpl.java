@@ -0,0 +1,198 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.OrderLineProjection;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.OrderPlacedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.index.CoOccurrenceIndex;
+import com.c24_39_t_webapp.restaurants.repository.OrderDetailsRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Recomendaciones "se suele pedir junto con" a partir de los detalles de pedido.
+ * <p>
+ * - El modelo ({@link CoOccurrenceIndex}) se reconstruye al arrancar y cada noche
+ * (propiedad app.recommendations.rebuild-cron) leyendo las líneas de pedido de cada restaurante en
+ * paralelo (app.recommendations.rebuild-parallelism hilos).
+ * - Entre reconstrucciones se actualiza con cada pedido confirmado (evento tras el commit).
+ * - Cada producto guarda como mucho app.recommendations.neighbors-per-product vecinos.
+ * - Las consultas no tocan la base de datos: el modelo y los datos de producto salen de memoria
+ * (catálogo en memoria); solo si el catálogo aún no está cargado se leen los productos recomendados.
+ */
+@Slf4j
+@Service
+public class RecommendationServiceImpl implements IRecommendationService {
+
+    static final int DEFAULT_LIMIT = 5;
+    static final int MAX_LIMIT = 20;
+
+    private final OrderDetailsRepository orderDetailsRepository;
+    private final ProductRepository productRepository;
+    private final ICatalogService catalogService;
+    private final int neighborsPerProduct;
+    private final int rebuildParallelism;
+
+    private volatile CoOccurrenceIndex model;
+    // Serializa los pedidos entrantes con la publicación de un modelo reconstruido
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Pedidos recibidos mientras se reconstruye el modelo; se reaplican si la reconstrucción no los leyó
+    private List<OrderPlacedEvent> pendingDuringRebuild;
+
+    public RecommendationServiceImpl(OrderDetailsRepository orderDetailsRepository,
+                                     ProductRepository productRepository,
+                                     ICatalogService catalogService,
+                                     @Value("${app.recommendations.neighbors-per-product:20}") int neighborsPerProduct,
+                                     @Value("${app.recommendations.rebuild-parallelism:4}") int rebuildParallelism) {
+        this.orderDetailsRepository = orderDetailsRepository;
+        this.productRepository = productRepository;
+        this.catalogService = catalogService;
+        this.neighborsPerProduct = Math.max(neighborsPerProduct, MAX_LIMIT);
+        this.rebuildParallelism = Math.max(rebuildParallelism, 1);
+        this.model = new CoOccurrenceIndex(this.neighborsPerProduct);
+    }
+
+    @Override
+    public List<ProductResponseDto> findFrequentlyOrderedTogether(Long productId, Integer limit) {
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        // Se piden todos los vecinos guardados para poder descartar los inactivos o eliminados
+        List<Long> candidates = model.top(productId, neighborsPerProduct).stream()
+                .map(CoOccurrenceIndex.CoOccurrence::productId)
+                .toList();
+        if (candidates.isEmpty()) return List.of();
+
+        List<ProductListingRow> rows = catalogService.findProductsByIds(candidates)
+                .orElseGet(() -> inCandidateOrder(candidates, productRepository.findListingRowsByIds(candidates)));
+        List<ProductResponseDto> recommended = rows.stream()
+                .filter(row -> Boolean.TRUE.equals(row.isActive()))
+                .limit(effectiveLimit)
+                .map(ProductListingRow::toResponseDto)
+                .collect(Collectors.toList());
+        log.debug("{} productos recomendados junto al producto {}", recommended.size(), productId);
+        return recommended;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildModel();
+    }
+
+    @Scheduled(cron = "${app.recommendations.rebuild-cron:0 30 3 * * *}")
+    public void nightlyRebuild() {
+        rebuildModel();
+    }
+
+    @Override
+    public void rebuildModel() {
+        writeLock.lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                log.info("Ya hay una reconstrucción del modelo de recomendaciones en curso.");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        CoOccurrenceIndex rebuilt = null;
+        Map<Long, Set<Long>> ordersRead = new ConcurrentHashMap<>();
+        try {
+            long start = System.nanoTime();
+            List<Long> restaurantIds = orderDetailsRepository.findRestaurantIdsWithOrderLines();
+            CoOccurrenceIndex merged = new CoOccurrenceIndex(neighborsPerProduct);
+            try (ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism)) {
+                List<Future<CoOccurrenceIndex>> parts = restaurantIds.stream()
+                        .map(restaurantId -> executor.submit(() -> buildRestaurant(restaurantId, ordersRead)))
+                        .toList();
+                for (Future<CoOccurrenceIndex> part : parts) {
+                    merged.putAll(part.get());
+                }
+            }
+            rebuilt = merged;
+            log.info("Modelo de recomendaciones reconstruido para {} restaurantes y {} productos ({} KB) en {} ms",
+                    restaurantIds.size(), rebuilt.size(), rebuilt.estimatedBytes() / 1024,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Reconstrucción del modelo de recomendaciones interrumpida, se mantiene el anterior");
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Error reconstruyendo el modelo de recomendaciones, se mantiene el anterior", e);
+        } finally {
+            writeLock.lock();
+            try {
+                if (rebuilt != null) {
+                    for (OrderPlacedEvent event : pendingDuringRebuild) {
+                        Set<Long> read = ordersRead.get(event.restaurantId());
+                        if (read == null || !read.contains(event.orderId())) rebuilt.recordOrder(event.productIds());
+                    }
+                    model = rebuilt;
+                }
+            } finally {
+                pendingDuringRebuild = null;
+                writeLock.unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        writeLock.lock();
+        try {
+            model.recordOrder(event.productIds());
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(event);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) model.remove(event.productId());
+    }
+
+    /**
+     * Cuenta los pares de un restaurante. Los productos de un restaurante no aparecen en pedidos de otro,
+     * así que los modelos parciales se pueden unir sin mezclar contadores.
+     */
+    private CoOccurrenceIndex buildRestaurant(Long restaurantId, Map<Long, Set<Long>> ordersRead) {
+        Map<Long, List<Long>> productsByOrder = new LinkedHashMap<>();
+        for (OrderLineProjection line : orderDetailsRepository.findOrderLinesByRestaurantId(restaurantId)) {
+            productsByOrder.computeIfAbsent(line.orderId(), id -> new ArrayList<>()).add(line.productId());
+        }
+        ordersRead.put(restaurantId, productsByOrder.keySet());
+        return CoOccurrenceIndex.build(productsByOrder.values(), neighborsPerProduct);
+    }
+
+    private static List<ProductListingRow> inCandidateOrder(List<Long> candidates, List<ProductListingRow> rows) {
+        Map<Long, ProductListingRow> byId = rows.stream()
+                .collect(Collectors.toMap(ProductListingRow::prd_id, Function.identity()));
+        return candidates.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
+import com.c24_39_t_webapp.restaurants.utils.ETags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Categorías y tipos de cocina precargados en memoria ({@link ReferenceDataSnapshot}).
+ * <p>
+ * - Se cargan al arrancar y se recargan enteros tras el commit de un alta o baja de categoría. Los listados,
+ * las búsquedas por ID y las validaciones de alta de productos y restaurantes se resuelven sin consultar la base
+ * de datos.
+ * - La instantánea se publica en un campo volatile: los lectores no se bloquean nunca y las recargas se serializan.
+ * - Un ID que no está en la instantánea se comprueba con una consulta por clave primaria; solo si existe (alta hecha
+ * por SQL, como los tipos de cocina) se recarga. Un ID inexistente no provoca recargas.
+ */
+@Slf4j
+@Service
+public class ReferenceDataServiceImpl implements IReferenceDataService {
+
+    private final CategoryRepository categoryRepository;
+    private final RestaurantCuisineRepository cuisineRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong versions = new AtomicLong();
+    private volatile ReferenceDataSnapshot snapshot = ReferenceDataSnapshot.EMPTY;
+
+    public ReferenceDataServiceImpl(CategoryRepository categoryRepository,
+                                    RestaurantCuisineRepository cuisineRepository,
+                                    ObjectMapper objectMapper) {
+        this.categoryRepository = categoryRepository;
+        this.cuisineRepository = cuisineRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ReferenceDataSnapshot snapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public Optional<CategoryResponseDto> findCategory(Long id) {
+        Optional<CategoryResponseDto> category = snapshot.category(id);
+        if (category.isPresent() || id == null || !categoryRepository.existsById(id)) return category;
+        log.info("Categoría {} no estaba en la instantánea de datos de referencia; recargando", id);
+        refresh();
+        return snapshot.category(id);
+    }
+
+    @Override
+    public Optional<CuisineResponseDto> findCuisine(Long id) {
+        Optional<CuisineResponseDto> cuisine = snapshot.cuisine(id);
+        if (cuisine.isPresent() || id == null || !cuisineRepository.existsById(id)) return cuisine;
+        log.info("Tipo de cocina {} no estaba en la instantánea de datos de referencia; recargando", id);
+        refresh();
+        return snapshot.cuisine(id);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refresh() {
+        long start = System.nanoTime();
+        List<CategoryResponseDto> categories = categoryRepository.findAll().stream()
+                .map(category -> new CategoryResponseDto(category.getId(), category.getName(), category.getDescription()))
+                .sorted(Comparator.comparing(CategoryResponseDto::ctg_id))
+                .toList();
+        List<CuisineResponseDto> cuisines = cuisineRepository.findAll().stream()
+                .map(cuisine -> new CuisineResponseDto(cuisine.getId(), cuisine.getName()))
+                .sorted(Comparator.comparing(CuisineResponseDto::id))
+                .toList();
+        snapshot = new ReferenceDataSnapshot(
+                versions.incrementAndGet(),
+                categories, etagOf(categories),
+                cuisines, etagOf(cuisines),
+                byId(categories, CategoryResponseDto::ctg_id),
+                byId(cuisines, CuisineResponseDto::id));
+        log.info("Datos de referencia cargados (versión {}): {} categorías, {} tipos de cocina en {} ms",
+                snapshot.version(), categories.size(), cuisines.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refresh();
+    }
+
+    private String etagOf(List<?> body) {
+        try {
+            return ETags.of(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudieron serializar los datos de referencia", e);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> values, Function<T, Long> id) {
+        return values.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity()));
+    }
+}
@@ -1,35 +1,22 @@
 package com.c24_39_t_webapp.restaurants.services.impl;
 
 import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
-import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
-import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
 import com.c24_39_t_webapp.restaurants.services.IRestaurantCuisineService;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class RestaurantCuisineServiceImpl implements IRestaurantCuisineService {
 
-//    @Autowired
-    private final RestaurantCuisineRepository cuisineRepository;
+    // Los tipos de cocina se sirven desde la instantánea de datos de referencia, sin consultar la base de datos
+    private final IReferenceDataService referenceDataService;
 
     @Override
-    @Transactional(readOnly = true)
     public List<CuisineResponseDto> findAll() {
-        List<RestaurantCuisine> cuisines = cuisineRepository.findAll();
-        if(cuisines.isEmpty()) return Collections.emptyList();
-
-        return cuisines.stream()
-                .map(cuisineEntity -> new CuisineResponseDto(
-                        cuisineEntity.getId(),
-                        cuisineEntity.getName()
-                ))
-                .collect(Collectors.toList());
+        return referenceDataService.snapshot().cuisines();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IImageService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantDeactivationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Limpieza en segundo plano tras la baja de un restaurante.
+ * <p>
+ * - La baja solo marca el restaurante como inactivo; este servicio desactiva después sus productos en tramos
+ * de tamaño fijo, cada uno en su propia transacción, para no bloquear el catálogo con una transacción enorme.
+ * - Cada tramo publica un {@link ProductsBulkChangedEvent}, con el que las cachés e índices en memoria
+ * descartan esos productos tras el commit.
+ * - Al terminar se barren las imágenes: las de restaurantes inactivos ya no cuentan como referencias.
+ * - Las bajas se procesan de una en una en un único hilo; al arrancar se reanudan las que quedaron a medias.
+ */
+@Slf4j
+@Service
+public class RestaurantDeactivationServiceImpl implements IRestaurantDeactivationService {
+
+    private final ProductRepository productRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final IImageService imageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("desactivacion-restaurantes").daemon().factory());
+
+    public RestaurantDeactivationServiceImpl(ProductRepository productRepository,
+                                             RestaurantRepository restaurantRepository,
+                                             IImageService imageService,
+                                             ApplicationEventPublisher eventPublisher,
+                                             TransactionTemplate transactionTemplate,
+                                             @Value("${app.restaurants.deactivation-chunk-size:500}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.imageService = imageService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int deactivateContent(Long restaurantId) {
+        long start = System.nanoTime();
+        int deactivated = 0;
+        int chunks = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> deactivateChunk(restaurantId));
+            if (updated == null || updated == 0) break;
+            deactivated += updated;
+            chunks++;
+        }
+        int deletedImages = imageService.sweepUnreferenced();
+        log.info("Baja del restaurante {} completada: {} productos desactivados en {} tramos, {} imágenes borradas, {} ms",
+                restaurantId, deactivated, chunks, deletedImages, (System.nanoTime() - start) / 1_000_000);
+        return deactivated;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        List<Long> pending = restaurantRepository.findInactiveIdsWithActiveProducts();
+        if (pending.isEmpty()) return;
+        log.info("Reanudando la desactivación de {} restaurantes dados de baja", pending.size());
+        pending.forEach(this::submit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) submit(event.restaurantId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long restaurantId) {
+        executor.execute(() -> {
+            try {
+                deactivateContent(restaurantId);
+            } catch (RuntimeException e) {
+                // Los tramos ya confirmados se conservan; el resto se reanuda en el próximo arranque
+                log.error("Error desactivando el contenido del restaurante {}", restaurantId, e);
+            }
+        });
+    }
+
+    // Un tramo: los siguientes productos activos del restaurante, con un único UPDATE
+    private int deactivateChunk(Long restaurantId) {
+        List<Long> productIds = productRepository.findActiveIdsByRestaurantId(restaurantId, PageRequest.of(0, chunkSize));
+        if (productIds.isEmpty()) return 0;
+        int updated = productRepository.bulkUpdate(restaurantId, productIds,
+                new ProductRepositoryCustom.BulkChange(null, null, null, false, LocalDateTime.now()));
+        eventPublisher.publishEvent(new ProductsBulkChangedEvent(restaurantId,
+                productRepository.findProductDtosByRestaurantIdAndIds(restaurantId, productIds)));
+        log.debug("Restaurante {}: desactivados {} productos", restaurantId, updated);
+        return updated;
+    }
+}
@@ -0,0 +1,112 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantPageResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantPageService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.services.IReviewService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Página de un restaurante en una sola llamada (GET /api/restaurant/{id}/page).
+ * <p>
+ * - El restaurante se lee una vez; si no existe, la petición termina en 404 sin lanzar nada más.
+ * - Carta, categorías y resumen de reseñas no dependen entre sí: se piden en paralelo, cada una en su hilo
+ * virtual y sin volver a leer el restaurante. La carta sale de la caché de cartas (JSON ya serializado).
+ * - Todas las secciones comparten un plazo de app.restaurant-page.branch-timeout desde el reparto; la que
+ * falla o no termina a tiempo se cancela y la página se devuelve sin ella, indicándolo en unavailableSections.
+ */
+@Slf4j
+@Service
+public class RestaurantPageServiceImpl implements IRestaurantPageService {
+
+    static final int LATEST_REVIEWS = 5;
+    static final String MENU = "menu";
+    static final String CATEGORIES = "categories";
+    static final String REVIEWS = "reviews";
+
+    private final IRestaurantService restaurantService;
+    private final IMenuCacheService menuCacheService;
+    private final IReviewService reviewService;
+    private final RestaurantRepository restaurantRepository;
+    private final Duration branchTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RestaurantPageServiceImpl(IRestaurantService restaurantService,
+                                     IMenuCacheService menuCacheService,
+                                     IReviewService reviewService,
+                                     RestaurantRepository restaurantRepository,
+                                     @Value("${app.restaurant-page.branch-timeout:PT2S}") Duration branchTimeout) {
+        this.restaurantService = restaurantService;
+        this.menuCacheService = menuCacheService;
+        this.reviewService = reviewService;
+        this.restaurantRepository = restaurantRepository;
+        this.branchTimeout = branchTimeout;
+    }
+
+    @Override
+    public RestaurantPageResponseDto getPage(Long restaurantId) {
+        long start = System.nanoTime();
+        RestaurantResponseDto restaurant = restaurantService.findById(restaurantId);
+
+        // El plazo empieza en el reparto: una lectura lenta del restaurante no consume el de las secciones
+        long deadline = System.nanoTime() + branchTimeout.toNanos();
+        Future<String> menu = executor.submit(() ->
+                new String(menuCacheService.getMenu(restaurantId).body(), StandardCharsets.UTF_8));
+        Future<List<CategoryResponseDto>> categories = executor.submit(() ->
+                restaurantRepository.findOfferedCategoryDtos(restaurantId));
+        Future<ReviewSummaryResponseDto> reviews = executor.submit(() ->
+                reviewService.getReviewSummary(restaurantId, LATEST_REVIEWS));
+
+        List<String> unavailable = new ArrayList<>();
+        RestaurantPageResponseDto page = new RestaurantPageResponseDto(
+                restaurant,
+                await(MENU, menu, deadline, restaurantId, unavailable),
+                await(CATEGORIES, categories, deadline, restaurantId, unavailable),
+                await(REVIEWS, reviews, deadline, restaurantId, unavailable),
+                List.copyOf(unavailable));
+        log.info("Página del restaurante {} montada en {} ms; secciones no disponibles: {}",
+                restaurantId, (System.nanoTime() - start) / 1_000_000, unavailable);
+        return page;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Espera una sección hasta el plazo común; si falla o no llega a tiempo se cancela y queda a null
+    private <T> T await(String section, Future<T> future, long deadline, Long restaurantId, List<String> unavailable) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("La sección {} del restaurante {} no terminó en {}", section, restaurantId, branchTimeout);
+        } catch (ExecutionException e) {
+            log.warn("Error obteniendo la sección {} del restaurante {}", section, restaurantId, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrumpida la espera de la sección {} del restaurante {}", section, restaurantId);
+        }
+        future.cancel(true);
+        unavailable.add(section);
+        return null;
+    }
+}
@@ -1,24 +1,45 @@
 package com.c24_39_t_webapp.restaurants.services.impl;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesReplaceDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantDirectoryRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantDirectoryRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.OfferedCategoriesResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantCardResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.exception.UserNotFoundException;
 import com.c24_39_t_webapp.restaurants.models.Category;
+import com.c24_39_t_webapp.restaurants.models.OpeningInterval;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
 import com.c24_39_t_webapp.restaurants.repository.UserRepository;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
 import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
 import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.utils.BatchIds;
+import com.c24_39_t_webapp.restaurants.utils.KeysetCursor;
+import com.c24_39_t_webapp.restaurants.utils.OpeningHoursParser;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -26,7 +47,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,15 +58,23 @@ import java.util.stream.Collectors;
 @Transactional
 public class RestaurantServiceImpl implements IRestaurantService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final RestaurantRepository restaurantRepository;
     private final UserRepository userRepository;
     private final ICategoryService categoryService;
     private final RestaurantCuisineRepository cuisineRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ICatalogService catalogService;
+    private final IOpeningHoursService openingHoursService;
+    private final IReferenceDataService referenceDataService;
     @PersistenceContext
     private EntityManager entityManager;
 
     public RestaurantResponseDto registerRestaurant(RestaurantRequestDto restaurantRequestDto, String email) {
         log.info("Intentando crear un restaurante para el usuario con email: {}", email);
+        validateLocation(restaurantRequestDto);
 
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
@@ -55,8 +86,8 @@ public class RestaurantServiceImpl implements IRestaurantService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No tienes permisos para crear un Restaurante");
         }
 
-        RestaurantCuisine cuisine = cuisineRepository.findById(restaurantRequestDto.cuisineId())
-                .orElseThrow(() -> { // <<< Maneja el Optional<> devuelto por findById
+        CuisineResponseDto cuisine = referenceDataService.findCuisine(restaurantRequestDto.cuisineId())
+                .orElseThrow(() -> { // <<< Maneja el Optional<> de los datos de referencia en memoria
                     log.warn("Tipo de cocina con ID {} no encontrado.", restaurantRequestDto.cuisineId());
                     return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de cocina inválido: ID "
                             + restaurantRequestDto.cuisineId());
@@ -65,13 +96,16 @@ public class RestaurantServiceImpl implements IRestaurantService {
         restaurant.setUserEntity(user);
         restaurant.setName(restaurantRequestDto.name());
         restaurant.setDescription(restaurantRequestDto.description());
-        restaurant.setCuisine(cuisine);
+        restaurant.setCuisine(cuisineRepository.getReferenceById(cuisine.id()));
         restaurant.setPhone(restaurantRequestDto.phone());
         restaurant.setEmail(restaurantRequestDto.email());
         restaurant.setAddress(restaurantRequestDto.address());
         restaurant.setOpeningHours(restaurantRequestDto.openingHours());
+        restaurant.getOpeningSchedule().addAll(openingScheduleOf(restaurantRequestDto));
         restaurant.setLogo(restaurantRequestDto.logo());
         restaurant.setCoverImage(restaurantRequestDto.coverImage());
+        restaurant.setLatitude(restaurantRequestDto.latitude());
+        restaurant.setLongitude(restaurantRequestDto.longitude());
 
 //        restaurantRepository.save(restaurant);
 //        log.info("¡Restaurante con ID {} creado Exitosamente!", restaurant.getId());
@@ -80,7 +114,7 @@ public class RestaurantServiceImpl implements IRestaurantService {
 
         log.info("¡Restaurante persistido! ID asignado por BD debería ser: {}", restaurant.getId());
 
-        return new RestaurantResponseDto(
+        RestaurantResponseDto responseDto = new RestaurantResponseDto(
                 restaurant.getId(),
                 user.getId(),
                 restaurant.getName(),
@@ -91,15 +125,24 @@ public class RestaurantServiceImpl implements IRestaurantService {
                 restaurant.getOpeningHours(),
                 restaurant.getLogo(),
                 restaurant.getCoverImage(),
-                (cuisine != null) ? cuisine.getId() : null,
-                (cuisine != null) ? cuisine.getName() : null
+                (cuisine != null) ? cuisine.id() : null,
+                (cuisine != null) ? cuisine.name() : null,
+                restaurant.getLatitude(),
+                restaurant.getLongitude()
         );
+        eventPublisher.publishEvent(RestaurantChangedEvent.saved(responseDto));
+        return responseDto;
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<RestaurantResponseDto> findAll() {
-        List<Restaurant> restaurants = restaurantRepository.findAll();
+        Optional<List<RestaurantResponseDto>> cached = catalogService.findAllRestaurants();
+        if (cached.isPresent()) {
+            log.info("Se encontraron {} restaurantes en el catálogo en memoria", cached.get().size());
+            return cached.get();
+        }
+        List<Restaurant> restaurants = restaurantRepository.findAllActive();
 
         if (restaurants.isEmpty()) return Collections.emptyList();
         log.info("Se encontraron {} restaurantes", restaurants.size());
@@ -120,12 +163,30 @@ public class RestaurantServiceImpl implements IRestaurantService {
                             restaurant.getLogo(),
                             restaurant.getCoverImage(),
                             (cuisine != null) ? cuisine.getId() : null,
-                            (cuisine != null) ? cuisine.getName() : null
+                            (cuisine != null) ? cuisine.getName() : null,
+                            restaurant.getLatitude(),
+                            restaurant.getLongitude()
                     );
                 })
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Listado completo filtrado por horario con el índice en memoria; sin filtro equivale a {@link #findAll()}.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<RestaurantResponseDto> findAll(Boolean openNow, LocalDateTime openAt) {
+        Optional<LongPredicate> open = openingHoursService.openFilter(openNow, openAt);
+        List<RestaurantResponseDto> restaurants = findAll();
+        if (open.isEmpty()) return restaurants;
+        List<RestaurantResponseDto> openRestaurants = restaurants.stream()
+                .filter(restaurant -> open.get().test(restaurant.rst_id()))
+                .collect(Collectors.toList());
+        log.info("{} de {} restaurantes abiertos en el horario pedido", openRestaurants.size(), restaurants.size());
+        return openRestaurants;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public RestaurantResponseDto findById(Long id) {
@@ -136,6 +197,7 @@ public class RestaurantServiceImpl implements IRestaurantService {
             throw new RestaurantNotFoundException("El ID del restaurante no es válido " + id);
         }
         return restaurantRepository.findById(id)
+                .filter(Restaurant::getIsActive)
                 .map(restaurant -> {
                     RestaurantCuisine cuisine = restaurant.getCuisine();
 
@@ -151,7 +213,9 @@ public class RestaurantServiceImpl implements IRestaurantService {
                             restaurant.getLogo(),
                             restaurant.getCoverImage(),
                             (cuisine != null) ? cuisine.getId() : null,
-                            (cuisine != null) ? cuisine.getName() : null
+                            (cuisine != null) ? cuisine.getName() : null,
+                            restaurant.getLatitude(),
+                            restaurant.getLongitude()
                     );
                     log.info("DTO creado en findById ANTES de retornar: {}", dto);
                     return dto;
@@ -162,6 +226,54 @@ public class RestaurantServiceImpl implements IRestaurantService {
                 });
     }
 
+    /**
+     * Página del directorio: una sola consulta que proyecta restaurante, tipo de cocina y estadísticas
+     * precalculadas. Se lee una fila de más para saber si hay página siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPageDto<RestaurantCardResponseDto> findDirectory(RestaurantDirectoryRequestDto directory) {
+        log.info("Recuperando una página del directorio de restaurantes: {}", directory);
+        RestaurantSort sort = RestaurantSort.from(directory.sort());
+        int pageSize = directory.limit() == null ? DEFAULT_PAGE_SIZE : Math.clamp(directory.limit(), 1, MAX_PAGE_SIZE);
+
+        KeysetCursor cursor = directory.cursor() != null && !directory.cursor().isBlank()
+                ? KeysetCursor.decode(directory.cursor(), sort.name()) : null;
+        Object afterKey = cursor == null ? null : sort.parseKey(cursor.key());
+        Long afterId = cursor == null ? null : cursor.id();
+
+        List<RestaurantDirectoryRow> rows = restaurantRepository.findDirectoryPage(
+                directory.cuisineId(), sort, afterKey, afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            RestaurantDirectoryRow last = rows.getLast();
+            nextCursor = new KeysetCursor(sort.name(), sort.keyOf(last), last.rst_id()).encode();
+        }
+        log.info("Página de {} restaurantes recuperada (orden {}, hay más: {})", rows.size(), sort, nextCursor != null);
+        return new KeysetPageDto<>(rows.stream().map(RestaurantDirectoryRow::toCardDto).collect(Collectors.toList()),
+                nextCursor);
+    }
+
+    /**
+     * Resuelve varios restaurantes con una sola consulta IN. Los IDs no válidos o inexistentes se devuelven
+     * marcados como no encontrados.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponseDto<RestaurantResponseDto> findByIds(List<Long> ids) {
+        List<Long> requested = BatchIds.distinct(ids);
+        List<Long> lookup = requested.stream().filter(id -> id > 0).toList();
+        log.info("Buscando {} restaurantes por ID", requested.size());
+        List<RestaurantResponseDto> rows = lookup.isEmpty() ? List.of()
+                : restaurantRepository.findRestaurantDtosByIds(lookup);
+        BatchResponseDto<RestaurantResponseDto> result =
+                BatchResponseDto.inRequestOrder(requested, rows, RestaurantResponseDto::rst_id);
+        if (!result.missingIds().isEmpty()) log.debug("Restaurantes no encontrados: {}", result.missingIds());
+        return result;
+    }
+
     @Transactional
     @Override
     public RestaurantResponseDto updateRestaurant(RestaurantRequestDto restaurantRequestDto, Long rst_id) {
@@ -169,14 +281,16 @@ public class RestaurantServiceImpl implements IRestaurantService {
 //            throw new RestaurantNotFoundException("Restaurante no encontrado con id: " + rst_id);
 //        }
         log.info("Actualizando el restaurante con ID: {}", rst_id);
+        validateLocation(restaurantRequestDto);
         Restaurant newRestaurant = restaurantRepository.findById(rst_id)
+                .filter(Restaurant::getIsActive)
                 .orElseThrow(() -> {
                     log.warn("No se encontró un restaurante con ese ID para editar: {}", rst_id);
                     return new RestaurantNotFoundException(("No se encontró un restaurante con ese ID para editar: " + rst_id));
                 });
 
-        RestaurantCuisine cuisine = cuisineRepository.findById(restaurantRequestDto.cuisineId())
-                .orElseThrow(() -> { // <<< Maneja el Optional<> devuelto por findById
+        CuisineResponseDto cuisine = referenceDataService.findCuisine(restaurantRequestDto.cuisineId())
+                .orElseThrow(() -> { // <<< Maneja el Optional<> de los datos de referencia en memoria
                     log.warn("Tipo de cocina con ID {} no encontrado.", restaurantRequestDto.cuisineId());
                     return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de cocina inválido: ID "
                             + restaurantRequestDto.cuisineId());
@@ -190,18 +304,22 @@ public class RestaurantServiceImpl implements IRestaurantService {
 
         newRestaurant.setName(restaurantRequestDto.name());
         newRestaurant.setDescription(restaurantRequestDto.description());
-        newRestaurant.setCuisine(cuisine);
+        newRestaurant.setCuisine(cuisineRepository.getReferenceById(cuisine.id()));
         newRestaurant.setPhone(restaurantRequestDto.phone());
         newRestaurant.setEmail(restaurantRequestDto.email());
         newRestaurant.setAddress(restaurantRequestDto.address());
         newRestaurant.setOpeningHours(restaurantRequestDto.openingHours());
+        newRestaurant.getOpeningSchedule().clear();
+        newRestaurant.getOpeningSchedule().addAll(openingScheduleOf(restaurantRequestDto));
         newRestaurant.setLogo(restaurantRequestDto.logo());
         newRestaurant.setCoverImage(restaurantRequestDto.coverImage());
+        newRestaurant.setLatitude(restaurantRequestDto.latitude());
+        newRestaurant.setLongitude(restaurantRequestDto.longitude());
 
         Restaurant updatedRestaurant = restaurantRepository.save(newRestaurant);
 
         log.info("Restaurante actualizado exitosamente: {}", updatedRestaurant);
-        return new RestaurantResponseDto(
+        RestaurantResponseDto responseDto = new RestaurantResponseDto(
                 updatedRestaurant.getId(),
                 updatedRestaurant.getUserEntity().getId(),
                 updatedRestaurant.getName(),
@@ -212,25 +330,55 @@ public class RestaurantServiceImpl implements IRestaurantService {
                 updatedRestaurant.getOpeningHours(),
                 updatedRestaurant.getLogo(),
                 updatedRestaurant.getCoverImage(),
-                (cuisine != null) ? cuisine.getId() : null,
-                (cuisine != null) ? cuisine.getName() : null
+                (cuisine != null) ? cuisine.id() : null,
+                (cuisine != null) ? cuisine.name() : null,
+                updatedRestaurant.getLatitude(),
+                updatedRestaurant.getLongitude()
         );
+        eventPublisher.publishEvent(RestaurantChangedEvent.saved(responseDto));
+        return responseDto;
     }
 
+    /**
+     * Baja lógica: el restaurante se marca inactivo y deja de aparecer en los listados en cuanto se confirma.
+     * Sus productos, las cachés y las imágenes se limpian después, en segundo plano y por tramos
+     * (ver RestaurantDeactivationServiceImpl), así que la petición no espera por ellos.
+     */
     @Transactional
     @Override
     public void deleteById(Long id) {
-        if (!restaurantRepository.existsById(id)) {
-            throw new RestaurantNotFoundException("Restaurante no encontrado con id: " + id);
-        }
+        Restaurant restaurant = restaurantRepository.findById(id)
+                .filter(Restaurant::getIsActive)
+                .orElseThrow(() -> new RestaurantNotFoundException("Restaurante no encontrado con id: " + id));
         String authenticatedUsername = SecurityContextHolder.getContext().getAuthentication().getName();
-        UserEntity owner = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Dueño de restaurante no encontrado con ID: " + id));
-        if (!owner.getEmail().equals(authenticatedUsername /* && !SecurityUtils.isAdmin() */ )) { // Añadir lógica si admin puede ver
-            log.warn("Usuario {} intentando acceder a restaurantes del dueño {}", authenticatedUsername, id);
-            throw new UnauthorizedAccessException("No tienes permiso para ver los restaurantes de este dueño.");
+        UserEntity owner = restaurant.getUserEntity();
+        if (owner == null || !owner.getEmail().equals(authenticatedUsername)) {
+            log.warn("Usuario {} intentando dar de baja el restaurante {}", authenticatedUsername, id);
+            throw new UnauthorizedAccessException("No tienes permiso para eliminar este restaurante.");
+        }
+        restaurant.setIsActive(false);
+        restaurantRepository.save(restaurant);
+        log.info("Restaurante {} desactivado; sus productos se desactivarán en segundo plano", id);
+        eventPublisher.publishEvent(RestaurantChangedEvent.deleted(id));
+    }
+
+    // Las coordenadas son opcionales, pero un punto con solo una de ellas no se puede indexar
+    private static void validateLocation(RestaurantRequestDto restaurantRequestDto) {
+        if ((restaurantRequestDto.latitude() == null) != (restaurantRequestDto.longitude() == null)) {
+            log.warn("Coordenadas incompletas: latitud {} y longitud {}",
+                    restaurantRequestDto.latitude(), restaurantRequestDto.longitude());
+            throw new BadRequestException("La latitud y la longitud se deben indicar juntas");
         }
-        restaurantRepository.deleteById(id);
+    }
+
+    // Horario estructurado de la petición o, si no viene, el deducido del texto libre
+    private static List<OpeningInterval> openingScheduleOf(RestaurantRequestDto restaurantRequestDto) {
+        List<OpeningIntervalDto> schedule = restaurantRequestDto.openingSchedule() != null
+                ? restaurantRequestDto.openingSchedule()
+                : OpeningHoursParser.parse(restaurantRequestDto.openingHours());
+        return schedule.stream()
+                .map(interval -> new OpeningInterval(interval.day(), interval.opens(), interval.closes()))
+                .collect(Collectors.toList());
     }
 
 //    private Restaurant getRestaurantById(Long id) {
@@ -264,8 +412,9 @@ public class RestaurantServiceImpl implements IRestaurantService {
     @Override
     public Set<CategoryResponseDto> findByIdFetchingCategories(Long restaurantId) {
         log.info("Obteniendo las categorias de producto del restaurantes on id {}", restaurantId);
-        Restaurant restaurant = restaurantRepository.findByIdFetchingCategories(restaurantId).orElseThrow(() ->
-                new RestaurantNotFoundException(
+        Restaurant restaurant = restaurantRepository.findByIdFetchingCategories(restaurantId)
+                .filter(Restaurant::getIsActive)
+                .orElseThrow(() -> new RestaurantNotFoundException(
                         "Restaurante no encontrado con ID: " + restaurantId
                 ));
         log.info("Restaurante '{}' encontrado. Accediendo a sus categorías cargadas.", restaurant.getName());
@@ -291,24 +440,20 @@ public class RestaurantServiceImpl implements IRestaurantService {
     @Override
     public CategoryResponseDto addCategoryToRestaurant(Long restaurantId, CategoryRequestDto categoryInput) {
         log.info("Intentando asociar la categoría '{}' al restaurante con ID {}", categoryInput.name(), restaurantId);
+        // Antes de crear la categoría global: un restaurante dado de baja no puede añadir categorías
+        if (!restaurantRepository.existsByIdAndIsActiveTrue(restaurantId)) {
+            log.error("Restaurante con ID {} no encontrado al intentar añadir categoría.", restaurantId);
+            throw new RestaurantNotFoundException("Restaurante no encontrado con ID: " + restaurantId);
+        }
         Category categoryToAdd = categoryService.findOrCreateCategory(categoryInput);
-
-        Restaurant restaurant = restaurantRepository.findByIdFetchingCategories(restaurantId)
-                .orElseThrow(() -> {
-                    log.error("Restaurante con ID {} no encontrado al intentar añadir categoría.", restaurantId);
-                    return new RestaurantNotFoundException("Restaurante no encontrado con ID: " + restaurantId);
-                });
-        boolean added = restaurant.getOfferedCategories().add(categoryToAdd);
-
-        // Esto hará que JPA/Hibernate inserte la fila en la tabla categorias_restaurante
-        if (added) {
-            log.info("Asociando la categoría '{}' (ID: {}) al restaurante '{}' (ID: {})",
-                    categoryToAdd.getName(), categoryToAdd.getId(), restaurant.getName(), restaurant.getId());
-            restaurantRepository.save(restaurant);
-            log.info("Asociación guardada en tabla intermedia.");
+        // INSERT directo en categorias_restaurante: no se carga la colección de categorías del restaurante
+        int added = restaurantRepository.addOfferedCategories(restaurantId, List.of(categoryToAdd.getId()));
+        if (added > 0) {
+            log.info("Categoría '{}' (ID: {}) asociada al restaurante con ID {}",
+                    categoryToAdd.getName(), categoryToAdd.getId(), restaurantId);
         } else {
-            log.info("La categoría '{}' (ID: {}) ya estaba asociada al restaurante '{}' (ID: {}). No se requiere guardar.",
-                    categoryToAdd.getName(), categoryToAdd.getId(), restaurant.getName(), restaurant.getId());
+            log.info("La categoría '{}' (ID: {}) ya estaba asociada al restaurante con ID {}. No se requiere guardar.",
+                    categoryToAdd.getName(), categoryToAdd.getId(), restaurantId);
         }
         return new CategoryResponseDto(
                 categoryToAdd.getId(),
@@ -316,5 +461,79 @@ public class RestaurantServiceImpl implements IRestaurantService {
                 categoryToAdd.getDescription()
         );
     }
-}
 
+    /**
+     * Asocia y desasocia varias categorías de un restaurante con un DELETE y un INSERT ... SELECT sobre la tabla
+     * de unión, sin cargar la colección de categorías. Las asociaciones que ya existen se ignoran.
+     */
+    @Transactional
+    @Override
+    public OfferedCategoriesResultDto updateOfferedCategories(Long restaurantId, OfferedCategoriesUpdateDto update) {
+        Set<Long> toAdd = categoryIds(update.add());
+        Set<Long> toRemove = categoryIds(update.remove());
+        log.info("Actualizando las categorías del restaurante {}: {} a añadir, {} a quitar",
+                restaurantId, toAdd.size(), toRemove.size());
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos una categoría que añadir o quitar");
+        }
+        if (!Collections.disjoint(toAdd, toRemove)) {
+            throw new BadRequestException("Una misma categoría no puede añadirse y quitarse a la vez");
+        }
+        checkOwnedActiveRestaurant(restaurantId);
+
+        int removed = toRemove.isEmpty() ? 0 : restaurantRepository.removeOfferedCategories(restaurantId, toRemove);
+        int added = toAdd.isEmpty() ? 0 : restaurantRepository.addOfferedCategories(restaurantId, toAdd);
+        return offeredCategoriesResult(restaurantId, toAdd, added, removed);
+    }
+
+    /**
+     * Sustituye las categorías de un restaurante: borra las que no están en la lista e inserta las que faltan,
+     * con dos sentencias sobre la tabla de unión. Las que ya estaban asociadas no se tocan.
+     */
+    @Transactional
+    @Override
+    public OfferedCategoriesResultDto replaceOfferedCategories(Long restaurantId, OfferedCategoriesReplaceDto replace) {
+        Set<Long> wanted = categoryIds(replace.categoryIds());
+        log.info("Sustituyendo las categorías del restaurante {} por {} categorías", restaurantId, wanted.size());
+        checkOwnedActiveRestaurant(restaurantId);
+
+        int removed = wanted.isEmpty() ? restaurantRepository.removeAllOfferedCategories(restaurantId)
+                : restaurantRepository.removeOfferedCategoriesNotIn(restaurantId, wanted);
+        int added = wanted.isEmpty() ? 0 : restaurantRepository.addOfferedCategories(restaurantId, wanted);
+        return offeredCategoriesResult(restaurantId, wanted, added, removed);
+    }
+
+    // Solo lee el email del dueño: ni el restaurante ni sus categorías se cargan
+    private void checkOwnedActiveRestaurant(Long restaurantId) {
+        String ownerEmail = restaurantRepository.findActiveOwnerEmailById(restaurantId)
+                .orElseThrow(() -> {
+                    log.warn("Restaurante no encontrado con ID: {}", restaurantId);
+                    return new RestaurantNotFoundException("Restaurante no encontrado con ID: " + restaurantId);
+                });
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (!ownerEmail.equals(userEmail)) {
+            log.warn("Permiso denegado: Usuario {} intentando cambiar las categorías del restaurante {}",
+                    userEmail, restaurantId);
+            throw new UnauthorizedAccessException("No tienes permiso para cambiar las categorías de este restaurante");
+        }
+    }
+
+    private OfferedCategoriesResultDto offeredCategoriesResult(Long restaurantId, Set<Long> requested,
+                                                               int added, int removed) {
+        List<CategoryResponseDto> categories = restaurantRepository.findOfferedCategoryDtos(restaurantId);
+        Set<Long> offered = categories.stream().map(CategoryResponseDto::ctg_id).collect(Collectors.toSet());
+        List<Long> notFound = requested.stream().filter(id -> !offered.contains(id)).toList();
+        if (!notFound.isEmpty()) {
+            log.warn("{} categorías no existen y se ignoran para el restaurante {}: {}", notFound.size(), restaurantId, notFound);
+        }
+        log.info("Categorías del restaurante {} actualizadas: {} añadidas, {} quitadas, {} en total",
+                restaurantId, added, removed, categories.size());
+        return new OfferedCategoriesResultDto(added, removed, notFound, categories);
+    }
+
+    private static Set<Long> categoryIds(List<Long> ids) {
+        Set<Long> unique = ids == null ? new LinkedHashSet<>() : new LinkedHashSet<>(ids);
+        unique.remove(null);
+        return unique;
+    }
+}
@@ -0,0 +1,221 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.PriceAggregateRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ScoreCountRow;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ReviewChangedEvent;
+import com.c24_39_t_webapp.restaurants.models.RestaurantStats;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantStatsRepository;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene los agregados precalculados del directorio de restaurantes ({@link RestaurantStats}).
+ * <p>
+ * - Cada cambio de producto recalcula los agregados de su restaurante antes del commit, en la misma
+ * transacción (como las marcas de baja de la sincronización): el directorio nunca ve un cambio sin su agregado.
+ * - Un cambio de reseña no vuelve a agregar las reseñas: resta la puntuación anterior del histograma y suma la
+ * nueva, y de ahí salen el recuento, la suma y las medias. Si el histograma no cuadra se recalcula entero.
+ * - Ambos bloquean antes la fila de estadísticas, de modo que dos transacciones sobre el mismo restaurante
+ * se serializan y la segunda parte de los datos confirmados de la primera.
+ * - La media bayesiana pondera la media del restaurante con la media global de todas las reseñas, con un peso
+ * de app.ratings.prior-weight reseñas. La media global se recalcula con la reconciliación.
+ * - Al arrancar, y cada día (app.ratings.reconcile-cron), se recalculan todos desde las tablas de reseñas y
+ * productos, lo que crea las filas que falten y corrige cualquier descuadre de los incrementos.
+ */
+@Slf4j
+@Service
+public class RestaurantStatsServiceImpl implements IRestaurantStatsService {
+
+    private final RestaurantStatsRepository statsRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final int priorWeight;
+    private final double defaultPriorMean;
+
+    // Media global de las reseñas usada como referencia de la media bayesiana
+    private volatile double priorMean;
+
+    public RestaurantStatsServiceImpl(RestaurantStatsRepository statsRepository,
+                                      RestaurantRepository restaurantRepository,
+                                      @Value("${app.ratings.prior-weight:10}") int priorWeight,
+                                      @Value("${app.ratings.default-prior-mean:5.0}") double defaultPriorMean) {
+        this.statsRepository = statsRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.priorWeight = Math.max(priorWeight, 0);
+        this.defaultPriorMean = defaultPriorMean;
+        this.priorMean = defaultPriorMean;
+    }
+
+    @Override
+    @Transactional
+    public void refresh(Long restaurantId) {
+        RestaurantStats stats = statsRepository.findByIdForUpdate(restaurantId)
+                .orElseGet(() -> new RestaurantStats(restaurantId));
+        applyReviews(stats, histogram(statsRepository.countScores(restaurantId)));
+        applyPrices(stats, statsRepository.aggregatePrices(restaurantId).orElse(null));
+        statsRepository.save(stats);
+        log.debug("Estadísticas del restaurante {} recalculadas: {} reseñas, media {}",
+                restaurantId, stats.getReviewCount(), stats.getAverageScore());
+    }
+
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.ratings.reconcile-cron:0 15 4 * * *}")
+    public void rebuildAll() {
+        long start = System.nanoTime();
+        Map<Long, long[]> histograms = new HashMap<>();
+        for (ScoreCountRow row : statsRepository.countAllScores()) {
+            addToHistogram(histograms.computeIfAbsent(row.restaurantId(), id -> new long[RestaurantStats.MAX_SCORE + 1]), row);
+        }
+        priorMean = globalMean(histograms);
+        Map<Long, PriceAggregateRow> prices = statsRepository.aggregateAllPrices().stream()
+                .collect(Collectors.toMap(PriceAggregateRow::restaurantId, Function.identity()));
+        Map<Long, RestaurantStats> existing = statsRepository.findAll().stream()
+                .collect(Collectors.toMap(RestaurantStats::getRestaurantId, Function.identity()));
+
+        List<RestaurantStats> updated = new ArrayList<>();
+        int drifted = 0;
+        for (Long restaurantId : restaurantRepository.findAllIds()) {
+            RestaurantStats stats = existing.remove(restaurantId);
+            if (stats == null) stats = new RestaurantStats(restaurantId);
+            long[] histogram = histograms.getOrDefault(restaurantId, new long[RestaurantStats.MAX_SCORE + 1]);
+            if (!Arrays.equals(stats.getScoreHistogram(), histogram)) drifted++;
+            applyReviews(stats, histogram);
+            applyPrices(stats, prices.get(restaurantId));
+            updated.add(stats);
+        }
+        statsRepository.saveAll(updated);
+        // Lo que queda son estadísticas de restaurantes eliminados
+        List<RestaurantStats> orphans = List.copyOf(existing.values());
+        statsRepository.deleteAll(orphans);
+        if (drifted > 0) {
+            log.warn("{} restaurantes tenían el histograma de reseñas descuadrado; corregido", drifted);
+        }
+        log.info("Estadísticas de {} restaurantes recalculadas ({} huérfanas eliminadas, media global {}) en {} ms",
+                updated.size(), orphans.size(), priorMean, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        // Solo ha cambiado el comentario
+        if (Objects.equals(event.previousScore(), event.score())) return;
+
+        Optional<RestaurantStats> locked = statsRepository.findByIdForUpdate(event.restaurantId());
+        if (locked.isEmpty()) {
+            refresh(event.restaurantId());
+            return;
+        }
+        RestaurantStats stats = locked.get();
+        long[] current = stats.getScoreHistogram();
+        long[] histogram = current != null && current.length == RestaurantStats.MAX_SCORE + 1 ? current.clone() : null;
+        if (histogram == null || !shift(histogram, event.previousScore(), -1) || !shift(histogram, event.score(), 1)) {
+            log.warn("Histograma de reseñas del restaurante {} descuadrado; se recalcula", event.restaurantId());
+            refresh(event.restaurantId());
+            return;
+        }
+        applyReviews(stats, histogram);
+        statsRepository.save(stats);
+        log.debug("Reseña {} del restaurante {}: puntuación {} -> {}, {} reseñas, media {}", event.reviewId(),
+                event.restaurantId(), event.previousScore(), event.score(), stats.getReviewCount(), stats.getAverageScore());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        refresh(event.restaurantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        refresh(event.restaurantId());
+    }
+
+    // La baja de un restaurante es lógica: sus estadísticas se conservan y el directorio lo filtra por activo
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.changeType() == EntityChangeType.SAVED) refresh(event.restaurantId());
+    }
+
+    private void applyReviews(RestaurantStats stats, long[] histogram) {
+        long reviewCount = 0;
+        long scoreSum = 0;
+        for (int score = 0; score < histogram.length; score++) {
+            reviewCount += histogram[score];
+            scoreSum += score * histogram[score];
+        }
+        stats.setScoreHistogram(histogram);
+        stats.setReviewCount(reviewCount);
+        stats.setScoreSum(scoreSum);
+        stats.setAverageScore(reviewCount == 0 ? null : round(scoreSum / (double) reviewCount));
+        stats.setBayesianScore(reviewCount == 0 ? null
+                : round((priorWeight * priorMean + scoreSum) / (priorWeight + reviewCount)));
+    }
+
+    private static void applyPrices(RestaurantStats stats, PriceAggregateRow prices) {
+        long productCount = prices == null ? 0 : prices.productCount();
+        stats.setProductCount(productCount);
+        stats.setMinPrice(productCount == 0 ? null : prices.minPrice());
+        stats.setAveragePrice(productCount == 0 ? null
+                : prices.priceSum().divide(BigDecimal.valueOf(productCount), 2, RoundingMode.HALF_UP));
+    }
+
+    private double globalMean(Map<Long, long[]> histograms) {
+        long reviewCount = 0;
+        long scoreSum = 0;
+        for (long[] histogram : histograms.values()) {
+            for (int score = 0; score < histogram.length; score++) {
+                reviewCount += histogram[score];
+                scoreSum += score * histogram[score];
+            }
+        }
+        return reviewCount == 0 ? defaultPriorMean : scoreSum / (double) reviewCount;
+    }
+
+    private static long[] histogram(List<ScoreCountRow> rows) {
+        long[] histogram = new long[RestaurantStats.MAX_SCORE + 1];
+        rows.forEach(row -> addToHistogram(histogram, row));
+        return histogram;
+    }
+
+    // Las puntuaciones fuera de rango no deberían existir (la entidad las valida); se ignoran
+    private static void addToHistogram(long[] histogram, ScoreCountRow row) {
+        if (row.score() != null && row.score() >= 0 && row.score() <= RestaurantStats.MAX_SCORE) {
+            histogram[row.score()] += row.reviewCount();
+        }
+    }
+
+    private static boolean shift(long[] histogram, Integer score, int delta) {
+        if (score == null) return true;
+        if (score < 0 || score > RestaurantStats.MAX_SCORE || histogram[score] + delta < 0) return false;
+        histogram[score] += delta;
+        return true;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
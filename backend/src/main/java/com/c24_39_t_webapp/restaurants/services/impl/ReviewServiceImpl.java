@@ -1,26 +1,41 @@
 package com.c24_39_t_webapp.restaurants.services.impl;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.ReviewListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewListingRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ReviewRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewSort;
 import com.c24_39_t_webapp.restaurants.dtos.request.UpdateReviewDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RatingSummaryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ReviewChangedEvent;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.exception.ResourceNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UserNotFoundException;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import com.c24_39_t_webapp.restaurants.models.RestaurantStats;
 import com.c24_39_t_webapp.restaurants.models.Review;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantStatsRepository;
 import com.c24_39_t_webapp.restaurants.repository.ReviewRepository;
 import com.c24_39_t_webapp.restaurants.repository.UserRepository;
 import com.c24_39_t_webapp.restaurants.services.IReviewService;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
+import com.c24_39_t_webapp.restaurants.utils.KeysetCursor;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,9 +44,15 @@ import java.util.stream.Collectors;
 @Transactional
 public class ReviewServiceImpl implements IReviewService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final RestaurantRepository restaurantRepository;
     private final ReviewRepository reviewRepository;
+    private final RestaurantStatsRepository statsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IVerifiedPurchaseService verifiedPurchaseService;
 
     @Override
     @Transactional
@@ -43,17 +64,25 @@ public class ReviewServiceImpl implements IReviewService {
                         "No se encontró el usuario buscado"));
 
         Restaurant restaurant = restaurantRepository.findById(
-                reviewDto.restaurantId()).orElseThrow(() -> new RestaurantNotFoundException(
+                reviewDto.restaurantId()).filter(Restaurant::getIsActive).orElseThrow(() -> new RestaurantNotFoundException(
                 "No se encontró el restaurante buscado"));
 
+        if (!verifiedPurchaseService.isVerifiedCustomer(restaurant.getId(), user.getId())) {
+            log.warn("El usuario {} no tiene pedidos entregados en el restaurante {}", user.getId(), restaurant.getId());
+            throw new UnauthorizedAccessException(
+                    "Solo puedes reseñar restaurantes en los que tengas algún pedido entregado");
+        }
+
         log.info("Creando la entidad al asignar Valores");
         Review review = new Review();
         review.setComments(reviewDto.comments());
         review.setScore(reviewDto.score());
         review.setRestaurant(restaurant);
         review.setUser(user);
+        review.setUserName(user.getName());
 
         reviewRepository.save(review);
+        eventPublisher.publishEvent(ReviewChangedEvent.created(review.getId(), restaurant.getId(), review.getScore()));
         log.info("Reseña creada con exito!");
         return new ReviewResponseDto(
                 restaurant.getId(),
@@ -61,31 +90,73 @@ public class ReviewServiceImpl implements IReviewService {
                 user.getName(),
                 review.getScore(),
                 review.getComments(),
-                review.getCreatedAt()
+                review.getCreatedAt(),
+                true
         );
     }
 
     @Override
-    public List<ReviewResponseDto> getAllRestaurantReviews(Long restaurantId) {
-        log.info("Obteniendo la Entidad para la busqueda de la Reseña, rstId: {}", restaurantId);
-        Restaurant restaurant =
-                restaurantRepository.findById(restaurantId).orElseThrow(() -> new RestaurantNotFoundException("El " +
-                        "restaurante con id enviado no existe"));
-
-        log.info("Obteniendo la lista de reseñas del repositorio");
-        List<Review> rewiewList = reviewRepository.findByRestaurant(restaurant);
-
-        log.info("Convirtiendo las las reseñas en dto´s ");
-        return rewiewList.stream().map(
-                review -> new ReviewResponseDto(
-                        review.getRestaurant().getId(),
-                        review.getUser().getId(),
-                        review.getUser().getName(),
-                        review.getScore(),
-                        review.getComments(),
-                        review.getCreatedAt()
-                )
-        ).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public KeysetPageDto<ReviewResponseDto> findRestaurantReviews(Long restaurantId, ReviewListingRequestDto listing) {
+        log.info("Recuperando una página de reseñas del restaurante {}: {}", restaurantId, listing);
+        if (!restaurantRepository.existsByIdAndIsActiveTrue(restaurantId)) {
+            throw new RestaurantNotFoundException("El restaurante con id enviado no existe");
+        }
+        ReviewSort sort = ReviewSort.from(listing.sort());
+        int pageSize = listing.limit() == null ? DEFAULT_PAGE_SIZE : Math.clamp(listing.limit(), 1, MAX_PAGE_SIZE);
+
+        KeysetCursor cursor = listing.cursor() != null && !listing.cursor().isBlank()
+                ? KeysetCursor.decode(listing.cursor(), sort.name()) : null;
+        Object afterKey = cursor == null ? null : sort.parseKey(cursor.key());
+        Long afterId = cursor == null ? null : cursor.id();
+
+        List<ReviewListingRow> rows = reviewRepository.findRestaurantReviewPage(
+                restaurantId, sort, afterKey, afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ReviewListingRow last = rows.getLast();
+            nextCursor = new KeysetCursor(sort.name(), sort.keyOf(last), last.id()).encode();
+        }
+        log.info("Página de {} reseñas recuperada (orden {}, hay más: {})", rows.size(), sort, nextCursor != null);
+        LongPredicate verified = verifiedPurchaseService.verifiedCustomers(restaurantId);
+        return new KeysetPageDto<>(rows.stream()
+                .map(row -> row.toResponseDto(row.userId() != null && verified.test(row.userId())))
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewSummaryResponseDto getReviewSummary(Long restaurantId, int latest) {
+        log.info("Obteniendo el resumen de reseñas del restaurante {}", restaurantId);
+        Optional<RestaurantStats> stats = statsRepository.findById(restaurantId);
+        List<ReviewResponseDto> latestReviews = latest < 1
+                ? List.of()
+                : markVerified(restaurantId, reviewRepository.findLatestByRestaurantId(restaurantId, PageRequest.of(0, latest)));
+        return new ReviewSummaryResponseDto(
+                stats.map(RestaurantStats::getReviewCount).orElse(0L),
+                stats.map(RestaurantStats::getAverageScore).orElse(null),
+                latestReviews
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingSummaryResponseDto getRatingSummary(Long restaurantId) {
+        log.info("Obteniendo el resumen de valoraciones del restaurante {}", restaurantId);
+        if (!restaurantRepository.existsByIdAndIsActiveTrue(restaurantId)) {
+            throw new RestaurantNotFoundException("No se encontró el restaurante buscado");
+        }
+        // Las estadísticas se crean al arrancar y con cada cambio; si aún no existen, no hay reseñas
+        RestaurantStats stats = statsRepository.findById(restaurantId).orElseGet(() -> new RestaurantStats(restaurantId));
+        return new RatingSummaryResponseDto(
+                restaurantId,
+                stats.getReviewCount(),
+                stats.getAverageScore(),
+                stats.getBayesianScore(),
+                Arrays.stream(stats.getScoreHistogram()).boxed().toList()
+        );
     }
 
     @Override
@@ -103,7 +174,9 @@ public class ReviewServiceImpl implements IReviewService {
                 (user != null) ? user.getName() : null,
                 review.getScore(),
                 review.getComments(),
-                review.getCreatedAt()
+                review.getCreatedAt(),
+                (restaurant != null && user != null)
+                        ? verifiedPurchaseService.isVerifiedCustomer(restaurant.getId(), user.getId()) : null
         );
     }
 
@@ -120,6 +193,7 @@ public class ReviewServiceImpl implements IReviewService {
         validateUserPermissions(review, userId);
 
         log.info("Actualizando datos");
+        Integer previousScore = review.getScore();
         Optional.ofNullable(updateReviewDto.comments())
                 .ifPresent(review::setComments);
         Optional.ofNullable(updateReviewDto.score())
@@ -130,13 +204,19 @@ public class ReviewServiceImpl implements IReviewService {
         log.info("Reseña actualizada");
         Restaurant restaurant = review.getRestaurant();
         UserEntity user = review.getUser();
+        if (restaurant != null) {
+            eventPublisher.publishEvent(ReviewChangedEvent.updated(review.getId(), restaurant.getId(),
+                    previousScore, review.getScore()));
+        }
         return new ReviewResponseDto(
                 (restaurant != null) ? restaurant.getId() : null,
                 (user != null) ? user.getId() : null,
                 (user != null) ? user.getName() : null,
                 review.getScore(),
                 review.getComments(),
-                review.getCreatedAt()
+                review.getCreatedAt(),
+                (restaurant != null && user != null)
+                        ? verifiedPurchaseService.isVerifiedCustomer(restaurant.getId(), user.getId()) : null
         );
     }
 
@@ -152,9 +232,21 @@ public class ReviewServiceImpl implements IReviewService {
 
         log.warn("Eliminando la reseña");
         reviewRepository.deleteById(reviewId);
+        if (review.getRestaurant() != null) {
+            eventPublisher.publishEvent(ReviewChangedEvent.deleted(reviewId, review.getRestaurant().getId(),
+                    review.getScore()));
+        }
         log.info("Reseña eliminada");
     }
 
+    private List<ReviewResponseDto> markVerified(Long restaurantId, List<ReviewResponseDto> reviews) {
+        if (reviews.isEmpty()) return reviews;
+        LongPredicate verified = verifiedPurchaseService.verifiedCustomers(restaurantId);
+        return reviews.stream()
+                .map(review -> review.withVerifiedPurchase(review.userId() != null && verified.test(review.userId())))
+                .toList();
+    }
+
     private static void validateUserPermissions(Review review, Long userId) {
         if (!review.getId().equals(userId)) {
             throw new UnauthorizedAccessException("El usuario no tiene permisos para el cambio");
@@ -0,0 +1,160 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.cache.SearchResultCache;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SearchCacheStatsResponseDto;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
+import com.c24_39_t_webapp.restaurants.utils.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Caché de la búsqueda de productos por nombre (GET /api/product/byName).
+ * <p>
+ * - La clave es la consulta normalizada (sin espacios sobrantes, en minúsculas y sin acentos), así que
+ * "Pizza ", "pizza" y "PIZZA" comparten entrada. Los resultados se calculan sobre el catálogo en memoria,
+ * comparando nombres también normalizados, en lugar de repetir el LIKE en la base de datos.
+ * - La capacidad está acotada (app.search-cache.max-entries); ver {@link SearchResultCache} para la
+ * política LRU con admisión por frecuencia.
+ * - Tras el commit de un cambio solo se invalidan las entradas afectadas: las que contienen el producto o
+ * el restaurante modificado y las que el nuevo nombre del producto pasa a cumplir.
+ * - Las consultas más populares (app.search-cache.top-queries) se recalculan en segundo plano después de
+ * una invalidación, de modo que el tráfico siguiente las encuentra en caché. Se hace en una tarea programada
+ * y no en el propio listener para no alargar la petición que hizo el cambio y para leer el catálogo cuando
+ * ya lo ha aplicado.
+ * - Cada invalidación incrementa la generación; un resultado calculado antes no se guarda.
+ */
+@Slf4j
+@Service
+public class SearchCacheServiceImpl implements ISearchCacheService {
+
+    private final ICatalogService catalogService;
+    private final int topQueries;
+
+    private final SearchResultCache<List<ProductSummaryResponseDto>> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean rewarmPending = new AtomicBoolean();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong rewarms = new AtomicLong();
+
+    public SearchCacheServiceImpl(ICatalogService catalogService,
+                                  @Value("${app.search-cache.max-entries:1000}") int maxEntries,
+                                  @Value("${app.search-cache.top-queries:50}") int topQueries) {
+        this.catalogService = catalogService;
+        this.topQueries = topQueries;
+        this.cache = new SearchResultCache<>(maxEntries, maxEntries * 10);
+    }
+
+    @Override
+    public Optional<List<ProductSummaryResponseDto>> findProductsByName(String name) {
+        String key = TextNormalizer.normalize(name);
+        List<ProductSummaryResponseDto> cached = cache.get(key);
+        if (cached != null) return Optional.of(cached);
+        return load(key);
+    }
+
+    @Override
+    public SearchCacheStatsResponseDto getStats() {
+        SearchResultCache.Stats stats = cache.stats();
+        List<SearchCacheStatsResponseDto.TopQuery> top = cache.topKeys(topQueries).stream()
+                .map(k -> new SearchCacheStatsResponseDto.TopQuery(k.key(), k.frequency()))
+                .toList();
+        return new SearchCacheStatsResponseDto(stats.hits(), stats.misses(), stats.hitRatio(), stats.evictions(),
+                stats.rejections(), invalidations.get(), rewarms.get(), stats.size(), stats.maxEntries(), top);
+    }
+
+    @Scheduled(initialDelayString = "${app.search-cache.rewarm-interval:PT2S}",
+            fixedDelayString = "${app.search-cache.rewarm-interval:PT2S}")
+    public void rewarmIfInvalidated() {
+        if (rewarmPending.getAndSet(false)) rewarmPopularQueries();
+    }
+
+    @Override
+    public void rewarmPopularQueries() {
+        int rewarmed = 0;
+        for (SearchResultCache.KeyFrequency top : cache.topKeys(topQueries)) {
+            if (cache.contains(top.key())) continue;
+            if (load(top.key()).isEmpty()) return;
+            rewarmed++;
+        }
+        if (rewarmed > 0) {
+            rewarms.addAndGet(rewarmed);
+            log.debug("Recalculadas {} consultas populares de la caché de búsqueda", rewarmed);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) {
+            invalidateProducts(Set.of(event.productId()), List.of());
+            return;
+        }
+        invalidateProducts(Set.of(event.productId()), List.of(event.product()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        Set<Long> ids = event.products().stream().map(ProductResponseDto::prd_id).collect(Collectors.toSet());
+        invalidateProducts(ids, event.products());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        // Los resultados solo incluyen el ID del restaurante: un cambio de nombre no los afecta
+        if (event.changeType() != EntityChangeType.DELETED) return;
+        invalidate((key, products) -> products.stream()
+                .anyMatch(p -> p.restaurantId().equals(event.restaurantId())));
+    }
+
+    private Optional<List<ProductSummaryResponseDto>> load(String key) {
+        long loadGeneration = generation.get();
+        Optional<List<ProductSummaryResponseDto>> loaded = catalogService.findProductsByName(key)
+                .map(rows -> rows.stream().map(ProductListingRow::toSummaryDto).toList());
+        loaded.ifPresent(products -> {
+            // Comprobar y guardar de forma atómica respecto a invalidate(), que sincroniza sobre la caché
+            synchronized (cache) {
+                if (generation.get() == loadGeneration) cache.put(key, products);
+            }
+        });
+        return loaded;
+    }
+
+    private void invalidateProducts(Set<Long> productIds, Collection<ProductResponseDto> saved) {
+        List<String> newNames = saved.stream().map(ProductResponseDto::name).toList();
+        invalidate((key, products) ->
+                products.stream().anyMatch(p -> productIds.contains(p.prd_id()))
+                        || newNames.stream().anyMatch(name -> TextNormalizer.containsNormalized(name, key)));
+    }
+
+    private void invalidate(BiPredicate<String, List<ProductSummaryResponseDto>> affected) {
+        List<String> removed;
+        synchronized (cache) {
+            generation.incrementAndGet();
+            removed = cache.removeIf(affected);
+        }
+        if (removed.isEmpty()) return;
+        invalidations.addAndGet(removed.size());
+        rewarmPending.set(true);
+        log.debug("Invalidadas {} entradas de la caché de búsqueda: {}", removed.size(), removed);
+    }
+}
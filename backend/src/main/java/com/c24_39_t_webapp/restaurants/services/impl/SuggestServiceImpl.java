@@ -0,0 +1,236 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.IdCountProjection;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SuggestionResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.index.Suggestion;
+import com.c24_39_t_webapp.restaurants.index.SuggestionTrie;
+import com.c24_39_t_webapp.restaurants.index.SuggestionType;
+import com.c24_39_t_webapp.restaurants.repository.OrderDetailsRepository;
+import com.c24_39_t_webapp.restaurants.repository.OrderRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ISuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Autocompletado de productos, restaurantes, tipos de cocina y categorías.
+ * <p>
+ * - El índice completo se construye al arrancar y se reconstruye periódicamente
+ * (propiedad app.suggest.rebuild-interval) para recalcular la popularidad.
+ * - Entre reconstrucciones se parchea de forma incremental con los eventos de producto, restaurante y
+ * categoría, que solo llegan tras el commit de la transacción. Una categoría borrada sale del índice en
+ * ese momento, sin esperar a la siguiente reconstrucción.
+ * - Las lecturas toman el read lock, así que muchas búsquedas pueden ir en paralelo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestServiceImpl implements ISuggestService {
+
+    static final int DEFAULT_LIMIT = 8;
+
+    private final ProductRepository productRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final OrderDetailsRepository orderDetailsRepository;
+    private final OrderRepository orderRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SuggestionTrie trie = new SuggestionTrie();
+    // Cambios recibidos mientras se construye un índice nuevo; se reaplican antes de publicarlo
+    private List<Consumer<SuggestionTrie>> pendingDuringRebuild;
+
+    @Override
+    public List<SuggestionResponseDto> suggest(String query, Integer limit) {
+        int effectiveLimit = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, SuggestionTrie.MAX_SUGGESTIONS);
+        List<Suggestion> suggestions;
+        lock.readLock().lock();
+        try {
+            suggestions = trie.suggest(query, effectiveLimit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions.stream()
+                .map(s -> new SuggestionResponseDto(s.type().name(), s.id(), s.text(), s.restaurantId(), s.weight()))
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildIndex();
+    }
+
+    @Scheduled(initialDelayString = "${app.suggest.rebuild-interval:PT30M}",
+            fixedDelayString = "${app.suggest.rebuild-interval:PT30M}")
+    public void scheduledRebuild() {
+        rebuildIndex();
+    }
+
+    @Override
+    public void rebuildIndex() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                log.info("Ya hay una reconstrucción del índice de sugerencias en curso.");
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SuggestionTrie rebuilt = null;
+        try {
+            long start = System.nanoTime();
+            rebuilt = buildTrie();
+            log.info("Índice de sugerencias reconstruido con {} entradas en {} ms",
+                    rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Error reconstruyendo el índice de sugerencias, se mantiene el anterior", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    for (Consumer<SuggestionTrie> change : pendingDuringRebuild) {
+                        change.accept(rebuilt);
+                    }
+                    trie = rebuilt;
+                }
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        applyChange(index -> {
+            if (event.changeType() == EntityChangeType.DELETED) {
+                index.remove(Suggestion.key(SuggestionType.PRODUCT, event.productId()));
+                return;
+            }
+            putProduct(index, event.product());
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        List<ProductResponseDto> products = List.copyOf(event.products());
+        applyChange(index -> products.forEach(product -> putProduct(index, product)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        applyChange(index -> {
+            String key = Suggestion.key(SuggestionType.RESTAURANT, event.restaurantId());
+            if (event.changeType() == EntityChangeType.DELETED) {
+                index.remove(key);
+                return;
+            }
+            RestaurantResponseDto restaurant = event.restaurant();
+            long weight = index.get(key).map(Suggestion::weight).orElse(0L);
+            index.put(new Suggestion(SuggestionType.RESTAURANT, restaurant.rst_id(), restaurant.name(), null, weight));
+            if (restaurant.cuisineId() != null) {
+                putIfAbsent(index, new Suggestion(SuggestionType.CUISINE, restaurant.cuisineId(),
+                        restaurant.cuisineName(), null, 1));
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Las altas entran con su primer producto (putProduct); aquí solo importan las bajas
+        if (event.changeType() != EntityChangeType.DELETED) return;
+        applyChange(index -> index.remove(Suggestion.key(SuggestionType.CATEGORY, event.categoryId())));
+    }
+
+    private void applyChange(Consumer<SuggestionTrie> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(trie);
+            if (pendingDuringRebuild != null) pendingDuringRebuild.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void putProduct(SuggestionTrie index, ProductResponseDto product) {
+        String key = Suggestion.key(SuggestionType.PRODUCT, product.prd_id());
+        if (!Boolean.TRUE.equals(product.isActive())) {
+            index.remove(key);
+            return;
+        }
+        long weight = index.get(key).map(Suggestion::weight).orElse(0L);
+        index.put(new Suggestion(SuggestionType.PRODUCT, product.prd_id(), product.name(),
+                product.restaurantId(), weight));
+        putIfAbsent(index, new Suggestion(SuggestionType.CATEGORY, product.categoryId(),
+                product.categoryName(), null, 1));
+    }
+
+    private static void putIfAbsent(SuggestionTrie index, Suggestion suggestion) {
+        if (index.get(suggestion.key()).isEmpty()) index.put(suggestion);
+    }
+
+    /**
+     * Construye un índice nuevo con 4 consultas (productos, restaurantes y dos agregados de popularidad).
+     * Pesos: unidades vendidas por producto, pedidos por restaurante, productos por categoría y
+     * restaurantes por tipo de cocina.
+     */
+    private SuggestionTrie buildTrie() {
+        List<ProductResponseDto> products = productRepository.findAllProductDtos();
+        List<RestaurantResponseDto> restaurants = restaurantRepository.findAllRestaurantDtos();
+        Map<Long, Long> unitsSold = toMap(orderDetailsRepository.sumQuantityGroupByProduct());
+        Map<Long, Long> ordersByRestaurant = toMap(orderRepository.countGroupByRestaurant());
+
+        SuggestionTrie rebuilt = new SuggestionTrie();
+        Map<Long, Suggestion> categories = new HashMap<>();
+        for (ProductResponseDto product : products) {
+            if (!Boolean.TRUE.equals(product.isActive())) continue;
+            rebuilt.put(new Suggestion(SuggestionType.PRODUCT, product.prd_id(), product.name(),
+                    product.restaurantId(), unitsSold.getOrDefault(product.prd_id(), 0L)));
+            categories.merge(product.categoryId(),
+                    new Suggestion(SuggestionType.CATEGORY, product.categoryId(), product.categoryName(), null, 1),
+                    (current, one) -> current.withWeight(current.weight() + 1));
+        }
+        Map<Long, Suggestion> cuisines = new HashMap<>();
+        for (RestaurantResponseDto restaurant : restaurants) {
+            rebuilt.put(new Suggestion(SuggestionType.RESTAURANT, restaurant.rst_id(), restaurant.name(), null,
+                    ordersByRestaurant.getOrDefault(restaurant.rst_id(), 0L)));
+            if (restaurant.cuisineId() == null) continue;
+            cuisines.merge(restaurant.cuisineId(),
+                    new Suggestion(SuggestionType.CUISINE, restaurant.cuisineId(), restaurant.cuisineName(), null, 1),
+                    (current, one) -> current.withWeight(current.weight() + 1));
+        }
+        categories.values().forEach(rebuilt::put);
+        cuisines.values().forEach(rebuilt::put);
+        return rebuilt;
+    }
+
+    private static Map<Long, Long> toMap(List<IdCountProjection> rows) {
+        if (rows.isEmpty()) return Collections.emptyMap();
+        return rows.stream().collect(Collectors.toMap(IdCountProjection::id, IdCountProjection::count));
+    }
+}
@@ -0,0 +1,189 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductChangeRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantChangeRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.CatalogChangesResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CatalogChangesResponseDto.DeletedEntity;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.models.Category;
+import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
+import com.c24_39_t_webapp.restaurants.models.SyncEntityType;
+import com.c24_39_t_webapp.restaurants.models.Tombstone;
+import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.repository.TombstoneRepository;
+import com.c24_39_t_webapp.restaurants.services.ISyncService;
+import com.c24_39_t_webapp.restaurants.utils.SyncWatermark;
+import com.c24_39_t_webapp.restaurants.utils.SyncWatermark.Position;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sincronización incremental del catálogo a partir de las fechas de actualización y de las marcas de baja.
+ * <p>
+ * - Cada tipo de entidad es un flujo ordenado por (fecha de actualización, ID) que se lee con paginación
+ * por clave desde la posición guardada en la marca de agua, usando los índices (fecha, ID) de cada tabla.
+ * - Solo se entregan filas con fecha hasta "ahora menos app.sync.commit-lag": una transacción que aún no
+ * ha hecho commit puede tener una fecha anterior a la de filas ya visibles, y sin ese margen el cliente
+ * avanzaría su marca de agua por delante de ella y nunca la recibiría.
+ * - Eso solo vale si entre la fecha de una fila y el commit pasa menos que ese margen. Las escrituras largas
+ * (la importación de productos, hasta {@value ProductImportServiceImpl#MAX_ROWS} filas en una transacción)
+ * vuelven a fechar sus filas con un UPDATE justo antes del commit; cualquier escritura nueva que dure más que
+ * el margen debe hacer lo mismo.
+ * - Las bajas se registran como marcas ({@link Tombstone}) en la misma transacción que el borrado (fase
+ * BEFORE_COMMIT) y se purgan pasado app.sync.tombstone-retention. Una marca de agua más antigua que ese
+ * periodo ya no garantiza ver todas las bajas, así que se responde desde cero con reset = true.
+ */
+@Slf4j
+@Service
+public class SyncServiceImpl implements ISyncService {
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 2000;
+
+    private final ProductRepository productRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final CategoryRepository categoryRepository;
+    private final RestaurantCuisineRepository cuisineRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final Duration commitLag;
+    private final Duration tombstoneRetention;
+
+    public SyncServiceImpl(ProductRepository productRepository,
+                           RestaurantRepository restaurantRepository,
+                           CategoryRepository categoryRepository,
+                           RestaurantCuisineRepository cuisineRepository,
+                           TombstoneRepository tombstoneRepository,
+                           @Value("${app.sync.commit-lag:PT2S}") Duration commitLag,
+                           @Value("${app.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.productRepository = productRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.categoryRepository = categoryRepository;
+        this.cuisineRepository = cuisineRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.commitLag = commitLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogChangesResponseDto getChanges(String since, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime upTo = now.minus(commitLag);
+
+        SyncWatermark from = since == null || since.isBlank() ? SyncWatermark.initial() : SyncWatermark.decode(since);
+        boolean reset = since == null || since.isBlank();
+        if (!reset && from.deletions().at().isBefore(now.minus(tombstoneRetention))) {
+            log.info("Marca de agua anterior a la retención de bajas ({}); se sincroniza desde cero", from.deletions().at());
+            from = SyncWatermark.initial();
+            reset = true;
+        }
+        Pageable page = PageRequest.ofSize(size + 1);
+
+        Chunk<ProductChangeRow> products = Chunk.of(from.products(), upTo, size,
+                p -> productRepository.findChangedSince(p.at(), p.id(), upTo, page),
+                ProductChangeRow::updatedAt, ProductChangeRow::prd_id);
+        Chunk<RestaurantChangeRow> restaurants = Chunk.of(from.restaurants(), upTo, size,
+                p -> restaurantRepository.findChangedSince(p.at(), p.id(), upTo, page),
+                RestaurantChangeRow::updatedAt, RestaurantChangeRow::rst_id);
+        Chunk<Category> categories = Chunk.of(from.categories(), upTo, size,
+                p -> categoryRepository.findChangedSince(p.at(), p.id(), upTo, page),
+                Category::getUpdatedAt, Category::getId);
+        Chunk<RestaurantCuisine> cuisines = Chunk.of(from.cuisines(), upTo, size,
+                p -> cuisineRepository.findChangedSince(p.at(), p.id(), upTo, page),
+                RestaurantCuisine::getUpdatedAt, RestaurantCuisine::getId);
+        // En una carga inicial las bajas anteriores no interesan: el cliente parte de una réplica vacía
+        Chunk<Tombstone> deletions = reset
+                ? new Chunk<>(List.of(), Position.upTo(upTo), false)
+                : Chunk.of(from.deletions(), upTo, size,
+                p -> tombstoneRepository.findDeletedSince(p.at(), p.id(), upTo, page),
+                Tombstone::getDeletedAt, Tombstone::getId);
+
+        SyncWatermark next = new SyncWatermark(products.next(), restaurants.next(), categories.next(),
+                cuisines.next(), deletions.next());
+        boolean hasMore = products.hasMore() || restaurants.hasMore() || categories.hasMore()
+                || cuisines.hasMore() || deletions.hasMore();
+        log.info("Sincronización: {} productos, {} restaurantes, {} categorías, {} tipologías y {} bajas (hasMore={})",
+                products.rows().size(), restaurants.rows().size(), categories.rows().size(),
+                cuisines.rows().size(), deletions.rows().size(), hasMore);
+
+        return new CatalogChangesResponseDto(
+                next.encode(),
+                hasMore,
+                reset,
+                products.rows().stream().map(ProductChangeRow::toResponseDto).toList(),
+                restaurants.rows().stream().map(RestaurantChangeRow::toResponseDto).toList(),
+                categories.rows().stream()
+                        .map(c -> new CategoryResponseDto(c.getId(), c.getName(), c.getDescription()))
+                        .toList(),
+                cuisines.rows().stream().map(c -> new CuisineResponseDto(c.getId(), c.getName())).toList(),
+                deletions.rows().stream().map(t -> new DeletedEntity(t.getEntityType(), t.getEntityId())).toList());
+    }
+
+    @Override
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 0 4 * * *}")
+    public int purgeExpiredTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) log.info("Purgadas {} marcas de baja anteriores a {}", purged, tombstoneRetention);
+        return purged;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) recordDeletion(SyncEntityType.PRODUCT, event.productId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) recordDeletion(SyncEntityType.RESTAURANT, event.restaurantId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) recordDeletion(SyncEntityType.CATEGORY, event.categoryId());
+    }
+
+    private void recordDeletion(SyncEntityType type, Long id) {
+        tombstoneRepository.save(new Tombstone(type, id));
+        log.debug("Registrada la baja de {} con ID {}", type, id);
+    }
+
+    /**
+     * Filas de un flujo leídas en esta respuesta y posición siguiente.
+     * Se piden limit + 1 filas: si llega la fila extra, el flujo queda a medias y la posición es la última
+     * fila entregada; si no, el flujo está completo hasta upTo.
+     */
+    private record Chunk<T>(List<T> rows, Position next, boolean hasMore) {
+        static <T> Chunk<T> of(Position from, LocalDateTime upTo, int limit, Function<Position, List<T>> fetch,
+                               Function<T, LocalDateTime> at, Function<T, Long> id) {
+            List<T> rows = fetch.apply(from);
+            if (rows.size() <= limit) {
+                // Nunca retroceder: la posición recibida puede ser posterior a upTo si cambió commit-lag
+                return new Chunk<>(rows, from.at().isAfter(upTo) ? from : Position.upTo(upTo), false);
+            }
+            List<T> delivered = rows.subList(0, limit);
+            T last = delivered.getLast();
+            return new Chunk<>(delivered, new Position(at.apply(last), id.apply(last)), true);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.TrendingWindow;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.TrendingRestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.EntityChangeType;
+import com.c24_39_t_webapp.restaurants.events.OrderPlacedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.index.SlidingWindowCounter;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.ITrendingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Restaurantes en tendencia: los que más pedidos confirmados reciben en la última hora o en el último día.
+ * <p>
+ * - Cada pedido confirmado (evento tras el commit) suma uno en un contador de ventana deslizante por
+ * restaurante ({@link SlidingWindowCounter}), uno por ventana.
+ * - El ranking de cada ventana se recalcula con un montículo de tamaño app.trending.top-k cada
+ * app.trending.refresh-interval y se publica como lista inmutable; la consulta solo lee esa lista, sin tocar
+ * la base de datos. Los restaurantes salen del catálogo en memoria, así que las bajas desaparecen del ranking.
+ * - Los contadores no se reconstruyen desde la tabla de pedidos: si app.trending.snapshot-file tiene valor,
+ * se guardan en ese fichero cada app.trending.snapshot-interval y al parar, y se restauran al arrancar.
+ */
+@Slf4j
+@Service
+public class TrendingServiceImpl implements ITrendingService {
+
+    static final int DEFAULT_LIMIT = 10;
+
+    /**
+     * Contenido del fichero de instantánea: los contadores de cada ventana.
+     */
+    public record Snapshot(long savedAt, Map<TrendingWindow, List<SlidingWindowCounter.Entry>> windows) {}
+
+    private final ICatalogService catalogService;
+    private final RestaurantRepository restaurantRepository;
+    private final ObjectMapper objectMapper;
+    private final int topK;
+    private final Path snapshotFile;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<TrendingWindow, SlidingWindowCounter> counters = new EnumMap<>(TrendingWindow.class);
+    private volatile Map<TrendingWindow, List<TrendingRestaurantResponseDto>> rankings = emptyRankings();
+
+    public TrendingServiceImpl(ICatalogService catalogService,
+                               RestaurantRepository restaurantRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${app.trending.top-k:100}") int topK,
+                               @Value("${app.trending.snapshot-file:}") String snapshotFile) {
+        this.catalogService = catalogService;
+        this.restaurantRepository = restaurantRepository;
+        this.objectMapper = objectMapper;
+        this.topK = Math.max(topK, DEFAULT_LIMIT);
+        this.snapshotFile = snapshotFile == null || snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            counters.put(window, new SlidingWindowCounter(window.bucketWidth(), window.buckets()));
+        }
+    }
+
+    @Override
+    public List<TrendingRestaurantResponseDto> findTrending(String window, Integer limit) {
+        TrendingWindow trendingWindow = TrendingWindow.from(window);
+        int size = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, topK);
+        List<TrendingRestaurantResponseDto> ranking = rankings.get(trendingWindow);
+        log.debug("Ranking de tendencia {}: {} restaurantes, se devuelven como mucho {}", trendingWindow, ranking.size(), size);
+        return ranking.size() <= size ? ranking : ranking.subList(0, size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startup() {
+        loadSnapshot();
+        refreshRankings();
+    }
+
+    @Scheduled(initialDelayString = "${app.trending.refresh-interval:PT1M}",
+            fixedDelayString = "${app.trending.refresh-interval:PT1M}")
+    public void scheduledRefresh() {
+        refreshRankings();
+    }
+
+    @Override
+    public void refreshRankings() {
+        long start = System.nanoTime();
+        Map<Long, RestaurantResponseDto> restaurants = catalogService.findAllRestaurants()
+                .orElseGet(restaurantRepository::findAllRestaurantDtos).stream()
+                .collect(Collectors.toMap(RestaurantResponseDto::rst_id, Function.identity()));
+        long now = clock.millis();
+        Map<TrendingWindow, List<TrendingRestaurantResponseDto>> refreshed = new EnumMap<>(TrendingWindow.class);
+        counters.forEach((window, counter) -> refreshed.put(window, counter.top(topK, now, restaurants::containsKey)
+                .stream()
+                .map(count -> new TrendingRestaurantResponseDto(restaurants.get(count.key()), count.count()))
+                .toList()));
+        rankings = refreshed;
+        log.debug("Rankings de tendencia recalculados en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(initialDelayString = "${app.trending.snapshot-interval:PT5M}",
+            fixedDelayString = "${app.trending.snapshot-interval:PT5M}")
+    public void scheduledSnapshot() {
+        saveSnapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshot();
+    }
+
+    @Override
+    public void saveSnapshot() {
+        if (snapshotFile == null) return;
+        Map<TrendingWindow, List<SlidingWindowCounter.Entry>> windows = new EnumMap<>(TrendingWindow.class);
+        counters.forEach((window, counter) -> windows.put(window, counter.entries()));
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // Se escribe aparte y se sustituye de una vez: un fallo a medias no deja un fichero corrupto
+            Path temp = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(temp.toFile(), new Snapshot(clock.millis(), windows));
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Instantánea de tendencias guardada en {}", snapshotFile);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la instantánea de tendencias en {}", snapshotFile, e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        long now = clock.millis();
+        counters.values().forEach(counter -> counter.increment(event.restaurantId(), now));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.changeType() == EntityChangeType.DELETED) {
+            counters.values().forEach(counter -> counter.remove(event.restaurantId()));
+        }
+    }
+
+    private void loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) return;
+        try {
+            Snapshot snapshot = objectMapper.readValue(snapshotFile.toFile(), Snapshot.class);
+            counters.forEach((window, counter) -> {
+                int restored = counter.restore(snapshot.windows().getOrDefault(window, List.of()));
+                log.info("Tendencias {}: {} restaurantes restaurados de la instantánea", window, restored);
+            });
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo leer la instantánea de tendencias {}; se empieza sin contadores", snapshotFile, e);
+        }
+    }
+
+    private static Map<TrendingWindow, List<TrendingRestaurantResponseDto>> emptyRankings() {
+        Map<TrendingWindow, List<TrendingRestaurantResponseDto>> empty = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) empty.put(window, List.of());
+        return empty;
+    }
+}
@@ -0,0 +1,147 @@
+package com.c24_39_t_webapp.restaurants.services.impl;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantClientRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.CustomerCountResponseDto;
+import com.c24_39_t_webapp.restaurants.events.OrderStatusChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.index.CustomerBitmapIndex;
+import com.c24_39_t_webapp.restaurants.models.OrderStatus;
+import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import com.c24_39_t_webapp.restaurants.repository.OrderRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Compras verificadas: qué clientes tienen algún pedido entregado en cada restaurante, sobre un índice de
+ * bitmaps en memoria ({@link CustomerBitmapIndex}).
+ * <p>
+ * - El índice se carga al arrancar con los pares (restaurante, cliente) distintos de los pedidos entregados
+ * y se mantiene con los cambios de estado de los pedidos (tras el commit): al pasar a entregado se añade el
+ * cliente; al salir de entregado solo se quita si no le queda ningún otro pedido entregado en ese restaurante.
+ * - Marcar una página de reseñas o validar una reseña nueva es un {@code contains} sobre el bitmap, sin una
+ * consulta EXISTS sobre los pedidos por reseña. El recuento de clientes distintos es la cardinalidad del bitmap.
+ * - Los IDs de restaurante y de cliente deben caber en un int (los bitmaps son de 32 bits).
+ */
+@Slf4j
+@Service
+public class VerifiedPurchaseServiceImpl implements IVerifiedPurchaseService {
+
+    private final OrderRepository orderRepository;
+    private final RestaurantRepository restaurantRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CustomerBitmapIndex index = new CustomerBitmapIndex();
+
+    public VerifiedPurchaseServiceImpl(OrderRepository orderRepository, RestaurantRepository restaurantRepository) {
+        this.orderRepository = orderRepository;
+        this.restaurantRepository = restaurantRepository;
+    }
+
+    @Override
+    public boolean isVerifiedCustomer(Long restaurantId, Long clientId) {
+        if (!fitsInt(restaurantId) || !fitsInt(clientId)) return false;
+        lock.readLock().lock();
+        try {
+            return index.contains(restaurantId.intValue(), clientId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public LongPredicate verifiedCustomers(Long restaurantId) {
+        if (!fitsInt(restaurantId)) return id -> false;
+        RoaringBitmap customers;
+        lock.readLock().lock();
+        try {
+            customers = index.customers(restaurantId.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return id -> id > 0 && id <= Integer.MAX_VALUE && customers.contains((int) id);
+    }
+
+    @Override
+    public CustomerCountResponseDto countUniqueCustomers(Long restaurantId) {
+        log.info("Contando los clientes distintos del restaurante {}", restaurantId);
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .filter(Restaurant::getIsActive)
+                .orElseThrow(() -> new RestaurantNotFoundException("No se encontró el restaurante buscado"));
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (restaurant.getUserEntity() == null || !restaurant.getUserEntity().getEmail().equals(userEmail)) {
+            log.warn("Permiso denegado: Usuario {} intentando ver los clientes del restaurante {}", userEmail, restaurantId);
+            throw new UnauthorizedAccessException("No tienes permiso para ver los clientes de este restaurante");
+        }
+        int count;
+        lock.readLock().lock();
+        try {
+            count = index.customerCount(Math.toIntExact(restaurantId));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new CustomerCountResponseDto(restaurantId, count);
+    }
+
+    /**
+     * Carga completa del índice. Se hace bajo el write lock para no perder eventos que lleguen
+     * mientras tanto; solo ocurre al arrancar.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            Map<Integer, RoaringBitmap> customers = new HashMap<>();
+            for (RestaurantClientRow row : orderRepository.findRestaurantClientPairsByStatus(OrderStatus.entregado)) {
+                customers.computeIfAbsent(Math.toIntExact(row.restaurantId()), id -> new RoaringBitmap())
+                        .add(Math.toIntExact(row.clientId()));
+            }
+            index = CustomerBitmapIndex.build(customers);
+            log.info("Índice de clientes verificados cargado: {} restaurantes, {} bytes en {} ms",
+                    index.size(), index.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!event.delivered() && !event.undelivered()) return;
+        int restaurantId = Math.toIntExact(event.restaurantId());
+        int clientId = Math.toIntExact(event.clientId());
+        // Al salir de entregado, el cliente sigue verificado si tiene otro pedido entregado (ya confirmado)
+        boolean stillDelivered = event.undelivered() && orderRepository.existsByRestaurantId_IdAndClientId_IdAndStatus(
+                event.restaurantId(), event.clientId(), OrderStatus.entregado);
+        lock.writeLock().lock();
+        try {
+            if (event.delivered()) {
+                if (index.add(restaurantId, clientId)) {
+                    log.debug("Cliente {} verificado en el restaurante {}", clientId, restaurantId);
+                }
+            } else if (!stillDelivered) {
+                index.remove(restaurantId, clientId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean fitsInt(Long id) {
+        return id != null && id > 0 && id <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,49 @@
+package com.c24_39_t_webapp.restaurants.storage;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formatos de imagen admitidos por el almacén. El formato se detecta por el contenido
+ * (cabecera del fichero), nunca por el Content-Type o la extensión que envía el cliente.
+ */
+public enum ImageFormat {
+    JPEG("jpg", "image/jpeg", "jpeg"),
+    PNG("png", "image/png", "png");
+
+    private final String extension;
+    private final String contentType;
+    private final String imageIoName;
+
+    ImageFormat(String extension, String contentType, String imageIoName) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.imageIoName = imageIoName;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Nombre del formato para ImageIO.write.
+     */
+    public String imageIoName() {
+        return imageIoName;
+    }
+
+    public static Optional<ImageFormat> fromExtension(String extension) {
+        return Arrays.stream(values()).filter(f -> f.extension.equals(extension)).findFirst();
+    }
+
+    /**
+     * @param formatName nombre devuelto por ImageReader.getFormatName() (p. ej. "JPEG", "png")
+     */
+    public static Optional<ImageFormat> fromImageIoName(String formatName) {
+        return Arrays.stream(values()).filter(f -> f.imageIoName.equalsIgnoreCase(formatName)).findFirst();
+    }
+}
@@ -0,0 +1,88 @@
+package com.c24_39_t_webapp.restaurants.storage;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Decodificación y redimensionado de imágenes con ImageIO (sin dependencias nativas).
+ * <p>
+ * Las dimensiones se leen de la cabecera ANTES de decodificar, de modo que una imagen de
+ * pocos KB que declara 50.000 x 50.000 píxeles se rechaza sin reservar memoria para ella.
+ */
+public final class ImageProcessor {
+
+    public static final int MAX_DIMENSION = 8000;
+
+    private ImageProcessor() {
+    }
+
+    /**
+     * @return la imagen decodificada, o vacío si no es JPEG/PNG válido o supera {@value #MAX_DIMENSION} px
+     */
+    public static Optional<DecodedImage> decode(byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            if (input == null) return Optional.empty();
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return Optional.empty();
+            ImageReader reader = readers.next();
+            try {
+                Optional<ImageFormat> format = ImageFormat.fromImageIoName(reader.getFormatName());
+                if (format.isEmpty()) return Optional.empty();
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || width > MAX_DIMENSION || height > MAX_DIMENSION) {
+                    return Optional.empty();
+                }
+                return Optional.of(new DecodedImage(reader.read(0), format.get()));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reduce la imagen al ancho indicado manteniendo la proporción.
+     */
+    public static BufferedImage scaleToWidth(BufferedImage source, int width, ImageFormat format) {
+        int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        // JPEG no admite transparencia
+        int type = format == ImageFormat.PNG ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    public static byte[] encode(BufferedImage image, ImageFormat format) {
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            if (!ImageIO.write(image, format.imageIoName(), output)) {
+                throw new IllegalStateException("No hay codificador para " + format);
+            }
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo codificar la imagen como " + format, e);
+        }
+    }
+
+    public record DecodedImage(BufferedImage image, ImageFormat format) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.c24_39_t_webapp.restaurants.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Almacén de imágenes en disco direccionado por contenido.
+ * <p>
+ * - Cada imagen vive en {@code <raíz>/<2 primeros caracteres del hash>/<hash>/}, con un fichero por
+ * variante ("original.jpg", "medium.jpg", "thumbnail.jpg"). El reparto en subdirectorios evita
+ * directorios con cientos de miles de entradas.
+ * - Como el nombre es el SHA-256 del original, dos subidas idénticas acaban en el mismo directorio
+ * y el contenido de una URL nunca cambia.
+ * - Cada fichero se escribe en un temporal y se mueve de forma atómica: un lector nunca ve un
+ * fichero a medio escribir.
+ * - La fecha de modificación del original indica el último alta o re-subida (periodo de gracia
+ * del barrido de huérfanas).
+ * <p>
+ * No sincroniza operaciones sobre el mismo hash: el llamante debe hacerlo.
+ */
+public class ImageStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public ImageStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+
+    /**
+     * @return formato del original si la imagen ya está almacenada
+     */
+    public Optional<ImageFormat> formatOf(String hash) {
+        Path dir = directoryOf(hash);
+        return Arrays.stream(ImageFormat.values())
+                .filter(format -> Files.isRegularFile(dir.resolve(ImageVariant.ORIGINAL.fileName(format))))
+                .findFirst();
+    }
+
+    public void write(String hash, ImageVariant variant, ImageFormat format, byte[] content) {
+        Path dir = directoryOf(hash);
+        try {
+            Files.createDirectories(dir);
+            Path target = dir.resolve(variant.fileName(format));
+            Path temp = Files.createTempFile(dir, variant.name().toLowerCase(Locale.ROOT), ".tmp");
+            try {
+                Files.write(temp, content);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar la imagen " + hash, e);
+        }
+    }
+
+    /**
+     * Resuelve un fichero a partir de la URL pública ("thumbnail.jpg", etc.). Solo acepta hashes y
+     * nombres de variante conocidos, así que no es posible salir del directorio del almacén.
+     */
+    public Optional<StoredFile> resolve(String hash, String fileName) {
+        if (!isValidHash(hash) || fileName == null) return Optional.empty();
+        int dot = fileName.lastIndexOf('.');
+        if (dot <= 0) return Optional.empty();
+        Optional<ImageVariant> variant = ImageVariant.fromFileBaseName(fileName.substring(0, dot));
+        Optional<ImageFormat> format = ImageFormat.fromExtension(fileName.substring(dot + 1));
+        if (variant.isEmpty() || format.isEmpty()) return Optional.empty();
+
+        Path file = directoryOf(hash).resolve(variant.get().fileName(format.get()));
+        try {
+            return Optional.of(new StoredFile(hash, variant.get(), format.get(), file, Files.size(file)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Marca la imagen como recién subida (reinicia su periodo de gracia).
+     */
+    public void touch(String hash, ImageFormat format) {
+        try {
+            Files.setLastModifiedTime(directoryOf(hash).resolve(ImageVariant.ORIGINAL.fileName(format)),
+                    FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo actualizar la imagen " + hash, e);
+        }
+    }
+
+    /**
+     * Todas las imágenes almacenadas con la fecha de su última subida. Recorre solo dos niveles de
+     * directorios y no lee el contenido de los ficheros.
+     */
+    public List<StoredImage> list() {
+        List<StoredImage> images = new ArrayList<>();
+        if (!Files.isDirectory(root)) return images;
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path shard : shards) {
+                try (DirectoryStream<Path> dirs = Files.newDirectoryStream(shard, Files::isDirectory)) {
+                    for (Path dir : dirs) {
+                        String hash = dir.getFileName().toString();
+                        if (!isValidHash(hash)) continue;
+                        lastUpload(hash).ifPresent(uploadedAt -> images.add(new StoredImage(hash, uploadedAt)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo recorrer el almacén de imágenes " + root, e);
+        }
+        return images;
+    }
+
+    public Optional<Instant> lastUpload(String hash) {
+        return formatOf(hash).flatMap(format -> {
+            try {
+                Path original = directoryOf(hash).resolve(ImageVariant.ORIGINAL.fileName(format));
+                return Optional.of(Files.getLastModifiedTime(original).toInstant());
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Borra la imagen y todas sus variantes.
+     *
+     * @return bytes liberados
+     */
+    public long delete(String hash) {
+        Path dir = directoryOf(hash);
+        if (!Files.isDirectory(dir)) return 0;
+        long freed = 0;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                if (Files.isRegularFile(path)) freed += Files.size(path);
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo borrar la imagen " + hash, e);
+        }
+        return freed;
+    }
+
+    private Path directoryOf(String hash) {
+        if (!isValidHash(hash)) throw new IllegalArgumentException("Hash de imagen inválido: " + hash);
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Fichero de una variante listo para servirse.
+     */
+    public record StoredFile(String hash, ImageVariant variant, ImageFormat format, Path path, long length) {
+    }
+
+    public record StoredImage(String hash, Instant uploadedAt) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.c24_39_t_webapp.restaurants.storage;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Tamaños que se generan para cada imagen al subirla. El original se guarda tal cual;
+ * las variantes se reducen al ancho indicado manteniendo la proporción (nunca se amplían).
+ */
+public enum ImageVariant {
+    ORIGINAL(0),
+    MEDIUM(640),
+    THUMBNAIL(200);
+
+    private final int maxWidth;
+
+    ImageVariant(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    /**
+     * Ancho máximo en píxeles; 0 para el original.
+     */
+    public int maxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * Nombre del fichero de la variante dentro del directorio de la imagen, p. ej. "thumbnail.jpg".
+     */
+    public String fileName(ImageFormat format) {
+        return name().toLowerCase(Locale.ROOT) + "." + format.extension();
+    }
+
+    public static Optional<ImageVariant> fromFileBaseName(String baseName) {
+        return Arrays.stream(values())
+                .filter(v -> v.name().toLowerCase(Locale.ROOT).equals(baseName))
+                .findFirst();
+    }
+}
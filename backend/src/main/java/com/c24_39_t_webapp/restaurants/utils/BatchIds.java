@@ -0,0 +1,61 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Lectura y validación de las listas de IDs de las consultas múltiples ({@code ?ids=1,2,3}).
+ * <p>
+ * - Se respetan el orden y la primera aparición de cada ID; los repetidos se descartan.
+ * - Se admiten como mucho {@link #MAX_IDS} IDs distintos por petición, para acotar el tamaño del IN.
+ */
+public final class BatchIds {
+
+    public static final int MAX_IDS = 100;
+
+    private BatchIds() {
+    }
+
+    /**
+     * @param raw IDs separados por comas, tal como llegan en el parámetro de la petición
+     * @return IDs en el orden recibido
+     * @throws BadRequestException si algún elemento no es un número
+     */
+    public static List<Long> parse(String raw) {
+        List<Long> ids = new ArrayList<>();
+        if (raw == null) return ids;
+        for (String part : raw.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) continue;
+            try {
+                ids.add(Long.parseLong(trimmed));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("ID no válido en la lista de IDs: " + trimmed);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @param ids IDs solicitados, puede contener repetidos
+     * @return IDs distintos en el orden de su primera aparición
+     * @throws BadRequestException si la lista está vacía o supera {@link #MAX_IDS} IDs distintos
+     */
+    public static List<Long> distinct(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un ID");
+        }
+        LinkedHashSet<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un ID");
+        }
+        if (unique.size() > MAX_IDS) {
+            throw new BadRequestException("Se admiten como máximo " + MAX_IDS + " IDs por petición");
+        }
+        return List.copyOf(unique);
+    }
+}
@@ -0,0 +1,41 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ETags fuertes para las respuestas que se sirven desde memoria (carta en caché, datos de referencia).
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @return ETag fuerte (entre comillas) con los primeros 128 bits del SHA-256 del cuerpo
+     */
+    public static String of(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Comprueba la cabecera If-None-Match (lista de ETags separados por comas, o "*").
+     * Se usa la comparación débil que exige la especificación para If-None-Match.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación por clave (keyset): orden aplicado, valor de la clave de orden
+ * y ID de la última fila devuelta, que desempata filas con la misma clave.
+ * <p>
+ * Se serializa en Base64 URL-safe; el cliente solo debe devolverlo tal cual.
+ *
+ * @param sort nombre del orden con el que se generó (un cursor no sirve para otro orden)
+ * @param key  valor de la clave de orden como texto (vacío si el orden es solo por ID)
+ * @param id   ID de la última fila de la página
+ */
+public record KeysetCursor(String sort, String key, long id) {
+
+    private static final char SEPARATOR = '\n';
+
+    public String encode() {
+        String raw = sort + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token        cursor recibido del cliente
+     * @param expectedSort orden de la petición actual
+     * @throws BadRequestException si el cursor está mal formado o pertenece a otro orden
+     */
+    public static KeysetCursor decode(String token, String expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) throw new IllegalArgumentException("separadores");
+            KeysetCursor cursor = new KeysetCursor(raw.substring(0, first), raw.substring(first + 1, last),
+                    Long.parseLong(raw.substring(last + 1)));
+            if (!cursor.sort().equals(expectedSort)) {
+                throw new BadRequestException("El cursor no corresponde al orden solicitado: " + expectedSort);
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+}
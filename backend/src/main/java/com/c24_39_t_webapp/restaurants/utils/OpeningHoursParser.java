@@ -0,0 +1,52 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Interpreta el horario en texto libre de los restaurantes (rst_horario) como intervalos semanales.
+ * <p>
+ * - Reconoce rangos "HH[:mm]-HH[:mm]" en cualquier parte del texto ("10-15 h y 20-24 h", "12:30-23:00")
+ * y los aplica a todos los días de la semana; las 24 equivalen a las 00:00 del día siguiente.
+ * - Es el respaldo para los restaurantes sin horario estructurado: lo que no se reconoce se ignora.
+ */
+public final class OpeningHoursParser {
+
+    private static final Pattern RANGE =
+            Pattern.compile("(\\d{1,2})(?::(\\d{2}))?\\s*-\\s*(\\d{1,2})(?::(\\d{2}))?");
+
+    private OpeningHoursParser() {
+    }
+
+    /**
+     * @param text horario en texto libre, puede ser null
+     * @return intervalos de lunes a domingo; vacío si no se reconoce ningún rango
+     */
+    public static List<OpeningIntervalDto> parse(String text) {
+        List<OpeningIntervalDto> intervals = new ArrayList<>();
+        if (text == null || text.isBlank()) return intervals;
+        Matcher matcher = RANGE.matcher(text);
+        while (matcher.find()) {
+            LocalTime opens = time(matcher.group(1), matcher.group(2));
+            LocalTime closes = time(matcher.group(3), matcher.group(4));
+            if (opens == null || closes == null) continue;
+            for (DayOfWeek day : DayOfWeek.values()) {
+                intervals.add(new OpeningIntervalDto(day, opens, closes));
+            }
+        }
+        return intervals;
+    }
+
+    private static LocalTime time(String hours, String minutes) {
+        int hour = Integer.parseInt(hours);
+        int minute = minutes == null ? 0 : Integer.parseInt(minutes);
+        if (hour > 24 || minute > 59 || (hour == 24 && minute > 0)) return null;
+        return LocalTime.of(hour % 24, minute);
+    }
+}
@@ -0,0 +1,192 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductImportRowDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming de ficheros de importación de productos: las filas se entregan una a una al
+ * consumidor según se leen, sin cargar el fichero completo en memoria.
+ * <p>
+ * - JSON: un array de objetos con los campos de {@link ProductImportRowDto}.
+ * - CSV: primera línea de cabecera con esos mismos nombres (sin distinguir mayúsculas, en cualquier orden);
+ * admite campos entre comillas dobles con comas, saltos de línea y comillas escapadas ("").
+ * <p>
+ * Un error de formato en una fila (p. ej. un precio que no es un número) se entrega como fila con error;
+ * un fichero ilegible en su conjunto lanza {@link BadRequestException}.
+ */
+public final class ProductImportReader {
+
+    static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "price", "quantity", "categoryname");
+
+    private ProductImportReader() {
+    }
+
+    /**
+     * @param rowNumber número de fila, empezando en 1 (en CSV sin contar la cabecera)
+     * @param data      fila leída, o null si no se pudo interpretar
+     * @param error     motivo por el que no se pudo interpretar, o null
+     */
+    public record ParsedRow(int rowNumber, ProductImportRowDto data, String error) {
+    }
+
+    public static void readJson(InputStream input, ObjectMapper objectMapper, Consumer<ParsedRow> sink) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Se esperaba un array JSON de productos");
+            }
+            int rowNumber = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                rowNumber++;
+                JsonNode node = parser.readValueAsTree();
+                ParsedRow row;
+                try {
+                    row = new ParsedRow(rowNumber, objectMapper.treeToValue(node, ProductImportRowDto.class), null);
+                } catch (JsonProcessingException e) {
+                    row = new ParsedRow(rowNumber, null, "Formato inválido: " + e.getOriginalMessage());
+                }
+                sink.accept(row);
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new BadRequestException("Cada elemento del array debe ser un objeto (fila " + (rowNumber + 1) + ")");
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("JSON mal formado: " + e.getOriginalMessage());
+        }
+    }
+
+    public static void readCsv(InputStream input, Consumer<ParsedRow> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<String> header = nextRecord(reader);
+        if (header == null) {
+            throw new BadRequestException("El CSV está vacío: falta la cabecera");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        List<String> missing = REQUIRED_CSV_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Faltan columnas obligatorias en la cabecera del CSV: " + missing);
+        }
+
+        int rowNumber = 0;
+        List<String> record;
+        while ((record = nextRecord(reader)) != null) {
+            if (record.size() == 1 && record.getFirst().isBlank()) continue;
+            rowNumber++;
+            ParsedRow row;
+            try {
+                row = new ParsedRow(rowNumber, new ProductImportRowDto(
+                        value(record, columns, "name"),
+                        value(record, columns, "description"),
+                        decimal(value(record, columns, "price")),
+                        value(record, columns, "image"),
+                        bool(value(record, columns, "isactive")),
+                        integer(value(record, columns, "quantity")),
+                        value(record, columns, "categoryname"),
+                        value(record, columns, "categorydescription")), null);
+            } catch (IllegalArgumentException e) {
+                row = new ParsedRow(rowNumber, null, e.getMessage());
+            }
+            sink.accept(row);
+        }
+    }
+
+    /**
+     * Lee un registro CSV completo (puede ocupar varias líneas si hay saltos dentro de comillas).
+     *
+     * @return los campos del registro, o null al final del fichero
+     */
+    static List<String> nextRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                int next = reader.read();
+                if (next == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    if (next != -1) reader.reset();
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!read) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) return null;
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        if (value == null) return null;
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El precio no es un número válido: " + value);
+        }
+    }
+
+    private static Integer integer(String value) {
+        if (value == null) return null;
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La cantidad no es un número entero válido: " + value);
+        }
+    }
+
+    private static Boolean bool(String value) {
+        if (value == null) return null;
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1" -> true;
+            case "false", "0" -> false;
+            default -> throw new IllegalArgumentException("isActive debe ser true o false: " + value);
+        };
+    }
+}
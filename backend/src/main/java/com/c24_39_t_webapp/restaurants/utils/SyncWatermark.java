@@ -0,0 +1,72 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Marca de agua opaca de la sincronización incremental: hasta dónde ha leído el cliente cada flujo de
+ * cambios (productos, restaurantes, categorías, tipologías y bajas).
+ * <p>
+ * Cada posición es la fecha de actualización y el ID de la última fila entregada; el ID desempata filas
+ * con la misma fecha (p. ej. una actualización masiva), así que un flujo se puede entregar en varias
+ * respuestas sin perder ni repetir filas. Se serializa en Base64 URL-safe; el cliente solo debe
+ * devolverla tal cual.
+ */
+public record SyncWatermark(Position products, Position restaurants, Position categories,
+                            Position cuisines, Position deletions) {
+
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = '\n';
+
+    /**
+     * Marca de agua inicial: todos los flujos desde el principio.
+     */
+    public static SyncWatermark initial() {
+        return new SyncWatermark(Position.START, Position.START, Position.START, Position.START, Position.START);
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder(VERSION);
+        for (Position position : new Position[]{products, restaurants, categories, cuisines, deletions}) {
+            raw.append(SEPARATOR).append(position.at()).append(' ').append(position.id());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token marca de agua recibida del cliente
+     * @throws BadRequestException si está mal formada
+     */
+    public static SyncWatermark decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] lines = raw.split(String.valueOf(SEPARATOR));
+            if (lines.length != 6 || !lines[0].equals(VERSION)) throw new IllegalArgumentException("formato");
+            Position[] positions = new Position[5];
+            for (int i = 0; i < positions.length; i++) {
+                String[] parts = lines[i + 1].split(" ");
+                if (parts.length != 2) throw new IllegalArgumentException("posición");
+                positions[i] = new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            }
+            return new SyncWatermark(positions[0], positions[1], positions[2], positions[3], positions[4]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Marca de agua de sincronización inválida");
+        }
+    }
+
+    /**
+     * @param at fecha de actualización (o de baja) de la última fila entregada
+     * @param id ID de esa fila; Long.MAX_VALUE si se entregaron todas las filas hasta {@code at}
+     */
+    public record Position(LocalDateTime at, long id) {
+        public static final Position START = new Position(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+        public static Position upTo(LocalDateTime at) {
+            return new Position(at, Long.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza textos introducidos por el usuario para búsquedas y comparaciones.
+ * <p>
+ * - Elimina espacios al principio y al final, y colapsa los intermedios.
+ * - Pasa a minúsculas (Locale.ROOT, independiente del idioma del servidor).
+ * - Elimina acentos y diacríticos ("Jamón" → "jamon", "Piña" → "pina").
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * @param text texto original, puede ser null
+     * @return texto normalizado; cadena vacía si el texto es null o está en blanco
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) return "";
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        String withoutAccents = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * Indica si {@code text}, una vez normalizado, contiene {@code normalizedQuery} (ya normalizada).
+     * Los textos ASCII sin espacios repetidos se comparan sin crear cadenas nuevas.
+     */
+    public static boolean containsNormalized(String text, String normalizedQuery) {
+        if (text == null) return false;
+        if (normalizedQuery.isEmpty()) return true;
+        if (!isSimpleAscii(text)) return normalize(text).contains(normalizedQuery);
+        int last = text.length() - normalizedQuery.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, normalizedQuery, 0, normalizedQuery.length())) return true;
+        }
+        return false;
+    }
+
+    // ASCII imprimible con, como mucho, un espacio simple entre palabras: normalize() solo pasaría a minúsculas
+    private static boolean isSimpleAscii(String text) {
+        char previous = 'x';
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c > 126 || (c < 32) || (c == ' ' && previous == ' ')) return false;
+            previous = c;
+        }
+        return true;
+    }
+}
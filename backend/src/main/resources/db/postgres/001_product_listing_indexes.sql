@@ -0,0 +1,9 @@
+-- Índices para los listados de productos paginados por clave (GET /api/product, byRestaurant, byCategory).
+-- Cada orden termina en prd_id para que la condición "clave > última clave" se resuelva con un rango del índice.
+-- En producción el esquema se valida (ddl-auto=validate), así que estos índices se crean con este script.
+
+CREATE INDEX IF NOT EXISTS idx_productos_restaurante_id ON productos (prd_restaurante_id, prd_id);
+CREATE INDEX IF NOT EXISTS idx_productos_categoria_id ON productos (prd_categoria_id, prd_id);
+CREATE INDEX IF NOT EXISTS idx_productos_precio_id ON productos (prd_precio, prd_id);
+CREATE INDEX IF NOT EXISTS idx_productos_fecha_alta_id ON productos (prd_fecha_alta, prd_id);
+CREATE INDEX IF NOT EXISTS idx_productos_nombre_id ON productos (prd_nombre, prd_id);
@@ -0,0 +1,19 @@
+-- Sincronización incremental del catálogo (GET /api/sync/changes).
+-- Cada flujo se lee por (fecha de actualización, ID) a partir de la marca de agua del cliente, así que cada tabla
+-- necesita un índice con ese orden. Las bajas se guardan en tombstones en la misma transacción que el borrado.
+-- En producción el esquema se valida (ddl-auto=validate), así que estos cambios se aplican con este script.
+
+ALTER TABLE tipologias_restaurant ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    tmb_id            BIGSERIAL PRIMARY KEY,
+    tmb_entidad       VARCHAR(20) NOT NULL,
+    tmb_entidad_id    BIGINT      NOT NULL,
+    tmb_fecha_borrado TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_productos_actualizacion_id ON productos (prd_fecha_actualizacion, prd_id);
+CREATE INDEX IF NOT EXISTS idx_restaurant_actualizacion_id ON restaurant (rst_fecha_actualizacion, rst_id);
+CREATE INDEX IF NOT EXISTS idx_categorias_actualizacion_id ON categorias (ctg_fecha_actualizacion, ctg_id);
+CREATE INDEX IF NOT EXISTS idx_tipologias_actualizacion_id ON tipologias_restaurant (updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_tombstones_fecha_id ON tombstones (tmb_fecha_borrado, tmb_id);
@@ -0,0 +1,13 @@
+-- Coordenadas de los restaurantes para la búsqueda por cercanía (GET /api/restaurant/nearby).
+-- La búsqueda se resuelve con un índice en memoria (rejilla geohash), así que no se crea índice espacial.
+-- Son opcionales, pero se guardan las dos o ninguna.
+
+ALTER TABLE restaurant ADD COLUMN IF NOT EXISTS rst_latitud DOUBLE PRECISION;
+ALTER TABLE restaurant ADD COLUMN IF NOT EXISTS rst_longitud DOUBLE PRECISION;
+
+-- Se quita antes de crearla para que el script se pueda volver a ejecutar, como los ADD COLUMN IF NOT EXISTS
+ALTER TABLE restaurant DROP CONSTRAINT IF EXISTS chk_restaurant_coordenadas;
+ALTER TABLE restaurant ADD CONSTRAINT chk_restaurant_coordenadas CHECK (
+    (rst_latitud IS NULL AND rst_longitud IS NULL)
+    OR (rst_latitud BETWEEN -90 AND 90 AND rst_longitud BETWEEN -180 AND 180)
+);
@@ -0,0 +1,15 @@
+-- Horario estructurado de los restaurantes (turnos partidos y nocturnos) para el filtro "abierto ahora".
+-- El filtro se resuelve con un índice en memoria que se carga al arrancar; el índice de la tabla sirve para
+-- leer y reemplazar el horario de un restaurante.
+-- rst_horario se mantiene como texto libre; los restaurantes sin filas aquí se indexan a partir de ese texto.
+
+CREATE TABLE IF NOT EXISTS horarios_restaurante (
+    hor_restaurante_id BIGINT      NOT NULL REFERENCES restaurant (rst_id) ON DELETE CASCADE,
+    hor_dia            VARCHAR(10) NOT NULL CHECK (hor_dia IN
+        ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    hor_apertura       TIME        NOT NULL,
+    hor_cierre         TIME        NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_horarios_restaurante_restaurante
+    ON horarios_restaurante (hor_restaurante_id);
@@ -0,0 +1,26 @@
+-- Directorio de restaurantes paginado por clave con valoración, número de reseñas y rango de precios.
+-- Los agregados se guardan precalculados en estadisticas_restaurante y se recalculan en la misma transacción
+-- que el cambio de reseña o producto; el directorio los lee con un LEFT JOIN, sin agregar al consultar.
+-- La aplicación recalcula todas las filas al arrancar, así que no hace falta rellenarlas aquí.
+
+CREATE TABLE IF NOT EXISTS estadisticas_restaurante (
+    est_restaurante_id      BIGINT PRIMARY KEY REFERENCES restaurant (rst_id) ON DELETE CASCADE,
+    est_num_resenas         BIGINT        NOT NULL DEFAULT 0,
+    est_suma_puntajes       BIGINT        NOT NULL DEFAULT 0,
+    est_puntaje_medio       DOUBLE PRECISION,
+    est_num_productos       BIGINT        NOT NULL DEFAULT 0,
+    est_precio_min          NUMERIC(10, 2),
+    est_precio_medio        NUMERIC(10, 2),
+    est_fecha_actualizacion TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_estadisticas_puntaje_id
+    ON estadisticas_restaurante (est_puntaje_medio, est_restaurante_id);
+
+-- Orden por nombre, por novedad y por nombre dentro de un tipo de cocina (desempate por ID)
+CREATE INDEX IF NOT EXISTS idx_restaurant_nombre_id
+    ON restaurant (rst_nombre, rst_id);
+CREATE INDEX IF NOT EXISTS idx_restaurant_registro_id
+    ON restaurant (rst_fecha_registro, rst_id);
+CREATE INDEX IF NOT EXISTS idx_restaurant_cocina_nombre_id
+    ON restaurant (rst_tipologias_restaurant_id, rst_nombre, rst_id);
@@ -0,0 +1,30 @@
+-- Baja lógica de restaurantes: rst_activo = FALSE lo oculta de todos los listados.
+-- Dar de baja solo cambia la fila del restaurante; sus productos se desactivan después en segundo plano,
+-- por lotes y cada lote en su propia transacción. Si la aplicación se reinicia a medias, al arrancar
+-- retoma los restaurantes inactivos que aún tienen productos activos.
+
+ALTER TABLE restaurant ADD COLUMN IF NOT EXISTS rst_activo BOOLEAN NOT NULL DEFAULT TRUE;
+
+-- Los índices del directorio (005) pasan a ser parciales: solo los restaurantes activos se listan
+DROP INDEX IF EXISTS idx_restaurant_nombre_id;
+DROP INDEX IF EXISTS idx_restaurant_registro_id;
+DROP INDEX IF EXISTS idx_restaurant_cocina_nombre_id;
+
+CREATE INDEX IF NOT EXISTS idx_restaurant_nombre_id
+    ON restaurant (rst_nombre, rst_id) WHERE rst_activo;
+CREATE INDEX IF NOT EXISTS idx_restaurant_registro_id
+    ON restaurant (rst_fecha_registro, rst_id) WHERE rst_activo;
+CREATE INDEX IF NOT EXISTS idx_restaurant_cocina_nombre_id
+    ON restaurant (rst_tipologias_restaurant_id, rst_nombre, rst_id) WHERE rst_activo;
+
+-- Restaurantes de un propietario
+CREATE INDEX IF NOT EXISTS idx_restaurant_usuario_activo
+    ON restaurant (rst_usuario_id) WHERE rst_activo;
+
+-- Restaurantes dados de baja, para retomar las desactivaciones pendientes al arrancar
+CREATE INDEX IF NOT EXISTS idx_restaurant_inactivo
+    ON restaurant (rst_id) WHERE NOT rst_activo;
+
+-- Lotes de la desactivación: productos todavía activos de un restaurante, en orden de ID
+CREATE INDEX IF NOT EXISTS idx_productos_restaurante_activo
+    ON productos (prd_restaurante_id, prd_id) WHERE prd_activo;
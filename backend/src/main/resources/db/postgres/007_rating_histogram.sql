@@ -0,0 +1,13 @@
+-- Histograma de puntuaciones y media bayesiana en las estadísticas de cada restaurante.
+-- Un alta, cambio o baja de reseña resta la puntuación anterior y suma la nueva en el histograma, en la misma
+-- transacción; el recuento, la suma y las medias se derivan de él. La aplicación recalcula todas las filas al
+-- arrancar y cada noche (app.ratings.reconcile-cron), así que las existentes no hace falta rellenarlas aquí.
+
+ALTER TABLE estadisticas_restaurante
+    ADD COLUMN IF NOT EXISTS est_puntaje_bayesiano DOUBLE PRECISION;
+ALTER TABLE estadisticas_restaurante
+    ADD COLUMN IF NOT EXISTS est_histograma BIGINT[] NOT NULL DEFAULT '{0,0,0,0,0,0,0,0,0,0,0}';
+
+-- Directorio ordenado por valoración ponderada (sort=weighted-rating)
+CREATE INDEX IF NOT EXISTS idx_estadisticas_bayesiano_id
+    ON estadisticas_restaurante (est_puntaje_bayesiano, est_restaurante_id);
@@ -0,0 +1,9 @@
+-- Listado de reseñas de un restaurante paginado por clave, por novedad o por puntuación.
+-- La consulta lee solo la tabla de reseñas (el nombre del autor está en rvw_username) y cada orden
+-- desempata por rvw_id, así que un índice (restaurante, clave, ID) sirve tanto el filtro como el orden
+-- y la condición del cursor, en ambos sentidos.
+
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurante_fecha_id
+    ON reviews (rvw_id_restaurante, rvw_fecha_creacion, rvw_id);
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurante_puntaje_id
+    ON reviews (rvw_id_restaurante, rvw_puntaje, rvw_id);
@@ -0,0 +1,47 @@
+-- Nombre de categoría único sin distinguir mayúsculas, tildes ni espacios ("Pizzas", " pizzas ", "Pízzas").
+-- CategoryServiceImpl.findOrCreateCategory inserta directamente y se apoya en esta restricción para no crear
+-- duplicados cuando dos restaurantes añaden la misma categoría a la vez. La aplicación rellena la columna con
+-- TextNormalizer.normalize; aquí se rellena para las filas existentes con el equivalente en SQL.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+ALTER TABLE categorias ADD COLUMN IF NOT EXISTS ctg_nombre_normalizado VARCHAR(255);
+
+UPDATE categorias
+SET ctg_nombre_normalizado = lower(regexp_replace(btrim(unaccent(ctg_nombre)), '\s+', ' ', 'g'))
+WHERE ctg_nombre_normalizado IS NULL;
+
+-- Los duplicados que ya existan se funden en la categoría con menor ID antes de crear la restricción
+CREATE TEMPORARY TABLE categorias_duplicadas AS
+SELECT ctg_id AS duplicada_id,
+       min(ctg_id) OVER (PARTITION BY ctg_nombre_normalizado) AS conservada_id
+FROM categorias;
+DELETE FROM categorias_duplicadas WHERE duplicada_id = conservada_id;
+
+-- Se actualiza la fecha para que la sincronización incremental entregue los productos con su nueva categoría
+UPDATE productos p
+SET prd_categoria_id = d.conservada_id,
+    prd_fecha_actualizacion = now()
+FROM categorias_duplicadas d
+WHERE p.prd_categoria_id = d.duplicada_id;
+
+INSERT INTO categorias_restaurante (restaurante_id, categoria_id)
+SELECT DISTINCT cr.restaurante_id, d.conservada_id
+FROM categorias_restaurante cr
+JOIN categorias_duplicadas d ON d.duplicada_id = cr.categoria_id
+WHERE NOT EXISTS (SELECT 1 FROM categorias_restaurante existente
+                  WHERE existente.restaurante_id = cr.restaurante_id
+                    AND existente.categoria_id = d.conservada_id);
+DELETE FROM categorias_restaurante cr
+USING categorias_duplicadas d
+WHERE cr.categoria_id = d.duplicada_id;
+
+INSERT INTO tombstones (tmb_entidad, tmb_entidad_id)
+SELECT 'CATEGORY', duplicada_id FROM categorias_duplicadas;
+DELETE FROM categorias c
+USING categorias_duplicadas d
+WHERE c.ctg_id = d.duplicada_id;
+DROP TABLE categorias_duplicadas;
+
+ALTER TABLE categorias ALTER COLUMN ctg_nombre_normalizado SET NOT NULL;
+ALTER TABLE categorias ADD CONSTRAINT uk_categorias_nombre_normalizado UNIQUE (ctg_nombre_normalizado);
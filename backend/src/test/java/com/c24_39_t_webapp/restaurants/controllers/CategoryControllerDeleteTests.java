@@ -3,6 +3,7 @@ package com.c24_39_t_webapp.restaurants.controllers;
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
@@ -65,6 +66,9 @@ public class CategoryControllerDeleteTests {
     @MockitoBean
     private ICategoryService categoryService;
 
+    @MockitoBean
+    private IReferenceDataService referenceDataService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
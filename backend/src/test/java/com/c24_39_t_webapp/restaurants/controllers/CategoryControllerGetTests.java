@@ -1,10 +1,12 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.factories.CategoryFactory;
 import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +17,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.eq;
@@ -31,7 +35,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /**
  * Test para los endpoints GET de CategoryController
- * Verifica que al obtener todas las categorías, se retorna el código 200 OK con la lista
+ * Verifica que al obtener todas las categorías, se retorna el código 200 OK con la lista, su ETag y Cache-Control
+ * Verifica que con un If-None-Match que coincide con el ETag, se retorna 304 Not Modified sin cuerpo
  * Verifica que al obtener una categoría por ID válido, se retorna 200 OK con los datos de la categoría
  * También verifica los casos de error:
  * - CategoryNotFoundException: cuando la categoría no existe. Retorna 404 Not Found
@@ -69,6 +74,12 @@ public class CategoryControllerGetTests {
     @MockitoBean
     private ICategoryService categoryService;
 
+    /**
+     * Mock de los datos de referencia en memoria (listado de categorías)
+     */
+    @MockitoBean
+    private IReferenceDataService referenceDataService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
@@ -81,18 +92,22 @@ public class CategoryControllerGetTests {
     @DisplayName("GET /api/category (Get All Categories)")
     class GetAllCategoriesTests {
 
+        private static final String CATEGORIES_ETAG = "\"c47e9a\"";
+
         private List<CategoryResponseDto> mockCategoriesList;
 
         @BeforeEach
         void setUp() {
             mockCategoriesList = CategoryFactory.responseListDefault();
+            when(referenceDataService.snapshot()).thenReturn(new ReferenceDataSnapshot(
+                    1, mockCategoriesList, CATEGORIES_ETAG, List.of(), "\"0\"", Map.of(), Map.of()));
         }
 
         /**
          * Test que verifica que al obtener todas las categorías, se retorna 200 OK con la lista de categorías
-         * Arrange: Configura el mock del servicio para retornar la lista de categorías
-         * Act & Assert: Realiza la petición GET CON autenticación y verifica el status 200 y la lista
-         * Verify: Verifica que el servicio se llamó una sola vez
+         * Arrange: La instantánea de datos de referencia contiene la lista de categorías
+         * Act & Assert: Realiza la petición GET CON autenticación y verifica el status 200, la lista, el ETag y Cache-Control
+         * Verify: Verifica que se leyó la instantánea una sola vez
          *
          * @throws Exception
          */
@@ -101,19 +116,35 @@ public class CategoryControllerGetTests {
         void whenGetAllCategories_thenReturnsOkWithCategoriesList() throws Exception {
             log.info("Iniciando test de obtención de todas las categorías");
 
-            // Arrange
-            when(categoryService.findAllCategories())
-                    .thenReturn(mockCategoriesList);
-
             // Act & Assert - CON autenticación (require RESTAURANTE)
             mockMvc.perform(get(CATEGORY_ENDPOINT)
                             .with(user(VALID_EMAIL)))
                     .andDo(print())
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(mockCategoriesList.size())));
+                    .andExpect(jsonPath("$", hasSize(mockCategoriesList.size())))
+                    .andExpect(header().string(HttpHeaders.ETAG, CATEGORIES_ETAG))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, private"));
 
             // Verify
-            verify(categoryService, times(1)).findAllCategories();
+            verify(referenceDataService, times(1)).snapshot();
+        }
+
+        /**
+         * Test que verifica que si el cliente ya tiene la versión actual (If-None-Match),
+         * se retorna 304 Not Modified sin cuerpo
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/category - Retorna 304 si el ETag no ha cambiado")
+        void whenEtagMatches_thenReturnsNotModified() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(CATEGORY_ENDPOINT)
+                            .header(HttpHeaders.IF_NONE_MATCH, "W/" + CATEGORIES_ETAG)
+                            .with(user(VALID_EMAIL)))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, CATEGORIES_ETAG))
+                    .andExpect(content().string(""));
         }
 
         /**
@@ -131,8 +162,8 @@ public class CategoryControllerGetTests {
             mockMvc.perform(get(CATEGORY_ENDPOINT))
                     .andExpect(status().isUnauthorized());
 
-            // Verify que el servicio NO fue llamado
-            verify(categoryService, never()).findAllCategories();
+            // Verify que NO se leyó la instantánea
+            verify(referenceDataService, never()).snapshot();
         }
     }
 
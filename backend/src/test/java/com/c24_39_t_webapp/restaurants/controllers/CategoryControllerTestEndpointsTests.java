@@ -5,6 +5,7 @@ import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.factories.CategoryFactory;
 import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -72,6 +73,9 @@ public class CategoryControllerTestEndpointsTests {
     @MockitoBean
     private ICategoryService categoryService;
 
+    @MockitoBean
+    private IReferenceDataService referenceDataService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
@@ -0,0 +1,243 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.response.ImageUploadResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.services.IImageService;
+import com.c24_39_t_webapp.restaurants.storage.ImageFormat;
+import com.c24_39_t_webapp.restaurants.storage.ImageStore;
+import com.c24_39_t_webapp.restaurants.storage.ImageVariant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para ImageController - Endpoints POST /api/images y GET /api/images/{hash}/{fileName}
+ * Arquitectura aplicada:
+ * - @WebMvcTest: Solo carga ImageController (slice testing)
+ * - @MockitoBean: Mockea IImageService; el fichero servido es real (directorio temporal)
+ * - @Nested: Agrupa subida y descarga
+ * - AAA Pattern: Arrange, Act, Assert en cada test
+ * Cobertura:
+ * ✅ Subida nueva → 201 Created; subida duplicada → 200 OK
+ * ✅ Subida inválida → 400 Bad Request
+ * ✅ Descarga completa con ETag y Cache-Control inmutable → 200 OK
+ * ✅ If-None-Match con el ETag (también en lista, débil o *) → 304 Not Modified
+ * ✅ Range de un solo tramo → 206 Partial Content; rango fuera del fichero → 416
+ * ✅ Imagen inexistente → 404 Not Found
+ */
+@WebMvcTest(
+        controllers = ImageController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtTokenFilter.class
+        )
+)
+@DisplayName("ImageController - /api/images")
+public class ImageControllerTests {
+
+    private static final String IMAGES_ENDPOINT = "/api/images";
+    private static final String RESTAURANTE_EMAIL = "restaurante@example.com";
+    private static final String CLIENTE_EMAIL = "cliente@example.com";
+    private static final String HASH = "a".repeat(64);
+    private static final String CONTENT = "0123456789";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IImageService imageService;
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("POST /api/images")
+    class Upload {
+
+        @Test
+        @DisplayName("POST - Imagen nueva → 201 Created con las URLs de las variantes")
+        void whenNewImage_thenReturnsCreated() throws Exception {
+            // Arrange
+            when(imageService.upload(any())).thenReturn(uploadResult(false));
+
+            // Act & Assert
+            mockMvc.perform(multipart(IMAGES_ENDPOINT).file(imageFile())
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.hash").value(HASH))
+                    .andExpect(jsonPath("$.urls.thumbnail").value("/api/images/" + HASH + "/thumbnail.jpg"));
+        }
+
+        @Test
+        @DisplayName("POST - Imagen ya almacenada → 200 OK")
+        void whenDuplicateImage_thenReturnsOk() throws Exception {
+            // Arrange
+            when(imageService.upload(any())).thenReturn(uploadResult(true));
+
+            // Act & Assert
+            mockMvc.perform(multipart(IMAGES_ENDPOINT).file(imageFile())
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deduplicated").value(true));
+        }
+
+        @Test
+        @DisplayName("POST - Fichero que no es imagen → 400 Bad Request")
+        void whenNotAnImage_thenReturnsBadRequest() throws Exception {
+            // Arrange
+            when(imageService.upload(any())).thenThrow(new BadRequestException("La imagen debe ser JPEG o PNG"));
+
+            // Act & Assert
+            mockMvc.perform(multipart(IMAGES_ENDPOINT).file(imageFile())
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/images/{hash}/{fileName}")
+    class Serve {
+
+        private static final String FILE_URL = IMAGES_ENDPOINT + "/" + HASH + "/original.jpg";
+        private static final String ETAG = "\"" + HASH + "-original\"";
+
+        @BeforeEach
+        void setUp() throws IOException {
+            Path file = Files.writeString(tempDir.resolve("original.jpg"), CONTENT, StandardCharsets.US_ASCII);
+            when(imageService.findFile(HASH, "original.jpg")).thenReturn(Optional.of(
+                    new ImageStore.StoredFile(HASH, ImageVariant.ORIGINAL, ImageFormat.JPEG, file, CONTENT.length())));
+        }
+
+        @Test
+        @DisplayName("GET - Devuelve el fichero completo con cabeceras de caché inmutable")
+        void whenGetImage_thenReturnsWholeFileWithCacheHeaders() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(FILE_URL)
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("image/jpeg"))
+                    .andExpect(content().string(CONTENT))
+                    .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                    .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+        }
+
+        @Test
+        @DisplayName("GET - If-None-Match con el ETag → 304 sin cuerpo")
+        void whenEtagMatches_thenNotModified() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(FILE_URL)
+                            .header(HttpHeaders.IF_NONE_MATCH, ETAG)
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("GET - If-None-Match con lista, ETag débil o * → 304")
+        void whenEtagInListWeakOrWildcard_thenNotModified() throws Exception {
+            // Act & Assert
+            for (String ifNoneMatch : List.of("\"otro\", " + ETAG, "W/" + ETAG, "*")) {
+                mockMvc.perform(get(FILE_URL)
+                                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch)
+                                .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                        .andExpect(status().isNotModified());
+            }
+        }
+
+        @Test
+        @DisplayName("GET - Range de un tramo → 206 con Content-Range")
+        void whenSingleRange_thenPartialContent() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(FILE_URL)
+                            .header(HttpHeaders.RANGE, "bytes=2-5")
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                    .andExpect(content().string("2345"));
+
+            mockMvc.perform(get(FILE_URL)
+                            .header(HttpHeaders.RANGE, "bytes=-3")
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(content().string("789"));
+        }
+
+        @Test
+        @DisplayName("GET - Range fuera del fichero → 416")
+        void whenRangeNotSatisfiable_thenReturns416() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(FILE_URL)
+                            .header(HttpHeaders.RANGE, "bytes=50-60")
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isRequestedRangeNotSatisfiable())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        }
+
+        @Test
+        @DisplayName("GET - If-Range con otro ETag ignora el rango → 200 completo")
+        void whenIfRangeDoesNotMatch_thenWholeFile() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(FILE_URL)
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE"))
+                            .header(HttpHeaders.RANGE, "bytes=2-5")
+                            .header(HttpHeaders.IF_RANGE, "\"otro\""))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(CONTENT));
+        }
+    }
+
+    @Test
+    @DisplayName("GET - Imagen inexistente → 404")
+    void whenImageNotFound_thenReturns404() throws Exception {
+        // Arrange
+        when(imageService.findFile(anyString(), anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get(IMAGES_ENDPOINT + "/" + HASH + "/medium.png")
+                        .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                .andExpect(status().isNotFound());
+    }
+
+    private static MockMultipartFile imageFile() {
+        return new MockMultipartFile("file", "pizza.jpg", "image/jpeg", new byte[]{1, 2, 3});
+    }
+
+    private static ImageUploadResponseDto uploadResult(boolean deduplicated) {
+        return new ImageUploadResponseDto(HASH, "image/jpeg", 3, deduplicated, Map.of(
+                "original", "/api/images/" + HASH + "/original.jpg",
+                "medium", "/api/images/" + HASH + "/medium.jpg",
+                "thumbnail", "/api/images/" + HASH + "/thumbnail.jpg"));
+    }
+}
@@ -0,0 +1,181 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductBulkUpdateRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductBulkUpdateResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
+import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para ProductController - Endpoint PATCH /api/product/bulk/{restaurantId}
+ * Arquitectura aplicada:
+ * - @WebMvcTest: Solo carga ProductController (slice testing)
+ * - @MockitoBean: Mockea IProductService
+ * - @Nested: Agrupa Success Cases y Error Cases
+ * - AAA Pattern: Arrange, Act, Assert en cada test
+ * Cobertura:
+ * ✅ Actualización masiva válida → 200 OK con el resumen
+ * ✅ Lista de productos vacía → 400 Bad Request
+ * ✅ Bajada de precio del 100 % o más → 400 Bad Request
+ * ✅ Sin permiso sobre el restaurante → 403 Forbidden
+ */
+@WebMvcTest(
+        controllers = ProductController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtTokenFilter.class
+        )
+)
+@Slf4j
+@DisplayName("ProductController - PATCH /api/product/bulk/{restaurantId}")
+public class ProductControllerBulkUpdateTests {
+    /**
+     * Constantes para evitar el uso de "magic strings" hardcodeadas en los tests
+     */
+    private static final String BULK_ENDPOINT = "/api/product/bulk/";
+    private static final String RESTAURANTE_EMAIL = "restaurante@example.com";
+    private static final long RESTAURANT_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IProductService productService;
+
+    @MockitoBean
+    private IMenuCacheService menuCacheService;
+
+    @MockitoBean
+    private IProductImportService productImportService;
+
+    @MockitoBean
+    private IRecommendationService recommendationService;
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases - PATCH /api/product/bulk/{restaurantId}")
+    class SuccessCases {
+
+        /**
+         * Test que verifica que una actualización masiva válida devuelve 200 con el resumen.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("PATCH bulk - Debe retornar 200 OK con los productos actualizados")
+        void whenBulkUpdateWithValidData_thenReturnsOk() throws Exception {
+            // Arrange
+            ProductResponseDto updated = new ProductResponseDto(10L, RESTAURANT_ID, 1L, "Pizza", "Clásica",
+                    new BigDecimal("9.00"), "pizza.jpg", true, 5, "Pizzas", "Restaurante");
+            when(productService.bulkUpdateProducts(eq(RESTAURANT_ID), any(ProductBulkUpdateRequestDto.class)))
+                    .thenReturn(new ProductBulkUpdateResultDto(1, List.of(99L), List.of(updated)));
+
+            // Act & Assert
+            mockMvc.perform(patch(BULK_ENDPOINT + RESTAURANT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"productIds\":[10,99],\"priceChangePercent\":-10}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(1))
+                    .andExpect(jsonPath("$.notFound[0]").value(99))
+                    .andExpect(jsonPath("$.products[0].prd_id").value(10));
+
+            verify(productService, times(1))
+                    .bulkUpdateProducts(eq(RESTAURANT_ID), any(ProductBulkUpdateRequestDto.class));
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases - PATCH /api/product/bulk/{restaurantId}")
+    class ErrorCases {
+
+        /**
+         * Test que verifica que una lista de productos vacía se rechaza sin llamar al servicio.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("PATCH bulk - Debe retornar 400 si no se indica ningún producto")
+        void whenNoProductIds_thenReturnsBadRequest() throws Exception {
+            // Act & Assert
+            mockMvc.perform(patch(BULK_ENDPOINT + RESTAURANT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"productIds\":[],\"quantity\":0}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productService);
+        }
+
+        /**
+         * Test que verifica que una bajada de precio del 100 % se rechaza.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("PATCH bulk - Debe retornar 400 si la bajada de precio es del 100 %")
+        void whenPercentIsMinusHundred_thenReturnsBadRequest() throws Exception {
+            // Act & Assert
+            mockMvc.perform(patch(BULK_ENDPOINT + RESTAURANT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"productIds\":[10],\"priceChangePercent\":-100}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productService);
+        }
+
+        /**
+         * Test que verifica que actualizar productos de un restaurante ajeno devuelve 403.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("PATCH bulk - Debe retornar 403 si el usuario no es dueño del restaurante")
+        void whenUserNotRestaurantOwner_thenReturnsForbidden() throws Exception {
+            // Arrange
+            when(productService.bulkUpdateProducts(eq(RESTAURANT_ID), any(ProductBulkUpdateRequestDto.class)))
+                    .thenThrow(new UnauthorizedAccessException("No tienes permiso para actualizar los productos de este restaurante"));
+
+            // Act & Assert
+            mockMvc.perform(patch(BULK_ENDPOINT + RESTAURANT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"productIds\":[10],\"isActive\":false}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isForbidden());
+        }
+    }
+}
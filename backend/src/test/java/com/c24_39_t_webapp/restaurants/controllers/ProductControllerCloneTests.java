@@ -0,0 +1,178 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.request.MenuCloneRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.MenuCloneResultDto;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
+import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para ProductController - Endpoint POST /api/product/clone/{restaurantId}
+ * Arquitectura aplicada:
+ * - @WebMvcTest: Solo carga ProductController (slice testing)
+ * - @MockitoBean: Mockea IProductService
+ * - @Nested: Agrupa Success Cases y Error Cases
+ * - AAA Pattern: Arrange, Act, Assert en cada test
+ * Cobertura:
+ * ✅ Copia válida → 201 Created con el resumen
+ * ✅ Sin restaurante de origen → 400 Bad Request
+ * ✅ Bajada de precio del 100 % o más → 400 Bad Request
+ * ✅ Restaurante de otro propietario → 403 Forbidden
+ */
+@WebMvcTest(
+        controllers = ProductController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtTokenFilter.class
+        )
+)
+@Slf4j
+@DisplayName("ProductController - POST /api/product/clone/{restaurantId}")
+public class ProductControllerCloneTests {
+    /**
+     * Constantes para evitar el uso de "magic strings" hardcodeadas en los tests
+     */
+    private static final String CLONE_ENDPOINT = "/api/product/clone/";
+    private static final String RESTAURANTE_EMAIL = "restaurante@example.com";
+    private static final long SOURCE_ID = 1L;
+    private static final long TARGET_ID = 2L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IProductService productService;
+
+    @MockitoBean
+    private IMenuCacheService menuCacheService;
+
+    @MockitoBean
+    private IProductImportService productImportService;
+
+    @MockitoBean
+    private IRecommendationService recommendationService;
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases - POST /api/product/clone/{restaurantId}")
+    class SuccessCases {
+
+        /**
+         * Test que verifica que una copia válida devuelve 201 con el resumen y pasa el porcentaje al servicio.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST clone - Debe retornar 201 Created con el número de productos y categorías copiados")
+        void whenCloneWithValidData_thenReturnsCreated() throws Exception {
+            // Arrange
+            MenuCloneRequestDto expectedRequest = new MenuCloneRequestDto(SOURCE_ID, new BigDecimal("12.5"));
+            when(productService.cloneMenu(TARGET_ID, expectedRequest))
+                    .thenReturn(new MenuCloneResultDto(SOURCE_ID, TARGET_ID, 500, 12));
+
+            // Act & Assert
+            mockMvc.perform(post(CLONE_ENDPOINT + TARGET_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"sourceRestaurantId\":1,\"priceChangePercent\":12.5}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.targetRestaurantId").value(TARGET_ID))
+                    .andExpect(jsonPath("$.clonedProducts").value(500))
+                    .andExpect(jsonPath("$.clonedCategories").value(12));
+
+            verify(productService, times(1)).cloneMenu(TARGET_ID, expectedRequest);
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases - POST /api/product/clone/{restaurantId}")
+    class ErrorCases {
+
+        /**
+         * Test que verifica que una petición sin restaurante de origen se rechaza sin llamar al servicio.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST clone - Debe retornar 400 si no se indica el restaurante de origen")
+        void whenNoSourceRestaurant_thenReturnsBadRequest() throws Exception {
+            // Act & Assert
+            mockMvc.perform(post(CLONE_ENDPOINT + TARGET_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"priceChangePercent\":10}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productService);
+        }
+
+        /**
+         * Test que verifica que una bajada de precio del 100 % se rechaza.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST clone - Debe retornar 400 si la bajada de precio es del 100 %")
+        void whenPercentIsMinusHundred_thenReturnsBadRequest() throws Exception {
+            // Act & Assert
+            mockMvc.perform(post(CLONE_ENDPOINT + TARGET_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"sourceRestaurantId\":1,\"priceChangePercent\":-100}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productService);
+        }
+
+        /**
+         * Test que verifica que copiar entre restaurantes ajenos devuelve 403.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST clone - Debe retornar 403 si algún restaurante es de otro propietario")
+        void whenUserNotOwnerOfBoth_thenReturnsForbidden() throws Exception {
+            // Arrange
+            when(productService.cloneMenu(eq(TARGET_ID), any(MenuCloneRequestDto.class)))
+                    .thenThrow(new UnauthorizedAccessException("Solo se puede copiar la carta entre restaurantes propios"));
+
+            // Act & Assert
+            mockMvc.perform(post(CLONE_ENDPOINT + TARGET_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"sourceRestaurantId\":1}")
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isForbidden());
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.c24_39_t_webapp.restaurants.controllers;
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
 import com.c24_39_t_webapp.restaurants.exception.ProductNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
 import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
@@ -63,6 +66,15 @@ public class ProductControllerDeleteTests {
     @MockitoBean
     private IProductService productService;
 
+    @MockitoBean
+    private IMenuCacheService menuCacheService;
+
+    @MockitoBean
+    private IProductImportService productImportService;
+
+    @MockitoBean
+    private IRecommendationService recommendationService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
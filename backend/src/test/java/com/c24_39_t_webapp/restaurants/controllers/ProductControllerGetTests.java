@@ -1,13 +1,21 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
+import com.c24_39_t_webapp.restaurants.cache.CachedMenu;
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductListingRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.GroupedProductsResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
 import com.c24_39_t_webapp.restaurants.exception.ProductNotFoundException;
 import com.c24_39_t_webapp.restaurants.factories.ProductFactory;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
 import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +26,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,6 +34,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,12 +56,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Patrón Given-When-Then implícito en los tests
  * - Uso de constantes para evitar "magic strings"
  * Cobertura:
- * ✅ GET /api/product (todos los productos)
+ * ✅ GET /api/product (página de productos, parámetros enlazados, cabecera X-Next-Cursor, 400 si cursor inválido)
  * ✅ GET /api/product/{prd_id} (producto por ID)
+ * ✅ GET /api/product?ids= (varios productos por ID, orden de la petición, 400 si un ID no es numérico)
+ * ✅ GET /api/product/{prd_id}/frequently-ordered-together (venta cruzada)
  * ✅ GET /api/product/byCategory/{categoryId} (productos por categoría)
  * ✅ GET /api/product/byName (productos por nombre)
  * ✅ GET /api/product/byRestaurant/{restaurantId} (productos por restaurante)
- * ✅ GET /api/product/byRestaurantAndCategory/{restaurantId} (productos agrupados por categoría)
+ * ✅ GET /api/product/byRestaurantAndCategory/{restaurantId} (productos agrupados por categoría, ETag y 304)
  */
 @WebMvcTest(
         controllers = ProductController.class,
@@ -70,6 +83,7 @@ public class ProductControllerGetTests {
     private static final long PRODUCT_ID = 1L;
     private static final long RESTAURANT_ID = 1L;
     private static final long CATEGORY_ID = 1L;
+    private static final String MENU_ETAG = "\"0123456789abcdef0123456789abcdef\"";
 
     /**
      * MockMvc para simular peticiones HTTP al controlador
@@ -83,6 +97,24 @@ public class ProductControllerGetTests {
     @MockitoBean
     private IProductService productService;
 
+    /**
+     * Mock de la caché de cartas agrupadas por categoría
+     */
+    @MockitoBean
+    private IMenuCacheService menuCacheService;
+
+    /**
+     * Mock del servicio de importación masiva (dependencia del controlador)
+     */
+    @MockitoBean
+    private IProductImportService productImportService;
+
+    /**
+     * Mock del servicio de recomendaciones
+     */
+    @MockitoBean
+    private IRecommendationService recommendationService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
@@ -113,7 +145,7 @@ public class ProductControllerGetTests {
         @DisplayName("GET All /api/product Debe retornar 200 OK con lista de todos los productos")
         void whenGetAllProducts_thenReturnsOkWithList() throws Exception {
             // Arrange
-            when(productService.findAllProducts()).thenReturn(mockProductsList);
+            when(productService.findProducts(any())).thenReturn(new KeysetPageDto<>(mockProductsList, null));
 
             // Act & Assert
             mockMvc.perform(get(PRODUCT_ENDPOINT)
@@ -126,7 +158,7 @@ public class ProductControllerGetTests {
                     .andExpect(jsonPath("$[1].prd_id").value(2L))
                     .andExpect(jsonPath("$[1].name").value("La Paella"));
 
-            verify(productService, times(1)).findAllProducts();
+            verify(productService, times(1)).findProducts(any());
         }
 
         /**
@@ -141,7 +173,7 @@ public class ProductControllerGetTests {
         @DisplayName("GET All /api/product  Debe retornar 200 OK con lista VACÍA si no hay productos")
         void whenNoProducts_thenReturnsEmptyList() throws Exception {
             // Arrange
-            when(productService.findAllProducts()).thenReturn(Collections.emptyList());
+            when(productService.findProducts(any())).thenReturn(new KeysetPageDto<>(Collections.emptyList(), null));
 
             // Act & Assert
             mockMvc.perform(get(PRODUCT_ENDPOINT)
@@ -149,7 +181,76 @@ public class ProductControllerGetTests {
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(0)));
 
-            verify(productService, times(1)).findAllProducts();
+            verify(productService, times(1)).findProducts(any());
+        }
+
+        /**
+         * Test que verifica que los parámetros de paginación, orden y filtro llegan al servicio y que
+         * el cursor de la página siguiente se devuelve en la cabecera X-Next-Cursor
+         * Arrange: Configura el mock del servicio para retornar una página con cursor
+         * Act & Assert: Realiza la petición GET con parámetros y verifica la cabecera y el cuerpo (array)
+         * Verify: Verifica que el servicio recibió los parámetros enlazados
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET All /api/product Debe enlazar los parámetros y devolver el cursor en X-Next-Cursor")
+        void whenPageHasMoreResults_thenReturnsNextCursorHeader() throws Exception {
+            // Arrange
+            when(productService.findProducts(any())).thenReturn(new KeysetPageDto<>(mockProductsList, "abc123"));
+
+            // Act & Assert
+            mockMvc.perform(get(PRODUCT_ENDPOINT)
+                            .param("sort", "price_desc")
+                            .param("cursor", "xyz")
+                            .param("limit", "2")
+                            .param("activeOnly", "true")
+                            .param("minPrice", "5")
+                            .param("maxPrice", "20.50")
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(KeysetPageDto.NEXT_CURSOR_HEADER, "abc123"))
+                    .andExpect(jsonPath("$", hasSize(2)));
+
+            verify(productService, times(1)).findProducts(new ProductListingRequestDto(
+                    "price_desc", "xyz", 2, true, new BigDecimal("5"), new BigDecimal("20.50")));
+        }
+
+        /**
+         * Test que verifica que en la última página no se envía la cabecera X-Next-Cursor
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET All /api/product Debe omitir X-Next-Cursor en la última página")
+        void whenLastPage_thenNoNextCursorHeader() throws Exception {
+            // Arrange
+            when(productService.findProducts(any())).thenReturn(new KeysetPageDto<>(mockProductsList, null));
+
+            // Act & Assert
+            mockMvc.perform(get(PRODUCT_ENDPOINT)
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(KeysetPageDto.NEXT_CURSOR_HEADER));
+        }
+
+        /**
+         * Test que verifica que un parámetro inválido rechazado por el servicio devuelve 400
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET All /api/product Debe retornar 400 BAD REQUEST si el cursor es inválido")
+        void whenInvalidCursor_thenReturns400() throws Exception {
+            // Arrange
+            when(productService.findProducts(any())).thenThrow(new BadRequestException("Cursor de paginación inválido"));
+
+            // Act & Assert
+            mockMvc.perform(get(PRODUCT_ENDPOINT)
+                            .param("cursor", "manipulado")
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Cursor de paginación inválido"));
         }
     }
 
@@ -199,6 +300,36 @@ public class ProductControllerGetTests {
             }
         }
 
+        @Nested
+        @DisplayName("Frequently Ordered Together")
+        class FrequentlyOrderedTogetherCases {
+            /**
+             * Test que verifica que la venta cruzada de un producto devuelve 200 OK con los productos recomendados
+             * Arrange: Configura el mock del servicio de recomendaciones
+             * Act & Assert: Realiza la petición GET con límite y verifica el JSON
+             * Verify: Verifica que el límite llega al servicio
+             *
+             * @throws Exception
+             */
+            @Test
+            @DisplayName("GET /api/product/{prd_id}/frequently-ordered-together - Debe retornar 200 OK con las recomendaciones")
+            void whenGetFrequentlyOrderedTogether_thenReturnsOk() throws Exception {
+                // Arrange
+                when(recommendationService.findFrequentlyOrderedTogether(PRODUCT_ID, 3))
+                        .thenReturn(List.of(expectedProduct));
+
+                // Act & Assert
+                mockMvc.perform(get(PRODUCT_ENDPOINT + "/" + PRODUCT_ID + "/frequently-ordered-together")
+                                .param("limit", "3")
+                                .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.length()").value(1))
+                        .andExpect(jsonPath("$[0].prd_id").value(PRODUCT_ID));
+
+                verify(recommendationService, times(1)).findFrequentlyOrderedTogether(PRODUCT_ID, 3);
+            }
+        }
+
         @Nested
         @DisplayName("GetByID Error Cases")
         class GetByIdErrorCases {
@@ -252,8 +383,8 @@ public class ProductControllerGetTests {
             @DisplayName("Get By Category /api/product/byCategory/{categoryId} Debe retornar 200 OK con lista de productos de la categoría")
             void whenGetProductsByCategory_thenReturnsOk() throws Exception {
                 // Arrange
-                when(productService.findProductsByCategoryId(CATEGORY_ID))
-                        .thenReturn(mockProductsList);
+                when(productService.findProductsByCategoryId(eq(CATEGORY_ID), any()))
+                        .thenReturn(new KeysetPageDto<>(mockProductsList, null));
 
                 // Act & Assert
                 mockMvc.perform(get(PRODUCT_ENDPOINT + "/byCategory/" + CATEGORY_ID)
@@ -264,7 +395,7 @@ public class ProductControllerGetTests {
                         .andExpect(jsonPath("$[1].name").value("Pizza Carbonara"))
                         .andExpect(jsonPath("$[1].description").value("Auténtica carbonara extra"));
 
-                verify(productService, times(1)).findProductsByCategoryId(CATEGORY_ID);
+                verify(productService, times(1)).findProductsByCategoryId(eq(CATEGORY_ID), any());
             }
 
             /**
@@ -280,8 +411,8 @@ public class ProductControllerGetTests {
             @DisplayName("Get By Category /api/product/byCategory/{categoryId} Debe retornar 200 OK con lista VACÍA si la categoría no tiene productos")
             void whenCategoryHasNoProducts_thenReturnsEmptyList() throws Exception {
                 // Arrange
-                when(productService.findProductsByCategoryId(999L))
-                        .thenReturn(Collections.emptyList());
+                when(productService.findProductsByCategoryId(eq(999L), any()))
+                        .thenReturn(new KeysetPageDto<>(Collections.emptyList(), null));
 
                 // Act & Assert
                 mockMvc.perform(get(PRODUCT_ENDPOINT + "/byCategory/999")
@@ -289,7 +420,7 @@ public class ProductControllerGetTests {
                         .andExpect(status().isOk())
                         .andExpect(jsonPath("$", hasSize(0)));
 
-                verify(productService, times(1)).findProductsByCategoryId(999L);
+                verify(productService, times(1)).findProductsByCategoryId(eq(999L), any());
             }
         }
 
@@ -386,8 +517,8 @@ public class ProductControllerGetTests {
             @DisplayName(" GET by Restaurant /api/product/byRestaurant Debe retornar 200 OK con lista de productos del restaurante")
             void whenGetProductsByRestaurant_thenReturnsOk() throws Exception {
                 // Arrange
-                when(productService.findProductsByRestaurantId(RESTAURANT_ID))
-                        .thenReturn(mockProductsList);
+                when(productService.findProductsByRestaurantId(eq(RESTAURANT_ID), any()))
+                        .thenReturn(new KeysetPageDto<>(mockProductsList, null));
 
                 // Act & Assert
                 mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurant/" + RESTAURANT_ID)
@@ -397,7 +528,7 @@ public class ProductControllerGetTests {
                         .andExpect(jsonPath("$[0].restaurantName").value("Mediterráneo"))
                         .andExpect(jsonPath("$[1].restaurantName").value("Mediterráneo"));
 
-                verify(productService, times(1)).findProductsByRestaurantId(RESTAURANT_ID);
+                verify(productService, times(1)).findProductsByRestaurantId(eq(RESTAURANT_ID), any());
             }
 
             /**
@@ -413,8 +544,8 @@ public class ProductControllerGetTests {
             @DisplayName(" GET by Restaurant /api/product/byRestaurant Debe retornar 200 OK con lista VACÍA si el restaurante no tiene productos")
             void whenRestaurantHasNoProducts_thenReturnsEmptyList() throws Exception {
                 // Arrange
-                when(productService.findProductsByRestaurantId(999L))
-                        .thenReturn(Collections.emptyList());
+                when(productService.findProductsByRestaurantId(eq(999L), any()))
+                        .thenReturn(new KeysetPageDto<>(Collections.emptyList(), null));
 
                 // Act & Assert
                 mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurant/999")
@@ -422,7 +553,7 @@ public class ProductControllerGetTests {
                         .andExpect(status().isOk())
                         .andExpect(jsonPath("$", hasSize(0)));
 
-                verify(productService, times(1)).findProductsByRestaurantId(999L);
+                verify(productService, times(1)).findProductsByRestaurantId(eq(999L), any());
             }
         }
 
@@ -452,8 +583,8 @@ public class ProductControllerGetTests {
             @DisplayName("GET by Restaurant & Category Debe retornar 200 OK con productos agrupados por categoría")
             void whenGetProductsGroupedByRestaurantAndCategory_thenReturnsOk() throws Exception {
                 // Arrange
-                when(productService.findProductsByRestaurantIdAndCategory(RESTAURANT_ID))
-                        .thenReturn(mockGroupedProducts);
+                when(menuCacheService.getMenu(RESTAURANT_ID))
+                        .thenReturn(cachedMenu(RESTAURANT_ID, mockGroupedProducts));
 
                 // Act & Assert
                 mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurantAndCategory/" + RESTAURANT_ID)
@@ -470,9 +601,10 @@ public class ProductControllerGetTests {
                         .andExpect(jsonPath("$[1].categoryName").value("Pastas"))
                         .andExpect(jsonPath("$[1].categoryId").value(2L))
                         .andExpect(jsonPath("$[1].products", hasSize(1)))
-                        .andExpect(jsonPath("$[1].products[0].name").value("Pasta bolognese"));
+                        .andExpect(jsonPath("$[1].products[0].name").value("Pasta bolognese"))
+                        .andExpect(header().string(HttpHeaders.ETAG, MENU_ETAG));
 
-                verify(productService, times(1)).findProductsByRestaurantIdAndCategory(RESTAURANT_ID);
+                verify(menuCacheService, times(1)).getMenu(RESTAURANT_ID);
             }
 
             /**
@@ -488,8 +620,8 @@ public class ProductControllerGetTests {
             @DisplayName("GET by Restaurant & Category Debe retornar 200 OK con lista VACÍA si el restaurante no tiene productos")
             void whenRestaurantHasNoGroupedProducts_thenReturnsEmptyList() throws Exception {
                 // Arrange
-                when(productService.findProductsByRestaurantIdAndCategory(999L))
-                        .thenReturn(Collections.emptyList());
+                when(menuCacheService.getMenu(999L))
+                        .thenReturn(cachedMenu(999L, Collections.emptyList()));
 
                 // Act & Assert
                 mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurantAndCategory/999")
@@ -497,8 +629,93 @@ public class ProductControllerGetTests {
                         .andExpect(status().isOk())
                         .andExpect(jsonPath("$", hasSize(0)));
 
-                verify(productService, times(1)).findProductsByRestaurantIdAndCategory(999L);
+                verify(menuCacheService, times(1)).getMenu(999L);
+            }
+
+            /**
+             * Test que verifica que si la carta está en caché y el cliente envía su ETag en If-None-Match,
+             * se responde 304 Not Modified sin cuerpo y sin cargar la carta
+             * Arrange: Configura la caché con la carta del restaurante
+             * Act & Assert: Realiza la petición GET con If-None-Match y verifica el status 304
+             * Verify: Verifica que no se cargó la carta ni se llamó al servicio de productos
+             *
+             * @throws Exception
+             */
+            @Test
+            @DisplayName("GET by Restaurant & Category Debe retornar 304 si el ETag coincide con la carta en caché")
+            void whenIfNoneMatchesCachedEtag_thenReturnsNotModified() throws Exception {
+                // Arrange
+                when(menuCacheService.getIfCached(RESTAURANT_ID))
+                        .thenReturn(Optional.of(cachedMenu(RESTAURANT_ID, mockGroupedProducts)));
+
+                // Act & Assert
+                mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurantAndCategory/" + RESTAURANT_ID)
+                                .header(HttpHeaders.IF_NONE_MATCH, MENU_ETAG)
+                                .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string(HttpHeaders.ETAG, MENU_ETAG))
+                        .andExpect(content().string(""));
+
+                verify(menuCacheService, never()).getMenu(any());
+                verifyNoInteractions(productService);
+            }
+
+            private CachedMenu cachedMenu(Long restaurantId, List<GroupedProductsResponseDto> groups) throws Exception {
+                return new CachedMenu(restaurantId, MENU_ETAG, objectMapper.writeValueAsBytes(groups),
+                        groups.stream().map(GroupedProductsResponseDto::categoryId).collect(Collectors.toSet()));
             }
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("GET /api/product?ids= (consulta múltiple)")
+    class GetProductsByIdsTests {
+
+        /**
+         * Test que verifica que la lista de IDs llega al servicio en orden y que la respuesta marca los no encontrados
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/product?ids= Retorna 200 OK en el orden solicitado con los IDs inexistentes marcados")
+        void whenGetProductsByIds_thenReturnsItemsInRequestOrder() throws Exception {
+            // Arrange
+            ProductResponseDto product = ProductFactory.responseListDefault().get(0);
+            when(productService.findProductsByIds(List.of(99L, product.prd_id()))).thenReturn(new BatchResponseDto<>(
+                    List.of(new BatchResponseDto.Item<>(99L, false, null),
+                            new BatchResponseDto.Item<>(product.prd_id(), true, product)),
+                    List.of(99L)));
+
+            // Act & Assert
+            mockMvc.perform(get(PRODUCT_ENDPOINT)
+                            .param("ids", "99, " + product.prd_id())
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].found").value(false))
+                    .andExpect(jsonPath("$.items[1].data.name").value(product.name()))
+                    .andExpect(jsonPath("$.missingIds[0]").value(99));
+
+            // Verify - No se usa el listado paginado
+            verify(productService, times(1)).findProductsByIds(List.of(99L, product.prd_id()));
+            verify(productService, never()).findProducts(any());
+        }
+
+        /**
+         * Test que verifica que un ID no numérico retorna 400 sin llegar al servicio
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/product?ids= Retorna 400 Bad Request con un ID no numérico")
+        void whenIdsNotNumeric_thenReturnsBadRequest() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(PRODUCT_ENDPOINT)
+                            .param("ids", "1,abc")
+                            .with(user(CLIENTE_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productService);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.request.ImportMode;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductImportResultDto;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
+import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests unitarios para ProductController - Endpoint POST /api/product/import/{restaurantId}
+ * Arquitectura aplicada:
+ * - @WebMvcTest: Solo carga ProductController (slice testing)
+ * - @MockitoBean: Mockea IProductImportService
+ * - @Nested: Agrupa Success Cases y Error Cases
+ * - AAA Pattern: Arrange, Act, Assert en cada test
+ * Cobertura:
+ * ✅ Importación JSON atómica sin errores → 200 OK con informe
+ * ✅ Importación CSV parcial → 200 OK, el servicio recibe formato CSV y modo PARTIAL
+ * ✅ Importación atómica con filas inválidas → 422 Unprocessable Entity con informe por fila
+ * ✅ Modo desconocido → 400 Bad Request
+ * ✅ Sin permiso sobre el restaurante → 403 Forbidden
+ */
+@WebMvcTest(
+        controllers = ProductController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtTokenFilter.class
+        )
+)
+@Slf4j
+@DisplayName("ProductController - POST /api/product/import/{restaurantId}")
+public class ProductControllerImportTests {
+    /**
+     * Constantes para evitar el uso de "magic strings" hardcodeadas en los tests
+     */
+    private static final String IMPORT_ENDPOINT = "/api/product/import/";
+    private static final String RESTAURANTE_EMAIL = "restaurante@example.com";
+    private static final long RESTAURANT_ID = 1L;
+    private static final String JSON_BODY = """
+            [{"name":"Pizza","description":"Clásica","price":9.5,"image":"pizza.jpg","quantity":10,"categoryName":"Pizzas"}]
+            """;
+    private static final String CSV_BODY = """
+            name,description,price,image,quantity,categoryName
+            Pizza,Clásica,9.5,pizza.jpg,10,Pizzas
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IProductService productService;
+
+    @MockitoBean
+    private IMenuCacheService menuCacheService;
+
+    /**
+     * Mock del servicio de importación masiva
+     */
+    @MockitoBean
+    private IProductImportService productImportService;
+
+    /**
+     * Mock del servicio de recomendaciones (dependencia del controlador)
+     */
+    @MockitoBean
+    private IRecommendationService recommendationService;
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases - POST /api/product/import/{restaurantId}")
+    class SuccessCases {
+
+        /**
+         * Test que verifica que una importación JSON sin errores devuelve 200 y el informe.
+         * Por defecto el modo es ATOMIC y el formato JSON.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST import JSON - Debe retornar 200 OK con el informe de importación")
+        void whenImportJsonWithoutErrors_thenReturnsOkWithReport() throws Exception {
+            // Arrange
+            when(productImportService.importProducts(eq(RESTAURANT_ID), any(), eq(false), eq(ImportMode.ATOMIC)))
+                    .thenReturn(new ProductImportResultDto("ATOMIC", 1, 1, 0, List.of()));
+
+            // Act & Assert
+            mockMvc.perform(post(IMPORT_ENDPOINT + RESTAURANT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(JSON_BODY)
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(1))
+                    .andExpect(jsonPath("$.failed").value(0));
+
+            verify(productImportService, times(1))
+                    .importProducts(eq(RESTAURANT_ID), any(), eq(false), eq(ImportMode.ATOMIC));
+        }
+
+        /**
+         * Test que verifica que un CSV en modo parcial llega al servicio como CSV/PARTIAL y devuelve 200
+         * aunque haya filas con errores.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST import CSV partial - Debe retornar 200 OK aunque haya filas inválidas")
+        void whenImportCsvPartialWithErrors_thenReturnsOk() throws Exception {
+            // Arrange
+            when(productImportService.importProducts(eq(RESTAURANT_ID), any(), eq(true), eq(ImportMode.PARTIAL)))
+                    .thenReturn(new ProductImportResultDto("PARTIAL", 2, 1, 1,
+                            List.of(new ProductImportResultDto.RowError(2, "El precio no puede ser nulo."))));
+
+            // Act & Assert
+            mockMvc.perform(post(IMPORT_ENDPOINT + RESTAURANT_ID)
+                            .param("mode", "partial")
+                            .contentType("text/csv")
+                            .content(CSV_BODY)
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.mode").value("PARTIAL"))
+                    .andExpect(jsonPath("$.errors[0].row").value(2));
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases - POST /api/product/import/{restaurantId}")
+    class ErrorCases {
+
+        /**
+         * Test que verifica que una importación atómica con filas inválidas se rechaza con 422 y el informe.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST import atomic - Debe retornar 422 si alguna fila es inválida")
+        void whenAtomicImportHasInvalidRows_thenReturnsUnprocessableEntity() throws Exception {
+            // Arrange
+            when(productImportService.importProducts(any(), any(), anyBoolean(), any()))
+                    .thenReturn(new ProductImportResultDto("ATOMIC", 1, 0, 1,
+                            List.of(new ProductImportResultDto.RowError(1, "La cantidad no puede ser negativa."))));
+
+            // Act & Assert
+            mockMvc.perform(post(IMPORT_ENDPOINT + RESTAURANT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(JSON_BODY)
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.imported").value(0))
+                    .andExpect(jsonPath("$.errors[0].message").value("La cantidad no puede ser negativa."));
+        }
+
+        /**
+         * Test que verifica que un modo desconocido devuelve 400 sin llamar al servicio.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST import - Debe retornar 400 si el modo no existe")
+        void whenUnknownMode_thenReturnsBadRequest() throws Exception {
+            // Act & Assert
+            mockMvc.perform(post(IMPORT_ENDPOINT + RESTAURANT_ID)
+                            .param("mode", "sometimes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(JSON_BODY)
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(productImportService);
+        }
+
+        /**
+         * Test que verifica que importar en un restaurante ajeno devuelve 403.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("POST import - Debe retornar 403 si el usuario no es dueño del restaurante")
+        void whenNotOwner_thenReturnsForbidden() throws Exception {
+            // Arrange
+            when(productImportService.importProducts(any(), any(), anyBoolean(), any()))
+                    .thenThrow(new UnauthorizedAccessException("No tienes permiso para añadir productos a este restaurante"));
+
+            // Act & Assert
+            mockMvc.perform(post(IMPORT_ENDPOINT + RESTAURANT_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(JSON_BODY)
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isForbidden());
+        }
+    }
+}
@@ -8,7 +8,10 @@ import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.factories.ProductFactory;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IProductImportService;
 import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.IRecommendationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -77,6 +80,15 @@ public class ProductControllerRegisterTests {
     @MockitoBean
     private IProductService productService;
 
+    @MockitoBean
+    private IMenuCacheService menuCacheService;
+
+    @MockitoBean
+    private IProductImportService productImportService;
+
+    @MockitoBean
+    private IRecommendationService recommendationService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
@@ -2,10 +2,19 @@ package com.c24_39_t_webapp.restaurants.controllers;
 
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
 import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesReplaceDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesUpdateDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.OfferedCategoriesResultDto;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.factories.CategoryFactory;
+import com.c24_39_t_webapp.restaurants.services.IGeoSearchService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantPageService;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.services.ITrendingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +29,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -36,11 +46,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Test para los endpoints de categorías en RestaurantController
  * Verifica que al obtener las categorías de un restaurante, se retorna el código 200 OK con el conjunto de categorías
  * Verifica que al añadir una categoría a un restaurante, se retorna el código 201 Created con la categoría añadida
+ * Verifica que al añadir/quitar o sustituir varias categorías a la vez, se retorna 200 OK con las categorías resultantes
  * También verifica los casos de error:
  * - RestaurantNotFoundException: cuando el restaurante no existe. Retorna 404 Not Found
  * - Petición sin autenticación: retorna 401 Unauthorized
+ * - UnauthorizedAccessException: cuando el restaurante es de otro usuario. Retorna 403 Forbidden
  *
- * NOTA: Ambos endpoints requieren @PreAuthorize("hasRole('RESTAURANTE')")
+ * NOTA: Todos los endpoints requieren @PreAuthorize("hasRole('RESTAURANTE')")
  *
  * Patrón AAA: Arrange, Act, Assert
  */
@@ -74,6 +86,21 @@ public class RestaurantControllerCategoryTests {
     @MockitoBean
     private IRestaurantService restaurantService;
 
+    @MockitoBean
+    private IGeoSearchService geoSearchService;
+
+    @MockitoBean
+    private IOpeningHoursService openingHoursService;
+
+    @MockitoBean
+    private ITrendingService trendingService;
+
+    @MockitoBean
+    private IRestaurantPageService restaurantPageService;
+
+    @MockitoBean
+    private IVerifiedPurchaseService verifiedPurchaseService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
@@ -271,4 +298,81 @@ public class RestaurantControllerCategoryTests {
             verify(restaurantService, never()).addCategoryToRestaurant(any(), any());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("PATCH/PUT /api/restaurant/{restaurantId}/categories")
+    class BulkOfferedCategoriesTests {
+
+        /**
+         * Test que verifica que al añadir y quitar varias categorías a la vez se retorna 200 OK
+         * con el resumen del cambio y las categorías resultantes
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("PATCH /api/restaurant/{id}/categories - Retorna 200 OK con las categorías resultantes")
+        void whenPatchCategories_thenReturnsOkWithResult() throws Exception {
+            // Arrange
+            OfferedCategoriesUpdateDto update = new OfferedCategoriesUpdateDto(List.of(1L, 2L, 99L), List.of(3L));
+            when(restaurantService.updateOfferedCategories(RESTAURANT_ID, update))
+                    .thenReturn(new OfferedCategoriesResultDto(2, 1, List.of(99L), List.of(
+                            new CategoryResponseDto(1L, "Pizzas", "Desc"), new CategoryResponseDto(2L, "Pastas", "Desc"))));
+
+            // Act & Assert
+            mockMvc.perform(patch(RESTAURANT_ENDPOINT + "/" + RESTAURANT_ID + "/categories")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update))
+                            .with(user(VALID_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.added").value(2))
+                    .andExpect(jsonPath("$.removed").value(1))
+                    .andExpect(jsonPath("$.notFound[0]").value(99))
+                    .andExpect(jsonPath("$.categories", hasSize(2)));
+
+            // Verify
+            verify(restaurantService, times(1)).updateOfferedCategories(RESTAURANT_ID, update);
+        }
+
+        /**
+         * Test que verifica que al sustituir las categorías sin indicar la lista se retorna 400 Bad Request
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("Fail PUT /api/restaurant/{id}/categories - Retorna 400 sin la lista de categorías")
+        void whenPutWithoutCategoryIds_thenReturns400() throws Exception {
+            // Act & Assert
+            mockMvc.perform(put(RESTAURANT_ENDPOINT + "/" + RESTAURANT_ID + "/categories")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{}")
+                            .with(user(VALID_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isBadRequest());
+
+            // Verify que el servicio NO fue llamado
+            verifyNoInteractions(restaurantService);
+        }
+
+        /**
+         * Test que verifica que al sustituir las categorías de un restaurante ajeno se retorna 403 Forbidden
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("Fail PUT /api/restaurant/{id}/categories - Retorna 403 si el restaurante es de otro usuario")
+        void whenPutOnOtherUsersRestaurant_thenReturns403() throws Exception {
+            // Arrange
+            when(restaurantService.replaceOfferedCategories(eq(RESTAURANT_ID), any(OfferedCategoriesReplaceDto.class)))
+                    .thenThrow(new UnauthorizedAccessException("No tienes permiso para cambiar las categorías de este restaurante"));
+
+            // Act & Assert
+            mockMvc.perform(put(RESTAURANT_ENDPOINT + "/" + RESTAURANT_ID + "/categories")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"categoryIds\":[]}")
+                            .with(user(VALID_EMAIL).roles("RESTAURANTE"))
+                            .with(csrf()))
+                    .andExpect(status().isForbidden());
+        }
+    }
+}
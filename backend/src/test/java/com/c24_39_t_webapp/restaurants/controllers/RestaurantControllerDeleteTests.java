@@ -3,7 +3,12 @@ package com.c24_39_t_webapp.restaurants.controllers;
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.services.IGeoSearchService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantPageService;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.services.ITrendingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
@@ -58,6 +63,21 @@ public class RestaurantControllerDeleteTests {
     @MockitoBean
     private IRestaurantService restaurantService;
 
+    @MockitoBean
+    private IGeoSearchService geoSearchService;
+
+    @MockitoBean
+    private IOpeningHoursService openingHoursService;
+
+    @MockitoBean
+    private ITrendingService trendingService;
+
+    @MockitoBean
+    private IRestaurantPageService restaurantPageService;
+
+    @MockitoBean
+    private IVerifiedPurchaseService verifiedPurchaseService;
+
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
@@ -1,13 +1,29 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantDirectoryRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.NearbyRestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantCardResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantPageResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.TrendingRestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
 import com.c24_39_t_webapp.restaurants.exception.ResourceNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.factories.RestaurantFactory;
+import com.c24_39_t_webapp.restaurants.services.IGeoSearchService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantPageService;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.services.ITrendingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,9 +38,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
@@ -39,6 +60,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Verifica que al obtener todos los restaurantes, se retorna el código 200 OK con la lista de restaurantes
  * Verifica que al obtener todos los restaurantes, si no los hay se obtiene una lista vacía
  * Verifica que al obtener un restaurante por ID válido, se retorna 200 OK con los datos del restaurante
+ * Verifica que la consulta múltiple por IDs retorna los restaurantes en orden y marca los inexistentes
+ * Verifica que la búsqueda por cercanía retorna los restaurantes con su distancia (400 sin coordenadas)
+ * Verifica que el directorio retorna la página de tarjetas con el cursor de la siguiente en la cabecera
+ * Verifica que el ranking de tendencia retorna los restaurantes con su número de pedidos
+ * Verifica que la página del restaurante retorna la carta en crudo, las categorías y el resumen de reseñas
  * También verifica el caso de error:
  * - RestaurantNotFoundException: cuando el restaurante no existe. Retorna 404 Not Found
  * - UnauthorizedAccessException: cuando el usuario no tiene permiso. Retorna 403 Forbidden
@@ -71,6 +97,21 @@ public class RestaurantControllerGetTests {
      */
     @MockitoBean
     private IRestaurantService restaurantService;
+
+    @MockitoBean
+    private IGeoSearchService geoSearchService;
+
+    @MockitoBean
+    private IOpeningHoursService openingHoursService;
+
+    @MockitoBean
+    private ITrendingService trendingService;
+
+    @MockitoBean
+    private IRestaurantPageService restaurantPageService;
+
+    @MockitoBean
+    private IVerifiedPurchaseService verifiedPurchaseService;
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
@@ -149,6 +190,31 @@ public class RestaurantControllerGetTests {
 
             verify(restaurantService, times(1)).findAll();
         }
+
+        /**
+         * Test que verifica que con openAt el listado se filtra por horario en el servicio
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET All /api/restaurant/all?openAt= Retorna 200 OK con los restaurantes abiertos en ese momento")
+        void whenGetAllWithOpenAt_thenDelegatesOpeningHoursFilter() throws Exception {
+            // Arrange
+            LocalDateTime openAt = LocalDateTime.of(2026, 10, 16, 21, 30);
+            when(restaurantService.findAll(null, openAt)).thenReturn(List.of(mockRestaurantsList.get(0)));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/all")
+                            .param("openAt", "2026-10-16T21:30:00")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].rst_id").value(1L));
+
+            // Verify
+            verify(restaurantService, times(1)).findAll(null, openAt);
+            verify(restaurantService, never()).findAll();
+        }
     }
 
     @Nested
@@ -334,4 +400,301 @@ public class RestaurantControllerGetTests {
             verify(restaurantService, times(1)).findRestaurantsByOwnerId(OWNER_ID);
         }
     }
+
+    @Nested
+    @DisplayName("GetByIds Cases")
+    class GetByIdsCases {
+        /**
+         * Test que verifica que la consulta múltiple retorna los restaurantes en el orden solicitado
+         * y marca los IDs que no existen
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant?ids= Retorna 200 OK con los restaurantes y los IDs inexistentes marcados")
+        void whenGetRestaurantsByIds_thenReturnsOkWithMissingMarkers() throws Exception {
+            // Arrange
+            when(restaurantService.findByIds(List.of(restId, 42L))).thenReturn(new BatchResponseDto<>(
+                    List.of(new BatchResponseDto.Item<>(restId, true, expectedRestaurantResponse),
+                            new BatchResponseDto.Item<>(42L, false, null)),
+                    List.of(42L)));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT)
+                            .param("ids", restId + ",42")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].data.rst_id").value(restId))
+                    .andExpect(jsonPath("$.items[1].id").value(42))
+                    .andExpect(jsonPath("$.items[1].found").value(false))
+                    .andExpect(jsonPath("$.missingIds", hasSize(1)));
+
+            // Verify
+            verify(restaurantService, times(1)).findByIds(List.of(restId, 42L));
+        }
+    }
+
+    @Nested
+    @DisplayName("GetPage Cases")
+    class GetPageCases {
+        /**
+         * Test que verifica que la página del restaurante incluye la carta en crudo, las categorías y las reseñas
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/{id}/page Retorna 200 OK con todas las secciones")
+        void whenGetPage_thenReturnsOkWithAllSections() throws Exception {
+            // Arrange
+            when(restaurantPageService.getPage(restId)).thenReturn(new RestaurantPageResponseDto(
+                    expectedRestaurantResponse,
+                    "[{\"categoryId\":1,\"categoryName\":\"Pastas\",\"products\":[]}]",
+                    List.of(new CategoryResponseDto(1L, "Pastas", "Caseras")),
+                    new ReviewSummaryResponseDto(2, 8.5, List.of()),
+                    List.of()));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/" + restId + "/page")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.restaurant.rst_id").value(restId))
+                    .andExpect(jsonPath("$.menu[0].categoryName").value("Pastas"))
+                    .andExpect(jsonPath("$.categories[0].name").value("Pastas"))
+                    .andExpect(jsonPath("$.reviews.reviewCount").value(2))
+                    .andExpect(jsonPath("$.unavailableSections", hasSize(0)));
+
+            // Verify
+            verify(restaurantPageService, times(1)).getPage(restId);
+        }
+
+        /**
+         * Test que verifica que un restaurante inexistente retorna 404 Not Found
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/{id}/page Retorna 404 Not Found si el restaurante no existe")
+        void whenRestaurantNotFound_thenReturnsNotFound() throws Exception {
+            // Arrange
+            when(restaurantPageService.getPage(999L))
+                    .thenThrow(new RestaurantNotFoundException("No se encontró un restaurante con ese ID: 999"));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/999/page")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GetOpeningHours Cases")
+    class GetOpeningHoursCases {
+        /**
+         * Test que verifica que se retorna el horario semanal del restaurante
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/{id}/opening-hours Retorna 200 OK con los intervalos de apertura")
+        void whenGetOpeningHours_thenReturnsOkWithSchedule() throws Exception {
+            // Arrange
+            when(openingHoursService.getSchedule(restId)).thenReturn(List.of(
+                    new OpeningIntervalDto(DayOfWeek.FRIDAY, LocalTime.of(13, 0), LocalTime.of(16, 0)),
+                    new OpeningIntervalDto(DayOfWeek.FRIDAY, LocalTime.of(20, 0), LocalTime.of(2, 0))));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/" + restId + "/opening-hours")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[1].day").value("FRIDAY"))
+                    .andExpect(jsonPath("$[1].opens").value("20:00:00"))
+                    .andExpect(jsonPath("$[1].closes").value("02:00:00"));
+
+            // Verify
+            verify(openingHoursService, times(1)).getSchedule(restId);
+        }
+
+        /**
+         * Test que verifica que un restaurante inexistente retorna 404 Not Found
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/{id}/opening-hours Retorna 404 Not Found si el restaurante no existe")
+        void whenRestaurantNotFound_thenReturnsNotFound() throws Exception {
+            // Arrange
+            when(openingHoursService.getSchedule(999L))
+                    .thenThrow(new RestaurantNotFoundException("No se encontró un restaurante con ese ID: 999"));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/999/opening-hours")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GetNearby Cases")
+    class GetNearbyCases {
+        /**
+         * Test que verifica que la búsqueda por cercanía delega en el servicio con los parámetros recibidos
+         * y retorna los restaurantes con su distancia
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/nearby Retorna 200 OK con los restaurantes ordenados por distancia")
+        void whenGetNearby_thenReturnsOkWithDistances() throws Exception {
+            // Arrange
+            when(geoSearchService.findNearby(40.4169, -3.7035, 5.0, 10, 1L, null, null))
+                    .thenReturn(List.of(new NearbyRestaurantResponseDto(expectedRestaurantResponse, 1.234)));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/nearby")
+                            .param("lat", "40.4169")
+                            .param("lng", "-3.7035")
+                            .param("radiusKm", "5")
+                            .param("limit", "10")
+                            .param("cuisineId", "1")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].restaurant.rst_id").value(restId))
+                    .andExpect(jsonPath("$[0].distanceKm").value(1.234));
+
+            // Verify
+            verify(geoSearchService, times(1)).findNearby(40.4169, -3.7035, 5.0, 10, 1L, null, null);
+            verify(restaurantService, never()).findById(anyLong());
+        }
+
+        /**
+         * Test que verifica que sin coordenadas se retorna 400 Bad Request
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/nearby Retorna 400 Bad Request sin coordenadas")
+        void whenGetNearbyWithoutCoordinates_thenReturnsBadRequest() throws Exception {
+            // Arrange
+            when(geoSearchService.findNearby(null, null, null, null, null, null, null))
+                    .thenThrow(new BadRequestException("Latitud y longitud son obligatorias"));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/nearby")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GetDirectory Cases")
+    class GetDirectoryCases {
+        /**
+         * Test que verifica que el directorio enlaza los parámetros de la query string y devuelve
+         * el cursor de la página siguiente en la cabecera X-Next-Cursor
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/directory Retorna 200 OK con las tarjetas y el cursor siguiente")
+        void whenGetDirectory_thenReturnsOkWithCardsAndCursor() throws Exception {
+            // Arrange
+            RestaurantDirectoryRequestDto directory = new RestaurantDirectoryRequestDto("rating", null, 1, 1L);
+            RestaurantCardResponseDto card = new RestaurantCardResponseDto(restId, "La Trattoria", "Descripción",
+                    "Calle Mayor 1", "logo.png", "cover.png", 1L, "Italiana", 4.5, 4.62, 12L,
+                    new BigDecimal("8.50"), new BigDecimal("14.25"));
+            when(restaurantService.findDirectory(directory)).thenReturn(new KeysetPageDto<>(List.of(card), "abc"));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/directory")
+                            .param("sort", "rating")
+                            .param("limit", "1")
+                            .param("cuisineId", "1")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(KeysetPageDto.NEXT_CURSOR_HEADER, "abc"))
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].averageScore").value(4.5))
+                    .andExpect(jsonPath("$[0].reviewCount").value(12))
+                    .andExpect(jsonPath("$[0].minPrice").value(8.50));
+
+            // Verify
+            verify(restaurantService, times(1)).findDirectory(directory);
+            verify(restaurantService, never()).findAll();
+        }
+
+        /**
+         * Test que verifica que un orden no soportado retorna 400 Bad Request
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/directory Retorna 400 Bad Request con un orden no soportado")
+        void whenUnsupportedSort_thenReturnsBadRequest() throws Exception {
+            // Arrange
+            when(restaurantService.findDirectory(new RestaurantDirectoryRequestDto("price", null, null, null)))
+                    .thenThrow(new BadRequestException("Orden no soportado: price"));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/directory")
+                            .param("sort", "price")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GetTrending Cases")
+    class GetTrendingCases {
+        /**
+         * Test que verifica que el ranking de tendencia enlaza la ventana y el límite y devuelve
+         * los restaurantes con su número de pedidos
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/trending Retorna 200 OK con los restaurantes y sus pedidos")
+        void whenGetTrending_thenReturnsOkWithOrderCounts() throws Exception {
+            // Arrange
+            when(trendingService.findTrending("day", 5))
+                    .thenReturn(List.of(new TrendingRestaurantResponseDto(expectedRestaurantResponse, 42)));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/trending")
+                            .param("window", "day")
+                            .param("limit", "5")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].restaurant.rst_id").value(restId))
+                    .andExpect(jsonPath("$[0].orders").value(42));
+
+            // Verify
+            verify(trendingService, times(1)).findTrending("day", 5);
+            verify(restaurantService, never()).findById(anyLong());
+        }
+
+        /**
+         * Test que verifica que una ventana no soportada retorna 400 Bad Request
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/restaurant/trending Retorna 400 Bad Request con una ventana no soportada")
+        void whenUnsupportedWindow_thenReturnsBadRequest() throws Exception {
+            // Arrange
+            when(trendingService.findTrending("week", null))
+                    .thenThrow(new BadRequestException("Ventana no soportada: week"));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_ENDPOINT + "/trending")
+                            .param("window", "week")
+                            .with(user(VALID_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isBadRequest());
+        }
+    }
 }
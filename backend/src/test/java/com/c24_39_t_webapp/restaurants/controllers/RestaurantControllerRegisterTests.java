@@ -4,7 +4,12 @@ import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
 import com.c24_39_t_webapp.restaurants.factories.RestaurantFactory;
+import com.c24_39_t_webapp.restaurants.services.IGeoSearchService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantPageService;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.services.ITrendingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -62,6 +67,21 @@ class RestaurantControllerRegisterTests {
      */
     @MockitoBean
     private IRestaurantService restaurantService;
+
+    @MockitoBean
+    private IGeoSearchService geoSearchService;
+
+    @MockitoBean
+    private IOpeningHoursService openingHoursService;
+
+    @MockitoBean
+    private ITrendingService trendingService;
+
+    @MockitoBean
+    private IRestaurantPageService restaurantPageService;
+
+    @MockitoBean
+    private IVerifiedPurchaseService verifiedPurchaseService;
     /**
      * ObjectMapper para convertir objetos Java a JSON
      */
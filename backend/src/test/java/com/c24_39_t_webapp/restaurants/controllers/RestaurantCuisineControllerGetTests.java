@@ -1,9 +1,10 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
 import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
 import com.c24_39_t_webapp.restaurants.factories.RestaurantCuisineFactory;
-import com.c24_39_t_webapp.restaurants.services.IRestaurantCuisineService;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,10 +15,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.*;
@@ -28,7 +31,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /**
  * Test para el endpoint GET de RestaurantCuisineController
- * Verifica que al obtener todas las cuisines (tipos de cocina), se retorna 200 OK con la lista de cuisines
+ * Verifica que al obtener todas las cuisines (tipos de cocina), se retorna 200 OK con la lista de cuisines y su ETag
+ * Verifica que con un If-None-Match que coincide con el ETag, se retorna 304 Not Modified sin cuerpo
  * También verifica los casos de error:
  * - Petición sin autenticación: retorna 401 Unauthorized
  * - Sin rol RESTAURANTE: retorna 403 Forbidden
@@ -58,10 +62,10 @@ public class RestaurantCuisineControllerGetTests {
     private MockMvc mockMvc;
 
     /**
-     * Mock del servicio de cuisines
+     * Mock de los datos de referencia en memoria (listado de cuisines)
      */
     @MockitoBean
-    private IRestaurantCuisineService cuisineService;
+    private IReferenceDataService referenceDataService;
 
     /**
      * ObjectMapper para convertir objetos Java a JSON
@@ -75,6 +79,8 @@ public class RestaurantCuisineControllerGetTests {
     @DisplayName("Success Cases - GET /api/cuisines")
     class SuccessCases {
 
+        private static final String CUISINES_ETAG = "\"9d1f0b\"";
+
         private List<CuisineResponseDto> mockCuisinesList;
 
         @BeforeEach
@@ -85,9 +91,9 @@ public class RestaurantCuisineControllerGetTests {
         /**
          * Test que verifica que al obtener todas las cuisines,
          * se retorna 200 OK con la lista de cuisines disponibles
-         * Arrange: Configura el mock del servicio para retornar la lista de cuisines
-         * Act & Assert: Realiza la petición GET CON autenticación y rol RESTAURANTE, verifica el status 200 y la lista
-         * Verify: Verifica que el servicio se llamó una sola vez
+         * Arrange: La instantánea de datos de referencia contiene la lista de cuisines
+         * Act & Assert: Realiza la petición GET CON autenticación y rol RESTAURANTE, verifica el status 200, la lista y el ETag
+         * Verify: Verifica que se leyó la instantánea una sola vez
          *
          * @throws Exception
          */
@@ -97,18 +103,39 @@ public class RestaurantCuisineControllerGetTests {
             log.info("Iniciando test de obtención de todas las cuisines");
 
             // Arrange
-            when(cuisineService.findAll())
-                    .thenReturn(mockCuisinesList);
+            when(referenceDataService.snapshot()).thenReturn(snapshotOf(mockCuisinesList));
 
             // Act & Assert - CON autenticación, rol RESTAURANTE
             mockMvc.perform(get(CUISINE_ENDPOINT)
                             .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE")))
                     .andDo(print())
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$", hasSize(mockCuisinesList.size())));
+                    .andExpect(jsonPath("$", hasSize(mockCuisinesList.size())))
+                    .andExpect(header().string(HttpHeaders.ETAG, CUISINES_ETAG));
 
             // Verify
-            verify(cuisineService, times(1)).findAll();
+            verify(referenceDataService, times(1)).snapshot();
+        }
+
+        /**
+         * Test que verifica que si el cliente ya tiene la versión actual (If-None-Match),
+         * se retorna 304 Not Modified sin cuerpo
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/cuisines - Retorna 304 si el ETag no ha cambiado")
+        void whenEtagMatches_thenReturnsNotModified() throws Exception {
+            // Arrange
+            when(referenceDataService.snapshot()).thenReturn(snapshotOf(mockCuisinesList));
+
+            // Act & Assert
+            mockMvc.perform(get(CUISINE_ENDPOINT)
+                            .header(HttpHeaders.IF_NONE_MATCH, CUISINES_ETAG)
+                            .with(user(RESTAURANTE_EMAIL).roles("RESTAURANTE")))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, CUISINES_ETAG))
+                    .andExpect(content().string(""));
         }
 
         /**
@@ -121,8 +148,7 @@ public class RestaurantCuisineControllerGetTests {
         @DisplayName("GET /api/cuisines - Retorna 200 OK con lista vacía si no hay cuisines")
         void whenNoCuisines_thenReturnsOkWithEmptyList() throws Exception {
             // Arrange
-            when(cuisineService.findAll())
-                    .thenReturn(List.of());
+            when(referenceDataService.snapshot()).thenReturn(snapshotOf(List.of()));
 
             // Act & Assert - CON autenticación, rol RESTAURANTE
             mockMvc.perform(get(CUISINE_ENDPOINT)
@@ -131,7 +157,11 @@ public class RestaurantCuisineControllerGetTests {
                     .andExpect(jsonPath("$", hasSize(0)));
 
             // Verify
-            verify(cuisineService, times(1)).findAll();
+            verify(referenceDataService, times(1)).snapshot();
+        }
+
+        private ReferenceDataSnapshot snapshotOf(List<CuisineResponseDto> cuisines) {
+            return new ReferenceDataSnapshot(1, List.of(), "\"0\"", cuisines, CUISINES_ETAG, Map.of(), Map.of());
         }
     }
 
@@ -155,8 +185,8 @@ public class RestaurantCuisineControllerGetTests {
             mockMvc.perform(get(CUISINE_ENDPOINT))
                     .andExpect(status().isUnauthorized());
 
-            // Verify que el servicio NO fue llamado
-            verify(cuisineService, never()).findAll();
+            // Verify que NO se leyó la instantánea
+            verify(referenceDataService, never()).snapshot();
         }
     }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.c24_39_t_webapp.restaurants.controllers;
 
 import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewListingRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RatingSummaryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
 import com.c24_39_t_webapp.restaurants.exception.ResourceNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.factories.ReviewFactory;
 import com.c24_39_t_webapp.restaurants.services.IReviewService;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -30,7 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Test para los endpoints GET /api/review de ReviewController.
  * <p>
  * Verifica que los endpoints GET (públicos sin @PreAuthorize) funcionen correctamente
- * para obtener reseñas de un restaurante o por ID.
+ * para obtener reseñas de un restaurante o por ID, y el resumen de valoraciones de un restaurante.
  * <p>
  * Patrón AAA: Arrange, Act, Assert
  */
@@ -72,8 +77,8 @@ public class ReviewControllerGetTests {
         }
 
         /**
-         * Test que verifica que al obtener todas las reseñas de un restaurante,
-         * se retorna 200 OK con lista de reseñas.
+         * Test que verifica que al obtener una página de reseñas de un restaurante,
+         * se retorna 200 OK con lista de reseñas y sin cursor siguiente si es la última.
          * <p>
          * Este endpoint es PÚBLICO (sin @PreAuthorize), no requiere autenticación.
          * <p>
@@ -89,8 +94,8 @@ public class ReviewControllerGetTests {
             log.info("Test: Obtener todas las reseñas de un restaurante");
 
             // Arrange
-            when(reviewService.getAllRestaurantReviews(eq(RESTAURANT_ID)))
-                    .thenReturn(expectedReviewList);
+            when(reviewService.findRestaurantReviews(eq(RESTAURANT_ID), any(ReviewListingRequestDto.class)))
+                    .thenReturn(new KeysetPageDto<>(expectedReviewList, null));
 
             // Act & Assert
 //NO, solo para @RequestParam (parametros opcionales en la URL)
@@ -100,10 +105,11 @@ public class ReviewControllerGetTests {
                             .with(user(CLIENT_EMAIL).roles("CLIENTE")))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$").isArray())
-                    .andExpect(jsonPath("$.length()").value(3));
+                    .andExpect(jsonPath("$.length()").value(3))
+                    .andExpect(header().doesNotExist(KeysetPageDto.NEXT_CURSOR_HEADER));
 
             // Verify
-            verify(reviewService, times(1)).getAllRestaurantReviews(eq(RESTAURANT_ID));
+            verify(reviewService, times(1)).findRestaurantReviews(eq(RESTAURANT_ID), any(ReviewListingRequestDto.class));
         }
 
         /**
@@ -115,8 +121,8 @@ public class ReviewControllerGetTests {
         @DisplayName("GET /api/review/restaurant - Retorna 200 OK con array vacío si no hay reseñas")
         void whenNoReviewsForRestaurant_thenReturnsOkWithEmptyList() throws Exception {
             // Arrange
-            when(reviewService.getAllRestaurantReviews(eq(RESTAURANT_ID)))
-                    .thenReturn(List.of());
+            when(reviewService.findRestaurantReviews(eq(RESTAURANT_ID), any(ReviewListingRequestDto.class)))
+                    .thenReturn(new KeysetPageDto<>(List.of(), null));
 
             // Act & Assert
             mockMvc.perform(get(REVIEW_ENDPOINT + "/restaurant/" + RESTAURANT_ID)
@@ -126,7 +132,35 @@ public class ReviewControllerGetTests {
                     .andExpect(jsonPath("$.length()").value(0));
 
             // Verify
-            verify(reviewService, times(1)).getAllRestaurantReviews(eq(RESTAURANT_ID));
+            verify(reviewService, times(1)).findRestaurantReviews(eq(RESTAURANT_ID), any(ReviewListingRequestDto.class));
+        }
+
+        /**
+         * Test que verifica que el orden, el cursor y el tamaño de página llegan al servicio desde la query string
+         * y que el cursor de la página siguiente se devuelve en la cabecera X-Next-Cursor.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/review/restaurant - Pasa sort, cursor y limit y devuelve el cursor siguiente en cabecera")
+        void whenMorePages_thenNextCursorHeader() throws Exception {
+            // Arrange
+            ReviewListingRequestDto listing = new ReviewListingRequestDto("score-desc", "abc", 2);
+            when(reviewService.findRestaurantReviews(RESTAURANT_ID, listing))
+                    .thenReturn(new KeysetPageDto<>(expectedReviewList.subList(0, 2), "def"));
+
+            // Act & Assert
+            mockMvc.perform(get(REVIEW_ENDPOINT + "/restaurant/" + RESTAURANT_ID)
+                            .param("sort", "score-desc")
+                            .param("cursor", "abc")
+                            .param("limit", "2")
+                            .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(header().string(KeysetPageDto.NEXT_CURSOR_HEADER, "def"));
+
+            // Verify
+            verify(reviewService, times(1)).findRestaurantReviews(RESTAURANT_ID, listing);
         }
     }
 
@@ -145,17 +179,16 @@ public class ReviewControllerGetTests {
         @DisplayName("Fail GET /api/review/restaurant - Retorna 404 si restaurante no existe")
         void whenRestaurantNotFound_thenReturns404() throws Exception {
             // Arrange
-            when(reviewService.getAllRestaurantReviews(eq(RESTAURANT_ID)))
-                    .thenThrow(new ResourceNotFoundException("El restaurante con id enviado no existe"));
+            when(reviewService.findRestaurantReviews(eq(RESTAURANT_ID), any(ReviewListingRequestDto.class)))
+                    .thenThrow(new RestaurantNotFoundException("El restaurante con id enviado no existe"));
 
             // Act & Assert
             mockMvc.perform(get(REVIEW_ENDPOINT + "/restaurant/" + RESTAURANT_ID)
                             .with(user(CLIENT_EMAIL).roles("CLIENTE")))
-                    .andExpect(status().isNotFound())
-                    .andExpect(jsonPath("$.error").value("ResourceNotFoundException"));
+                    .andExpect(status().isNotFound());
 
             // Verify
-            verify(reviewService, times(1)).getAllRestaurantReviews(eq(RESTAURANT_ID));
+            verify(reviewService, times(1)).findRestaurantReviews(eq(RESTAURANT_ID), any(ReviewListingRequestDto.class));
         }
     }
 
@@ -235,4 +268,55 @@ public class ReviewControllerGetTests {
             verify(reviewService, times(1)).getReviewById(eq(REVIEW_ID));
         }
     }
-}
\ No newline at end of file
+
+    // ==================== GET /api/review/restaurant/{id}/summary ====================
+
+    @Nested
+    @DisplayName("GET /api/review/restaurant/{id}/summary")
+    class GetRatingSummaryCases {
+
+        /**
+         * Test que verifica que el resumen de valoraciones se retorna con 200 OK, con las medias y el histograma.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("GET /api/review/restaurant/{id}/summary - Retorna 200 OK con medias e histograma")
+        void whenGetRatingSummary_thenReturnsOkWithHistogram() throws Exception {
+            // Arrange
+            when(reviewService.getRatingSummary(eq(RESTAURANT_ID))).thenReturn(new RatingSummaryResponseDto(
+                    RESTAURANT_ID, 3, 8.33, 6.03, List.of(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 1L, 1L, 1L)));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_REVIEWS_ENDPOINT + "/" + RESTAURANT_ID + "/summary")
+                            .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.reviewCount").value(3))
+                    .andExpect(jsonPath("$.averageScore").value(8.33))
+                    .andExpect(jsonPath("$.bayesianScore").value(6.03))
+                    .andExpect(jsonPath("$.scoreHistogram.length()").value(11))
+                    .andExpect(jsonPath("$.scoreHistogram[10]").value(1));
+
+            // Verify
+            verify(reviewService, times(1)).getRatingSummary(eq(RESTAURANT_ID));
+        }
+
+        /**
+         * Test que verifica que si el restaurante no existe o está dado de baja, se retorna 404 Not Found.
+         *
+         * @throws Exception
+         */
+        @Test
+        @DisplayName("Fail GET /api/review/restaurant/{id}/summary - Retorna 404 si el restaurante no existe")
+        void whenRestaurantNotFound_thenReturns404() throws Exception {
+            // Arrange
+            when(reviewService.getRatingSummary(eq(RESTAURANT_ID)))
+                    .thenThrow(new RestaurantNotFoundException("No se encontró el restaurante buscado"));
+
+            // Act & Assert
+            mockMvc.perform(get(RESTAURANT_REVIEWS_ENDPOINT + "/" + RESTAURANT_ID + "/summary")
+                            .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.response.FacetedSearchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SearchCacheStatsResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SuggestionResponseDto;
+import com.c24_39_t_webapp.restaurants.factories.ProductFactory;
+import com.c24_39_t_webapp.restaurants.factories.RestaurantFactory;
+import com.c24_39_t_webapp.restaurants.index.ProductFacet;
+import com.c24_39_t_webapp.restaurants.index.RestaurantFacet;
+import com.c24_39_t_webapp.restaurants.services.IFacetService;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
+import com.c24_39_t_webapp.restaurants.services.ISuggestService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test para los endpoints GET de SearchController
+ * Verifica que las sugerencias, las búsquedas por facetas y las métricas de la caché delegan en sus servicios
+ * con los parámetros recibidos y retornan 200 OK. Las métricas de la caché solo las ve el rol RESTAURANTE.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ */
+@WebMvcTest(
+        controllers = SearchController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtTokenFilter.class
+        )
+)
+@Slf4j
+@DisplayName("SearchController - GET /api/search")
+public class SearchControllerGetTests {
+    private static final String SEARCH_ENDPOINT = "/api/search";
+    private static final String CLIENT_EMAIL = "cliente@example.com";
+    private static final String RESTAURANT_EMAIL = "restaurante@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ISuggestService suggestService;
+
+    @MockitoBean
+    private IFacetService facetService;
+
+    @MockitoBean
+    private ISearchCacheService searchCacheService;
+
+    // Activa @PreAuthorize en este slice: SecurityConfig no se carga en @WebMvcTest
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class MethodSecurityConfig {
+    }
+
+    @Nested
+    @DisplayName("GET /api/search/suggest")
+    class Suggest {
+
+        @Test
+        @DisplayName("GET /api/search/suggest - Retorna 200 OK con las sugerencias")
+        void whenSuggest_thenReturnsOkWithSuggestions() throws Exception {
+            // Arrange
+            when(suggestService.suggest("piz", 5)).thenReturn(List.of(
+                    new SuggestionResponseDto("PRODUCT", 1L, "Pizza Margarita", 10L, 40L)));
+
+            // Act & Assert
+            mockMvc.perform(get(SEARCH_ENDPOINT + "/suggest")
+                            .param("q", "piz")
+                            .param("limit", "5")
+                            .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].type").value("PRODUCT"))
+                    .andExpect(jsonPath("$[0].text").value("Pizza Margarita"));
+
+            // Verify
+            verify(suggestService, times(1)).suggest("piz", 5);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/search/products y /api/search/restaurants")
+    class Facets {
+
+        @Test
+        @DisplayName("GET /api/search/products - Traduce los parámetros a facetas")
+        void whenSearchProducts_thenFiltersMappedToFacets() throws Exception {
+            // Arrange
+            List<ProductResponseDto> products = ProductFactory.responseListDefault();
+            Map<ProductFacet, List<String>> expectedFilters = Map.of(
+                    ProductFacet.CUISINE, List.of("1", "2"),
+                    ProductFacet.PRICE_BAND, List.of("0-10"));
+            when(facetService.searchProducts(eq(expectedFilters), eq(0), eq(20))).thenReturn(
+                    new FacetedSearchResponseDto<>(products.size(), 0, 20, products,
+                            Map.of("cuisine", Map.of("1", products.size()))));
+
+            // Act & Assert
+            mockMvc.perform(get(SEARCH_ENDPOINT + "/products")
+                            .param("cuisine", "1,2")
+                            .param("priceBand", "0-10")
+                            .param("offset", "0")
+                            .param("limit", "20")
+                            .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(products.size()))
+                    .andExpect(jsonPath("$.items", hasSize(products.size())))
+                    .andExpect(jsonPath("$.facets.cuisine.1").value(products.size()));
+
+            // Verify
+            verify(facetService, times(1)).searchProducts(eq(expectedFilters), eq(0), eq(20));
+        }
+
+        @Test
+        @DisplayName("GET /api/search/restaurants - Sin filtros delega con mapa vacío")
+        void whenSearchRestaurantsWithoutFilters_thenEmptyFilters() throws Exception {
+            // Arrange
+            List<RestaurantResponseDto> restaurants = RestaurantFactory.responseListDefault();
+            Map<RestaurantFacet, List<String>> noFilters = Map.of();
+            when(facetService.searchRestaurants(eq(noFilters), isNull(), isNull())).thenReturn(
+                    new FacetedSearchResponseDto<>(restaurants.size(), 0, 20, restaurants, Map.of()));
+
+            // Act & Assert
+            mockMvc.perform(get(SEARCH_ENDPOINT + "/restaurants")
+                            .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(restaurants.size())));
+
+            // Verify
+            verify(facetService, times(1)).searchRestaurants(eq(noFilters), isNull(), isNull());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/search/cache-stats")
+    class CacheStats {
+
+        @Test
+        @DisplayName("GET /api/search/cache-stats - Retorna 200 OK con las métricas de la caché")
+        void whenCacheStats_thenReturnsOkWithMetrics() throws Exception {
+            // Arrange
+            when(searchCacheService.getStats()).thenReturn(new SearchCacheStatsResponseDto(
+                    30, 10, 0.75, 2, 1, 3, 4, 8, 1000,
+                    List.of(new SearchCacheStatsResponseDto.TopQuery("pizza", 12))));
+
+            // Act & Assert
+            mockMvc.perform(get(SEARCH_ENDPOINT + "/cache-stats")
+                            .with(user(RESTAURANT_EMAIL).roles("RESTAURANTE")))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.hitRatio").value(0.75))
+                    .andExpect(jsonPath("$.evictions").value(2))
+                    .andExpect(jsonPath("$.topQueries[0].query").value("pizza"));
+
+            // Verify
+            verify(searchCacheService, times(1)).getStats();
+        }
+
+        @Test
+        @DisplayName("GET /api/search/cache-stats - Retorna 403 sin rol RESTAURANTE")
+        void whenNoRestauranteRole_thenReturnsForbidden() throws Exception {
+            // Act & Assert
+            mockMvc.perform(get(SEARCH_ENDPOINT + "/cache-stats")
+                            .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.status").value(403));
+        }
+    }
+}
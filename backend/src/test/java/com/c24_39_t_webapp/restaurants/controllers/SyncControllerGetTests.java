@@ -0,0 +1,116 @@
+package com.c24_39_t_webapp.restaurants.controllers;
+
+import com.c24_39_t_webapp.restaurants.config.security.JwtTokenFilter;
+import com.c24_39_t_webapp.restaurants.dtos.response.CatalogChangesResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.factories.ProductFactory;
+import com.c24_39_t_webapp.restaurants.models.SyncEntityType;
+import com.c24_39_t_webapp.restaurants.services.ISyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test para el endpoint GET de SyncController
+ * Verifica que la sincronización incremental delega en el servicio con la marca de agua y el límite
+ * recibidos y retorna 200 OK; una marca de agua inválida retorna 400 Bad Request.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ */
+@WebMvcTest(
+        controllers = SyncController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = JwtTokenFilter.class
+        )
+)
+@Slf4j
+@DisplayName("SyncController - GET /api/sync/changes")
+public class SyncControllerGetTests {
+    private static final String CHANGES_ENDPOINT = "/api/sync/changes";
+    private static final String CLIENT_EMAIL = "cliente@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ISyncService syncService;
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Sin marca de agua retorna 200 OK con la carga inicial")
+    void whenNoWatermark_thenReturnsOkWithFullLoad() throws Exception {
+        // Arrange
+        when(syncService.getChanges(isNull(), isNull())).thenReturn(new CatalogChangesResponseDto(
+                "marca-1", false, true, ProductFactory.responseListDefault(), List.of(), List.of(),
+                List.of(new CuisineResponseDto(1L, "Italiana")), List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get(CHANGES_ENDPOINT)
+                        .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.watermark").value("marca-1"))
+                .andExpect(jsonPath("$.reset").value(true))
+                .andExpect(jsonPath("$.products", hasSize(ProductFactory.responseListDefault().size())))
+                .andExpect(jsonPath("$.cuisines[0].name").value("Italiana"));
+
+        // Verify
+        verify(syncService, times(1)).getChanges(isNull(), isNull());
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Con marca de agua retorna solo los cambios y las bajas")
+    void whenWatermarkGiven_thenReturnsChangesAndDeletions() throws Exception {
+        // Arrange
+        when(syncService.getChanges("marca-1", 100)).thenReturn(new CatalogChangesResponseDto(
+                "marca-2", true, false, List.of(), List.of(), List.of(), List.of(),
+                List.of(new CatalogChangesResponseDto.DeletedEntity(SyncEntityType.PRODUCT, 7L))));
+
+        // Act & Assert
+        mockMvc.perform(get(CHANGES_ENDPOINT)
+                        .param("since", "marca-1")
+                        .param("limit", "100")
+                        .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.watermark").value("marca-2"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.deleted[0].type").value("PRODUCT"))
+                .andExpect(jsonPath("$.deleted[0].id").value(7));
+
+        // Verify
+        verify(syncService, times(1)).getChanges("marca-1", 100);
+    }
+
+    @Test
+    @DisplayName("GET /api/sync/changes - Marca de agua inválida retorna 400 Bad Request")
+    void whenWatermarkInvalid_thenReturnsBadRequest() throws Exception {
+        // Arrange
+        when(syncService.getChanges("x", null))
+                .thenThrow(new BadRequestException("Marca de agua de sincronización inválida"));
+
+        // Act & Assert
+        mockMvc.perform(get(CHANGES_ENDPOINT)
+                        .param("since", "x")
+                        .with(user(CLIENT_EMAIL).roles("CLIENTE")))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,267 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom.ListingFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para CatalogSnapshot
+ * Estructura pura en memoria: sin Spring, sin mocks. Los resultados se comparan con una implementación
+ * de referencia (filtrar y ordenar la lista de filas) con la misma semántica que la consulta JPQL.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Paginación por clave en todos los órdenes, con y sin filtros
+ * ✅ Búsqueda por nombre sin distinguir mayúsculas ni acentos
+ * ✅ Copy-on-write: alta, modificación y baja de productos sin alterar la instantánea anterior
+ * ✅ Renombrado de restaurantes y categorías, baja de restaurante con sus productos
+ * ✅ Tamaño estimado por 100k productos
+ */
+@DisplayName("CatalogSnapshot - Unit Tests")
+class CatalogSnapshotUnitTests {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final int PAGE_SIZE = 7;
+
+    private List<ProductListingRow> rows;
+    private List<RestaurantResponseDto> restaurants;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>();
+        for (long id = 1; id <= 60; id++) {
+            // Precios, nombres y fechas repetidos para ejercitar el desempate por ID
+            rows.add(row(id, 10 + id % 3, 100 + id % 4, "Producto " + (char) ('A' + id % 7),
+                    BigDecimal.valueOf(500 + (id % 9) * 125, 2), id % 5 != 0, BASE_TIME.plusSeconds(id % 11)));
+        }
+        restaurants = List.of(restaurant(12L, "Restaurante 12"), restaurant(10L, "Restaurante 10"),
+                restaurant(11L, "Restaurante 11"));
+        snapshot = CatalogSnapshot.build(rows, restaurants);
+    }
+
+    @Nested
+    @DisplayName("Listado paginado")
+    class Listing {
+
+        @ParameterizedTest
+        @EnumSource(ProductSort.class)
+        @DisplayName("findListingPage() - Sin filtros recorre todas las páginas en el mismo orden que la consulta")
+        void whenNoFilters_thenPagesMatchReference(ProductSort sort) {
+            // Arrange
+            ListingFilter filter = new ListingFilter(null, null, false, null, null);
+
+            // Act
+            List<Long> paged = pageThrough(snapshot, filter, sort);
+
+            // Assert
+            assertEquals(reference(rows, filter, sort), paged);
+        }
+
+        @ParameterizedTest
+        @EnumSource(ProductSort.class)
+        @DisplayName("findListingPage() - Aplica restaurante, categoría, activos y rango de precios")
+        void whenFiltersGiven_thenPagesMatchReference(ProductSort sort) {
+            // Arrange
+            List<ListingFilter> filters = List.of(
+                    new ListingFilter(10L, null, false, null, null),
+                    new ListingFilter(null, 101L, true, null, null),
+                    new ListingFilter(11L, 102L, false, null, null),
+                    new ListingFilter(null, null, true, new BigDecimal("6.00"), new BigDecimal("12.50")),
+                    new ListingFilter(99L, null, false, null, null));
+
+            for (ListingFilter filter : filters) {
+                // Act
+                List<Long> paged = pageThrough(snapshot, filter, sort);
+
+                // Assert
+                assertEquals(reference(rows, filter, sort), paged, "Filtro: " + filter);
+            }
+        }
+
+        @Test
+        @DisplayName("findListingPage() - Reconstruye las filas con todos sus campos")
+        void whenRowRead_thenAllFieldsAreRestored() {
+            // Act
+            ProductListingRow first = snapshot.findListingPage(new ListingFilter(null, null, false, null, null),
+                    ProductSort.ID, null, null, 1).getFirst();
+
+            // Assert
+            assertEquals(rows.getFirst(), first);
+        }
+
+        @Test
+        @DisplayName("findByNameContaining() - Ignora mayúsculas y acentos y devuelve en orden de ID")
+        void whenNameSearched_thenAccentAndCaseInsensitive() {
+            // Arrange
+            CatalogSnapshot changed = snapshot.withProducts(List.of(
+                    row(61L, 10, 100, "Jamón Ibérico", new BigDecimal("20.00"), true, BASE_TIME),
+                    row(62L, 11, 100, "Tostada con JAMON", new BigDecimal("4.50"), true, BASE_TIME)), List.of());
+
+            // Act
+            List<ProductListingRow> accented = changed.findByNameContaining("jamon");
+            List<ProductListingRow> existing = changed.findByNameContaining("producto c");
+
+            // Assert
+            assertEquals(List.of(61L, 62L), accented.stream().map(ProductListingRow::prd_id).toList());
+            assertEquals(rows.stream().filter(r -> r.name().equals("Producto C")).map(ProductListingRow::prd_id).toList(),
+                    existing.stream().map(ProductListingRow::prd_id).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cambios copy-on-write")
+    class Changes {
+
+        @ParameterizedTest
+        @EnumSource(ProductSort.class)
+        @DisplayName("withProducts() - Altas, modificaciones y bajas mantienen el orden de la consulta")
+        void whenProductsChanged_thenPagesMatchReference(ProductSort sort) {
+            // Arrange
+            List<ProductListingRow> upserts = List.of(
+                    row(5L, 12, 103, "Producto Z", new BigDecimal("99.99"), true, BASE_TIME.plusDays(1)),
+                    row(61L, 10, 100, "Producto A", new BigDecimal("5.00"), true, BASE_TIME),
+                    row(75L, 11, 104, "Otro", new BigDecimal("1.10"), false, BASE_TIME.minusDays(1)));
+            List<ProductListingRow> expected = new ArrayList<>(rows);
+            expected.removeIf(r -> Set.of(5L, 20L, 33L).contains(r.prd_id()));
+            expected.addAll(upserts);
+
+            // Act
+            CatalogSnapshot changed = snapshot.withProducts(upserts, List.of(20L, 33L, 999L));
+
+            // Assert
+            ListingFilter all = new ListingFilter(null, null, false, null, null);
+            assertEquals(reference(expected, all, sort), pageThrough(changed, all, sort));
+            ListingFilter byCategory = new ListingFilter(null, 104L, false, null, null);
+            assertEquals(reference(expected, byCategory, sort), pageThrough(changed, byCategory, sort));
+            // La instantánea anterior no cambia
+            assertEquals(reference(rows, all, sort), pageThrough(snapshot, all, sort));
+        }
+
+        @Test
+        @DisplayName("withRestaurant() - El nuevo nombre aparece en los productos y en el listado de restaurantes")
+        void whenRestaurantRenamed_thenProductsShowNewName() {
+            // Act
+            CatalogSnapshot changed = snapshot.withRestaurant(restaurant(10L, "Nuevo nombre"));
+
+            // Assert
+            List<ProductListingRow> page = changed.findListingPage(new ListingFilter(10L, null, false, null, null),
+                    ProductSort.ID, null, null, 100);
+            assertFalse(page.isEmpty());
+            assertTrue(page.stream().allMatch(r -> r.restaurantName().equals("Nuevo nombre")));
+            assertEquals(List.of(10L, 11L, 12L), changed.restaurants().stream().map(RestaurantResponseDto::rst_id).toList());
+            assertEquals("Nuevo nombre", changed.restaurants().getFirst().name());
+            assertEquals("Restaurante 10", snapshot.restaurants().getFirst().name());
+        }
+
+        @Test
+        @DisplayName("withoutRestaurant() - Elimina el restaurante y todos sus productos")
+        void whenRestaurantRemoved_thenItsProductsDisappear() {
+            // Act
+            CatalogSnapshot changed = snapshot.withoutRestaurant(11L);
+
+            // Assert
+            ListingFilter all = new ListingFilter(null, null, false, null, null);
+            List<ProductListingRow> expected = rows.stream().filter(r -> r.restaurantId() != 11L).toList();
+            assertEquals(reference(expected, all, ProductSort.NAME), pageThrough(changed, all, ProductSort.NAME));
+            assertEquals(List.of(10L, 12L), changed.restaurants().stream().map(RestaurantResponseDto::rst_id).toList());
+        }
+
+        @Test
+        @DisplayName("withCategoryName() - El nuevo nombre aparece en los productos de la categoría")
+        void whenCategoryRenamed_thenProductsShowNewName() {
+            // Act
+            CatalogSnapshot changed = snapshot.withCategoryName(101L, "Postres");
+
+            // Assert
+            List<ProductListingRow> page = changed.findListingPage(new ListingFilter(null, 101L, false, null, null),
+                    ProductSort.ID, null, null, 100);
+            assertTrue(page.stream().allMatch(r -> r.categoryName().equals("Postres")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Memoria")
+    class Memory {
+
+        @Test
+        @DisplayName("estimatedBytes() - 100k productos caben en menos de 15 MB")
+        void whenHundredThousandProducts_thenFootprintIsCompact() {
+            // Arrange: nombres únicos, descripciones e imágenes compartidas, 500 restaurantes y 40 categorías
+            List<ProductListingRow> many = new ArrayList<>(100_000);
+            for (long id = 1; id <= 100_000; id++) {
+                many.add(new ProductListingRow(id, 1 + id % 500, 1 + id % 40, "Producto " + id,
+                        "Descripción " + id % 1000, BigDecimal.valueOf(100 + id % 5000, 2), "/img/" + id % 2000 + ".jpg",
+                        true, 10, "Categoría " + id % 40, "Restaurante " + id % 500, BASE_TIME.plusSeconds(id)));
+            }
+
+            // Act
+            CatalogSnapshot large = CatalogSnapshot.build(many, List.of());
+
+            // Assert
+            assertEquals(100_000, large.size());
+            long bytes = large.estimatedBytes();
+            assertTrue(bytes < 15_000_000L, "Tamaño estimado: " + bytes + " bytes");
+        }
+    }
+
+    private static List<Long> pageThrough(CatalogSnapshot snapshot, ListingFilter filter, ProductSort sort) {
+        List<Long> ids = new ArrayList<>();
+        Object afterKey = null;
+        Long afterId = null;
+        while (true) {
+            List<ProductListingRow> page = snapshot.findListingPage(filter, sort, afterKey, afterId, PAGE_SIZE);
+            page.forEach(r -> ids.add(r.prd_id()));
+            if (page.size() < PAGE_SIZE) return ids;
+            ProductListingRow last = page.getLast();
+            afterKey = sort.parseKey(sort.keyOf(last));
+            afterId = last.prd_id();
+        }
+    }
+
+    private static List<Long> reference(List<ProductListingRow> rows, ListingFilter filter, ProductSort sort) {
+        Comparator<ProductListingRow> byKey = switch (sort) {
+            case ID -> (a, b) -> 0;
+            case NEWEST -> Comparator.comparing(ProductListingRow::createdAt);
+            case PRICE_ASC, PRICE_DESC -> Comparator.comparing(ProductListingRow::price);
+            case NAME -> Comparator.comparing(ProductListingRow::name);
+        };
+        Comparator<ProductListingRow> order = byKey.thenComparing(ProductListingRow::prd_id);
+        return rows.stream()
+                .filter(r -> filter.restaurantId() == null || r.restaurantId().equals(filter.restaurantId()))
+                .filter(r -> filter.categoryId() == null || r.categoryId().equals(filter.categoryId()))
+                .filter(r -> !filter.activeOnly() || r.isActive())
+                .filter(r -> filter.minPrice() == null || r.price().compareTo(filter.minPrice()) >= 0)
+                .filter(r -> filter.maxPrice() == null || r.price().compareTo(filter.maxPrice()) <= 0)
+                .sorted(sort.descending() ? order.reversed() : order)
+                .map(ProductListingRow::prd_id)
+                .toList();
+    }
+
+    private static ProductListingRow row(long id, long restaurantId, long categoryId, String name,
+                                         BigDecimal price, boolean active, LocalDateTime createdAt) {
+        return new ProductListingRow(id, restaurantId, categoryId, name, "Descripción " + id % 4, price,
+                id % 6 == 0 ? null : "/img/" + id + ".jpg", active, (int) id, "Categoría " + categoryId,
+                "Restaurante " + restaurantId, createdAt);
+    }
+
+    private static RestaurantResponseDto restaurant(Long id, String name) {
+        return new RestaurantResponseDto(id, 1L, name, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
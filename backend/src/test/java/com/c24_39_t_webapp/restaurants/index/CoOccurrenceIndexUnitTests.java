@@ -0,0 +1,134 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import com.c24_39_t_webapp.restaurants.index.CoOccurrenceIndex.CoOccurrence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para CoOccurrenceIndex
+ * Estructura pura en memoria: sin Spring, sin mocks.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Recuentos exactos en la construcción, cada par una vez por pedido
+ * ✅ Orden por frecuencia con desempate por ID y recorte a la capacidad
+ * ✅ Actualización incremental y sustitución del vecino menos frecuente
+ * ✅ Unión de índices parciales y borrado de productos
+ */
+@DisplayName("CoOccurrenceIndex - Unit Tests")
+class CoOccurrenceIndexUnitTests {
+
+    @Nested
+    @DisplayName("Construcción")
+    class Build {
+
+        @Test
+        @DisplayName("build() - Cuenta los pedidos en los que aparece cada par, ignorando repetidos")
+        void whenBuilt_thenCountsOrdersPerPair() {
+            // Arrange
+            List<List<Long>> orders = List.of(
+                    List.of(1L, 2L, 3L),
+                    List.of(1L, 2L, 2L),
+                    List.of(1L, 4L),
+                    List.of(5L));
+
+            // Act
+            CoOccurrenceIndex index = CoOccurrenceIndex.build(orders, 10);
+
+            // Assert
+            assertEquals(List.of(new CoOccurrence(2L, 2), new CoOccurrence(3L, 1), new CoOccurrence(4L, 1)),
+                    index.top(1L, 10));
+            assertEquals(List.of(new CoOccurrence(1L, 2), new CoOccurrence(3L, 1)), index.top(2L, 10));
+            assertTrue(index.top(5L, 10).isEmpty(), "Un pedido de un solo producto no genera pares");
+            assertEquals(4, index.size());
+        }
+
+        @Test
+        @DisplayName("build() - Guarda solo los vecinos más frecuentes de cada producto")
+        void whenMoreNeighborsThanCapacity_thenKeepsTopPairs() {
+            // Arrange: el producto 1 aparece con 2 (3 veces), 3 (2 veces) y 4 (1 vez)
+            List<List<Long>> orders = List.of(
+                    List.of(1L, 2L), List.of(1L, 2L), List.of(1L, 2L, 3L), List.of(1L, 3L), List.of(1L, 4L));
+
+            // Act
+            CoOccurrenceIndex index = CoOccurrenceIndex.build(orders, 2);
+
+            // Assert
+            assertEquals(List.of(new CoOccurrence(2L, 3), new CoOccurrence(3L, 2)), index.top(1L, 10));
+            assertEquals(List.of(new CoOccurrence(2L, 3)), index.top(1L, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualización incremental")
+    class Incremental {
+
+        @Test
+        @DisplayName("recordOrder() - Suma el pedido a los contadores existentes")
+        void whenOrderRecorded_thenCountsIncrease() {
+            // Arrange
+            CoOccurrenceIndex index = CoOccurrenceIndex.build(List.of(List.of(1L, 2L)), 5);
+
+            // Act
+            index.recordOrder(List.of(2L, 1L, 3L));
+
+            // Assert
+            assertEquals(List.of(new CoOccurrence(2L, 2), new CoOccurrence(3L, 1)), index.top(1L, 5));
+            assertEquals(List.of(new CoOccurrence(1L, 1), new CoOccurrence(2L, 1)), index.top(3L, 5));
+        }
+
+        @Test
+        @DisplayName("recordOrder() - Con la lista llena sustituye al vecino menos frecuente")
+        void whenListFull_thenLeastFrequentIsReplaced() {
+            // Arrange
+            CoOccurrenceIndex index = CoOccurrenceIndex.build(
+                    List.of(List.of(1L, 2L), List.of(1L, 2L), List.of(1L, 3L)), 2);
+
+            // Act
+            index.recordOrder(List.of(1L, 4L));
+
+            // Assert: 4 hereda el contador de 3 más uno
+            assertEquals(List.of(new CoOccurrence(2L, 2), new CoOccurrence(4L, 2)), index.top(1L, 5));
+        }
+
+        @Test
+        @DisplayName("recordOrder() - Recorta los pedidos con demasiados productos")
+        void whenHugeOrder_thenCapped() {
+            // Arrange
+            CoOccurrenceIndex index = new CoOccurrenceIndex(100);
+            List<Long> products = LongStream.rangeClosed(1, 200).boxed().toList();
+
+            // Act
+            index.recordOrder(products);
+
+            // Assert
+            assertEquals(CoOccurrenceIndex.MAX_PRODUCTS_PER_ORDER, index.size());
+            assertEquals(CoOccurrenceIndex.MAX_PRODUCTS_PER_ORDER - 1, index.top(1L, 100).size());
+        }
+
+        @Test
+        @DisplayName("putAll() y remove() - Une índices parciales y elimina productos")
+        void whenMergedAndRemoved_thenReflected() {
+            // Arrange
+            CoOccurrenceIndex merged = new CoOccurrenceIndex(5);
+            CoOccurrenceIndex restaurantA = CoOccurrenceIndex.build(List.of(List.of(1L, 2L)), 5);
+            CoOccurrenceIndex restaurantB = CoOccurrenceIndex.build(List.of(List.of(10L, 11L)), 5);
+
+            // Act
+            merged.putAll(restaurantA);
+            merged.putAll(restaurantB);
+            merged.remove(10L);
+
+            // Assert
+            assertEquals(3, merged.size());
+            assertEquals(List.of(new CoOccurrence(10L, 1)), merged.top(11L, 5));
+            assertTrue(merged.top(10L, 5).isEmpty());
+        }
+    }
+}
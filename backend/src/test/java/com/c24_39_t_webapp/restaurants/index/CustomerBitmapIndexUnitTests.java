@@ -0,0 +1,140 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para CustomerBitmapIndex
+ * Estructura pura en memoria: sin Spring, sin mocks. En la prueba de escala los recuentos se comparan con
+ * una implementación de referencia (un Set de clientes por restaurante).
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Altas y bajas de clientes por restaurante; repetir un alta no cambia el recuento
+ * ✅ Restaurante sin clientes
+ * ✅ Los bitmaps devueltos no cambian con modificaciones posteriores
+ * ✅ Carga completa (build) con recuentos exactos, con 200k pedidos entregados
+ */
+@Slf4j
+@DisplayName("CustomerBitmapIndex - Unit Tests")
+class CustomerBitmapIndexUnitTests {
+
+    private CustomerBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CustomerBitmapIndex();
+        index.add(1, 10);
+        index.add(1, 11);
+        index.add(2, 10);
+    }
+
+    @Nested
+    @DisplayName("Altas y bajas")
+    class Updates {
+
+        @Test
+        @DisplayName("add() / contains() - Un cliente solo está verificado en los restaurantes donde ha comprado")
+        void whenAdded_thenContainedOnlyInThatRestaurant() {
+            // Assert
+            assertTrue(index.contains(1, 10));
+            assertTrue(index.contains(2, 10));
+            assertTrue(index.contains(1, 11));
+            assertFalse(index.contains(2, 11));
+            assertEquals(2, index.customerCount(1));
+        }
+
+        @Test
+        @DisplayName("add() - Repetir un cliente no cambia el recuento")
+        void whenAddedTwice_thenCountedOnce() {
+            // Act
+            boolean added = index.add(1, 10);
+
+            // Assert
+            assertFalse(added);
+            assertEquals(2, index.customerCount(1));
+        }
+
+        @Test
+        @DisplayName("remove() - Quita al cliente; el restaurante que se queda sin clientes desaparece")
+        void whenRemoved_thenNotContained() {
+            // Act
+            boolean removed = index.remove(2, 10);
+
+            // Assert
+            assertTrue(removed);
+            assertFalse(index.contains(2, 10));
+            assertEquals(0, index.customerCount(2));
+            assertEquals(1, index.size());
+            assertFalse(index.remove(2, 10), "Quitar un cliente que no está no cambia nada");
+        }
+
+        @Test
+        @DisplayName("customers() - Restaurante sin clientes: bitmap vacío")
+        void whenNoCustomers_thenEmpty() {
+            // Assert
+            assertTrue(index.customers(99).isEmpty());
+            assertEquals(0, index.customerCount(99));
+        }
+
+        @Test
+        @DisplayName("customers() - El bitmap devuelto no cambia con altas y bajas posteriores")
+        void whenModifiedAfterRead_thenPreviousBitmapUnchanged() {
+            // Arrange
+            RoaringBitmap before = index.customers(1);
+
+            // Act
+            index.add(1, 12);
+            index.remove(1, 10);
+
+            // Assert
+            assertEquals(RoaringBitmap.bitmapOf(10, 11), before);
+            assertEquals(RoaringBitmap.bitmapOf(11, 12), index.customers(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Carga completa")
+    class Build {
+
+        @Test
+        @DisplayName("build() - 200k pedidos entregados: recuentos exactos de clientes distintos")
+        void whenBuiltFromManyOrders_thenExactCounts() {
+            // Arrange
+            Random random = new Random(42);
+            Map<Integer, RoaringBitmap> customers = new HashMap<>();
+            Map<Integer, Set<Integer>> reference = new HashMap<>();
+            for (int order = 0; order < 200_000; order++) {
+                int restaurantId = 1 + random.nextInt(500);
+                int clientId = 1 + random.nextInt(50_000);
+                customers.computeIfAbsent(restaurantId, id -> new RoaringBitmap()).add(clientId);
+                reference.computeIfAbsent(restaurantId, id -> new HashSet<>()).add(clientId);
+            }
+
+            // Act
+            CustomerBitmapIndex built = CustomerBitmapIndex.build(customers);
+
+            // Assert
+            assertEquals(reference.size(), built.size());
+            reference.forEach((restaurantId, clients) -> {
+                assertEquals(clients.size(), built.customerCount(restaurantId), "Restaurante " + restaurantId);
+                clients.forEach(clientId -> assertTrue(built.contains(restaurantId, clientId)));
+            });
+            customers.get(1).add(999_999);
+            assertFalse(built.contains(1, 999_999), "El índice no comparte los bitmaps de la carga");
+            log.info("Índice de {} restaurantes en {} bytes", built.size(), built.sizeInBytes());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para FacetIndex y PriceBand
+ * Estructura pura en memoria: sin Spring, sin mocks.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ OR dentro de una faceta, AND entre facetas
+ * ✅ Recuentos por faceta ignorando el filtro de la propia faceta
+ * ✅ Reemplazo y borrado de documentos
+ * ✅ Paginación por offset
+ * ✅ Tramos de precio
+ */
+@DisplayName("FacetIndex - Unit Tests")
+class FacetIndexUnitTests {
+
+    private FacetIndex<ProductFacet> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FacetIndex<>(ProductFacet.class);
+        index.put(1, doc("10", "1", "0-10", "true"));
+        index.put(2, doc("10", "2", "10-20", "true"));
+        index.put(3, doc("20", "1", "10-20", "false"));
+        index.put(4, doc("20", "2", "30+", "true"));
+        index.put(5, doc("30", "1", "0-10", "true"));
+    }
+
+    @Nested
+    @DisplayName("Filtros y recuentos")
+    class Search {
+
+        @Test
+        @DisplayName("search() - Sin filtros devuelve todos los documentos")
+        void whenNoFilters_thenAllMatch() {
+            // Act
+            FacetIndex.FacetResult<ProductFacet> result = index.search(Map.of());
+
+            // Assert
+            assertEquals(5, result.matches().getCardinality());
+            assertEquals(Map.of("1", 3, "2", 2), result.counts().get(ProductFacet.CATEGORY));
+        }
+
+        @Test
+        @DisplayName("search() - Combina valores con OR y facetas con AND")
+        void whenSeveralFacets_thenOrWithinAndAcross() {
+            // Act
+            FacetIndex.FacetResult<ProductFacet> result = index.search(Map.of(
+                    ProductFacet.RESTAURANT, List.of("10", "20"),
+                    ProductFacet.ACTIVE, List.of("true")));
+
+            // Assert
+            assertEquals(RoaringBitmap.bitmapOf(1, 2, 4), result.matches());
+        }
+
+        @Test
+        @DisplayName("search() - Los recuentos de una faceta ignoran su propio filtro")
+        void whenFacetFiltered_thenItsCountsIgnoreOwnSelection() {
+            // Act
+            FacetIndex.FacetResult<ProductFacet> result = index.search(Map.of(
+                    ProductFacet.RESTAURANT, List.of("10"),
+                    ProductFacet.CATEGORY, List.of("1")));
+
+            // Assert
+            assertEquals(RoaringBitmap.bitmapOf(1), result.matches());
+            // Restaurantes con productos de la categoría 1
+            assertEquals(Map.of("10", 1, "20", 1, "30", 1), result.counts().get(ProductFacet.RESTAURANT));
+            // Categorías dentro del restaurante 10
+            assertEquals(Map.of("1", 1, "2", 1), result.counts().get(ProductFacet.CATEGORY));
+            // El resto de facetas se cuentan sobre el resultado
+            assertEquals(Map.of("0-10", 1), result.counts().get(ProductFacet.PRICE_BAND));
+        }
+
+        @Test
+        @DisplayName("search() - Un valor inexistente no devuelve resultados")
+        void whenUnknownValue_thenNoMatches() {
+            // Act
+            FacetIndex.FacetResult<ProductFacet> result = index.search(Map.of(ProductFacet.CATEGORY, List.of("99")));
+
+            // Assert
+            assertTrue(result.matches().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualizaciones")
+    class Updates {
+
+        @Test
+        @DisplayName("put() - Reemplaza los valores anteriores del documento")
+        void whenPutExisting_thenValuesReplaced() {
+            // Act
+            index.put(1, doc("10", "2", "0-10", "true"));
+
+            // Assert
+            assertEquals(5, index.size());
+            assertEquals(RoaringBitmap.bitmapOf(3, 5), index.bitmapOf(ProductFacet.CATEGORY, "1"));
+        }
+
+        @Test
+        @DisplayName("remove() - Quita el documento de todos los bitmaps")
+        void whenRemove_thenDocumentGone() {
+            // Act
+            assertTrue(index.remove(5));
+
+            // Assert
+            assertEquals(4, index.size());
+            assertTrue(index.bitmapOf(ProductFacet.RESTAURANT, "30").isEmpty());
+            assertFalse(index.search(Map.of()).counts().get(ProductFacet.RESTAURANT).containsKey("30"));
+            assertFalse(index.remove(5));
+        }
+
+        @Test
+        @DisplayName("valuesIntersecting() - Valores presentes en un subconjunto")
+        void whenValuesIntersecting_thenOnlyPresentValues() {
+            // Act & Assert
+            assertEquals(Set.of("1", "2"),
+                    index.valuesIntersecting(ProductFacet.CATEGORY, index.bitmapOf(ProductFacet.RESTAURANT, "20")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Paginación y tramos de precio")
+    class PagingAndPriceBands {
+
+        @Test
+        @DisplayName("page() - Devuelve la página pedida en orden de ID")
+        void whenPage_thenSliceReturned() {
+            // Arrange
+            RoaringBitmap matches = RoaringBitmap.bitmapOf(3, 8, 15, 42, 99);
+
+            // Act & Assert
+            assertEquals(List.of(15L, 42L), FacetIndex.page(matches, 2, 2));
+            assertEquals(List.of(99L), FacetIndex.page(matches, 4, 10));
+            assertTrue(FacetIndex.page(matches, 5, 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("PriceBand.of() - Límite inferior inclusivo y superior exclusivo")
+        void whenPriceOnBoundary_thenUpperBand() {
+            assertEquals(PriceBand.UNDER_10, PriceBand.of(new BigDecimal("9.99")));
+            assertEquals(PriceBand.FROM_10_TO_20, PriceBand.of(new BigDecimal("10.00")));
+            assertEquals(PriceBand.OVER_30, PriceBand.of(new BigDecimal("150")));
+            assertNull(PriceBand.of(null));
+        }
+    }
+
+    private static Map<ProductFacet, List<String>> doc(String restaurant, String category, String band, String active) {
+        return Map.of(
+                ProductFacet.RESTAURANT, List.of(restaurant),
+                ProductFacet.CATEGORY, List.of(category),
+                ProductFacet.PRICE_BAND, List.of(band),
+                ProductFacet.ACTIVE, List.of(active));
+    }
+}
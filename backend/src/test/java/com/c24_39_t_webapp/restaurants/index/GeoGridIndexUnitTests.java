@@ -0,0 +1,193 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import com.c24_39_t_webapp.restaurants.index.GeoGridIndex.Hit;
+import com.c24_39_t_webapp.restaurants.index.GeoGridIndex.Point;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para GeoGridIndex
+ * Estructura pura en memoria: sin Spring, sin mocks. Los resultados se comparan con una implementación
+ * de referencia (calcular la distancia a todos los puntos y ordenar).
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Radio: solo los puntos dentro del círculo, ordenados por distancia
+ * ✅ kNN: los k más cercanos, con filtro y con radio máximo
+ * ✅ Mover y eliminar puntos
+ * ✅ Círculos que cruzan el antimeridiano o tocan un polo
+ * ✅ kNN exacto y latencia con 50k restaurantes
+ */
+@Slf4j
+@DisplayName("GeoGridIndex - Unit Tests")
+class GeoGridIndexUnitTests {
+
+    // Puerta del Sol, Madrid
+    private static final double SOL_LAT = 40.4169;
+    private static final double SOL_LNG = -3.7035;
+
+    private GeoGridIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex();
+        index.put(new Point(1L, 40.4169, -3.7035, 1L));   // Sol
+        index.put(new Point(2L, 40.4154, -3.6846, 2L));   // Retiro, ~1,6 km
+        index.put(new Point(3L, 40.4530, -3.6883, 1L));   // Bernabéu, ~4,2 km
+        index.put(new Point(4L, 40.4893, -3.5680, 2L));   // Barajas, ~14 km
+        index.put(new Point(5L, 41.3874, 2.1686, 1L));    // Barcelona, ~500 km
+    }
+
+    @Nested
+    @DisplayName("Búsqueda")
+    class Search {
+
+        @Test
+        @DisplayName("withinRadius() - Devuelve solo los puntos dentro del radio, del más cercano al más lejano")
+        void whenRadiusGiven_thenOnlyPointsInsideSortedByDistance() {
+            // Act
+            List<Hit> hits = index.withinRadius(SOL_LAT, SOL_LNG, 5.0, p -> true);
+
+            // Assert
+            assertEquals(List.of(1L, 2L, 3L), ids(hits));
+            assertEquals(0.0, hits.get(0).distanceKm(), 1e-9);
+            assertEquals(1.6, hits.get(1).distanceKm(), 0.1);
+        }
+
+        @Test
+        @DisplayName("nearest() - Amplía el radio hasta reunir k puntos que cumplen el filtro")
+        void whenKNearestWithFilter_thenExpandsUntilFound() {
+            // Act
+            List<Hit> hits = index.nearest(SOL_LAT, SOL_LNG, 2, 100.0, p -> p.cuisineId() == 2L);
+
+            // Assert
+            assertEquals(List.of(2L, 4L), ids(hits));
+        }
+
+        @Test
+        @DisplayName("nearest() - No pasa del radio máximo aunque falten puntos")
+        void whenNotEnoughPointsWithinMaxRadius_thenReturnsFewer() {
+            // Act
+            List<Hit> hits = index.nearest(SOL_LAT, SOL_LNG, 10, 20.0, p -> true);
+
+            // Assert
+            assertEquals(List.of(1L, 2L, 3L, 4L), ids(hits), "Barcelona queda fuera del radio máximo");
+        }
+
+        @Test
+        @DisplayName("put() / remove() - Mover un punto lo reubica y eliminarlo lo quita del índice")
+        void whenPointMovedOrRemoved_thenIndexUpdated() {
+            // Act
+            index.put(new Point(5L, 40.4170, -3.7040, 1L));
+            index.remove(2L);
+
+            // Assert
+            assertEquals(List.of(1L, 5L, 3L), ids(index.withinRadius(SOL_LAT, SOL_LNG, 5.0, p -> true)));
+            assertEquals(4, index.size());
+        }
+
+        @Test
+        @DisplayName("withinRadius() - Los círculos que cruzan el antimeridiano o tocan un polo encuentran sus puntos")
+        void whenCircleCrossesAntimeridianOrPole_thenPointsFound() {
+            // Arrange
+            index.put(new Point(10L, 0.0, 179.99, null));
+            index.put(new Point(11L, 0.0, -179.99, null));
+            index.put(new Point(12L, 89.99, 45.0, null));
+            index.put(new Point(13L, 89.99, -135.0, null));
+
+            // Act & Assert
+            assertEquals(List.of(11L, 10L), ids(index.withinRadius(0.0, -179.995, 5.0, p -> true)));
+            assertEquals(List.of(12L, 13L), ids(index.withinRadius(89.995, 45.0, 5.0, p -> true)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Escala")
+    class Scale {
+
+        /**
+         * 50k restaurantes repartidos por un área metropolitana de ~55 × 55 km con 30 tipos de cocina.
+         * Se comprueba que el kNN coincide con la referencia y se mide la latencia por consulta.
+         */
+        @Test
+        @DisplayName("nearest() - 50k restaurantes: kNN exacto y por debajo de 1 ms por consulta")
+        void whenFiftyThousandRestaurants_thenKnnIsExactAndFast() {
+            // Arrange
+            Random random = new Random(42);
+            List<Point> points = new ArrayList<>(50_000);
+            GeoGridIndex large = new GeoGridIndex();
+            for (long id = 1; id <= 50_000; id++) {
+                Point point = new Point(id, 40.20 + random.nextDouble() * 0.5, -4.00 + random.nextDouble() * 0.65,
+                        1 + id % 30);
+                points.add(point);
+                large.put(point);
+            }
+            double[][] queries = new double[1_000][];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = new double[]{40.20 + random.nextDouble() * 0.5, -4.00 + random.nextDouble() * 0.65};
+            }
+
+            // Act: calentamiento y medición de kNN (k = 20) sin filtro y con filtro de cocina
+            for (double[] q : queries) {
+                large.nearest(q[0], q[1], 20, 100.0, p -> true);
+                large.nearest(q[0], q[1], 20, 100.0, p -> p.cuisineId() == 7L);
+            }
+            long[] plain = measure(large, queries, p -> true);
+            long[] byCuisine = measure(large, queries, p -> p.cuisineId() == 7L);
+
+            // Assert: exactitud frente a la referencia en una muestra
+            for (int i = 0; i < 50; i++) {
+                double[] q = queries[i];
+                assertEquals(ids(bruteForce(points, q[0], q[1], 20, p -> true)),
+                        ids(large.nearest(q[0], q[1], 20, 100.0, p -> true)));
+                assertEquals(ids(bruteForce(points, q[0], q[1], 20, p -> p.cuisineId() == 7L)),
+                        ids(large.nearest(q[0], q[1], 20, 100.0, p -> p.cuisineId() == 7L)));
+            }
+            log.info("kNN k=20 sobre 50k restaurantes: p50 {} µs, p99 {} µs; con filtro de cocina: p50 {} µs, p99 {} µs",
+                    percentile(plain, 50) / 1000, percentile(plain, 99) / 1000,
+                    percentile(byCuisine, 50) / 1000, percentile(byCuisine, 99) / 1000);
+            assertTrue(percentile(plain, 50) < 1_000_000, "kNN p50 por debajo de 1 ms");
+            assertTrue(percentile(byCuisine, 50) < 1_000_000, "kNN con filtro p50 por debajo de 1 ms");
+        }
+
+        private long[] measure(GeoGridIndex large, double[][] queries, Predicate<Point> filter) {
+            long[] nanos = new long[queries.length];
+            for (int i = 0; i < queries.length; i++) {
+                long start = System.nanoTime();
+                large.nearest(queries[i][0], queries[i][1], 20, 100.0, filter);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            return nanos;
+        }
+
+        private long percentile(long[] sorted, int percentile) {
+            return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+        }
+    }
+
+    private static List<Hit> bruteForce(List<Point> points, double lat, double lng, int k, Predicate<Point> filter) {
+        return points.stream()
+                .filter(filter)
+                .map(p -> new Hit(p, GeoGridIndex.distanceKm(lat, lng, p.latitude(), p.longitude())))
+                .sorted(Comparator.comparingDouble(Hit::distanceKm).thenComparingLong(h -> h.point().id()))
+                .limit(k)
+                .toList();
+    }
+
+    private static List<Long> ids(List<Hit> hits) {
+        return hits.stream().map(hit -> hit.point().id()).toList();
+    }
+}
@@ -0,0 +1,216 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import com.c24_39_t_webapp.restaurants.index.OpeningHoursIndex.Interval;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.time.DayOfWeek.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para OpeningHoursIndex
+ * Estructura pura en memoria: sin Spring, sin mocks. En la prueba de escala los resultados se comparan con
+ * una implementación de referencia (recorrer los intervalos de cada restaurante).
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Turnos partidos, intervalos nocturnos y el domingo que continúa el lunes
+ * ✅ Abierto las 24 horas
+ * ✅ Sustituir y eliminar horarios, uniendo los tramos que quedan iguales
+ * ✅ Los bitmaps devueltos no cambian con modificaciones posteriores
+ * ✅ Carga completa (build) equivalente a altas una a una, con 20k restaurantes
+ */
+@Slf4j
+@DisplayName("OpeningHoursIndex - Unit Tests")
+class OpeningHoursIndexUnitTests {
+
+    private OpeningHoursIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OpeningHoursIndex();
+        // 1: turno partido de lunes a viernes
+        index.put(1, List.of(
+                Interval.of(MONDAY, LocalTime.of(13, 0), LocalTime.of(16, 0)),
+                Interval.of(MONDAY, LocalTime.of(20, 0), LocalTime.of(23, 30)),
+                Interval.of(FRIDAY, LocalTime.of(13, 0), LocalTime.of(16, 0))));
+        // 2: viernes y domingo por la noche, cerrando de madrugada
+        index.put(2, List.of(
+                Interval.of(FRIDAY, LocalTime.of(20, 0), LocalTime.of(2, 0)),
+                Interval.of(SUNDAY, LocalTime.of(22, 0), LocalTime.of(3, 0))));
+    }
+
+    @Nested
+    @DisplayName("Consulta")
+    class Lookup {
+
+        @Test
+        @DisplayName("openAt() - Turno partido: abierto en cada turno y cerrado entre ellos")
+        void whenSplitShift_thenOpenOnlyDuringShifts() {
+            // Act & Assert
+            assertTrue(index.openAt(MONDAY, LocalTime.of(13, 0)).contains(1), "Abre a las 13:00 en punto");
+            assertFalse(index.openAt(MONDAY, LocalTime.of(16, 0)).contains(1), "Cierra a las 16:00 en punto");
+            assertFalse(index.openAt(MONDAY, LocalTime.of(18, 0)).contains(1));
+            assertTrue(index.openAt(MONDAY, LocalTime.of(23, 29)).contains(1));
+            assertFalse(index.openAt(TUESDAY, LocalTime.of(14, 0)).contains(1));
+        }
+
+        @Test
+        @DisplayName("openAt() - Intervalo nocturno: sigue abierto de madrugada del día siguiente")
+        void whenOvernight_thenOpenAfterMidnight() {
+            // Act & Assert
+            assertTrue(index.openAt(FRIDAY, LocalTime.of(23, 0)).contains(2));
+            assertTrue(index.openAt(SATURDAY, LocalTime.of(1, 59)).contains(2));
+            assertFalse(index.openAt(SATURDAY, LocalTime.of(2, 0)).contains(2));
+        }
+
+        @Test
+        @DisplayName("openAt() - El intervalo del domingo por la noche continúa el lunes de madrugada")
+        void whenSundayOvernight_thenWrapsToMonday() {
+            // Act & Assert
+            assertTrue(index.openAt(SUNDAY, LocalTime.of(23, 59)).contains(2));
+            assertTrue(index.openAt(MONDAY, LocalTime.of(0, 0)).contains(2));
+            assertTrue(index.openAt(MONDAY, LocalTime.of(2, 59)).contains(2));
+            assertFalse(index.openAt(MONDAY, LocalTime.of(3, 0)).contains(2));
+        }
+
+        @Test
+        @DisplayName("openAt() - Apertura y cierre a la misma hora equivale a 24 horas")
+        void whenOpensAndClosesAtSameTime_thenOpenAllDay() {
+            // Act
+            index.put(3, List.of(Interval.of(WEDNESDAY, LocalTime.of(9, 0), LocalTime.of(9, 0))));
+
+            // Assert
+            assertTrue(index.openAt(WEDNESDAY, LocalTime.of(9, 0)).contains(3));
+            assertTrue(index.openAt(THURSDAY, LocalTime.of(8, 59)).contains(3));
+            assertFalse(index.openAt(THURSDAY, LocalTime.of(9, 0)).contains(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Modificaciones")
+    class Updates {
+
+        @Test
+        @DisplayName("put() / remove() - Sustituir o eliminar un horario deja los tramos como si no hubiera existido")
+        void whenScheduleReplacedOrRemoved_thenSegmentsMerged() {
+            // Arrange
+            int segmentsWithoutThird = index.segmentCount();
+
+            // Act
+            index.put(3, List.of(Interval.of(TUESDAY, LocalTime.of(10, 0), LocalTime.of(12, 0))));
+            index.put(3, List.of(Interval.of(TUESDAY, LocalTime.of(18, 0), LocalTime.of(19, 0))));
+
+            // Assert
+            assertFalse(index.openAt(TUESDAY, LocalTime.of(11, 0)).contains(3), "El horario anterior se sustituye");
+            assertTrue(index.openAt(TUESDAY, LocalTime.of(18, 30)).contains(3));
+
+            // Act
+            index.remove(3);
+            index.remove(99);
+
+            // Assert
+            assertFalse(index.openAt(TUESDAY, LocalTime.of(18, 30)).contains(3));
+            assertEquals(segmentsWithoutThird, index.segmentCount(), "Los tramos que quedan iguales se unen");
+            assertEquals(2, index.size());
+        }
+
+        @Test
+        @DisplayName("openAt() - El bitmap devuelto no cambia aunque después se modifique el índice")
+        void whenIndexChangesAfterLookup_thenReturnedBitmapUnchanged() {
+            // Arrange
+            RoaringBitmap before = index.openAt(FRIDAY, LocalTime.of(14, 0));
+
+            // Act
+            index.put(3, List.of(Interval.of(FRIDAY, LocalTime.of(12, 0), LocalTime.of(15, 0))));
+            index.remove(1);
+
+            // Assert
+            assertEquals(RoaringBitmap.bitmapOf(1), before);
+            assertEquals(RoaringBitmap.bitmapOf(3), index.openAt(FRIDAY, LocalTime.of(14, 0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Escala")
+    class Scale {
+
+        /**
+         * 20k restaurantes con horarios aleatorios (turnos partidos, nocturnos y días de cierre) a la cuarta hora
+         * o a la media hora. Se comprueba que la carga completa coincide con las altas una a una y con la
+         * referencia, y que una consulta es una búsqueda en unos cientos de tramos.
+         */
+        @Test
+        @DisplayName("build() - 20k restaurantes: igual que las altas una a una y que la referencia")
+        void whenTwentyThousandRestaurants_thenBuildMatchesIncrementalAndReference() {
+            // Arrange
+            Random random = new Random(42);
+            Map<Integer, List<Interval>> schedules = new HashMap<>();
+            for (int id = 1; id <= 20_000; id++) {
+                List<Interval> intervals = new ArrayList<>();
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    if (random.nextInt(7) == 0) continue;
+                    LocalTime opens = LocalTime.of(8 + random.nextInt(6), 30 * random.nextInt(2));
+                    intervals.add(Interval.of(day, opens, opens.plusHours(2 + random.nextInt(3))));
+                    LocalTime evening = LocalTime.of(19 + random.nextInt(3), 30 * random.nextInt(2));
+                    intervals.add(Interval.of(day, evening, evening.plusHours(3 + random.nextInt(5))));
+                }
+                schedules.put(id, intervals);
+            }
+
+            // Act
+            long start = System.nanoTime();
+            OpeningHoursIndex built = OpeningHoursIndex.build(schedules);
+            long buildMillis = (System.nanoTime() - start) / 1_000_000;
+            // Las altas una a una copian los tramos afectados, así que se comparan sobre un subconjunto
+            Map<Integer, List<Interval>> subset = new HashMap<>();
+            OpeningHoursIndex incremental = new OpeningHoursIndex();
+            for (int id = 1; id <= 2_000; id++) {
+                subset.put(id, schedules.get(id));
+                incremental.put(id, schedules.get(id));
+            }
+            OpeningHoursIndex builtSubset = OpeningHoursIndex.build(subset);
+
+            // Assert
+            log.info("Índice de horarios con 20k restaurantes: {} tramos, construido en {} ms",
+                    built.segmentCount(), buildMillis);
+            assertEquals(20_000, built.size());
+            assertEquals(builtSubset.segmentCount(), incremental.segmentCount());
+            for (int minute = 0; minute < OpeningHoursIndex.MINUTES_PER_WEEK; minute += 7) {
+                assertEquals(builtSubset.openAt(minute), incremental.openAt(minute), "Minuto " + minute);
+            }
+            for (int i = 0; i < 200; i++) {
+                int minute = random.nextInt(OpeningHoursIndex.MINUTES_PER_WEEK);
+                assertEquals(reference(schedules, minute), built.openAt(minute), "Minuto " + minute);
+            }
+        }
+
+        private RoaringBitmap reference(Map<Integer, List<Interval>> schedules, int minute) {
+            RoaringBitmap open = new RoaringBitmap();
+            schedules.forEach((id, intervals) -> {
+                for (Interval interval : intervals) {
+                    if (covers(interval, minute) || covers(interval, minute + OpeningHoursIndex.MINUTES_PER_WEEK)) {
+                        open.add(id);
+                    }
+                }
+            });
+            return open;
+        }
+
+        private boolean covers(Interval interval, int minute) {
+            return interval.start() <= minute && minute < interval.end();
+        }
+    }
+}
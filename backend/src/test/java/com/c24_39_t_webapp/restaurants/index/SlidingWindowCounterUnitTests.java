@@ -0,0 +1,196 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import com.c24_39_t_webapp.restaurants.index.SlidingWindowCounter.Count;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para SlidingWindowCounter
+ * Estructura pura en memoria: sin Spring, sin mocks. El tiempo se pasa explícitamente en milisegundos.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Los eventos caducan al salir de la ventana, tramo a tramo y tras un salto largo
+ * ✅ Top-k ordenado por recuento con desempate por clave, filtro de claves y limpieza de claves vacías
+ * ✅ Top-k igual al de una referencia (ordenar todos los recuentos) con 5k claves
+ * ✅ Guardar y restaurar el estado; entradas con otra configuración ignoradas
+ * ✅ Incrementos concurrentes sin pérdidas
+ */
+@DisplayName("SlidingWindowCounter - Unit Tests")
+class SlidingWindowCounterUnitTests {
+
+    private static final long MINUTE = 60_000L;
+
+    // Ventana de 5 tramos de 1 minuto
+    private SlidingWindowCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SlidingWindowCounter(Duration.ofMinutes(1), 5);
+    }
+
+    @Nested
+    @DisplayName("Ventana")
+    class Window {
+
+        @Test
+        @DisplayName("count() - Los eventos cuentan hasta que su tramo sale de la ventana")
+        void whenTimeAdvances_thenOldBucketsExpire() {
+            // Arrange
+            counter.increment(1L, 0);
+            counter.increment(1L, 30_000);
+            counter.increment(1L, 2 * MINUTE);
+
+            // Act & Assert
+            assertEquals(3, counter.count(1L, 4 * MINUTE + 59_999), "El tramo 0 sigue dentro de la ventana");
+            assertEquals(1, counter.count(1L, 5 * MINUTE), "El tramo 0 caduca al empezar el tramo 5");
+            assertEquals(0, counter.count(1L, 7 * MINUTE));
+            assertEquals(0, counter.count(2L, 0), "Clave sin eventos");
+        }
+
+        @Test
+        @DisplayName("increment() - Tras un salto mayor que la ventana el anillo empieza de cero")
+        void whenLongGap_thenRingReset() {
+            // Arrange
+            counter.increment(1L, 0);
+            counter.increment(1L, MINUTE);
+
+            // Act
+            counter.increment(1L, 60 * MINUTE);
+
+            // Assert
+            assertEquals(1, counter.count(1L, 60 * MINUTE));
+        }
+
+        @Test
+        @DisplayName("increment() - Un evento anterior a la ventana actual no cuenta")
+        void whenEventOlderThanWindow_thenIgnored() {
+            // Arrange
+            counter.increment(1L, 10 * MINUTE);
+
+            // Act
+            counter.increment(1L, 2 * MINUTE);
+            counter.increment(1L, 9 * MINUTE);
+
+            // Assert
+            assertEquals(2, counter.count(1L, 10 * MINUTE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Top-k")
+    class Top {
+
+        @Test
+        @DisplayName("top() - Ordena por recuento con desempate por clave, filtra y elimina claves vacías")
+        void whenTop_thenSortedFilteredAndEmptyKeysRemoved() {
+            // Arrange
+            for (int i = 0; i < 3; i++) counter.increment(1L, 4 * MINUTE);
+            for (int i = 0; i < 3; i++) counter.increment(2L, 4 * MINUTE);
+            counter.increment(3L, 4 * MINUTE);
+            for (int i = 0; i < 5; i++) counter.increment(4L, 4 * MINUTE);
+            counter.increment(5L, 0);
+
+            // Act
+            List<Count> top = counter.top(2, 5 * MINUTE, key -> key != 4L);
+
+            // Assert
+            assertEquals(List.of(new Count(1L, 3), new Count(2L, 3)), top);
+            assertEquals(4, counter.size(), "La clave 5 ya no tiene eventos en la ventana");
+            assertTrue(counter.top(0, 5 * MINUTE, key -> true).isEmpty());
+        }
+
+        @Test
+        @DisplayName("top() - 5k claves: coincide con ordenar todos los recuentos")
+        void whenManyKeys_thenMatchesReference() {
+            // Arrange
+            Random random = new Random(42);
+            Map<Long, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 50_000; i++) {
+                long key = random.nextInt(5_000);
+                long at = random.nextInt(10) * MINUTE;
+                counter.increment(key, at);
+                if (at >= 5 * MINUTE) expected.merge(key, 1, Integer::sum);
+            }
+
+            // Act
+            List<Count> top = counter.top(20, 9 * MINUTE, key -> true);
+
+            // Assert
+            List<Count> reference = expected.entrySet().stream()
+                    .map(e -> new Count(e.getKey(), e.getValue()))
+                    .sorted(Count.BY_COUNT)
+                    .limit(20)
+                    .toList();
+            assertEquals(reference, top);
+        }
+    }
+
+    @Nested
+    @DisplayName("Instantánea y concurrencia")
+    class SnapshotAndConcurrency {
+
+        @Test
+        @DisplayName("entries() / restore() - Restaura los recuentos; los de otra configuración se ignoran")
+        void whenRestored_thenCountsPreserved() {
+            // Arrange
+            counter.increment(1L, 0);
+            counter.increment(1L, 3 * MINUTE);
+            counter.increment(2L, 3 * MINUTE);
+            List<SlidingWindowCounter.Entry> entries = new ArrayList<>(counter.entries());
+            entries.add(new SlidingWindowCounter.Entry(3L, 3, new int[]{1, 2}));
+            SlidingWindowCounter restored = new SlidingWindowCounter(Duration.ofMinutes(1), 5);
+
+            // Act
+            int count = restored.restore(entries);
+
+            // Assert
+            assertEquals(2, count);
+            assertEquals(2, restored.count(1L, 3 * MINUTE));
+            assertEquals(1, restored.count(1L, 5 * MINUTE), "Los tramos restaurados siguen caducando");
+            assertEquals(0, restored.count(3L, 3 * MINUTE));
+        }
+
+        @Test
+        @DisplayName("increment() - 8 hilos incrementando a la vez mientras se calcula el top: no se pierden eventos")
+        void whenConcurrentIncrements_thenNoEventsLost() throws Exception {
+            // Arrange
+            int threads = 8;
+            int perThread = 10_000;
+
+            // Act
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads + 1)) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) counter.increment(i % 10, MINUTE);
+                    }));
+                }
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) counter.top(3, MINUTE, key -> true);
+                }));
+                for (Future<?> future : futures) future.get();
+            }
+
+            // Assert
+            List<Count> all = counter.top(10, MINUTE, key -> true);
+            assertEquals(threads * perThread, all.stream().mapToInt(Count::count).sum());
+            assertEquals(threads * perThread / 10, all.stream().max(Comparator.comparingInt(Count::count)).orElseThrow().count());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para StripedNameIndex
+ * Estructura pura en memoria: sin Spring, sin mocks.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Número de franjas redondeado a potencia de dos
+ * ✅ get/put/remove; remove solo si la clave sigue apuntando a la misma ID
+ * ✅ removeId quita todas las claves de una ID en cualquier franja
+ * ✅ Escrituras y lecturas concurrentes sin pérdidas
+ */
+@DisplayName("StripedNameIndex - Unit Tests")
+class StripedNameIndexUnitTests {
+
+    private StripedNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StripedNameIndex(16);
+    }
+
+    @Test
+    @DisplayName("StripedNameIndex() - Franjas redondeadas a la siguiente potencia de dos")
+    void whenCreated_thenStripesArePowerOfTwo() {
+        // Assert
+        assertEquals(16, index.stripeCount());
+        assertEquals(8, new StripedNameIndex(5).stripeCount());
+        assertEquals(1, new StripedNameIndex(1).stripeCount());
+    }
+
+    @Test
+    @DisplayName("put() / get() / remove() - remove() no quita una clave que ya apunta a otra ID")
+    void whenRemovedWithStaleId_thenKeyKept() {
+        // Arrange
+        index.put("pizzas", 1L);
+        index.put("pizzas", 2L);
+
+        // Act
+        boolean staleRemoved = index.remove("pizzas", 1L);
+
+        // Assert
+        assertFalse(staleRemoved);
+        assertEquals(2L, index.get("pizzas"));
+        assertTrue(index.remove("pizzas", 2L));
+        assertNull(index.get("pizzas"));
+    }
+
+    @Test
+    @DisplayName("removeId() - Quita todas las claves de la ID, estén en la franja que estén")
+    void whenIdRemoved_thenAllKeysRemoved() {
+        // Arrange
+        for (int i = 0; i < 100; i++) index.put("nombre " + i, i % 2 == 0 ? 7L : 100L + i);
+
+        // Act
+        int removed = index.removeId(7L);
+
+        // Assert
+        assertEquals(50, removed);
+        assertEquals(50, index.size());
+        assertNull(index.get("nombre 0"));
+        assertEquals(101L, index.get("nombre 1"));
+    }
+
+    @Test
+    @DisplayName("put() / get() - 8 hilos escribiendo y leyendo a la vez: no se pierden entradas")
+    void whenConcurrentWrites_thenNoEntriesLost() throws Exception {
+        // Arrange
+        int threads = 8;
+        int perThread = 5_000;
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        index.put(thread + "-" + i, thread * perThread + i);
+                        index.get(((thread + 1) % threads) + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        }
+
+        // Assert
+        assertEquals(threads * perThread, index.size());
+        assertEquals(3L * perThread + 42, index.get("3-42"));
+    }
+}
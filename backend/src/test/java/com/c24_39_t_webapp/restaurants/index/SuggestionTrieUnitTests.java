@@ -0,0 +1,165 @@
+package com.c24_39_t_webapp.restaurants.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para SuggestionTrie
+ * Estructura pura en memoria: sin Spring, sin mocks.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Prefijo al inicio del texto y al inicio de cualquier palabra
+ * ✅ Normalización de acentos y mayúsculas
+ * ✅ Orden por peso y límite de resultados
+ * ✅ Reemplazo y borrado de entradas
+ * ✅ Prefijos sin coincidencias o vacíos
+ */
+@DisplayName("SuggestionTrie - Unit Tests")
+class SuggestionTrieUnitTests {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+        trie.put(new Suggestion(SuggestionType.PRODUCT, 1L, "Pizza Margarita", 10L, 50));
+        trie.put(new Suggestion(SuggestionType.PRODUCT, 2L, "Pizza Jamón", 10L, 80));
+        trie.put(new Suggestion(SuggestionType.RESTAURANT, 10L, "La Pizzería", null, 30));
+        trie.put(new Suggestion(SuggestionType.CATEGORY, 1L, "Pastas", null, 5));
+    }
+
+    @Nested
+    @DisplayName("Búsqueda por prefijo")
+    class PrefixSearch {
+
+        @Test
+        @DisplayName("suggest() - Devuelve coincidencias ordenadas por peso descendente")
+        void whenPrefixMatches_thenResultsOrderedByWeight() {
+            // Act
+            List<Suggestion> result = trie.suggest("piz", 10);
+
+            // Assert
+            assertEquals(List.of(2L, 1L, 10L), result.stream().map(Suggestion::id).toList());
+        }
+
+        @Test
+        @DisplayName("suggest() - Encuentra por el inicio de cualquier palabra")
+        void whenPrefixMatchesInnerWord_thenEntryReturned() {
+            // Act
+            List<Suggestion> result = trie.suggest("marg", 10);
+
+            // Assert
+            assertEquals(1, result.size());
+            assertEquals("Pizza Margarita", result.getFirst().text());
+        }
+
+        @Test
+        @DisplayName("suggest() - Ignora acentos y mayúsculas")
+        void whenPrefixHasAccentsOrUppercase_thenNormalized() {
+            // Act
+            List<Suggestion> result = trie.suggest("JAMO", 10);
+
+            // Assert
+            assertEquals(1, result.size());
+            assertEquals(2L, result.getFirst().id());
+        }
+
+        @Test
+        @DisplayName("suggest() - Una entrada con varias palabras coincidentes aparece una sola vez")
+        void whenSeveralWordsMatch_thenNoDuplicates() {
+            // Arrange
+            trie.put(new Suggestion(SuggestionType.PRODUCT, 3L, "Pan de pan", 10L, 1));
+
+            // Act
+            List<Suggestion> result = trie.suggest("pan", 10);
+
+            // Assert
+            assertEquals(1, result.size());
+        }
+
+        @Test
+        @DisplayName("suggest() - Respeta el límite y el máximo de sugerencias")
+        void whenManyMatches_thenLimitApplied() {
+            // Arrange
+            IntStream.range(100, 130).forEach(i ->
+                    trie.put(new Suggestion(SuggestionType.PRODUCT, (long) i, "Taco " + i, 10L, i)));
+
+            // Act
+            List<Suggestion> limited = trie.suggest("taco", 3);
+            List<Suggestion> capped = trie.suggest("t", 100);
+
+            // Assert
+            assertEquals(List.of(129L, 128L, 127L), limited.stream().map(Suggestion::id).toList());
+            assertEquals(SuggestionTrie.MAX_SUGGESTIONS, capped.size());
+        }
+
+        @Test
+        @DisplayName("suggest() - Prefijo vacío o sin coincidencias devuelve lista vacía")
+        void whenPrefixBlankOrUnknown_thenEmpty() {
+            assertTrue(trie.suggest("", 10).isEmpty());
+            assertTrue(trie.suggest("   ", 10).isEmpty());
+            assertTrue(trie.suggest(null, 10).isEmpty());
+            assertTrue(trie.suggest("sushi", 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualizaciones incrementales")
+    class IncrementalUpdates {
+
+        @Test
+        @DisplayName("put() - Reemplaza la entrada con la misma clave")
+        void whenPutSameKey_thenEntryReplaced() {
+            // Act
+            trie.put(new Suggestion(SuggestionType.PRODUCT, 1L, "Calzone", 10L, 50));
+
+            // Assert
+            assertEquals(4, trie.size());
+            assertTrue(trie.suggest("marg", 10).isEmpty());
+            assertEquals(1L, trie.suggest("calz", 10).getFirst().id());
+        }
+
+        @Test
+        @DisplayName("put() - Un cambio de peso reordena los resultados")
+        void whenWeightChanges_thenOrderUpdated() {
+            // Act
+            trie.put(new Suggestion(SuggestionType.PRODUCT, 1L, "Pizza Margarita", 10L, 500));
+
+            // Assert
+            assertEquals(1L, trie.suggest("pizza", 10).getFirst().id());
+        }
+
+        @Test
+        @DisplayName("remove() - Elimina la entrada de todos sus prefijos")
+        void whenRemove_thenEntryNoLongerSuggested() {
+            // Act
+            boolean removed = trie.remove(Suggestion.key(SuggestionType.PRODUCT, 2L));
+
+            // Assert
+            assertTrue(removed);
+            assertTrue(trie.suggest("jam", 10).isEmpty());
+            assertEquals(List.of(1L, 10L), trie.suggest("piz", 10).stream().map(Suggestion::id).toList());
+            assertFalse(trie.remove(Suggestion.key(SuggestionType.PRODUCT, 2L)));
+        }
+
+        @Test
+        @DisplayName("put() - Producto y categoría con el mismo ID no se pisan")
+        void whenSameIdDifferentType_thenBothKept() {
+            // Act
+            trie.put(new Suggestion(SuggestionType.CATEGORY, 2L, "Postres", null, 1));
+
+            // Assert
+            assertEquals(5, trie.size());
+            assertEquals(1, trie.suggest("jam", 10).size());
+            assertEquals(1, trie.suggest("post", 10).size());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.c24_39_t_webapp.restaurants.integration;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.models.Category;
+import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Test para CategoryServiceImpl.findOrCreateCategory con muchos hilos a la vez.
+ * <p>
+ * Sin @Transactional en la clase: cada llamada abre y confirma su propia transacción, como varias peticiones de
+ * restaurantes distintos. Los hilos esperan a un pistoletazo de salida para que las búsquedas coincidan y varios
+ * lleguen al INSERT; la restricción única y el savepoint deben dejar una sola fila.
+ * La limpieza borra con el evento de baja, así el índice de nombres del contexto compartido no queda obsoleto.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Slf4j
+@DisplayName("Integration Test - Category findOrCreate concurrency")
+class CategoryFindOrCreateConcurrencyIntegrationTest {
+
+    private static final String NORMALIZED_NAME = "pizzas napolitanas";
+
+    @Autowired
+    private ICategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Borra la categoría como lo hace CategoryServiceImpl.deleteCategory: con el evento de baja en la misma
+     * transacción, para que el índice de nombres y los datos de referencia del contexto compartido no
+     * conserven una ID que ya no existe.
+     */
+    @AfterEach
+    void cleanUp() {
+        deleteCategory();
+    }
+
+    private void deleteCategory() {
+        transactionTemplate.executeWithoutResult(status -> categoryRepository.findByNormalizedName(NORMALIZED_NAME)
+                .ifPresent(category -> {
+                    categoryRepository.delete(category);
+                    eventPublisher.publishEvent(CategoryChangedEvent.deleted(category.getId()));
+                }));
+    }
+
+    @Test
+    @DisplayName("16 hilos crean la misma categoría (con otras mayúsculas, tildes y espacios) → Una sola fila y una ID")
+    void whenSameCategoryCreatedConcurrently_thenSingleRow() throws Exception {
+        // Arrange
+        int threads = 16;
+        List<String> spellings = List.of("Pizzas Napolitanas", "pizzas napolitanas", "  PIZZAS  Napolitanas ",
+                "Pízzas Napolitanas");
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<Category>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String name = spellings.get(t % spellings.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return categoryService.findOrCreateCategory(new CategoryRequestDto(name, "Masa fina y horno de leña"));
+                }));
+            }
+            start.countDown();
+            for (Future<Category> future : futures) ids.add(future.get().getId());
+        }
+
+        // Assert
+        Set<Long> distinctIds = ids.stream().collect(Collectors.toSet());
+        assertEquals(1, distinctIds.size(), "Todos los hilos deben recibir la misma categoría: " + ids);
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM categorias WHERE ctg_nombre_normalizado = ?", Integer.class, NORMALIZED_NAME);
+        assertEquals(1, rows);
+
+        Category again = categoryService.findOrCreateCategory(new CategoryRequestDto("PIZZAS NAPOLITANAS", "otra"));
+        assertEquals(distinctIds.iterator().next(), again.getId());
+    }
+
+    @Test
+    @DisplayName("Baja con evento → Volver a crearla devuelve una ID que existe, no la del índice en memoria")
+    void whenDeletedThenRecreated_thenNewRowReturned() {
+        // Arrange
+        Long firstId = categoryService.findOrCreateCategory(
+                new CategoryRequestDto("Pizzas Napolitanas", "Masa fina y horno de leña")).getId();
+        deleteCategory();
+
+        // Act
+        Long secondId = categoryService.findOrCreateCategory(
+                new CategoryRequestDto("Pizzas Napolitanas", "Masa fina y horno de leña")).getId();
+
+        // Assert
+        assertNotEquals(firstId, secondId);
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM categorias WHERE ctg_id = ?", Integer.class, secondId);
+        assertEquals(1, rows);
+    }
+}
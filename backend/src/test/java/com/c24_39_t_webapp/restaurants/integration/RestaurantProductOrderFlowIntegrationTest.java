@@ -1,11 +1,15 @@
 package com.c24_39_t_webapp.restaurants.integration;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.UserRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
 import com.c24_39_t_webapp.restaurants.factories.*;
 import com.c24_39_t_webapp.restaurants.models.Category;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.utils.KeysetCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
@@ -15,12 +19,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import com.c24_39_t_webapp.restaurants.integration.support.LoginRequest;
@@ -49,6 +68,7 @@ class RestaurantProductOrderFlowIntegrationTest {
     private static final String RESTAURANT_ENDPOINT = "/api/restaurant";
     private static final String PRODUCT_ENDPOINT = "/api/product";
     private static final String ORDER_ENDPOINT = "/api/order";
+    private static final String REVIEW_ENDPOINT = "/api/review";
     private static final Long RESTAURANT_ID = 1L;
     @Autowired
     private MockMvc mockMvc;
@@ -160,6 +180,185 @@ class RestaurantProductOrderFlowIntegrationTest {
                     log.info("✅ Step 4: PRODUCTO creado con ID: {}", productIdHolder[0]);
                 });
 
+        // 4️⃣.1 PÚBLICO: LISTADO PAGINADO DEL RESTAURANTE (filtros + orden + cursor de otra página)
+        mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurant/" + restaurantIdHolder[0])
+                        .param("sort", "price_desc")
+                        .param("activeOnly", "true")
+                        .param("minPrice", "0")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].prd_id").value(productIdHolder[0]))
+                .andExpect(header().doesNotExist(KeysetPageDto.NEXT_CURSOR_HEADER));
+
+        String afterFutureCursor = new KeysetCursor(ProductSort.NEWEST.name(),
+                LocalDateTime.now().plusDays(1).toString(), Long.MAX_VALUE).encode();
+        mockMvc.perform(get(PRODUCT_ENDPOINT)
+                        .param("sort", "newest")
+                        .param("cursor", afterFutureCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].prd_id").value(productIdHolder[0]))
+                .andDo(result -> log.info("✅ Step 4.1: LISTADO paginado correcto"));
+
+        // 4️⃣.2 RESTAURANTE: IMPORTACIÓN MASIVA CSV (parcial: una fila válida y una inválida)
+        String importCsv = """
+                name,description,price,image,quantity,categoryName
+                Tiramisú,Casero,5.50,tiramisu.jpg,8,Postres
+                Sin precio,Fila inválida,,x.jpg,1,Postres
+                """;
+        mockMvc.perform(post(PRODUCT_ENDPOINT + "/import/" + restaurantIdHolder[0])
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .param("mode", "partial")
+                        .contentType("text/csv")
+                        .content(importCsv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+
+        mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurant/" + restaurantIdHolder[0])
+                        .param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("Tiramisú"))
+                .andExpect(jsonPath("$[1].categoryName").value("Postres"))
+                .andDo(result -> log.info("✅ Step 4.2: IMPORTACIÓN masiva correcta"));
+
+        // 4️⃣.3 RESTAURANTE: ACTUALIZACIÓN MASIVA (-10 % en SQL; un ID inexistente se informa)
+        mockMvc.perform(patch(PRODUCT_ENDPOINT + "/bulk/" + restaurantIdHolder[0])
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"productIds\":[" + productIdHolder[0] + ",999999],\"priceChangePercent\":-10}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.notFound[0]").value(999999))
+                .andExpect(jsonPath("$.products[0].price").value(13.49))
+                .andDo(result -> log.info("✅ Step 4.3: ACTUALIZACIÓN masiva correcta"));
+
+        // 4️⃣.4 RESTAURANTE: SUBIDA DE IMAGEN + PÚBLICO: DESCARGA DE LA MINIATURA
+        BufferedImage image = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        String[] thumbnailUrlHolder = new String[1];
+        mockMvc.perform(multipart("/api/images")
+                        .file(new MockMultipartFile("file", "pizza.png", "image/png", png.toByteArray()))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0]))
+                .andExpect(status().is2xxSuccessful())
+                .andDo(result -> thumbnailUrlHolder[0] = objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get("urls").get("thumbnail").asText());
+
+        mockMvc.perform(get(thumbnailUrlHolder[0]))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andDo(result -> log.info("✅ Step 4.4: IMAGEN subida y servida"));
+
+        // 4️⃣.5 PÚBLICO: SINCRONIZACIÓN INCREMENTAL (carga inicial, baja de un producto y cambios desde la marca de agua)
+        String[] watermarkHolder = new String[1];
+        Long[] importedIdHolder = new Long[1];
+        mockMvc.perform(get("/api/sync/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reset").value(true))
+                .andExpect(jsonPath("$.products[?(@.prd_id == " + productIdHolder[0] + ")]").exists())
+                .andExpect(jsonPath("$.cuisines[?(@.name == 'Italiana')]").exists())
+                .andDo(result -> watermarkHolder[0] = objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get("watermark").asText());
+        mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurant/" + restaurantIdHolder[0])
+                        .param("sort", "name"))
+                .andDo(result -> importedIdHolder[0] = objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get(1).get("prd_id").asLong());
+        mockMvc.perform(delete(PRODUCT_ENDPOINT + "/" + importedIdHolder[0])
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0]))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/sync/changes").param("since", watermarkHolder[0]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reset").value(false))
+                .andExpect(jsonPath("$.products.length()").value(0))
+                .andExpect(jsonPath("$.deleted.length()").value(1))
+                .andExpect(jsonPath("$.deleted[0].type").value("PRODUCT"))
+                .andExpect(jsonPath("$.deleted[0].id").value(importedIdHolder[0]))
+                .andDo(result -> log.info("✅ Step 4.5: SINCRONIZACIÓN incremental correcta"));
+
+        // 4️⃣.6 PÚBLICO: DIRECTORIO (estadísticas recalculadas con cada cambio de producto)
+        mockMvc.perform(get(RESTAURANT_ENDPOINT + "/directory")
+                        .param("sort", "rating")
+                        .param("cuisineId", String.valueOf(restaurantRegisterDto.cuisineId()))
+                        .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.rst_id == " + restaurantIdHolder[0] + ")].reviewCount").value(0))
+                .andExpect(jsonPath("$[?(@.rst_id == " + restaurantIdHolder[0] + ")].minPrice").value(13.49))
+                .andExpect(jsonPath("$[?(@.rst_id == " + restaurantIdHolder[0] + ")].averagePrice").value(13.49))
+                .andDo(result -> log.info("✅ Step 4.6: DIRECTORIO con estadísticas correcto"));
+
+        // 4️⃣.7 PÚBLICO: PÁGINA DEL RESTAURANTE (secciones en paralelo, todas disponibles)
+        mockMvc.perform(get(RESTAURANT_ENDPOINT + "/" + restaurantIdHolder[0] + "/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.restaurant.rst_id").value(restaurantIdHolder[0]))
+                .andExpect(jsonPath("$.menu[0].products[0].prd_id").value(productIdHolder[0]))
+                .andExpect(jsonPath("$.categories").isArray())
+                .andExpect(jsonPath("$.reviews.reviewCount").value(0))
+                .andExpect(jsonPath("$.unavailableSections.length()").value(0))
+                .andDo(result -> log.info("✅ Step 4.7: PÁGINA del restaurante correcta"));
+
+        // 4️⃣.8 RESTAURANTE: COPIA DE LA CARTA A UN NUEVO LOCAL (+10 % en SQL, categorías incluidas)
+        mockMvc.perform(post(RESTAURANT_ENDPOINT + "/" + restaurantIdHolder[0] + "/categories")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Pizzas\",\"description\":\"Pizzas caseras\"}"))
+                .andExpect(status().is2xxSuccessful());
+        Long[] branchIdHolder = new Long[1];
+        mockMvc.perform(post(RESTAURANT_ENDPOINT)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                RestaurantFactory.defaultRequest(RESTAURANT_ID + 1, "sucursal." + restaurantEmail))))
+                .andExpect(status().isCreated())
+                .andDo(result -> branchIdHolder[0] = objectMapper.readTree(result.getResponse().getContentAsString())
+                        .get("rst_id").asLong());
+
+        mockMvc.perform(post(PRODUCT_ENDPOINT + "/clone/" + branchIdHolder[0])
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceRestaurantId\":" + restaurantIdHolder[0] + ",\"priceChangePercent\":10}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.clonedProducts").value(1))
+                .andExpect(jsonPath("$.clonedCategories").value(1));
+
+        mockMvc.perform(get(PRODUCT_ENDPOINT + "/byRestaurant/" + branchIdHolder[0]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].prd_id").value(not(productIdHolder[0].intValue())))
+                .andExpect(jsonPath("$[0].price").value(14.84));
+        Long[] branchCategoryIdHolder = new Long[1];
+        mockMvc.perform(get(RESTAURANT_ENDPOINT + "/" + branchIdHolder[0] + "/categories")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Pizzas"))
+                .andDo(result -> {
+                    branchCategoryIdHolder[0] = objectMapper.readTree(result.getResponse().getContentAsString())
+                            .get(0).get("ctg_id").asLong();
+                    log.info("✅ Step 4.8: COPIA de la carta correcta");
+                });
+
+        // 4️⃣.9️⃣ RESTAURANTE: SUSTITUIR Y QUITAR CATEGORÍAS DE LA SUCURSAL (sentencias sobre la tabla de unión)
+        mockMvc.perform(put(RESTAURANT_ENDPOINT + "/" + branchIdHolder[0] + "/categories")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"categoryIds\":[" + branchCategoryIdHolder[0] + ",999999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added").value(0))
+                .andExpect(jsonPath("$.removed").value(0))
+                .andExpect(jsonPath("$.notFound[0]").value(999999))
+                .andExpect(jsonPath("$.categories", hasSize(1)));
+        mockMvc.perform(patch(RESTAURANT_ENDPOINT + "/" + branchIdHolder[0] + "/categories")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remove\":[" + branchCategoryIdHolder[0] + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removed").value(1))
+                .andExpect(jsonPath("$.categories", hasSize(0)))
+                .andDo(result -> log.info("✅ Step 4.9: Categorías de la sucursal actualizadas"));
+
         // 5️⃣ CLIENTE: REGISTER
         UserRequestDto clientRegisterDto = UserFactory.requestWith(
                 "Cliente Test",
@@ -206,6 +405,8 @@ class RestaurantProductOrderFlowIntegrationTest {
                 OrderFactory.defaultRequest(restaurantIdHolder[0], clientIdHolder[0] )
         );
 
+        Long[] orderIdHolder = new Long[1];
+
         mockMvc.perform(post(ORDER_ENDPOINT)
                         .header(HttpHeaders.AUTHORIZATION, "Bearer " + clientTokenHolder[0])
                         .contentType(MediaType.APPLICATION_JSON)
@@ -213,7 +414,51 @@ class RestaurantProductOrderFlowIntegrationTest {
                         .param("email", clientEmail))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.ord_Id").exists())
-                .andDo(result -> log.info("✅ Step 7: ORDEN creada correctamente"));
+                .andDo(result -> {
+                    orderIdHolder[0] = objectMapper.readTree(result.getResponse().getContentAsString())
+                            .get("ord_Id").asLong();
+                    log.info("✅ Step 7: ORDEN creada correctamente");
+                });
+
+        // 8️⃣ CLIENTE: RESEÑA (SOLO CON UN PEDIDO ENTREGADO) Y LISTADO PAGINADO DE RESEÑAS
+        String reviewPayload = objectMapper.writeValueAsString(
+                new ReviewRequestDto(restaurantIdHolder[0], 9, "Muy buena pasta"));
+
+        mockMvc.perform(post(REVIEW_ENDPOINT)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + clientTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reviewPayload))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(patch(ORDER_ENDPOINT + "/" + orderIdHolder[0])
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"entregado\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(RESTAURANT_ENDPOINT + "/" + restaurantIdHolder[0] + "/customers/count")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + restaurantTokenHolder[0]))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueCustomers").value(1));
+
+        mockMvc.perform(post(REVIEW_ENDPOINT)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + clientTokenHolder[0])
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(reviewPayload))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.verifiedPurchase").value(true));
+
+        mockMvc.perform(get(REVIEW_ENDPOINT + "/restaurant/" + restaurantIdHolder[0])
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + clientTokenHolder[0])
+                        .param("sort", "score-desc")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].score").value(9))
+                .andExpect(jsonPath("$[0].userId").value(clientIdHolder[0]))
+                .andExpect(jsonPath("$[0].verifiedPurchase").value(true))
+                .andExpect(header().doesNotExist(KeysetPageDto.NEXT_CURSOR_HEADER))
+                .andDo(result -> log.info("✅ Step 8: RESEÑAS del restaurante paginadas"));
 
         log.info("=== FIN: Flujo Restaurant → Product → Order completado ===\n");
     }
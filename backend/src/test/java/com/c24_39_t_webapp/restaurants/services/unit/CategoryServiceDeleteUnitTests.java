@@ -3,15 +3,10 @@ package com.c24_39_t_webapp.restaurants.services.unit;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
-import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
-import com.c24_39_t_webapp.restaurants.models.Category;
-import com.c24_39_t_webapp.restaurants.models.Restaurant;
-import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -19,20 +14,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * Test unitarios para CategoryService.deleteCategory()
  *
- * ✅ Restaurantes y Categories vienen de EntityModelFactory
+ * ✅ El dueño se comprueba con el email de la proyección, sin entidades de restaurante
  * ✅ SecurityContext mockeado
  * ✅ Happy path + error cases + edge cases
  *
@@ -42,6 +40,7 @@ import static org.mockito.Mockito.*;
  * ✅ Categoría no asociada al restaurante
  * ✅ Restaurante sin UserEntity → Lanza excepción
  * ✅ Usuario no autorizado → Lanza excepción
+ * ✅ Restaurante dado de baja → Lanza excepción
  * ✅ Categoría no encontrada → Lanza excepción
  * ✅ Restaurante sin UserEntity → Lanza excepción
  *
@@ -52,11 +51,9 @@ import static org.mockito.Mockito.*;
 class CategoryServiceDeleteUnitTests {
 
     private static final Long RESTAURANT_ID = 1L;
-    private static final Long USER_ID = 1L;
     private static final String OWNER_EMAIL = "owner@restaurant.com";
     private static final String OTHER_EMAIL = "other@restaurant.com";
     private static final Long CATEGORY_ID = 1L;
-    private static final String CATEGORY_NAME = "Pizzas";
 
     @Mock
     private RestaurantRepository restaurantRepository;
@@ -67,6 +64,9 @@ class CategoryServiceDeleteUnitTests {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.CategoryServiceImpl categoryService;
 
@@ -88,23 +88,6 @@ class CategoryServiceDeleteUnitTests {
     @DisplayName("Success Cases - deleteCategory()")
     class SuccessCases {
 
-        private Restaurant restaurant;
-        private Category category;
-        private UserEntity owner;
-
-        @BeforeEach
-        void setUp() {
-            // ✅ Usuario propietario
-            owner = EntityModelFactory.restaurantOwnerEntity(USER_ID, OWNER_EMAIL);
-
-            // ✅ Restaurante con el propietario
-            restaurant = EntityModelFactory.restaurant(RESTAURANT_ID, owner);
-
-            // ✅ Categoría
-            category = EntityModelFactory.category(CATEGORY_ID, CATEGORY_NAME);
-            restaurant.getOfferedCategories().add(category);
-        }
-
         /**
          * Test: Eliminar categoría cuando no se usa en otros lados
          *
@@ -120,11 +103,11 @@ class CategoryServiceDeleteUnitTests {
             // Arrange
             setupSecurityContextWithEmail(OWNER_EMAIL);
 
-            when(restaurantRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.of(OWNER_EMAIL));
 
-            when(categoryRepository.findById(CATEGORY_ID))
-                    .thenReturn(Optional.of(category));
+            when(categoryRepository.existsById(CATEGORY_ID))
+                    .thenReturn(true);
 
             // ✅ No usada por productos
             when(productRepository.existsByCategoryId(CATEGORY_ID))
@@ -134,16 +117,17 @@ class CategoryServiceDeleteUnitTests {
             when(categoryRepository.countRestaurantsUsingCategory(CATEGORY_ID))
                     .thenReturn(0L);
 
-            when(restaurantRepository.save(any(Restaurant.class)))
-                    .thenReturn(restaurant);
+            when(restaurantRepository.removeOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(1);
 
             // Act
             categoryService.deleteCategory(RESTAURANT_ID, CATEGORY_ID);
 
             // Verify
-            verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
-            verify(restaurantRepository, times(1)).save(any(Restaurant.class));
+            verify(restaurantRepository, times(1)).findActiveOwnerEmailById(RESTAURANT_ID);
+            verify(restaurantRepository, never()).findById(any());
+            verify(categoryRepository, times(1)).existsById(CATEGORY_ID);
+            verify(restaurantRepository, times(1)).removeOfferedCategories(RESTAURANT_ID, List.of(CATEGORY_ID));
             verify(productRepository, times(1)).existsByCategoryId(CATEGORY_ID);
             verify(categoryRepository, times(1)).countRestaurantsUsingCategory(CATEGORY_ID);
             verify(categoryRepository, times(1)).deleteById(CATEGORY_ID);
@@ -155,7 +139,7 @@ class CategoryServiceDeleteUnitTests {
          * Verificación:
          * ✅ Categoría se desasocia del restaurante
          * ✅ NO se borra globalmente (se usa en otros lados)
-         * ✅ RestaurantRepository.save() se llamó
+         * ✅ Se borra la fila de la tabla de unión
          * ✅ CategoryRepository.deleteById() NO se llamó
          */
         @Test
@@ -164,11 +148,11 @@ class CategoryServiceDeleteUnitTests {
             // Arrange
             setupSecurityContextWithEmail(OWNER_EMAIL);
 
-            when(restaurantRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.of(OWNER_EMAIL));
 
-            when(categoryRepository.findById(CATEGORY_ID))
-                    .thenReturn(Optional.of(category));
+            when(categoryRepository.existsById(CATEGORY_ID))
+                    .thenReturn(true);
 
             // ✅ No usada por productos pero usada por otros restaurantes
             when(productRepository.existsByCategoryId(CATEGORY_ID))
@@ -177,14 +161,14 @@ class CategoryServiceDeleteUnitTests {
             when(categoryRepository.countRestaurantsUsingCategory(CATEGORY_ID))
                     .thenReturn(2L);  // ← Usada por 2 restaurantes más
 
-            when(restaurantRepository.save(any(Restaurant.class)))
-                    .thenReturn(restaurant);
+            when(restaurantRepository.removeOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(1);
 
             // Act
             categoryService.deleteCategory(RESTAURANT_ID, CATEGORY_ID);
 
             // Verify
-            verify(restaurantRepository, times(1)).save(any(Restaurant.class));
+            verify(restaurantRepository, times(1)).removeOfferedCategories(RESTAURANT_ID, List.of(CATEGORY_ID));
             verify(categoryRepository, never()).deleteById(CATEGORY_ID);  // NO se borra
         }
 
@@ -200,20 +184,25 @@ class CategoryServiceDeleteUnitTests {
         void whenCategoryNotAssociated_thenContinuesWithoutSaving() {
             // Arrange
             setupSecurityContextWithEmail(OWNER_EMAIL);
-            restaurant.getOfferedCategories().clear();  // Desasociar primero
 
-            when(restaurantRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.of(OWNER_EMAIL));
 
-            when(categoryRepository.findById(CATEGORY_ID))
-                    .thenReturn(Optional.of(category));
+            when(categoryRepository.existsById(CATEGORY_ID))
+                    .thenReturn(true);
+
+            // La fila no existe en la tabla de unión: el DELETE no borra nada
+            when(restaurantRepository.removeOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(0);
 
             // Act - No debe lanzar excepción
             assertDoesNotThrow(() -> categoryService.deleteCategory(RESTAURANT_ID, CATEGORY_ID));
 
             // Verify
-            verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(restaurantRepository, times(1)).findActiveOwnerEmailById(RESTAURANT_ID);
+            verify(restaurantRepository, never()).findById(any());
+            verify(categoryRepository, times(1)).existsById(CATEGORY_ID);
+            verify(productRepository, never()).existsByCategoryId(any());
         }
     }
 
@@ -223,13 +212,6 @@ class CategoryServiceDeleteUnitTests {
     @DisplayName("Error Cases - deleteCategory()")
     class ErrorCases {
 
-        private UserEntity owner;
-
-        @BeforeEach
-        void setUp() {
-            owner = EntityModelFactory.restaurantOwnerEntity(USER_ID, OWNER_EMAIL);
-        }
-
         /**
          * Test: Restaurante no encontrado
          *
@@ -241,7 +223,7 @@ class CategoryServiceDeleteUnitTests {
         @DisplayName("Restaurante no encontrado → Lanza RestaurantNotFoundException")
         void whenRestaurantNotFound_thenThrowsRestaurantNotFoundException() {
             // Arrange
-            when(restaurantRepository.findById(999L))
+            when(restaurantRepository.findActiveOwnerEmailById(999L))
                     .thenReturn(Optional.empty());
 
             // Act & Assert
@@ -256,7 +238,31 @@ class CategoryServiceDeleteUnitTests {
             );
 
             // Verify
-            verify(categoryRepository, never()).findById(any());
+            verify(categoryRepository, never()).existsById(any());
+        }
+
+        /**
+         * Test: Restaurante dado de baja
+         *
+         * Verificación:
+         * ✅ Lanza RestaurantNotFoundException, como si no existiera
+         * ✅ No toca la tabla de unión
+         */
+        @Test
+        @DisplayName("Restaurante dado de baja → Lanza RestaurantNotFoundException")
+        void whenRestaurantInactive_thenThrowsRestaurantNotFoundException() {
+            // Arrange
+            // ✅ La consulta del dueño solo ve restaurantes activos
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class,
+                    () -> categoryService.deleteCategory(RESTAURANT_ID, CATEGORY_ID));
+
+            // Verify
+            verify(restaurantRepository, never()).removeOfferedCategories(any(), any());
+            verify(categoryRepository, never()).existsById(any());
         }
 
         /**
@@ -271,13 +277,11 @@ class CategoryServiceDeleteUnitTests {
             // Arrange
             setupSecurityContextWithEmail(OWNER_EMAIL);
 
-            Restaurant restaurant = EntityModelFactory.restaurant(RESTAURANT_ID, owner);
-
-            when(restaurantRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.of(OWNER_EMAIL));
 
-            when(categoryRepository.findById(999L))
-                    .thenReturn(Optional.empty());
+            when(categoryRepository.existsById(999L))
+                    .thenReturn(false);
 
             // Act & Assert
             CategoryNotFoundException exception = assertThrows(
@@ -299,29 +303,24 @@ class CategoryServiceDeleteUnitTests {
          * Test: Restaurante sin UserEntity
          *
          * Verificación:
-         * ✅ Lanza NullPointerException o es manejado
+         * ✅ El JOIN con el dueño no devuelve fila → Lanza RestaurantNotFoundException
          */
         @Test
         @DisplayName("Restaurante sin UserEntity → Lanza excepción")
         void whenRestaurantHasNoUser_thenThrowsException() {
             // Arrange
-            setupSecurityContextWithEmail(OWNER_EMAIL);
-
-            Restaurant restaurant = EntityModelFactory.restaurant(RESTAURANT_ID, owner);
-            restaurant.setUserEntity(null);
-
-            when(restaurantRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.empty());
 
-            // Act & Assert - Espera NullPointerException o similar
+            // Act & Assert
             assertThrows(
-                    Exception.class,
+                    RestaurantNotFoundException.class,
                     () -> categoryService.deleteCategory(RESTAURANT_ID, CATEGORY_ID),
                     "Debe lanzar excepción cuando UserEntity es null"
             );
 
             // Verify
-            verify(categoryRepository, never()).findById(any());
+            verify(categoryRepository, never()).existsById(any());
         }
 
         /**
@@ -337,10 +336,8 @@ class CategoryServiceDeleteUnitTests {
             // Arrange
             setupSecurityContextWithEmail(OTHER_EMAIL);
 
-            Restaurant restaurant = EntityModelFactory.restaurant(RESTAURANT_ID, owner);
-
-            when(restaurantRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.of(OWNER_EMAIL));
 
             // Act & Assert
             UnauthorizedAccessException exception = assertThrows(
@@ -369,15 +366,11 @@ class CategoryServiceDeleteUnitTests {
             // Arrange
             setupSecurityContextWithEmail(OWNER_EMAIL);
 
-            Restaurant restaurant = EntityModelFactory.restaurant(RESTAURANT_ID, owner);
-            Category category = EntityModelFactory.category(CATEGORY_ID, CATEGORY_NAME);
-            restaurant.getOfferedCategories().add(category);
-
-            when(restaurantRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID))
+                    .thenReturn(Optional.of(OWNER_EMAIL));
 
-            when(categoryRepository.findById(CATEGORY_ID))
-                    .thenReturn(Optional.of(category));
+            when(categoryRepository.existsById(CATEGORY_ID))
+                    .thenReturn(true);
 
             // No hay productos usando esta categoría
             when(productRepository.existsByCategoryId(CATEGORY_ID))
@@ -387,8 +380,8 @@ class CategoryServiceDeleteUnitTests {
             when(categoryRepository.countRestaurantsUsingCategory(CATEGORY_ID))
                     .thenReturn(0L);
 
-            when(restaurantRepository.save(any(Restaurant.class)))
-                    .thenReturn(restaurant);
+            when(restaurantRepository.removeOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(1);
 
             // ✅ MOCKEA que deleteById() lanza excepción
             doThrow(new RuntimeException("Error de BD: Restricción de clave foránea"))
@@ -402,10 +395,11 @@ class CategoryServiceDeleteUnitTests {
             );
 
             // Verify
-            verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(restaurantRepository, times(1)).findActiveOwnerEmailById(RESTAURANT_ID);
+            verify(restaurantRepository, never()).findById(any());
+            verify(categoryRepository, times(1)).existsById(CATEGORY_ID);
             verify(categoryRepository, times(1)).deleteById(CATEGORY_ID);  // Se intentó borrar
-            verify(restaurantRepository, times(1)).save(any(Restaurant.class));  // Se guardó cambios
+            verify(restaurantRepository, times(1)).removeOfferedCategories(RESTAURANT_ID, List.of(CATEGORY_ID));  // Se guardó cambios
         }
     }
 }
\ No newline at end of file
@@ -4,15 +4,22 @@ import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.models.Category;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.CategoryServiceImpl;
+import com.c24_39_t_webapp.restaurants.services.impl.ReferenceDataServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,12 +33,14 @@ import static org.mockito.Mockito.*;
  * Test unitarios para CategoryService.findAllCategories()
  *
  * ✅ Categories vienen de EntityModelFactory
+ * ✅ Se leen de la instantánea de ReferenceDataServiceImpl (real, sobre los repositorios mock)
  * ✅ Happy path + edge cases
  *
  * Cobertura:
  * ✅ Obtener lista de categorías
  * ✅ Mapeo a CategoryResponseDto
  * ✅ Lista vacía
+ * ✅ Lecturas repetidas no vuelven a consultar el repositorio
  */
 @ExtendWith(MockitoExtension.class)
 @Slf4j
@@ -46,10 +55,34 @@ class CategoryServiceFindAllUnitTests {
     private static final String CATEGORY_NAME_3 = "Ensaladas";
 
     @Mock
-    private com.c24_39_t_webapp.restaurants.repository.CategoryRepository categoryRepository;
+    private CategoryRepository categoryRepository;
 
-    @InjectMocks
-    private com.c24_39_t_webapp.restaurants.services.impl.CategoryServiceImpl categoryService;
+    @Mock
+    private RestaurantCuisineRepository cuisineRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ReferenceDataServiceImpl referenceDataService;
+
+    private CategoryServiceImpl categoryService;
+
+    @BeforeEach
+    void setUpService() {
+        // Las categorías se sirven desde la instantánea de datos de referencia, cargada con refresh()
+        referenceDataService = new ReferenceDataServiceImpl(categoryRepository, cuisineRepository, new ObjectMapper());
+        categoryService = new CategoryServiceImpl(categoryRepository, productRepository, restaurantRepository,
+                eventPublisher, referenceDataService, jdbcTemplate);
+    }
 
     // ==================== SUCCESS CASES ====================
 
@@ -78,7 +111,7 @@ class CategoryServiceFindAllUnitTests {
          * Test: Obtener lista de categorías
          *
          * Verificación:
-         * ✅ CategoryRepository.findAll() se llamó
+         * ✅ CategoryRepository.findAll() se llamó (una vez, al cargar la instantánea)
          * ✅ Retorna lista con datos correctos
          * ✅ Size correcto
          */
@@ -88,6 +121,7 @@ class CategoryServiceFindAllUnitTests {
             // Arrange
             when(categoryRepository.findAll())
                     .thenReturn(categoryList);
+            referenceDataService.refresh();
 
             // Act
             List<CategoryResponseDto> result = categoryService.findAllCategories();
@@ -117,6 +151,7 @@ class CategoryServiceFindAllUnitTests {
             // Arrange
             when(categoryRepository.findAll())
                     .thenReturn(categoryList);
+            referenceDataService.refresh();
 
             // Act
             List<CategoryResponseDto> result = categoryService.findAllCategories();
@@ -135,6 +170,32 @@ class CategoryServiceFindAllUnitTests {
             verify(categoryRepository, times(1)).findAll();
         }
 
+        /**
+         * Test: Lecturas repetidas
+         *
+         * Verificación:
+         * ✅ Todas las lecturas devuelven la misma lista
+         * ✅ CategoryRepository.findAll() solo se llamó al cargar la instantánea
+         */
+        @Test
+        @DisplayName("Lecturas repetidas → Sin consultas adicionales")
+        void whenReadRepeatedly_thenRepositoryQueriedOnce() {
+            // Arrange
+            when(categoryRepository.findAll())
+                    .thenReturn(categoryList);
+            referenceDataService.refresh();
+
+            // Act
+            List<CategoryResponseDto> first = categoryService.findAllCategories();
+            List<CategoryResponseDto> second = categoryService.findAllCategories();
+
+            // Assert
+            assertSame(first, second);
+
+            // Verify
+            verify(categoryRepository, times(1)).findAll();
+        }
+
         /**
          * Test: Una única categoría en la lista
          *
@@ -150,6 +211,7 @@ class CategoryServiceFindAllUnitTests {
 
             when(categoryRepository.findAll())
                     .thenReturn(singleList);
+            referenceDataService.refresh();
 
             // Act
             List<CategoryResponseDto> result = categoryService.findAllCategories();
@@ -174,7 +236,7 @@ class CategoryServiceFindAllUnitTests {
          * Test: Lista vacía de categorías
          *
          * Verificación:
-         * ✅ Retorna Collections.emptyList()
+         * ✅ Retorna una lista vacía
          * ✅ No es null
          * ✅ Size es 0
          */
@@ -184,6 +246,7 @@ class CategoryServiceFindAllUnitTests {
             // Arrange
             when(categoryRepository.findAll())
                     .thenReturn(new ArrayList<>());
+            referenceDataService.refresh();
 
             // Act
             List<CategoryResponseDto> result = categoryService.findAllCategories();
@@ -220,6 +283,7 @@ class CategoryServiceFindAllUnitTests {
 
             when(categoryRepository.findAll())
                     .thenReturn(largeList);
+            referenceDataService.refresh();
 
             // Act
             List<CategoryResponseDto> result = categoryService.findAllCategories();
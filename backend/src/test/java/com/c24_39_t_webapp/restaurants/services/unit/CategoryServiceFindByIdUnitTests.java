@@ -4,17 +4,25 @@ import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.models.Category;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.CategoryServiceImpl;
+import com.c24_39_t_webapp.restaurants.services.impl.ReferenceDataServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +31,7 @@ import static org.mockito.Mockito.*;
  * Test unitarios para CategoryService.findCategoryById()
  *
  * ✅ Categories vienen de EntityModelFactory
+ * ✅ Se buscan en la instantánea de ReferenceDataServiceImpl (real, sobre los repositorios mock)
  * ✅ Happy path + error cases
  *
  * Cobertura:
@@ -30,6 +39,7 @@ import static org.mockito.Mockito.*;
  * ✅ Categoría no encontrada → Lanza excepción
  * ✅ ID inválido (null, <= 0) → Lanza excepción
  * ✅ Mapeo a CategoryResponseDto
+ * ✅ Categoría creada fuera de la aplicación → Se recarga la instantánea
  */
 @ExtendWith(MockitoExtension.class)
 @Slf4j
@@ -41,10 +51,34 @@ class CategoryServiceFindByIdUnitTests {
     private static final String CATEGORY_DESCRIPTION = "Deliciosas pizzas";
 
     @Mock
-    private com.c24_39_t_webapp.restaurants.repository.CategoryRepository categoryRepository;
+    private CategoryRepository categoryRepository;
 
-    @InjectMocks
-    private com.c24_39_t_webapp.restaurants.services.impl.CategoryServiceImpl categoryService;
+    @Mock
+    private RestaurantCuisineRepository cuisineRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ReferenceDataServiceImpl referenceDataService;
+
+    private CategoryServiceImpl categoryService;
+
+    @BeforeEach
+    void setUpService() {
+        // Las categorías se buscan en la instantánea de datos de referencia, cargada con refresh()
+        referenceDataService = new ReferenceDataServiceImpl(categoryRepository, cuisineRepository, new ObjectMapper());
+        categoryService = new CategoryServiceImpl(categoryRepository, productRepository, restaurantRepository,
+                eventPublisher, referenceDataService, jdbcTemplate);
+    }
 
     // ==================== SUCCESS CASES ====================
 
@@ -65,7 +99,7 @@ class CategoryServiceFindByIdUnitTests {
          * Test: Encuentra categoría por ID válido
          *
          * Verificación:
-         * ✅ CategoryRepository.findById() se llamó
+         * ✅ CategoryRepository.findById() NO se llamó (se sirve desde la instantánea)
          * ✅ Retorna CategoryResponseDto con datos correctos
          * ✅ ID y name coinciden
          */
@@ -73,8 +107,9 @@ class CategoryServiceFindByIdUnitTests {
         @DisplayName("Categoría existe → Retorna datos correctos")
         void whenCategoryExists_thenReturnsCategory() {
             // Arrange
-            when(categoryRepository.findById(CATEGORY_ID))
-                    .thenReturn(Optional.of(existingCategory));
+            when(categoryRepository.findAll())
+                    .thenReturn(List.of(existingCategory));
+            referenceDataService.refresh();
 
             // Act
             CategoryResponseDto result = categoryService.findCategoryById(CATEGORY_ID);
@@ -86,7 +121,7 @@ class CategoryServiceFindByIdUnitTests {
             assertEquals(CATEGORY_DESCRIPTION, result.description());
 
             // Verify
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(categoryRepository, never()).findById(any());
         }
 
         /**
@@ -101,8 +136,9 @@ class CategoryServiceFindByIdUnitTests {
         @DisplayName("Mapeo a CategoryResponseDto → Datos correctos")
         void whenMappingToDto_thenDataIsMappedCorrectly() {
             // Arrange
-            when(categoryRepository.findById(CATEGORY_ID))
-                    .thenReturn(Optional.of(existingCategory));
+            when(categoryRepository.findAll())
+                    .thenReturn(List.of(existingCategory));
+            referenceDataService.refresh();
 
             // Act
             CategoryResponseDto result = categoryService.findCategoryById(CATEGORY_ID);
@@ -113,7 +149,34 @@ class CategoryServiceFindByIdUnitTests {
             assertEquals(existingCategory.getDescription(), result.description());
 
             // Verify
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(categoryRepository, never()).findById(any());
+        }
+
+        /**
+         * Test: Categoría que no estaba en la instantánea pero sí en la base de datos
+         *
+         * Verificación:
+         * ✅ Se recarga la instantánea y se encuentra la categoría
+         */
+        @Test
+        @DisplayName("Categoría creada fuera de la aplicación → Recarga y la encuentra")
+        void whenCategoryMissingFromSnapshotButExists_thenRefreshesAndReturnsIt() {
+            // Arrange
+            when(categoryRepository.findAll())
+                    .thenReturn(List.of())
+                    .thenReturn(List.of(existingCategory));
+            referenceDataService.refresh();
+            when(categoryRepository.existsById(CATEGORY_ID)).thenReturn(true);
+
+            // Act
+            CategoryResponseDto result = categoryService.findCategoryById(CATEGORY_ID);
+
+            // Assert
+            assertEquals(CATEGORY_NAME, result.name());
+            assertEquals(2, referenceDataService.snapshot().version());
+
+            // Verify
+            verify(categoryRepository, times(2)).findAll();
         }
     }
 
@@ -129,13 +192,14 @@ class CategoryServiceFindByIdUnitTests {
          * Verificación:
          * ✅ Lanza CategoryNotFoundException
          * ✅ Mensaje contiene información sobre el ID
+         * ✅ Un ID inexistente no recarga la instantánea
          */
         @Test
         @DisplayName("Categoría no encontrada → Lanza CategoryNotFoundException")
         void whenCategoryNotFound_thenThrowsCategoryNotFoundException() {
             // Arrange
-            when(categoryRepository.findById(999L))
-                    .thenReturn(Optional.empty());
+            when(categoryRepository.existsById(999L))
+                    .thenReturn(false);
 
             // Act & Assert
             CategoryNotFoundException exception = assertThrows(
@@ -147,7 +211,7 @@ class CategoryServiceFindByIdUnitTests {
             assertTrue(exception.getMessage().toLowerCase().contains("no se encontró"));
 
             // Verify
-            verify(categoryRepository, times(1)).findById(999L);
+            verify(categoryRepository, never()).findAll();
         }
 
         /**
@@ -1,9 +1,13 @@
 package com.c24_39_t_webapp.restaurants.services.unit;
 
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
 import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
 import com.c24_39_t_webapp.restaurants.factories.CategoryFactory;
 import com.c24_39_t_webapp.restaurants.models.Category;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,7 +18,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,11 +35,15 @@ import static org.mockito.Mockito.*;
  *
  * ✅ Categories vienen de EntityModelFactory
  * ✅ Happy path + error cases
+ * ✅ El INSERT con savepoint (JdbcTemplate.execute) se simula: devuelve la ID nueva, o null si chocó con la
+ * restricción única. El caso real con muchos hilos está en CategoryFindOrCreateConcurrencyIntegrationTest
  *
  * Cobertura:
- * ✅ Encuentra categoría existente
+ * ✅ Encuentra categoría existente por nombre normalizado
  * ✅ Crea categoría nueva si no existe
- * ✅ Retorna Category correctamente
+ * ✅ Carrera perdida: devuelve la categoría creada por la otra transacción
+ * ✅ Búsquedas repetidas desde el índice de nombres, sin consultar la base de datos
+ * ✅ Entradas del índice obsoletas o borradas
  */
 @ExtendWith(MockitoExtension.class)
 @Slf4j
@@ -38,37 +52,53 @@ class CategoryServiceFindOrCreateUnitTests {
 
     private static final Long CATEGORY_ID = 1L;
     private static final String CATEGORY_NAME = "Pizzas";
+    private static final String NORMALIZED_NAME = "pizzas";
     private static final String CATEGORY_DESCRIPTION = "Deliciosas pizzas italianas";
 
     @Mock
     private com.c24_39_t_webapp.restaurants.repository.CategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IReferenceDataService referenceDataService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.CategoryServiceImpl categoryService;
 
+    private CategoryRequestDto categoryRequest;
+    private Category existingCategory;
+
+    @BeforeEach
+    void setUp() {
+        // ✅ Request con datos
+        categoryRequest = CategoryFactory.defaultRequest();
+
+        // ✅ Categoría existente desde factory
+        existingCategory = EntityModelFactory.category(CATEGORY_ID, CATEGORY_NAME);
+    }
+
+    private static ReferenceDataSnapshot snapshotWith(CategoryResponseDto... categories) {
+        Map<Long, CategoryResponseDto> byId = new HashMap<>();
+        for (CategoryResponseDto category : categories) byId.put(category.ctg_id(), category);
+        return new ReferenceDataSnapshot(1, List.of(categories), "\"1\"", List.of(), "\"0\"", byId, Map.of());
+    }
+
     // ==================== SUCCESS CASES ====================
 
     @Nested
     @DisplayName("Success Cases - findOrCreateCategory()")
     class SuccessCases {
 
-        private CategoryRequestDto categoryRequest;
-        private Category existingCategory;
-
-        @BeforeEach
-        void setUp() {
-            // ✅ Request con datos
-            categoryRequest = CategoryFactory.defaultRequest();
-
-            // ✅ Categoría existente desde factory
-            existingCategory = EntityModelFactory.category(CATEGORY_ID, CATEGORY_NAME);
-        }
-
         /**
          * Test: Encuentra categoría existente
          *
          * Verificación:
-         * ✅ CategoryRepository.findByName() se llamó
+         * ✅ CategoryRepository.findByNormalizedName() se llamó con el nombre normalizado
          * ✅ Retorna la categoría existente
          * ✅ NO crea una nueva
          */
@@ -76,7 +106,7 @@ class CategoryServiceFindOrCreateUnitTests {
         @DisplayName("Categoría existe → Retorna la existente")
         void whenCategoryExists_thenReturnsExistingCategory() {
             // Arrange
-            when(categoryRepository.findByName(CATEGORY_NAME))
+            when(categoryRepository.findByNormalizedName(NORMALIZED_NAME))
                     .thenReturn(Optional.of(existingCategory));
 
             // Act
@@ -88,33 +118,31 @@ class CategoryServiceFindOrCreateUnitTests {
             assertEquals(CATEGORY_NAME, result.getName());
 
             // Verify
-            verify(categoryRepository, times(1)).findByName(CATEGORY_NAME);
-            verify(categoryRepository, never()).save(any());
+            verify(categoryRepository, times(1)).findByNormalizedName(NORMALIZED_NAME);
+            verify(jdbcTemplate, never()).execute(any(ConnectionCallback.class));
+            verify(eventPublisher, never()).publishEvent(any());
         }
 
         /**
          * Test: Crea categoría nueva si no existe
          *
          * Verificación:
-         * ✅ CategoryRepository.findByName() retorna empty
-         * ✅ CategoryRepository.save() se llamó
-         * ✅ Retorna la categoría creada
+         * ✅ CategoryRepository.findByNormalizedName() retorna empty
+         * ✅ Se inserta con el savepoint y se publica el alta
+         * ✅ Retorna la categoría creada con los datos de la petición
          */
         @Test
         @DisplayName("Categoría no existe → Crea una nueva")
         void whenCategoryNotExists_thenCreatesNew() {
             // Arrange
-            Category newCategory = EntityModelFactory.defaultCategory();
-            newCategory.setDescription(CATEGORY_DESCRIPTION);
-
-            when(categoryRepository.findByName(CATEGORY_NAME))
+            CategoryRequestDto request = new CategoryRequestDto(CATEGORY_NAME, CATEGORY_DESCRIPTION);
+            when(categoryRepository.findByNormalizedName(NORMALIZED_NAME))
                     .thenReturn(Optional.empty());
-
-            when(categoryRepository.save(any(Category.class)))
-                    .thenReturn(newCategory);
+            when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                    .thenReturn(CATEGORY_ID);
 
             // Act
-            Category result = categoryService.findOrCreateCategory(categoryRequest);
+            Category result = categoryService.findOrCreateCategory(request);
 
             // Assert
             assertNotNull(result);
@@ -123,29 +151,114 @@ class CategoryServiceFindOrCreateUnitTests {
             assertEquals(CATEGORY_DESCRIPTION, result.getDescription());
 
             // Verify
-            verify(categoryRepository, times(1)).findByName(CATEGORY_NAME);
-            verify(categoryRepository, times(1)).save(any(Category.class));
+            verify(categoryRepository, times(1)).findByNormalizedName(NORMALIZED_NAME);
+            verify(jdbcTemplate, times(1)).execute(any(ConnectionCallback.class));
+            verify(eventPublisher, times(1)).publishEvent(CategoryChangedEvent.saved(CATEGORY_ID, CATEGORY_NAME));
         }
 
         /**
-         * Test: Usa orElseGet correctamente
+         * Test: Otra transacción crea la misma categoría entre la búsqueda y el INSERT
          *
          * Verificación:
-         * ✅ Si existe, NO llama save()
-         * ✅ Si no existe, SÍ llama save()
+         * ✅ El INSERT choca con la restricción única (execute devuelve null)
+         * ✅ Retorna la categoría de la otra transacción, sin publicar un alta
+         */
+        @Test
+        @DisplayName("Carrera perdida → Retorna la categoría creada por la otra transacción")
+        void whenConcurrentInsertWins_thenReturnsWinner() {
+            // Arrange
+            when(categoryRepository.findByNormalizedName(NORMALIZED_NAME))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(existingCategory));
+            when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                    .thenReturn(null);
+
+            // Act
+            Category result = categoryService.findOrCreateCategory(categoryRequest);
+
+            // Assert
+            assertEquals(CATEGORY_ID, result.getId());
+
+            // Verify
+            verify(categoryRepository, times(2)).findByNormalizedName(NORMALIZED_NAME);
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    // ==================== ÍNDICE DE NOMBRES ====================
+
+    @Nested
+    @DisplayName("Índice de nombres - findOrCreateCategory()")
+    class NameIndex {
+
+        /**
+         * Test: La segunda búsqueda del mismo nombre (con otras mayúsculas y espacios) no consulta la base de datos
+         */
+        @Test
+        @DisplayName("Nombre ya resuelto → Se responde desde memoria")
+        void whenNameAlreadyResolved_thenServedFromIndex() {
+            // Arrange
+            when(categoryRepository.findByNormalizedName(NORMALIZED_NAME))
+                    .thenReturn(Optional.of(existingCategory));
+            when(referenceDataService.snapshot()).thenReturn(snapshotWith(
+                    new CategoryResponseDto(CATEGORY_ID, CATEGORY_NAME, CATEGORY_DESCRIPTION)));
+            categoryService.findOrCreateCategory(categoryRequest);
+
+            // Act
+            Category result = categoryService.findOrCreateCategory(new CategoryRequestDto("  PIZZAS ", "otra"));
+
+            // Assert
+            assertEquals(CATEGORY_ID, result.getId());
+            assertEquals(CATEGORY_NAME, result.getName());
+            assertEquals(CATEGORY_DESCRIPTION, result.getDescription());
+
+            // Verify
+            verify(categoryRepository, times(1)).findByNormalizedName(NORMALIZED_NAME);
+        }
+
+        /**
+         * Test: Una ID del índice que ya no está en la instantánea se descarta y se vuelve a buscar
          */
         @Test
-        @DisplayName("orElseGet() funciona correctamente")
-        void whenUsingOrElseGet_thenBehavesCorrectly() {
+        @DisplayName("Entrada obsoleta → Se busca de nuevo en la base de datos")
+        void whenIndexedIdMissingFromSnapshot_thenFallsBackToDatabase() {
             // Arrange
-            when(categoryRepository.findByName(CATEGORY_NAME))
+            Category recreated = EntityModelFactory.category(2L, CATEGORY_NAME);
+            when(categoryRepository.findByNormalizedName(NORMALIZED_NAME))
+                    .thenReturn(Optional.of(existingCategory))
+                    .thenReturn(Optional.of(recreated));
+            when(referenceDataService.snapshot()).thenReturn(snapshotWith());
+            categoryService.findOrCreateCategory(categoryRequest);
+
+            // Act
+            Category result = categoryService.findOrCreateCategory(categoryRequest);
+
+            // Assert
+            assertEquals(2L, result.getId());
+            verify(categoryRepository, times(2)).findByNormalizedName(NORMALIZED_NAME);
+        }
+
+        /**
+         * Test: Altas y bajas confirmadas actualizan el índice
+         */
+        @Test
+        @DisplayName("onCategoryChanged() → Alta entra en el índice; baja sale")
+        void whenCategoryChanged_thenIndexFollows() {
+            // Arrange
+            when(referenceDataService.snapshot()).thenReturn(snapshotWith(
+                    new CategoryResponseDto(CATEGORY_ID, CATEGORY_NAME, CATEGORY_DESCRIPTION)));
+            when(categoryRepository.findByNormalizedName(NORMALIZED_NAME))
                     .thenReturn(Optional.of(existingCategory));
 
             // Act
+            categoryService.onCategoryChanged(CategoryChangedEvent.saved(CATEGORY_ID, "Pízzas"));
+            Category cached = categoryService.findOrCreateCategory(categoryRequest);
+            categoryService.onCategoryChanged(CategoryChangedEvent.deleted(CATEGORY_ID));
             categoryService.findOrCreateCategory(categoryRequest);
 
-            // Verify - save() NO debe llamarse si existe
-            verify(categoryRepository, never()).save(any(Category.class));
+            // Assert
+            assertEquals(CATEGORY_ID, cached.getId());
+            verify(categoryRepository, times(1)).findByNormalizedName(NORMALIZED_NAME);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,224 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.FacetedSearchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.index.ProductFacet;
+import com.c24_39_t_webapp.restaurants.index.RestaurantFacet;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.FacetServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para FacetServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: Repositories mockeados (carga inicial y lectura de la página)
+ * - @InjectMocks: FacetServiceImpl inyecta los mocks
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Filtro de productos por cocina heredada del restaurante, tramo de precio y estado
+ * ✅ Página leída con una sola consulta IN y devuelta en orden de ID
+ * ✅ Restaurantes por categoría de sus productos activos
+ * ✅ Sincronización con eventos de producto y restaurante
+ * ✅ Los lotes de la desactivación de un restaurante dado de baja no vuelven a indexar sus productos
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FacetServiceImpl - Unit Tests")
+class FacetServiceUnitTests {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @InjectMocks
+    private FacetServiceImpl facetService;
+
+    @BeforeEach
+    void setUp() {
+        when(restaurantRepository.findAllRestaurantDtos()).thenReturn(List.of(
+                restaurant(10L, 1L),
+                restaurant(20L, 2L)
+        ));
+        when(productRepository.findAllProductDtos()).thenReturn(List.of(
+                product(1L, 10L, 100L, "8.50", true),
+                product(2L, 10L, 200L, "15.00", true),
+                product(3L, 20L, 100L, "9.00", true),
+                product(4L, 20L, 200L, "12.00", false)
+        ));
+        facetService.rebuildIndex();
+    }
+
+    @Nested
+    @DisplayName("Búsqueda de productos")
+    class ProductSearch {
+
+        @Test
+        @DisplayName("searchProducts() - Filtra por cocina del restaurante y devuelve recuentos")
+        void whenFilterByCuisine_thenProductsOfThatCuisine() {
+            // Arrange
+            when(productRepository.findProductDtosByIds(anyCollection())).thenAnswer(inv -> {
+                Collection<Long> ids = inv.getArgument(0);
+                // Orden inverso a propósito: el servicio debe reordenar por ID
+                return ids.stream().sorted((a, b) -> Long.compare(b, a))
+                        .map(id -> product(id, 10L, 100L, "8.50", true)).toList();
+            });
+
+            // Act
+            FacetedSearchResponseDto<ProductResponseDto> result = facetService.searchProducts(
+                    Map.of(ProductFacet.CUISINE, List.of("1")), null, null);
+
+            // Assert
+            assertEquals(2, result.total());
+            assertEquals(List.of(1L, 2L), result.items().stream().map(ProductResponseDto::prd_id).toList());
+            assertEquals(Map.of("1", 2, "2", 2), result.facets().get("cuisine"));
+            assertEquals(Map.of("0-10", 1, "10-20", 1), result.facets().get("priceBand"));
+            verify(productRepository, times(1)).findProductDtosByIds(List.of(1L, 2L));
+        }
+
+        @Test
+        @DisplayName("searchProducts() - Sin resultados no consulta la base de datos")
+        void whenNoMatches_thenNoQuery() {
+            // Act
+            FacetedSearchResponseDto<ProductResponseDto> result = facetService.searchProducts(
+                    Map.of(ProductFacet.PRICE_BAND, List.of("30+")), 0, 10);
+
+            // Assert
+            assertEquals(0, result.total());
+            assertTrue(result.items().isEmpty());
+            verify(productRepository, never()).findProductDtosByIds(anyCollection());
+        }
+
+        @Test
+        @DisplayName("searchProducts() - Acota offset y límite")
+        void whenPagingOutOfRange_thenClamped() {
+            // Act
+            FacetedSearchResponseDto<ProductResponseDto> result = facetService.searchProducts(
+                    Map.of(ProductFacet.ACTIVE, List.of("false")), -5, 1000);
+
+            // Assert
+            assertEquals(0, result.offset());
+            assertEquals(100, result.limit());
+        }
+    }
+
+    @Nested
+    @DisplayName("Búsqueda de restaurantes")
+    class RestaurantSearch {
+
+        @Test
+        @DisplayName("searchRestaurants() - Categoría derivada de productos activos")
+        void whenFilterByCategory_thenRestaurantsWithActiveProducts() {
+            // Act
+            FacetedSearchResponseDto<RestaurantResponseDto> result = facetService.searchRestaurants(
+                    Map.of(RestaurantFacet.CATEGORY, List.of("200")), 0, 10);
+
+            // Assert: el producto 4 (categoría 200 del restaurante 20) está inactivo
+            assertEquals(1, result.total());
+            assertEquals(Map.of("100", 2, "200", 1), result.facets().get("category"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sincronización con eventos")
+    class Events {
+
+        @Test
+        @DisplayName("onProductChanged() - Activar un producto actualiza productos y restaurantes")
+        void whenProductActivated_thenBothIndexesUpdated() {
+            // Act
+            facetService.onProductChanged(ProductChangedEvent.saved(product(4L, 20L, 200L, "12.00", true)));
+
+            // Assert
+            assertEquals(4, facetService.searchProducts(Map.of(ProductFacet.ACTIVE, List.of("true")), 0, 1).total());
+            assertEquals(2, facetService.searchRestaurants(Map.of(RestaurantFacet.CATEGORY, List.of("200")), 0, 1).total());
+        }
+
+        @Test
+        @DisplayName("onProductChanged() - Eliminar un producto lo quita de los recuentos")
+        void whenProductDeleted_thenRemoved() {
+            // Act
+            facetService.onProductChanged(ProductChangedEvent.deleted(3L, 20L));
+
+            // Assert
+            assertEquals(3, facetService.searchProducts(Map.of(), 0, 1).total());
+            assertEquals(Map.of("100", 1, "200", 1),
+                    facetService.searchRestaurants(Map.of(), 0, 1).facets().get("category"));
+        }
+
+        @Test
+        @DisplayName("onRestaurantChanged() - Cambiar la cocina reindexa sus productos")
+        void whenCuisineChanged_thenProductsFollow() {
+            // Act
+            facetService.onRestaurantChanged(RestaurantChangedEvent.saved(restaurant(10L, 2L)));
+
+            // Assert
+            assertEquals(4, facetService.searchProducts(Map.of(ProductFacet.CUISINE, List.of("2")), 0, 1).total());
+            assertEquals(2, facetService.searchRestaurants(Map.of(RestaurantFacet.CUISINE, List.of("2")), 0, 1).total());
+        }
+
+        @Test
+        @DisplayName("onRestaurantChanged() - Eliminar un restaurante elimina sus productos")
+        void whenRestaurantDeleted_thenProductsRemoved() {
+            // Act
+            facetService.onRestaurantChanged(RestaurantChangedEvent.deleted(20L));
+
+            // Assert
+            assertEquals(2, facetService.searchProducts(Map.of(), 0, 1).total());
+            assertEquals(1, facetService.searchRestaurants(Map.of(), 0, 1).total());
+        }
+
+        @Test
+        @DisplayName("onProductsBulkChanged() - El lote de desactivación tras la baja no reindexa sus productos")
+        void whenDeactivationChunkAfterRestaurantDeleted_thenProductsStayOut() {
+            // Arrange
+            facetService.onRestaurantChanged(RestaurantChangedEvent.deleted(20L));
+
+            // Act
+            facetService.onProductsBulkChanged(new ProductsBulkChangedEvent(20L, List.of(
+                    product(3L, 20L, 100L, "9.00", false),
+                    product(4L, 20L, 200L, "12.00", false))));
+
+            // Assert
+            FacetedSearchResponseDto<ProductResponseDto> result = facetService.searchProducts(Map.of(), 0, 1);
+            assertEquals(2, result.total());
+            assertEquals(Map.of("true", 2), result.facets().get("active"));
+            assertEquals(Map.of("10", 2), result.facets().get("restaurant"));
+            assertEquals(1, facetService.searchRestaurants(Map.of(), 0, 1).total());
+        }
+    }
+
+    private static ProductResponseDto product(Long id, Long restaurantId, Long categoryId, String price, boolean active) {
+        return new ProductResponseDto(id, restaurantId, categoryId, "Producto " + id, "Descripción",
+                new BigDecimal(price), "imagen.jpg", active, 10, "Categoría " + categoryId, "Restaurante " + restaurantId);
+    }
+
+    private static RestaurantResponseDto restaurant(Long id, Long cuisineId) {
+        return new RestaurantResponseDto(id, 1L, "Restaurante " + id, "Descripción", "600000000",
+                "info@restaurante.com", "Calle Mayor 1", "12:00-23:00", "logo.png", "cover.png",
+                cuisineId, "Cocina " + cuisineId, null, null);
+    }
+}
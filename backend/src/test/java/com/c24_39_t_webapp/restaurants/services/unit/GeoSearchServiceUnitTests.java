@@ -0,0 +1,170 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.NearbyRestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.impl.GeoSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para GeoSearchServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: RestaurantRepository mockeado (carga inicial y lectura de los resultados)
+ * - @Mock: IOpeningHoursService mockeado (filtro de horario; sin stub no filtra)
+ * - @InjectMocks: GeoSearchServiceImpl inyecta el mock
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Restaurantes más cercanos ordenados por distancia, leídos con una sola consulta IN
+ * ✅ Filtro por radio, por tipo de cocina y por horario; restaurantes sin coordenadas excluidos
+ * ✅ Sincronización con eventos de restaurante (alta, traslado y baja)
+ * ✅ Validación de coordenadas y radio
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GeoSearchServiceImpl - Unit Tests")
+class GeoSearchServiceUnitTests {
+
+    private static final double SOL_LAT = 40.4169;
+    private static final double SOL_LNG = -3.7035;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private IOpeningHoursService openingHoursService;
+
+    @InjectMocks
+    private GeoSearchServiceImpl geoSearchService;
+
+    @BeforeEach
+    void setUp() {
+        when(restaurantRepository.findAllRestaurantDtos()).thenReturn(List.of(
+                restaurant(1L, 1L, 40.4530, -3.6883),   // ~4,2 km
+                restaurant(2L, 2L, 40.4154, -3.6846),   // ~1,6 km
+                restaurant(3L, 1L, 40.4893, -3.5680),   // ~14 km
+                restaurant(4L, 1L, null, null)          // sin coordenadas
+        ));
+        lenient().when(restaurantRepository.findRestaurantDtosByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            // La consulta IN no garantiza orden
+            return ids.stream().sorted().map(id -> restaurant(id, 1L, 0.0, 0.0)).toList();
+        });
+        geoSearchService.rebuildIndex();
+    }
+
+    @Nested
+    @DisplayName("findNearby()")
+    class FindNearby {
+
+        @Test
+        @DisplayName("findNearby() - Sin radio devuelve los más cercanos, por distancia, con una sola consulta IN")
+        void whenNoRadius_thenNearestSortedByDistance() {
+            // Act
+            List<NearbyRestaurantResponseDto> result = geoSearchService.findNearby(SOL_LAT, SOL_LNG, null, 2, null, null, null);
+
+            // Assert
+            assertEquals(List.of(2L, 1L), ids(result));
+            assertEquals(1.6, result.get(0).distanceKm(), 0.1);
+            assertTrue(result.get(0).distanceKm() < result.get(1).distanceKm());
+
+            // Verify
+            verify(restaurantRepository, times(1)).findRestaurantDtosByIds(List.of(2L, 1L));
+        }
+
+        @Test
+        @DisplayName("findNearby() - Filtra por radio y por tipo de cocina")
+        void whenRadiusAndCuisine_thenFiltered() {
+            // Act & Assert
+            assertEquals(List.of(2L, 1L), ids(geoSearchService.findNearby(SOL_LAT, SOL_LNG, 5.0, null, null, null, null)));
+            assertEquals(List.of(1L, 3L), ids(geoSearchService.findNearby(SOL_LAT, SOL_LNG, null, null, 1L, null, null)));
+        }
+
+        @Test
+        @DisplayName("findNearby() - Con openAt solo devuelve los restaurantes abiertos en ese momento")
+        void whenOpenAt_thenOnlyOpenRestaurants() {
+            // Arrange
+            LocalDateTime openAt = LocalDateTime.of(2026, 10, 16, 21, 30);
+            when(openingHoursService.openFilter(null, openAt)).thenReturn(Optional.of(id -> id == 1L || id == 3L));
+
+            // Act
+            List<NearbyRestaurantResponseDto> result =
+                    geoSearchService.findNearby(SOL_LAT, SOL_LNG, null, null, null, null, openAt);
+
+            // Assert
+            assertEquals(List.of(1L, 3L), ids(result), "El restaurante 2, más cercano pero cerrado, no aparece");
+        }
+
+        @Test
+        @DisplayName("findNearby() - Sin resultados no consulta la base de datos")
+        void whenNothingNearby_thenNoQuery() {
+            // Act
+            List<NearbyRestaurantResponseDto> result = geoSearchService.findNearby(0.0, 0.0, null, null, null, null, null);
+
+            // Assert
+            assertTrue(result.isEmpty());
+            verify(restaurantRepository, never()).findRestaurantDtosByIds(anyCollection());
+        }
+
+        @Test
+        @DisplayName("findNearby() - Lanza BadRequestException sin coordenadas, fuera de rango o con radio inválido")
+        void whenInvalidParameters_thenThrowsBadRequest() {
+            // Act & Assert
+            assertThrows(BadRequestException.class,
+                    () -> geoSearchService.findNearby(null, SOL_LNG, null, null, null, null, null));
+            assertThrows(BadRequestException.class,
+                    () -> geoSearchService.findNearby(91.0, SOL_LNG, null, null, null, null, null));
+            assertThrows(BadRequestException.class,
+                    () -> geoSearchService.findNearby(SOL_LAT, SOL_LNG, 0.0, null, null, null, null));
+            assertThrows(BadRequestException.class,
+                    () -> geoSearchService.findNearby(SOL_LAT, SOL_LNG, 500.0, null, null, null, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sincronización con eventos")
+    class Events {
+
+        @Test
+        @DisplayName("onRestaurantChanged() - Indexa altas y traslados, y quita bajas y restaurantes sin coordenadas")
+        void whenRestaurantEvents_thenIndexUpdated() {
+            // Act
+            geoSearchService.onRestaurantChanged(RestaurantChangedEvent.saved(restaurant(5L, 2L, 40.4170, -3.7040)));
+            geoSearchService.onRestaurantChanged(RestaurantChangedEvent.saved(restaurant(1L, 1L, 41.3874, 2.1686)));
+            geoSearchService.onRestaurantChanged(RestaurantChangedEvent.saved(restaurant(2L, 2L, null, null)));
+            geoSearchService.onRestaurantChanged(RestaurantChangedEvent.deleted(3L));
+
+            // Assert
+            assertEquals(List.of(5L), ids(geoSearchService.findNearby(SOL_LAT, SOL_LNG, null, null, null, null, null)));
+        }
+    }
+
+    private static List<Long> ids(List<NearbyRestaurantResponseDto> result) {
+        return result.stream().map(r -> r.restaurant().rst_id()).toList();
+    }
+
+    private static RestaurantResponseDto restaurant(Long id, Long cuisineId, Double latitude, Double longitude) {
+        return new RestaurantResponseDto(id, 1L, "Restaurante " + id, "Descripción", "600000000",
+                "info@restaurante.com", "Calle Mayor 1", "12:00-23:00", "logo.png", "cover.png",
+                cuisineId, "Cocina " + cuisineId, latitude, longitude);
+    }
+}
@@ -0,0 +1,257 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ValueCountProjection;
+import com.c24_39_t_webapp.restaurants.dtos.response.ImageUploadResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.PayloadTooLargeException;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.ImageServiceImpl;
+import com.c24_39_t_webapp.restaurants.storage.ImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit Tests para ImageServiceImpl (con el almacén real sobre un directorio temporal)
+ * <p>
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Subida: guarda el original y genera las variantes reducidas
+ * ✅ Subida: el mismo contenido se deduplica por hash
+ * ✅ Subida: rechaza ficheros vacíos, demasiado grandes o que no son imágenes
+ * ✅ Consulta: solo resuelve variantes conocidas de hashes válidos
+ * ✅ Barrido: borra las huérfanas antiguas y conserva las referenciadas y las recientes
+ * ✅ Barrido: vuelve a contar las referencias antes de borrar (asignada durante el barrido)
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageServiceImpl - Unit Tests")
+class ImageServiceUnitTests {
+
+    private static final long MAX_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path storeDir;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private ImageServiceImpl imageService;
+
+    @BeforeEach
+    void setUp() {
+        imageService = new ImageServiceImpl(productRepository, restaurantRepository, storeDir, MAX_BYTES,
+                Duration.ofHours(1));
+    }
+
+    @Nested
+    @DisplayName("upload()")
+    class Upload {
+
+        @Test
+        @DisplayName("upload() - Guarda el original y genera variantes reducidas")
+        void whenUploadLargeImage_thenStoresOriginalAndResizedVariants() throws IOException {
+            // Arrange
+            byte[] png = png(1000, 500);
+
+            // Act
+            ImageUploadResponseDto result = imageService.upload(png);
+
+            // Assert
+            assertFalse(result.deduplicated(), "La primera subida no es un duplicado");
+            assertEquals("image/png", result.contentType());
+            assertEquals("/api/images/" + result.hash() + "/thumbnail.png", result.urls().get("thumbnail"));
+            ImageStore.StoredFile original = imageService.findFile(result.hash(), "original.png").orElseThrow();
+            assertEquals(png.length, original.length(), "El original se guarda sin modificar");
+            BufferedImage medium = read(imageService.findFile(result.hash(), "medium.png").orElseThrow().path());
+            assertEquals(640, medium.getWidth(), "La variante media se reduce a 640 px");
+            assertEquals(320, medium.getHeight(), "Se mantiene la proporción");
+            BufferedImage thumbnail = read(imageService.findFile(result.hash(), "thumbnail.png").orElseThrow().path());
+            assertEquals(200, thumbnail.getWidth(), "La miniatura se reduce a 200 px");
+        }
+
+        @Test
+        @DisplayName("upload() - Una imagen pequeña no se amplía")
+        void whenUploadSmallImage_thenVariantsAreNotUpscaled() throws IOException {
+            // Arrange
+            byte[] png = png(120, 80);
+
+            // Act
+            ImageUploadResponseDto result = imageService.upload(png);
+
+            // Assert
+            BufferedImage thumbnail = read(imageService.findFile(result.hash(), "thumbnail.png").orElseThrow().path());
+            assertEquals(120, thumbnail.getWidth(), "La miniatura conserva el ancho original");
+        }
+
+        @Test
+        @DisplayName("upload() - El mismo contenido se deduplica")
+        void whenUploadSameContentTwice_thenDeduplicated() throws IOException {
+            // Arrange
+            byte[] png = png(300, 300);
+
+            // Act
+            ImageUploadResponseDto first = imageService.upload(png);
+            ImageUploadResponseDto second = imageService.upload(png.clone());
+
+            // Assert
+            assertEquals(first.hash(), second.hash(), "El hash depende solo del contenido");
+            assertTrue(second.deduplicated(), "La segunda subida reutiliza la imagen");
+            assertEquals(first.urls(), second.urls());
+        }
+
+        @Test
+        @DisplayName("upload() - Rechaza ficheros vacíos o que no son imágenes")
+        void whenNotAnImage_thenThrowsBadRequest() {
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> imageService.upload(new byte[0]));
+            assertThrows(BadRequestException.class, () -> imageService.upload("<svg></svg>".getBytes()));
+            assertTrue(isEmpty(storeDir), "No debe guardarse nada");
+        }
+
+        @Test
+        @DisplayName("upload() - Rechaza ficheros mayores que el máximo")
+        void whenTooLarge_thenThrowsPayloadTooLarge() {
+            // Act & Assert
+            assertThrows(PayloadTooLargeException.class, () -> imageService.upload(new byte[(int) MAX_BYTES + 1]));
+        }
+    }
+
+    @Nested
+    @DisplayName("findFile()")
+    class FindFile {
+
+        @Test
+        @DisplayName("findFile() - Nombres desconocidos o hashes inválidos no se resuelven")
+        void whenUnknownNames_thenEmpty() throws IOException {
+            // Arrange
+            String hash = imageService.upload(png(50, 50)).hash();
+
+            // Act & Assert
+            assertTrue(imageService.findFile(hash, "original.jpg").isEmpty(), "Formato distinto del subido");
+            assertTrue(imageService.findFile(hash, "../original.png").isEmpty(), "Variante desconocida");
+            assertTrue(imageService.findFile("../../etc", "original.png").isEmpty(), "Hash inválido");
+            assertTrue(imageService.findFile(hash, "original.png").isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("sweepUnreferenced()")
+    class Sweep {
+
+        @Test
+        @DisplayName("sweepUnreferenced() - Borra solo las huérfanas fuera del periodo de gracia")
+        void whenSweep_thenDeletesOnlyOldUnreferencedImages() throws IOException {
+            // Arrange
+            String referenced = imageService.upload(png(10, 10)).hash();
+            String orphan = imageService.upload(png(20, 20)).hash();
+            String recentOrphan = imageService.upload(png(30, 30)).hash();
+            age(referenced, "original.png");
+            age(orphan, "original.png");
+            when(productRepository.countImagesByUrl(anyString())).thenReturn(List.of(
+                    new ValueCountProjection("http://localhost:8080/api/images/" + referenced + "/medium.png", 2L)));
+            when(restaurantRepository.countLogosByUrl(anyString())).thenReturn(List.of());
+            when(restaurantRepository.countCoverImagesByUrl(anyString())).thenReturn(List.of());
+
+            // Act
+            int deleted = imageService.sweepUnreferenced();
+
+            // Assert
+            assertEquals(1, deleted, "Solo se borra la huérfana antigua");
+            assertTrue(imageService.findFile(orphan, "original.png").isEmpty());
+            assertTrue(imageService.findFile(orphan, "thumbnail.png").isEmpty(), "Se borran también las variantes");
+            assertTrue(imageService.findFile(referenced, "original.png").isPresent());
+            assertTrue(imageService.findFile(recentOrphan, "original.png").isPresent(), "Periodo de gracia");
+        }
+
+        @Test
+        @DisplayName("sweepUnreferenced() - Una re-subida renueva el periodo de gracia")
+        void whenOrphanUploadedAgain_thenNotDeleted() throws IOException {
+            // Arrange
+            byte[] png = png(40, 40);
+            String hash = imageService.upload(png).hash();
+            age(hash, "original.png");
+            imageService.upload(png);
+            when(productRepository.countImagesByUrl(anyString())).thenReturn(List.of());
+            when(restaurantRepository.countLogosByUrl(anyString())).thenReturn(List.of());
+            when(restaurantRepository.countCoverImagesByUrl(anyString())).thenReturn(List.of());
+
+            // Act
+            int deleted = imageService.sweepUnreferenced();
+
+            // Assert
+            assertEquals(0, deleted);
+            assertTrue(imageService.findFile(hash, "original.png").isPresent());
+        }
+
+        @Test
+        @DisplayName("sweepUnreferenced() - Una imagen asignada después del recuento no se borra")
+        void whenReferencedAfterCount_thenNotDeleted() throws IOException {
+            // Arrange
+            String hash = imageService.upload(png(50, 50)).hash();
+            age(hash, "original.png");
+            when(productRepository.countImagesByUrl(anyString())).thenReturn(List.of());
+            when(restaurantRepository.countLogosByUrl(anyString())).thenReturn(List.of());
+            when(restaurantRepository.countCoverImagesByUrl(anyString())).thenReturn(List.of());
+            // Un producto empieza a usarla entre el recuento agregado y el borrado
+            when(productRepository.countImageReferences("/api/images/" + hash + "/")).thenReturn(1L);
+
+            // Act
+            int deleted = imageService.sweepUnreferenced();
+
+            // Assert
+            assertEquals(0, deleted, "Se vuelve a contar con el lock del hash antes de borrar");
+            assertTrue(imageService.findFile(hash, "original.png").isPresent());
+        }
+    }
+
+    private void age(String hash, String fileName) throws IOException {
+        Path original = imageService.findFile(hash, fileName).orElseThrow().path();
+        Files.setLastModifiedTime(original, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        // Contenido distinto por tamaño para que cada imagen tenga su propio hash
+        image.setRGB(0, 0, width * 31 + height);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private static BufferedImage read(Path path) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(Files.readAllBytes(path)));
+    }
+
+    private static boolean isEmpty(Path dir) {
+        try (var entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
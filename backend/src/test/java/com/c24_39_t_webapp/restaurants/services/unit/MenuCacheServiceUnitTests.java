@@ -0,0 +1,183 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.cache.CachedMenu;
+import com.c24_39_t_webapp.restaurants.dtos.response.GroupedProductsResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.factories.ProductFactory;
+import com.c24_39_t_webapp.restaurants.services.IProductService;
+import com.c24_39_t_webapp.restaurants.services.impl.MenuCacheServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para MenuCacheServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: IProductService mockeado (la carga real de la carta)
+ * - ObjectMapper real para comprobar el JSON y el ETag
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Un acierto no vuelve a consultar el servicio
+ * ✅ ETag fuerte y estable para el mismo contenido
+ * ✅ Invalidación por producto, restaurante y categoría
+ * ✅ Una carga iniciada antes de una invalidación no se guarda
+ * ✅ Comparación de If-None-Match
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MenuCacheServiceImpl - Unit Tests")
+class MenuCacheServiceUnitTests {
+
+    private static final long RESTAURANT_ID = 1L;
+
+    @Mock
+    private IProductService productService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MenuCacheServiceImpl menuCacheService;
+    private List<GroupedProductsResponseDto> groups;
+
+    @BeforeEach
+    void setUp() {
+        menuCacheService = new MenuCacheServiceImpl(productService, objectMapper, 100);
+        groups = ProductFactory.groupedProductsDefault();
+    }
+
+    @Nested
+    @DisplayName("Carga y aciertos")
+    class LoadAndHit {
+
+        @Test
+        @DisplayName("getMenu() - La segunda lectura sale de la caché")
+        void whenMenuRequestedTwice_thenLoadedOnce() throws Exception {
+            // Arrange
+            when(productService.findProductsByRestaurantIdAndCategory(RESTAURANT_ID)).thenReturn(groups);
+
+            // Act
+            CachedMenu first = menuCacheService.getMenu(RESTAURANT_ID);
+            CachedMenu second = menuCacheService.getMenu(RESTAURANT_ID);
+
+            // Assert
+            assertSame(first, second);
+            assertArrayEquals(objectMapper.writeValueAsBytes(groups), first.body());
+            assertTrue(first.etag().matches("\"[0-9a-f]{32}\""));
+            assertEquals(menuCacheService.getIfCached(RESTAURANT_ID).orElseThrow(), first);
+            verify(productService, times(1)).findProductsByRestaurantIdAndCategory(RESTAURANT_ID);
+        }
+
+        @Test
+        @DisplayName("getMenu() - El mismo contenido produce el mismo ETag")
+        void whenSameContentReloaded_thenSameEtag() {
+            // Arrange
+            when(productService.findProductsByRestaurantIdAndCategory(RESTAURANT_ID)).thenReturn(groups);
+            String etag = menuCacheService.getMenu(RESTAURANT_ID).etag();
+
+            // Act
+            menuCacheService.invalidate(RESTAURANT_ID);
+            String reloaded = menuCacheService.getMenu(RESTAURANT_ID).etag();
+
+            // Assert
+            assertEquals(etag, reloaded);
+            verify(productService, times(2)).findProductsByRestaurantIdAndCategory(RESTAURANT_ID);
+        }
+
+        @Test
+        @DisplayName("getMenu() - No guarda una carga que empezó antes de una invalidación")
+        void whenInvalidatedDuringLoad_thenStaleMenuNotCached() {
+            // Arrange: el commit (y su invalidación) ocurre mientras se está leyendo la carta
+            when(productService.findProductsByRestaurantIdAndCategory(RESTAURANT_ID)).thenAnswer(inv -> {
+                menuCacheService.onProductChanged(ProductChangedEvent.deleted(99L, RESTAURANT_ID));
+                return groups;
+            });
+
+            // Act
+            CachedMenu loaded = menuCacheService.getMenu(RESTAURANT_ID);
+
+            // Assert
+            assertNotNull(loaded);
+            assertTrue(menuCacheService.getIfCached(RESTAURANT_ID).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidación")
+    class Invalidation {
+
+        @BeforeEach
+        void loadMenus() {
+            when(productService.findProductsByRestaurantIdAndCategory(RESTAURANT_ID)).thenReturn(groups);
+            when(productService.findProductsByRestaurantIdAndCategory(2L)).thenReturn(Collections.emptyList());
+            menuCacheService.getMenu(RESTAURANT_ID);
+            menuCacheService.getMenu(2L);
+        }
+
+        @Test
+        @DisplayName("onProductChanged() - Solo invalida el restaurante del producto")
+        void whenProductChanged_thenOnlyThatRestaurantInvalidated() {
+            // Act
+            menuCacheService.onProductChanged(ProductChangedEvent.deleted(5L, RESTAURANT_ID));
+
+            // Assert
+            assertTrue(menuCacheService.getIfCached(RESTAURANT_ID).isEmpty());
+            assertTrue(menuCacheService.getIfCached(2L).isPresent());
+        }
+
+        @Test
+        @DisplayName("onRestaurantChanged() - Invalida la carta del restaurante")
+        void whenRestaurantChanged_thenInvalidated() {
+            // Act
+            menuCacheService.onRestaurantChanged(RestaurantChangedEvent.deleted(2L));
+
+            // Assert
+            assertTrue(menuCacheService.getIfCached(2L).isEmpty());
+            assertTrue(menuCacheService.getIfCached(RESTAURANT_ID).isPresent());
+        }
+
+        @Test
+        @DisplayName("onCategoryChanged() - Invalida solo las cartas que contienen la categoría")
+        void whenCategoryChanged_thenMenusWithCategoryInvalidated() {
+            // Act
+            Long categoryId = groups.getFirst().categoryId();
+            menuCacheService.onCategoryChanged(CategoryChangedEvent.deleted(categoryId));
+
+            // Assert
+            assertTrue(menuCacheService.getIfCached(RESTAURANT_ID).isEmpty());
+            assertTrue(menuCacheService.getIfCached(2L).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("CachedMenu.matches()")
+    class IfNoneMatch {
+
+        @Test
+        @DisplayName("matches() - Acepta listas, comodín y ETags débiles")
+        void whenIfNoneMatchVariants_thenComparedCorrectly() {
+            // Arrange
+            CachedMenu menu = new CachedMenu(RESTAURANT_ID, "\"abc\"", new byte[0], Set.of());
+
+            // Act & Assert
+            assertTrue(menu.matches("\"abc\""));
+            assertTrue(menu.matches("\"xyz\", \"abc\""));
+            assertTrue(menu.matches("W/\"abc\""));
+            assertTrue(menu.matches("*"));
+            assertFalse(menu.matches("\"xyz\""));
+            assertFalse(menu.matches(null));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.OpeningIntervalRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.OpeningHoursServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para OpeningHoursServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: RestaurantRepository mockeado (carga inicial, eventos y consulta del horario)
+ * - El servicio se construye a mano con la zona horaria de Madrid
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Filtro "abierto en" sobre el índice, sin consultar la base de datos
+ * ✅ Sin openNow ni openAt no hay filtro
+ * ✅ Horario estructurado con prioridad sobre el texto libre, que es el respaldo
+ * ✅ Sincronización con eventos de restaurante (alta, cambio de horario y baja)
+ * ✅ Consulta del horario de un restaurante, ordenado; restaurante inexistente
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OpeningHoursServiceImpl - Unit Tests")
+class OpeningHoursServiceUnitTests {
+
+    // Viernes 16/10/2026
+    private static final LocalDateTime FRIDAY_LUNCH = LocalDateTime.of(2026, 10, 16, 14, 0);
+    private static final LocalDateTime FRIDAY_LATE = LocalDateTime.of(2026, 10, 16, 23, 30);
+    private static final LocalDateTime SATURDAY_EARLY = LocalDateTime.of(2026, 10, 17, 1, 0);
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private OpeningHoursServiceImpl openingHoursService;
+
+    @BeforeEach
+    void setUp() {
+        openingHoursService = new OpeningHoursServiceImpl(restaurantRepository, "Europe/Madrid");
+        when(restaurantRepository.findAllRestaurantDtos()).thenReturn(List.of(
+                restaurant(1L, "Todos los días 13-16 h"),
+                restaurant(2L, "13-16 h"),                 // texto ignorado: tiene horario estructurado
+                restaurant(3L, null)));                    // sin horario: nunca abierto
+        when(restaurantRepository.findAllOpeningIntervals()).thenReturn(List.of(
+                new OpeningIntervalRow(2L, DayOfWeek.FRIDAY, LocalTime.of(20, 0), LocalTime.of(2, 0))));
+        openingHoursService.rebuildIndex();
+    }
+
+    @Nested
+    @DisplayName("openFilter()")
+    class OpenFilter {
+
+        @Test
+        @DisplayName("openFilter() - openAt: solo los abiertos en ese momento, incluidos los nocturnos de madrugada")
+        void whenOpenAt_thenFiltersByIndex() {
+            // Act
+            LongPredicate lunch = openingHoursService.openFilter(null, FRIDAY_LUNCH).orElseThrow();
+            LongPredicate late = openingHoursService.openFilter(false, FRIDAY_LATE).orElseThrow();
+            LongPredicate early = openingHoursService.openFilter(null, SATURDAY_EARLY).orElseThrow();
+
+            // Assert
+            assertTrue(lunch.test(1L));
+            assertFalse(lunch.test(2L), "El horario estructurado tiene prioridad sobre el texto");
+            assertFalse(lunch.test(3L));
+            assertTrue(late.test(2L));
+            assertTrue(early.test(2L), "Sigue abierto el sábado de madrugada");
+            assertFalse(early.test(1L));
+
+            // Verify
+            verify(restaurantRepository, never()).findOpeningIntervalsByRestaurantId(any());
+        }
+
+        @Test
+        @DisplayName("openFilter() - Sin openNow ni openAt no filtra; con openNow siempre devuelve filtro")
+        void whenNoParameters_thenNoFilter() {
+            // Act & Assert
+            assertTrue(openingHoursService.openFilter(null, null).isEmpty());
+            assertTrue(openingHoursService.openFilter(false, null).isEmpty());
+            assertTrue(openingHoursService.openFilter(true, null).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sincronización con eventos")
+    class Events {
+
+        @Test
+        @DisplayName("onRestaurantChanged() - Recarga el horario guardado del restaurante y quita las bajas")
+        void whenRestaurantEvents_thenIndexUpdated() {
+            // Arrange
+            when(restaurantRepository.findOpeningIntervalsByRestaurantId(3L)).thenReturn(List.of(
+                    new OpeningIntervalRow(3L, DayOfWeek.FRIDAY, LocalTime.of(12, 0), LocalTime.of(15, 0))));
+
+            // Act
+            openingHoursService.onRestaurantChanged(RestaurantChangedEvent.saved(restaurant(3L, null)));
+            openingHoursService.onRestaurantChanged(RestaurantChangedEvent.deleted(1L));
+
+            // Assert
+            LongPredicate lunch = openingHoursService.openFilter(null, FRIDAY_LUNCH).orElseThrow();
+            assertTrue(lunch.test(3L));
+            assertFalse(lunch.test(1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("getSchedule()")
+    class GetSchedule {
+
+        @Test
+        @DisplayName("getSchedule() - Devuelve el horario guardado ordenado por día y hora")
+        void whenStoredSchedule_thenSortedByDayAndTime() {
+            // Arrange
+            when(restaurantRepository.findRestaurantDtosByIds(List.of(2L))).thenReturn(List.of(restaurant(2L, "13-16 h")));
+            when(restaurantRepository.findOpeningIntervalsByRestaurantId(2L)).thenReturn(List.of(
+                    new OpeningIntervalRow(2L, DayOfWeek.FRIDAY, LocalTime.of(20, 0), LocalTime.of(2, 0)),
+                    new OpeningIntervalRow(2L, DayOfWeek.MONDAY, LocalTime.of(20, 0), LocalTime.of(23, 0)),
+                    new OpeningIntervalRow(2L, DayOfWeek.FRIDAY, LocalTime.of(13, 0), LocalTime.of(16, 0))));
+
+            // Act
+            List<OpeningIntervalDto> schedule = openingHoursService.getSchedule(2L);
+
+            // Assert
+            assertEquals(List.of(
+                    new OpeningIntervalDto(DayOfWeek.MONDAY, LocalTime.of(20, 0), LocalTime.of(23, 0)),
+                    new OpeningIntervalDto(DayOfWeek.FRIDAY, LocalTime.of(13, 0), LocalTime.of(16, 0)),
+                    new OpeningIntervalDto(DayOfWeek.FRIDAY, LocalTime.of(20, 0), LocalTime.of(2, 0))), schedule);
+        }
+
+        @Test
+        @DisplayName("getSchedule() - Lanza RestaurantNotFoundException si el restaurante no existe")
+        void whenRestaurantNotFound_thenThrows() {
+            // Arrange
+            when(restaurantRepository.findRestaurantDtosByIds(List.of(99L))).thenReturn(List.of());
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class, () -> openingHoursService.getSchedule(99L));
+            verify(restaurantRepository, never()).findOpeningIntervalsByRestaurantId(99L);
+        }
+    }
+
+    private static RestaurantResponseDto restaurant(Long id, String openingHours) {
+        return new RestaurantResponseDto(id, 1L, "Restaurante " + id, "Descripción", "600000000",
+                "info@restaurante.com", "Calle Mayor 1", openingHours, "logo.png", "cover.png",
+                1L, "Cocina 1", null, null);
+    }
+}
@@ -3,6 +3,7 @@ package com.c24_39_t_webapp.restaurants.services.unit;
 import com.c24_39_t_webapp.restaurants.dtos.request.OrderDetailsRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.OrderRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.OrderResponseDto;
+import com.c24_39_t_webapp.restaurants.events.OrderPlacedEvent;
 import com.c24_39_t_webapp.restaurants.exception.BadOrderRequestException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UserNotFoundException;
@@ -24,6 +25,7 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -71,6 +73,9 @@ class OrderServiceAddUnitTests {
     @Mock
     private OrderDetailsRepository orderDetailsRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.OrderServiceImpl orderService;
 
@@ -150,6 +155,7 @@ class OrderServiceAddUnitTests {
             verify(productRepository, times(1)).findById(PRODUCT_ID);
             verify(orderRepository, times(1)).save(any(Order.class));
             verify(orderDetailsRepository, times(1)).saveAll(any());
+            verify(eventPublisher, times(1)).publishEvent(any(OrderPlacedEvent.class));
         }
     }
 
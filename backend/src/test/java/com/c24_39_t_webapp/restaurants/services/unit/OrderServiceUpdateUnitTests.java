@@ -2,6 +2,7 @@ package com.c24_39_t_webapp.restaurants.services.unit;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.OrderUpdateRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.OrderResponseDto;
+import com.c24_39_t_webapp.restaurants.events.OrderStatusChangedEvent;
 import com.c24_39_t_webapp.restaurants.exception.OrderNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -38,7 +40,8 @@ import static org.mockito.Mockito.*;
  *
  * Cobertura:
  * ✅ Actualizar status de orden
- * ✅ Actualizar comentarios de orden
+ * ✅ Actualizar comentarios de orden (sin cambio de estado, sin evento)
+ * ✅ Pasar a entregado publica OrderStatusChangedEvent
  * ✅ Orden no encontrada → Lanza excepción
  * ✅ Usuario no autorizado → Lanza excepción
  * ✅ ID inválido → Lanza excepción
@@ -57,6 +60,9 @@ class OrderServiceUpdateUnitTests {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.OrderServiceImpl orderService;
 
@@ -165,6 +171,7 @@ class OrderServiceUpdateUnitTests {
 
             // Verify
             verify(orderRepository, times(1)).save(any(Order.class));
+            verifyNoInteractions(eventPublisher);
         }
 
         /**
@@ -197,6 +204,8 @@ class OrderServiceUpdateUnitTests {
 
             // Verify
             verify(orderRepository, times(1)).save(any(Order.class));
+            verify(eventPublisher, times(1)).publishEvent(new OrderStatusChangedEvent(ORDER_ID, RESTAURANT_ID,
+                    order.getClientId().getId(), OrderStatus.pendiente, OrderStatus.entregado));
         }
     }
 
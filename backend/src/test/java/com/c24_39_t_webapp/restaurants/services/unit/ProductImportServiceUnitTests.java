@@ -0,0 +1,344 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.CategoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ImportMode;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductImportResultDto;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ICategoryService;
+import com.c24_39_t_webapp.restaurants.services.impl.ProductImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ProductImportServiceImpl.importProducts()
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - JdbcTemplate y TransactionTemplate mockeados; Validator real (Bean Validation)
+ * - Sin @SpringBootTest, sin BD real
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Éxito: JSON válido → un único batch, categoría resuelta una vez, un evento por producto
+ * ✅ Éxito: más filas que el tamaño de lote → varios batches, fechados de nuevo con un único UPDATE antes del commit
+ * ✅ El fichero se lee y valida entero antes de abrir la transacción
+ * ✅ ATOMIC con fila inválida → sin inserts ni transacción, informe por fila
+ * ✅ PARTIAL con fila inválida → se insertan solo las válidas
+ * ✅ Error: sin permisos sobre el restaurante
+ * ✅ Error: supera el máximo de filas, sin llegar a abrir la transacción
+ */
+@ExtendWith(MockitoExtension.class)
+@Slf4j
+@DisplayName("ProductImportServiceImpl.importProducts() - Unit Tests")
+class ProductImportServiceUnitTests {
+
+    private static final String OWNER_EMAIL = "owner@restaurant.com";
+    private static final long RESTAURANT_ID = 1L;
+    private static final String CSV_HEADER = "name,description,price,image,quantity,categoryName\n";
+
+    private static Validator validator;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ICategoryService categoryService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductImportServiceImpl importService;
+    private SimpleTransactionStatus transactionStatus;
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @BeforeAll
+    static void setUpValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @AfterAll
+    static void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @BeforeEach
+    void setUp() {
+        importService = new ProductImportServiceImpl(restaurantRepository, categoryService, jdbcTemplate,
+                transactionTemplate, validator, new ObjectMapper(), eventPublisher);
+        Restaurant restaurant = EntityModelFactory.restaurant(RESTAURANT_ID,
+                EntityModelFactory.userEntity(1L, OWNER_EMAIL));
+        when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(restaurant));
+        transactionStatus = new SimpleTransactionStatus();
+        // lenient: en ATOMIC con errores o sin permisos no se llega a abrir la transacción
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(transactionStatus);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        setAuthentication(OWNER_EMAIL);
+    }
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases")
+    class SuccessCases {
+
+        /**
+         * Test que verifica que un JSON válido se inserta en un único batch, resolviendo la categoría
+         * compartida una sola vez y publicando un evento por producto con el ID generado.
+         */
+        @Test
+        @DisplayName("JSON válido - Un batch, categoría resuelta una vez y un evento por producto")
+        void whenJsonRowsValid_thenInsertsInOneBatch() {
+            // Arrange
+            stubCategoryAndBatchInsert();
+            String json = """
+                    [{"name":"Pizza","description":"Clásica","price":9.5,"image":"p.jpg","quantity":10,"categoryName":"Pizzas"},
+                     {"name":"Calzone","description":"Cerrada","price":11,"image":"c.jpg","quantity":5,"categoryName":"Pizzas"}]
+                    """;
+
+            // Act
+            ProductImportResultDto result = importService.importProducts(RESTAURANT_ID, stream(json), false, ImportMode.ATOMIC);
+
+            // Assert
+            assertEquals(2, result.totalRows(), "Debe leer 2 filas");
+            assertEquals(2, result.imported(), "Debe importar 2 productos");
+            assertEquals(0, result.failed(), "No debe haber errores");
+            assertEquals(List.of(2), batchSizes, "Debe ejecutarse un único batch de 2 filas");
+            assertFalse(transactionStatus.isRollbackOnly(), "La transacción no debe marcarse para rollback");
+
+            // Verify
+            verify(categoryService, times(1)).findOrCreateCategory(any(CategoryRequestDto.class));
+            ArgumentCaptor<ProductsBulkChangedEvent> events = ArgumentCaptor.forClass(ProductsBulkChangedEvent.class);
+            verify(eventPublisher, times(1)).publishEvent(events.capture());
+            assertEquals(2, events.getValue().products().size(), "Un único evento para todo el lote");
+            assertEquals(100L, events.getValue().products().getFirst().prd_id(), "El evento lleva el ID generado");
+        }
+
+        /**
+         * Test que verifica que las filas se insertan por lotes cuando superan el tamaño de lote.
+         */
+        @Test
+        @DisplayName("CSV grande - Se inserta en varios batches")
+        void whenMoreRowsThanBatchSize_thenInsertsInSeveralBatches() {
+            // Arrange
+            stubCategoryAndBatchInsert();
+            StringBuilder csv = new StringBuilder(CSV_HEADER);
+            for (int i = 0; i < 250; i++) {
+                csv.append("Producto ").append(i).append(",Desc,").append(i).append(",img.jpg,1,Varios\n");
+            }
+
+            // Act
+            ProductImportResultDto result = importService.importProducts(RESTAURANT_ID, stream(csv.toString()), true, ImportMode.ATOMIC);
+
+            // Assert
+            assertEquals(250, result.imported(), "Debe importar las 250 filas");
+            assertEquals(List.of(200, 50), batchSizes, "Debe insertar un lote completo y el resto");
+            verify(categoryService, times(1)).findOrCreateCategory(any(CategoryRequestDto.class));
+            // Todas las filas, de todos los lotes, se vuelven a fechar con un único UPDATE antes del commit
+            verify(jdbcTemplate, times(1)).update(contains("prd_fecha_actualizacion"), any(Timestamp.class),
+                    eq(RESTAURANT_ID), eq(100L), eq(349L));
+        }
+
+        /**
+         * Test que verifica que en modo PARTIAL se insertan las filas válidas y se informa de las inválidas.
+         */
+        @Test
+        @DisplayName("PARTIAL - Inserta las filas válidas e informa de las inválidas")
+        void whenPartialWithInvalidRow_thenInsertsValidRowsOnly() {
+            // Arrange
+            stubCategoryAndBatchInsert();
+            String csv = CSV_HEADER +
+                    "Pizza,Clásica,9.5,p.jpg,10,Pizzas\n" +
+                    "Calzone,Cerrada,caro,c.jpg,5,Pizzas\n";
+
+            // Act
+            ProductImportResultDto result = importService.importProducts(RESTAURANT_ID, stream(csv), true, ImportMode.PARTIAL);
+
+            // Assert
+            assertEquals(1, result.imported(), "Debe importar la fila válida");
+            assertEquals(1, result.failed(), "Debe rechazar la fila inválida");
+            assertEquals(2, result.errors().getFirst().row(), "El error debe indicar la fila 2");
+            assertEquals(List.of(1), batchSizes, "Solo se inserta la fila válida");
+            assertFalse(transactionStatus.isRollbackOnly(), "Las filas válidas se confirman");
+        }
+
+        /**
+         * Test que verifica que la transacción se abre con el fichero ya leído: la subida no retiene una conexión.
+         */
+        @Test
+        @DisplayName("Transacción - Se abre cuando el fichero ya está leído y validado")
+        void whenImporting_thenFileReadBeforeTransaction() {
+            // Arrange
+            stubCategoryAndBatchInsert();
+            StringBuilder csv = new StringBuilder(CSV_HEADER);
+            for (int i = 0; i < 250; i++) {
+                csv.append("Producto ").append(i).append(",Desc,").append(i).append(",img.jpg,1,Varios\n");
+            }
+            ByteArrayInputStream input = new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+            List<Integer> unreadAtTransactionStart = new ArrayList<>();
+            doAnswer(invocation -> {
+                unreadAtTransactionStart.add(input.available());
+                invocation.<Consumer<TransactionStatus>>getArgument(0).accept(transactionStatus);
+                return null;
+            }).when(transactionTemplate).executeWithoutResult(any());
+
+            // Act
+            ProductImportResultDto result = importService.importProducts(RESTAURANT_ID, input, true, ImportMode.ATOMIC);
+
+            // Assert
+            assertEquals(250, result.imported(), "Debe importar las 250 filas");
+            assertEquals(List.of(0), unreadAtTransactionStart, "Una sola transacción, con el fichero ya consumido");
+            assertEquals(List.of(200, 50), batchSizes, "Los inserts siguen agrupados por lotes");
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases")
+    class ErrorCases {
+
+        /**
+         * Test que verifica que en modo ATOMIC una fila inválida impide importar cualquier fila.
+         */
+        @Test
+        @DisplayName("ATOMIC - Una fila inválida deshace toda la importación")
+        void whenAtomicWithInvalidRow_thenNothingIsImported() {
+            // Arrange
+            String json = """
+                    [{"name":"Pizza","description":"Clásica","price":9.5,"image":"p.jpg","quantity":10,"categoryName":"Pizzas"},
+                     {"name":"","description":"Sin nombre","price":-1,"image":"x.jpg","quantity":1,"categoryName":"Pizzas"}]
+                    """;
+
+            // Act
+            ProductImportResultDto result = importService.importProducts(RESTAURANT_ID, stream(json), false, ImportMode.ATOMIC);
+
+            // Assert
+            assertEquals(0, result.imported(), "No debe importar nada");
+            assertEquals(1, result.failed(), "Debe rechazar una fila");
+            assertEquals(2, result.errors().getFirst().row(), "El error debe indicar la fila 2");
+            assertTrue(result.errors().getFirst().message().contains("negativo"), "Debe incluir el error del precio");
+
+            // Verify
+            verify(transactionTemplate, never()).executeWithoutResult(any());
+            verifyNoInteractions(jdbcTemplate, eventPublisher, categoryService);
+        }
+
+        /**
+         * Test que verifica que solo el dueño del restaurante puede importar productos.
+         */
+        @Test
+        @DisplayName("Sin permisos - Lanza UnauthorizedAccessException sin leer el fichero")
+        void whenNotOwner_thenThrowsUnauthorizedAccessException() {
+            // Arrange
+            setAuthentication("otro@restaurant.com");
+
+            // Act & Assert
+            assertThrows(UnauthorizedAccessException.class, () ->
+                    importService.importProducts(RESTAURANT_ID, stream("[]"), false, ImportMode.ATOMIC));
+
+            // Verify
+            verifyNoInteractions(jdbcTemplate, categoryService, transactionTemplate);
+        }
+
+        /**
+         * Test que verifica que una importación que supera el máximo de filas se rechaza.
+         */
+        @Test
+        @DisplayName("Demasiadas filas - Lanza BadRequestException")
+        void whenMoreRowsThanMaximum_thenThrowsBadRequestException() {
+            // Arrange
+            StringBuilder csv = new StringBuilder(CSV_HEADER);
+            for (int i = 0; i <= ProductImportServiceImpl.MAX_ROWS; i++) {
+                csv.append("P").append(i).append(",D,1,i.jpg,1,Varios\n");
+            }
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () ->
+                    importService.importProducts(RESTAURANT_ID, stream(csv.toString()), true, ImportMode.PARTIAL));
+
+            // Verify - El límite salta durante la lectura, antes de abrir la transacción
+            verifyNoInteractions(transactionTemplate, jdbcTemplate);
+        }
+    }
+
+    // ==================== HELPER METHODS ====================
+
+    /**
+     * Simula la categoría y el INSERT por lotes: genera IDs desde 100 y anota el tamaño de cada batch.
+     */
+    private void stubCategoryAndBatchInsert() {
+        when(categoryService.findOrCreateCategory(any())).thenReturn(EntityModelFactory.category(7L, "Pizzas"));
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+            int size = invocation.<BatchPreparedStatementSetter>getArgument(1).getBatchSize();
+            KeyHolder keyHolder = invocation.getArgument(2);
+            long firstId = 100L + batchSizes.stream().mapToInt(Integer::intValue).sum();
+            for (int i = 0; i < size; i++) {
+                keyHolder.getKeyList().add(Map.of("prd_id", firstId + i));
+            }
+            batchSizes.add(size);
+            return new int[size];
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void setAuthentication(String email) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
+        SecurityContextHolder.setContext(context);
+    }
+}
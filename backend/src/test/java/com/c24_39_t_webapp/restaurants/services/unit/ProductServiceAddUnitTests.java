@@ -1,7 +1,9 @@
 package com.c24_39_t_webapp.restaurants.services.unit;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
@@ -14,6 +16,8 @@ import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
 import com.c24_39_t_webapp.restaurants.services.impl.ProductServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +29,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -66,6 +71,15 @@ class ProductServiceAddUnitTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private IReferenceDataService referenceDataService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ISearchCacheService searchCacheService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -110,7 +124,7 @@ class ProductServiceAddUnitTests {
             setAuthentication(OWNER_EMAIL);
 
             when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
-            when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.of(mockCategory));
+            stubCategory(CATEGORY_ID, mockCategory);
 
             Product savedProduct = EntityModelFactory.product(PRODUCT_ID, mockRestaurant, mockCategory);
 
@@ -135,8 +149,9 @@ class ProductServiceAddUnitTests {
 
             // Verify
             verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(referenceDataService, times(1)).findCategory(CATEGORY_ID);
             verify(productRepository, times(1)).save(any(Product.class));
+            verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
         }
 
         /**
@@ -159,7 +174,7 @@ class ProductServiceAddUnitTests {
             setAuthentication(OWNER_EMAIL);
 
             when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
-            when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.of(mockCategory));
+            stubCategory(CATEGORY_ID, mockCategory);
 
             ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
             Product savedProduct = new Product();
@@ -206,7 +221,7 @@ class ProductServiceAddUnitTests {
 
             // Verify
             verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
-            verify(categoryRepository, never()).findById(any());
+            verify(referenceDataService, never()).findCategory(any());
             verify(productRepository, never()).save(any());
         }
 
@@ -222,7 +237,7 @@ class ProductServiceAddUnitTests {
             setAuthentication(OWNER_EMAIL);
 
             when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
-            when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.empty());
+            when(referenceDataService.findCategory(CATEGORY_ID)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(CategoryNotFoundException.class,
@@ -231,7 +246,7 @@ class ProductServiceAddUnitTests {
 
             // Verify
             verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(referenceDataService, times(1)).findCategory(CATEGORY_ID);
             verify(productRepository, never()).save(any());
         }
 
@@ -247,7 +262,7 @@ class ProductServiceAddUnitTests {
             setAuthentication("other@restaurant.com");  // Email diferente
 
             when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
-            when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.of(mockCategory));
+            stubCategory(CATEGORY_ID, mockCategory);
 
             // Act & Assert
             assertThrows(UnauthorizedAccessException.class,
@@ -256,7 +271,7 @@ class ProductServiceAddUnitTests {
 
             // Verify
             verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(referenceDataService, times(1)).findCategory(CATEGORY_ID);
             verify(productRepository, never()).save(any());
         }
 
@@ -274,14 +289,14 @@ class ProductServiceAddUnitTests {
             setAuthentication(OWNER_EMAIL);
 
             when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.empty());
-            // No configurar categoryRepository, no debe llamarse
+            // No configurar la categoría, no debe buscarse
 
             // Act & Assert
             assertThrows(RestaurantNotFoundException.class,
                     () -> productService.addProduct(dto));
 
-            // Verify que categoryRepository NUNCA se llamó
-            verify(categoryRepository, never()).findById(any());
+            // Verify que la categoría NUNCA se buscó
+            verify(referenceDataService, never()).findCategory(any());
         }
     }
 
@@ -292,4 +307,13 @@ class ProductServiceAddUnitTests {
         context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
         SecurityContextHolder.setContext(context);
     }
-}
\ No newline at end of file
+
+    /**
+     * La categoría se valida contra los datos de referencia en memoria; el producto recibe la referencia JPA.
+     */
+    private void stubCategory(Long categoryId, Category category) {
+        when(referenceDataService.findCategory(categoryId)).thenReturn(Optional.of(
+                new CategoryResponseDto(category.getId(), category.getName(), category.getDescription())));
+        lenient().when(categoryRepository.getReferenceById(category.getId())).thenReturn(category);
+    }
+}
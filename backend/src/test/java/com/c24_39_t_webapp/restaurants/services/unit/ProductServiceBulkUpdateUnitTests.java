@@ -0,0 +1,289 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductBulkUpdateRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductBulkUpdateResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
+import com.c24_39_t_webapp.restaurants.services.impl.ProductServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ProductServiceImpl.bulkUpdateProducts()
+ * <p>
+ * Cobertura:
+ * ✅ Éxito: Un único UPDATE por conjunto y un único evento para el restaurante
+ * ✅ Éxito: El porcentaje se convierte en un multiplicador del precio
+ * ✅ Éxito: IDs de otros restaurantes se informan como no encontrados
+ * ✅ Error: Precio y porcentaje a la vez / ningún cambio → 400
+ * ✅ Error: Restaurante no encontrado
+ * ✅ Error: Restaurante dado de baja
+ * ✅ Error: Sin permisos (una sola comprobación, sin tocar productos)
+ */
+@ExtendWith(MockitoExtension.class)
+@Slf4j
+@DisplayName("ProductServiceImpl.bulkUpdateProducts() - Unit Tests")
+class ProductServiceBulkUpdateUnitTests {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ISearchCacheService searchCacheService;
+
+    @InjectMocks
+    private ProductServiceImpl productService;
+
+    private static final String OWNER_EMAIL = "owner@restaurant.com";
+    private static final long RESTAURANT_ID = 1L;
+
+    private Restaurant mockRestaurant;
+
+    @BeforeEach
+    void setUp() {
+        mockRestaurant = EntityModelFactory.restaurant(RESTAURANT_ID, EntityModelFactory.userEntity(1L, OWNER_EMAIL));
+    }
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases")
+    class SuccessCases {
+
+        /**
+         * Test que verifica que todos los productos se actualizan con un único UPDATE
+         * y que se publica un solo evento para todo el lote.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - Un UPDATE y un evento para todo el lote")
+        void whenBulkUpdate_thenSingleUpdateAndSingleEvent() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
+            when(productRepository.bulkUpdate(eq(RESTAURANT_ID), anyCollection(), any())).thenReturn(2);
+            when(productRepository.findProductDtosByRestaurantIdAndIds(eq(RESTAURANT_ID), anyCollection()))
+                    .thenReturn(List.of(productDto(10L), productDto(11L)));
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L, 11L), null, null, 0, false);
+
+            // Act
+            ProductBulkUpdateResultDto result = productService.bulkUpdateProducts(RESTAURANT_ID, request);
+
+            // Assert
+            assertEquals(2, result.updated(), "Debe informar 2 productos actualizados");
+            assertTrue(result.notFound().isEmpty(), "No debe haber IDs sin actualizar");
+            assertEquals(2, result.products().size(), "Debe devolver los productos actualizados");
+
+            // Verify
+            ArgumentCaptor<ProductRepositoryCustom.BulkChange> change =
+                    ArgumentCaptor.forClass(ProductRepositoryCustom.BulkChange.class);
+            verify(productRepository, times(1)).bulkUpdate(eq(RESTAURANT_ID), anyCollection(), change.capture());
+            assertEquals(0, change.getValue().quantity(), "La cantidad se fija a 0");
+            assertEquals(Boolean.FALSE, change.getValue().isActive(), "Los productos se desactivan");
+            assertNull(change.getValue().price(), "El precio no se modifica");
+            assertNotNull(change.getValue().updatedAt(), "La fecha de actualización se fija explícitamente");
+            verify(productRepository, never()).findById(anyLong());
+            verify(productRepository, never()).save(any());
+            ArgumentCaptor<ProductsBulkChangedEvent> event = ArgumentCaptor.forClass(ProductsBulkChangedEvent.class);
+            verify(eventPublisher, times(1)).publishEvent(event.capture());
+            assertEquals(RESTAURANT_ID, event.getValue().restaurantId());
+            assertEquals(2, event.getValue().products().size());
+        }
+
+        /**
+         * Test que verifica que un porcentaje de -10 se traduce en un multiplicador 0.90 que
+         * se aplica en la base de datos.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - El porcentaje se aplica como multiplicador")
+        void whenPriceChangePercent_thenPassesPriceFactor() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
+            when(productRepository.bulkUpdate(eq(RESTAURANT_ID), anyCollection(), any())).thenReturn(1);
+            when(productRepository.findProductDtosByRestaurantIdAndIds(eq(RESTAURANT_ID), anyCollection()))
+                    .thenReturn(List.of(productDto(10L)));
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L), null, new BigDecimal("-10"), null, null);
+
+            // Act
+            productService.bulkUpdateProducts(RESTAURANT_ID, request);
+
+            // Assert
+            ArgumentCaptor<ProductRepositoryCustom.BulkChange> change =
+                    ArgumentCaptor.forClass(ProductRepositoryCustom.BulkChange.class);
+            verify(productRepository).bulkUpdate(eq(RESTAURANT_ID), anyCollection(), change.capture());
+            assertEquals(0, new BigDecimal("0.90").compareTo(change.getValue().priceFactor()),
+                    "Un -10 % equivale a multiplicar por 0.90");
+            assertNull(change.getValue().price(), "No se fija un precio absoluto");
+        }
+
+        /**
+         * Test que verifica que los IDs que no pertenecen al restaurante se informan y no
+         * generan error; los duplicados se envían una sola vez.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - IDs ajenos se informan como no encontrados")
+        void whenSomeIdsNotInRestaurant_thenReportedAsNotFound() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
+            when(productRepository.bulkUpdate(eq(RESTAURANT_ID), anyCollection(), any())).thenReturn(1);
+            when(productRepository.findProductDtosByRestaurantIdAndIds(eq(RESTAURANT_ID), anyCollection()))
+                    .thenReturn(List.of(productDto(10L)));
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L, 99L, 10L), new BigDecimal("5.00"), null, null, null);
+
+            // Act
+            ProductBulkUpdateResultDto result = productService.bulkUpdateProducts(RESTAURANT_ID, request);
+
+            // Assert
+            assertEquals(1, result.updated());
+            assertEquals(List.of(99L), result.notFound(), "El ID ajeno debe aparecer como no encontrado");
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+            verify(productRepository).bulkUpdate(eq(RESTAURANT_ID), ids.capture(), any());
+            assertEquals(2, ids.getValue().size(), "Los IDs duplicados se envían una sola vez");
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases")
+    class ErrorCases {
+
+        /**
+         * Test que verifica que no se admite un precio absoluto y un porcentaje a la vez.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - Precio y porcentaje a la vez → BadRequestException")
+        void whenPriceAndPercent_thenThrowsBadRequest() {
+            // Arrange
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L), BigDecimal.TEN, BigDecimal.ONE, null, null);
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> productService.bulkUpdateProducts(RESTAURANT_ID, request));
+            verifyNoInteractions(restaurantRepository, productRepository, eventPublisher);
+        }
+
+        /**
+         * Test que verifica que una petición sin ningún cambio se rechaza.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - Sin cambios → BadRequestException")
+        void whenNoChanges_thenThrowsBadRequest() {
+            // Arrange
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L), null, null, null, null);
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> productService.bulkUpdateProducts(RESTAURANT_ID, request));
+            verifyNoInteractions(restaurantRepository, productRepository, eventPublisher);
+        }
+
+        /**
+         * Test que verifica el error cuando el restaurante no existe.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - Restaurante no encontrado → RestaurantNotFoundException")
+        void whenRestaurantNotFound_thenThrowsException() {
+            // Arrange
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.empty());
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L), null, null, 3, null);
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class,
+                    () -> productService.bulkUpdateProducts(RESTAURANT_ID, request));
+            verifyNoInteractions(productRepository, eventPublisher);
+        }
+
+        /**
+         * Test que verifica que no se modifican (ni reactivan) productos de un restaurante dado de baja.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - Restaurante dado de baja → RestaurantNotFoundException")
+        void whenRestaurantInactive_thenThrowsException() {
+            // Arrange
+            mockRestaurant.setIsActive(false);
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L), null, null, null, true);
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class,
+                    () -> productService.bulkUpdateProducts(RESTAURANT_ID, request));
+            verifyNoInteractions(productRepository, eventPublisher);
+        }
+
+        /**
+         * Test que verifica que un usuario que no es dueño del restaurante no modifica nada.
+         */
+        @Test
+        @DisplayName("bulkUpdateProducts() - Sin permiso → UnauthorizedAccessException")
+        void whenNotOwner_thenThrowsUnauthorized() {
+            // Arrange
+            setAuthentication("other@restaurant.com");
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(mockRestaurant));
+            ProductBulkUpdateRequestDto request = new ProductBulkUpdateRequestDto(
+                    List.of(10L), null, null, 3, null);
+
+            // Act & Assert
+            assertThrows(UnauthorizedAccessException.class,
+                    () -> productService.bulkUpdateProducts(RESTAURANT_ID, request));
+            verifyNoInteractions(productRepository, eventPublisher);
+        }
+    }
+
+    private static ProductResponseDto productDto(Long id) {
+        return new ProductResponseDto(id, RESTAURANT_ID, 1L, "Producto " + id, "Desc", new BigDecimal("9.00"),
+                "img.jpg", false, 0, "Pastas", "Restaurante");
+    }
+
+    private void setAuthentication(String email) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
+        SecurityContextHolder.setContext(context);
+    }
+}
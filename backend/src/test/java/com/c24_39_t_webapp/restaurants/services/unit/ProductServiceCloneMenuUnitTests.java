@@ -0,0 +1,214 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.MenuCloneRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.MenuCloneResultDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.models.Restaurant;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
+import com.c24_39_t_webapp.restaurants.services.impl.ProductServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ProductServiceImpl.cloneMenu()
+ * <p>
+ * Cobertura:
+ * ✅ Éxito: Un INSERT ... SELECT para productos y otro para categorías, y un único evento para el destino
+ * ✅ Éxito: El porcentaje se convierte en un multiplicador del precio (sin porcentaje, 1)
+ * ✅ Éxito: Sin productos que copiar no se publica ningún evento
+ * ✅ Error: Origen y destino iguales → 400
+ * ✅ Error: Restaurante no encontrado
+ * ✅ Error: Uno de los restaurantes es de otro propietario (sin copiar nada)
+ */
+@ExtendWith(MockitoExtension.class)
+@Slf4j
+@DisplayName("ProductServiceImpl.cloneMenu() - Unit Tests")
+class ProductServiceCloneMenuUnitTests {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ISearchCacheService searchCacheService;
+
+    @InjectMocks
+    private ProductServiceImpl productService;
+
+    private static final String OWNER_EMAIL = "owner@restaurant.com";
+    private static final long SOURCE_ID = 1L;
+    private static final long TARGET_ID = 2L;
+
+    private Restaurant source;
+    private Restaurant target;
+
+    @BeforeEach
+    void setUp() {
+        source = EntityModelFactory.restaurant(SOURCE_ID, EntityModelFactory.userEntity(7L, OWNER_EMAIL));
+        target = EntityModelFactory.restaurant(TARGET_ID, EntityModelFactory.userEntity(7L, OWNER_EMAIL));
+    }
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases")
+    class SuccessCases {
+
+        /**
+         * Test que verifica que la carta se copia con dos sentencias y se publica un solo evento
+         * con los productos del restaurante de destino.
+         */
+        @Test
+        @DisplayName("cloneMenu() - Dos INSERT ... SELECT y un evento para el destino")
+        void whenCloneMenu_thenSetBasedCopyAndSingleEvent() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            stubRestaurants();
+            when(productRepository.copyProducts(eq(SOURCE_ID), eq(TARGET_ID), any(), any())).thenReturn(2);
+            when(restaurantRepository.copyOfferedCategories(SOURCE_ID, TARGET_ID)).thenReturn(1);
+            when(productRepository.findProductsByRestaurantIdAndCategory(TARGET_ID))
+                    .thenReturn(List.of(productDto(20L), productDto(21L)));
+
+            // Act
+            MenuCloneResultDto result = productService.cloneMenu(TARGET_ID, new MenuCloneRequestDto(SOURCE_ID, null));
+
+            // Assert
+            assertEquals(new MenuCloneResultDto(SOURCE_ID, TARGET_ID, 2, 1), result);
+
+            // Verify
+            verify(productRepository, times(1)).copyProducts(eq(SOURCE_ID), eq(TARGET_ID), eq(BigDecimal.ONE), any());
+            verify(productRepository, never()).findAll();
+            verify(productRepository, never()).save(any());
+            ArgumentCaptor<ProductsBulkChangedEvent> event = ArgumentCaptor.forClass(ProductsBulkChangedEvent.class);
+            verify(eventPublisher, times(1)).publishEvent(event.capture());
+            assertEquals(TARGET_ID, event.getValue().restaurantId());
+            assertEquals(2, event.getValue().products().size());
+        }
+
+        /**
+         * Test que verifica que un porcentaje de +15 se traduce en un multiplicador 1.15.
+         */
+        @Test
+        @DisplayName("cloneMenu() - El porcentaje se aplica como multiplicador")
+        void whenPriceChangePercent_thenPassesPriceFactor() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            stubRestaurants();
+            when(productRepository.copyProducts(eq(SOURCE_ID), eq(TARGET_ID), any(), any())).thenReturn(0);
+
+            // Act
+            productService.cloneMenu(TARGET_ID, new MenuCloneRequestDto(SOURCE_ID, new BigDecimal("15")));
+
+            // Assert
+            ArgumentCaptor<BigDecimal> factor = ArgumentCaptor.forClass(BigDecimal.class);
+            verify(productRepository).copyProducts(eq(SOURCE_ID), eq(TARGET_ID), factor.capture(), any());
+            assertEquals(0, new BigDecimal("1.15").compareTo(factor.getValue()), "Un +15 % equivale a multiplicar por 1.15");
+            verify(productRepository, never()).findProductsByRestaurantIdAndCategory(anyLong());
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases")
+    class ErrorCases {
+
+        /**
+         * Test que verifica que no se puede copiar la carta de un restaurante en sí mismo.
+         */
+        @Test
+        @DisplayName("cloneMenu() - Origen y destino iguales → BadRequestException")
+        void whenSameRestaurant_thenThrowsBadRequest() {
+            // Act & Assert
+            assertThrows(BadRequestException.class,
+                    () -> productService.cloneMenu(SOURCE_ID, new MenuCloneRequestDto(SOURCE_ID, null)));
+            verifyNoInteractions(restaurantRepository, productRepository, eventPublisher);
+        }
+
+        /**
+         * Test que verifica el error cuando el restaurante de destino no existe o está dado de baja.
+         */
+        @Test
+        @DisplayName("cloneMenu() - Restaurante de destino inactivo → RestaurantNotFoundException")
+        void whenTargetInactive_thenThrowsNotFound() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            target.setIsActive(false);
+            stubRestaurants();
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class,
+                    () -> productService.cloneMenu(TARGET_ID, new MenuCloneRequestDto(SOURCE_ID, null)));
+            verifyNoInteractions(productRepository, eventPublisher);
+        }
+
+        /**
+         * Test que verifica que no se copia nada si el restaurante de origen es de otro propietario.
+         */
+        @Test
+        @DisplayName("cloneMenu() - Origen de otro propietario → UnauthorizedAccessException")
+        void whenSourceOwnedByOtherUser_thenThrowsUnauthorized() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            source.setUserEntity(EntityModelFactory.userEntity(8L, "other@restaurant.com"));
+            when(restaurantRepository.findById(SOURCE_ID)).thenReturn(Optional.of(source));
+
+            // Act & Assert
+            assertThrows(UnauthorizedAccessException.class,
+                    () -> productService.cloneMenu(TARGET_ID, new MenuCloneRequestDto(SOURCE_ID, null)));
+            verify(restaurantRepository, never()).copyOfferedCategories(anyLong(), anyLong());
+            verifyNoInteractions(productRepository, eventPublisher);
+        }
+    }
+
+    private void stubRestaurants() {
+        when(restaurantRepository.findById(SOURCE_ID)).thenReturn(Optional.of(source));
+        when(restaurantRepository.findById(TARGET_ID)).thenReturn(Optional.of(target));
+    }
+
+    private static ProductResponseDto productDto(Long id) {
+        return new ProductResponseDto(id, TARGET_ID, 1L, "Producto " + id, "Desc", new BigDecimal("9.00"),
+                "img.jpg", true, 5, "Pastas", "Restaurante");
+    }
+
+    private void setAuthentication(String email) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -7,6 +7,7 @@ import com.c24_39_t_webapp.restaurants.models.Product;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
 import com.c24_39_t_webapp.restaurants.services.impl.ProductServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,6 +34,7 @@ import static org.mockito.Mockito.*;
  * Cobertura:
  * ✅ Éxito: Eliminar producto válido
  * ✅ Error: Producto no encontrado
+ * ✅ Error: Producto de un restaurante dado de baja
  * ✅ Error: Sin permisos
  */
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +45,12 @@ class ProductServiceDeleteUnitTests {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ISearchCacheService searchCacheService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -116,6 +125,25 @@ class ProductServiceDeleteUnitTests {
             verify(productRepository, never()).deleteById(PRODUCT_ID);
         }
 
+        /**
+         * Test que verifica que un producto de un restaurante dado de baja se trata como inexistente.
+         */
+        @Test
+        @DisplayName("deleteProduct() - Restaurante dado de baja → ProductNotFoundException")
+        void whenRestaurantInactive_thenThrowsProductNotFoundException() {
+            // Arrange
+            mockRestaurant.setIsActive(false);
+            when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
+
+            // Act & Assert
+            assertThrows(ProductNotFoundException.class,
+                    () -> productService.deleteProduct(PRODUCT_ID));
+
+            // Verify - No debe eliminar
+            verify(productRepository, never()).deleteById(PRODUCT_ID);
+            verifyNoInteractions(eventPublisher);
+        }
+
         /**
          * Test que verifica que sin permisos lanza excepción.
          */
@@ -4,6 +4,7 @@ import com.c24_39_t_webapp.restaurants.dtos.request.ProductRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.GroupedProductsResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.factories.ProductFactory;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -45,6 +46,9 @@ public class ProductServiceFindByRestaurantAndCategoryTests {
     @Mock
     private com.c24_39_t_webapp.restaurants.repository.ProductRepository productRepository;
 
+    @Mock
+    private ISearchCacheService searchCacheService;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.ProductServiceImpl productService;
 
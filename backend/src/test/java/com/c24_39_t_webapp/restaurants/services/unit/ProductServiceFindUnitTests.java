@@ -1,12 +1,23 @@
 package com.c24_39_t_webapp.restaurants.services.unit;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductListingRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ProductSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
 import com.c24_39_t_webapp.restaurants.exception.ProductNotFoundException;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
 import com.c24_39_t_webapp.restaurants.models.Product;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
 import com.c24_39_t_webapp.restaurants.services.impl.ProductServiceImpl;
+import com.c24_39_t_webapp.restaurants.utils.BatchIds;
+import com.c24_39_t_webapp.restaurants.utils.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,21 +28,30 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit Tests para métodos find* de ProductServiceImpl
  *
  * Cobertura:
- * ✅ findAllProducts() - lista vacía, lista con datos
- * ✅ findProductById() - producto encontrado, no encontrado, ID inválido
- * ✅ findProductsByCategoryId() - categoría con productos, sin productos
- * ✅ findProductsByName() - búsqueda exitosa, nombre vacío, nombre corto
+ * ✅ findProducts() - página vacía, cursor siguiente, continuación, catálogo en memoria, límite máximo, filtros,
+ * parámetros inválidos
+ * ✅ findProductById() - producto encontrado, no encontrado, restaurante dado de baja, ID inválido
+ * ✅ findProductsByIds() - orden de la petición, IDs inexistentes, consulta IN sin instantánea, límite de IDs
+ * ✅ findProductsByCategoryId() - categoría con productos (resumen), sin productos
+ * ✅ findProductsByName() - búsqueda exitosa, caché de búsqueda, nombre vacío, nombre corto
  * ✅ findProductsByRestaurantId() - restaurante con productos, sin productos
  */
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +62,12 @@ class ProductServiceFindUnitTests {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ICatalogService catalogService;
+
+    @Mock
+    private ISearchCacheService searchCacheService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -59,52 +85,172 @@ class ProductServiceFindUnitTests {
         mockProduct = EntityModelFactory.defaultProduct();
     }
 
-    // ==================== findAllProducts() ====================
+    // ==================== findProducts() ====================
 
     @Nested
-    @DisplayName("findAllProducts()")
-    class FindAllProductsTests {
+    @DisplayName("findProducts()")
+    class FindProductsTests {
 
         /**
-         * Test que verifica que retorna lista vacía cuando no hay productos.
+         * Test que verifica que una BD vacía devuelve una página vacía sin cursor.
          */
         @Test
-        @DisplayName("findAllProducts() - Retorna lista vacía cuando BD vacía")
-        void whenFindAllProductsWithEmptyDatabase_thenReturnsEmptyList() {
+        @DisplayName("findProducts() - Retorna página vacía sin cursor cuando BD vacía")
+        void whenFindProductsWithEmptyDatabase_thenReturnsEmptyPage() {
             // Arrange
-            when(productRepository.findAll()).thenReturn(Collections.emptyList());
+            when(productRepository.findListingPage(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(Collections.emptyList());
 
             // Act
-            List<ProductResponseDto> result = productService.findAllProducts();
+            KeysetPageDto<ProductResponseDto> result = productService.findProducts(ProductListingRequestDto.firstPage());
 
             // Assert
-            assertNotNull(result, "Lista no debe ser null");
-            assertTrue(result.isEmpty(), "Lista debe estar vacía");
+            assertTrue(result.items().isEmpty(), "Lista debe estar vacía");
+            assertNull(result.nextCursor(), "No debe haber página siguiente");
+
+            // Verify: página por defecto + 1 fila para detectar si hay más
+            verify(productRepository).findListingPage(any(), eq(ProductSort.ID), isNull(), isNull(),
+                    eq(ProductServiceImpl.DEFAULT_PAGE_SIZE + 1));
+        }
+
+        /**
+         * Test que verifica que si hay más filas que el tamaño de página se devuelve el cursor de la última.
+         */
+        @Test
+        @DisplayName("findProducts() - Recorta la fila extra y devuelve el cursor de la última fila")
+        void whenMoreRowsThanLimit_thenReturnsCursorOfLastRow() {
+            // Arrange
+            when(productRepository.findListingPage(any(), eq(ProductSort.PRICE_ASC), isNull(), isNull(), eq(3)))
+                    .thenReturn(List.of(row(1L, "5.00"), row(2L, "7.50"), row(3L, "9.00")));
+
+            // Act
+            KeysetPageDto<ProductResponseDto> result = productService.findProducts(
+                    new ProductListingRequestDto("price_asc", null, 2, null, null, null));
+
+            // Assert
+            assertEquals(2, result.items().size(), "Debe haber 2 productos");
+            KeysetCursor cursor = KeysetCursor.decode(result.nextCursor(), ProductSort.PRICE_ASC.name());
+            assertEquals("7.50", cursor.key(), "La clave del cursor debe ser el precio de la última fila");
+            assertEquals(2L, cursor.id(), "El ID del cursor debe ser el de la última fila");
+        }
+
+        /**
+         * Test que verifica que el cursor recibido se traduce a la clave tipada de la página anterior.
+         */
+        @Test
+        @DisplayName("findProducts() - Continúa después de la clave y el ID del cursor")
+        void whenCursorGiven_thenQueriesAfterCursorKey() {
+            // Arrange
+            String cursor = new KeysetCursor(ProductSort.PRICE_ASC.name(), "7.50", 2L).encode();
+            when(productRepository.findListingPage(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(row(3L, "9.00")));
+
+            // Act
+            KeysetPageDto<ProductResponseDto> result = productService.findProducts(
+                    new ProductListingRequestDto("price_asc", cursor, 2, null, null, null));
+
+            // Assert
+            assertEquals(1, result.items().size(), "Debe haber 1 producto");
+            assertNull(result.nextCursor(), "Es la última página");
 
             // Verify
-            verify(productRepository, times(1)).findAll();
+            verify(productRepository).findListingPage(any(), eq(ProductSort.PRICE_ASC),
+                    eq(new BigDecimal("7.50")), eq(2L), eq(3));
         }
 
         /**
-         * Test que verifica que retorna lista con productos.
+         * Test que verifica que con el catálogo en memoria cargado no se consulta la base de datos.
          */
         @Test
-        @DisplayName("findAllProducts() - Retorna lista con todos los productos")
-        void whenFindAllProductsWithData_thenReturnsAllProducts() {
+        @DisplayName("findProducts() - Con el catálogo en memoria cargado no consulta el repositorio")
+        void whenCatalogLoaded_thenServesFromCatalog() {
             // Arrange
-            mockProductList = EntityModelFactory.defaultProductList();
-            when(productRepository.findAll()).thenReturn(mockProductList);
+            when(catalogService.findListingPage(any(), eq(ProductSort.ID), isNull(), isNull(), eq(3)))
+                    .thenReturn(Optional.of(List.of(row(1L, "5.00"), row(2L, "7.50"))));
 
             // Act
-            List<ProductResponseDto> result = productService.findAllProducts();
+            KeysetPageDto<ProductResponseDto> result = productService.findProducts(
+                    new ProductListingRequestDto(null, null, 2, null, null, null));
 
             // Assert
-            assertNotNull(result, "Lista no debe ser null");
-            assertEquals(2, result.size(), "Debe haber 2 productos");
-            assertEquals(mockProduct.getName(), result.get(0).name(), "Nombre debe coincidir");
+            assertEquals(2, result.items().size(), "Debe haber 2 productos");
+            assertNull(result.nextCursor(), "Es la última página");
+
+            // Verify
+            verify(productRepository, never()).findListingPage(any(), any(), any(), any(), anyInt());
+        }
+
+        /**
+         * Test que verifica que el tamaño de página se acota al máximo.
+         */
+        @Test
+        @DisplayName("findProducts() - Acota el tamaño de página al máximo permitido")
+        void whenLimitAboveMaximum_thenClampsToMaximum() {
+            // Arrange
+            when(productRepository.findListingPage(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(Collections.emptyList());
+
+            // Act
+            productService.findProducts(new ProductListingRequestDto(null, null, 100_000, null, null, null));
 
             // Verify
-            verify(productRepository, times(1)).findAll();
+            verify(productRepository).findListingPage(any(), any(), any(), any(),
+                    eq(ProductServiceImpl.MAX_PAGE_SIZE + 1));
+        }
+
+        /**
+         * Test que verifica que los filtros se pasan al repositorio.
+         */
+        @Test
+        @DisplayName("findProducts() - Pasa los filtros de activos y rango de precios")
+        void whenFiltersGiven_thenPassesThemToRepository() {
+            // Arrange
+            when(productRepository.findListingPage(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(Collections.emptyList());
+
+            // Act
+            productService.findProducts(new ProductListingRequestDto(null, null, null, true,
+                    BigDecimal.ONE, BigDecimal.TEN));
+
+            // Verify
+            verify(productRepository).findListingPage(
+                    eq(new ProductRepositoryCustom.ListingFilter(null, null, true, BigDecimal.ONE, BigDecimal.TEN)),
+                    any(), any(), any(), anyInt());
+        }
+
+        /**
+         * Test que verifica que un cursor de otro orden o manipulado se rechaza con 400.
+         */
+        @Test
+        @DisplayName("findProducts() - Cursor inválido o de otro orden lanza BadRequestException")
+        void whenCursorInvalid_thenThrowsBadRequestException() {
+            // Arrange
+            String nameCursor = new KeysetCursor(ProductSort.NAME.name(), "Pizza", 2L).encode();
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> productService.findProducts(
+                    new ProductListingRequestDto("price_asc", nameCursor, null, null, null, null)));
+            assertThrows(BadRequestException.class, () -> productService.findProducts(
+                    new ProductListingRequestDto(null, "no-es-un-cursor", null, null, null, null)));
+
+            // Verify
+            verifyNoInteractions(productRepository);
+        }
+
+        /**
+         * Test que verifica que un orden desconocido o un rango de precios invertido se rechaza con 400.
+         */
+        @Test
+        @DisplayName("findProducts() - Orden desconocido o rango de precios invertido lanza BadRequestException")
+        void whenSortUnknownOrPriceRangeInverted_thenThrowsBadRequestException() {
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> productService.findProducts(
+                    new ProductListingRequestDto("rating", null, null, null, null, null)));
+            assertThrows(BadRequestException.class, () -> productService.findProducts(
+                    new ProductListingRequestDto(null, null, null, null, BigDecimal.TEN, BigDecimal.ONE)));
+
+            // Verify
+            verifyNoInteractions(productRepository);
         }
     }
 
@@ -152,6 +298,21 @@ class ProductServiceFindUnitTests {
             verify(productRepository, times(1)).findById(PRODUCT_ID);
         }
 
+        /**
+         * Test que verifica que un producto de un restaurante dado de baja se trata como inexistente.
+         */
+        @Test
+        @DisplayName("findProductById() - Lanza ProductNotFoundException si el restaurante está dado de baja")
+        void whenRestaurantInactive_thenThrowsProductNotFoundException() {
+            // Arrange
+            mockProduct.getRestaurant().setIsActive(false);
+            when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
+
+            // Act & Assert
+            assertThrows(ProductNotFoundException.class,
+                    () -> productService.findProductById(PRODUCT_ID));
+        }
+
         /**
          * Test que verifica que lanza excepción para ID inválido (null).
          */
@@ -192,6 +353,78 @@ class ProductServiceFindUnitTests {
         }
     }
 
+    // ==================== findProductsByIds() ====================
+
+    @Nested
+    @DisplayName("findProductsByIds()")
+    class FindProductsByIdsTests {
+
+        /**
+         * Test que verifica que el resultado respeta el orden solicitado y marca los IDs inexistentes.
+         */
+        @Test
+        @DisplayName("findProductsByIds() - Retorna en el orden solicitado y marca los que no existen")
+        void whenSomeIdsMissing_thenReturnsRequestOrderWithMissingMarkers() {
+            // Arrange
+            when(catalogService.findProductsByIds(List.of(3L, 99L, 1L)))
+                    .thenReturn(Optional.of(List.of(row(3L, "5.00"), row(1L, "7.50"))));
+
+            // Act
+            BatchResponseDto<ProductResponseDto> result = productService.findProductsByIds(List.of(3L, 99L, 3L, 1L));
+
+            // Assert
+            assertEquals(List.of(3L, 99L, 1L), result.items().stream().map(BatchResponseDto.Item::id).toList(),
+                    "Un elemento por ID distinto, en el orden de la petición");
+            assertTrue(result.items().get(0).found());
+            assertFalse(result.items().get(1).found());
+            assertNull(result.items().get(1).data());
+            assertEquals(List.of(99L), result.missingIds());
+
+            // Verify - La instantánea evita la consulta
+            verify(productRepository, never()).findListingRowsByIds(any());
+        }
+
+        /**
+         * Test que verifica que sin instantánea se hace una única consulta IN y se reordena.
+         */
+        @Test
+        @DisplayName("findProductsByIds() - Sin instantánea usa una sola consulta IN")
+        void whenNoSnapshot_thenSingleInQuery() {
+            // Arrange
+            when(catalogService.findProductsByIds(any())).thenReturn(Optional.empty());
+            when(productRepository.findListingRowsByIds(List.of(2L, 1L)))
+                    .thenReturn(List.of(row(1L, "7.50"), row(2L, "3.00")));
+
+            // Act
+            BatchResponseDto<ProductResponseDto> result = productService.findProductsByIds(List.of(2L, -4L, 1L));
+
+            // Assert
+            assertEquals(2L, result.items().get(0).data().prd_id());
+            assertEquals(1L, result.items().get(2).data().prd_id());
+            assertEquals(List.of(-4L), result.missingIds(), "Los IDs no válidos se marcan como no encontrados");
+
+            // Verify
+            verify(productRepository, times(1)).findListingRowsByIds(List.of(2L, 1L));
+        }
+
+        /**
+         * Test que verifica el límite de IDs por petición.
+         */
+        @Test
+        @DisplayName("findProductsByIds() - Lanza BadRequestException si se piden demasiados IDs o ninguno")
+        void whenTooManyOrNoIds_thenThrowsBadRequestException() {
+            // Arrange
+            List<Long> tooMany = LongStream.rangeClosed(1, BatchIds.MAX_IDS + 1).boxed().toList();
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> productService.findProductsByIds(tooMany));
+            assertThrows(BadRequestException.class, () -> productService.findProductsByIds(List.of()));
+
+            // Verify
+            verifyNoInteractions(catalogService, productRepository);
+        }
+    }
+
     // ==================== findProductsByName() ====================
 
     @Nested
@@ -295,6 +528,27 @@ class ProductServiceFindUnitTests {
             // Verify
             verify(productRepository, times(1)).findProductsByName("Sushi");
         }
+
+        /**
+         * Test que verifica que, con la caché de búsqueda disponible, no se consulta la base de datos.
+         */
+        @Test
+        @DisplayName("findProductsByName() - Sirve el resultado de la caché de búsqueda sin consultar la BD")
+        void whenSearchCacheAvailable_thenRepositoryIsNotQueried() {
+            // Arrange
+            List<ProductSummaryResponseDto> cached = List.of(
+                    new ProductSummaryResponseDto(1L, 10L, 100L, "Pizza Margarita", "Clásica", null));
+            when(searchCacheService.findProductsByName("Pizza")).thenReturn(Optional.of(cached));
+
+            // Act
+            List<ProductSummaryResponseDto> result = productService.findProductsByName("  Pizza ");
+
+            // Assert
+            assertEquals(cached, result);
+
+            // Verify
+            verify(productRepository, never()).findProductsByName(any());
+        }
     }
 
     // ==================== findProductsByCategoryId() ====================
@@ -304,44 +558,43 @@ class ProductServiceFindUnitTests {
     class FindProductsByCategoryIdTests {
 
         /**
-         * Test que verifica búsqueda exitosa por categoría.
+         * Test que verifica búsqueda exitosa por categoría, devolviendo el resumen de cada producto.
          */
         @Test
         @DisplayName("findProductsByCategoryId() - Retorna productos de categoría")
         void whenFindProductsByCategoryIdWithValidId_thenReturnsProducts() {
             // Arrange
-            mockProductList = EntityModelFactory.defaultProductList();
-            when(productRepository.findProductsByCategoryId(CATEGORY_ID)).thenReturn(mockProductList);
+            ProductRepositoryCustom.ListingFilter filter =
+                    new ProductRepositoryCustom.ListingFilter(null, CATEGORY_ID, false, null, null);
+            when(productRepository.findListingPage(eq(filter), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(row(1L, "5.00"), row(2L, "7.50")));
 
             // Act
-            List<ProductSummaryResponseDto> result = productService.findProductsByCategoryId(CATEGORY_ID);
+            KeysetPageDto<ProductSummaryResponseDto> result =
+                    productService.findProductsByCategoryId(CATEGORY_ID, ProductListingRequestDto.firstPage());
 
             // Assert
-            assertNotNull(result, "Lista no debe ser null");
-            assertEquals(2, result.size(), "Debe haber 1 producto");
-
-            // Verify
-            verify(productRepository, times(1)).findProductsByCategoryId(CATEGORY_ID);
+            assertEquals(2, result.items().size(), "Debe haber 2 productos");
+            assertEquals(1L, result.items().getFirst().prd_id(), "Se mantiene el orden de la consulta");
+            assertNull(result.nextCursor(), "No debe haber página siguiente");
         }
 
         /**
-         * Test que verifica que categoría vacía retorna lista vacía.
+         * Test que verifica que categoría vacía retorna página vacía.
          */
         @Test
         @DisplayName("findProductsByCategoryId() - Retorna lista vacía si categoría sin productos")
         void whenFindProductsByCategoryIdWithNoProducts_thenReturnsEmptyList() {
             // Arrange
-            when(productRepository.findProductsByCategoryId(CATEGORY_ID)).thenReturn(Collections.emptyList());
+            when(productRepository.findListingPage(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(Collections.emptyList());
 
             // Act
-            List<ProductSummaryResponseDto> result = productService.findProductsByCategoryId(CATEGORY_ID);
+            KeysetPageDto<ProductSummaryResponseDto> result =
+                    productService.findProductsByCategoryId(CATEGORY_ID, ProductListingRequestDto.firstPage());
 
             // Assert
-            assertNotNull(result, "Lista no debe ser null");
-            assertTrue(result.isEmpty(), "Lista debe estar vacía");
-
-            // Verify
-            verify(productRepository, times(1)).findProductsByCategoryId(CATEGORY_ID);
+            assertTrue(result.items().isEmpty(), "Lista debe estar vacía");
         }
     }
 
@@ -358,38 +611,42 @@ class ProductServiceFindUnitTests {
         @DisplayName("findProductsByRestaurantId() - Retorna productos del restaurante")
         void whenFindProductsByRestaurantIdWithValidId_thenReturnsProducts() {
             // Arrange
-            mockProductList = EntityModelFactory.defaultProductList();
-            when(productRepository.findProductsByRestaurantId(RESTAURANT_ID)).thenReturn(mockProductList);
+            ProductRepositoryCustom.ListingFilter filter =
+                    new ProductRepositoryCustom.ListingFilter(RESTAURANT_ID, null, false, null, null);
+            when(productRepository.findListingPage(eq(filter), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(row(1L, "5.00"), row(2L, "7.50")));
 
             // Act
-            List<ProductResponseDto> result = productService.findProductsByRestaurantId(RESTAURANT_ID);
+            KeysetPageDto<ProductResponseDto> result =
+                    productService.findProductsByRestaurantId(RESTAURANT_ID, ProductListingRequestDto.firstPage());
 
             // Assert
-            assertNotNull(result, "Lista no debe ser null");
-            assertEquals(2, result.size(), "Debe haber 2 producto2");
-
-            // Verify
-            verify(productRepository, times(1)).findProductsByRestaurantId(RESTAURANT_ID);
+            assertEquals(2, result.items().size(), "Debe haber 2 productos");
+            assertEquals(new BigDecimal("7.50"), result.items().get(1).price(), "Precio debe coincidir");
         }
 
         /**
-         * Test que verifica que restaurante vacío retorna lista vacía.
+         * Test que verifica que restaurante vacío retorna página vacía.
          */
         @Test
         @DisplayName("findProductsByRestaurantId() - Retorna lista vacía si restaurante sin productos")
         void whenFindProductsByRestaurantIdWithNoProducts_thenReturnsEmptyList() {
             // Arrange
-            when(productRepository.findProductsByRestaurantId(RESTAURANT_ID)).thenReturn(Collections.emptyList());
+            when(productRepository.findListingPage(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(Collections.emptyList());
 
             // Act
-            List<ProductResponseDto> result = productService.findProductsByRestaurantId(RESTAURANT_ID);
+            KeysetPageDto<ProductResponseDto> result =
+                    productService.findProductsByRestaurantId(RESTAURANT_ID, ProductListingRequestDto.firstPage());
 
             // Assert
-            assertNotNull(result, "Lista no debe ser null");
-            assertTrue(result.isEmpty(), "Lista debe estar vacía");
-
-            // Verify
-            verify(productRepository, times(1)).findProductsByRestaurantId(RESTAURANT_ID);
+            assertTrue(result.items().isEmpty(), "Lista debe estar vacía");
         }
     }
-}
\ No newline at end of file
+
+    private static ProductListingRow row(Long id, String price) {
+        return new ProductListingRow(id, RESTAURANT_ID, CATEGORY_ID, "Producto " + id, "Descripción",
+                new BigDecimal(price), "imagen.jpg", true, 10, "Pizzas", "Restaurante",
+                LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+}
@@ -1,6 +1,7 @@
 package com.c24_39_t_webapp.restaurants.services.unit;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.ProductUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
 import com.c24_39_t_webapp.restaurants.exception.CategoryNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.ProductNotFoundException;
@@ -13,6 +14,8 @@ import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.services.IReferenceDataService;
+import com.c24_39_t_webapp.restaurants.services.ISearchCacheService;
 import com.c24_39_t_webapp.restaurants.services.impl.ProductServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +26,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -40,6 +44,7 @@ import static org.mockito.Mockito.*;
  * Cobertura:
  * ✅ Éxito: Actualizar producto válido
  * ✅ Error: Producto no encontrado
+ * ✅ Error: Producto de un restaurante dado de baja
  * ✅ Error: Categoría no encontrada
  * ✅ Error: Sin permisos
  * ✅ Verifica que solo los campos no-null se actualizan
@@ -55,6 +60,15 @@ class ProductServiceUpdateUnitTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private IReferenceDataService referenceDataService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ISearchCacheService searchCacheService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -107,7 +121,7 @@ class ProductServiceUpdateUnitTests {
             setAuthentication(OWNER_EMAIL);
 
             when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
-            when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.of(mockCategory));
+            stubCategory(CATEGORY_ID, mockCategory);
             when(productRepository.save(any(Product.class))).thenReturn(mockProduct);
 
             // Act
@@ -121,7 +135,7 @@ class ProductServiceUpdateUnitTests {
 
             // Verify
             verify(productRepository, times(1)).findById(PRODUCT_ID);
-            verify(categoryRepository, times(1)).findById(CATEGORY_ID);
+            verify(referenceDataService, times(1)).findCategory(CATEGORY_ID);
             verify(productRepository, times(1)).save(any(Product.class));
         }
 
@@ -149,7 +163,7 @@ class ProductServiceUpdateUnitTests {
             BigDecimal originalPrice = mockProduct.getPrice();
 
             when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
-            when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.of(mockCategory));
+            stubCategory(CATEGORY_ID, mockCategory);
             when(productRepository.save(any(Product.class))).thenReturn(mockProduct);
 
             // Act
@@ -184,7 +198,7 @@ class ProductServiceUpdateUnitTests {
             setAuthentication(OWNER_EMAIL);
 
             when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
-            when(categoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
+            stubCategory(2L, newCategory);
             when(productRepository.save(any(Product.class))).thenReturn(mockProduct);
 
             // Act
@@ -194,7 +208,7 @@ class ProductServiceUpdateUnitTests {
             assertEquals(newCategory, mockProduct.getCategory(), "Categoría debe cambiar");
 
             // Verify
-            verify(categoryRepository, times(1)).findById(2L);
+            verify(referenceDataService, times(1)).findCategory(2L);
         }
     }
 
@@ -221,8 +235,28 @@ class ProductServiceUpdateUnitTests {
                     () -> productService.updateProduct(PRODUCT_ID, updateDto));
 
             // Verify
-            verify(categoryRepository, never()).findById(any());
+            verify(referenceDataService, never()).findCategory(any());
+            verify(productRepository, never()).save(any());
+        }
+
+        /**
+         * Test que verifica que un producto de un restaurante dado de baja no se puede modificar (ni reactivar).
+         */
+        @Test
+        @DisplayName("updateProduct() - Restaurante dado de baja → ProductNotFoundException")
+        void whenRestaurantInactive_thenThrowsProductNotFoundException() {
+            // Arrange
+            ProductUpdateDto updateDto = new ProductUpdateDto(null, null, null, null, null, null, true, null, null);
+            mockRestaurant.setIsActive(false);
+            when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
+
+            // Act & Assert
+            assertThrows(ProductNotFoundException.class,
+                    () -> productService.updateProduct(PRODUCT_ID, updateDto));
+
+            // Verify
             verify(productRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         /**
@@ -266,7 +300,7 @@ class ProductServiceUpdateUnitTests {
             setAuthentication(OWNER_EMAIL);
 
             when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
-            when(categoryRepository.findById(999L)).thenReturn(Optional.empty());
+            when(referenceDataService.findCategory(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(CategoryNotFoundException.class,
@@ -287,14 +321,14 @@ class ProductServiceUpdateUnitTests {
             setAuthentication("other@restaurant.com");
 
             when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
-            // No configurar categoryRepository, no debe llamarse
+            // No configurar la categoría, no debe buscarse
 
             // Act & Assert
             assertThrows(UnauthorizedAccessException.class,
                     () -> productService.updateProduct(PRODUCT_ID, updateDto));
 
             // Verify
-            verify(categoryRepository, never()).findById(any());
+            verify(referenceDataService, never()).findCategory(any());
             verify(productRepository, never()).save(any());
         }
     }
@@ -367,7 +401,7 @@ class ProductServiceUpdateUnitTests {
 
         when(productRepository.findById(PRODUCT_ID)).thenReturn(Optional.of(mockProduct));
         when(productRepository.save(any(Product.class))).thenReturn(mockProduct);
-        when(categoryRepository.findById(1L)).thenReturn(Optional.of(mockCategory));
+        stubCategory(1L, mockCategory);
 
         // Act
         productService.updateProduct(PRODUCT_ID, updateDto);
@@ -408,4 +442,13 @@ class ProductServiceUpdateUnitTests {
         context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
         SecurityContextHolder.setContext(context);
     }
-}
\ No newline at end of file
+
+    /**
+     * La categoría se valida contra los datos de referencia en memoria; el producto recibe la referencia JPA.
+     */
+    private void stubCategory(Long categoryId, Category category) {
+        when(referenceDataService.findCategory(categoryId)).thenReturn(Optional.of(
+                new CategoryResponseDto(category.getId(), category.getName(), category.getDescription())));
+        lenient().when(categoryRepository.getReferenceById(category.getId())).thenReturn(category);
+    }
+}
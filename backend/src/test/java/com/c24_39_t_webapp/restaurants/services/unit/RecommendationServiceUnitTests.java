@@ -0,0 +1,177 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.OrderLineProjection;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.events.OrderPlacedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.repository.OrderDetailsRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.impl.RecommendationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para RecommendationServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: repositorios (solo se usan al reconstruir) y catálogo en memoria
+ * - El servicio se construye a mano porque recibe su configuración por constructor
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Reconstrucción por restaurante y orden por frecuencia
+ * ✅ Productos inactivos descartados y límite
+ * ✅ Actualización incremental con pedidos confirmados y borrado de productos
+ * ✅ Sin catálogo cargado se leen los productos de la base de datos
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecommendationServiceImpl - Unit Tests")
+class RecommendationServiceUnitTests {
+
+    @Mock
+    private OrderDetailsRepository orderDetailsRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ICatalogService catalogService;
+
+    private RecommendationServiceImpl recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = new RecommendationServiceImpl(orderDetailsRepository, productRepository,
+                catalogService, 20, 2);
+        when(orderDetailsRepository.findRestaurantIdsWithOrderLines()).thenReturn(List.of(10L, 20L));
+        // Restaurante 10: 1 se pide con 2 en dos pedidos y con 3 en uno
+        when(orderDetailsRepository.findOrderLinesByRestaurantId(10L)).thenReturn(List.of(
+                new OrderLineProjection(100L, 1L), new OrderLineProjection(100L, 2L),
+                new OrderLineProjection(101L, 1L), new OrderLineProjection(101L, 2L),
+                new OrderLineProjection(101L, 3L)));
+        when(orderDetailsRepository.findOrderLinesByRestaurantId(20L)).thenReturn(List.of(
+                new OrderLineProjection(200L, 7L), new OrderLineProjection(200L, 8L)));
+        recommendationService.rebuildModel();
+    }
+
+    @Nested
+    @DisplayName("Consultas")
+    class Lookups {
+
+        @Test
+        @DisplayName("findFrequentlyOrderedTogether() - Devuelve los productos más pedidos juntos primero")
+        void whenHistoryExists_thenMostFrequentFirst() {
+            // Arrange
+            stubCatalog(row(2L, true), row(3L, true));
+
+            // Act
+            List<ProductResponseDto> result = recommendationService.findFrequentlyOrderedTogether(1L, null);
+
+            // Assert
+            assertEquals(List.of(2L, 3L), result.stream().map(ProductResponseDto::prd_id).toList());
+            verify(catalogService).findProductsByIds(List.of(2L, 3L));
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("findFrequentlyOrderedTogether() - Descarta inactivos y aplica el límite")
+        void whenInactiveOrLimit_thenFiltered() {
+            // Arrange
+            stubCatalog(row(2L, false), row(3L, true));
+
+            // Act
+            List<ProductResponseDto> result = recommendationService.findFrequentlyOrderedTogether(1L, 1);
+
+            // Assert
+            assertEquals(List.of(3L), result.stream().map(ProductResponseDto::prd_id).toList());
+        }
+
+        @Test
+        @DisplayName("findFrequentlyOrderedTogether() - Sin historial devuelve lista vacía sin consultar nada")
+        void whenNoHistory_thenEmpty() {
+            // Act
+            List<ProductResponseDto> result = recommendationService.findFrequentlyOrderedTogether(99L, null);
+
+            // Assert
+            assertTrue(result.isEmpty());
+            verifyNoInteractions(catalogService);
+        }
+
+        @Test
+        @DisplayName("findFrequentlyOrderedTogether() - Sin catálogo cargado lee los productos y respeta el orden")
+        void whenCatalogNotLoaded_thenReadsProductsInOrder() {
+            // Arrange
+            when(catalogService.findProductsByIds(anyCollection())).thenReturn(Optional.empty());
+            when(productRepository.findListingRowsByIds(List.of(2L, 3L))).thenReturn(List.of(row(3L, true), row(2L, true)));
+
+            // Act
+            List<ProductResponseDto> result = recommendationService.findFrequentlyOrderedTogether(1L, null);
+
+            // Assert
+            assertEquals(List.of(2L, 3L), result.stream().map(ProductResponseDto::prd_id).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualización incremental")
+    class Incremental {
+
+        @Test
+        @DisplayName("onOrderPlaced() - Los pedidos confirmados actualizan el modelo")
+        void whenOrderPlaced_thenModelUpdated() {
+            // Arrange
+            stubCatalog(row(3L, true), row(2L, true));
+            recommendationService.onOrderPlaced(new OrderPlacedEvent(102L, 10L, List.of(1L, 3L)));
+            recommendationService.onOrderPlaced(new OrderPlacedEvent(103L, 10L, List.of(3L, 1L)));
+
+            // Act
+            List<ProductResponseDto> result = recommendationService.findFrequentlyOrderedTogether(1L, null);
+
+            // Assert
+            assertEquals(List.of(3L, 2L), result.stream().map(ProductResponseDto::prd_id).toList());
+        }
+
+        @Test
+        @DisplayName("onProductChanged() - Un producto eliminado deja de tener recomendaciones")
+        void whenProductDeleted_thenNoRecommendations() {
+            // Act
+            recommendationService.onProductChanged(ProductChangedEvent.deleted(7L, 20L));
+
+            // Assert
+            assertTrue(recommendationService.findFrequentlyOrderedTogether(7L, null).isEmpty());
+        }
+    }
+
+    private void stubCatalog(ProductListingRow... rows) {
+        when(catalogService.findProductsByIds(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return Optional.of(ids.stream()
+                    .flatMap(id -> Arrays.stream(rows).filter(r -> r.prd_id().equals(id)))
+                    .toList());
+        });
+    }
+
+    private static ProductListingRow row(Long id, boolean active) {
+        return new ProductListingRow(id, 10L, 1L, "Producto " + id, null, new BigDecimal("5.00"), null,
+                active, 10, "Categoría", "Restaurante", LocalDateTime.of(2025, 1, 1, 12, 0));
+    }
+}
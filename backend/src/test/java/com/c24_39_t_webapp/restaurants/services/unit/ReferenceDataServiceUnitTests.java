@@ -0,0 +1,184 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.cache.ReferenceDataSnapshot;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.models.Category;
+import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.ReferenceDataServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para ReferenceDataServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: CategoryRepository y RestaurantCuisineRepository (carga de la instantánea y comprobación de IDs)
+ * - La instantánea se carga en cada test con dos categorías (desordenadas) y dos tipos de cocina
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Listas ordenadas por ID y búsquedas por ID sin consultar la base de datos
+ * ✅ ETags estables entre recargas sin cambios; un cambio de categorías no cambia el ETag de cocinas
+ * ✅ ID ausente: solo recarga si existe en la base de datos
+ * ✅ Recarga tras el commit de un cambio de categoría
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceDataServiceImpl - Unit Tests")
+class ReferenceDataServiceUnitTests {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private RestaurantCuisineRepository cuisineRepository;
+
+    private ReferenceDataServiceImpl referenceDataService;
+
+    private Category pizzas;
+    private Category pastas;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataService = new ReferenceDataServiceImpl(categoryRepository, cuisineRepository, new ObjectMapper());
+        pizzas = EntityModelFactory.category(2L, "Pizzas");
+        pastas = EntityModelFactory.category(1L, "Pastas");
+        when(categoryRepository.findAll()).thenReturn(List.of(pizzas, pastas));
+        when(cuisineRepository.findAll()).thenReturn(List.of(
+                EntityModelFactory.restaurantCuisine(1L, "Italiana"),
+                EntityModelFactory.restaurantCuisine(2L, "Japonesa")));
+        referenceDataService.refresh();
+    }
+
+    @Nested
+    @DisplayName("Instantánea")
+    class Snapshot {
+
+        @Test
+        @DisplayName("snapshot() / findCategory() / findCuisine() - Ordenadas por ID, sin consultar la base de datos")
+        void whenLoaded_thenServedFromMemory() {
+            // Act
+            ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+            Optional<CategoryResponseDto> category = referenceDataService.findCategory(2L);
+            Optional<CuisineResponseDto> cuisine = referenceDataService.findCuisine(1L);
+
+            // Assert
+            assertEquals(1, snapshot.version());
+            assertEquals(List.of(1L, 2L), snapshot.categories().stream().map(CategoryResponseDto::ctg_id).toList());
+            assertEquals(2, snapshot.cuisines().size());
+            assertEquals("Pizzas", category.orElseThrow().name());
+            assertEquals("Italiana", cuisine.orElseThrow().name());
+
+            // Verify
+            verify(categoryRepository, times(1)).findAll();
+            verify(categoryRepository, never()).existsById(anyLong());
+            verify(cuisineRepository, never()).existsById(anyLong());
+        }
+
+        @Test
+        @DisplayName("refresh() - ETags estables sin cambios; una categoría nueva solo cambia el ETag de categorías")
+        void whenRefreshed_thenEtagsFollowContent() {
+            // Arrange
+            ReferenceDataSnapshot before = referenceDataService.snapshot();
+
+            // Act
+            referenceDataService.refresh();
+            ReferenceDataSnapshot unchanged = referenceDataService.snapshot();
+            when(categoryRepository.findAll()).thenReturn(List.of(pizzas, pastas, EntityModelFactory.category(3L, "Postres")));
+            referenceDataService.refresh();
+            ReferenceDataSnapshot changed = referenceDataService.snapshot();
+
+            // Assert
+            assertTrue(before.categoriesEtag().matches("\"[0-9a-f]{32}\""));
+            assertEquals(before.categoriesEtag(), unchanged.categoriesEtag());
+            assertEquals(2, unchanged.version());
+            assertNotEquals(before.categoriesEtag(), changed.categoriesEtag());
+            assertEquals(before.cuisinesEtag(), changed.cuisinesEtag());
+            assertEquals(3, changed.categories().size());
+        }
+    }
+
+    @Nested
+    @DisplayName("IDs ausentes")
+    class Misses {
+
+        @Test
+        @DisplayName("findCategory() - ID inexistente: no recarga")
+        void whenCategoryDoesNotExist_thenNoReload() {
+            // Arrange
+            when(categoryRepository.existsById(99L)).thenReturn(false);
+
+            // Act
+            Optional<CategoryResponseDto> category = referenceDataService.findCategory(99L);
+
+            // Assert
+            assertTrue(category.isEmpty());
+            assertEquals(1, referenceDataService.snapshot().version());
+            verify(categoryRepository, times(1)).findAll();
+        }
+
+        @Test
+        @DisplayName("findCuisine() - Alta hecha por SQL: recarga y la encuentra")
+        void whenCuisineInsertedOutsideApplication_thenReloadsAndFinds() {
+            // Arrange
+            when(cuisineRepository.existsById(3L)).thenReturn(true);
+            when(cuisineRepository.findAll()).thenReturn(List.of(
+                    EntityModelFactory.restaurantCuisine(1L, "Italiana"),
+                    EntityModelFactory.restaurantCuisine(2L, "Japonesa"),
+                    EntityModelFactory.restaurantCuisine(3L, "Mexicana")));
+
+            // Act
+            Optional<CuisineResponseDto> cuisine = referenceDataService.findCuisine(3L);
+
+            // Assert
+            assertEquals("Mexicana", cuisine.orElseThrow().name());
+            assertEquals(2, referenceDataService.snapshot().version());
+        }
+
+        @Test
+        @DisplayName("findCategory() / findCuisine() - ID null: vacío, sin consultas")
+        void whenNullId_thenEmpty() {
+            // Assert
+            assertTrue(referenceDataService.findCategory(null).isEmpty());
+            assertTrue(referenceDataService.findCuisine(null).isEmpty());
+            verify(categoryRepository, never()).existsById(any());
+            verify(cuisineRepository, never()).existsById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sincronización con eventos")
+    class Events {
+
+        @Test
+        @DisplayName("onCategoryChanged() - Una categoría borrada desaparece de la instantánea")
+        void whenCategoryDeleted_thenReloaded() {
+            // Arrange
+            when(categoryRepository.findAll()).thenReturn(List.of(pizzas));
+
+            // Act
+            referenceDataService.onCategoryChanged(CategoryChangedEvent.deleted(1L));
+
+            // Assert
+            assertTrue(referenceDataService.snapshot().category(1L).isEmpty());
+            assertEquals(List.of(2L), referenceDataService.snapshot().categories().stream()
+                    .map(CategoryResponseDto::ctg_id).toList());
+        }
+    }
+}
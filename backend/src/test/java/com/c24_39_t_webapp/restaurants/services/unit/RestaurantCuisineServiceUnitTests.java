@@ -3,14 +3,17 @@ package com.c24_39_t_webapp.restaurants.services.unit;
 import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
 import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
+import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.ReferenceDataServiceImpl;
+import com.c24_39_t_webapp.restaurants.services.impl.RestaurantCuisineServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -26,6 +29,7 @@ import static org.mockito.Mockito.*;
  * Test unitarios para RestaurantCuisineService.findAll()
  *
  * ✅ Cuisines vienen de EntityModelFactory
+ * ✅ Se leen de la instantánea de ReferenceDataServiceImpl (real, sobre los repositorios mock)
  * ✅ Happy path + edge cases
  *
  * Cobertura:
@@ -49,8 +53,19 @@ class RestaurantCuisineServiceUnitTests {
     @Mock
     private RestaurantCuisineRepository cuisineRepository;
 
-    @InjectMocks
-    private com.c24_39_t_webapp.restaurants.services.impl.RestaurantCuisineServiceImpl cuisineService;
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private ReferenceDataServiceImpl referenceDataService;
+
+    private RestaurantCuisineServiceImpl cuisineService;
+
+    @BeforeEach
+    void setUpService() {
+        // Los tipos de cocina se sirven desde la instantánea de datos de referencia, cargada con refresh()
+        referenceDataService = new ReferenceDataServiceImpl(categoryRepository, cuisineRepository, new ObjectMapper());
+        cuisineService = new RestaurantCuisineServiceImpl(referenceDataService);
+    }
 
     // ==================== SUCCESS CASES ====================
 
@@ -84,6 +99,7 @@ class RestaurantCuisineServiceUnitTests {
             // Arrange
             when(cuisineRepository.findAll())
                     .thenReturn(cuisineList);
+            referenceDataService.refresh();
 
             // Act
             List<CuisineResponseDto> result = cuisineService.findAll();
@@ -112,6 +128,7 @@ class RestaurantCuisineServiceUnitTests {
             // Arrange
             when(cuisineRepository.findAll())
                     .thenReturn(cuisineList);
+            referenceDataService.refresh();
 
             // Act
             List<CuisineResponseDto> result = cuisineService.findAll();
@@ -144,6 +161,7 @@ class RestaurantCuisineServiceUnitTests {
 
             when(cuisineRepository.findAll())
                     .thenReturn(singleList);
+            referenceDataService.refresh();
 
             // Act
             List<CuisineResponseDto> result = cuisineService.findAll();
@@ -168,7 +186,7 @@ class RestaurantCuisineServiceUnitTests {
          * Test: Lista vacía de cuisines
          *
          * Verificación:
-         * ✅ Retorna Collections.emptyList()
+         * ✅ Retorna una lista vacía
          * ✅ No es null
          * ✅ Size es 0
          */
@@ -178,6 +196,7 @@ class RestaurantCuisineServiceUnitTests {
             // Arrange
             when(cuisineRepository.findAll())
                     .thenReturn(new ArrayList<>());
+            referenceDataService.refresh();
 
             // Act
             List<CuisineResponseDto> result = cuisineService.findAll();
@@ -213,6 +232,7 @@ class RestaurantCuisineServiceUnitTests {
 
             when(cuisineRepository.findAll())
                     .thenReturn(largeCuisineList);
+            referenceDataService.refresh();
 
             // Act
             List<CuisineResponseDto> result = cuisineService.findAll();
@@ -0,0 +1,180 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductsBulkChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepositoryCustom.BulkChange;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IImageService;
+import com.c24_39_t_webapp.restaurants.services.impl.RestaurantDeactivationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para RestaurantDeactivationServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: repositorios de productos y restaurantes, servicio de imágenes y publicador de eventos
+ * - TransactionTemplate mockeado: ejecuta cada tramo directamente
+ * - El servicio se construye a mano con tramos de 2 productos
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Desactivación por tramos, una transacción y un evento de cambio masivo por tramo
+ * ✅ Barrido de imágenes al terminar, también sin productos que desactivar
+ * ✅ La baja de un restaurante lanza la desactivación en segundo plano; el alta no
+ * ✅ Al arrancar se reanudan las bajas pendientes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RestaurantDeactivationServiceImpl - Unit Tests")
+class RestaurantDeactivationServiceUnitTests {
+
+    private static final Long RESTAURANT_ID = 1L;
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private IImageService imageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private RestaurantDeactivationServiceImpl deactivationService;
+
+    @BeforeEach
+    void setUp() {
+        deactivationService = new RestaurantDeactivationServiceImpl(productRepository, restaurantRepository,
+                imageService, eventPublisher, transactionTemplate, CHUNK_SIZE);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(new SimpleTransactionStatus()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        deactivationService.shutdown();
+    }
+
+    @Nested
+    @DisplayName("deactivateContent()")
+    class DeactivateContent {
+
+        @Test
+        @DisplayName("deactivateContent() - Desactiva por tramos hasta agotar los productos activos y barre las imágenes")
+        void whenActiveProducts_thenDeactivatedInChunks() {
+            // Arrange
+            when(productRepository.findActiveIdsByRestaurantId(RESTAURANT_ID, PageRequest.of(0, CHUNK_SIZE)))
+                    .thenReturn(List.of(10L, 11L), List.of(12L), List.of());
+            when(productRepository.bulkUpdate(eq(RESTAURANT_ID), anyCollection(), any(BulkChange.class)))
+                    .thenAnswer(invocation -> invocation.<List<Long>>getArgument(1).size());
+            when(productRepository.findProductDtosByRestaurantIdAndIds(eq(RESTAURANT_ID), anyCollection()))
+                    .thenAnswer(invocation -> invocation.<List<Long>>getArgument(1).stream()
+                            .map(RestaurantDeactivationServiceUnitTests::inactiveProduct).toList());
+            ArgumentCaptor<BulkChange> change = ArgumentCaptor.forClass(BulkChange.class);
+            ArgumentCaptor<ProductsBulkChangedEvent> events = ArgumentCaptor.forClass(ProductsBulkChangedEvent.class);
+
+            // Act
+            int deactivated = deactivationService.deactivateContent(RESTAURANT_ID);
+
+            // Assert
+            assertEquals(3, deactivated);
+            verify(productRepository).bulkUpdate(eq(RESTAURANT_ID), eq(List.of(10L, 11L)), change.capture());
+            assertFalse(change.getValue().isActive());
+            assertNull(change.getValue().price());
+            verify(eventPublisher, times(2)).publishEvent(events.capture());
+            assertEquals(List.of(2, 1), events.getAllValues().stream().map(e -> e.products().size()).toList());
+
+            // Verify
+            verify(transactionTemplate, times(3)).execute(any());
+            verify(imageService, times(1)).sweepUnreferenced();
+        }
+
+        @Test
+        @DisplayName("deactivateContent() - Sin productos activos no actualiza nada pero barre las imágenes")
+        void whenNoActiveProducts_thenOnlySweepsImages() {
+            // Arrange
+            when(productRepository.findActiveIdsByRestaurantId(RESTAURANT_ID, PageRequest.of(0, CHUNK_SIZE)))
+                    .thenReturn(List.of());
+
+            // Act
+            int deactivated = deactivationService.deactivateContent(RESTAURANT_ID);
+
+            // Assert
+            assertEquals(0, deactivated);
+
+            // Verify
+            verify(productRepository, never()).bulkUpdate(any(), anyCollection(), any());
+            verifyNoInteractions(eventPublisher);
+            verify(imageService, times(1)).sweepUnreferenced();
+        }
+    }
+
+    @Nested
+    @DisplayName("Segundo plano")
+    class Background {
+
+        @Test
+        @DisplayName("onRestaurantChanged() - La baja desactiva el contenido en segundo plano; el alta no")
+        void whenRestaurantDeleted_thenDeactivationSubmitted() {
+            // Arrange
+            when(productRepository.findActiveIdsByRestaurantId(eq(RESTAURANT_ID), any())).thenReturn(List.of());
+
+            // Act
+            deactivationService.onRestaurantChanged(RestaurantChangedEvent.deleted(RESTAURANT_ID));
+
+            // Verify
+            verify(imageService, timeout(1000).times(1)).sweepUnreferenced();
+            verify(productRepository, never()).findActiveIdsByRestaurantId(eq(2L), any());
+        }
+
+        @Test
+        @DisplayName("resumePending() - Reanuda las bajas con productos todavía activos")
+        void whenPendingDeactivations_thenResumed() {
+            // Arrange
+            when(restaurantRepository.findInactiveIdsWithActiveProducts()).thenReturn(List.of(3L, 4L));
+            when(productRepository.findActiveIdsByRestaurantId(any(), any())).thenReturn(List.of());
+
+            // Act
+            deactivationService.resumePending();
+
+            // Verify
+            verify(imageService, timeout(1000).times(2)).sweepUnreferenced();
+            verify(productRepository).findActiveIdsByRestaurantId(eq(3L), any());
+            verify(productRepository).findActiveIdsByRestaurantId(eq(4L), any());
+        }
+    }
+
+    private static ProductResponseDto inactiveProduct(Long id) {
+        return new ProductResponseDto(id, RESTAURANT_ID, 1L, "Producto " + id, "Descripción",
+                new BigDecimal("9.99"), null, false, 10, "Categoría", "Restaurante");
+    }
+}
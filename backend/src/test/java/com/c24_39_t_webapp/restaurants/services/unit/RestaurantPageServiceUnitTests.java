@@ -0,0 +1,189 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.cache.CachedMenu;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantPageResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.IMenuCacheService;
+import com.c24_39_t_webapp.restaurants.services.IRestaurantService;
+import com.c24_39_t_webapp.restaurants.services.IReviewService;
+import com.c24_39_t_webapp.restaurants.services.impl.RestaurantPageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para RestaurantPageServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: IRestaurantService (restaurante), IMenuCacheService (carta), RestaurantRepository (categorías)
+ * e IReviewService (resumen de reseñas)
+ * - El servicio se construye a mano con un plazo de 300 ms por sección
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Página completa: el restaurante se lee una sola vez y las secciones en paralelo
+ * ✅ Restaurante inexistente: se propaga la excepción sin pedir ninguna sección
+ * ✅ Una sección que falla o que no termina a tiempo se devuelve a null y se indica; el resto llega
+ * ✅ El plazo de las secciones empieza en el reparto, no antes de leer el restaurante
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RestaurantPageServiceImpl - Unit Tests")
+class RestaurantPageServiceUnitTests {
+
+    private static final Long RESTAURANT_ID = 1L;
+    private static final String MENU_JSON = "[{\"categoryId\":1,\"products\":[]}]";
+
+    @Mock
+    private IRestaurantService restaurantService;
+
+    @Mock
+    private IMenuCacheService menuCacheService;
+
+    @Mock
+    private IReviewService reviewService;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private RestaurantPageServiceImpl pageService;
+
+    private final RestaurantResponseDto restaurant = new RestaurantResponseDto(RESTAURANT_ID, 1L, "La Trattoria",
+            "Descripción", "600000000", "info@trattoria.com", "Calle Mayor 1", "12:00-23:00", "logo.png",
+            "cover.png", 1L, "Italiana", null, null);
+    private final List<CategoryResponseDto> categories = List.of(new CategoryResponseDto(1L, "Pastas", "Caseras"));
+    private final ReviewSummaryResponseDto reviews = new ReviewSummaryResponseDto(3, 4.33, List.of());
+
+    @BeforeEach
+    void setUp() {
+        pageService = new RestaurantPageServiceImpl(restaurantService, menuCacheService, reviewService,
+                restaurantRepository, Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pageService.shutdown();
+    }
+
+    @Nested
+    @DisplayName("getPage()")
+    class GetPage {
+
+        @Test
+        @DisplayName("getPage() - Página completa con una sola lectura del restaurante")
+        void whenAllSectionsAvailable_thenCompletePage() {
+            // Arrange
+            when(restaurantService.findById(RESTAURANT_ID)).thenReturn(restaurant);
+            when(menuCacheService.getMenu(RESTAURANT_ID)).thenReturn(menu());
+            when(restaurantRepository.findOfferedCategoryDtos(RESTAURANT_ID)).thenReturn(categories);
+            when(reviewService.getReviewSummary(RESTAURANT_ID, 5)).thenReturn(reviews);
+
+            // Act
+            RestaurantPageResponseDto page = pageService.getPage(RESTAURANT_ID);
+
+            // Assert
+            assertEquals(restaurant, page.restaurant());
+            assertEquals(MENU_JSON, page.menu());
+            assertEquals(categories, page.categories());
+            assertEquals(reviews, page.reviews());
+            assertTrue(page.unavailableSections().isEmpty());
+
+            // Verify
+            verify(restaurantService, times(1)).findById(RESTAURANT_ID);
+            verify(restaurantService, never()).findByIdFetchingCategories(anyLong());
+        }
+
+        @Test
+        @DisplayName("getPage() - Una lectura lenta del restaurante no consume el plazo de las secciones")
+        void whenRestaurantLookupSlow_thenSectionsKeepTheirTimeout() {
+            // Arrange: el restaurante tarda más que el plazo (300 ms); cada sección, menos que él
+            when(restaurantService.findById(RESTAURANT_ID)).thenAnswer(invocation -> {
+                Thread.sleep(400);
+                return restaurant;
+            });
+            when(menuCacheService.getMenu(RESTAURANT_ID)).thenAnswer(invocation -> {
+                Thread.sleep(50);
+                return menu();
+            });
+            when(restaurantRepository.findOfferedCategoryDtos(RESTAURANT_ID)).thenReturn(categories);
+            when(reviewService.getReviewSummary(RESTAURANT_ID, 5)).thenReturn(reviews);
+
+            // Act
+            RestaurantPageResponseDto page = pageService.getPage(RESTAURANT_ID);
+
+            // Assert
+            assertEquals(MENU_JSON, page.menu());
+            assertEquals(categories, page.categories());
+            assertEquals(reviews, page.reviews());
+            assertTrue(page.unavailableSections().isEmpty());
+        }
+
+        @Test
+        @DisplayName("getPage() - Restaurante inexistente: lanza RestaurantNotFoundException sin pedir secciones")
+        void whenRestaurantNotFound_thenThrowsWithoutFanOut() {
+            // Arrange
+            when(restaurantService.findById(99L)).thenThrow(new RestaurantNotFoundException("Restaurante no encontrado"));
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class, () -> pageService.getPage(99L));
+
+            // Verify
+            verifyNoInteractions(menuCacheService, reviewService, restaurantRepository);
+        }
+
+        @Test
+        @DisplayName("getPage() - Una sección que falla y otra que no termina a tiempo quedan a null; el resto llega")
+        void whenSectionFailsOrTimesOut_thenPartialPage() throws Exception {
+            // Arrange
+            CountDownLatch interrupted = new CountDownLatch(1);
+            when(restaurantService.findById(RESTAURANT_ID)).thenReturn(restaurant);
+            when(menuCacheService.getMenu(RESTAURANT_ID)).thenReturn(menu());
+            when(restaurantRepository.findOfferedCategoryDtos(RESTAURANT_ID)).thenAnswer(invocation -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return categories;
+            });
+            when(reviewService.getReviewSummary(anyLong(), anyInt())).thenThrow(new IllegalStateException("Caída"));
+
+            // Act
+            long start = System.nanoTime();
+            RestaurantPageResponseDto page = pageService.getPage(RESTAURANT_ID);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Assert
+            assertEquals(MENU_JSON, page.menu());
+            assertNull(page.categories());
+            assertNull(page.reviews());
+            assertEquals(List.of("categories", "reviews"), page.unavailableSections());
+            assertTrue(elapsedMillis < 2_000, "No espera a la sección lenta: " + elapsedMillis + " ms");
+            assertTrue(interrupted.await(1, TimeUnit.SECONDS), "La sección lenta se cancela");
+        }
+    }
+
+    private static CachedMenu menu() {
+        return new CachedMenu(RESTAURANT_ID, "\"etag\"", MENU_JSON.getBytes(StandardCharsets.UTF_8), Set.of(1L));
+    }
+}
@@ -16,10 +16,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,8 +73,8 @@ class RestaurantServiceAddCategoryUnitTests {
          * Test: Agregar categoría nueva al restaurante
          *
          * Verificación:
-         * ✅ Categoría se agrega correctamente
-         * ✅ Restaurant.save() se llamó (porque es nueva)
+         * ✅ Categoría se agrega con un INSERT sobre la tabla de unión
+         * ✅ No se carga la colección de categorías del restaurante ni se llama a save()
          * ✅ Retorna CategoryResponseDto correcto
          */
         @Test
@@ -82,11 +84,11 @@ class RestaurantServiceAddCategoryUnitTests {
             when(categoryService.findOrCreateCategory(categoryRequest))
                     .thenReturn(category);
 
-            when(restaurantRepository.findByIdFetchingCategories(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID))
+                    .thenReturn(true);
 
-            when(restaurantRepository.save(any(Restaurant.class)))
-                    .thenReturn(restaurant);
+            when(restaurantRepository.addOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(1);
 
             // Act
             CategoryResponseDto result = restaurantService.addCategoryToRestaurant(
@@ -100,15 +102,16 @@ class RestaurantServiceAddCategoryUnitTests {
 
             // Verify
             verify(categoryService, times(1)).findOrCreateCategory(categoryRequest);
-            verify(restaurantRepository, times(1)).findByIdFetchingCategories(RESTAURANT_ID);
-            verify(restaurantRepository, times(1)).save(any(Restaurant.class));
+            verify(restaurantRepository, times(1)).addOfferedCategories(RESTAURANT_ID, List.of(CATEGORY_ID));
+            verify(restaurantRepository, never()).findByIdFetchingCategories(anyLong());
+            verify(restaurantRepository, never()).save(any(Restaurant.class));
         }
 
         /**
          * Test: Agregar categoría que ya existe en el restaurante
          *
          * Verificación:
-         * ✅ Categoría no se agrega (ya existe)
+         * ✅ El INSERT no añade ninguna fila (ya existe)
          * ✅ Restaurant.save() NO se llamó
          * ✅ Retorna CategoryResponseDto (pero sin guardar)
          */
@@ -116,14 +119,15 @@ class RestaurantServiceAddCategoryUnitTests {
         @DisplayName("Categoría ya existe → No se guarda de nuevo")
         void whenCategoryAlreadyExists_thenNotSavedAgain() {
             // Arrange
-            // Pre-agregar la categoría al restaurante
-            restaurant.getOfferedCategories().add(category);
-
             when(categoryService.findOrCreateCategory(categoryRequest))
                     .thenReturn(category);
 
-            when(restaurantRepository.findByIdFetchingCategories(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID))
+                    .thenReturn(true);
+
+            // La fila ya existe en la tabla de unión: el INSERT no añade nada
+            when(restaurantRepository.addOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(0);
 
             // Act
             CategoryResponseDto result = restaurantService.addCategoryToRestaurant(
@@ -159,10 +163,10 @@ class RestaurantServiceAddCategoryUnitTests {
             // Primera categoría
             when(categoryService.findOrCreateCategory(request1))
                     .thenReturn(category1);
-            when(restaurantRepository.findByIdFetchingCategories(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
-            when(restaurantRepository.save(any(Restaurant.class)))
-                    .thenReturn(restaurant);
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID))
+                    .thenReturn(true);
+            when(restaurantRepository.addOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(1);
 
             // Act - Primera
             CategoryResponseDto result1 = restaurantService.addCategoryToRestaurant(
@@ -175,10 +179,10 @@ class RestaurantServiceAddCategoryUnitTests {
             // Segunda categoría
             when(categoryService.findOrCreateCategory(request2))
                     .thenReturn(category2);
-            when(restaurantRepository.findByIdFetchingCategories(RESTAURANT_ID))
-                    .thenReturn(Optional.of(restaurant));
-            when(restaurantRepository.save(any(Restaurant.class)))
-                    .thenReturn(restaurant);
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID))
+                    .thenReturn(true);
+            when(restaurantRepository.addOfferedCategories(eq(RESTAURANT_ID), any()))
+                    .thenReturn(1);
 
             CategoryResponseDto result2 = restaurantService.addCategoryToRestaurant(
                     RESTAURANT_ID, request2
@@ -209,22 +213,15 @@ class RestaurantServiceAddCategoryUnitTests {
          * Test: Restaurante no encontrado
          *
          * Verificación:
-         * ✅ Lanza RestaurantNotFoundException
-         * ✅ No intenta guardar
+         * ✅ Lanza RestaurantNotFoundException (también si está dado de baja)
+         * ✅ No crea la categoría global ni intenta guardar
          */
         @Test
         @DisplayName("Restaurante no encontrado → Lanza excepción")
         void whenRestaurantNotFound_thenThrowsException() {
             // Arrange
-            Category category = new Category();
-            category.setId(CATEGORY_ID);
-            category.setName(CATEGORY_NAME);
-
-            when(categoryService.findOrCreateCategory(categoryRequest))
-                    .thenReturn(category);
-
-            when(restaurantRepository.findByIdFetchingCategories(999L))
-                    .thenReturn(Optional.empty());
+            when(restaurantRepository.existsByIdAndIsActiveTrue(999L))
+                    .thenReturn(false);
 
             // Act & Assert
             RestaurantNotFoundException exception = assertThrows(
@@ -235,6 +232,8 @@ class RestaurantServiceAddCategoryUnitTests {
             assertTrue(exception.getMessage().toLowerCase().contains("no encontrado"));
 
             // Verify
+            verify(categoryService, never()).findOrCreateCategory(any());
+            verify(restaurantRepository, never()).addOfferedCategories(anyLong(), any());
             verify(restaurantRepository, never()).save(any(Restaurant.class));
         }
     }
@@ -2,8 +2,9 @@ package com.c24_39_t_webapp.restaurants.services.unit;
 
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
-import com.c24_39_t_webapp.restaurants.exception.UserNotFoundException;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,12 +34,14 @@ import static org.mockito.Mockito.*;
  * ✅ Sincronización con factories
  * ✅ Happy path + error cases
  *
+ * La baja es lógica: el restaurante queda inactivo y sus productos se desactivan en segundo plano
+ * al recibir el evento de baja.
+ *
  * Cobertura:
- * ✅ Delete exitoso (usuario autorizado)
- * ✅ Restaurante no existe
- * ✅ Usuario propietario no encontrado
+ * ✅ Baja exitosa (usuario propietario): queda inactivo, se guarda y se publica el evento
+ * ✅ Restaurante no existe o ya estaba dado de baja
  * ✅ Usuario no autorizado (no es propietario)
- * ✅ Verifica que restaurantRepository.deleteById() se llamó
+ * ✅ El propietario se toma del restaurante, no de un usuario con el mismo ID
  */
 @ExtendWith(MockitoExtension.class)
 @Slf4j
@@ -45,8 +49,7 @@ import static org.mockito.Mockito.*;
 public class RestaurantServiceDeleteUnitTests {
 
     private static final Long RESTAURANT_ID = 1L;
-    private static final Long OWNER_USER_ID = 1L;
-    private static final Long UNAUTHORIZED_USER_ID = 2L;
+    private static final Long OWNER_USER_ID = 7L;
     private static final String OWNER_EMAIL = "owner@restaurant.com";
     private static final String UNAUTHORIZED_EMAIL = "unauthorized@restaurant.com";
 
@@ -59,18 +62,22 @@ public class RestaurantServiceDeleteUnitTests {
     @Mock
     private com.c24_39_t_webapp.restaurants.services.ICategoryService categoryService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.RestaurantServiceImpl restaurantService;
 
     // ==================== SETUP ====================
 
-    private UserEntity owner;
+    private Restaurant restaurant;
 
     @BeforeEach
     void setUp() {
-        // ✅ Usuario propietario
-        owner = EntityModelFactory
+        // ✅ Restaurante activo cuyo propietario tiene un ID distinto al del restaurante
+        UserEntity owner = EntityModelFactory
                 .restaurantOwnerEntity(OWNER_USER_ID, OWNER_EMAIL);
+        restaurant = EntityModelFactory.restaurant(RESTAURANT_ID, owner);
     }
     /**
      * Método auxiliar para mockear SecurityContext
@@ -94,27 +101,19 @@ public class RestaurantServiceDeleteUnitTests {
     class SuccessCases {
 
         /**
-         * Test: Delete EXITOSO de restaurante autorizado
+         * Test: Baja EXITOSA de restaurante por su propietario
          *
          * Verificación:
-         * ✅ Restaurante existe
-         * ✅ Usuario autenticado es propietario
-         * ✅ restaurantRepository.existsById() retorna true
-         * ✅ userRepository.findById() retorna el propietario
-         * ✅ restaurantRepository.deleteById() se llamó una vez
-         * ✅ No lanza excepción
+         * ✅ El restaurante queda inactivo y se guarda
+         * ✅ Se publica el evento de baja (desactivación de productos en segundo plano)
+         * ✅ No se elimina la fila ni se consulta el usuario por ID
          */
         @Test
-        @DisplayName("Usuario propietario → Elimina exitosamente")
-        void whenOwnerIsAuthenticated_thenDeletesSuccessfully() {
+        @DisplayName("Usuario propietario → Desactiva el restaurante y publica la baja")
+        void whenOwnerIsAuthenticated_thenDeactivatesSuccessfully() {
             // Arrange
             setupSecurityContextWithEmail(OWNER_EMAIL);
-
-            when(restaurantRepository.existsById(RESTAURANT_ID))
-                    .thenReturn(true);
-
-            when(userRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(owner));
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(restaurant));
 
             // Act
             assertDoesNotThrow(
@@ -122,35 +121,15 @@ public class RestaurantServiceDeleteUnitTests {
                     "No debe lanzar excepción"
             );
 
-            // Verify
-            verify(restaurantRepository, times(1)).existsById(RESTAURANT_ID);
-            verify(userRepository, times(1)).findById(RESTAURANT_ID);
-            verify(restaurantRepository, times(1)).deleteById(RESTAURANT_ID);
-        }
-
-        /**
-         * Test: Verificar que deletById se llamó con ID correcto
-         *
-         * Verificación:
-         * ✅ ArgumentCaptor captura el ID pasado a deleteById
-         */
-        @Test
-        @DisplayName("Verifica que deleteById se llamó con ID correcto")
-        void whenDeleting_thenCallsDeleteWithCorrectId() {
-            // Arrange
-            setupSecurityContextWithEmail(OWNER_EMAIL);
-
-            when(restaurantRepository.existsById(RESTAURANT_ID))
-                    .thenReturn(true);
-
-            when(userRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(owner));
-
-            // Act
-            restaurantService.deleteById(RESTAURANT_ID);
+            // Assert
+            assertFalse(restaurant.getIsActive(), "El restaurante debe quedar inactivo");
 
             // Verify
-            verify(restaurantRepository, times(1)).deleteById(RESTAURANT_ID);
+            InOrder inOrder = inOrder(restaurantRepository, eventPublisher);
+            inOrder.verify(restaurantRepository).save(restaurant);
+            inOrder.verify(eventPublisher).publishEvent(RestaurantChangedEvent.deleted(RESTAURANT_ID));
+            verify(restaurantRepository, never()).deleteById(any());
+            verifyNoInteractions(userRepository);
         }
     }
 
@@ -164,16 +143,14 @@ public class RestaurantServiceDeleteUnitTests {
          * Test: Restaurante NO EXISTE
          *
          * Verificación:
-         * ✅ restaurantRepository.existsById() retorna false
          * ✅ Lanza RestaurantNotFoundException
-         * ✅ No busca usuario, no elimina
+         * ✅ No guarda ni publica eventos
          */
         @Test
         @DisplayName("Restaurante no existe → lanza RestaurantNotFoundException")
         void whenRestaurantNotFound_thenThrowsNotFoundException() {
             // Arrange
-            when(restaurantRepository.existsById(999L))
-                    .thenReturn(false);
+            when(restaurantRepository.findById(999L)).thenReturn(Optional.empty());
 
             // Act & Assert
             RestaurantNotFoundException exception = assertThrows(
@@ -186,77 +163,48 @@ public class RestaurantServiceDeleteUnitTests {
                     "Mensaje debe mencionar 'no encontrado'");
 
             // Verify
-            verify(restaurantRepository, times(1)).existsById(999L);
-            verify(userRepository, never()).findById(any());
-            verify(restaurantRepository, never()).deleteById(any());
+            verify(restaurantRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         /**
-         * Test: Usuario propietario NO ENCONTRADO
+         * Test: Restaurante YA DADO DE BAJA
          *
          * Verificación:
-         * ✅ Restaurante existe
-         * ✅ Pero userRepository.findById() no lo encuentra
-         * ✅ Lanza UserNotFoundException
-         * ✅ No elimina
+         * ✅ Un restaurante inactivo se trata como inexistente
          */
         @Test
-        @DisplayName("Usuario propietario no encontrado → lanza UserNotFoundException")
-        void whenOwnerNotFound_thenThrowsUserNotFoundException() {
+        @DisplayName("Restaurante ya inactivo → lanza RestaurantNotFoundException")
+        void whenRestaurantAlreadyInactive_thenThrowsNotFoundException() {
             // Arrange
-            setupSecurityContextWithEmail(OWNER_EMAIL);
-
-            when(restaurantRepository.existsById(RESTAURANT_ID))
-                    .thenReturn(true);
-
-            when(userRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.empty());
+            restaurant.setIsActive(false);
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(restaurant));
 
             // Act & Assert
-            UserNotFoundException exception = assertThrows(
-                    UserNotFoundException.class,
-                    () -> restaurantService.deleteById(RESTAURANT_ID),
-                    "Debe lanzar UserNotFoundException"
+            assertThrows(
+                    RestaurantNotFoundException.class,
+                    () -> restaurantService.deleteById(RESTAURANT_ID)
             );
 
-            assertTrue(exception.getMessage().contains("no encontrado"),
-                    "Mensaje debe mencionar 'no encontrado'");
-
             // Verify
-            verify(restaurantRepository, times(1)).existsById(RESTAURANT_ID);
-            verify(userRepository, times(1)).findById(RESTAURANT_ID);
-            verify(restaurantRepository, never()).deleteById(any());
+            verify(restaurantRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         /**
          * Test: Usuario NO AUTORIZADO (no es propietario)
          *
          * Verificación:
-         * ✅ Restaurante existe
          * ✅ Usuario autenticado es DIFERENTE al propietario
          * ✅ Lanza UnauthorizedAccessException
-         * ✅ No elimina
+         * ✅ El restaurante sigue activo
          */
         @Test
         @DisplayName("Usuario no es propietario → lanza UnauthorizedAccessException")
         void whenUserNotOwner_thenThrowsUnauthorizedException() {
             // Arrange
-            UserEntity unauthorizedUser = com.c24_39_t_webapp.restaurants.factories.EntityModelFactory
-                    .restaurantOwnerEntity(UNAUTHORIZED_USER_ID, UNAUTHORIZED_EMAIL);
-
-            // Cambiar usuario autenticado a uno no autorizado
-            Authentication authentication = mock(Authentication.class);
-            when(authentication.getName()).thenReturn(UNAUTHORIZED_EMAIL);
-
-            SecurityContext securityContext = mock(SecurityContext.class);
-            when(securityContext.getAuthentication()).thenReturn(authentication);
-            SecurityContextHolder.setContext(securityContext);
-
-            when(restaurantRepository.existsById(RESTAURANT_ID))
-                    .thenReturn(true);
-
-            when(userRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(owner));  // Owner es diferente al autenticado
+            setupSecurityContextWithEmail(UNAUTHORIZED_EMAIL);
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(restaurant));
 
             // Act & Assert
             UnauthorizedAccessException exception = assertThrows(
@@ -267,11 +215,11 @@ public class RestaurantServiceDeleteUnitTests {
 
             assertTrue(exception.getMessage().contains("permiso"),
                     "Mensaje debe mencionar 'permiso'");
+            assertTrue(restaurant.getIsActive(), "El restaurante debe seguir activo");
 
             // Verify
-            verify(restaurantRepository, times(1)).existsById(RESTAURANT_ID);
-            verify(userRepository, times(1)).findById(RESTAURANT_ID);
-            verify(restaurantRepository, never()).deleteById(any());
+            verify(restaurantRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         /**
@@ -284,8 +232,7 @@ public class RestaurantServiceDeleteUnitTests {
         @DisplayName("ID null → repositorio decide qué hacer")
         void whenIdNull_thenRepositoryHandlesIt() {
             // Arrange
-            when(restaurantRepository.existsById(null))
-                    .thenReturn(false);
+            when(restaurantRepository.findById(null)).thenReturn(Optional.empty());
 
             // Act & Assert
             assertThrows(
@@ -294,7 +241,7 @@ public class RestaurantServiceDeleteUnitTests {
             );
 
             // Verify
-            verify(restaurantRepository, never()).deleteById(any());
+            verify(restaurantRepository, never()).save(any());
         }
     }
 
@@ -305,31 +252,29 @@ public class RestaurantServiceDeleteUnitTests {
     class EdgeCases {
 
         /**
-         * Test: Sequence correcta de llamadas
+         * Test: El propietario es el del restaurante
          *
          * Verificación:
-         * ✅ existsById se llama PRIMERO
-         * ✅ findById se llama SEGUNDO
-         * ✅ deleteById se llama ÚLTIMO
+         * ✅ Un usuario cuyo ID coincide con el del restaurante no puede darlo de baja si no es su propietario
          */
         @Test
-        @DisplayName("Secuencia correcta de llamadas")
-        void whenDeleting_thenCallsInCorrectOrder() {
+        @DisplayName("Usuario con el mismo ID que el restaurante pero no propietario → UnauthorizedAccessException")
+        void whenUserIdMatchesRestaurantIdButNotOwner_thenThrowsUnauthorized() {
             // Arrange
-            when(restaurantRepository.existsById(RESTAURANT_ID))
-                    .thenReturn(true);
+            UserEntity sameIdUser = EntityModelFactory
+                    .restaurantOwnerEntity(RESTAURANT_ID, UNAUTHORIZED_EMAIL);
+            setupSecurityContextWithEmail(sameIdUser.getEmail());
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(restaurant));
 
-            when(userRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(owner));
-
-            // Act
-            restaurantService.deleteById(RESTAURANT_ID);
+            // Act & Assert
+            assertThrows(
+                    UnauthorizedAccessException.class,
+                    () -> restaurantService.deleteById(RESTAURANT_ID)
+            );
 
-            // Verify orden (inOrder)
-            InOrder inOrder = inOrder(restaurantRepository, userRepository);
-            inOrder.verify(restaurantRepository).existsById(RESTAURANT_ID);
-            inOrder.verify(userRepository).findById(RESTAURANT_ID);
-            inOrder.verify(restaurantRepository).deleteById(RESTAURANT_ID);
+            // Verify
+            verifyNoInteractions(userRepository);
+            verify(restaurantRepository, never()).save(any());
         }
 
         /**
@@ -340,52 +285,24 @@ public class RestaurantServiceDeleteUnitTests {
          */
         @Test
         @DisplayName("Compara por email, no por referencia de objeto")
-        void whenEmailMatches_thenDeletesSuccessfully() {
+        void whenEmailMatches_thenDeactivatesSuccessfully() {
             // Arrange
             UserEntity ownerCopy = new UserEntity();
             ownerCopy.setId(OWNER_USER_ID);
-            ownerCopy.setEmail(OWNER_EMAIL);  // Mismo email, diferente objeto
+            ownerCopy.setEmail(new String(OWNER_EMAIL));  // Mismo email, diferente objeto
             ownerCopy.setName("Copia");
-
-            when(restaurantRepository.existsById(RESTAURANT_ID))
-                    .thenReturn(true);
-
-            when(userRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(ownerCopy));
+            restaurant.setUserEntity(ownerCopy);
+            setupSecurityContextWithEmail(OWNER_EMAIL);
+            when(restaurantRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(restaurant));
 
             // Act
             assertDoesNotThrow(
                     () -> restaurantService.deleteById(RESTAURANT_ID),
-                    "Debe permitir delete si emails coinciden"
+                    "Debe permitir la baja si los emails coinciden"
             );
 
             // Verify
-            verify(restaurantRepository, times(1)).deleteById(RESTAURANT_ID);
-        }
-
-        /**
-         * Test: restaurantRepository.deleteById se llama SOLO UNA VEZ
-         *
-         * Verificación:
-         * ✅ Idempotencia: no se llama múltiples veces
-         */
-        @Test
-        @DisplayName("deleteById se llama exactamente UNA VEZ")
-        void whenDeleting_thenDeletedExactlyOnce() {
-            // Arrange
-            setupSecurityContextWithEmail(OWNER_EMAIL);
-
-            when(restaurantRepository.existsById(RESTAURANT_ID))
-                    .thenReturn(true);
-
-            when(userRepository.findById(RESTAURANT_ID))
-                    .thenReturn(Optional.of(owner));
-
-            // Act
-            restaurantService.deleteById(RESTAURANT_ID);
-
-            // Verify
-            verify(restaurantRepository, times(1)).deleteById(RESTAURANT_ID);
+            verify(restaurantRepository, times(1)).save(restaurant);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,14 @@
 package com.c24_39_t_webapp.restaurants.services.unit;
 
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantDirectoryRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantDirectoryRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.BatchResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantCardResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.exception.UserNotFoundException;
@@ -11,6 +18,11 @@ import com.c24_39_t_webapp.restaurants.models.Category;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.IOpeningHoursService;
+import com.c24_39_t_webapp.restaurants.services.impl.RestaurantServiceImpl;
+import com.c24_39_t_webapp.restaurants.utils.BatchIds;
+import com.c24_39_t_webapp.restaurants.utils.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,18 +32,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,7 +61,10 @@ import static org.mockito.Mockito.*;
  *
  * Métodos testeados:
  * - findAll()
+ * - findAll(Boolean openNow, LocalDateTime openAt)
  * - findById(Long id)
+ * - findByIds(List<Long> ids)
+ * - findDirectory(RestaurantDirectoryRequestDto directory)
  * - findRestaurantsByOwnerId(Long ownerId)
  * - findByIdFetchingCategories(Long restaurantId)
  */
@@ -74,6 +94,15 @@ public class RestaurantServiceFindUnitTests {
     @Mock
     private com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository cuisineRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ICatalogService catalogService;
+
+    @Mock
+    private IOpeningHoursService openingHoursService;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.RestaurantServiceImpl restaurantService;
 
@@ -139,14 +168,14 @@ public class RestaurantServiceFindUnitTests {
          * Test: Lista vacía de restaurantes
          *
          * Verificación:
-         * ✅ repositoryRepository.findAll() llamado
+         * ✅ repositoryRepository.findAllActive() llamado
          * ✅ Retorna Collections.emptyList()
          */
         @Test
         @DisplayName("Sin restaurantes → retorna lista vacía")
         void whenNoRestaurants_thenReturnsEmptyList() {
             // Arrange
-            when(restaurantRepository.findAll())
+            when(restaurantRepository.findAllActive())
                     .thenReturn(Collections.emptyList());
 
             // Act
@@ -158,7 +187,7 @@ public class RestaurantServiceFindUnitTests {
             assertEquals(0, result.size(), "Tamaño debe ser 0");
 
             // Verify
-            verify(restaurantRepository, times(1)).findAll();
+            verify(restaurantRepository, times(1)).findAllActive();
         }
 
         /**
@@ -173,7 +202,7 @@ public class RestaurantServiceFindUnitTests {
         @DisplayName("Con restaurantes → retorna lista con DTOs")
         void whenRestaurantsExist_thenReturnsList() {
             // Arrange
-            when(restaurantRepository.findAll())
+            when(restaurantRepository.findAllActive())
                     .thenReturn(List.of(restaurant1, restaurant2));
 
             // Act
@@ -190,7 +219,32 @@ public class RestaurantServiceFindUnitTests {
             assertEquals(CUISINE_ID, dto1.cuisineId(), "Cuisine ID debe coincidir");
 
             // Verify
-            verify(restaurantRepository, times(1)).findAll();
+            verify(restaurantRepository, times(1)).findAllActive();
+        }
+
+        /**
+         * Test: Catálogo en memoria cargado
+         *
+         * Verificación:
+         * ✅ Retorna los DTOs del catálogo
+         * ✅ repositoryRepository.findAllActive() NO llamado
+         */
+        @Test
+        @DisplayName("Con catálogo en memoria → no consulta el repositorio")
+        void whenCatalogLoaded_thenServesFromCatalog() {
+            // Arrange
+            RestaurantResponseDto cached = new RestaurantResponseDto(RESTAURANT_ID, OWNER_ID, "Atlántico", null,
+                    null, null, null, null, null, null, CUISINE_ID, null, null, null);
+            when(catalogService.findAllRestaurants()).thenReturn(Optional.of(List.of(cached)));
+
+            // Act
+            List<RestaurantResponseDto> result = restaurantService.findAll();
+
+            // Assert
+            assertEquals(List.of(cached), result, "Debe devolver los restaurantes del catálogo");
+
+            // Verify
+            verify(restaurantRepository, never()).findAllActive();
         }
 
         /**
@@ -211,7 +265,7 @@ public class RestaurantServiceFindUnitTests {
             restaurantWithNulls.setUserEntity(null);  // null
             restaurantWithNulls.setCuisine(null);  // null
 
-            when(restaurantRepository.findAll())
+            when(restaurantRepository.findAllActive())
                     .thenReturn(List.of(restaurantWithNulls));
 
             // Act
@@ -225,7 +279,36 @@ public class RestaurantServiceFindUnitTests {
             assertNull(dto.cuisineName(), "Cuisine name puede ser null");
 
             // Verify
-            verify(restaurantRepository, times(1)).findAll();
+            verify(restaurantRepository, times(1)).findAllActive();
+        }
+
+        /**
+         * Test: Filtro por horario
+         *
+         * Verificación:
+         * ✅ Solo los restaurantes que el índice de horarios da por abiertos
+         * ✅ Sirve desde el catálogo en memoria, sin consultar el repositorio
+         */
+        @Test
+        @DisplayName("Con openAt → solo los restaurantes abiertos en ese momento")
+        void whenOpenAt_thenOnlyOpenRestaurants() {
+            // Arrange
+            LocalDateTime openAt = LocalDateTime.of(2026, 10, 16, 21, 30);
+            RestaurantResponseDto open = new RestaurantResponseDto(RESTAURANT_ID, OWNER_ID, "Atlántico", null,
+                    null, null, null, null, null, null, CUISINE_ID, null, null, null);
+            RestaurantResponseDto closed = new RestaurantResponseDto(RESTAURANT_ID_2, OWNER_ID, "La Paella", null,
+                    null, null, null, null, null, null, CUISINE_ID, null, null, null);
+            when(catalogService.findAllRestaurants()).thenReturn(Optional.of(List.of(open, closed)));
+            when(openingHoursService.openFilter(null, openAt)).thenReturn(Optional.of(id -> id == RESTAURANT_ID));
+
+            // Act
+            List<RestaurantResponseDto> result = restaurantService.findAll(null, openAt);
+
+            // Assert
+            assertEquals(List.of(open), result, "Solo el restaurante abierto");
+
+            // Verify
+            verify(restaurantRepository, never()).findAllActive();
         }
     }
 
@@ -336,6 +419,130 @@ public class RestaurantServiceFindUnitTests {
         }
     }
 
+    // ==================== FIND BY IDS TESTS ====================
+
+    @Nested
+    @DisplayName("findByIds() Tests")
+    class FindByIdsTests {
+
+        @Test
+        @DisplayName("findByIds() - Una consulta IN, en el orden solicitado y con los IDs inexistentes marcados")
+        void whenSomeIdsMissing_thenReturnsRequestOrderWithMissingMarkers() {
+            // Arrange
+            List<RestaurantResponseDto> restaurants = RestaurantFactory.responseListDefault();
+            when(restaurantRepository.findRestaurantDtosByIds(List.of(RESTAURANT_ID_2, 50L, RESTAURANT_ID)))
+                    .thenReturn(restaurants);
+
+            // Act
+            BatchResponseDto<RestaurantResponseDto> result =
+                    restaurantService.findByIds(List.of(RESTAURANT_ID_2, 50L, RESTAURANT_ID));
+
+            // Assert
+            assertEquals(3, result.items().size());
+            assertEquals(RESTAURANT_ID_2, result.items().get(0).data().rst_id());
+            assertFalse(result.items().get(1).found());
+            assertEquals(RESTAURANT_ID, result.items().get(2).data().rst_id());
+            assertEquals(List.of(50L), result.missingIds());
+
+            // Verify
+            verify(restaurantRepository, times(1)).findRestaurantDtosByIds(any());
+            verify(restaurantRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("findByIds() - Solo IDs no válidos: todos marcados y sin consultar")
+        void whenOnlyInvalidIds_thenAllMissingWithoutQuery() {
+            // Act
+            BatchResponseDto<RestaurantResponseDto> result = restaurantService.findByIds(List.of(0L, -1L));
+
+            // Assert
+            assertEquals(List.of(0L, -1L), result.missingIds());
+
+            // Verify
+            verify(restaurantRepository, never()).findRestaurantDtosByIds(any());
+        }
+
+        @Test
+        @DisplayName("findByIds() - Lanza BadRequestException si se superan los IDs permitidos")
+        void whenTooManyIds_thenThrowsBadRequestException() {
+            // Arrange
+            List<Long> tooMany = LongStream.rangeClosed(1, BatchIds.MAX_IDS + 1).boxed().toList();
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> restaurantService.findByIds(tooMany));
+        }
+    }
+
+    // ==================== FIND DIRECTORY TESTS ====================
+
+    @Nested
+    @DisplayName("findDirectory() Tests")
+    class FindDirectoryTests {
+
+        @Test
+        @DisplayName("findDirectory() - Lee una fila de más y devuelve el cursor de la última fila de la página")
+        void whenMoreRowsThanPageSize_thenReturnsPageWithNextCursor() {
+            // Arrange
+            List<RestaurantDirectoryRow> rows = List.of(
+                    directoryRow(RESTAURANT_ID, 4.5),
+                    directoryRow(RESTAURANT_ID_2, 4.5),
+                    directoryRow(3L, null));
+            when(restaurantRepository.findDirectoryPage(CUISINE_ID, RestaurantSort.RATING, null, null, 3))
+                    .thenReturn(rows);
+
+            // Act
+            KeysetPageDto<RestaurantCardResponseDto> page = restaurantService.findDirectory(
+                    new RestaurantDirectoryRequestDto("rating", null, 2, CUISINE_ID));
+
+            // Assert
+            assertEquals(List.of(RESTAURANT_ID, RESTAURANT_ID_2),
+                    page.items().stream().map(RestaurantCardResponseDto::rst_id).toList());
+            KeysetCursor cursor = KeysetCursor.decode(page.nextCursor(), RestaurantSort.RATING.name());
+            assertEquals("4.5", cursor.key());
+            assertEquals(RESTAURANT_ID_2, cursor.id());
+            assertEquals(new BigDecimal("9.50"), page.items().get(0).minPrice());
+        }
+
+        @Test
+        @DisplayName("findDirectory() - Con cursor continúa tras la clave y el ID; sin más filas no hay cursor")
+        void whenCursorGiven_thenContinuesAfterKeyAndId() {
+            // Arrange
+            String cursor = new KeysetCursor(RestaurantSort.RATING.name(), "-1.0", 7L).encode();
+            when(restaurantRepository.findDirectoryPage(null, RestaurantSort.RATING, -1.0, 7L,
+                    RestaurantServiceImpl.DEFAULT_PAGE_SIZE + 1)).thenReturn(List.of(directoryRow(8L, null)));
+
+            // Act
+            KeysetPageDto<RestaurantCardResponseDto> page = restaurantService.findDirectory(
+                    new RestaurantDirectoryRequestDto("rating", cursor, null, null));
+
+            // Assert
+            assertEquals(1, page.items().size());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("findDirectory() - Lanza BadRequestException con un orden no soportado o un cursor de otro orden")
+        void whenInvalidSortOrCursor_thenThrowsBadRequestException() {
+            // Arrange
+            String nameCursor = new KeysetCursor(RestaurantSort.NAME.name(), "Casa", 1L).encode();
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> restaurantService.findDirectory(
+                    new RestaurantDirectoryRequestDto("price", null, null, null)));
+            assertThrows(BadRequestException.class, () -> restaurantService.findDirectory(
+                    new RestaurantDirectoryRequestDto("newest", nameCursor, null, null)));
+
+            // Verify
+            verify(restaurantRepository, never()).findDirectoryPage(any(), any(), any(), any(), anyInt());
+        }
+
+        private RestaurantDirectoryRow directoryRow(Long id, Double averageScore) {
+            return new RestaurantDirectoryRow(id, "Restaurante " + id, "Descripción", "Calle Mayor 1",
+                    "logo.png", "cover.png", CUISINE_ID, "Italiana", averageScore, averageScore, averageScore == null ? 0L : 10L,
+                    new BigDecimal("9.50"), new BigDecimal("12.00"), LocalDateTime.of(2026, 1, 1, 12, 0));
+        }
+    }
+
     // ==================== FIND BY OWNER ID TESTS ====================
 
     @Nested
@@ -0,0 +1,242 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesReplaceDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.OfferedCategoriesUpdateDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CategoryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.OfferedCategoriesResultDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.RestaurantServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para RestaurantServiceImpl.updateOfferedCategories() y replaceOfferedCategories()
+ * <p>
+ * Cobertura:
+ * ✅ Éxito: Añadir y quitar con una sentencia cada uno, sin cargar la colección de categorías; duplicados fuera
+ * ✅ Éxito: El permiso se comprueba con el email del dueño, sin cargar el restaurante
+ * ✅ Éxito: Las categorías que no existen se ignoran y se informan en notFound
+ * ✅ Éxito: Sustituir borra las que sobran e inserta las que faltan; con lista vacía se borran todas
+ * ✅ Error: Sin categorías que añadir ni quitar, o una misma en ambas listas → 400
+ * ✅ Error: Restaurante inactivo
+ * ✅ Error: Restaurante de otro propietario (sin tocar la tabla de unión)
+ */
+@ExtendWith(MockitoExtension.class)
+@Slf4j
+@DisplayName("RestaurantServiceImpl - updateOfferedCategories() / replaceOfferedCategories()")
+class RestaurantServiceOfferedCategoriesUnitTests {
+
+    private static final Long RESTAURANT_ID = 1L;
+    private static final String OWNER_EMAIL = "owner@restaurant.com";
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @InjectMocks
+    private RestaurantServiceImpl restaurantService;
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases")
+    class SuccessCases {
+
+        /**
+         * Test que verifica que se quita y se añade con una sentencia cada una, con los IDs sin duplicar,
+         * y que las categorías inexistentes se devuelven en notFound.
+         */
+        @Test
+        @DisplayName("updateOfferedCategories() - Un DELETE y un INSERT; las inexistentes van a notFound")
+        void whenUpdate_thenSetBasedStatementsAndNotFoundReported() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID)).thenReturn(Optional.of(OWNER_EMAIL));
+            when(restaurantRepository.removeOfferedCategories(RESTAURANT_ID, Set.of(3L))).thenReturn(1);
+            when(restaurantRepository.addOfferedCategories(RESTAURANT_ID, Set.of(1L, 2L, 99L))).thenReturn(2);
+            when(restaurantRepository.findOfferedCategoryDtos(RESTAURANT_ID)).thenReturn(List.of(
+                    new CategoryResponseDto(1L, "Pizzas", "Desc"), new CategoryResponseDto(2L, "Pastas", "Desc")));
+
+            // Act
+            OfferedCategoriesResultDto result = restaurantService.updateOfferedCategories(RESTAURANT_ID,
+                    new OfferedCategoriesUpdateDto(List.of(1L, 2L, 2L, 99L), List.of(3L, 3L)));
+
+            // Assert
+            assertEquals(2, result.added());
+            assertEquals(1, result.removed());
+            assertEquals(List.of(99L), result.notFound());
+            assertEquals(2, result.categories().size());
+
+            // Verify
+            verify(restaurantRepository, never()).findByIdFetchingCategories(anyLong());
+            verify(restaurantRepository, never()).findById(anyLong());
+            verify(restaurantRepository, never()).save(any());
+        }
+
+        /**
+         * Test que verifica que solo con categorías que quitar no se lanza el INSERT.
+         */
+        @Test
+        @DisplayName("updateOfferedCategories() - Solo quitar: no se lanza el INSERT")
+        void whenOnlyRemove_thenNoInsert() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID)).thenReturn(Optional.of(OWNER_EMAIL));
+            when(restaurantRepository.removeOfferedCategories(RESTAURANT_ID, Set.of(3L))).thenReturn(1);
+            when(restaurantRepository.findOfferedCategoryDtos(RESTAURANT_ID)).thenReturn(List.of());
+
+            // Act
+            OfferedCategoriesResultDto result = restaurantService.updateOfferedCategories(RESTAURANT_ID,
+                    new OfferedCategoriesUpdateDto(null, List.of(3L)));
+
+            // Assert
+            assertEquals(0, result.added());
+            assertEquals(1, result.removed());
+            assertTrue(result.notFound().isEmpty(), "Las categorías quitadas no se informan como inexistentes");
+
+            // Verify
+            verify(restaurantRepository, never()).addOfferedCategories(anyLong(), any());
+        }
+
+        /**
+         * Test que verifica que sustituir borra las categorías que no están en la lista e inserta las que faltan.
+         */
+        @Test
+        @DisplayName("replaceOfferedCategories() - DELETE de las que sobran e INSERT de las que faltan")
+        void whenReplace_thenDeleteNotInAndInsert() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID)).thenReturn(Optional.of(OWNER_EMAIL));
+            when(restaurantRepository.removeOfferedCategoriesNotIn(RESTAURANT_ID, Set.of(1L, 2L))).thenReturn(3);
+            when(restaurantRepository.addOfferedCategories(RESTAURANT_ID, Set.of(1L, 2L))).thenReturn(1);
+            when(restaurantRepository.findOfferedCategoryDtos(RESTAURANT_ID)).thenReturn(List.of(
+                    new CategoryResponseDto(1L, "Pizzas", "Desc"), new CategoryResponseDto(2L, "Pastas", "Desc")));
+
+            // Act
+            OfferedCategoriesResultDto result = restaurantService.replaceOfferedCategories(RESTAURANT_ID,
+                    new OfferedCategoriesReplaceDto(List.of(1L, 2L)));
+
+            // Assert
+            assertEquals(1, result.added());
+            assertEquals(3, result.removed());
+            assertTrue(result.notFound().isEmpty());
+
+            // Verify
+            verify(restaurantRepository, never()).removeAllOfferedCategories(anyLong());
+        }
+
+        /**
+         * Test que verifica que sustituir por una lista vacía deja el restaurante sin categorías.
+         */
+        @Test
+        @DisplayName("replaceOfferedCategories() - Lista vacía: se borran todas")
+        void whenReplaceWithEmptyList_thenRemovesAll() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID)).thenReturn(Optional.of(OWNER_EMAIL));
+            when(restaurantRepository.removeAllOfferedCategories(RESTAURANT_ID)).thenReturn(4);
+            when(restaurantRepository.findOfferedCategoryDtos(RESTAURANT_ID)).thenReturn(List.of());
+
+            // Act
+            OfferedCategoriesResultDto result = restaurantService.replaceOfferedCategories(RESTAURANT_ID,
+                    new OfferedCategoriesReplaceDto(List.of()));
+
+            // Assert
+            assertEquals(new OfferedCategoriesResultDto(0, 4, List.of(), List.of()), result);
+
+            // Verify
+            verify(restaurantRepository, never()).addOfferedCategories(anyLong(), any());
+            verify(restaurantRepository, never()).removeOfferedCategoriesNotIn(anyLong(), any());
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases")
+    class ErrorCases {
+
+        /**
+         * Test que verifica que una petición sin categorías que añadir ni quitar se rechaza.
+         */
+        @Test
+        @DisplayName("updateOfferedCategories() - Sin categorías → BadRequestException")
+        void whenNothingToChange_thenThrowsBadRequest() {
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> restaurantService.updateOfferedCategories(RESTAURANT_ID,
+                    new OfferedCategoriesUpdateDto(List.of(), null)));
+            verifyNoInteractions(restaurantRepository);
+        }
+
+        /**
+         * Test que verifica que una misma categoría no puede añadirse y quitarse en la misma petición.
+         */
+        @Test
+        @DisplayName("updateOfferedCategories() - Misma categoría en ambas listas → BadRequestException")
+        void whenSameCategoryAddedAndRemoved_thenThrowsBadRequest() {
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> restaurantService.updateOfferedCategories(RESTAURANT_ID,
+                    new OfferedCategoriesUpdateDto(List.of(1L, 2L), List.of(2L))));
+            verifyNoInteractions(restaurantRepository);
+        }
+
+        /**
+         * Test que verifica el error cuando el restaurante está dado de baja.
+         */
+        @Test
+        @DisplayName("replaceOfferedCategories() - Restaurante inactivo → RestaurantNotFoundException")
+        void whenRestaurantInactive_thenThrowsNotFound() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class, () -> restaurantService.replaceOfferedCategories(
+                    RESTAURANT_ID, new OfferedCategoriesReplaceDto(List.of(1L))));
+            verify(restaurantRepository, never()).removeOfferedCategoriesNotIn(anyLong(), any());
+        }
+
+        /**
+         * Test que verifica que no se toca la tabla de unión si el restaurante es de otro propietario.
+         */
+        @Test
+        @DisplayName("updateOfferedCategories() - Restaurante de otro propietario → UnauthorizedAccessException")
+        void whenNotOwner_thenThrowsUnauthorized() {
+            // Arrange
+            setAuthentication("other@restaurant.com");
+            when(restaurantRepository.findActiveOwnerEmailById(RESTAURANT_ID)).thenReturn(Optional.of(OWNER_EMAIL));
+
+            // Act & Assert
+            assertThrows(UnauthorizedAccessException.class, () -> restaurantService.updateOfferedCategories(
+                    RESTAURANT_ID, new OfferedCategoriesUpdateDto(List.of(1L), null)));
+            verify(restaurantRepository, never()).addOfferedCategories(anyLong(), any());
+            verify(restaurantRepository, never()).removeOfferedCategories(anyLong(), any());
+        }
+    }
+
+    private void setAuthentication(String email) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -1,7 +1,9 @@
 package com.c24_39_t_webapp.restaurants.services.unit;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
 import com.c24_39_t_webapp.restaurants.factories.RestaurantFactory;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
@@ -16,6 +18,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -39,6 +42,7 @@ import static org.mockito.Mockito.*;
  * ✅ Usuario no encontrado
  * ✅ Usuario sin rol RESTAURANTE
  * ✅ Cuisine no encontrada
+ * ✅ Coordenadas incompletas
  * ✅ Retorna RestaurantResponseDto con datos correctos
  */
 @ExtendWith(MockitoExtension.class)
@@ -64,9 +68,15 @@ public class RestaurantServiceRegisterUnitTests {
     @Mock
     private com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository cuisineRepository;
 
+    @Mock
+    private com.c24_39_t_webapp.restaurants.services.IReferenceDataService referenceDataService;
+
     @Mock
     private EntityManager entityManager;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.RestaurantServiceImpl restaurantService;
 
@@ -114,8 +124,7 @@ public class RestaurantServiceRegisterUnitTests {
             when(userRepository.findByEmail(VALID_EMAIL))
                     .thenReturn(Optional.of(validOwner));
 
-            when(cuisineRepository.findById(validRestaurantRequest.cuisineId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(validRestaurantRequest.cuisineId(), validCuisine);
 
             // Act
             RestaurantResponseDto result = restaurantService.registerRestaurant(
@@ -136,7 +145,7 @@ public class RestaurantServiceRegisterUnitTests {
 
             // Verify
             verify(userRepository, times(1)).findByEmail(VALID_EMAIL);
-            verify(cuisineRepository, times(1)).findById(validRestaurantRequest.cuisineId());
+            verify(referenceDataService, times(1)).findCuisine(validRestaurantRequest.cuisineId());
             verify(entityManager, times(1)).persist(any(Restaurant.class));
             verify(entityManager, times(1)).flush();
         }
@@ -156,8 +165,7 @@ public class RestaurantServiceRegisterUnitTests {
             when(userRepository.findByEmail(VALID_EMAIL))
                     .thenReturn(Optional.of(validOwner));
 
-            when(cuisineRepository.findById(validRestaurantRequest.cuisineId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(validRestaurantRequest.cuisineId(), validCuisine);
 
             // Captura el argumento pasado a persist()
             ArgumentCaptor<Restaurant> restaurantCaptor = ArgumentCaptor.forClass(Restaurant.class);
@@ -181,6 +189,8 @@ public class RestaurantServiceRegisterUnitTests {
                     "Dirección en entidad debe coincidir");
             assertEquals(validRestaurantRequest.openingHours(), capturedRestaurant.getOpeningHours(),
                     "Horario en entidad debe coincidir");
+            assertEquals(14, capturedRestaurant.getOpeningSchedule().size(),
+                    "Sin horario estructurado se deduce del texto: dos turnos cada día");
             assertEquals(validOwner, capturedRestaurant.getUserEntity(),
                     "Usuario debe estar asignado");
             assertEquals(validCuisine, capturedRestaurant.getCuisine(),
@@ -194,6 +204,30 @@ public class RestaurantServiceRegisterUnitTests {
     @DisplayName("Error Cases - registerRestaurant()")
     class ErrorCases {
 
+        /**
+         * Test: Coordenadas incompletas
+         *
+         * Verificación:
+         * ✅ Solo latitud (sin longitud) → lanza BadRequestException
+         * ✅ No busca el usuario ni persiste
+         */
+        @Test
+        @DisplayName("Latitud sin longitud → lanza BadRequestException")
+        void whenOnlyLatitude_thenThrowsBadRequest() {
+            // Arrange
+            RestaurantRequestDto onlyLatitude = new RestaurantRequestDto(
+                    USER_ID, "Mi Restaurante", "Descripción", CUISINE_ID, "555 666 777", VALID_EMAIL,
+                    "Dirección", null, null, null, 40.4168, null, null);
+
+            // Act & Assert
+            assertThrows(BadRequestException.class,
+                    () -> restaurantService.registerRestaurant(onlyLatitude, VALID_EMAIL));
+
+            // Verify
+            verify(userRepository, never()).findByEmail(any());
+            verify(entityManager, never()).persist(any());
+        }
+
         /**
          * Test: Usuario NO ENCONTRADO
          *
@@ -223,7 +257,7 @@ public class RestaurantServiceRegisterUnitTests {
 
             // Verify
             verify(userRepository, times(1)).findByEmail(INVALID_EMAIL);
-            verify(cuisineRepository, never()).findById(any());
+            verify(referenceDataService, never()).findCuisine(any());
             verify(entityManager, never()).persist(any());
         }
 
@@ -259,7 +293,7 @@ public class RestaurantServiceRegisterUnitTests {
 
             // Verify
             verify(userRepository, times(1)).findByEmail(VALID_EMAIL);
-            verify(cuisineRepository, never()).findById(any());
+            verify(referenceDataService, never()).findCuisine(any());
             verify(entityManager, never()).persist(any());
         }
 
@@ -279,7 +313,7 @@ public class RestaurantServiceRegisterUnitTests {
             when(userRepository.findByEmail(VALID_EMAIL))
                     .thenReturn(Optional.of(validOwner));
 
-            when(cuisineRepository.findById(validRestaurantRequest.cuisineId()))
+            when(referenceDataService.findCuisine(validRestaurantRequest.cuisineId()))
                     .thenReturn(Optional.empty());
 
             // Act & Assert
@@ -296,7 +330,7 @@ public class RestaurantServiceRegisterUnitTests {
 
             // Verify
             verify(userRepository, times(1)).findByEmail(VALID_EMAIL);
-            verify(cuisineRepository, times(1)).findById(validRestaurantRequest.cuisineId());
+            verify(referenceDataService, times(1)).findCuisine(validRestaurantRequest.cuisineId());
             verify(entityManager, never()).persist(any());
         }
 
@@ -351,14 +385,16 @@ public class RestaurantServiceRegisterUnitTests {
                     "Dirección",
                     null,  // openingHours null
                     null,  // logo null
-                    null   // coverImage null
+                    null,  // coverImage null
+                    null,  // latitude null
+                    null,  // longitude null
+                    null   // openingSchedule null
             );
 
             when(userRepository.findByEmail(VALID_EMAIL))
                     .thenReturn(Optional.of(validOwner));
 
-            when(cuisineRepository.findById(CUISINE_ID))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(CUISINE_ID, validCuisine);
 
             // Act
             RestaurantResponseDto result = restaurantService.registerRestaurant(
@@ -391,8 +427,7 @@ public class RestaurantServiceRegisterUnitTests {
             when(userRepository.findByEmail(VALID_EMAIL))
                     .thenReturn(Optional.of(validOwner));
 
-            when(cuisineRepository.findById(factoryRequest.cuisineId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(factoryRequest.cuisineId(), validCuisine);
 
             // Act
             RestaurantResponseDto result = restaurantService.registerRestaurant(
@@ -409,4 +444,13 @@ public class RestaurantServiceRegisterUnitTests {
             assertEquals(factoryRequest.openingHours(), result.openingHours(), "Horario debe ser del factory");
         }
     }
+
+    /**
+     * El tipo de cocina se valida contra los datos de referencia en memoria; el restaurante recibe la referencia JPA.
+     */
+    private void stubCuisine(Long cuisineId, RestaurantCuisine cuisine) {
+        when(referenceDataService.findCuisine(cuisineId))
+                .thenReturn(Optional.of(new CuisineResponseDto(cuisine.getId(), cuisine.getName())));
+        lenient().when(cuisineRepository.getReferenceById(cuisine.getId())).thenReturn(cuisine);
+    }
 }
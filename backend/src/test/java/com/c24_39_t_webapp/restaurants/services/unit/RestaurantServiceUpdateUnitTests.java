@@ -1,11 +1,14 @@
 package com.c24_39_t_webapp.restaurants.services.unit;
 
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
 import com.c24_39_t_webapp.restaurants.dtos.request.RestaurantRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.CuisineResponseDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
 import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
 import com.c24_39_t_webapp.restaurants.factories.RestaurantFactory;
+import com.c24_39_t_webapp.restaurants.models.OpeningInterval;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.RestaurantCuisine;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
@@ -19,12 +22,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -64,6 +71,12 @@ public class RestaurantServiceUpdateUnitTests {
     @Mock
     private com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository cuisineRepository;
 
+    @Mock
+    private com.c24_39_t_webapp.restaurants.services.IReferenceDataService referenceDataService;
+
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.RestaurantServiceImpl restaurantService;
@@ -135,8 +148,7 @@ public class RestaurantServiceUpdateUnitTests {
             when(restaurantRepository.findById(RESTAURANT_ID))
                     .thenReturn(Optional.of(existingRestaurant));
 
-            when(cuisineRepository.findById(validUpdateRequest.cuisineId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(validUpdateRequest.cuisineId(), validCuisine);
 
             when(restaurantRepository.save(any(Restaurant.class)))
                     .thenReturn(existingRestaurant);
@@ -168,8 +180,7 @@ public class RestaurantServiceUpdateUnitTests {
             when(restaurantRepository.findById(RESTAURANT_ID))
                     .thenReturn(Optional.of(existingRestaurant));
 
-            when(cuisineRepository.findById(validUpdateRequest.cuisineId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(validUpdateRequest.cuisineId(), validCuisine);
 
             ArgumentCaptor<Restaurant> restaurantCaptor = ArgumentCaptor.forClass(Restaurant.class);
             when(restaurantRepository.save(restaurantCaptor.capture()))
@@ -221,8 +232,7 @@ public class RestaurantServiceUpdateUnitTests {
             when(restaurantRepository.findById(RESTAURANT_ID))
                     .thenReturn(Optional.of(existingRestaurant));
 
-            when(cuisineRepository.findById(validUpdateRequest.cuisineId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(validUpdateRequest.cuisineId(), validCuisine);
 
             when(restaurantRepository.save(any(Restaurant.class)))
                     .thenReturn(existingRestaurant);
@@ -353,8 +363,7 @@ public class RestaurantServiceUpdateUnitTests {
             when(restaurantRepository.findById(RESTAURANT_ID))
                     .thenReturn(Optional.of(existingRestaurant));
 
-            when(cuisineRepository.findById(validUpdateRequest.cuisineId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(validUpdateRequest.cuisineId(), validCuisine);
 
             // Act & Assert
             UnauthorizedAccessException exception = assertThrows(
@@ -389,8 +398,7 @@ public class RestaurantServiceUpdateUnitTests {
             when(restaurantRepository.findById(RESTAURANT_ID))
                     .thenReturn(Optional.of(existingRestaurant));
 
-            when(cuisineRepository.findById(existingRestaurant.getCuisine().getId()))
-                    .thenReturn(Optional.of(validCuisine));
+            stubCuisine(existingRestaurant.getCuisine().getId(), validCuisine);
 
             // Act & Assert
             UnauthorizedAccessException exception = assertThrows(
@@ -446,14 +454,16 @@ public class RestaurantServiceUpdateUnitTests {
                         "DIRECCIÓN NUEVA",
                         "09:00-23:00",
                         "https://example.com/logo_new.png",
-                        "https://example.com/cover_new.jpg"
+                        "https://example.com/cover_new.jpg",
+                        41.3874,
+                        2.1686,
+                        List.of(new OpeningIntervalDto(DayOfWeek.FRIDAY, LocalTime.of(20, 0), LocalTime.of(2, 0)))
                 );
 
                 when(restaurantRepository.findById(RESTAURANT_ID))
                         .thenReturn(Optional.of(existingRestaurant));
 
-                when(cuisineRepository.findById(newCuisineID))
-                        .thenReturn(Optional.of(newCuisine));
+                stubCuisine(newCuisineID, newCuisine);
 
                 when(restaurantRepository.save(any(Restaurant.class)))
                         .thenReturn(existingRestaurant);
@@ -471,10 +481,22 @@ public class RestaurantServiceUpdateUnitTests {
                 assertEquals("999 999 999", result.phone());
                 assertEquals("newemail@restaurant.com", result.email());
                 assertEquals("DIRECCIÓN NUEVA", result.address());
+                assertEquals(41.3874, result.latitude());
+                assertEquals(2.1686, result.longitude());
+                assertEquals(List.of(new OpeningInterval(DayOfWeek.FRIDAY, LocalTime.of(20, 0), LocalTime.of(2, 0))),
+                        existingRestaurant.getOpeningSchedule(), "El horario estructurado sustituye al anterior");
 
                 // Verify
                 verify(restaurantRepository, times(1)).save(any(Restaurant.class));
             }
         }
 
+    /**
+     * El tipo de cocina se valida contra los datos de referencia en memoria; el restaurante recibe la referencia JPA.
+     */
+    private void stubCuisine(Long cuisineId, RestaurantCuisine cuisine) {
+        when(referenceDataService.findCuisine(cuisineId))
+                .thenReturn(Optional.of(new CuisineResponseDto(cuisine.getId(), cuisine.getName())));
+        lenient().when(cuisineRepository.getReferenceById(cuisine.getId())).thenReturn(cuisine);
+    }
 }
@@ -0,0 +1,251 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.PriceAggregateRow;
+import com.c24_39_t_webapp.restaurants.dtos.projection.ScoreCountRow;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ReviewChangedEvent;
+import com.c24_39_t_webapp.restaurants.models.RestaurantStats;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantStatsRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.RestaurantStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para RestaurantStatsServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: RestaurantStatsRepository (bloqueo de la fila y agregados) y RestaurantRepository (IDs existentes)
+ * - El servicio se construye a mano con un peso de 10 reseñas y una media global inicial de 5
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Recalcular un restaurante: bloquea su fila, aplica el histograma y los precios y redondea medias
+ * ✅ Restaurante sin reseñas ni productos: contadores a cero y medias null
+ * ✅ Eventos de reseña: mueven el histograma sin agregar; sin fila o con el histograma descuadrado, recalculan
+ * ✅ Eventos de producto y restaurante (la baja conserva las estadísticas)
+ * ✅ Recalcular todos: crea las filas que faltan, elimina las huérfanas y actualiza la media global
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RestaurantStatsServiceImpl - Unit Tests")
+class RestaurantStatsServiceUnitTests {
+
+    private static final Long RESTAURANT_ID = 1L;
+
+    @Mock
+    private RestaurantStatsRepository statsRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private RestaurantStatsServiceImpl statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new RestaurantStatsServiceImpl(statsRepository, restaurantRepository, 10, 5.0);
+    }
+
+    @Nested
+    @DisplayName("refresh()")
+    class Refresh {
+
+        @Test
+        @DisplayName("refresh() - Bloquea la fila existente y guarda media de reseñas y precios redondeados")
+        void whenAggregatesExist_thenStatsUpdated() {
+            // Arrange
+            RestaurantStats existing = new RestaurantStats(RESTAURANT_ID);
+            when(statsRepository.findByIdForUpdate(RESTAURANT_ID)).thenReturn(Optional.of(existing));
+            when(statsRepository.countScores(RESTAURANT_ID)).thenReturn(List.of(
+                    new ScoreCountRow(RESTAURANT_ID, 4, 2L), new ScoreCountRow(RESTAURANT_ID, 5, 1L)));
+            when(statsRepository.aggregatePrices(RESTAURANT_ID)).thenReturn(Optional.of(
+                    new PriceAggregateRow(RESTAURANT_ID, 3L, new BigDecimal("4.50"), new BigDecimal("20.00"))));
+
+            // Act
+            statsService.refresh(RESTAURANT_ID);
+
+            // Assert
+            assertEquals(3, existing.getReviewCount());
+            assertEquals(13, existing.getScoreSum());
+            assertEquals(4.33, existing.getAverageScore());
+            assertEquals(4.85, existing.getBayesianScore(), "(10 × 5 + 13) / (10 + 3)");
+            assertEquals(2, existing.getScoreHistogram()[4]);
+            assertEquals(new BigDecimal("4.50"), existing.getMinPrice());
+            assertEquals(new BigDecimal("6.67"), existing.getAveragePrice());
+
+            // Verify
+            verify(statsRepository, times(1)).save(existing);
+        }
+
+        @Test
+        @DisplayName("refresh() - Sin fila previa la crea; sin reseñas ni productos las medias son null")
+        void whenNoRowAndNoData_thenEmptyStatsCreated() {
+            // Arrange
+            when(statsRepository.findByIdForUpdate(RESTAURANT_ID)).thenReturn(Optional.empty());
+            when(statsRepository.countScores(RESTAURANT_ID)).thenReturn(List.of());
+            when(statsRepository.aggregatePrices(RESTAURANT_ID)).thenReturn(Optional.empty());
+            ArgumentCaptor<RestaurantStats> saved = ArgumentCaptor.forClass(RestaurantStats.class);
+
+            // Act
+            statsService.refresh(RESTAURANT_ID);
+
+            // Assert
+            verify(statsRepository).save(saved.capture());
+            assertEquals(RESTAURANT_ID, saved.getValue().getRestaurantId());
+            assertEquals(0, saved.getValue().getReviewCount());
+            assertNull(saved.getValue().getAverageScore());
+            assertNull(saved.getValue().getBayesianScore());
+            assertNull(saved.getValue().getMinPrice());
+            assertNull(saved.getValue().getAveragePrice());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sincronización con eventos")
+    class Events {
+
+        @Test
+        @DisplayName("onReviewChanged() sin fila / onProductChanged() - Recalculan el restaurante afectado")
+        void whenReviewOrProductChanged_thenRestaurantRefreshed() {
+            // Arrange
+            when(statsRepository.findByIdForUpdate(RESTAURANT_ID)).thenReturn(Optional.empty());
+
+            // Act
+            statsService.onReviewChanged(ReviewChangedEvent.deleted(10L, RESTAURANT_ID, 7));
+            statsService.onProductChanged(ProductChangedEvent.deleted(20L, RESTAURANT_ID));
+
+            // Verify
+            verify(statsRepository, times(2)).countScores(RESTAURANT_ID);
+            verify(statsRepository, times(2)).save(any(RestaurantStats.class));
+        }
+
+        @Test
+        @DisplayName("onReviewChanged() - Un cambio de puntuación mueve el histograma sin agregar las reseñas")
+        void whenScoreChanged_thenHistogramShiftedWithoutAggregating() {
+            // Arrange
+            RestaurantStats existing = statsWithScores(8, 10);
+            when(statsRepository.findByIdForUpdate(RESTAURANT_ID)).thenReturn(Optional.of(existing));
+
+            // Act
+            statsService.onReviewChanged(ReviewChangedEvent.updated(10L, RESTAURANT_ID, 8, 6));
+            statsService.onReviewChanged(ReviewChangedEvent.created(11L, RESTAURANT_ID, 9));
+
+            // Assert
+            assertEquals(0, existing.getScoreHistogram()[8]);
+            assertEquals(1, existing.getScoreHistogram()[6]);
+            assertEquals(3, existing.getReviewCount());
+            assertEquals(25, existing.getScoreSum());
+            assertEquals(8.33, existing.getAverageScore());
+            assertEquals(5.77, existing.getBayesianScore(), "(10 × 5 + 25) / (10 + 3)");
+
+            // Verify
+            verify(statsRepository, never()).countScores(any());
+            verify(statsRepository, times(2)).save(existing);
+        }
+
+        @Test
+        @DisplayName("onReviewChanged() - Solo cambia el comentario: no toca las estadísticas")
+        void whenOnlyCommentChanged_thenNothingUpdated() {
+            // Act
+            statsService.onReviewChanged(ReviewChangedEvent.updated(10L, RESTAURANT_ID, 8, 8));
+
+            // Verify
+            verifyNoInteractions(statsRepository);
+        }
+
+        @Test
+        @DisplayName("onReviewChanged() - Histograma descuadrado (baja de una puntuación sin reseñas): recalcula")
+        void whenHistogramOutOfSync_thenRefreshedFromReviews() {
+            // Arrange
+            RestaurantStats existing = statsWithScores(10);
+            when(statsRepository.findByIdForUpdate(RESTAURANT_ID)).thenReturn(Optional.of(existing));
+            when(statsRepository.countScores(RESTAURANT_ID)).thenReturn(List.of());
+
+            // Act
+            statsService.onReviewChanged(ReviewChangedEvent.deleted(10L, RESTAURANT_ID, 3));
+
+            // Assert
+            assertEquals(0, existing.getReviewCount(), "Se toma el recuento de la tabla de reseñas");
+            assertNull(existing.getAverageScore());
+
+            // Verify
+            verify(statsRepository, times(1)).countScores(RESTAURANT_ID);
+        }
+
+        @Test
+        @DisplayName("onRestaurantChanged() - La baja (lógica) conserva las estadísticas sin recalcular")
+        void whenRestaurantDeleted_thenStatsKept() {
+            // Act
+            statsService.onRestaurantChanged(RestaurantChangedEvent.deleted(RESTAURANT_ID));
+
+            // Verify
+            verify(statsRepository, never()).delete(any());
+            verify(statsRepository, never()).findByIdForUpdate(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("rebuildAll()")
+    class RebuildAll {
+
+        @Test
+        @DisplayName("rebuildAll() - Una fila por restaurante existente, media global actualizada; las huérfanas se borran")
+        @SuppressWarnings("unchecked")
+        void whenRebuilding_thenMissingCreatedAndOrphansDeleted() {
+            // Arrange
+            RestaurantStats stale = new RestaurantStats(1L);
+            stale.setReviewCount(99);
+            RestaurantStats orphan = new RestaurantStats(9L);
+            when(restaurantRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+            when(statsRepository.findAll()).thenReturn(List.of(stale, orphan));
+            when(statsRepository.countAllScores()).thenReturn(List.of(
+                    new ScoreCountRow(2L, 8, 1L), new ScoreCountRow(2L, 9, 1L)));
+            when(statsRepository.aggregateAllPrices()).thenReturn(List.of(
+                    new PriceAggregateRow(1L, 1L, new BigDecimal("8.00"), new BigDecimal("8.00"))));
+            ArgumentCaptor<List<RestaurantStats>> saved = ArgumentCaptor.forClass(List.class);
+
+            // Act
+            statsService.rebuildAll();
+
+            // Assert
+            verify(statsRepository).saveAll(saved.capture());
+            Map<Long, RestaurantStats> byId = saved.getValue().stream()
+                    .collect(Collectors.toMap(RestaurantStats::getRestaurantId, Function.identity()));
+            assertEquals(0, byId.get(1L).getReviewCount(), "Sin reseñas el contador vuelve a cero");
+            assertEquals(new BigDecimal("8.00"), byId.get(1L).getMinPrice());
+            assertEquals(8.5, byId.get(2L).getAverageScore());
+            assertEquals(8.5, byId.get(2L).getBayesianScore(), "La media global pasa a ser la de todas las reseñas");
+            assertNull(byId.get(2L).getMinPrice());
+
+            // Verify
+            verify(statsRepository, times(1)).deleteAll(List.of(orphan));
+        }
+    }
+
+    private static RestaurantStats statsWithScores(int... scores) {
+        RestaurantStats stats = new RestaurantStats(RESTAURANT_ID);
+        for (int score : scores) {
+            stats.getScoreHistogram()[score]++;
+            stats.setReviewCount(stats.getReviewCount() + 1);
+            stats.setScoreSum(stats.getScoreSum() + score);
+        }
+        return stats;
+    }
+}
@@ -2,7 +2,9 @@ package com.c24_39_t_webapp.restaurants.services.unit;
 
 import com.c24_39_t_webapp.restaurants.dtos.request.ReviewRequestDto;
 import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ReviewChangedEvent;
 import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
 import com.c24_39_t_webapp.restaurants.exception.UserNotFoundException;
 import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
 import com.c24_39_t_webapp.restaurants.factories.ReviewFactory;
@@ -11,6 +13,7 @@ import com.c24_39_t_webapp.restaurants.models.Review;
 import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
 import com.c24_39_t_webapp.restaurants.repository.ReviewRepository;
 import com.c24_39_t_webapp.restaurants.repository.UserRepository;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -39,6 +43,7 @@ import static org.mockito.Mockito.*;
  * ✅ Crear reseña exitosamente
  * ✅ Usuario no encontrado → Lanza excepción
  * ✅ Restaurante no encontrado → Lanza excepción
+ * ✅ Cliente sin pedidos entregados en el restaurante → Lanza excepción
  * ✅ Datos inválidos → Lanza excepción
  */
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +64,12 @@ class ReviewServiceAddUnitTests {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IVerifiedPurchaseService verifiedPurchaseService;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.ReviewServiceImpl reviewService;
 
@@ -108,6 +119,8 @@ class ReviewServiceAddUnitTests {
                     .thenReturn(Optional.of(user));
             when(restaurantRepository.findById(RESTAURANT_ID))
                     .thenReturn(Optional.of(restaurant));
+            when(verifiedPurchaseService.isVerifiedCustomer(RESTAURANT_ID, USER_ID))
+                    .thenReturn(true);
             when(reviewRepository.save(any(Review.class)))
                     .thenReturn(savedReview);
 
@@ -118,11 +131,13 @@ class ReviewServiceAddUnitTests {
             assertNotNull(result, "Resultado no debe ser null");
             assertEquals(RESTAURANT_ID, result.restaurantId(), "Restaurant ID debe coincidir");
             assertEquals(USER_ID, result.userId(), "User ID debe coincidir");
+            assertEquals(Boolean.TRUE, result.verifiedPurchase(), "La reseña nueva es de una compra verificada");
 
             // Verify
             verify(userRepository, times(1)).findById(USER_ID);
             verify(restaurantRepository, times(1)).findById(RESTAURANT_ID);
             verify(reviewRepository, times(1)).save(any(Review.class));
+            verify(eventPublisher, times(1)).publishEvent(any(ReviewChangedEvent.class));
         }
 
         /**
@@ -146,6 +161,8 @@ class ReviewServiceAddUnitTests {
                     .thenReturn(Optional.of(user));
             when(restaurantRepository.findById(RESTAURANT_ID))
                     .thenReturn(Optional.of(restaurant));
+            when(verifiedPurchaseService.isVerifiedCustomer(RESTAURANT_ID, USER_ID))
+                    .thenReturn(true);
             when(reviewRepository.save(any(Review.class)))
                     .thenReturn(savedReview);
 
@@ -233,6 +250,40 @@ class ReviewServiceAddUnitTests {
             // Verify
             verify(reviewRepository, never()).save(any());
         }
+
+        /**
+         * Test: Cliente sin pedidos entregados en el restaurante
+         *
+         * Verificación:
+         * ✅ Lanza UnauthorizedAccessException (403)
+         * ✅ No guarda la reseña ni publica el evento
+         */
+        @Test
+        @DisplayName("Cliente sin pedidos entregados → Lanza UnauthorizedAccessException")
+        void whenCustomerNotVerified_thenThrowsUnauthorizedAccessException() {
+            // Arrange
+            UserEntity user = EntityModelFactory.clientEntity(USER_ID, USER_EMAIL);
+            Restaurant restaurant = EntityModelFactory.restaurant(RESTAURANT_ID,
+                    EntityModelFactory.restaurantOwnerEntity(2L, "owner@test.com"));
+
+            when(userRepository.findById(USER_ID))
+                    .thenReturn(Optional.of(user));
+            when(restaurantRepository.findById(RESTAURANT_ID))
+                    .thenReturn(Optional.of(restaurant));
+            when(verifiedPurchaseService.isVerifiedCustomer(RESTAURANT_ID, USER_ID))
+                    .thenReturn(false);
+
+            // Act & Assert
+            assertThrows(
+                    UnauthorizedAccessException.class,
+                    () -> reviewService.addReview(ReviewFactory.defaultAddReviewRequest(), USER_ID),
+                    "Debe lanzar UnauthorizedAccessException"
+            );
+
+            // Verify
+            verify(reviewRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
+        }
     }
 
     // ==================== VALIDATION TESTS ====================
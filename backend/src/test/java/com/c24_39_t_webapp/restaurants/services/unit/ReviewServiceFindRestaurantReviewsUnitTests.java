@@ -0,0 +1,217 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ReviewListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewListingRequestDto;
+import com.c24_39_t_webapp.restaurants.dtos.request.ReviewSort;
+import com.c24_39_t_webapp.restaurants.dtos.response.KeysetPageDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.repository.ReviewRepository;
+import com.c24_39_t_webapp.restaurants.repository.UserRepository;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
+import com.c24_39_t_webapp.restaurants.utils.KeysetCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test unitarios para ReviewService.findRestaurantReviews()
+ *
+ * Cobertura:
+ * ✅ Primera página por novedad: pide una fila de más para saber si hay siguiente y genera el cursor
+ * ✅ Las reseñas de clientes con pedidos entregados se marcan con un solo acceso al índice por página
+ * ✅ Página siguiente por puntuación: la clave del cursor se convierte al tipo de la columna
+ * ✅ Última página: sin cursor siguiente; el tamaño de página se acota
+ * ✅ Restaurante inexistente o inactivo → Lanza excepción sin consultar las reseñas
+ * ✅ Cursor de otro orden u orden no soportado → 400
+ */
+@ExtendWith(MockitoExtension.class)
+@Slf4j
+@DisplayName("ReviewService - findRestaurantReviews()")
+class ReviewServiceFindRestaurantReviewsUnitTests {
+
+    private static final Long RESTAURANT_ID = 1L;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private IVerifiedPurchaseService verifiedPurchaseService;
+
+    @InjectMocks
+    private com.c24_39_t_webapp.restaurants.services.impl.ReviewServiceImpl reviewService;
+
+    // ==================== SUCCESS CASES ====================
+
+    @Nested
+    @DisplayName("Success Cases - findRestaurantReviews()")
+    class SuccessCases {
+
+        /**
+         * Test: Primera página por novedad (orden por defecto)
+         *
+         * Verificación:
+         * ✅ Comprueba la existencia del restaurante sin cargarlo
+         * ✅ Pide limit + 1 filas y devuelve limit, con el cursor de la última
+         * ✅ Las reseñas se leen proyectadas, sin cargar entidades
+         */
+        @Test
+        @DisplayName("Primera página por novedad → Retorna limit reseñas y el cursor siguiente")
+        void whenMoreRowsThanLimit_thenPageAndNextCursor() {
+            // Arrange
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(true);
+            when(reviewRepository.findRestaurantReviewPage(RESTAURANT_ID, ReviewSort.NEWEST, null, null, 3))
+                    .thenReturn(List.of(row(9L, 8), row(7L, 6), row(5L, 10)));
+            when(verifiedPurchaseService.verifiedCustomers(RESTAURANT_ID)).thenReturn(userId -> userId == 109L);
+
+            // Act
+            KeysetPageDto<ReviewResponseDto> page = reviewService.findRestaurantReviews(RESTAURANT_ID,
+                    new ReviewListingRequestDto(null, null, 2));
+
+            // Assert
+            assertEquals(2, page.items().size());
+            assertEquals("Autor 9", page.items().get(0).userName());
+            assertEquals(Boolean.TRUE, page.items().get(0).verifiedPurchase(), "El autor tiene un pedido entregado");
+            assertEquals(Boolean.FALSE, page.items().get(1).verifiedPurchase());
+            KeysetCursor cursor = KeysetCursor.decode(page.nextCursor(), ReviewSort.NEWEST.name());
+            assertEquals(7L, cursor.id(), "El cursor apunta a la última reseña devuelta");
+
+            // Verify
+            verify(restaurantRepository, never()).findById(any());
+            verify(reviewRepository, never()).findAll();
+            verify(verifiedPurchaseService, times(1)).verifiedCustomers(RESTAURANT_ID);
+            verify(verifiedPurchaseService, never()).isVerifiedCustomer(any(), any());
+        }
+
+        /**
+         * Test: Página siguiente ordenada por puntuación descendente
+         *
+         * Verificación:
+         * ✅ La clave del cursor se pasa como Integer y el ID como desempate
+         * ✅ Sin más filas no hay cursor siguiente
+         */
+        @Test
+        @DisplayName("Página siguiente por puntuación → Clave Integer y sin cursor siguiente al final")
+        void whenCursorByScore_thenKeyParsedAndLastPage() {
+            // Arrange
+            String cursor = new KeysetCursor(ReviewSort.SCORE_DESC.name(), "8", 9L).encode();
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(true);
+            when(reviewRepository.findRestaurantReviewPage(RESTAURANT_ID, ReviewSort.SCORE_DESC, 8, 9L, 21))
+                    .thenReturn(List.of(row(4L, 8), row(3L, 2)));
+            when(verifiedPurchaseService.verifiedCustomers(RESTAURANT_ID)).thenReturn(userId -> false);
+
+            // Act
+            KeysetPageDto<ReviewResponseDto> page = reviewService.findRestaurantReviews(RESTAURANT_ID,
+                    new ReviewListingRequestDto("score-desc", cursor, null));
+
+            // Assert
+            assertEquals(2, page.items().size());
+            assertNull(page.nextCursor());
+        }
+
+        /**
+         * Test: El tamaño de página se acota al máximo
+         */
+        @Test
+        @DisplayName("limit mayor que el máximo → Se acota")
+        void whenLimitTooLarge_thenClamped() {
+            // Arrange
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(true);
+            when(reviewRepository.findRestaurantReviewPage(RESTAURANT_ID, ReviewSort.SCORE_ASC, null, null, 101))
+                    .thenReturn(List.of());
+            when(verifiedPurchaseService.verifiedCustomers(RESTAURANT_ID)).thenReturn(userId -> false);
+
+            // Act
+            KeysetPageDto<ReviewResponseDto> page = reviewService.findRestaurantReviews(RESTAURANT_ID,
+                    new ReviewListingRequestDto("SCORE_ASC", null, 10_000));
+
+            // Assert
+            assertTrue(page.items().isEmpty());
+            assertNull(page.nextCursor());
+        }
+    }
+
+    // ==================== ERROR CASES ====================
+
+    @Nested
+    @DisplayName("Error Cases - findRestaurantReviews()")
+    class ErrorCases {
+
+        /**
+         * Test: Restaurante no encontrado o dado de baja
+         *
+         * Verificación:
+         * ✅ Lanza RestaurantNotFoundException
+         * ✅ No consulta las reseñas
+         */
+        @Test
+        @DisplayName("Restaurante no encontrado → Lanza RestaurantNotFoundException")
+        void whenRestaurantNotFound_thenThrowsException() {
+            // Arrange
+            when(restaurantRepository.existsByIdAndIsActiveTrue(999L)).thenReturn(false);
+
+            // Act & Assert
+            RestaurantNotFoundException exception = assertThrows(RestaurantNotFoundException.class,
+                    () -> reviewService.findRestaurantReviews(999L, ReviewListingRequestDto.firstPage()));
+            assertTrue(exception.getMessage().contains("no existe"));
+
+            // Verify
+            verifyNoInteractions(reviewRepository);
+        }
+
+        /**
+         * Test: Un cursor generado con otro orden no sirve
+         */
+        @Test
+        @DisplayName("Cursor de otro orden → Lanza BadRequestException")
+        void whenCursorFromOtherSort_thenThrowsBadRequest() {
+            // Arrange
+            String cursor = new KeysetCursor(ReviewSort.NEWEST.name(), LocalDateTime.now().toString(), 9L).encode();
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(true);
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> reviewService.findRestaurantReviews(RESTAURANT_ID,
+                    new ReviewListingRequestDto("score-asc", cursor, null)));
+            verifyNoInteractions(reviewRepository);
+        }
+
+        /**
+         * Test: Orden no soportado
+         */
+        @Test
+        @DisplayName("Orden no soportado → Lanza BadRequestException")
+        void whenUnsupportedSort_thenThrowsBadRequest() {
+            // Arrange
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(true);
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> reviewService.findRestaurantReviews(RESTAURANT_ID,
+                    new ReviewListingRequestDto("likes", null, null)));
+        }
+    }
+
+    private static ReviewListingRow row(Long id, int score) {
+        return new ReviewListingRow(id, RESTAURANT_ID, id + 100, "Autor " + id, score, "Comentario",
+                LocalDateTime.of(2026, 1, 1, 12, 0).plusHours(id));
+    }
+}
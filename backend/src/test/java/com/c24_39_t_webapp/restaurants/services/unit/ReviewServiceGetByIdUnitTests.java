@@ -6,6 +6,7 @@ import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.Review;
 import com.c24_39_t_webapp.restaurants.repository.ReviewRepository;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +46,9 @@ class ReviewServiceGetByIdUnitTests {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private IVerifiedPurchaseService verifiedPurchaseService;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.ReviewServiceImpl reviewService;
 
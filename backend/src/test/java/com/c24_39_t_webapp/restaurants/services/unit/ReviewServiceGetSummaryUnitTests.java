@@ -0,0 +1,187 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.RatingSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ReviewSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.exception.RestaurantNotFoundException;
+import com.c24_39_t_webapp.restaurants.models.RestaurantStats;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantStatsRepository;
+import com.c24_39_t_webapp.restaurants.repository.ReviewRepository;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test unitarios para ReviewService.getReviewSummary() y getRatingSummary()
+ *
+ * Cobertura:
+ * ✅ Recuento y media desde las estadísticas del restaurante + últimas reseñas paginadas y marcadas si son
+ * de compras verificadas
+ * ✅ Restaurante sin estadísticas → recuento 0 y media null
+ * ✅ latest < 1 → no consulta las reseñas
+ * ✅ Resumen de valoraciones: medias e histograma de las estadísticas; restaurante inactivo → 404
+ */
+@ExtendWith(MockitoExtension.class)
+@Slf4j
+@DisplayName("ReviewService - getReviewSummary() / getRatingSummary()")
+class ReviewServiceGetSummaryUnitTests {
+
+    private static final Long RESTAURANT_ID = 1L;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private RestaurantStatsRepository statsRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private IVerifiedPurchaseService verifiedPurchaseService;
+
+    @InjectMocks
+    private com.c24_39_t_webapp.restaurants.services.impl.ReviewServiceImpl reviewService;
+
+    @Nested
+    @DisplayName("getReviewSummary()")
+    class GetSummary {
+
+        @Test
+        @DisplayName("getReviewSummary() - Recuento y media de las estadísticas y las últimas reseñas")
+        void whenStatsExist_thenSummaryFromStatsAndLatestReviews() {
+            // Arrange
+            RestaurantStats stats = new RestaurantStats();
+            stats.setRestaurantId(RESTAURANT_ID);
+            stats.setReviewCount(12);
+            stats.setAverageScore(7.5);
+            List<ReviewResponseDto> latest = List.of(
+                    new ReviewResponseDto(RESTAURANT_ID, 2L, "Ana", 9, "Muy bueno", LocalDateTime.now()),
+                    new ReviewResponseDto(RESTAURANT_ID, 3L, "Luis", 6, "Correcto", LocalDateTime.now().minusDays(1)));
+            when(statsRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(stats));
+            when(reviewRepository.findLatestByRestaurantId(RESTAURANT_ID, PageRequest.of(0, 5))).thenReturn(latest);
+            when(verifiedPurchaseService.verifiedCustomers(RESTAURANT_ID)).thenReturn(userId -> userId == 2L);
+
+            // Act
+            ReviewSummaryResponseDto summary = reviewService.getReviewSummary(RESTAURANT_ID, 5);
+
+            // Assert
+            assertEquals(12, summary.reviewCount());
+            assertEquals(7.5, summary.averageScore());
+            assertEquals(List.of(latest.get(0).withVerifiedPurchase(true), latest.get(1).withVerifiedPurchase(false)),
+                    summary.latestReviews());
+
+            // Verify
+            verify(reviewRepository, never()).findRestaurantReviewPage(any(), any(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("getReviewSummary() - Sin estadísticas: recuento 0 y media null")
+        void whenNoStats_thenZeroCountAndNullAverage() {
+            // Arrange
+            when(statsRepository.findById(RESTAURANT_ID)).thenReturn(Optional.empty());
+            when(reviewRepository.findLatestByRestaurantId(RESTAURANT_ID, PageRequest.of(0, 5))).thenReturn(List.of());
+
+            // Act
+            ReviewSummaryResponseDto summary = reviewService.getReviewSummary(RESTAURANT_ID, 5);
+
+            // Assert
+            assertEquals(0, summary.reviewCount());
+            assertNull(summary.averageScore());
+            assertTrue(summary.latestReviews().isEmpty());
+        }
+
+        @Test
+        @DisplayName("getReviewSummary() - latest < 1: no consulta las reseñas")
+        void whenLatestZero_thenNoReviewQuery() {
+            // Arrange
+            when(statsRepository.findById(RESTAURANT_ID)).thenReturn(Optional.empty());
+
+            // Act
+            ReviewSummaryResponseDto summary = reviewService.getReviewSummary(RESTAURANT_ID, 0);
+
+            // Assert
+            assertTrue(summary.latestReviews().isEmpty());
+
+            // Verify
+            verify(reviewRepository, never()).findLatestByRestaurantId(anyLong(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getRatingSummary()")
+    class GetRatingSummary {
+
+        @Test
+        @DisplayName("getRatingSummary() - Medias e histograma de las estadísticas, sin leer reseñas")
+        void whenStatsExist_thenSummaryFromStats() {
+            // Arrange
+            RestaurantStats stats = new RestaurantStats(RESTAURANT_ID);
+            stats.setReviewCount(2);
+            stats.setAverageScore(9.0);
+            stats.setBayesianScore(6.5);
+            stats.getScoreHistogram()[8] = 1;
+            stats.getScoreHistogram()[10] = 1;
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(true);
+            when(statsRepository.findById(RESTAURANT_ID)).thenReturn(Optional.of(stats));
+
+            // Act
+            RatingSummaryResponseDto summary = reviewService.getRatingSummary(RESTAURANT_ID);
+
+            // Assert
+            assertEquals(2, summary.reviewCount());
+            assertEquals(9.0, summary.averageScore());
+            assertEquals(6.5, summary.bayesianScore());
+            assertEquals(List.of(0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 1L, 0L, 1L), summary.scoreHistogram());
+
+            // Verify
+            verifyNoInteractions(reviewRepository);
+        }
+
+        @Test
+        @DisplayName("getRatingSummary() - Sin estadísticas: recuento 0, medias null e histograma a cero")
+        void whenNoStats_thenEmptySummary() {
+            // Arrange
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(true);
+            when(statsRepository.findById(RESTAURANT_ID)).thenReturn(Optional.empty());
+
+            // Act
+            RatingSummaryResponseDto summary = reviewService.getRatingSummary(RESTAURANT_ID);
+
+            // Assert
+            assertEquals(0, summary.reviewCount());
+            assertNull(summary.bayesianScore());
+            assertEquals(11, summary.scoreHistogram().size());
+            assertTrue(summary.scoreHistogram().stream().allMatch(count -> count == 0));
+        }
+
+        @Test
+        @DisplayName("getRatingSummary() - Restaurante inactivo: lanza RestaurantNotFoundException")
+        void whenRestaurantInactive_thenThrowsNotFound() {
+            // Arrange
+            when(restaurantRepository.existsByIdAndIsActiveTrue(RESTAURANT_ID)).thenReturn(false);
+
+            // Act & Assert
+            assertThrows(RestaurantNotFoundException.class, () -> reviewService.getRatingSummary(RESTAURANT_ID));
+            verifyNoInteractions(statsRepository);
+        }
+    }
+}
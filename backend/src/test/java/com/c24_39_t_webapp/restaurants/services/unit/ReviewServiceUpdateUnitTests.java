@@ -9,6 +9,7 @@ import com.c24_39_t_webapp.restaurants.factories.ReviewFactory;
 import com.c24_39_t_webapp.restaurants.models.Restaurant;
 import com.c24_39_t_webapp.restaurants.models.Review;
 import com.c24_39_t_webapp.restaurants.repository.ReviewRepository;
+import com.c24_39_t_webapp.restaurants.services.IVerifiedPurchaseService;
 import com.c24_39_t_webapp.restaurants.models.UserEntity;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -52,6 +54,12 @@ class ReviewServiceUpdateUnitTests {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IVerifiedPurchaseService verifiedPurchaseService;
+
     @InjectMocks
     private com.c24_39_t_webapp.restaurants.services.impl.ReviewServiceImpl reviewService;
 
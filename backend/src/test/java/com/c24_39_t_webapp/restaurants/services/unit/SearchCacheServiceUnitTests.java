@@ -0,0 +1,201 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductListingRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductSummaryResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SearchCacheStatsResponseDto;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.impl.SearchCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para SearchCacheServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: ICatalogService mockeado (el cálculo real de los resultados)
+ * - El servicio se construye a mano con capacidades pequeñas para forzar evicciones
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Consultas con distinto formato comparten la entrada normalizada
+ * ✅ Sin catálogo en memoria no se cachea nada
+ * ✅ Admisión por frecuencia: una consulta puntual no expulsa a una popular
+ * ✅ Invalidación selectiva por producto, nuevo nombre y baja de restaurante
+ * ✅ Recalentado de las consultas populares tras una invalidación
+ * ✅ Métricas de aciertos, fallos, evicciones y consultas más frecuentes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchCacheServiceImpl - Unit Tests")
+class SearchCacheServiceUnitTests {
+
+    @Mock
+    private ICatalogService catalogService;
+
+    private SearchCacheServiceImpl searchCacheService;
+
+    @BeforeEach
+    void setUp() {
+        searchCacheService = new SearchCacheServiceImpl(catalogService, 2, 10);
+    }
+
+    @Nested
+    @DisplayName("Lecturas")
+    class Reads {
+
+        @Test
+        @DisplayName("findProductsByName() - Mayúsculas, acentos y espacios comparten la misma entrada")
+        void whenQueriesNormalizeEqually_thenLoadedOnce() {
+            // Arrange
+            when(catalogService.findProductsByName("jamon")).thenReturn(Optional.of(List.of(row(1L, 10L, "Jamón"))));
+
+            // Act
+            List<ProductSummaryResponseDto> first = searchCacheService.findProductsByName("  Jamón ").orElseThrow();
+            List<ProductSummaryResponseDto> second = searchCacheService.findProductsByName("JAMON").orElseThrow();
+
+            // Assert
+            assertSame(first, second);
+            assertEquals(1L, first.getFirst().prd_id());
+            SearchCacheStatsResponseDto stats = searchCacheService.getStats();
+            assertEquals(1, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(0.5, stats.hitRatio());
+            verify(catalogService, times(1)).findProductsByName("jamon");
+        }
+
+        @Test
+        @DisplayName("findProductsByName() - Sin catálogo en memoria retorna vacío y no cachea")
+        void whenCatalogNotLoaded_thenEmptyAndNotCached() {
+            // Arrange
+            when(catalogService.findProductsByName("pizza")).thenReturn(Optional.empty());
+
+            // Act
+            Optional<List<ProductSummaryResponseDto>> first = searchCacheService.findProductsByName("pizza");
+            Optional<List<ProductSummaryResponseDto>> second = searchCacheService.findProductsByName("pizza");
+
+            // Assert
+            assertTrue(first.isEmpty());
+            assertTrue(second.isEmpty());
+            assertEquals(0, searchCacheService.getStats().size());
+            verify(catalogService, times(2)).findProductsByName("pizza");
+        }
+
+        @Test
+        @DisplayName("findProductsByName() - Una consulta puntual no expulsa a las populares")
+        void whenCacheFull_thenOneOffQueryIsNotAdmitted() {
+            // Arrange
+            when(catalogService.findProductsByName(anyString())).thenReturn(Optional.of(List.of()));
+            for (int i = 0; i < 3; i++) {
+                searchCacheService.findProductsByName("pizza");
+                searchCacheService.findProductsByName("sushi");
+            }
+
+            // Act
+            searchCacheService.findProductsByName("tarta");
+            searchCacheService.findProductsByName("ramen");
+            searchCacheService.findProductsByName("ramen");
+            searchCacheService.findProductsByName("ramen");
+            searchCacheService.findProductsByName("ramen");
+
+            // Assert
+            SearchCacheStatsResponseDto stats = searchCacheService.getStats();
+            assertEquals(2, stats.size());
+            assertEquals(1, stats.evictions(), "ramen (4 accesos) desplaza a la víctima LRU (3 accesos)");
+            assertEquals(4, stats.rejections(), "tarta una vez y ramen mientras no supera a la víctima");
+            assertEquals("ramen", stats.topQueries().getFirst().query());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidación y recalentado")
+    class Invalidation {
+
+        @Test
+        @DisplayName("onProductChanged() - Solo invalida las entradas con el producto o que cumple el nuevo nombre")
+        void whenProductSaved_thenOnlyAffectedEntriesInvalidated() {
+            // Arrange
+            searchCacheService = new SearchCacheServiceImpl(catalogService, 10, 10);
+            when(catalogService.findProductsByName("pizza")).thenReturn(Optional.of(List.of(row(1L, 10L, "Pizza"))));
+            when(catalogService.findProductsByName("sushi")).thenReturn(Optional.of(List.of(row(2L, 10L, "Sushi"))));
+            when(catalogService.findProductsByName("tarta")).thenReturn(Optional.of(List.of(row(3L, 11L, "Tarta"))));
+            searchCacheService.findProductsByName("pizza");
+            searchCacheService.findProductsByName("sushi");
+            searchCacheService.findProductsByName("tarta");
+
+            // Act: el producto 2 pasa a llamarse "Sushi de salmón" y se crea "Pizza Napolitana" (ID 4)
+            searchCacheService.onProductChanged(ProductChangedEvent.saved(product(2L, 10L, "Sushi de salmón")));
+            searchCacheService.onProductChanged(ProductChangedEvent.saved(product(4L, 10L, "Pizza Napolitana")));
+
+            // Assert
+            assertEquals(1, searchCacheService.getStats().size());
+            assertEquals(2, searchCacheService.getStats().invalidations());
+            searchCacheService.findProductsByName("tarta");
+            verify(catalogService, times(1)).findProductsByName("tarta");
+        }
+
+        @Test
+        @DisplayName("onRestaurantChanged() - La baja de un restaurante invalida las entradas con sus productos")
+        void whenRestaurantDeleted_thenEntriesWithItsProductsInvalidated() {
+            // Arrange
+            when(catalogService.findProductsByName("pizza")).thenReturn(Optional.of(List.of(row(1L, 10L, "Pizza"))));
+            when(catalogService.findProductsByName("tarta")).thenReturn(Optional.of(List.of(row(3L, 11L, "Tarta"))));
+            searchCacheService.findProductsByName("pizza");
+            searchCacheService.findProductsByName("tarta");
+
+            // Act
+            searchCacheService.onRestaurantChanged(RestaurantChangedEvent.deleted(10L));
+
+            // Assert
+            assertEquals(1, searchCacheService.getStats().size());
+            assertEquals(1, searchCacheService.getStats().invalidations());
+        }
+
+        @Test
+        @DisplayName("rewarmIfInvalidated() - Recalcula las consultas populares invalidadas, una sola vez")
+        void whenInvalidated_thenPopularQueriesRewarmed() {
+            // Arrange
+            when(catalogService.findProductsByName("pizza"))
+                    .thenReturn(Optional.of(List.of(row(1L, 10L, "Pizza"))))
+                    .thenReturn(Optional.of(List.of(row(1L, 10L, "Pizza"), row(4L, 10L, "Pizza Napolitana"))));
+            searchCacheService.findProductsByName("pizza");
+            searchCacheService.onProductChanged(ProductChangedEvent.saved(product(4L, 10L, "Pizza Napolitana")));
+
+            // Act
+            searchCacheService.rewarmIfInvalidated();
+            searchCacheService.rewarmIfInvalidated();
+            List<ProductSummaryResponseDto> result = searchCacheService.findProductsByName("pizza").orElseThrow();
+
+            // Assert
+            assertEquals(2, result.size());
+            SearchCacheStatsResponseDto stats = searchCacheService.getStats();
+            assertEquals(1, stats.rewarms());
+            assertEquals(1, stats.hits());
+            verify(catalogService, times(2)).findProductsByName("pizza");
+        }
+    }
+
+    private static ProductListingRow row(Long id, Long restaurantId, String name) {
+        return new ProductListingRow(id, restaurantId, 100L, name, "Descripción", new BigDecimal("9.99"), null,
+                true, 10, "Categoría", "Restaurante", null);
+    }
+
+    private static ProductResponseDto product(Long id, Long restaurantId, String name) {
+        return new ProductResponseDto(id, restaurantId, 100L, name, "Descripción", new BigDecimal("9.99"), null,
+                true, 10, "Categoría", "Restaurante");
+    }
+}
@@ -0,0 +1,203 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.IdCountProjection;
+import com.c24_39_t_webapp.restaurants.dtos.response.ProductResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.SuggestionResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.repository.OrderDetailsRepository;
+import com.c24_39_t_webapp.restaurants.repository.OrderRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.SuggestServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para SuggestServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: Repositories mockeados (solo se usan al reconstruir el índice)
+ * - @InjectMocks: SuggestServiceImpl inyecta los mocks
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Reconstrucción completa con pesos de popularidad
+ * ✅ Sugerencias de restaurantes, cocinas y categorías
+ * ✅ Parcheo incremental con eventos de producto, restaurante y baja de categoría
+ * ✅ Productos inactivos no se sugieren
+ * ✅ Límite por defecto y máximo
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SuggestServiceImpl - Unit Tests")
+class SuggestServiceUnitTests {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private OrderDetailsRepository orderDetailsRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private SuggestServiceImpl suggestService;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findAllProductDtos()).thenReturn(List.of(
+                product(1L, "Pizza Margarita", true),
+                product(2L, "Pizza Cuatro Quesos", true),
+                product(3L, "Pizza Antigua", false)
+        ));
+        when(restaurantRepository.findAllRestaurantDtos()).thenReturn(List.of(restaurant(10L, "Pizzería Napoli")));
+        when(orderDetailsRepository.sumQuantityGroupByProduct()).thenReturn(List.of(
+                new IdCountProjection(1L, 5L),
+                new IdCountProjection(2L, 40L)
+        ));
+        when(orderRepository.countGroupByRestaurant()).thenReturn(List.of(new IdCountProjection(10L, 12L)));
+        suggestService.rebuildIndex();
+    }
+
+    @Nested
+    @DisplayName("Reconstrucción completa")
+    class Rebuild {
+
+        @Test
+        @DisplayName("suggest() - Ordena productos y restaurantes por popularidad")
+        void whenRebuilt_thenOrderedByPopularity() {
+            // Act
+            List<SuggestionResponseDto> result = suggestService.suggest("piz", null);
+
+            // Assert
+            assertEquals(List.of(2L, 10L, 1L), result.stream().map(SuggestionResponseDto::id).toList());
+            assertEquals("PRODUCT", result.get(0).type());
+            assertEquals(40L, result.get(0).weight());
+            assertEquals("RESTAURANT", result.get(1).type());
+        }
+
+        @Test
+        @DisplayName("suggest() - Excluye productos inactivos")
+        void whenProductInactive_thenNotSuggested() {
+            // Act
+            List<SuggestionResponseDto> result = suggestService.suggest("antig", null);
+
+            // Assert
+            assertTrue(result.isEmpty());
+        }
+
+        @Test
+        @DisplayName("suggest() - Incluye categorías y tipos de cocina")
+        void whenCategoryOrCuisinePrefix_thenSuggested() {
+            // Act
+            List<SuggestionResponseDto> categories = suggestService.suggest("pla", null);
+            List<SuggestionResponseDto> cuisines = suggestService.suggest("ital", null);
+
+            // Assert
+            assertEquals("CATEGORY", categories.getFirst().type());
+            assertEquals("Platos principales", categories.getFirst().text());
+            assertEquals("CUISINE", cuisines.getFirst().type());
+        }
+
+        @Test
+        @DisplayName("suggest() - Acota el límite al máximo permitido")
+        void whenLimitOutOfRange_thenClamped() {
+            // Act & Assert
+            assertEquals(1, suggestService.suggest("piz", 0).size());
+            assertEquals(3, suggestService.suggest("piz", 500).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Actualizaciones incrementales")
+    class IncrementalUpdates {
+
+        @Test
+        @DisplayName("onProductChanged() - Un producto nuevo se sugiere sin reconstruir")
+        void whenProductSaved_thenSuggestedImmediately() {
+            // Act
+            suggestService.onProductChanged(ProductChangedEvent.saved(product(4L, "Calzone", true)));
+
+            // Assert
+            assertEquals(4L, suggestService.suggest("calz", null).getFirst().id());
+            verify(productRepository, times(1)).findAllProductDtos();
+        }
+
+        @Test
+        @DisplayName("onProductChanged() - Renombrar conserva la popularidad")
+        void whenProductRenamed_thenWeightKept() {
+            // Act
+            suggestService.onProductChanged(ProductChangedEvent.saved(product(2L, "Calzone Especial", true)));
+
+            // Assert
+            assertTrue(suggestService.suggest("cuatro", null).isEmpty());
+            assertEquals(40L, suggestService.suggest("calz", null).getFirst().weight());
+        }
+
+        @Test
+        @DisplayName("onProductChanged() - Desactivar o eliminar un producto lo quita")
+        void whenProductDeactivatedOrDeleted_thenRemoved() {
+            // Act
+            suggestService.onProductChanged(ProductChangedEvent.saved(product(1L, "Pizza Margarita", false)));
+            suggestService.onProductChanged(ProductChangedEvent.deleted(2L, 10L));
+
+            // Assert
+            assertEquals(List.of(10L), suggestService.suggest("piz", null).stream()
+                    .map(SuggestionResponseDto::id).toList());
+        }
+
+        @Test
+        @DisplayName("onRestaurantChanged() - Alta y baja de restaurantes")
+        void whenRestaurantSavedOrDeleted_thenIndexPatched() {
+            // Act
+            suggestService.onRestaurantChanged(RestaurantChangedEvent.saved(restaurant(11L, "Sushi Zen")));
+            suggestService.onRestaurantChanged(RestaurantChangedEvent.deleted(10L));
+
+            // Assert
+            assertEquals(11L, suggestService.suggest("zen", null).getFirst().id());
+            assertEquals(List.of(2L, 1L), suggestService.suggest("piz", null).stream()
+                    .map(SuggestionResponseDto::id).toList());
+        }
+
+        @Test
+        @DisplayName("onCategoryChanged() - Una categoría borrada deja de sugerirse sin esperar a la reconstrucción")
+        void whenCategoryDeleted_thenRemoved() {
+            // Act
+            suggestService.onCategoryChanged(CategoryChangedEvent.saved(1L, "Platos principales"));
+            boolean suggestedBeforeDelete = !suggestService.suggest("pla", null).isEmpty();
+            suggestService.onCategoryChanged(CategoryChangedEvent.deleted(1L));
+
+            // Assert
+            assertTrue(suggestedBeforeDelete, "Un alta no cambia la categoría ya indexada");
+            assertTrue(suggestService.suggest("pla", null).isEmpty());
+        }
+    }
+
+    private static ProductResponseDto product(Long id, String name, boolean active) {
+        return new ProductResponseDto(id, 10L, 1L, name, "Descripción", new BigDecimal("9.50"),
+                "imagen.jpg", active, 10, "Platos principales", "Pizzería Napoli");
+    }
+
+    private static RestaurantResponseDto restaurant(Long id, String name) {
+        return new RestaurantResponseDto(id, 1L, name, "Descripción", "600000000", "info@restaurante.com",
+                "Calle Mayor 1", "12:00-23:00", "logo.png", "cover.png", 1L, "Italiana", null, null);
+    }
+}
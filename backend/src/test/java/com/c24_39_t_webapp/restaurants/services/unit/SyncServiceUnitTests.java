@@ -0,0 +1,188 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.ProductChangeRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.CatalogChangesResponseDto;
+import com.c24_39_t_webapp.restaurants.events.CategoryChangedEvent;
+import com.c24_39_t_webapp.restaurants.events.ProductChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.models.SyncEntityType;
+import com.c24_39_t_webapp.restaurants.models.Tombstone;
+import com.c24_39_t_webapp.restaurants.repository.CategoryRepository;
+import com.c24_39_t_webapp.restaurants.repository.ProductRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantCuisineRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.repository.TombstoneRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.SyncServiceImpl;
+import com.c24_39_t_webapp.restaurants.utils.SyncWatermark;
+import com.c24_39_t_webapp.restaurants.utils.SyncWatermark.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para SyncServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: repositorios de productos, restaurantes, categorías, tipologías y marcas de baja
+ * - El servicio se construye a mano con commit-lag de 0 y retención de 30 días
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Carga inicial: todos los flujos desde el principio, sin bajas y con reset
+ * ✅ Flujo recortado por el límite: hasMore y posición en la última fila entregada
+ * ✅ Marca de agua inválida y marca de agua anterior a la retención
+ * ✅ Registro de marcas de baja para productos y categorías eliminados
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SyncServiceImpl - Unit Tests")
+class SyncServiceUnitTests {
+
+    private static final LocalDateTime T0 = LocalDateTime.now().minusHours(1);
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private RestaurantCuisineRepository cuisineRepository;
+
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    private SyncServiceImpl syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncServiceImpl(productRepository, restaurantRepository, categoryRepository,
+                cuisineRepository, tombstoneRepository, Duration.ZERO, Duration.ofDays(30));
+    }
+
+    @Nested
+    @DisplayName("getChanges()")
+    class GetChanges {
+
+        @Test
+        @DisplayName("getChanges() - Sin marca de agua lee desde el principio y no consulta las bajas")
+        void whenNoWatermark_thenFullLoadWithReset() {
+            // Arrange
+            when(productRepository.findChangedSince(eq(Position.START.at()), eq(0L), any(), any()))
+                    .thenReturn(List.of(product(1L, T0)));
+
+            // Act
+            CatalogChangesResponseDto result = syncService.getChanges(null, null);
+
+            // Assert
+            assertTrue(result.reset());
+            assertFalse(result.hasMore());
+            assertEquals(1, result.products().size());
+            SyncWatermark next = SyncWatermark.decode(result.watermark());
+            assertEquals(Long.MAX_VALUE, next.products().id());
+            assertFalse(next.products().at().isBefore(T0));
+            verify(tombstoneRepository, never()).findDeletedSince(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("getChanges() - Un flujo que supera el límite queda en la última fila entregada")
+        void whenStreamExceedsLimit_thenHasMoreAndPositionAtLastRow() {
+            // Arrange
+            SyncWatermark since = new SyncWatermark(new Position(T0, 5L), Position.upTo(T0), Position.upTo(T0),
+                    Position.upTo(T0), Position.upTo(T0));
+            ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+            when(productRepository.findChangedSince(eq(T0), eq(5L), any(), pageable.capture()))
+                    .thenReturn(List.of(product(6L, T0), product(7L, T0), product(3L, T0.plusSeconds(1))));
+            when(tombstoneRepository.findDeletedSince(eq(T0), eq(Long.MAX_VALUE), any(), any()))
+                    .thenReturn(List.of(tombstone(SyncEntityType.PRODUCT, 2L, T0.plusSeconds(2))));
+
+            // Act
+            CatalogChangesResponseDto result = syncService.getChanges(since.encode(), 2);
+
+            // Assert
+            assertEquals(3, pageable.getValue().getPageSize(), "Se pide una fila más que el límite");
+            assertTrue(result.hasMore());
+            assertFalse(result.reset());
+            assertEquals(List.of(6L, 7L), result.products().stream().map(p -> p.prd_id()).toList());
+            assertEquals(new Position(T0, 7L), SyncWatermark.decode(result.watermark()).products());
+            assertEquals(List.of(new CatalogChangesResponseDto.DeletedEntity(SyncEntityType.PRODUCT, 2L)),
+                    result.deleted());
+        }
+
+        @Test
+        @DisplayName("getChanges() - Lanza BadRequestException con una marca de agua mal formada")
+        void whenWatermarkMalformed_thenThrowsBadRequest() {
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> syncService.getChanges("no-es-una-marca", null));
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("getChanges() - Una marca de agua anterior a la retención de bajas fuerza una carga desde cero")
+        void whenWatermarkOlderThanRetention_thenReset() {
+            // Arrange
+            LocalDateTime old = LocalDateTime.now().minusDays(31);
+            SyncWatermark since = new SyncWatermark(Position.upTo(old), Position.upTo(old), Position.upTo(old),
+                    Position.upTo(old), Position.upTo(old));
+
+            // Act
+            CatalogChangesResponseDto result = syncService.getChanges(since.encode(), null);
+
+            // Assert
+            assertTrue(result.reset());
+            verify(productRepository).findChangedSince(eq(Position.START.at()), eq(0L), any(), any());
+            verify(tombstoneRepository, never()).findDeletedSince(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Marcas de baja")
+    class Tombstones {
+
+        @Test
+        @DisplayName("onProductChanged() / onCategoryChanged() - Registran la baja y no las modificaciones")
+        void whenEntitiesDeleted_thenTombstonesSaved() {
+            // Act
+            syncService.onProductChanged(ProductChangedEvent.deleted(9L, 1L));
+            syncService.onCategoryChanged(CategoryChangedEvent.deleted(4L));
+            syncService.onCategoryChanged(CategoryChangedEvent.saved(5L, "Postres"));
+
+            // Assert
+            ArgumentCaptor<Tombstone> saved = ArgumentCaptor.forClass(Tombstone.class);
+            verify(tombstoneRepository, times(2)).save(saved.capture());
+            assertEquals(SyncEntityType.PRODUCT, saved.getAllValues().get(0).getEntityType());
+            assertEquals(9L, saved.getAllValues().get(0).getEntityId());
+            assertEquals(SyncEntityType.CATEGORY, saved.getAllValues().get(1).getEntityType());
+            assertEquals(4L, saved.getAllValues().get(1).getEntityId());
+        }
+    }
+
+    private static ProductChangeRow product(Long id, LocalDateTime updatedAt) {
+        return new ProductChangeRow(id, 1L, 2L, "Producto " + id, "Descripción", new BigDecimal("9.99"), null,
+                true, 10, "Categoría", "Restaurante", updatedAt);
+    }
+
+    private static Tombstone tombstone(SyncEntityType type, Long id, LocalDateTime deletedAt) {
+        Tombstone tombstone = new Tombstone(type, id);
+        tombstone.setDeletedAt(deletedAt);
+        return tombstone;
+    }
+}
@@ -0,0 +1,179 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.response.RestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.dtos.response.TrendingRestaurantResponseDto;
+import com.c24_39_t_webapp.restaurants.events.OrderPlacedEvent;
+import com.c24_39_t_webapp.restaurants.events.RestaurantChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.ICatalogService;
+import com.c24_39_t_webapp.restaurants.services.impl.TrendingServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para TrendingServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: ICatalogService (restaurantes en memoria) y RestaurantRepository (respaldo si el catálogo no está cargado)
+ * - El servicio se construye a mano con un ObjectMapper real y, si hace falta, un fichero de instantánea temporal
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Ranking por pedidos confirmados, con límite; la consulta no toca la base de datos
+ * ✅ Las bajas desaparecen del ranking; sin catálogo cargado se leen los restaurantes de la base de datos
+ * ✅ Ventana no soportada
+ * ✅ Instantánea: los contadores sobreviven a un reinicio; un fichero corrupto no impide arrancar
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingServiceImpl - Unit Tests")
+class TrendingServiceUnitTests {
+
+    @Mock
+    private ICatalogService catalogService;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("findTrending()")
+    class FindTrending {
+
+        @Test
+        @DisplayName("findTrending() - Ordena por pedidos de la ventana y aplica el límite sin consultar la base de datos")
+        void whenOrdersPlaced_thenRankedByOrders() {
+            // Arrange
+            TrendingServiceImpl trendingService = service(null);
+            when(catalogService.findAllRestaurants()).thenReturn(Optional.of(List.of(
+                    restaurant(1L), restaurant(2L), restaurant(3L))));
+            placeOrders(trendingService, 1L, 2);
+            placeOrders(trendingService, 2L, 5);
+            placeOrders(trendingService, 3L, 1);
+
+            // Act
+            trendingService.refreshRankings();
+            List<TrendingRestaurantResponseDto> hour = trendingService.findTrending(null, 2);
+            List<TrendingRestaurantResponseDto> day = trendingService.findTrending("DAY", null);
+
+            // Assert
+            assertEquals(List.of(2L, 1L), ids(hour));
+            assertEquals(5, hour.get(0).orders());
+            assertEquals(List.of(2L, 1L, 3L), ids(day));
+
+            // Verify
+            verify(catalogService, times(1)).findAllRestaurants();
+            verifyNoInteractions(restaurantRepository);
+        }
+
+        @Test
+        @DisplayName("findTrending() - Las bajas desaparecen; sin catálogo los restaurantes salen de la base de datos")
+        void whenRestaurantDeletedAndNoCatalog_thenRepositoryFallbackWithoutDeleted() {
+            // Arrange
+            TrendingServiceImpl trendingService = service(null);
+            when(catalogService.findAllRestaurants()).thenReturn(Optional.empty());
+            when(restaurantRepository.findAllRestaurantDtos()).thenReturn(List.of(restaurant(1L)));
+            placeOrders(trendingService, 1L, 1);
+            placeOrders(trendingService, 2L, 3);
+            placeOrders(trendingService, 3L, 2);
+
+            // Act
+            trendingService.onRestaurantChanged(RestaurantChangedEvent.deleted(3L));
+            trendingService.refreshRankings();
+
+            // Assert
+            assertEquals(List.of(1L), ids(trendingService.findTrending("hour", null)),
+                    "El restaurante 2 no está en el catálogo y el 3 se dio de baja");
+        }
+
+        @Test
+        @DisplayName("findTrending() - Lanza BadRequestException con una ventana no soportada")
+        void whenUnsupportedWindow_thenThrowsBadRequest() {
+            // Arrange
+            TrendingServiceImpl trendingService = service(null);
+
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> trendingService.findTrending("week", null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Instantánea")
+    class Snapshot {
+
+        @Test
+        @DisplayName("saveSnapshot() / startup() - Los contadores sobreviven a un reinicio")
+        void whenSnapshotSaved_thenRestoredOnStartup() {
+            // Arrange
+            Path file = tempDir.resolve("tendencias/tendencias.json");
+            when(catalogService.findAllRestaurants()).thenReturn(Optional.of(List.of(restaurant(1L), restaurant(2L))));
+            TrendingServiceImpl before = service(file);
+            placeOrders(before, 1L, 1);
+            placeOrders(before, 2L, 4);
+
+            // Act
+            before.shutdown();
+            TrendingServiceImpl after = service(file);
+            after.startup();
+
+            // Assert
+            assertTrue(Files.exists(file));
+            List<TrendingRestaurantResponseDto> ranking = after.findTrending("day", null);
+            assertEquals(List.of(2L, 1L), ids(ranking));
+            assertEquals(4, ranking.get(0).orders());
+        }
+
+        @Test
+        @DisplayName("startup() - Un fichero de instantánea corrupto se ignora y se empieza sin contadores")
+        void whenSnapshotCorrupt_thenStartsEmpty() throws Exception {
+            // Arrange
+            Path file = tempDir.resolve("tendencias.json");
+            Files.writeString(file, "{no es json");
+            when(catalogService.findAllRestaurants()).thenReturn(Optional.of(List.of(restaurant(1L))));
+            TrendingServiceImpl trendingService = service(file);
+
+            // Act
+            assertDoesNotThrow(trendingService::startup);
+
+            // Assert
+            assertTrue(trendingService.findTrending(null, null).isEmpty());
+        }
+    }
+
+    private TrendingServiceImpl service(Path snapshotFile) {
+        return new TrendingServiceImpl(catalogService, restaurantRepository, new ObjectMapper(), 100,
+                snapshotFile == null ? "" : snapshotFile.toString());
+    }
+
+    private static void placeOrders(TrendingServiceImpl trendingService, Long restaurantId, int orders) {
+        for (int i = 0; i < orders; i++) {
+            trendingService.onOrderPlaced(new OrderPlacedEvent((long) i, restaurantId, List.of(10L)));
+        }
+    }
+
+    private static List<Long> ids(List<TrendingRestaurantResponseDto> ranking) {
+        return ranking.stream().map(r -> r.restaurant().rst_id()).toList();
+    }
+
+    private static RestaurantResponseDto restaurant(Long id) {
+        return new RestaurantResponseDto(id, 1L, "Restaurante " + id, "Descripción", "600000000",
+                "info@restaurante.com", "Calle Mayor 1", "12:00-23:00", "logo.png", "cover.png",
+                1L, "Cocina 1", null, null);
+    }
+}
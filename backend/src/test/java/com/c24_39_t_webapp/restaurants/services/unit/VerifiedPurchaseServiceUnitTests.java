@@ -0,0 +1,169 @@
+package com.c24_39_t_webapp.restaurants.services.unit;
+
+import com.c24_39_t_webapp.restaurants.dtos.projection.RestaurantClientRow;
+import com.c24_39_t_webapp.restaurants.dtos.response.CustomerCountResponseDto;
+import com.c24_39_t_webapp.restaurants.events.OrderStatusChangedEvent;
+import com.c24_39_t_webapp.restaurants.exception.UnauthorizedAccessException;
+import com.c24_39_t_webapp.restaurants.factories.EntityModelFactory;
+import com.c24_39_t_webapp.restaurants.models.OrderStatus;
+import com.c24_39_t_webapp.restaurants.repository.OrderRepository;
+import com.c24_39_t_webapp.restaurants.repository.RestaurantRepository;
+import com.c24_39_t_webapp.restaurants.services.impl.VerifiedPurchaseServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests para VerifiedPurchaseServiceImpl
+ * Arquitectura:
+ * - @ExtendWith(MockitoExtension.class): Mockito sin Spring
+ * - @Mock: OrderRepository (carga inicial y comprobación al salir de entregado) y RestaurantRepository (propietario)
+ * - El índice se carga en cada test con dos restaurantes y tres pares (restaurante, cliente)
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Compras verificadas desde el índice, sin consultar los pedidos
+ * ✅ Pasar a entregado verifica al cliente; otros cambios de estado no tocan el índice
+ * ✅ Salir de entregado solo quita al cliente si no le queda otro pedido entregado
+ * ✅ Recuento de clientes distintos para el propietario; otro propietario → 403
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("VerifiedPurchaseServiceImpl - Unit Tests")
+class VerifiedPurchaseServiceUnitTests {
+
+    private static final String OWNER_EMAIL = "owner@restaurant.com";
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private VerifiedPurchaseServiceImpl verifiedPurchaseService;
+
+    @BeforeEach
+    void setUp() {
+        verifiedPurchaseService = new VerifiedPurchaseServiceImpl(orderRepository, restaurantRepository);
+        when(orderRepository.findRestaurantClientPairsByStatus(OrderStatus.entregado)).thenReturn(List.of(
+                new RestaurantClientRow(1L, 10L), new RestaurantClientRow(1L, 11L), new RestaurantClientRow(2L, 10L)));
+        verifiedPurchaseService.rebuildIndex();
+    }
+
+    @Nested
+    @DisplayName("Consulta")
+    class Lookup {
+
+        @Test
+        @DisplayName("isVerifiedCustomer() / verifiedCustomers() - Desde el índice, sin consultar los pedidos")
+        void whenIndexed_thenVerifiedWithoutQueries() {
+            // Act
+            LongPredicate verified = verifiedPurchaseService.verifiedCustomers(2L);
+
+            // Assert
+            assertTrue(verifiedPurchaseService.isVerifiedCustomer(1L, 11L));
+            assertFalse(verifiedPurchaseService.isVerifiedCustomer(2L, 11L));
+            assertFalse(verifiedPurchaseService.isVerifiedCustomer(1L, null));
+            assertTrue(verified.test(10L));
+            assertFalse(verified.test(11L));
+            assertFalse(verified.test(-1L));
+
+            // Verify
+            verify(orderRepository, never()).existsByRestaurantId_IdAndClientId_IdAndStatus(anyLong(), anyLong(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sincronización con eventos")
+    class Events {
+
+        @Test
+        @DisplayName("onOrderStatusChanged() - Pasar a entregado verifica al cliente; pagado no cambia nada")
+        void whenDelivered_thenCustomerVerified() {
+            // Act
+            verifiedPurchaseService.onOrderStatusChanged(
+                    new OrderStatusChangedEvent(5L, 2L, 12L, OrderStatus.pendiente, OrderStatus.pagado));
+            boolean beforeDelivery = verifiedPurchaseService.isVerifiedCustomer(2L, 12L);
+            verifiedPurchaseService.onOrderStatusChanged(
+                    new OrderStatusChangedEvent(5L, 2L, 12L, OrderStatus.pagado, OrderStatus.entregado));
+
+            // Assert
+            assertFalse(beforeDelivery);
+            assertTrue(verifiedPurchaseService.isVerifiedCustomer(2L, 12L));
+            verifyNoInteractions(restaurantRepository);
+        }
+
+        @Test
+        @DisplayName("onOrderStatusChanged() - Salir de entregado quita al cliente solo si no tiene otro pedido entregado")
+        void whenUndelivered_thenRemovedOnlyWithoutOtherDeliveredOrders() {
+            // Arrange
+            when(orderRepository.existsByRestaurantId_IdAndClientId_IdAndStatus(1L, 10L, OrderStatus.entregado))
+                    .thenReturn(true);
+            when(orderRepository.existsByRestaurantId_IdAndClientId_IdAndStatus(1L, 11L, OrderStatus.entregado))
+                    .thenReturn(false);
+
+            // Act
+            verifiedPurchaseService.onOrderStatusChanged(
+                    new OrderStatusChangedEvent(6L, 1L, 10L, OrderStatus.entregado, OrderStatus.cancelado));
+            verifiedPurchaseService.onOrderStatusChanged(
+                    new OrderStatusChangedEvent(7L, 1L, 11L, OrderStatus.entregado, OrderStatus.cancelado));
+
+            // Assert
+            assertTrue(verifiedPurchaseService.isVerifiedCustomer(1L, 10L), "Le queda otro pedido entregado");
+            assertFalse(verifiedPurchaseService.isVerifiedCustomer(1L, 11L));
+        }
+    }
+
+    @Nested
+    @DisplayName("countUniqueCustomers()")
+    class CountUniqueCustomers {
+
+        @Test
+        @DisplayName("countUniqueCustomers() - Recuento exacto de clientes distintos para el propietario")
+        void whenOwner_thenExactCount() {
+            // Arrange
+            setAuthentication(OWNER_EMAIL);
+            when(restaurantRepository.findById(1L)).thenReturn(Optional.of(
+                    EntityModelFactory.restaurant(1L, EntityModelFactory.userEntity(7L, OWNER_EMAIL))));
+
+            // Act
+            CustomerCountResponseDto count = verifiedPurchaseService.countUniqueCustomers(1L);
+
+            // Assert
+            assertEquals(new CustomerCountResponseDto(1L, 2), count);
+        }
+
+        @Test
+        @DisplayName("countUniqueCustomers() - Restaurante de otro propietario → UnauthorizedAccessException")
+        void whenNotOwner_thenThrowsUnauthorized() {
+            // Arrange
+            setAuthentication("other@restaurant.com");
+            when(restaurantRepository.findById(1L)).thenReturn(Optional.of(
+                    EntityModelFactory.restaurant(1L, EntityModelFactory.userEntity(7L, OWNER_EMAIL))));
+
+            // Act & Assert
+            assertThrows(UnauthorizedAccessException.class, () -> verifiedPurchaseService.countUniqueCustomers(1L));
+        }
+    }
+
+    private void setAuthentication(String email) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null));
+        SecurityContextHolder.setContext(context);
+    }
+}
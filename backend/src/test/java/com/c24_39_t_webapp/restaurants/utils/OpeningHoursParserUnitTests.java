@@ -0,0 +1,48 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import com.c24_39_t_webapp.restaurants.dtos.request.OpeningIntervalDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para OpeningHoursParser
+ * Lectura pura de texto: sin Spring, sin mocks.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ Varios rangos con y sin minutos, aplicados a todos los días
+ * ✅ Las 24 como medianoche del día siguiente
+ * ✅ Texto vacío, null o sin rangos reconocibles
+ */
+@DisplayName("OpeningHoursParser - Unit Tests")
+class OpeningHoursParserUnitTests {
+
+    @Test
+    @DisplayName("parse() - Turno partido en texto libre: dos intervalos por cada día de la semana")
+    void whenSplitShiftText_thenTwoIntervalsPerDay() {
+        // Act
+        List<OpeningIntervalDto> intervals = OpeningHoursParser.parse("10-15 h y 20:30-24 h");
+
+        // Assert
+        assertEquals(14, intervals.size());
+        assertEquals(new OpeningIntervalDto(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(15, 0)), intervals.get(0));
+        assertEquals(new OpeningIntervalDto(DayOfWeek.MONDAY, LocalTime.of(20, 30), LocalTime.MIDNIGHT), intervals.get(7));
+        assertEquals(DayOfWeek.SUNDAY, intervals.get(13).day());
+    }
+
+    @Test
+    @DisplayName("parse() - Sin rangos reconocibles o con horas no válidas devuelve una lista vacía")
+    void whenNoValidRange_thenEmpty() {
+        // Act & Assert
+        assertTrue(OpeningHoursParser.parse(null).isEmpty());
+        assertTrue(OpeningHoursParser.parse("  ").isEmpty());
+        assertTrue(OpeningHoursParser.parse("Consultar por teléfono").isEmpty());
+        assertTrue(OpeningHoursParser.parse("25-30").isEmpty());
+    }
+}
@@ -0,0 +1,141 @@
+package com.c24_39_t_webapp.restaurants.utils;
+
+import com.c24_39_t_webapp.restaurants.exception.BadRequestException;
+import com.c24_39_t_webapp.restaurants.utils.ProductImportReader.ParsedRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests para ProductImportReader
+ * Lectura pura de streams: sin Spring, sin mocks.
+ *
+ * Patrón AAA: Arrange, Act, Assert
+ * Cobertura:
+ * ✅ JSON: filas válidas, fila con tipo incorrecto, documento que no es un array
+ * ✅ CSV: cabecera en cualquier orden, comillas con comas/saltos/comillas escapadas, BOM
+ * ✅ CSV: valores no numéricos como error de fila, columnas obligatorias ausentes
+ */
+@DisplayName("ProductImportReader - Unit Tests")
+class ProductImportReaderUnitTests {
+
+    @Nested
+    @DisplayName("JSON")
+    class Json {
+
+        @Test
+        @DisplayName("readJson() - Entrega cada objeto como fila numerada")
+        void whenJsonArray_thenEmitsNumberedRows() throws IOException {
+            // Arrange
+            String json = """
+                    [{"name":"Pizza","price":9.5,"quantity":3,"categoryName":"Pizzas"},
+                     {"name":"Calzone","price":"no","quantity":1,"categoryName":"Pizzas"}]
+                    """;
+
+            // Act
+            List<ParsedRow> rows = readJson(json);
+
+            // Assert
+            assertEquals(2, rows.size());
+            assertEquals(new BigDecimal("9.5"), rows.get(0).data().price());
+            assertNull(rows.get(0).error());
+            assertEquals(2, rows.get(1).rowNumber());
+            assertNull(rows.get(1).data(), "Un tipo incorrecto es un error de la fila, no del fichero");
+            assertNotNull(rows.get(1).error());
+        }
+
+        @Test
+        @DisplayName("readJson() - Un documento que no es un array lanza BadRequestException")
+        void whenNotAnArray_thenThrowsBadRequestException() {
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> readJson("{\"name\":\"Pizza\"}"));
+            assertThrows(BadRequestException.class, () -> readJson("[{\"name\":\"Pizza\"}, 3]"));
+        }
+    }
+
+    @Nested
+    @DisplayName("CSV")
+    class Csv {
+
+        @Test
+        @DisplayName("readCsv() - Lee columnas por nombre en cualquier orden, con BOM y comillas")
+        void whenCsvWithQuotedFields_thenParsesRows() throws IOException {
+            // Arrange
+            String csv = "\uFEFFCategoryName,price,NAME,quantity,description,isActive\n" +
+                    "Pizzas,9.50,\"Pizza, grande\",3,\"Dice \"\"hola\"\"\nen dos líneas\",false\r\n" +
+                    "\n" +
+                    "Bebidas,2,Agua,10,,\n";
+
+            // Act
+            List<ParsedRow> rows = readCsv(csv);
+
+            // Assert
+            assertEquals(2, rows.size(), "Las líneas vacías se ignoran");
+            assertEquals("Pizza, grande", rows.get(0).data().name());
+            assertEquals("Dice \"hola\"\nen dos líneas", rows.get(0).data().description());
+            assertEquals(Boolean.FALSE, rows.get(0).data().isActive());
+            assertEquals("Pizzas", rows.get(0).data().categoryName());
+            assertNull(rows.get(1).data().description(), "Un campo vacío se lee como null");
+            assertEquals(2, rows.get(1).rowNumber());
+        }
+
+        @Test
+        @DisplayName("readCsv() - Un número inválido es un error de la fila")
+        void whenInvalidNumber_thenRowError() throws IOException {
+            // Act
+            List<ParsedRow> rows = readCsv("name,price,quantity,categoryName\nPizza,caro,1,Pizzas\n");
+
+            // Assert
+            assertNull(rows.getFirst().data());
+            assertTrue(rows.getFirst().error().contains("caro"));
+        }
+
+        @Test
+        @DisplayName("readCsv() - Faltan columnas obligatorias lanza BadRequestException")
+        void whenRequiredColumnMissing_thenThrowsBadRequestException() {
+            // Act & Assert
+            assertThrows(BadRequestException.class, () -> readCsv("name,price\nPizza,1\n"));
+            assertThrows(BadRequestException.class, () -> readCsv(""));
+        }
+
+        @Test
+        @DisplayName("nextRecord() - Devuelve null al final del fichero")
+        void whenEndOfInput_thenReturnsNull() throws IOException {
+            // Arrange
+            BufferedReader reader = new BufferedReader(new StringReader("a,b"));
+
+            // Act & Assert
+            assertEquals(List.of("a", "b"), ProductImportReader.nextRecord(reader));
+            assertNull(ProductImportReader.nextRecord(reader));
+        }
+    }
+
+    private static List<ParsedRow> readJson(String json) throws IOException {
+        List<ParsedRow> rows = new ArrayList<>();
+        ProductImportReader.readJson(stream(json), new ObjectMapper(), rows::add);
+        return rows;
+    }
+
+    private static List<ParsedRow> readCsv(String csv) throws IOException {
+        List<ParsedRow> rows = new ArrayList<>();
+        ProductImportReader.readCsv(stream(csv), rows::add);
+        return rows;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}